@@ -19,6 +19,8 @@
 package boofcv.alg.feature.detect.quadblob;
 
 import boofcv.alg.filter.binary.BinaryImageOps;
+import boofcv.alg.filter.binary.LinearContourLabelChang2004;
+import boofcv.struct.PackedContours;
 import boofcv.struct.image.ImageSInt32;
 import boofcv.struct.image.ImageUInt8;
 import georegression.struct.point.Point2D_I32;
@@ -40,6 +42,13 @@ import java.util.List;
  * if they touch the image border and have a hole inside.
  * </p>
  *
+ * <p>
+ * Blobs and their contours are found in a single pass using {@link LinearContourLabelChang2004} and stored
+ * in recycled packed data structures.  Contour points are only declared for blobs which pass the filters.  Each
+ * {@link QuadBlob} owns its contour and corner points, so results remain valid after the next image is processed.
+ * The contour is the 8-connected outer border of the blob, which is what the minimum contour size is compared against.
+ * </p>
+ *
  * @author Peter Abeles
  */
 public class DetectQuadBlobsBinary {
@@ -60,6 +69,12 @@ public class DetectQuadBlobsBinary {
 	ImageSInt32 labeledBlobs = new ImageSInt32(1,1);
 	int numLabels;
 
+	// finds blobs and their contours
+	LinearContourLabelChang2004 contourFinder = new LinearContourLabelChang2004();
+	PackedContours contours = new PackedContours();
+	// new label for each blob.  0 if the blob has been removed
+	int relabel[] = new int[1];
+
 	// list of blobs where are declared to be valid quadrilaterals
 	List<QuadBlob> squares;
 	// list of blobs that are declared as not valid
@@ -97,30 +112,24 @@ public class DetectQuadBlobsBinary {
 		squaresBad = new ArrayList<QuadBlob>();
 		labeledBlobs.reshape(binary.width, binary.height);
 		
-		// find blobs
-		numLabels = BinaryImageOps.labelBlobs8(binary, labeledBlobs);
+		// find blobs and their contours
+		numLabels = contourFinder.process(binary, labeledBlobs, contours);
 
 		// See if there are enough blobs to continue processing
 		if( numLabels < minimumBlobCount)
 			return fail("Not enough blobs detected");
 
-		//remove blobs with holes
-		numLabels = removeBlobsHoles(binary, labeledBlobs,numLabels);
-
-		// remove blobs that touch the image border
-		numLabels = filterTouchEdge(labeledBlobs,numLabels);
-
-		// find their contours
-		List<List<Point2D_I32>> contours = BinaryImageOps.labelEdgeCluster4(labeledBlobs,numLabels,null);
+		// remove blobs with holes, small contours, or which touch the image border
+		numLabels = filterBlobs(binary.width, binary.height);
 
 		// create  list of squares and find an initial estimate of their corners
 		squares = new ArrayList<QuadBlob>();
-		for( List<Point2D_I32> l : contours ) {
-			if( l.size() < minContourSize ) {
-				// this might be a bug or maybe an artifact of detecting with 8 versus 4-connect
+		for( int i = 0; i < contours.size; i++ ) {
+			if( !contours.external[i] || relabel[contours.labels[i]] == 0 )
 				continue;
-			}
-			List<Point2D_I32> corners = cornerFinder.process(l);
+
+			List<Point2D_I32> l = new ArrayList<Point2D_I32>(contours.length(i));
+			List<Point2D_I32> corners = cornerFinder.process(contours,i,l);
 			if( corners.size() == 4 )
 				squares.add(new QuadBlob(l, corners));
 		}
@@ -134,87 +143,48 @@ public class DetectQuadBlobsBinary {
 	}
 
 	/**
-	 * Remove blobs with holes and blobs with a contour that is too small.  Holes are detected by
-	 * finding contour pixels in each blob.  If more than one set of contours exist then there
-	 * must be a hole inside
+	 * Remove blobs with holes, blobs with a contour that is too small, and blobs which touch the image
+	 * border.  A blob has a hole if it has an internal contour.  The labeled image is then relabeled so that
+	 * only the remaining blobs are labeled.
+	 *
+	 * @return Number of remaining blobs.
 	 */
-	private int removeBlobsHoles( ImageUInt8 binary , ImageSInt32 labeled , int numLabels )
+	private int filterBlobs( int width , int height )
 	{
-		ImageUInt8 contourImg = new ImageUInt8(labeled.width,labeled.height);
-		ImageSInt32 contourBlobs = new ImageSInt32(labeled.width,labeled.height);
-
-		BinaryImageOps.edge8(binary,contourImg);
-		int numContours = BinaryImageOps.labelBlobs8(contourImg,contourBlobs);
-		List<List<Point2D_I32>> contours = BinaryImageOps.labelToClusters(contourBlobs, numContours, null);
-
-		// see how many complete contours each blob has
-		int counter[] = new int[ numLabels + 1 ];
-		for( int i = 0; i < numContours; i++ ) {
-			List<Point2D_I32> l = contours.get(i);
-			Point2D_I32 p = l.get(0);
-			int which = labeled.get(p.x,p.y);
-			if( l.size() < minContourSize ) {
-				// set it to a size larger than one so that it will be zeroed
-				counter[which] = 20;
-			} else {
-				counter[which]++;
-			}
-		}
-
-		// find the blobs with holes
-		counter[0] = 0;
-		int counts = 1;
-		for( int i = 1; i < counter.length; i++ ) {
-
-			if( counter[i] > 1 )
-				counter[i] = 0;
-			else if( counter[i] != 0 )
-				counter[i] = counts++;
-			else
-				throw new RuntimeException("BUG!");
-		}
+		if( relabel.length < numLabels + 1 )
+			relabel = new int[ numLabels + 1 ];
+		relabel[0] = 0;
+		for( int i = 1; i <= numLabels; i++ )
+			relabel[i] = i;
 
-		// relabel the image to remove blobs with holes inside
-		BinaryImageOps.relabel(labeled,counter);
+		for( int i = 0; i < contours.size; i++ ) {
+			int label = contours.labels[i];
 
-		return counts-1;
-	}
-
-	/**
-	 * Set the value of any blob which touches the image border to zero.  Then
-	 * relabel the binary image.
-	 */
-	private int filterTouchEdge(ImageSInt32 labeled , int numLabels ) {
-		int value[] = new int[ numLabels + 1 ];
-		for( int i = 0; i < value.length; i++ ) {
-			value[i] = i;
-		}
-
-		for( int y = 0; y < labeled.height; y++ ) {
-			int row = labeled.startIndex + labeled.stride*y;
-			int rowEnd = row+labeled.width-1;
-
-			value[labeled.data[row]] = 0;
-			value[labeled.data[rowEnd]] = 0;
-		}
-
-		for( int x = 0; x < labeled.width; x++ ) {
-			int top = labeled.startIndex + x;
-			int bottom = labeled.startIndex + labeled.stride*(labeled.height-1) + x;
+			if( !contours.external[i] || contours.length(i) < minContourSize ) {
+				relabel[label] = 0;
+				continue;
+			}
 
-			value[labeled.data[top]] = 0;
-			value[labeled.data[bottom]] = 0;
+			int N = contours.length(i);
+			for( int j = 0; j < N; j++ ) {
+				int x = contours.getX(i,j);
+				int y = contours.getY(i,j);
+				if( x == 0 || y == 0 || x == width-1 || y == height-1 ) {
+					relabel[label] = 0;
+					break;
+				}
+			}
 		}
 
 		int count = 1;
-		for( int i = 0; i < value.length; i++ ) {
-			if( value[i] != 0 ) {
-				value[i] = count++;
+		for( int i = 1; i <= numLabels; i++ ) {
+			if( relabel[i] != 0 ) {
+				relabel[i] = count++;
 			}
 		}
 
-		// relabel the image to remove blobs with holes inside
-		BinaryImageOps.relabel(labeled,value);
+		// relabel the image to remove blobs which were filtered out
+		BinaryImageOps.relabel(labeledBlobs,relabel);
 
 		return count-1;
 	}
@@ -19,6 +19,7 @@
 package boofcv.alg.feature.detect.quadblob;
 
 import boofcv.alg.feature.detect.grid.UtilCalibrationGrid;
+import boofcv.struct.PackedContours;
 import georegression.geometry.UtilPoint2D_I32;
 import georegression.metric.UtilAngle;
 import georegression.struct.point.Point2D_I32;
@@ -34,6 +35,11 @@ import java.util.List;
  * is the farthest distance is selected.  This process is repeated two more times, each time maximizing the distance
  * to all the previously selected corners.
  *
+ * <p>
+ * Contours can be provided as a list of points or as a contour inside of {@link PackedContours}.  When packed
+ * the points are sorted directly from the packed storage and only the sorted output list is declared.
+ * </p>
+ *
  * @author Peter Abeles
  */
 public class FindQuadCorners {
@@ -43,6 +49,11 @@ public class FindQuadCorners {
 	// storage for acute angles along the contour
 	double acuteAngles[] = new double[1];
 
+	// storage for sorting packed contour points by angle
+	double angles[] = new double[1];
+	int indexes[] = new int[1];
+	QuickSort_F64 sorter = new QuickSort_F64();
+
 	/**
 	 * Finds corners from list of contour points and orders contour points into clockwise order.
 	 *
@@ -54,6 +65,56 @@ public class FindQuadCorners {
 		Point2D_I32 center = findAverage(contour);
 		sortByAngleCCW(center, contour);
 
+		return findCorners(center,contour);
+	}
+
+	/**
+	 * Finds corners in a contour stored inside of {@link PackedContours}.  Produces the same results as
+	 * {@link #process(java.util.List)} when given the same points in the same order.
+	 *
+	 * @param contours Storage for all the contours.  Not modified.
+	 * @param which Index of the contour being processed.
+	 * @param contour (Output) Points in the contour in counter clockwise order.  New points are declared.
+	 * @return List of 4 best corner points in clockwise order.  Elements of contour.
+	 */
+	public List<Point2D_I32> process( PackedContours contours , int which , List<Point2D_I32> contour ) {
+		int length = contours.length(which);
+
+		// find the average
+		int x = 0;
+		int y = 0;
+		for( int i = 0; i < length; i++ ) {
+			x += contours.getX(which,i);
+			y += contours.getY(which,i);
+		}
+		Point2D_I32 center = new Point2D_I32(x/length,y/length);
+
+		// order points in clockwise order
+		if( angles.length < length ) {
+			angles = new double[length];
+			indexes = new int[length];
+		}
+		for( int i = 0; i < length; i++ ) {
+			int dx = contours.getX(which,i)-center.x;
+			int dy = contours.getY(which,i)-center.y;
+
+			angles[i] = Math.atan2(dy,dx);
+		}
+		sorter.sort(angles,length,indexes);
+
+		contour.clear();
+		for( int i = 0; i < length; i++ ) {
+			int index = indexes[i];
+			contour.add( new Point2D_I32(contours.getX(which,index),contours.getY(which,index)));
+		}
+
+		return findCorners(center,contour);
+	}
+
+	/**
+	 * Selects the corners from a contour which has already been sorted around its center.
+	 */
+	private List<Point2D_I32> findCorners( Point2D_I32 center , List<Point2D_I32> contour ) {
 		N = contour.size();
 		int radiusLarge = N / 10;
 		if( radiusLarge < 2 )
@@ -20,8 +20,11 @@ package boofcv.alg.feature.detect.quadblob;
 
 import boofcv.alg.misc.ImageTestingOps;
 import boofcv.struct.image.ImageUInt8;
+import georegression.struct.point.Point2D_I32;
 import org.junit.Test;
 
+import java.util.List;
+
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
@@ -62,4 +65,50 @@ public class TestDetectQuadBlobsBinary {
 		
 		assertEquals(3*4,alg.getDetected().size());
 	}
+
+	/**
+	 * Blobs found in one image should not be modified when the next image is processed
+	 */
+	@Test
+	public void resultsOwnedByBlobs() {
+		ImageUInt8 binary = new ImageUInt8(200,150);
+		ImageTestingOps.fillRectangle(binary, 1, 20, 30, 40, 40);
+		ImageTestingOps.fillRectangle(binary, 1, 100, 30, 40, 40);
+
+		DetectQuadBlobsBinary alg = new DetectQuadBlobsBinary(15,0.25,0);
+		assertTrue(alg.process(binary));
+
+		List<QuadBlob> first = alg.getDetected();
+		assertEquals(2,first.size());
+
+		// save a copy of the points
+		int expected[][] = new int[first.size()][];
+		for( int i = 0; i < first.size(); i++ ) {
+			List<Point2D_I32> contour = first.get(i).contour;
+			expected[i] = new int[ contour.size()*2 ];
+			for( int j = 0; j < contour.size(); j++ ) {
+				expected[i][j*2] = contour.get(j).x;
+				expected[i][j*2+1] = contour.get(j).y;
+			}
+		}
+		Point2D_I32 corner = first.get(0).corners.get(0).copy();
+
+		// process a different image with larger squares in other locations
+		ImageTestingOps.fill(binary,0);
+		ImageTestingOps.fillRectangle(binary, 1, 5, 10, 60, 60);
+		ImageTestingOps.fillRectangle(binary, 1, 80, 60, 70, 70);
+		assertTrue(alg.process(binary));
+		assertEquals(2,alg.getDetected().size());
+
+		for( int i = 0; i < first.size(); i++ ) {
+			List<Point2D_I32> contour = first.get(i).contour;
+			assertEquals(expected[i].length,contour.size()*2);
+			for( int j = 0; j < contour.size(); j++ ) {
+				assertEquals(expected[i][j*2],contour.get(j).x);
+				assertEquals(expected[i][j*2+1],contour.get(j).y);
+			}
+		}
+		assertEquals(corner.x,first.get(0).corners.get(0).x);
+		assertEquals(corner.y,first.get(0).corners.get(0).y);
+	}
 }
@@ -18,6 +18,7 @@
 
 package boofcv.alg.feature.detect.quadblob;
 
+import boofcv.struct.PackedContours;
 import georegression.struct.point.Point2D_I32;
 import org.junit.Test;
 
@@ -27,6 +28,7 @@ import java.util.List;
 import java.util.Random;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 /**
  * @author Peter Abeles
@@ -75,5 +77,50 @@ public class TestFindQuadCorners {
 		assertEquals(9,d.y);
 	}
 
+	/**
+	 * The packed contour should produce the same sorted contour and corners as the list
+	 */
+	@Test
+	public void process_packed() {
+		Random rand = new Random(234);
+		List<Point2D_I32> contour = new ArrayList<Point2D_I32>();
+
+		// skewed quadrilateral with some noise
+		for( int i = 0; i < 30; i++ ) {
+			contour.add( new Point2D_I32(10+i,20+i/3+rand.nextInt(2)));
+			contour.add( new Point2D_I32(15+i,50+i/4+rand.nextInt(2)));
+			contour.add( new Point2D_I32(10+i/6+rand.nextInt(2),20+i));
+			contour.add( new Point2D_I32(40+i/5+rand.nextInt(2),30+i));
+		}
+		Collections.shuffle(contour,rand);
+
+		PackedContours contours = new PackedContours();
+		contours.start(1,true);
+		contours.add(3,4);
+		contours.start(2,true);
+		for( Point2D_I32 p : contour )
+			contours.add(p.x,p.y);
 
+		FindQuadCorners alg = new FindQuadCorners();
+
+		List<Point2D_I32> found = new ArrayList<Point2D_I32>();
+		List<Point2D_I32> cornersPacked = alg.process(contours,1,found);
+		List<Point2D_I32> cornersList = alg.process(contour);
+
+		assertEquals(contour.size(),found.size());
+		for( int i = 0; i < contour.size(); i++ ) {
+			assertEquals(contour.get(i).x,found.get(i).x);
+			assertEquals(contour.get(i).y,found.get(i).y);
+		}
+
+		assertEquals(4,cornersPacked.size());
+		assertEquals(4,cornersList.size());
+		for( int i = 0; i < 4; i++ ) {
+			Point2D_I32 p = cornersPacked.get(i);
+			assertEquals(cornersList.get(i).x,p.x);
+			assertEquals(cornersList.get(i).y,p.y);
+			// corners should be elements of the output contour
+			assertTrue(found.contains(p));
+		}
+	}
 }
@@ -59,9 +59,14 @@ public class BenchmarkTemplateIntensity<T extends ImageSingleBand> {
 		TemplateMatchingIntensity<T> alg;
 		String name;
 
-		public TemplatePerformer(TemplateScoreType type) {
-			this.alg = FactoryTemplateMatching.createIntensity(type,imageType);
-			this.name = type.toString();
+		public TemplatePerformer(TemplateScoreType type, boolean fourier) {
+			if( fourier ) {
+				this.alg = FactoryTemplateMatching.createIntensityFourier(type,imageType);
+				this.name = type.toString()+" Fourier";
+			} else {
+				this.alg = FactoryTemplateMatching.createIntensity(type,imageType);
+				this.name = type.toString();
+			}
 		}
 
 		@Override
@@ -79,8 +84,10 @@ public class BenchmarkTemplateIntensity<T extends ImageSingleBand> {
 		System.out.println("=========  Profile Image Size " + width + " x " + height + " ========== "+imageType.getSimpleName());
 		System.out.println();
 
-		ProfileOperation.printOpsPerSec(new TemplatePerformer(TemplateScoreType.SUM_DIFF_SQ), TEST_TIME);
-		ProfileOperation.printOpsPerSec(new TemplatePerformer(TemplateScoreType.NCC), TEST_TIME);
+		ProfileOperation.printOpsPerSec(new TemplatePerformer(TemplateScoreType.SUM_DIFF_SQ,false), TEST_TIME);
+		ProfileOperation.printOpsPerSec(new TemplatePerformer(TemplateScoreType.NCC,false), TEST_TIME);
+		ProfileOperation.printOpsPerSec(new TemplatePerformer(TemplateScoreType.SUM_DIFF_SQ,true), TEST_TIME);
+		ProfileOperation.printOpsPerSec(new TemplatePerformer(TemplateScoreType.NCC,true), TEST_TIME);
 	}
 
 	public static void main( String args[] ) {
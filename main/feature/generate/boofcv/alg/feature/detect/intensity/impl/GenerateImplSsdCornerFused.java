@@ -0,0 +1,401 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.detect.intensity.impl;
+
+import boofcv.misc.AutoTypeImage;
+import boofcv.misc.CodeGeneratorBase;
+
+import java.io.FileNotFoundException;
+
+/**
+ * Generates {@link ImplSsdCornerFused_F32} and {@link ImplSsdCornerFused_U8} along with the Harris and
+ * Shi-Tomasi corner intensities which extend them.
+ *
+ * @author Peter Abeles
+ */
+public class GenerateImplSsdCornerFused extends CodeGeneratorBase {
+	String typeInput;
+	String dataInput;
+	String sumType;
+	String bitWise;
+	// type of the non-fused implementation which produces the same intensity
+	String derivAbbreviated;
+	boolean isInteger;
+
+	@Override
+	public void generate() throws FileNotFoundException {
+		createFiles(AutoTypeImage.F32,AutoTypeImage.F32);
+		createFiles(AutoTypeImage.U8,AutoTypeImage.S16);
+	}
+
+	public void createFiles( AutoTypeImage input , AutoTypeImage deriv ) throws FileNotFoundException {
+		typeInput = input.getImageName();
+		dataInput = input.getDataType();
+		sumType = input.getSumType();
+		isInteger = input.isInteger();
+		bitWise = isInteger ? " "+input.getBitWise() : "";
+		derivAbbreviated = deriv.getAbbreviatedType();
+
+		String abbreviated = input.getAbbreviatedType();
+
+		createSsdFile("ImplSsdCornerFused_"+abbreviated);
+		createHarrisFile("ImplHarrisCornerFused_"+abbreviated,"ImplSsdCornerFused_"+abbreviated);
+		createShiTomasiFile("ImplShiTomasiCornerFused_"+abbreviated,"ImplSsdCornerFused_"+abbreviated);
+	}
+
+	private void createSsdFile( String name ) throws FileNotFoundException {
+		setOutputFile(name);
+		printSsdPreamble();
+		printProcess();
+		printDeclareStorage();
+		printGradient();
+		printHorizontal();
+		out.println("}");
+	}
+
+	private void printSsdPreamble() {
+		out.print("import boofcv.alg.InputSanityCheck;\n" +
+				"import boofcv.alg.feature.detect.intensity.FusedGradientCornerIntensity;\n" +
+				"import boofcv.struct.image.ImageFloat32;\n");
+		if( typeInput.compareTo("ImageFloat32") != 0 )
+			out.print("import boofcv.struct.image."+typeInput+";\n");
+		out.print("\n" +
+				"/**\n" +
+				" * <p>\n" +
+				" * Implementation of {@link FusedGradientCornerIntensity} for {@link "+typeInput+"}.  Each row of the input image\n" +
+				" * is processed once.  Its Sobel gradient is computed and the products of the gradient are summed horizontally\n" +
+				" * across the window.  The horizontal sums for the last 2*radius+1 rows are saved in a circular buffer, from which\n" +
+				" * the vertical sums are updated incrementally, the same as in {@link ImplSsdCorner_"+derivAbbreviated+"}.\n" +
+				" * </p>\n" +
+				" *\n" +
+				" * <p>\n" +
+				" * DO NOT MODIFY.  Code has been automatically generated by {@link "+getClass().getSimpleName()+"}.\n" +
+				" * </p>\n" +
+				" *\n" +
+				" * @author Peter Abeles\n" +
+				" */\n" +
+				"public abstract class "+className+" implements FusedGradientCornerIntensity<"+typeInput+"> {\n" +
+				"\n" +
+				"\t// radius of detected features\n" +
+				"\tprotected int radius;\n" +
+				"\n" +
+				"\t// gradient of the current row\n" +
+				"\tprivate "+sumType+" gradX[] = new "+sumType+"[1];\n" +
+				"\tprivate "+sumType+" gradY[] = new "+sumType+"[1];\n" +
+				"\n" +
+				"\t// circular buffer of horizontal sums, one row for each row in the window\n" +
+				"\tprivate "+sumType+" horizXX[][];\n" +
+				"\tprivate "+sumType+" horizXY[][];\n" +
+				"\tprivate "+sumType+" horizYY[][];\n" +
+				"\n" +
+				"\t// vertical sum of the horizontal sums\n" +
+				"\tprivate "+sumType+" sumXX[] = new "+sumType+"[1];\n" +
+				"\tprivate "+sumType+" sumXY[] = new "+sumType+"[1];\n" +
+				"\tprivate "+sumType+" sumYY[] = new "+sumType+"[1];\n" +
+				"\n" +
+				"\t// defines the A matrix, from which the eigenvalues are computed\n" +
+				"\tprotected "+sumType+" totalXX, totalYY, totalXY;\n" +
+				"\n" +
+				"\tpublic "+className+"( int windowRadius ) {\n" +
+				"\t\tthis.radius = windowRadius;\n" +
+				"\n" +
+				"\t\tint windowWidth = radius*2+1;\n" +
+				"\t\thorizXX = new "+sumType+"[windowWidth][1];\n" +
+				"\t\thorizXY = new "+sumType+"[windowWidth][1];\n" +
+				"\t\thorizYY = new "+sumType+"[windowWidth][1];\n" +
+				"\t}\n" +
+				"\n" +
+				"\t@Override\n" +
+				"\tpublic int getRadius() {\n" +
+				"\t\treturn radius;\n" +
+				"\t}\n" +
+				"\n" +
+				"\t@Override\n" +
+				"\tpublic int getIgnoreBorder() {\n" +
+				"\t\treturn radius;\n" +
+				"\t}\n" +
+				"\n" +
+				"\t/**\n" +
+				"\t * Computes the pixel's corner intensity.\n" +
+				"\t * @return corner intensity.\n" +
+				"\t */\n" +
+				"\tprotected abstract float computeIntensity();\n\n");
+	}
+
+	private void printProcess() {
+		out.print("\t@Override\n" +
+				"\tpublic void process("+typeInput+" image, ImageFloat32 intensity) {\n" +
+				"\t\tInputSanityCheck.checkSameShape(image,intensity);\n" +
+				"\n" +
+				"\t\tfinal int width = image.width;\n" +
+				"\t\tfinal int height = image.height;\n" +
+				"\t\tfinal int windowWidth = radius*2+1;\n" +
+				"\n" +
+				"\t\tif( width < windowWidth || height < windowWidth )\n" +
+				"\t\t\treturn;\n" +
+				"\n" +
+				"\t\tdeclareStorage(width);\n" +
+				"\n" +
+				"\t\tfor( int y = 0; y < height; y++ ) {\n" +
+				"\t\t\tint slot = y % windowWidth;\n" +
+				"\t\t\t"+sumType+" hXX[] = horizXX[slot];\n" +
+				"\t\t\t"+sumType+" hXY[] = horizXY[slot];\n" +
+				"\t\t\t"+sumType+" hYY[] = horizYY[slot];\n" +
+				"\n" +
+				"\t\t\t// remove the row which is leaving the window\n" +
+				"\t\t\tif( y >= windowWidth ) {\n" +
+				"\t\t\t\tfor( int x = radius; x < width-radius; x++ ) {\n" +
+				"\t\t\t\t\tsumXX[x] -= hXX[x];\n" +
+				"\t\t\t\t\tsumXY[x] -= hXY[x];\n" +
+				"\t\t\t\t\tsumYY[x] -= hYY[x];\n" +
+				"\t\t\t\t}\n" +
+				"\t\t\t}\n" +
+				"\n" +
+				"\t\t\tgradientRow(image,y);\n" +
+				"\t\t\thorizontalRow(width,hXX,hXY,hYY);\n" +
+				"\n" +
+				"\t\t\tif( y == 0 ) {\n" +
+				"\t\t\t\tSystem.arraycopy(hXX,0,sumXX,0,width);\n" +
+				"\t\t\t\tSystem.arraycopy(hXY,0,sumXY,0,width);\n" +
+				"\t\t\t\tSystem.arraycopy(hYY,0,sumYY,0,width);\n" +
+				"\t\t\t} else {\n" +
+				"\t\t\t\tfor( int x = radius; x < width-radius; x++ ) {\n" +
+				"\t\t\t\t\tsumXX[x] += hXX[x];\n" +
+				"\t\t\t\t\tsumXY[x] += hXY[x];\n" +
+				"\t\t\t\t\tsumYY[x] += hYY[x];\n" +
+				"\t\t\t\t}\n" +
+				"\t\t\t}\n" +
+				"\n" +
+				"\t\t\tif( y >= windowWidth-1 ) {\n" +
+				"\t\t\t\tint indexOut = intensity.startIndex + (y-radius)*intensity.stride + radius;\n" +
+				"\t\t\t\tfor( int x = radius; x < width-radius; x++ ) {\n" +
+				"\t\t\t\t\ttotalXX = sumXX[x];\n" +
+				"\t\t\t\t\ttotalXY = sumXY[x];\n" +
+				"\t\t\t\t\ttotalYY = sumYY[x];\n" +
+				"\t\t\t\t\tintensity.data[indexOut++] = computeIntensity();\n" +
+				"\t\t\t\t}\n" +
+				"\t\t\t}\n" +
+				"\t\t}\n" +
+				"\t}\n\n");
+	}
+
+	private void printDeclareStorage() {
+		out.print("\tprivate void declareStorage( int width ) {\n" +
+				"\t\tif( gradX.length < width ) {\n" +
+				"\t\t\tgradX = new "+sumType+"[width];\n" +
+				"\t\t\tgradY = new "+sumType+"[width];\n" +
+				"\t\t\tsumXX = new "+sumType+"[width];\n" +
+				"\t\t\tsumXY = new "+sumType+"[width];\n" +
+				"\t\t\tsumYY = new "+sumType+"[width];\n" +
+				"\t\t\tfor( int i = 0; i < horizXX.length; i++ ) {\n" +
+				"\t\t\t\thorizXX[i] = new "+sumType+"[width];\n" +
+				"\t\t\t\thorizXY[i] = new "+sumType+"[width];\n" +
+				"\t\t\t\thorizYY[i] = new "+sumType+"[width];\n" +
+				"\t\t\t}\n" +
+				"\t\t}\n" +
+				"\t}\n\n");
+	}
+
+	private void printGradient() {
+		out.print("\t/**\n" +
+				"\t * Computes the Sobel gradient along a single row.  Pixels outside the image are handled by extending the border.\n" +
+				"\t */\n" +
+				"\tprivate void gradientRow( "+typeInput+" image , int y ) {\n" +
+				"\t\tfinal "+dataInput+" data[] = image.data;\n" +
+				"\t\tfinal int width = image.width;\n" +
+				"\n" +
+				"\t\tint indexA = image.startIndex + (y > 0 ? y-1 : 0)*image.stride;\n" +
+				"\t\tint indexB = image.startIndex + y*image.stride;\n" +
+				"\t\tint indexC = image.startIndex + (y < image.height-1 ? y+1 : y)*image.stride;\n" +
+				"\n" +
+				"\t\t// left border\n" +
+				"\t\tgradient(data,indexA,indexB,indexC,0,0,width == 1 ? 0 : 1);\n" +
+				"\n" +
+				"\t\tfinal int end = width-1;\n" +
+				"\t\tfor( int x = 1; x < end; x++ ) {\n" +
+				"\t\t\t"+sumType+" a0 = "+pixel("indexA+x-1")+", a1 = "+pixel("indexA+x")+", a2 = "+pixel("indexA+x+1")+";\n" +
+				"\t\t\t"+sumType+" c0 = "+pixel("indexC+x-1")+", c1 = "+pixel("indexC+x")+", c2 = "+pixel("indexC+x+1")+";\n" +
+				"\n" +
+				"\t\t\tgradX[x] = "+sobelX("indexB+x-1","indexB+x+1")+";\n" +
+				"\t\t\tgradY[x] = "+sobelY()+";\n" +
+				"\t\t}\n" +
+				"\n" +
+				"\t\t// right border\n" +
+				"\t\tif( width > 1 )\n" +
+				"\t\t\tgradient(data,indexA,indexB,indexC,end,end-1,end);\n" +
+				"\t}\n" +
+				"\n" +
+				"\tprivate void gradient( "+dataInput+" data[] , int indexA , int indexB , int indexC , int x , int x0 , int x2 ) {\n" +
+				"\t\t"+sumType+" a0 = "+pixel("indexA+x0")+", a1 = "+pixel("indexA+x")+", a2 = "+pixel("indexA+x2")+";\n" +
+				"\t\t"+sumType+" c0 = "+pixel("indexC+x0")+", c1 = "+pixel("indexC+x")+", c2 = "+pixel("indexC+x2")+";\n" +
+				"\n" +
+				"\t\tgradX[x] = "+sobelX("indexB+x0","indexB+x2")+";\n" +
+				"\t\tgradY[x] = "+sobelY()+";\n" +
+				"\t}\n\n");
+	}
+
+	private String pixel( String index ) {
+		return "data["+index+"]"+bitWise;
+	}
+
+	/**
+	 * Integer images use the unscaled Sobel kernel while floating point images use the normalized one, matching
+	 * the gradient used by the non-fused implementations.
+	 */
+	private String sobelX( String index0 , String index2 ) {
+		if( isInteger )
+			return "(a2-a0) + (("+pixel(index2)+")-("+pixel(index0)+"))*2 + (c2-c0)";
+		else
+			return "(a2-a0)*0.25f + ("+pixel(index2)+"-"+pixel(index0)+")*0.5f + (c2-c0)*0.25f";
+	}
+
+	private String sobelY() {
+		if( isInteger )
+			return "(c0-a0) + (c1-a1)*2 + (c2-a2)";
+		else
+			return "(c0-a0)*0.25f + (c1-a1)*0.5f + (c2-a2)*0.25f";
+	}
+
+	private void printHorizontal() {
+		out.print("\t/**\n" +
+				"\t * Sums the products of the gradient horizontally across the window\n" +
+				"\t */\n" +
+				"\tprivate void horizontalRow( int width , "+sumType+" hXX[] , "+sumType+" hXY[] , "+sumType+" hYY[] ) {\n" +
+				"\t\tfinal int windowWidth = radius*2+1;\n" +
+				"\n" +
+				"\t\t"+sumType+" totalXX = 0, totalXY = 0, totalYY = 0;\n" +
+				"\n" +
+				"\t\tfor( int x = 0; x < windowWidth; x++ ) {\n" +
+				"\t\t\t"+sumType+" dx = gradX[x];\n" +
+				"\t\t\t"+sumType+" dy = gradY[x];\n" +
+				"\n" +
+				"\t\t\ttotalXX += dx*dx;\n" +
+				"\t\t\ttotalXY += dx*dy;\n" +
+				"\t\t\ttotalYY += dy*dy;\n" +
+				"\t\t}\n" +
+				"\n" +
+				"\t\thXX[radius] = totalXX;\n" +
+				"\t\thXY[radius] = totalXY;\n" +
+				"\t\thYY[radius] = totalYY;\n" +
+				"\n" +
+				"\t\tfor( int x = windowWidth; x < width; x++ ) {\n" +
+				"\t\t\t"+sumType+" dx = gradX[x-windowWidth];\n" +
+				"\t\t\t"+sumType+" dy = gradY[x-windowWidth];\n" +
+				"\n" +
+				"\t\t\ttotalXX -= dx*dx;\n" +
+				"\t\t\ttotalXY -= dx*dy;\n" +
+				"\t\t\ttotalYY -= dy*dy;\n" +
+				"\n" +
+				"\t\t\tdx = gradX[x];\n" +
+				"\t\t\tdy = gradY[x];\n" +
+				"\n" +
+				"\t\t\ttotalXX += dx*dx;\n" +
+				"\t\t\ttotalXY += dx*dy;\n" +
+				"\t\t\ttotalYY += dy*dy;\n" +
+				"\n" +
+				"\t\t\thXX[x-radius] = totalXX;\n" +
+				"\t\t\thXY[x-radius] = totalXY;\n" +
+				"\t\t\thYY[x-radius] = totalYY;\n" +
+				"\t\t}\n" +
+				"\t}\n");
+	}
+
+	private void printCornerJavadoc( String intensityName ) {
+		out.print("/**\n" +
+				" * <p>\n" +
+				" * Fused implementation of {@link boofcv.alg.feature.detect.intensity."+intensityName+"} which is computed\n" +
+				" * directly from the input image.  Produces the same intensity as {@link Impl"+intensityName.replace("Intensity","")+"_"+derivAbbreviated+"}.\n" +
+				" * </p>\n" +
+				" *\n" +
+				" * <p>\n" +
+				" * DO NOT MODIFY.  Code has been automatically generated by {@link "+getClass().getSimpleName()+"}.\n" +
+				" * </p>\n" +
+				" *\n" +
+				" * @author Peter Abeles\n" +
+				" */\n");
+	}
+
+	private void createHarrisFile( String name , String parent ) throws FileNotFoundException {
+		setOutputFile(name);
+		printCornerJavadoc("HarrisCornerIntensity");
+		out.print("public class "+name+" extends "+parent+" {\n" +
+				"\n" +
+				"\t// tuning parameter\n" +
+				"\tfloat kappa;\n" +
+				"\n" +
+				"\tpublic "+name+"(int windowRadius, float kappa) {\n" +
+				"\t\tsuper(windowRadius);\n" +
+				"\t\tthis.kappa = kappa;\n" +
+				"\t}\n" +
+				"\n" +
+				"\tpublic void setKappa(float kappa) {\n" +
+				"\t\tthis.kappa = kappa;\n" +
+				"\t}\n" +
+				"\n" +
+				"\t@Override\n" +
+				"\tprotected float computeIntensity() {\n" +
+				"\t\t// det(A) - kappa*trace(A)^2\n" +
+				"\t\tfloat trace = totalXX + totalYY;\n" +
+				"\t\treturn (totalXX * totalYY - totalXY * totalXY) - kappa * trace*trace;\n" +
+				"\t}\n" +
+				"\n" +
+				"\tpublic float getKappa() {\n" +
+				"\t\treturn kappa;\n" +
+				"\t}\n" +
+				"}\n");
+	}
+
+	private void createShiTomasiFile( String name , String parent ) throws FileNotFoundException {
+		setOutputFile(name);
+		printCornerJavadoc("ShiTomasiCornerIntensity");
+		out.print("public class "+name+" extends "+parent+" {\n" +
+				"\n" +
+				"\tpublic "+name+"(int windowRadius) {\n" +
+				"\t\tsuper(windowRadius);\n" +
+				"\t}\n" +
+				"\n" +
+				"\t@Override\n" +
+				"\tprotected float computeIntensity() {\n" +
+				"\t\t// compute the smallest eigenvalue\n");
+		// integer sums can overflow a float's precision so the eigenvalue is found using doubles
+		if( isInteger ) {
+			out.print("\t\tdouble left = (totalXX + totalYY) * 0.5f;\n" +
+					"\t\tdouble b = (totalXX - totalYY) * 0.5f;\n" +
+					"\t\tdouble right = Math.sqrt(b * b + (double)totalXY * totalXY);\n" +
+					"\n" +
+					"\t\t// the smallest eigenvalue will be minus the right side\n" +
+					"\t\treturn (float)(left - right);\n");
+		} else {
+			out.print("\t\tfloat left = (totalXX + totalYY) * 0.5f;\n" +
+					"\t\tfloat b = (totalXX - totalYY) * 0.5f;\n" +
+					"\t\tfloat right = (float)Math.sqrt(b * b + totalXY * totalXY);\n" +
+					"\n" +
+					"\t\t// the smallest eigenvalue will be minus the right side\n" +
+					"\t\treturn left - right;\n");
+		}
+		out.print("\t}\n" +
+				"}\n");
+	}
+
+	public static void main( String args[] ) throws FileNotFoundException {
+		GenerateImplSsdCornerFused gen = new GenerateImplSsdCornerFused();
+
+		gen.generate();
+	}
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.abst.feature.associate;
+
+import boofcv.alg.feature.associate.DescriptorDistance;
+import boofcv.struct.feature.SurfFeatureS8;
+
+/**
+ * Computes the Euclidean distance squared between quantized SURF descriptions.  Each description's scale factor
+ * is taken into account.  See
+ * {@link DescriptorDistance#euclideanSq(boofcv.struct.feature.TupleDesc_S8, double, boofcv.struct.feature.TupleDesc_S8, double)}.
+ *
+ * @author Peter Abeles
+ */
+public class ScoreAssociateEuclideanSq_SurfS8 implements ScoreAssociation<SurfFeatureS8>{
+	@Override
+	public double score(SurfFeatureS8 a, SurfFeatureS8 b) {
+
+		return DescriptorDistance.euclideanSq(a, a.scale, b, b.scale);
+	}
+
+	@Override
+	public boolean isZeroMinimum() {
+		return true;
+	}
+}
@@ -18,14 +18,21 @@
 
 package boofcv.abst.feature.describe;
 
+import boofcv.abst.filter.derivative.DerivedImageCache;
 import boofcv.alg.feature.describe.DescribePointSurf;
+import boofcv.alg.feature.describe.DescribePointSurfBatch;
 import boofcv.alg.feature.orientation.OrientationIntegral;
 import boofcv.alg.transform.ii.GIntegralImageOps;
 import boofcv.struct.feature.SurfFeature;
+import boofcv.struct.feature.SurfFeatureSet;
 import boofcv.struct.image.ImageSingleBand;
 
 
 /**
+ * Wrapper around {@link DescribePointSurf} for {@link DescribeRegionPoint}.  Many points can be described at
+ * once using {@link #process(double[], double[], double[], double[], int, SurfFeatureSet)}, which uses
+ * {@link DescribePointSurfBatch} and can split the points across threads.
+ *
  * @author Peter Abeles
  */
 public class WrapDescribeSurf<T extends ImageSingleBand, II extends ImageSingleBand>
@@ -39,6 +46,14 @@ public class WrapDescribeSurf<T extends ImageSingleBand, II extends ImageSingleB
 	// integral image
 	II ii;
 
+	// optional: provides the integral image
+	DerivedImageCache<T,?> cache;
+	// frame number of the cache when it was last used
+	long cacheFrame = DerivedImageCache.NO_FRAME;
+
+	// describes many points at once.  Lazily declared if not specified
+	DescribePointSurfBatch<II> batch;
+
 
 	public WrapDescribeSurf(DescribePointSurf<II> surf,
 							OrientationIntegral<II> orientation)
@@ -57,17 +72,51 @@ public class WrapDescribeSurf<T extends ImageSingleBand, II extends ImageSingleB
 		return surf.getRadius();
 	}
 
+	/**
+	 * Specifies a cache which the integral image is taken from instead of being computed internally.
+	 * Allows the integral image to be shared with other algorithms.
+	 *
+	 * @param cache Cache of derived images.  If null the integral image is computed internally.
+	 */
+	public void setCache(DerivedImageCache<T, ?> cache) {
+		this.cache = cache;
+		cacheFrame = DerivedImageCache.NO_FRAME;
+		// don't modify the cache's integral image
+		ii = null;
+	}
+
+	/**
+	 * Specifies the algorithm used to describe batches of points.  It should be configured the same as the
+	 * algorithms passed to the constructor.  If not specified a single threaded batch is declared when needed.
+	 */
+	public void setBatch(DescribePointSurfBatch<II> batch) {
+		this.batch = batch;
+		if( ii != null )
+			batch.setImage(ii);
+	}
+
+	public DescribePointSurfBatch<II> getBatch() {
+		return batch;
+	}
+
 	@Override
 	public void setImage(T image) {
-		if( ii != null ) {
-			ii.reshape(image.width,image.height);
+		if( cache != null ) {
+			cacheFrame = cache.process(image,cacheFrame);
+			ii = cache.getIntegral();
+		} else {
+			if( ii != null ) {
+				ii.reshape(image.width,image.height);
+			}
+
+			// compute integral image
+			ii = GIntegralImageOps.transform(image,ii);
 		}
-
-		// compute integral image
-		ii = GIntegralImageOps.transform(image,ii);
 		if( orientationAlg != null )
 			orientationAlg.setImage(ii);
 		surf.setImage(ii);
+		if( batch != null )
+			batch.setImage(ii);
 	}
 
 	@Override
@@ -98,6 +147,22 @@ public class WrapDescribeSurf<T extends ImageSingleBand, II extends ImageSingleB
 		return ret;
 	}
 
+	/**
+	 * Describes a batch of points and writes the results into a {@link SurfFeatureSet}.  If orientation is
+	 * estimated then the estimate for each point is written into 'orientation'.
+	 *
+	 * @see DescribePointSurfBatch#process
+	 */
+	public void process( double x[] , double y[] , double scale[] , double orientation[] ,
+						 int numPoints , SurfFeatureSet output ) {
+		if( batch == null ) {
+			batch = new DescribePointSurfBatch<II>(surf,orientationAlg);
+			if( ii != null )
+				batch.setImage(ii);
+		}
+		batch.process(x,y,scale,orientation,numPoints,output);
+	}
+
 	@Override
 	public boolean requiresScale() {
 		return true;
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.abst.feature.detect.intensity;
+
+import boofcv.alg.feature.detect.intensity.FusedGradientCornerIntensity;
+import boofcv.struct.QueueCorner;
+import boofcv.struct.image.ImageSingleBand;
+
+/**
+ * Wrapper around children of {@link boofcv.alg.feature.detect.intensity.FusedGradientCornerIntensity}.  The
+ * gradient is computed internally and does not need to be provided.
+ *
+ * @author Peter Abeles
+ */
+public class WrapperFusedGradientCornerIntensity<I extends ImageSingleBand,D extends ImageSingleBand>
+		extends BaseGeneralFeatureIntensity<I,D>
+{
+	FusedGradientCornerIntensity<I> alg;
+
+	public WrapperFusedGradientCornerIntensity(FusedGradientCornerIntensity<I> alg) {
+		this.alg = alg;
+	}
+
+	@Override
+	public void process(I image , D derivX, D derivY, D derivXX, D derivYY, D derivXY ) {
+		init(image.width,image.height);
+		alg.process(image,intensity);
+	}
+
+	@Override
+	public QueueCorner getCandidates() {
+		return null;
+	}
+
+	@Override
+	public boolean getRequiresGradient() {
+		return false;
+	}
+
+	@Override
+	public boolean getRequiresHessian() {
+		return false;
+	}
+
+	@Override
+	public boolean hasCandidates() {
+		return false;
+	}
+
+	@Override
+	public int getIgnoreBorder() {
+		return alg.getIgnoreBorder();
+	}
+}
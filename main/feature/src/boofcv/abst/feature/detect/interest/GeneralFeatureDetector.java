@@ -20,6 +20,7 @@ package boofcv.abst.feature.detect.interest;
 
 import boofcv.abst.feature.detect.extract.FeatureExtractor;
 import boofcv.abst.feature.detect.intensity.GeneralFeatureIntensity;
+import boofcv.alg.feature.detect.extract.SelectBucketedFeatures;
 import boofcv.alg.feature.detect.extract.SelectNBestFeatures;
 import boofcv.struct.QueueCorner;
 import boofcv.struct.image.ImageFloat32;
@@ -36,6 +37,11 @@ import java.util.Arrays;
  * to be passed in, allowing for tighter integration of algorithms.
  * </p>
  *
+ * <p>
+ * Optionally, features can be selected using a grid of buckets, see {@link #setBuckets}.  Unlike sub-regions,
+ * features are extracted from the whole image at once and then the best in each bucket are kept.
+ * </p>
+ *
  * @author Peter Abeles
  */
 public class GeneralFeatureDetector<I extends ImageSingleBand, D extends ImageSingleBand> {
@@ -70,6 +76,9 @@ public class GeneralFeatureDetector<I extends ImageSingleBand, D extends ImageSi
 	// number of excluded features in each region
 	int regionCount[] = new int[1];
 
+	// optional: selects the best features inside each bucket of a grid
+	protected SelectBucketedFeatures bucketSelect;
+
 	/**
 	 * @param intensity Computes how much like the feature the region around each pixel is.
 	 * @param extractor Extracts the corners from intensity image
@@ -105,6 +114,24 @@ public class GeneralFeatureDetector<I extends ImageSingleBand, D extends ImageSi
 		regionCount = new int[numColumns * numRows];
 	}
 
+	/**
+	 * Turns on bucketed feature selection.  The image is divided into a grid and at most 'maxPerCell' features
+	 * are kept inside each cell.  If {@link #setMaxFeatures} is greater than zero it limits the total number of
+	 * features.  Can't be used with sub-regions.
+	 *
+	 * @param numColumns Number of buckets along the x-axis.  If <= 0 then bucketed selection is turned off.
+	 * @param numRows    Number of buckets along the y-axis.
+	 * @param maxPerCell Maximum number of features in each bucket.
+	 * @param spillOver  If true, unused budget from sparse buckets is given to the best remaining features.
+	 * @see SelectBucketedFeatures
+	 */
+	public void setBuckets(int numColumns, int numRows, int maxPerCell, boolean spillOver) {
+		if (numColumns <= 0)
+			bucketSelect = null;
+		else
+			bucketSelect = new SelectBucketedFeatures(numColumns, numRows, maxPerCell, maxFeatures, spillOver);
+	}
+
 	/**
 	 * Computes corners from image gradients.
 	 *
@@ -124,6 +151,8 @@ public class GeneralFeatureDetector<I extends ImageSingleBand, D extends ImageSi
 
 		if (intensity.hasCandidates() && numColumns * numRows != 1)
 			throw new RuntimeException("Candidates with subregions is not yet supported");
+		if (bucketSelect != null && numColumns * numRows != 1)
+			throw new IllegalArgumentException("Bucketed selection can't be used with subregions");
 
 		// mark features which are in the excluded list so that they are not returned again
 		if (excludedCorners != null) {
@@ -138,6 +167,18 @@ public class GeneralFeatureDetector<I extends ImageSingleBand, D extends ImageSi
 		}
 
 		extractFromRegions(intensityImage, regionWidth, regionHeight);
+
+		if (bucketSelect != null) {
+			bucketSelect.setMaxFeatures(maxFeatures);
+			bucketSelect.process(intensityImage, foundCorners, excludedCorners);
+
+			QueueCorner selected = bucketSelect.getSelected();
+			foundCorners.reset();
+			for (int i = 0; i < selected.size; i++) {
+				Point2D_I16 p = selected.get(i);
+				foundCorners.pop().set(p.x, p.y);
+			}
+		}
 	}
 
 	/**
@@ -176,7 +217,7 @@ public class GeneralFeatureDetector<I extends ImageSingleBand, D extends ImageSi
 				}
 
 				QueueCorner q;
-				if (maxFeatures > 0) {
+				if (maxFeatures > 0 && bucketSelect == null) {
 					int numSelect = regionMax - regionCount[i * numColumns + j];
 //					System.out.println("Region "+i+" "+j+"  target select "+numSelect);
 					if (numSelect > 0) {
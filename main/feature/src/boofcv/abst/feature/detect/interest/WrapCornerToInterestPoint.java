@@ -18,6 +18,7 @@
 
 package boofcv.abst.feature.detect.interest;
 
+import boofcv.abst.filter.derivative.DerivedImageCache;
 import boofcv.abst.filter.derivative.ImageGradient;
 import boofcv.abst.filter.derivative.ImageHessian;
 import boofcv.core.image.ImageGenerator;
@@ -51,6 +52,11 @@ public class WrapCornerToInterestPoint<T extends ImageSingleBand, D extends Imag
 
 	List<Point2D_F64> foundPoints;
 
+	// optional: provides the image derivatives
+	DerivedImageCache<T, D> cache;
+	// frame number of the cache when it was last used
+	long cacheFrame = DerivedImageCache.NO_FRAME;
+
 	public WrapCornerToInterestPoint(GeneralFeatureDetector<T, D> detector,
 									 ImageGradient<T, D> gradient,
 									 ImageHessian<D> hessian,
@@ -61,9 +67,39 @@ public class WrapCornerToInterestPoint<T extends ImageSingleBand, D extends Imag
 		this.derivativeGenerator = derivativeGenerator;
 	}
 
+	/**
+	 * Specifies a cache which the image derivatives are taken from instead of being computed internally.
+	 * Allows the derivatives to be shared with other algorithms.
+	 *
+	 * @param cache Cache of derived images.  If null the derivatives are computed internally.
+	 */
+	public void setCache(DerivedImageCache<T, D> cache) {
+		this.cache = cache;
+		cacheFrame = DerivedImageCache.NO_FRAME;
+		// don't modify the cache's derivatives
+		declaredDerivatives = false;
+		derivX = derivY = derivXX = derivYY = derivXY = null;
+	}
+
 	@Override
 	public void detect(T input) {
 
+		if (cache != null) {
+			cacheFrame = cache.process(input,cacheFrame);
+			if (detector.getRequiresGradient() || detector.getRequiresHessian()) {
+				derivX = cache.getDerivX();
+				derivY = cache.getDerivY();
+			}
+			if (detector.getRequiresHessian()) {
+				derivXX = cache.getDerivXX();
+				derivYY = cache.getDerivYY();
+				derivXY = cache.getDerivXY();
+			}
+			detector.process(input, derivX, derivY, derivXX, derivYY, derivXY);
+			saveFoundPoints();
+			return;
+		}
+
 		initializeDerivatives(input);
 
 		if (detector.getRequiresGradient() || detector.getRequiresHessian())
@@ -73,6 +109,10 @@ public class WrapCornerToInterestPoint<T extends ImageSingleBand, D extends Imag
 
 		detector.process(input, derivX, derivY, derivXX, derivYY, derivXY);
 
+		saveFoundPoints();
+	}
+
+	private void saveFoundPoints() {
 		QueueCorner corners = detector.getFeatures();
 
 		foundPoints = new ArrayList<Point2D_F64>();
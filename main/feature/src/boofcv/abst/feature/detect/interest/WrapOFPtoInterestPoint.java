@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.abst.feature.detect.interest;
+
+import boofcv.alg.feature.detect.interest.OrientedFastPyramid;
+import boofcv.struct.image.ImageSingleBand;
+import boofcv.struct.pyramid.PyramidDiscrete;
+import boofcv.struct.pyramid.PyramidUpdaterDiscrete;
+import georegression.struct.point.Point2D_F64;
+
+
+/**
+ * Wrapper around {@link OrientedFastPyramid} for {@link InterestPointDetector}.
+ *
+ * @author Peter Abeles
+ */
+public class WrapOFPtoInterestPoint<T extends ImageSingleBand, D extends ImageSingleBand>
+		implements InterestPointDetector<T>
+{
+	OrientedFastPyramid<T,D> detector;
+	PyramidUpdaterDiscrete<T> updater;
+	PyramidDiscrete<T> pyramid;
+
+	// radius of a feature at a scale of one
+	double canonicalRadius;
+
+	public WrapOFPtoInterestPoint(OrientedFastPyramid<T, D> detector,
+								  PyramidUpdaterDiscrete<T> updater,
+								  PyramidDiscrete<T> pyramid,
+								  double canonicalRadius ) {
+		this.detector = detector;
+		this.updater = updater;
+		this.pyramid = pyramid;
+		this.canonicalRadius = canonicalRadius;
+	}
+
+	@Override
+	public void detect(T input) {
+		updater.update(input,pyramid);
+		detector.detect(pyramid);
+	}
+
+	@Override
+	public int getNumberOfFeatures() {
+		return detector.getFeatures().size;
+	}
+
+	@Override
+	public Point2D_F64 getLocation(int featureIndex) {
+		return detector.getFeatures().get(featureIndex);
+	}
+
+	@Override
+	public double getScale(int featureIndex) {
+		return detector.getFeatures().get(featureIndex).scale;
+	}
+
+	@Override
+	public double getOrientation(int featureIndex) {
+		return detector.getOrientations()[featureIndex];
+	}
+
+	@Override
+	public double getCanonicalRadius() {
+		return canonicalRadius;
+	}
+
+	@Override
+	public boolean hasScale() {
+		return true;
+	}
+
+	@Override
+	public boolean hasOrientation() {
+		return true;
+	}
+}
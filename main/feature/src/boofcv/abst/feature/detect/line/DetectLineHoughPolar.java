@@ -23,6 +23,7 @@ import boofcv.abst.feature.detect.extract.FeatureExtractor;
 import boofcv.abst.filter.derivative.ImageGradient;
 import boofcv.alg.feature.detect.edge.GGradientToEdgeFeatures;
 import boofcv.alg.feature.detect.line.HoughTransformLinePolar;
+import boofcv.alg.feature.detect.line.HoughTransformLinePolarGradient;
 import boofcv.alg.feature.detect.line.ImageLinePruneMerge;
 import boofcv.alg.filter.binary.ThresholdImageOps;
 import boofcv.core.image.GeneralizedImageOps;
@@ -93,6 +94,8 @@ public class DetectLineHoughPolar<I extends ImageSingleBand, D extends ImageSing
 	int localMaxRadius;
 	// the maximum number of lines it will return
 	int maxLines;
+	// number of angle bins on either side of the gradient direction that are voted into. < 0 for all bins
+	int angleWindow;
 
 	// post processing pruning
 	ImageLinePruneMerge post = new ImageLinePruneMerge();
@@ -115,6 +118,32 @@ public class DetectLineHoughPolar<I extends ImageSingleBand, D extends ImageSing
 								float thresholdEdge,
 								int maxLines ,
 								ImageGradient<I, D> gradient)
+	{
+		this(localMaxRadius,minCounts,resolutionRange,resolutionAngle,-1,thresholdEdge,maxLines,gradient);
+	}
+
+	/**
+	 * Configures hough line detector which uses the gradient's direction to restrict which angles are voted
+	 * for, see {@link HoughTransformLinePolarGradient}.
+	 *
+	 * @param localMaxRadius Radius for local maximum suppression.  Try 2.
+	 * @param minCounts Minimum number of counts for detected line.  Critical tuning parameter and image dependent.
+	 * @param resolutionRange Resolution of line range in pixels.  Try 2
+	 * @param resolutionAngle Resolution of line angle in radius.  Try PI/180
+	 * @param angleWindow Number of angle bins on either side of the gradient's direction that each pixel votes into.
+	 *                    If < 0 then every angle is voted into.  Try 3.
+	 * @param thresholdEdge Edge detection threshold. Try 50.
+	 * @param maxLines Maximum number of lines to return. If <= 0 it will return them all.
+	 * @param gradient Algorithm for computing image gradient.
+	 */
+	public DetectLineHoughPolar(int localMaxRadius,
+								int minCounts,
+								double resolutionRange ,
+								double resolutionAngle ,
+								int angleWindow ,
+								float thresholdEdge,
+								int maxLines ,
+								ImageGradient<I, D> gradient)
 	{
 		pruneAngleTol = (float)((localMaxRadius+1)*resolutionAngle);
 		pruneRangeTol = (float)((localMaxRadius+1)*resolutionRange);
@@ -124,6 +153,7 @@ public class DetectLineHoughPolar<I extends ImageSingleBand, D extends ImageSing
 		this.resolutionRange = resolutionRange;
 		this.resolutionAngle = resolutionAngle;
 		this.maxLines = maxLines <= 0 ? Integer.MAX_VALUE : maxLines;
+		this.angleWindow = angleWindow;
 		extractor = FactoryFeatureExtractor.nonmax(localMaxRadius, minCounts, 0, true);
 		derivX = GeneralizedImageOps.createSingleBand(gradient.getDerivType(), 1, 1);
 		derivY = GeneralizedImageOps.createSingleBand(gradient.getDerivType(), 1, 1);
@@ -137,7 +167,10 @@ public class DetectLineHoughPolar<I extends ImageSingleBand, D extends ImageSing
 			int numBinsRange = (int)Math.ceil(r/resolutionRange);
 			int numBinsAngle = (int)Math.ceil(Math.PI/resolutionAngle);
 
-			alg = new HoughTransformLinePolar(extractor,numBinsRange,numBinsAngle);
+			if( angleWindow < 0 )
+				alg = new HoughTransformLinePolar(extractor,numBinsRange,numBinsAngle);
+			else
+				alg = new HoughTransformLinePolarGradient(extractor,numBinsRange,numBinsAngle,angleWindow);
 			derivX.reshape(input.width,input.height);
 			derivY.reshape(input.width,input.height);
 			intensity.reshape(input.width,input.height);
@@ -162,7 +195,10 @@ public class DetectLineHoughPolar<I extends ImageSingleBand, D extends ImageSing
 
 		ThresholdImageOps.threshold(suppressed, binary, thresholdEdge, false);
 
-		alg.transform(binary);
+		if( alg instanceof HoughTransformLinePolarGradient )
+			((HoughTransformLinePolarGradient)alg).transform(derivX,derivY,binary);
+		else
+			alg.transform(binary);
 		FastQueue<LineParametric2D_F32> lines = alg.extractLines();
 
 
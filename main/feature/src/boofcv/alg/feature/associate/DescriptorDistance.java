@@ -170,6 +170,88 @@ public class DescriptorDistance {
 		return total;
 	}
 
+	/**
+	 * Returns the Euclidean distance squared between the two descriptors.  Computed using integer arithmetic.
+	 *
+	 * @param a First descriptor
+	 * @param b Second descriptor
+	 * @return Euclidean distance squared
+	 */
+	public static int euclideanSq(TupleDesc_S8 a, TupleDesc_S8 b) {
+		final int N = a.value.length;
+		int total = 0;
+		for( int i = 0; i < N; i++ ) {
+			int d = a.value[i]-b.value[i];
+			total += d*d;
+		}
+
+		return total;
+	}
+
+	/**
+	 * Returns the Euclidean distance squared between the two descriptors.  Computed using integer arithmetic.
+	 *
+	 * @param a First descriptor
+	 * @param b Second descriptor
+	 * @return Euclidean distance squared
+	 */
+	public static int euclideanSq(TupleDesc_U8 a, TupleDesc_U8 b) {
+		final int N = a.value.length;
+		int total = 0;
+		for( int i = 0; i < N; i++ ) {
+			int d = (a.value[i] & 0xFF)-(b.value[i] & 0xFF);
+			total += d*d;
+		}
+
+		return total;
+	}
+
+	/**
+	 * <p>
+	 * Returns the Euclidean distance squared between two quantized descriptors which have different scale factors.
+	 * The original descriptors are approximated by a[i]*scaleA and b[i]*scaleB.  The sums of products are
+	 * computed using integer arithmetic and only the final result is computed using floating point.
+	 * </p>
+	 *
+	 * @param a First descriptor
+	 * @param scaleA Scale factor of the first descriptor
+	 * @param b Second descriptor
+	 * @param scaleB Scale factor of the second descriptor
+	 * @return Euclidean distance squared
+	 */
+	public static double euclideanSq(TupleDesc_S8 a, double scaleA , TupleDesc_S8 b , double scaleB ) {
+		final int N = a.value.length;
+		int aa = 0, bb = 0, ab = 0;
+		for( int i = 0; i < N; i++ ) {
+			int va = a.value[i];
+			int vb = b.value[i];
+			aa += va*va;
+			bb += vb*vb;
+			ab += va*vb;
+		}
+
+		double total = scaleA*scaleA*aa + scaleB*scaleB*bb - 2*scaleA*scaleB*ab;
+
+		// round off error can cause it to be slightly negative
+		return total < 0 ? 0 : total;
+	}
+
+	/**
+	 * Sum of absolute difference (SAD) score.  Computed using integer arithmetic.
+	 *
+	 * @param a First descriptor
+	 * @param b Second descriptor
+	 * @return SAD score
+	 */
+	public static int sad(TupleDesc_S8 a, TupleDesc_S8 b) {
+
+		int total = 0;
+		for( int i = 0; i < a.value.length; i++ ) {
+			total += Math.abs( a.value[i] - b.value[i]);
+		}
+		return total;
+	}
+
 	/**
 	 * Computes the hamming distance between two binary feature descriptors
 	 *
@@ -186,6 +268,131 @@ public class DescriptorDistance {
 		return score;
 	}
 
+	/**
+	 * Returns the Euclidean distance squared between two descriptors which are stored inside of larger arrays.
+	 *
+	 * @param a Array containing the first descriptor
+	 * @param offsetA Index of the first descriptor's first element
+	 * @param b Array containing the second descriptor
+	 * @param offsetB Index of the second descriptor's first element
+	 * @param dof Number of elements in each descriptor
+	 * @return Euclidean distance squared
+	 */
+	public static double euclideanSq( double a[] , int offsetA , double b[] , int offsetB , int dof ) {
+		double total = 0;
+		for( int i = 0; i < dof; i++ ) {
+			double d = a[offsetA+i]-b[offsetB+i];
+			total += d*d;
+		}
+
+		return total;
+	}
+
+	/**
+	 * Returns the Euclidean distance between two descriptors which are stored inside of larger arrays.
+	 *
+	 * @see #euclideanSq(double[], int, double[], int, int)
+	 */
+	public static double euclidean( double a[] , int offsetA , double b[] , int offsetB , int dof ) {
+		return Math.sqrt(euclideanSq(a,offsetA,b,offsetB,dof));
+	}
+
+	/**
+	 * Correlation score between two descriptors which are stored inside of larger arrays.
+	 *
+	 * @see #euclideanSq(double[], int, double[], int, int)
+	 */
+	public static double correlation( double a[] , int offsetA , double b[] , int offsetB , int dof ) {
+		double total = 0;
+		for( int i = 0; i < dof; i++ ) {
+			total += a[offsetA+i]*b[offsetB+i];
+		}
+
+		return total;
+	}
+
+	/**
+	 * Sum of absolute difference (SAD) score between two descriptors which are stored inside of larger arrays.
+	 *
+	 * @see #euclideanSq(double[], int, double[], int, int)
+	 */
+	public static double sad( double a[] , int offsetA , double b[] , int offsetB , int dof ) {
+		double total = 0;
+		for( int i = 0; i < dof; i++ ) {
+			total += Math.abs(a[offsetA+i]-b[offsetB+i]);
+		}
+
+		return total;
+	}
+
+	/**
+	 * Returns the Euclidean distance squared between two descriptors which are stored inside of larger arrays.
+	 *
+	 * @see #euclideanSq(double[], int, double[], int, int)
+	 */
+	public static double euclideanSq( float a[] , int offsetA , float b[] , int offsetB , int dof ) {
+		float total = 0;
+		for( int i = 0; i < dof; i++ ) {
+			float d = a[offsetA+i]-b[offsetB+i];
+			total += d*d;
+		}
+
+		return total;
+	}
+
+	/**
+	 * Sum of absolute difference (SAD) score between two descriptors which are stored inside of larger arrays.
+	 *
+	 * @see #euclideanSq(double[], int, double[], int, int)
+	 */
+	public static double sad( float a[] , int offsetA , float b[] , int offsetB , int dof ) {
+		float total = 0;
+		for( int i = 0; i < dof; i++ ) {
+			total += Math.abs(a[offsetA+i]-b[offsetB+i]);
+		}
+
+		return total;
+	}
+
+	/**
+	 * Computes the hamming distance between two binary descriptors which are stored inside of larger arrays.
+	 *
+	 * @param a Array containing the first descriptor
+	 * @param offsetA Index of the first descriptor's first int
+	 * @param b Array containing the second descriptor
+	 * @param offsetB Index of the second descriptor's first int
+	 * @param numInts Number of ints in each descriptor
+	 * @return The hamming distance
+	 */
+	public static int hamming( int a[] , int offsetA , int b[] , int offsetB , int numInts ) {
+		int score = 0;
+		for( int i = 0; i < numInts; i++ ) {
+			score += hamming(a[offsetA+i] ^ b[offsetB+i]);
+		}
+		return score;
+	}
+
+	/**
+	 * Returns the Euclidean distance squared between the two packed descriptors.
+	 */
+	public static double euclideanSq( PackedTupleDesc_F64 a , PackedTupleDesc_F64 b ) {
+		return euclideanSq(a.data,a.offset,b.data,b.offset,a.dof);
+	}
+
+	/**
+	 * Returns the Euclidean distance squared between the two packed descriptors.
+	 */
+	public static double euclideanSq( PackedTupleDesc_F32 a , PackedTupleDesc_F32 b ) {
+		return euclideanSq(a.data,a.offset,b.data,b.offset,a.dof);
+	}
+
+	/**
+	 * Computes the hamming distance between the two packed binary descriptors.
+	 */
+	public static int hamming( PackedTupleDesc_B a , PackedTupleDesc_B b ) {
+		return hamming(a.data,a.offset,b.data,b.offset,a.numInts);
+	}
+
 	/**
 	 * Computes the hamming distance.  A bit = 0 is a match and 1 is not match
 	 *
@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.feature.describe;
+
+import boofcv.alg.feature.orientation.OrientationIntegral;
+import boofcv.misc.BlockTask;
+import boofcv.misc.BoofConcurrency;
+import boofcv.struct.feature.SurfFeature;
+import boofcv.struct.feature.SurfFeatureSet;
+import boofcv.struct.image.ImageSingleBand;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>
+ * Computes SURF descriptions for a batch of interest points in parallel and writes them into a
+ * {@link SurfFeatureSet}.  If an orientation algorithm is provided then each point's orientation is estimated
+ * by the same thread right before the point is described.  The two steps are still computed independently and
+ * do not share any samples, since they sample the integral image at different locations and kernel sizes.
+ * </p>
+ *
+ * <p>
+ * Description and orientation algorithms have internal state, so each thread needs its own instances.  Additional
+ * instances are added with {@link #addThread}.  Each one should be configured the same as the instances passed to
+ * the constructor or else the results will depend on which thread processed a point.  If none are added then all
+ * the points are processed in the calling thread.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class DescribePointSurfBatch<II extends ImageSingleBand> {
+
+	// minimum number of points described by a single thread
+	public static int MIN_BLOCK = 20;
+
+	// algorithms which are not being used by a thread
+	private final List<Worker> available = new ArrayList<Worker>();
+	// all the algorithms
+	private List<Worker> workers = new ArrayList<Worker>();
+
+	// is the orientation estimated
+	private boolean estimateOrientation;
+
+	/**
+	 * Configures the batch.
+	 *
+	 * @param describe Computes the SURF description.
+	 * @param orientation Estimates each point's orientation.  If null then the orientation must be provided.
+	 */
+	public DescribePointSurfBatch(DescribePointSurf<II> describe, OrientationIntegral<II> orientation) {
+		estimateOrientation = orientation != null;
+		addThread(describe, orientation);
+	}
+
+	/**
+	 * Adds algorithms for another thread.  Must be configured the same as the ones passed to the constructor.
+	 *
+	 * @param describe Computes the SURF description.
+	 * @param orientation Estimates each point's orientation.  Must be null if it was null in the constructor.
+	 */
+	public void addThread( DescribePointSurf<II> describe, OrientationIntegral<II> orientation ) {
+		if( estimateOrientation != (orientation != null) )
+			throw new IllegalArgumentException("Orientation must be provided to every thread or none of them");
+
+		Worker w = new Worker(describe, orientation);
+		workers.add(w);
+		available.add(w);
+	}
+
+	/**
+	 * Specifies the integral image which the points are described in.
+	 */
+	public void setImage( II integralImage ) {
+		for( Worker w : workers ) {
+			w.describe.setImage(integralImage);
+			if( w.orientation != null )
+				w.orientation.setImage(integralImage);
+		}
+	}
+
+	/**
+	 * Describes all the points.  If an orientation algorithm was provided then the estimated orientation of
+	 * each point is written into 'angle', otherwise it is read from 'angle'.
+	 *
+	 * @param x Location of each interest point.
+	 * @param y Location of each interest point.
+	 * @param scale Scale of each interest point.
+	 * @param angle Orientation of each interest point in radians.  Modified if orientation is estimated.
+	 * @param numPoints Number of points being described.
+	 * @param output Storage for the descriptions.  Is resized to the number of points.
+	 */
+	public void process( final double x[] , final double y[] , final double scale[] , final double angle[] ,
+						 int numPoints , final SurfFeatureSet output ) {
+		if( output.getDof() != workers.get(0).describe.getDescriptionLength() )
+			throw new IllegalArgumentException("Output has an unexpected description length");
+
+		output.resize(numPoints);
+
+		// divide the points up so that each thread has its own set of algorithms
+		int minBlock = Math.max(MIN_BLOCK,(numPoints+workers.size()-1)/workers.size());
+
+		BoofConcurrency.loopBlocks(0,numPoints,minBlock,new BlockTask() {
+			@Override
+			public void process(int start, int end) {
+				Worker w = take();
+				try {
+					for( int i = start; i < end; i++ ) {
+						if( w.orientation != null ) {
+							w.orientation.setScale(scale[i]);
+							angle[i] = w.orientation.compute(x[i],y[i]);
+						}
+						w.describe.describe(x[i],y[i],scale[i],angle[i],w.feature);
+						output.set(i,w.feature);
+					}
+				} finally {
+					synchronized ( available ) {
+						available.add(w);
+					}
+				}
+			}
+		});
+	}
+
+	private Worker take() {
+		synchronized ( available ) {
+			return available.remove(available.size()-1);
+		}
+	}
+
+	/**
+	 * Returns the number of threads which can be used
+	 */
+	public int getNumThreads() {
+		return workers.size();
+	}
+
+	public int getDescriptionLength() {
+		return workers.get(0).describe.getDescriptionLength();
+	}
+
+	/**
+	 * Algorithms used by a single thread
+	 */
+	private class Worker {
+		DescribePointSurf<II> describe;
+		OrientationIntegral<II> orientation;
+		SurfFeature feature;
+
+		private Worker(DescribePointSurf<II> describe, OrientationIntegral<II> orientation) {
+			this.describe = describe;
+			this.orientation = orientation;
+			this.feature = describe.createDescription();
+		}
+	}
+}
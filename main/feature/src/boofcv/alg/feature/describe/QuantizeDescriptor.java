@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.feature.describe;
+
+import boofcv.struct.feature.*;
+
+/**
+ * <p>
+ * Functions for quantizing floating point descriptions into bytes.  Each description has its own scale factor,
+ * which is selected so that the element with the largest magnitude maps to the largest value a byte can store.
+ * The original description is approximated by multiplying the quantized values by the scale factor.
+ * </p>
+ *
+ * <p>
+ * Signed descriptions, such as SURF, should be quantized into {@link TupleDesc_S8}.  {@link TupleDesc_U8} can only be
+ * used with descriptions which have no negative elements.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class QuantizeDescriptor {
+
+	/**
+	 * Quantizes the description into signed bytes.
+	 *
+	 * @param input Description being quantized.  Not modified.
+	 * @param output Storage for quantized description.  Modified.
+	 * @return Scale factor. Multiply the quantized value by this to get the original value.
+	 */
+	public static double quantize( TupleDesc_F64 input , TupleDesc_S8 output ) {
+		final int N = input.value.length;
+		if( output.value.length != N )
+			throw new IllegalArgumentException("Descriptions must have the same length");
+
+		double max = 0;
+		for( int i = 0; i < N; i++ ) {
+			double v = Math.abs(input.value[i]);
+			if( v > max )
+				max = v;
+		}
+
+		if( max == 0 ) {
+			for( int i = 0; i < N; i++ )
+				output.value[i] = 0;
+			return 0;
+		}
+
+		double scale = max/127.0;
+		for( int i = 0; i < N; i++ ) {
+			output.value[i] = (byte)Math.round(input.value[i]/scale);
+		}
+
+		return scale;
+	}
+
+	/**
+	 * Quantizes the description into unsigned bytes.  None of the elements in the description can be negative.
+	 *
+	 * @param input Description being quantized.  Not modified.
+	 * @param output Storage for quantized description.  Modified.
+	 * @return Scale factor. Multiply the quantized value by this to get the original value.
+	 */
+	public static double quantize( TupleDesc_F64 input , TupleDesc_U8 output ) {
+		final int N = input.value.length;
+		if( output.value.length != N )
+			throw new IllegalArgumentException("Descriptions must have the same length");
+
+		double max = 0;
+		for( int i = 0; i < N; i++ ) {
+			double v = input.value[i];
+			if( v < 0 )
+				throw new IllegalArgumentException("Negative element at index "+i+".  Quantize into TupleDesc_S8 instead.");
+			if( v > max )
+				max = v;
+		}
+
+		if( max == 0 ) {
+			for( int i = 0; i < N; i++ )
+				output.value[i] = 0;
+			return 0;
+		}
+
+		double scale = max/255.0;
+		for( int i = 0; i < N; i++ ) {
+			output.value[i] = (byte)Math.round(input.value[i]/scale);
+		}
+
+		return scale;
+	}
+
+	/**
+	 * Quantizes a SURF description.  The scale factor and sign of the Laplacian are saved in the output.
+	 *
+	 * @param input Description being quantized.  Not modified.
+	 * @param output Storage for quantized description.  Modified.
+	 */
+	public static void quantize( SurfFeature input , SurfFeatureS8 output ) {
+		output.scale = quantize(input,(TupleDesc_S8)output);
+		output.laplacianPositive = input.laplacianPositive;
+	}
+
+	/**
+	 * Converts a quantized description back into floating point.
+	 *
+	 * @param input Quantized description.  Not modified.
+	 * @param scale Scale factor returned when the description was quantized.
+	 * @param output Storage for the approximated description.  Modified.
+	 */
+	public static void dequantize( TupleDesc_S8 input , double scale , TupleDesc_F64 output ) {
+		final int N = input.value.length;
+		for( int i = 0; i < N; i++ ) {
+			output.value[i] = input.value[i]*scale;
+		}
+	}
+
+	/**
+	 * Converts a quantized description back into floating point.
+	 *
+	 * @param input Quantized description.  Not modified.
+	 * @param scale Scale factor returned when the description was quantized.
+	 * @param output Storage for the approximated description.  Modified.
+	 */
+	public static void dequantize( TupleDesc_U8 input , double scale , TupleDesc_F64 output ) {
+		final int N = input.value.length;
+		for( int i = 0; i < N; i++ ) {
+			output.value[i] = (input.value[i] & 0xFF)*scale;
+		}
+	}
+
+	/**
+	 * Converts a quantized SURF description back into floating point.
+	 *
+	 * @param input Quantized description.  Not modified.
+	 * @param output Storage for the approximated description.  Modified.
+	 */
+	public static void dequantize( SurfFeatureS8 input , SurfFeature output ) {
+		dequantize(input,input.scale,output);
+		output.laplacianPositive = input.laplacianPositive;
+	}
+}
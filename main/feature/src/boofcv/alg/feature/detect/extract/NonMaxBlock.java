@@ -18,9 +18,14 @@
 
 package boofcv.alg.feature.detect.extract;
 
+import boofcv.misc.BlockTask;
+import boofcv.misc.BoofConcurrency;
 import boofcv.struct.QueueCorner;
 import boofcv.struct.image.ImageFloat32;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * <p>
  * Non-maximum extractor based on the block algorithm in [1].  The worst case complexity per
@@ -32,7 +37,9 @@ import boofcv.struct.image.ImageFloat32;
  *
  * <p>
  * Each block check is independent of all the others and no information is exchanged.  This
- * algorithm could be paralyzed easily and has no memory overhead.
+ * algorithm could be paralyzed easily and has no memory overhead.  If concurrent processing is turned on
+ * the rows of blocks are split into horizontal bands which are searched in parallel.  The peaks found in
+ * each band are then appended in order, making the output identical to the single threaded case.
  * </p>
  *
  * <p>
@@ -53,6 +60,15 @@ public abstract class NonMaxBlock {
 	// found peaks
 	protected QueueCorner peaks;
 
+	// minimum number of rows of blocks searched by a single thread
+	public static int MIN_BLOCK = 4;
+
+	// should the image be processed using multiple threads
+	protected boolean concurrent = false;
+	// searches each band of blocks and the peaks they found when concurrent
+	private List<NonMaxBlock> workers = new ArrayList<NonMaxBlock>();
+	private List<QueueCorner> workerPeaks = new ArrayList<QueueCorner>();
+
 	protected NonMaxBlock() {
 	}
 
@@ -64,16 +80,79 @@ public abstract class NonMaxBlock {
 
 	public void process(ImageFloat32 intensityImage, QueueCorner peaks) {
 
-		this.peaks = peaks;
-
 		int endY = intensityImage.height-border;
+		int step = radius+1;
+
+		int numBlockRows = endY > border ? (endY-border+step-1)/step : 0;
+		int numBands = concurrent ? Math.min(BoofConcurrency.getMaxThreads(),numBlockRows/Math.max(1,MIN_BLOCK)) : 1;
+
+		if( numBands <= 1 ) {
+			this.peaks = peaks;
+			searchRows(intensityImage,border,endY);
+		} else {
+			processConcurrent(intensityImage,peaks,numBlockRows,numBands);
+		}
+	}
+
+	/**
+	 * Splits the rows of blocks into bands which are searched in parallel, each with its own worker.
+	 */
+	private void processConcurrent( final ImageFloat32 intensityImage , QueueCorner peaks ,
+									final int numBlockRows , final int numBands ) {
+		while( workers.size() < numBands ) {
+			NonMaxBlock worker = newInstance();
+			worker.setSearchRadius(radius);
+			workers.add(worker);
+			workerPeaks.add(new QueueCorner(10));
+		}
+
+		final int step = radius+1;
+		final int endY = intensityImage.height-border;
+
+		BoofConcurrency.loopBlocks(0,numBands,1,new BlockTask() {
+			@Override
+			public void process(int start, int end) {
+				for( int i = start; i < end; i++ ) {
+					NonMaxBlock worker = workers.get(i);
+					if( worker.getSearchRadius() != radius )
+						worker.setSearchRadius(radius);
+					worker.setThreshold(threshold);
+					worker.setBorder(border);
+
+					QueueCorner found = workerPeaks.get(i);
+					found.reset();
+					worker.peaks = found;
+
+					int row0 = numBlockRows*i/numBands;
+					int row1 = numBlockRows*(i+1)/numBands;
+					worker.searchRows(intensityImage,border+row0*step,Math.min(endY,border+row1*step));
+				}
+			}
+		});
+
+		for( int i = 0; i < numBands; i++ ) {
+			QueueCorner found = workerPeaks.get(i);
+			for( int j = 0; j < found.size; j++ ) {
+				peaks.add(found.data[j]);
+			}
+		}
+	}
+
+	/**
+	 * Searches all the blocks which start inside the specified range of rows.
+	 *
+	 * @param intensityImage Intensity image
+	 * @param rowStart First row.  Inclusive.
+	 * @param rowEnd Last row.  Exclusive.
+	 */
+	protected void searchRows( ImageFloat32 intensityImage , int rowStart , int rowEnd ) {
 		int endX = intensityImage.width-border;
 
 		int step = radius+1;
 
-		for( int y = border; y < endY; y += step ) {
+		for( int y = rowStart; y < rowEnd; y += step ) {
 			int y1 = y + step;
-			if( y1 > endY ) y1 = endY;
+			if( y1 > rowEnd ) y1 = rowEnd;
 
 			for( int x = border; x < endX; x += step ) {
 				int x1 = x + step;
@@ -85,6 +164,22 @@ public abstract class NonMaxBlock {
 
 	protected abstract void searchBlock( int x0 , int y0 , int x1 , int y1 , ImageFloat32 img );
 
+	/**
+	 * Creates a new instance of the same type.  Used to search part of the image when concurrent.
+	 */
+	protected abstract NonMaxBlock newInstance();
+
+	/**
+	 * If true the image will be processed using multiple threads.  See {@link BoofConcurrency}.
+	 */
+	public void setConcurrent(boolean concurrent) {
+		this.concurrent = concurrent;
+	}
+
+	public boolean isConcurrent() {
+		return concurrent;
+	}
+
 	public void setSearchRadius(int radius) {
 		this.radius = radius;
 	}
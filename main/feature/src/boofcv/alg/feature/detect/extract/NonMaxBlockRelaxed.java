@@ -100,4 +100,8 @@ public class NonMaxBlockRelaxed extends NonMaxBlock {
 			local[i] = new Point2D_I32();
 	}
 
+	@Override
+	protected NonMaxBlock newInstance() {
+		return new NonMaxBlockRelaxed();
+	}
 }
@@ -88,4 +88,9 @@ public class NonMaxBlockStrict extends NonMaxBlock {
 		// save location of local max
 		peaks.add(x_c, y_c);
 	}
+
+	@Override
+	protected NonMaxBlock newInstance() {
+		return new NonMaxBlockStrict();
+	}
 }
@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.feature.detect.extract;
+
+import boofcv.struct.QueueCorner;
+import georegression.struct.point.Point2D_I16;
+import pja.storage.GrowQueue_F32;
+
+
+/**
+ * <p>
+ * Non-maximum suppression which is applied to a sparse list of candidate features and their scores, instead of
+ * an intensity image.  A candidate is a feature if its score is above the threshold and it is a local maximum
+ * among the candidates inside a square region.  Pixels which are not candidates are assumed to have a score
+ * below the threshold.  Computational cost is proportional to the number of candidates, not the image area.
+ * </p>
+ *
+ * <p>
+ * Candidates must be ordered row by row in increasing x-coordinate, which is the order they are produced by
+ * {@link boofcv.alg.feature.detect.intensity.FastCornerIntensity}.  The candidates in each row are located using
+ * a table of where each row starts and neighbors inside a row are found with a binary search.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class NonMaxCandidateSparse {
+
+	// size of the search area
+	int radius;
+	// the threshold which points must be above to be a feature
+	float thresh;
+	// if true then a feature must be larger than all its neighbors, otherwise it can be equal
+	boolean strict;
+
+	// index of the first candidate in each row.  Has one extra element for the end of the last row
+	int rowStart[] = new int[1];
+
+	public NonMaxCandidateSparse(int searchRadius, float thresh, boolean strict) {
+		this.radius = searchRadius;
+		this.thresh = thresh;
+		this.strict = strict;
+	}
+
+	/**
+	 * Selects features from the list of candidates.
+	 *
+	 * @param candidates List of candidate locations, ordered by row then column.
+	 * @param scores Score of each candidate.
+	 * @param imageHeight Height of the image the candidates were detected in.
+	 * @param found (Output) Selected features.  Found features are added to this list.
+	 * @param foundScores (Output) Score of each selected feature.  Can be null.
+	 */
+	public void process( QueueCorner candidates , GrowQueue_F32 scores , int imageHeight ,
+						 QueueCorner found , GrowQueue_F32 foundScores ) {
+		if( candidates.size != scores.size )
+			throw new IllegalArgumentException("The number of candidates and scores must be the same");
+
+		computeRowStart(candidates, imageHeight);
+
+		final Point2D_I16 pts[] = candidates.data;
+		final float s[] = scores.queue;
+
+		for( int i = 0; i < candidates.size; i++ ) {
+			float val = s[i];
+			if( val < thresh )
+				continue;
+
+			Point2D_I16 p = pts[i];
+			int x0 = p.x - radius;
+			int x1 = p.x + radius;
+			int y0 = Math.max(0,p.y - radius);
+			int y1 = Math.min(imageHeight-1,p.y + radius);
+
+			boolean max = true;
+			for( int y = y0; y <= y1 && max; y++ ) {
+				int end = rowStart[y+1];
+				for( int j = lowerBound(pts,rowStart[y],end,x0); j < end; j++ ) {
+					if( pts[j].x > x1 )
+						break;
+					if( j == i )
+						continue;
+					if( strict ? val <= s[j] : val < s[j] ) {
+						max = false;
+						break;
+					}
+				}
+			}
+
+			if( max ) {
+				found.add(p.x,p.y);
+				if( foundScores != null )
+					foundScores.push(val);
+			}
+		}
+	}
+
+	/**
+	 * Computes the index of the first candidate in each row and makes sure they are in the expected order.
+	 */
+	private void computeRowStart( QueueCorner candidates , int imageHeight ) {
+		if( rowStart.length < imageHeight+1 )
+			rowStart = new int[ imageHeight+1 ];
+
+		int row = 0;
+		int prevX = -1, prevY = -1;
+		for( int i = 0; i < candidates.size; i++ ) {
+			Point2D_I16 p = candidates.data[i];
+			if( p.y < 0 || p.y < prevY || (p.y == prevY && p.x <= prevX) || p.y >= imageHeight )
+				throw new IllegalArgumentException("Candidates must be inside the image and ordered by row then column");
+			while( row <= p.y ) {
+				rowStart[row++] = i;
+			}
+			prevX = p.x;
+			prevY = p.y;
+		}
+		while( row <= imageHeight ) {
+			rowStart[row++] = candidates.size;
+		}
+	}
+
+	/**
+	 * Returns the index of the first point in the range whose x-coordinate is >= x
+	 */
+	private static int lowerBound( Point2D_I16 pts[] , int begin , int end , int x ) {
+		while( begin < end ) {
+			int middle = (begin+end) >>> 1;
+			if( pts[middle].x < x )
+				begin = middle+1;
+			else
+				end = middle;
+		}
+		return begin;
+	}
+
+	public int getSearchRadius() {
+		return radius;
+	}
+
+	public void setSearchRadius(int radius) {
+		this.radius = radius;
+	}
+
+	public float getThresh() {
+		return thresh;
+	}
+
+	public void setThresh(float thresh) {
+		this.thresh = thresh;
+	}
+
+	public boolean isStrict() {
+		return strict;
+	}
+}
@@ -0,0 +1,316 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.feature.detect.extract;
+
+import boofcv.struct.QueueCorner;
+import boofcv.struct.image.ImageFloat32;
+import georegression.struct.point.Point2D_I16;
+import pja.sorting.QuickSelectArray;
+
+/**
+ * <p>
+ * Selects the best features inside each cell of a grid which is laid over the image.  This prevents highly textured
+ * regions from using up the entire feature budget and ensures that features are spread across the image.  Features
+ * are first sorted into cells using a counting sort, then the best features in each cell are found using quick
+ * select.  The cost is linear in the number of features.
+ * </p>
+ *
+ * <p>
+ * A cell can contain at most 'maxPerCell' features.  If spill over is turned on and the total number of features
+ * is less than the total budget, then the unused budget from sparse cells is given to the best features which were
+ * rejected from full cells.  The total budget is 'maxFeatures', or if that is less than or equal to zero then
+ * 'maxPerCell' times the number of cells.
+ * </p>
+ *
+ * <p>
+ * Previously detected features which are being excluded can be provided.  They count against the budget of the
+ * cell they are in and the total budget.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class SelectBucketedFeatures {
+
+	// grid the image is divided up into
+	int numColumns;
+	int numRows;
+	// maximum number of features in each cell
+	int maxPerCell;
+	// maximum number of features in total.  If <= 0 then maxPerCell*numCells
+	int maxFeatures;
+	// should unused budget be given to other cells
+	boolean spillOver;
+
+	// list of selected features
+	QueueCorner selected = new QueueCorner(10);
+	// features being selected from
+	QueueCorner input;
+
+	// number of features in each cell and where each cell starts in the sorted list
+	int cellCount[] = new int[1];
+	int cellStart[] = new int[1];
+	// number of excluded features in each cell
+	int cellExcluded[] = new int[1];
+
+	// index of each feature sorted by cell
+	int sorted[] = new int[1];
+	// cell each feature is inside of
+	int cellOf[] = new int[1];
+	// true if the feature has been selected
+	boolean used[] = new boolean[1];
+	// work space for quick select
+	float inten[] = new float[1];
+	int indexes[] = new int[1];
+
+	/**
+	 * Configures the grid.
+	 *
+	 * @param numColumns Number of cells along the x-axis.
+	 * @param numRows Number of cells along the y-axis.
+	 * @param maxPerCell Maximum number of features which are selected in each cell.
+	 * @param maxFeatures Maximum number of selected features in total.  If <= 0 then maxPerCell times the number of cells.
+	 * @param spillOver If true, unused budget is given to the best remaining features.
+	 */
+	public SelectBucketedFeatures(int numColumns, int numRows, int maxPerCell, int maxFeatures, boolean spillOver) {
+		setGrid(numColumns, numRows);
+		this.maxPerCell = maxPerCell;
+		this.maxFeatures = maxFeatures;
+		this.spillOver = spillOver;
+	}
+
+	/**
+	 * Specifies the number of cells in the grid
+	 *
+	 * @param numColumns Number of cells along the x-axis.
+	 * @param numRows Number of cells along the y-axis.
+	 */
+	public void setGrid( int numColumns , int numRows ) {
+		if( numColumns <= 0 || numRows <= 0 )
+			throw new IllegalArgumentException("The number of rows and columns must be positive");
+		this.numColumns = numColumns;
+		this.numRows = numRows;
+
+		int N = numColumns*numRows;
+		if( cellCount.length < N ) {
+			cellCount = new int[N];
+			cellStart = new int[N];
+			cellExcluded = new int[N];
+		}
+	}
+
+	/**
+	 * Selects the best features in each cell.
+	 *
+	 * @param intensityImage Feature intensity image.  Larger values are better.
+	 * @param corners Features which are being selected from.  In image pixels.
+	 * @param excluded Optional list of excluded features which count against the budget.  Can be null.
+	 */
+	public void process( ImageFloat32 intensityImage , QueueCorner corners , QueueCorner excluded ) {
+		final int width = intensityImage.width;
+		final int height = intensityImage.height;
+		final int numCells = numColumns*numRows;
+		final int N = corners.size;
+
+		input = corners;
+		selected.reset();
+		declareWork(N);
+
+		int budget = maxFeatures > 0 ? maxFeatures : maxPerCell*numCells;
+
+		for( int i = 0; i < numCells; i++ ) {
+			cellCount[i] = 0;
+			cellExcluded[i] = 0;
+		}
+		if( excluded != null ) {
+			for( int i = 0; i < excluded.size; i++ ) {
+				Point2D_I16 p = excluded.data[i];
+				cellExcluded[cellIndex(p.x,p.y,width,height)]++;
+			}
+			budget -= excluded.size;
+		}
+		if( budget <= 0 )
+			return;
+
+		// counting sort of the features into their cells
+		for( int i = 0; i < N; i++ ) {
+			Point2D_I16 p = corners.data[i];
+			int cell = cellIndex(p.x,p.y,width,height);
+			cellOf[i] = cell;
+			cellCount[cell]++;
+			used[i] = false;
+		}
+		int total = 0;
+		for( int i = 0; i < numCells; i++ ) {
+			cellStart[i] = total;
+			total += cellCount[i];
+		}
+		for( int i = 0; i < N; i++ ) {
+			sorted[cellStart[cellOf[i]]++] = i;
+		}
+
+		// select the best inside of each cell
+		int numSelected = 0;
+		int start = 0;
+		for( int cell = 0; cell < numCells; cell++ ) {
+			int count = cellCount[cell];
+			int quota = maxPerCell - cellExcluded[cell];
+
+			if( quota > 0 ) {
+				if( count <= quota ) {
+					for( int i = 0; i < count; i++ )
+						used[sorted[start+i]] = true;
+					numSelected += count;
+				} else {
+					numSelected += selectBest(intensityImage,start,count,quota);
+				}
+			}
+			start += count;
+		}
+
+		if( numSelected > budget ) {
+			// too many were selected, keep the best ones
+			pruneSelected(intensityImage,N,numSelected,budget);
+		} else if( spillOver && numSelected < budget && numSelected < N ) {
+			// give the unused budget to the best of the rejected features
+			spill(intensityImage,N,budget-numSelected);
+		}
+
+		for( int i = 0; i < N; i++ ) {
+			if( used[sorted[i]] ) {
+				Point2D_I16 p = corners.data[sorted[i]];
+				selected.add(p.x,p.y);
+			}
+		}
+	}
+
+	private int cellIndex( int x , int y , int width , int height ) {
+		int col = x*numColumns/width;
+		int row = y*numRows/height;
+		return row*numColumns + col;
+	}
+
+	/**
+	 * Marks the 'quota' features with the largest intensity in the sorted list [start,start+count) as used
+	 */
+	private int selectBest( ImageFloat32 intensityImage , int start , int count , int quota ) {
+		for( int i = 0; i < count; i++ ) {
+			Point2D_I16 p = corners(start+i);
+			// quick select selects the k smallest
+			inten[i] = -intensityImage.get(p.x,p.y);
+		}
+		QuickSelectArray.selectIndex(inten,quota,count,indexes);
+		for( int i = 0; i < quota; i++ )
+			used[sorted[start+indexes[i]]] = true;
+		return quota;
+	}
+
+	/**
+	 * Only keeps the 'budget' best features which have been selected
+	 */
+	private void pruneSelected( ImageFloat32 intensityImage , int N , int numSelected , int budget ) {
+		int count = 0;
+		for( int i = 0; i < N; i++ ) {
+			if( used[sorted[i]] ) {
+				Point2D_I16 p = corners(i);
+				inten[count] = -intensityImage.get(p.x,p.y);
+				cellOf[count++] = sorted[i];
+				used[sorted[i]] = false;
+			}
+		}
+		QuickSelectArray.selectIndex(inten,budget,numSelected,indexes);
+		for( int i = 0; i < budget; i++ )
+			used[cellOf[indexes[i]]] = true;
+	}
+
+	/**
+	 * Selects the best features which were not selected
+	 */
+	private void spill( ImageFloat32 intensityImage , int N , int extra ) {
+		int count = 0;
+		for( int i = 0; i < N; i++ ) {
+			if( !used[sorted[i]] ) {
+				Point2D_I16 p = corners(i);
+				inten[count] = -intensityImage.get(p.x,p.y);
+				cellOf[count++] = sorted[i];
+			}
+		}
+		if( count <= extra ) {
+			for( int i = 0; i < count; i++ )
+				used[cellOf[i]] = true;
+		} else {
+			QuickSelectArray.selectIndex(inten,extra,count,indexes);
+			for( int i = 0; i < extra; i++ )
+				used[cellOf[indexes[i]]] = true;
+		}
+	}
+
+	private Point2D_I16 corners( int sortedIndex ) {
+		return input.data[sorted[sortedIndex]];
+	}
+
+	private void declareWork( int N ) {
+		if( sorted.length < N ) {
+			sorted = new int[N];
+			cellOf = new int[N];
+			used = new boolean[N];
+			inten = new float[N];
+			indexes = new int[N];
+		}
+	}
+
+	/**
+	 * Features which were selected.  Ordered by cell.
+	 */
+	public QueueCorner getSelected() {
+		return selected;
+	}
+
+	public int getNumColumns() {
+		return numColumns;
+	}
+
+	public int getNumRows() {
+		return numRows;
+	}
+
+	public int getMaxPerCell() {
+		return maxPerCell;
+	}
+
+	public void setMaxPerCell(int maxPerCell) {
+		this.maxPerCell = maxPerCell;
+	}
+
+	public int getMaxFeatures() {
+		return maxFeatures;
+	}
+
+	public void setMaxFeatures(int maxFeatures) {
+		this.maxFeatures = maxFeatures;
+	}
+
+	public boolean isSpillOver() {
+		return spillOver;
+	}
+
+	public void setSpillOver(boolean spillOver) {
+		this.spillOver = spillOver;
+	}
+}
@@ -23,6 +23,7 @@ import boofcv.misc.DiscretizedCircle;
 import boofcv.struct.QueueCorner;
 import boofcv.struct.image.ImageFloat32;
 import boofcv.struct.image.ImageSingleBand;
+import pja.storage.GrowQueue_F32;
 
 /**
  * <p>
@@ -95,13 +96,7 @@ public abstract class FastCornerIntensity<T extends ImageSingleBand> implements
 
 	public void process( T image , ImageFloat32 intensity ) {
 		candidates.reset();
-		this.image = image;
-
-		if( stride != image.stride ) {
-			stride = image.stride;
-			offsets = DiscretizedCircle.imageOffsets(radius, image.stride);
-		}
-		helper.setImage(image,offsets);
+		setImage(image);
 
 		for (int y = radius; y < image.height-radius; y++) {
 			int indexIntensity = intensity.startIndex + y*intensity.stride + radius;
@@ -123,6 +118,54 @@ public abstract class FastCornerIntensity<T extends ImageSingleBand> implements
 		}
 	}
 
+	/**
+	 * <p>
+	 * Sparse version of {@link #process(ImageSingleBand, ImageFloat32)}.  Instead of writing an intensity image
+	 * each corner and its score are added to the output lists, which are in the same order.  Corners are
+	 * added row by row in order of increasing x-coordinate.
+	 * </p>
+	 *
+	 * <p>
+	 * Most pixels are rejected after a few comparisons, so the cost of any processing which follows is
+	 * proportional to the number of corners instead of the number of pixels.
+	 * </p>
+	 *
+	 * @param image Input image.  Not modified.
+	 * @param corners (Output) Location of each corner.  Modified.
+	 * @param scores (Output) Score of each corner.  Modified.
+	 */
+	public void process( T image , QueueCorner corners , GrowQueue_F32 scores ) {
+		corners.reset();
+		scores.reset();
+		setImage(image);
+
+		for (int y = radius; y < image.height-radius; y++) {
+			int index = image.startIndex + y*image.stride + radius;
+			for (int x = radius; x < image.width-radius; x++, index++) {
+
+				helper.setThresholds(index);
+
+				if( checkLower(index) ) {
+					scores.push(helper.scoreLower(index));
+					corners.add(x,y);
+				} else if( checkUpper(index)) {
+					scores.push(helper.scoreUpper(index));
+					corners.add(x,y);
+				}
+			}
+		}
+	}
+
+	private void setImage( T image ) {
+		this.image = image;
+
+		if( stride != image.stride ) {
+			stride = image.stride;
+			offsets = DiscretizedCircle.imageOffsets(radius, image.stride);
+		}
+		helper.setImage(image,offsets);
+	}
+
 	/**
 	 * Checks to see if the specified pixel qualifies as a corner with lower values
 	 */
@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.feature.detect.intensity;
+
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageSingleBand;
+
+/**
+ * <p>
+ * Computes the same corner intensity as a {@link GradientCornerIntensity} but directly from the input image.  The
+ * image gradient, the products of the gradient, and their windowed sums are all computed in a single pass using a
+ * few rows of temporary storage.  The image gradient is never saved, which greatly reduces the amount of memory
+ * which needs to be read and written.
+ * </p>
+ *
+ * <p>
+ * The gradient is computed using a Sobel operator and the image border is handled by extending the image, which
+ * produces the same results as {@link boofcv.alg.filter.derivative.GradientSobel} with the default border.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public interface FusedGradientCornerIntensity<T extends ImageSingleBand> extends FeatureIntensity<T> {
+
+	/**
+	 * Computes feature intensity image.
+	 *
+	 * @param image Input image.  Not modified.
+	 * @param intensity Output intensity image.  Pixels inside the ignore border are not modified.
+	 */
+	public void process( T image , ImageFloat32 intensity );
+}
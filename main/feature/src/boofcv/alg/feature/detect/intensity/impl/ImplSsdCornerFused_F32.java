@@ -0,0 +1,233 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.detect.intensity.impl;
+
+import boofcv.alg.InputSanityCheck;
+import boofcv.alg.feature.detect.intensity.FusedGradientCornerIntensity;
+import boofcv.struct.image.ImageFloat32;
+
+/**
+ * <p>
+ * Implementation of {@link FusedGradientCornerIntensity} for {@link ImageFloat32}.  Each row of the input image
+ * is processed once.  Its Sobel gradient is computed and the products of the gradient are summed horizontally
+ * across the window.  The horizontal sums for the last 2*radius+1 rows are saved in a circular buffer, from which
+ * the vertical sums are updated incrementally, the same as in {@link ImplSsdCorner_F32}.
+ * </p>
+ *
+ * <p>
+ * DO NOT MODIFY.  Code has been automatically generated by {@link GenerateImplSsdCornerFused}.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public abstract class ImplSsdCornerFused_F32 implements FusedGradientCornerIntensity<ImageFloat32> {
+
+	// radius of detected features
+	protected int radius;
+
+	// gradient of the current row
+	private float gradX[] = new float[1];
+	private float gradY[] = new float[1];
+
+	// circular buffer of horizontal sums, one row for each row in the window
+	private float horizXX[][];
+	private float horizXY[][];
+	private float horizYY[][];
+
+	// vertical sum of the horizontal sums
+	private float sumXX[] = new float[1];
+	private float sumXY[] = new float[1];
+	private float sumYY[] = new float[1];
+
+	// defines the A matrix, from which the eigenvalues are computed
+	protected float totalXX, totalYY, totalXY;
+
+	public ImplSsdCornerFused_F32( int windowRadius ) {
+		this.radius = windowRadius;
+
+		int windowWidth = radius*2+1;
+		horizXX = new float[windowWidth][1];
+		horizXY = new float[windowWidth][1];
+		horizYY = new float[windowWidth][1];
+	}
+
+	@Override
+	public int getRadius() {
+		return radius;
+	}
+
+	@Override
+	public int getIgnoreBorder() {
+		return radius;
+	}
+
+	/**
+	 * Computes the pixel's corner intensity.
+	 * @return corner intensity.
+	 */
+	protected abstract float computeIntensity();
+
+	@Override
+	public void process(ImageFloat32 image, ImageFloat32 intensity) {
+		InputSanityCheck.checkSameShape(image,intensity);
+
+		final int width = image.width;
+		final int height = image.height;
+		final int windowWidth = radius*2+1;
+
+		if( width < windowWidth || height < windowWidth )
+			return;
+
+		declareStorage(width);
+
+		for( int y = 0; y < height; y++ ) {
+			int slot = y % windowWidth;
+			float hXX[] = horizXX[slot];
+			float hXY[] = horizXY[slot];
+			float hYY[] = horizYY[slot];
+
+			// remove the row which is leaving the window
+			if( y >= windowWidth ) {
+				for( int x = radius; x < width-radius; x++ ) {
+					sumXX[x] -= hXX[x];
+					sumXY[x] -= hXY[x];
+					sumYY[x] -= hYY[x];
+				}
+			}
+
+			gradientRow(image,y);
+			horizontalRow(width,hXX,hXY,hYY);
+
+			if( y == 0 ) {
+				System.arraycopy(hXX,0,sumXX,0,width);
+				System.arraycopy(hXY,0,sumXY,0,width);
+				System.arraycopy(hYY,0,sumYY,0,width);
+			} else {
+				for( int x = radius; x < width-radius; x++ ) {
+					sumXX[x] += hXX[x];
+					sumXY[x] += hXY[x];
+					sumYY[x] += hYY[x];
+				}
+			}
+
+			if( y >= windowWidth-1 ) {
+				int indexOut = intensity.startIndex + (y-radius)*intensity.stride + radius;
+				for( int x = radius; x < width-radius; x++ ) {
+					totalXX = sumXX[x];
+					totalXY = sumXY[x];
+					totalYY = sumYY[x];
+					intensity.data[indexOut++] = computeIntensity();
+				}
+			}
+		}
+	}
+
+	private void declareStorage( int width ) {
+		if( gradX.length < width ) {
+			gradX = new float[width];
+			gradY = new float[width];
+			sumXX = new float[width];
+			sumXY = new float[width];
+			sumYY = new float[width];
+			for( int i = 0; i < horizXX.length; i++ ) {
+				horizXX[i] = new float[width];
+				horizXY[i] = new float[width];
+				horizYY[i] = new float[width];
+			}
+		}
+	}
+
+	/**
+	 * Computes the Sobel gradient along a single row.  Pixels outside the image are handled by extending the border.
+	 */
+	private void gradientRow( ImageFloat32 image , int y ) {
+		final float data[] = image.data;
+		final int width = image.width;
+
+		int indexA = image.startIndex + (y > 0 ? y-1 : 0)*image.stride;
+		int indexB = image.startIndex + y*image.stride;
+		int indexC = image.startIndex + (y < image.height-1 ? y+1 : y)*image.stride;
+
+		// left border
+		gradient(data,indexA,indexB,indexC,0,0,width == 1 ? 0 : 1);
+
+		final int end = width-1;
+		for( int x = 1; x < end; x++ ) {
+			float a0 = data[indexA+x-1], a1 = data[indexA+x], a2 = data[indexA+x+1];
+			float c0 = data[indexC+x-1], c1 = data[indexC+x], c2 = data[indexC+x+1];
+
+			gradX[x] = (a2-a0)*0.25f + (data[indexB+x+1]-data[indexB+x-1])*0.5f + (c2-c0)*0.25f;
+			gradY[x] = (c0-a0)*0.25f + (c1-a1)*0.5f + (c2-a2)*0.25f;
+		}
+
+		// right border
+		if( width > 1 )
+			gradient(data,indexA,indexB,indexC,end,end-1,end);
+	}
+
+	private void gradient( float data[] , int indexA , int indexB , int indexC , int x , int x0 , int x2 ) {
+		float a0 = data[indexA+x0], a1 = data[indexA+x], a2 = data[indexA+x2];
+		float c0 = data[indexC+x0], c1 = data[indexC+x], c2 = data[indexC+x2];
+
+		gradX[x] = (a2-a0)*0.25f + (data[indexB+x2]-data[indexB+x0])*0.5f + (c2-c0)*0.25f;
+		gradY[x] = (c0-a0)*0.25f + (c1-a1)*0.5f + (c2-a2)*0.25f;
+	}
+
+	/**
+	 * Sums the products of the gradient horizontally across the window
+	 */
+	private void horizontalRow( int width , float hXX[] , float hXY[] , float hYY[] ) {
+		final int windowWidth = radius*2+1;
+
+		float totalXX = 0, totalXY = 0, totalYY = 0;
+
+		for( int x = 0; x < windowWidth; x++ ) {
+			float dx = gradX[x];
+			float dy = gradY[x];
+
+			totalXX += dx*dx;
+			totalXY += dx*dy;
+			totalYY += dy*dy;
+		}
+
+		hXX[radius] = totalXX;
+		hXY[radius] = totalXY;
+		hYY[radius] = totalYY;
+
+		for( int x = windowWidth; x < width; x++ ) {
+			float dx = gradX[x-windowWidth];
+			float dy = gradY[x-windowWidth];
+
+			totalXX -= dx*dx;
+			totalXY -= dx*dy;
+			totalYY -= dy*dy;
+
+			dx = gradX[x];
+			dy = gradY[x];
+
+			totalXX += dx*dx;
+			totalXY += dx*dy;
+			totalYY += dy*dy;
+
+			hXX[x-radius] = totalXX;
+			hXY[x-radius] = totalXY;
+			hYY[x-radius] = totalYY;
+		}
+	}
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.feature.detect.interest;
+
+import boofcv.alg.feature.detect.extract.NonMaxCandidateSparse;
+import boofcv.alg.feature.detect.intensity.FastCornerIntensity;
+import boofcv.struct.QueueCorner;
+import boofcv.struct.image.ImageSingleBand;
+import pja.sorting.QuickSelectArray;
+import pja.storage.GrowQueue_F32;
+
+/**
+ * <p>
+ * Detects FAST corners without computing an intensity image.  Corners and their scores are found directly by
+ * {@link FastCornerIntensity#process(ImageSingleBand, QueueCorner, GrowQueue_F32)} and then
+ * {@link NonMaxCandidateSparse} is applied to them.  After the image has been scanned once, the cost is
+ * proportional to the number of corners instead of the number of pixels.
+ * </p>
+ *
+ * <p>
+ * Produces the same features as {@link FastCornerIntensity} followed by non-maximum suppression on candidates,
+ * see {@link boofcv.alg.feature.detect.extract.NonMaxCandidateStrict}.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class FastCornerDetector<T extends ImageSingleBand> {
+
+	// detects the corners
+	private FastCornerIntensity<T> fast;
+	// non-maximum suppression
+	private NonMaxCandidateSparse nonmax;
+
+	// maximum number of features returned.  If <= 0 then all
+	private int maxFeatures;
+
+	// corners and their scores
+	private QueueCorner candidates = new QueueCorner(10);
+	private GrowQueue_F32 candidateScores = new GrowQueue_F32(10);
+
+	// features after non-maximum suppression
+	private QueueCorner found = new QueueCorner(10);
+	private GrowQueue_F32 foundScores = new GrowQueue_F32(10);
+
+	// used to select the best features
+	private QueueCorner best = new QueueCorner(10);
+	private GrowQueue_F32 bestScores = new GrowQueue_F32(10);
+	private float negScores[] = new float[1];
+	private int indexes[] = new int[1];
+
+	/**
+	 * Configures the detector
+	 *
+	 * @param fast FAST corner algorithm.
+	 * @param nonmax Non-maximum suppression.
+	 * @param maxFeatures Maximum number of features returned.  The ones with the highest score are kept.
+	 *                    If <= 0 then all are returned.
+	 */
+	public FastCornerDetector(FastCornerIntensity<T> fast, NonMaxCandidateSparse nonmax, int maxFeatures) {
+		this.fast = fast;
+		this.nonmax = nonmax;
+		this.maxFeatures = maxFeatures;
+	}
+
+	/**
+	 * Detects corners in the image.
+	 *
+	 * @param image Input image.  Not modified.
+	 */
+	public void process( T image ) {
+		fast.process(image,candidates,candidateScores);
+
+		found.reset();
+		foundScores.reset();
+		nonmax.process(candidates,candidateScores,image.height,found,foundScores);
+
+		if( maxFeatures > 0 && found.size > maxFeatures )
+			selectBest();
+	}
+
+	/**
+	 * Keeps the features with the largest scores
+	 */
+	private void selectBest() {
+		int N = found.size;
+		if( negScores.length < N ) {
+			negScores = new float[N];
+			indexes = new int[N];
+		}
+		// quick select selects the k smallest
+		for( int i = 0; i < N; i++ )
+			negScores[i] = -foundScores.queue[i];
+
+		QuickSelectArray.selectIndex(negScores,maxFeatures,N,indexes);
+
+		best.reset();
+		bestScores.reset();
+		for( int i = 0; i < maxFeatures; i++ ) {
+			int index = indexes[i];
+			best.add(found.data[index]);
+			bestScores.push(foundScores.queue[index]);
+		}
+
+		QueueCorner tmp = found;
+		found = best;
+		best = tmp;
+
+		GrowQueue_F32 tmpScores = foundScores;
+		foundScores = bestScores;
+		bestScores = tmpScores;
+	}
+
+	/**
+	 * Returns the found corners.
+	 */
+	public QueueCorner getCorners() {
+		return found;
+	}
+
+	/**
+	 * Returns the score of each corner in {@link #getCorners()}.
+	 */
+	public GrowQueue_F32 getScores() {
+		return foundScores;
+	}
+
+	/**
+	 * All the corners which were found before non-maximum suppression was applied.
+	 */
+	public QueueCorner getCandidates() {
+		return candidates;
+	}
+
+	public int getMaxFeatures() {
+		return maxFeatures;
+	}
+
+	public void setMaxFeatures(int maxFeatures) {
+		this.maxFeatures = maxFeatures;
+	}
+}
@@ -23,6 +23,8 @@ import boofcv.alg.feature.detect.extract.SelectNBestFeatures;
 import boofcv.alg.feature.detect.intensity.GIntegralImageFeatureIntensity;
 import boofcv.core.image.border.FactoryImageBorderAlgs;
 import boofcv.core.image.border.ImageBorder_F32;
+import boofcv.misc.BlockTask;
+import boofcv.misc.BoofConcurrency;
 import boofcv.struct.QueueCorner;
 import boofcv.struct.feature.ScalePoint;
 import boofcv.struct.image.ImageFloat32;
@@ -74,6 +76,11 @@ import java.util.List;
  * </p>
  *
  * <p>
+ * Concurrent processing can be turned on with {@link #setConcurrent}.  In the example above sizes 15 and 27 are
+ * part of the first two octaves and are only computed once when processing concurrently.
+ * </p>
+ *
+ * <p>
  * [1] Herbert Bay, Andreas Ess, Tinne Tuytelaars, and Luc Van Gool, "Speeded-Up Robust Features (SURF)", CVIU June, 2008, Volume
  * 110, Issue 3, pages 346-359
  * </p>
@@ -109,6 +116,20 @@ public class FastHessianFeatureDetector<T extends ImageSingleBand> {
 	// a value of 1 would mean every pixel is sampled
 	private int initialSampleRate;
 
+	// maximum number of features found in each scale.  if <= 0 then there is no limit
+	private int maxFeaturesPerScale;
+
+	// if true then intensity images are shared between octaves and computed concurrently
+	private boolean concurrent = false;
+	// extractors which are not being used by a thread
+	private final List<FeatureExtractor> availableExtractors = new ArrayList<FeatureExtractor>();
+	// total number of extractors which can be used concurrently
+	private int numExtractors;
+	// intensity image for each feature size in each octave
+	private List<ImageFloat32[]> octaveIntensity = new ArrayList<ImageFloat32[]>();
+	// points found in each level when processing concurrently
+	private List<List<ScalePoint>> levelPoints = new ArrayList<List<ScalePoint>>();
+
 	/**
 	 * <p>
 	 * Defines the feature detector by specifying the size of features.
@@ -132,6 +153,7 @@ public class FastHessianFeatureDetector<T extends ImageSingleBand> {
 									  int numberScalesPerOctave,
 									  int numberOfOctaves) {
 		this.extractor = extractor;
+		this.maxFeaturesPerScale = maxFeaturesPerScale;
 		if( maxFeaturesPerScale > 0 ) {
 			selectBest = new SelectNBestFeatures(maxFeaturesPerScale);
 		}
@@ -142,12 +164,48 @@ public class FastHessianFeatureDetector<T extends ImageSingleBand> {
 		sizes = new int[ numberScalesPerOctave ];
 	}
 
+	/**
+	 * <p>
+	 * Turns concurrent processing on or off.  When on the intensity image for every feature size in every octave
+	 * is saved.  Feature sizes which were already computed in the previous octave are copied from it by sampling every
+	 * other pixel, instead of being computed again.  The remaining intensity images are computed in parallel and then
+	 * local maximums are found in each level in parallel.  The found points are the same and in the same order as when
+	 * processing sequentially, up to floating point round off errors in the intensity.
+	 * </p>
+	 *
+	 * <p>
+	 * Extractors are reconfigured for each level and have internal state, so each thread needs its own instance.
+	 * Additional extractors must be configured the same as the one passed into the constructor.  If none are
+	 * provided then local maximums are found in a single thread.
+	 * </p>
+	 *
+	 * @param concurrent If true then concurrent processing is turned on.
+	 * @param additional Extra extractors which are used by other threads.
+	 */
+	public void setConcurrent( boolean concurrent , FeatureExtractor ...additional ) {
+		this.concurrent = concurrent;
+		availableExtractors.clear();
+		availableExtractors.add(extractor);
+		for( FeatureExtractor e : additional )
+			availableExtractors.add(e);
+		numExtractors = availableExtractors.size();
+	}
+
+	public boolean isConcurrent() {
+		return concurrent;
+	}
+
 	/**
 	 * Detect interest points inside of the image.
 	 *
 	 * @param integral Image transformed into an integral image.
 	 */
 	public void detect( T integral ) {
+		if( concurrent ) {
+			detectConcurrent(integral);
+			return;
+		}
+
 		if( intensity == null ) {
 			intensity = new ImageFloat32[3];
 			for( int i = 0; i < intensity.length; i++ ) {
@@ -177,8 +235,143 @@ public class FastHessianFeatureDetector<T extends ImageSingleBand> {
 			octaveSize += sizeStep;
 			sizeStep += sizeStep;
 		}
+	}
+
+	/**
+	 * Detects interest points while saving intensity images so that they can be shared between octaves.  Intensity
+	 * images and each level's local maximums are computed in parallel.
+	 *
+	 * @param integral Image transformed into an integral image.
+	 */
+	private void detectConcurrent( final T integral ) {
+		foundPoints.clear();
+
+		final int N = sizes.length;
+		final int octaveSizes[][] = new int[numberOfOctaves][N];
+		final int octaveSkip[] = new int[numberOfOctaves];
+
+		// find the feature sizes in each octave which can be processed
+		int numOctaves = 0;
+		int skip = initialSampleRate;
+		int sizeStep = 6;
+		int octaveSize = initialSize;
+		for( int octave = 0; octave < numberOfOctaves; octave++ ) {
+			for( int i = 0; i < N; i++ ) {
+				octaveSizes[octave][i] = octaveSize + i*sizeStep;
+			}
+			int maxSize = octaveSizes[octave][N-1];
+			if( maxSize > integral.width || maxSize > integral.height )
+				break;
+			octaveSkip[octave] = skip;
+			numOctaves++;
+			skip += skip;
+			octaveSize += sizeStep;
+			sizeStep += sizeStep;
+		}
+
+		// declare intensity images
+		while( octaveIntensity.size() < numOctaves ) {
+			ImageFloat32 layers[] = new ImageFloat32[N];
+			for( int i = 0; i < N; i++ )
+				layers[i] = new ImageFloat32(1,1);
+			octaveIntensity.add(layers);
+		}
+		for( int octave = 0; octave < numOctaves; octave++ ) {
+			for( ImageFloat32 layer : octaveIntensity.get(octave) ) {
+				layer.reshape(integral.width/octaveSkip[octave],integral.height/octaveSkip[octave]);
+			}
+		}
 
-		// todo save previously computed sizes for reuse in higher octaves and reuse it
+		// The size at index i in an octave is the same as the size at 2*i+1 in the previous octave
+		// and the sample rate is doubled.  Only the other sizes need to be computed.
+		final int computeOctave[] = new int[numOctaves*N];
+		final int computeIndex[] = new int[numOctaves*N];
+		int numCompute = 0;
+		for( int octave = 0; octave < numOctaves; octave++ ) {
+			for( int i = 0; i < N; i++ ) {
+				if( octave > 0 && 2*i+1 < N )
+					continue;
+				computeOctave[numCompute] = octave;
+				computeIndex[numCompute++] = i;
+			}
+		}
+
+		BoofConcurrency.loopBlocks(0,numCompute,1,new BlockTask() {
+			@Override
+			public void process(int start, int end) {
+				for( int k = start; k < end; k++ ) {
+					int octave = computeOctave[k];
+					int i = computeIndex[k];
+					GIntegralImageFeatureIntensity.hessian(integral,octaveSkip[octave],octaveSizes[octave][i],
+							octaveIntensity.get(octave)[i]);
+				}
+			}
+		});
+
+		for( int octave = 1; octave < numOctaves; octave++ ) {
+			for( int i = 0; 2*i+1 < N; i++ ) {
+				subsample(octaveIntensity.get(octave-1)[2*i+1],octaveIntensity.get(octave)[i]);
+			}
+		}
+
+		// search each level for local maximums
+		final int levelsPerOctave = N-2;
+		final int numLevels = numOctaves*levelsPerOctave;
+		while( levelPoints.size() < numLevels )
+			levelPoints.add(new ArrayList<ScalePoint>());
+
+		int minBlock = (numLevels+numExtractors-1)/numExtractors;
+		BoofConcurrency.loopBlocks(0,numLevels,Math.max(1,minBlock),new BlockTask() {
+			@Override
+			public void process(int start, int end) {
+				FeatureExtractor extractor = takeExtractor();
+				try {
+					QueueCorner found = new QueueCorner(100);
+					SelectNBestFeatures select = maxFeaturesPerScale > 0 ?
+							new SelectNBestFeatures(maxFeaturesPerScale) : null;
+
+					for( int k = start; k < end; k++ ) {
+						int octave = k/levelsPerOctave;
+						int level = k%levelsPerOctave + 1;
+						ImageFloat32 layers[] = octaveIntensity.get(octave);
+
+						List<ScalePoint> points = levelPoints.get(k);
+						points.clear();
+						findLocalScaleSpaceMax(layers[level-1],layers[level],layers[level+1],
+								octaveSizes[octave],level,octaveSkip[octave],extractor,select,found,points);
+					}
+				} finally {
+					synchronized ( availableExtractors ) {
+						availableExtractors.add(extractor);
+					}
+				}
+			}
+		});
+
+		for( int k = 0; k < numLevels; k++ ) {
+			foundPoints.addAll(levelPoints.get(k));
+		}
+	}
+
+	private FeatureExtractor takeExtractor() {
+		synchronized ( availableExtractors ) {
+			return availableExtractors.remove(availableExtractors.size()-1);
+		}
+	}
+
+	/**
+	 * Copies every other pixel from the input into the output.
+	 */
+	private static void subsample( ImageFloat32 input , ImageFloat32 output ) {
+		for( int y = 0; y < output.height; y++ ) {
+			int indexIn = input.startIndex + 2*y*input.stride;
+			int indexOut = output.startIndex + y*output.stride;
+			int end = indexOut + output.width;
+
+			for( ; indexOut < end; indexOut++ , indexIn += 2 ) {
+				output.data[indexOut] = input.data[indexIn];
+			}
+		}
 	}
 
 	/**
@@ -226,21 +419,43 @@ public class FastHessianFeatureDetector<T extends ImageSingleBand> {
 		int index1 = (spaceIndex + 1) % 3;
 		int index2 = (spaceIndex + 2) % 3;
 
-		ImageBorder_F32 inten0 = (ImageBorder_F32)FactoryImageBorderAlgs.value(intensity[index0], 0);
-		ImageFloat32 inten1 = intensity[index1];
-		ImageBorder_F32 inten2 = (ImageBorder_F32)FactoryImageBorderAlgs.value(intensity[index2], 0);
+		findLocalScaleSpaceMax(intensity[index0],intensity[index1],intensity[index2],size,level,skip,
+				extractor,selectBest,foundFeatures,foundPoints);
+	}
+
+	/**
+	 * Looks for features which are local maximums in the image and scale-space.
+	 *
+	 * @param lower Intensity of the smaller feature size.
+	 * @param middle Intensity of the feature size being searched.
+	 * @param upper Intensity of the larger feature size.
+	 * @param size Size of features in different scale-spaces.
+	 * @param level Which level in the scale-space
+	 * @param skip How many pixels are skipped over.
+	 * @param extractor Finds local maximums in 2D.
+	 * @param selectBest Selects the best features.  Can be null.
+	 * @param foundFeatures Storage for the local maximums in 2D.
+	 * @param foundPoints Points found in scale-space are added to this list.
+	 */
+	private static void findLocalScaleSpaceMax(ImageFloat32 lower, ImageFloat32 middle, ImageFloat32 upper,
+											   int []size, int level, int skip,
+											   FeatureExtractor extractor, SelectNBestFeatures selectBest,
+											   QueueCorner foundFeatures, List<ScalePoint> foundPoints ) {
+		ImageBorder_F32 inten0 = (ImageBorder_F32)FactoryImageBorderAlgs.value(lower, 0);
+		ImageFloat32 inten1 = middle;
+		ImageBorder_F32 inten2 = (ImageBorder_F32)FactoryImageBorderAlgs.value(upper, 0);
 
 		// find local maximums in image 2D space.  Borders need to be ignored since
 		// false positives are found around them as an artifact of pixels outside being
 		// treated as being zero.
 		foundFeatures.reset();
 		extractor.setIgnoreBorder(size[level] / (2 * skip)+extractor.getSearchRadius());
-		extractor.process(intensity[index1],null,-1,foundFeatures);
+		extractor.process(middle,null,-1,foundFeatures);
 
 		// if configured to do so, only select the features with the highest intensity
 		QueueCorner features;
 		if( selectBest != null ) {
-			selectBest.process(intensity[index1],foundFeatures);
+			selectBest.process(middle,foundFeatures);
 			features = selectBest.getBestCorners();
 		} else {
 			features = foundFeatures;
@@ -311,7 +526,7 @@ public class FastHessianFeatureDetector<T extends ImageSingleBand> {
 	 * @param upper Value at x=1
 	 * @return x-coordinate of the peak
 	 */
-	private float polyPeak( float lower , float middle , float upper )
+	private static float polyPeak( float lower , float middle , float upper )
 	{
 		// only need two coefficients to compute the peak's location
 		float a = 0.5f*lower - middle + 0.5f*upper;
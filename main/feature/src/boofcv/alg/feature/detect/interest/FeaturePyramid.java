@@ -21,6 +21,7 @@ package boofcv.alg.feature.detect.interest;
 import boofcv.abst.feature.detect.interest.GeneralFeatureDetector;
 import boofcv.abst.feature.detect.interest.InterestPointScaleSpacePyramid;
 import boofcv.abst.filter.derivative.AnyImageDerivative;
+import boofcv.alg.transform.pyramid.PyramidGradientCache;
 import boofcv.alg.transform.gss.ScaleSpacePyramid;
 import boofcv.core.image.border.FactoryImageBorderAlgs;
 import boofcv.core.image.border.ImageBorder_F32;
@@ -78,6 +79,9 @@ public class FeaturePyramid<T extends ImageSingleBand, D extends ImageSingleBand
 
 	protected AnyImageDerivative<T, D> computeDerivative;
 
+	// if not null the gradient is read from here instead of being computed
+	protected PyramidGradientCache<T, D> gradientCache;
+
 	// how much the feature intensity is scaled in each level
 	// varies depending on feature type
 	protected double scalePower;
@@ -118,9 +122,13 @@ public class FeaturePyramid<T extends ImageSingleBand, D extends ImageSingleBand
 		}
 		foundPoints.clear();
 
+		// the layers might have changed even if it is the same pyramid, so the cached gradient is always discarded
+		if (gradientCache != null)
+			gradientCache.setInput(ss);
+
 		// compute feature intensity in each level
 		for (int i = 0; i < ss.getNumLayers(); i++) {
-			detectCandidateFeatures(ss.getLayer(i), ss.scale[i]);
+			detectCandidateFeatures(ss, i);
 
 			// find maximum in NxNx3 (local image and scale space) region
 			if (i >= 2) {
@@ -133,7 +141,10 @@ public class FeaturePyramid<T extends ImageSingleBand, D extends ImageSingleBand
 	/**
 	 * Use the feature detector to find candidate features in each level.  Only compute the needed image derivatives.
 	 */
-	private void detectCandidateFeatures(T image, double scale) {
+	private void detectCandidateFeatures(ScaleSpacePyramid<T> ss, int layer) {
+		T image = ss.getLayer(layer);
+		double scale = ss.scale[layer];
+
 		// adjust corner intensity threshold based upon the current scale factor
 		float scaleThreshold = (float) (baseThreshold / Math.pow(scale, scalePower));
 		detector.setThreshold(scaleThreshold);
@@ -143,8 +154,13 @@ public class FeaturePyramid<T extends ImageSingleBand, D extends ImageSingleBand
 		D derivXX = null, derivYY = null, derivXY = null;
 
 		if (detector.getRequiresGradient()) {
-			derivX = computeDerivative.getDerivative(true);
-			derivY = computeDerivative.getDerivative(false);
+			if (gradientCache != null) {
+				derivX = gradientCache.getDerivX(layer);
+				derivY = gradientCache.getDerivY(layer);
+			} else {
+				derivX = computeDerivative.getDerivative(true);
+				derivY = computeDerivative.getDerivative(false);
+			}
 		}
 		if (detector.getRequiresHessian()) {
 			derivXX = computeDerivative.getDerivative(true, true);
@@ -207,6 +223,22 @@ public class FeaturePyramid<T extends ImageSingleBand, D extends ImageSingleBand
 		}
 	}
 
+	/**
+	 * Specifies a cache which the image gradient is read from.  The gradient of every layer is then computed in
+	 * a single pass.  Each call to {@link #detect} sets the cache's input to the scale-space pyramid, so the cache
+	 * must not be shared with an algorithm which processes a different pyramid, such as the KLT tracker.  If
+	 * null then the gradient is computed using the {@link AnyImageDerivative}.
+	 *
+	 * @param gradientCache Cache of the pyramid's gradient.  Can be null.
+	 */
+	public void setGradientCache(PyramidGradientCache<T, D> gradientCache) {
+		this.gradientCache = gradientCache;
+	}
+
+	public PyramidGradientCache<T, D> getGradientCache() {
+		return gradientCache;
+	}
+
 	@Override
 	public List<ScalePoint> getInterestPoints() {
 		return foundPoints;
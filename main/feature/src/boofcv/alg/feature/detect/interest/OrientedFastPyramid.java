@@ -0,0 +1,203 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.feature.detect.interest;
+
+import boofcv.abst.feature.detect.extract.FeatureExtractor;
+import boofcv.abst.filter.derivative.ImageGradient;
+import boofcv.alg.feature.detect.extract.SelectNBestFeatures;
+import boofcv.alg.feature.detect.intensity.FastCornerIntensity;
+import boofcv.alg.feature.detect.intensity.GradientCornerIntensity;
+import boofcv.alg.feature.orientation.OrientationImage;
+import boofcv.core.image.GeneralizedImageOps;
+import boofcv.struct.FastQueue;
+import boofcv.struct.QueueCorner;
+import boofcv.struct.feature.ScalePoint;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageSingleBand;
+import boofcv.struct.pyramid.PyramidDiscrete;
+import georegression.struct.point.Point2D_I16;
+
+/**
+ * <p>
+ * Oriented FAST feature detector, as used by ORB [1].  FAST corners are detected in each layer of a
+ * {@link PyramidDiscrete} and non-maximum suppression is applied to the FAST intensity of each corner.  If more
+ * than the maximum number of features is found in a layer then they are ranked by their corner intensity, e.g.
+ * Harris, and the best are kept.  The corner intensity is only computed when features need to be pruned.  Finally
+ * the orientation of each feature is estimated, typically using the intensity centroid.
+ * </p>
+ *
+ * <p>
+ * Features are returned in the coordinate system of the input image and their scale is the scale of the layer
+ * they were detected in.  The orientation is estimated in the layer's image.
+ * </p>
+ *
+ * <p>
+ * [1] Ethan Rublee, Vincent Rabaud, Kurt Konolige, Gary Bradski, "ORB: an efficient alternative to SIFT or SURF"
+ * ICCV 2011
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class OrientedFastPyramid<T extends ImageSingleBand, D extends ImageSingleBand> {
+
+	// detects FAST corners
+	private FastCornerIntensity<T> fast;
+	// non-maximum suppression on FAST intensity
+	private FeatureExtractor extractor;
+	// used to rank features
+	private ImageGradient<T,D> gradient;
+	private GradientCornerIntensity<D> cornerIntensity;
+	// estimates the feature's orientation
+	private OrientationImage<T> orientation;
+
+	// maximum number of features in each layer
+	private int maxFeaturesPerLayer;
+
+	// storage for intermediate results
+	private ImageFloat32 intensityFast = new ImageFloat32(1,1);
+	private ImageFloat32 intensityCorner = new ImageFloat32(1,1);
+	private D derivX;
+	private D derivY;
+	private QueueCorner found = new QueueCorner(10);
+	private SelectNBestFeatures selectBest;
+
+	// found features
+	private FastQueue<ScalePoint> points = new FastQueue<ScalePoint>(10,ScalePoint.class,true);
+	private double orientations[] = new double[10];
+
+	/**
+	 * Configures the detector
+	 *
+	 * @param fast FAST corner detector.
+	 * @param extractor Non-maximum suppression which is applied to FAST intensity. Must use candidates.
+	 * @param gradient Computes the image gradient for ranking corners.
+	 * @param cornerIntensity Corner intensity used to rank features, e.g. Harris.
+	 * @param orientation Estimates the orientation of each feature.
+	 * @param maxFeaturesPerLayer Maximum number of features detected in each layer.  If <= 0 then all are returned.
+	 * @param derivType Type of image derivative.
+	 */
+	public OrientedFastPyramid(FastCornerIntensity<T> fast,
+							   FeatureExtractor extractor,
+							   ImageGradient<T, D> gradient,
+							   GradientCornerIntensity<D> cornerIntensity,
+							   OrientationImage<T> orientation,
+							   int maxFeaturesPerLayer,
+							   Class<D> derivType ) {
+		if( !extractor.getUsesCandidates() )
+			throw new IllegalArgumentException("The extractor must use candidate features");
+
+		this.fast = fast;
+		this.extractor = extractor;
+		this.gradient = gradient;
+		this.cornerIntensity = cornerIntensity;
+		this.orientation = orientation;
+		this.maxFeaturesPerLayer = maxFeaturesPerLayer;
+
+		extractor.setIgnoreBorder(Math.max(extractor.getIgnoreBorder(),fast.getIgnoreBorder()));
+
+		derivX = GeneralizedImageOps.createSingleBand(derivType,1,1);
+		derivY = GeneralizedImageOps.createSingleBand(derivType,1,1);
+		selectBest = new SelectNBestFeatures(Math.max(1,maxFeaturesPerLayer));
+	}
+
+	/**
+	 * Detects features inside the pyramid.
+	 *
+	 * @param pyramid Image pyramid which has been updated with the input image.
+	 */
+	public void detect( PyramidDiscrete<T> pyramid ) {
+		points.reset();
+
+		for( int layer = 0; layer < pyramid.getNumLayers(); layer++ ) {
+			T image = pyramid.getLayer(layer);
+			double scale = pyramid.getScale(layer);
+
+			QueueCorner corners = detectLayer(image);
+
+			orientation.setImage(image);
+			orientation.setScale(1);
+
+			for( int i = 0; i < corners.size; i++ ) {
+				Point2D_I16 p = corners.data[i];
+
+				if( points.size >= orientations.length ) {
+					double tmp[] = new double[ orientations.length*2 ];
+					System.arraycopy(orientations,0,tmp,0,orientations.length);
+					orientations = tmp;
+				}
+
+				orientations[points.size] = orientation.compute(p.x,p.y);
+				ScalePoint sp = points.pop();
+				sp.x = p.x*scale;
+				sp.y = p.y*scale;
+				sp.scale = scale;
+			}
+		}
+	}
+
+	/**
+	 * Detects FAST features in a single layer and selects the best ones if there are too many.
+	 */
+	private QueueCorner detectLayer( T image ) {
+		intensityFast.reshape(image.width,image.height);
+		fast.process(image,intensityFast);
+
+		found.reset();
+		extractor.process(intensityFast,fast.getCandidates(),-1,found);
+
+		if( maxFeaturesPerLayer <= 0 || found.size <= maxFeaturesPerLayer )
+			return found;
+
+		// rank by corner intensity
+		derivX.reshape(image.width,image.height);
+		derivY.reshape(image.width,image.height);
+		intensityCorner.reshape(image.width,image.height);
+
+		gradient.process(image,derivX,derivY);
+		cornerIntensity.process(derivX,derivY,intensityCorner);
+
+		selectBest.setN(maxFeaturesPerLayer);
+		selectBest.process(intensityCorner,found);
+
+		return selectBest.getBestCorners();
+	}
+
+	/**
+	 * Returns the found features.  Their location is in input image coordinates.
+	 */
+	public FastQueue<ScalePoint> getFeatures() {
+		return points;
+	}
+
+	/**
+	 * Returns the orientation of each feature.
+	 */
+	public double[] getOrientations() {
+		return orientations;
+	}
+
+	public int getMaxFeaturesPerLayer() {
+		return maxFeaturesPerLayer;
+	}
+
+	public void setMaxFeaturesPerLayer(int maxFeaturesPerLayer) {
+		this.maxFeaturesPerLayer = maxFeaturesPerLayer;
+	}
+}
@@ -19,12 +19,15 @@
 package boofcv.alg.feature.detect.line;
 
 
+import boofcv.struct.FastQueue;
 import boofcv.struct.feature.MatrixOfList;
 import georegression.metric.UtilAngle;
 import georegression.struct.line.LineSegment2D_F32;
 import georegression.struct.point.Point2D_F32;
+import pja.storage.GrowQueue_F32;
+import pja.storage.GrowQueue_I32;
 
-import java.util.Iterator;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -55,7 +58,6 @@ import java.util.List;
  * </p>
  * @author Peter Abeles
  */
-// todo compute stan once for every line
 public class ConnectLinesGrid {
 	// how similar two lines need to be, in radians
 	float lineSlopeAngleTol;
@@ -72,6 +74,11 @@ public class ConnectLinesGrid {
 	// input grid of lines.
 	MatrixOfList<LineSegment2D_F32> grid;
 
+	// lines and their slopes for each element in the grid
+	FastQueue<Element> elements = new FastQueue<Element>(10,Element.class,true);
+	// storage for lines with a similar slope
+	GrowQueue_I32 candidates = new GrowQueue_I32(10);
+
 	/**
 	 * Specify line connecting parameters.
 	 *
@@ -88,10 +95,18 @@ public class ConnectLinesGrid {
 	public void process( MatrixOfList<LineSegment2D_F32> grid ) {
 		this.grid = grid;
 
+		// compute the slope of each line once and index them by slope
+		elements.reset();
+		for( int i = 0; i < grid.height; i++ ) {
+			for( int j = 0; j < grid.width; j++ ) {
+				elements.pop().setTo(grid.get(j,i),lineSlopeAngleTol);
+			}
+		}
+
 		// first connect lines inside the same element
 		for( int i = 0; i < grid.height; i++ ) {
 			for( int j = 0; j < grid.width; j++ ) {
-				connectInSameElement(grid.get(j,i));
+				connectInSameElement(getElement(j,i));
 			}
 		}
 
@@ -101,6 +116,17 @@ public class ConnectLinesGrid {
 				connectToNeighbors(j, i);
 			}
 		}
+
+		// save the results
+		for( int i = 0; i < grid.height; i++ ) {
+			for( int j = 0; j < grid.width; j++ ) {
+				getElement(j,i).copyInto(grid.get(j,i));
+			}
+		}
+	}
+
+	private Element getElement( int x , int y ) {
+		return elements.get(y*grid.width+x);
 	}
 
 	/**
@@ -111,27 +137,29 @@ public class ConnectLinesGrid {
 	 * @param y target region grid y-coordinate
 	 */
 	private void connectToNeighbors(int x, int y ) {
-		List<LineSegment2D_F32> lines = grid.get(x,y);
+		Element e = getElement(x,y);
 
-		Iterator<LineSegment2D_F32> iter = lines.iterator();
-		while( iter.hasNext() )
-		{
-			LineSegment2D_F32 l = iter.next();
+		for( int i = 0; i < e.lines.size(); i++ ) {
+			LineSegment2D_F32 l = e.lines.get(i);
+			if( l == null )
+				continue;
+
+			float angle = e.angles.queue[i];
 			boolean connected = false;
 
-			if( connectTry(l,x+1,y) )
+			if( connectTry(l,angle,x+1,y) )
 				connected = true;
-			if( !connected && connectTry(l,x+1,y+1) )
+			if( !connected && connectTry(l,angle,x+1,y+1) )
 				connected = true;
-			if( !connected && connectTry(l,x,y+1) )
+			if( !connected && connectTry(l,angle,x,y+1) )
 				connected = true;
-			if( !connected && connectTry(l,x-1,y+1) )
+			if( !connected && connectTry(l,angle,x-1,y+1) )
 				connected = true;
 
 			// the line was added to the connecting grid
 			// remove it to avoid double counting the line
 			if( connected )
-				iter.remove();
+				e.remove(i);
 		}
 	}
 
@@ -139,22 +167,23 @@ public class ConnectLinesGrid {
 	 * See if there is a line that matches in this adjacent region.
 	 *
 	 * @param target Line being connected.
+	 * @param targetAngle Angle of the target's slope.
 	 * @param x x-coordinate of adjacent region.
 	 * @param y y-coordinate of adjacent region.
 	 * @return true if a connection was made.
 	 */
-	private boolean connectTry( LineSegment2D_F32 target , int x , int y ) {
+	private boolean connectTry( LineSegment2D_F32 target , float targetAngle , int x , int y ) {
 		if( !grid.isInBounds(x,y) )
 			return false;
 
-		List<LineSegment2D_F32> lines = grid.get(x,y);
+		Element e = getElement(x,y);
 
-		int index = findBestCompatible(target,lines,0);
+		int index = findBestCompatible(target,targetAngle,e,0);
 
 		if( index == -1 )
 			return false;
 
-		LineSegment2D_F32 b = lines.remove(index);
+		LineSegment2D_F32 b = e.remove(index);
 
 		// join the two lines by connecting the farthest points from each other
 		Point2D_F32 pt0 = farthestIndex < 2 ? target.a : target.b;
@@ -165,7 +194,7 @@ public class ConnectLinesGrid {
 
 		// adding the merged one back in allows it to be merged with other lines down
 		// the line.  It will be compared against others in 'target's grid though
-		lines.add(target);
+		e.add(target);
 
 		return true;
 	}
@@ -173,18 +202,20 @@ public class ConnectLinesGrid {
 	/**
 	 * Search for lines in the same region for it to be connected to.
 	 *
-	 * @param lines All the lines in the region.
+	 * @param e Lines in the region.
 	 */
-	private void connectInSameElement(List<LineSegment2D_F32> lines ) {
-		for( int i = 0; i < lines.size(); i++ ) {
-			LineSegment2D_F32 a = lines.get(i);
+	private void connectInSameElement( Element e ) {
+		for( int i = 0; i < e.lines.size(); i++ ) {
+			LineSegment2D_F32 a = e.lines.get(i);
+			if( a == null )
+				continue;
 
-			int index = findBestCompatible(a,lines,i+1);
+			int index = findBestCompatible(a,e.angles.queue[i],e,i+1);
 			if( index == -1 )
 				continue;
 
 			// remove the line from the index which it is being connected to
-			LineSegment2D_F32 b = lines.remove(index);
+			LineSegment2D_F32 b = e.remove(index);
 
 			// join the two lines by connecting the farthest points from each other
 			Point2D_F32 pt0 = farthestIndex < 2 ? a.a : a.b;
@@ -192,6 +223,8 @@ public class ConnectLinesGrid {
 
 			a.a.set(pt0);
 			a.b.set(pt1);
+
+			e.updateAngle(i);
 		}
 	}
 
@@ -200,26 +233,34 @@ public class ConnectLinesGrid {
 	 * be connected to.
 	 *
 	 * @param target Line being connected to.
-	 * @param candidates List of candidate lines.
+	 * @param targetAngle Angle of the target's slope.
+	 * @param e Region containing the candidate lines.
 	 * @param start First index in the candidate list it should start searching at.
 	 * @return Index of the candidate it can connect to.  -1 if there is no match.
 	 */
 	private int findBestCompatible( LineSegment2D_F32 target ,
-									List<LineSegment2D_F32> candidates ,
+									float targetAngle ,
+									Element e ,
 									int start )
 	{
 		int bestIndex = -1;
 		double bestDistance = Double.MAX_VALUE;
 		int bestFarthest = 0;
 
-		float targetAngle = UtilAngle.atanSafe(target.slopeY(),target.slopeX());
 		float cos = (float)Math.cos(targetAngle);
 		float sin = (float)Math.sin(targetAngle);
 
-		for( int i = start; i < candidates.size(); i++ ) {
-			LineSegment2D_F32 c = candidates.get(i);
+		// only lines with a similar slope are considered.  Candidates are in the same order as the list
+		e.index.findCandidates(targetAngle,candidates);
 
-			float angle = UtilAngle.atanSafe(c.slopeY(),c.slopeX());
+		for( int k = 0; k < candidates.size; k++ ) {
+			int i = candidates.data[k];
+			if( i < start )
+				continue;
+
+			LineSegment2D_F32 c = e.lines.get(i);
+
+			float angle = e.angles.queue[i];
 
 			// see if the two lines have the same slope
 			if( UtilAngle.distHalf(targetAngle,angle) > lineSlopeAngleTol )
@@ -289,4 +330,61 @@ public class ConnectLinesGrid {
 			}
 		}
 	}
+
+	/**
+	 * Lines inside a single grid element.  Lines which have been removed are set to null so that
+	 * indexes remain valid, which keeps the remaining lines in their original order.
+	 */
+	public static class Element {
+		// lines in the element. null if removed
+		List<LineSegment2D_F32> lines = new ArrayList<LineSegment2D_F32>();
+		// angle of each line's slope
+		GrowQueue_F32 angles = new GrowQueue_F32(10);
+		// look up table for lines with similar slopes
+		LineAngleIndex index = new LineAngleIndex();
+
+		public void setTo( List<LineSegment2D_F32> src , float angleTol ) {
+			lines.clear();
+			angles.reset();
+			index.configure(angleTol);
+
+			for( int i = 0; i < src.size(); i++ ) {
+				add(src.get(i));
+			}
+		}
+
+		public void add( LineSegment2D_F32 l ) {
+			float angle = UtilAngle.atanSafe(l.slopeY(),l.slopeX());
+			index.add(lines.size(),angle);
+			lines.add(l);
+			angles.push(angle);
+		}
+
+		public LineSegment2D_F32 remove( int i ) {
+			index.remove(i,angles.queue[i]);
+			return lines.set(i,null);
+		}
+
+		/**
+		 * Recomputes the slope of a line after it has been modified
+		 */
+		public void updateAngle( int i ) {
+			LineSegment2D_F32 l = lines.get(i);
+			index.remove(i,angles.queue[i]);
+			angles.queue[i] = UtilAngle.atanSafe(l.slopeY(),l.slopeX());
+			index.add(i,angles.queue[i]);
+		}
+
+		/**
+		 * Copies the lines which have not been removed into the list
+		 */
+		public void copyInto( List<LineSegment2D_F32> dst ) {
+			dst.clear();
+			for( int i = 0; i < lines.size(); i++ ) {
+				LineSegment2D_F32 l = lines.get(i);
+				if( l != null )
+					dst.add(l);
+			}
+		}
+	}
 }
@@ -0,0 +1,242 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.feature.detect.line;
+
+import boofcv.abst.feature.detect.extract.FeatureExtractor;
+import boofcv.alg.InputSanityCheck;
+import boofcv.alg.misc.ImageTestingOps;
+import boofcv.misc.BlockTask;
+import boofcv.misc.BoofConcurrency;
+import boofcv.struct.image.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>
+ * Variant of {@link HoughTransformLinePolar} which uses the image gradient to restrict the angles each edge pixel
+ * votes for.  The gradient at a pixel on a line is approximately perpendicular to the line, which is the direction
+ * of the line's normal in polar coordinates.  Instead of voting into every angle bin a pixel only votes into the
+ * bins which lie within +- angleWindow bins of its gradient's direction.  This reduces the number of votes per pixel
+ * from the number of angle bins to (2*angleWindow+1) and also reduces the number of false positives caused by
+ * unrelated curves crossing in transform space.
+ * </p>
+ *
+ * <p>
+ * Rows of the binary image are split up across threads.  Each thread votes into its own accumulator, which are then
+ * summed together into the transform image.  Since all votes are integer counts the results are identical to the
+ * single threaded output.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class HoughTransformLinePolarGradient extends HoughTransformLinePolar {
+
+	// minimum number of rows processed by a single thread
+	public static int MIN_BLOCK = 16;
+
+	// number of angle bins on either side of the gradient's direction that are voted into
+	int angleWindow;
+
+	// accumulators which are currently not in use by a thread
+	final List<ImageFloat32> unused = new ArrayList<ImageFloat32>();
+	// accumulators which have been voted into during the current transform
+	final List<ImageFloat32> used = new ArrayList<ImageFloat32>();
+
+	/**
+	 * Specifies parameters of transform.
+	 *
+	 * @param extractor Extracts local maxima from transform space.
+	 * @param numBinsRange How many bins are be used for line range.
+	 * @param numBinsAngle How many bins are used for angle.
+	 * @param angleWindow Number of angle bins on either side of the gradient direction that a pixel votes into.
+	 *                    If the window covers all the bins then the full transform is computed.  Try 2.
+	 */
+	public HoughTransformLinePolarGradient(FeatureExtractor extractor, int numBinsRange, int numBinsAngle,
+										   int angleWindow) {
+		super(extractor, numBinsRange, numBinsAngle);
+		if( angleWindow < 0 )
+			throw new IllegalArgumentException("angleWindow must be >= 0");
+		this.angleWindow = angleWindow;
+	}
+
+	/**
+	 * Computes the Hough transform using the image gradient and a binary image which flags pixels as being edges
+	 * or not.
+	 *
+	 * @param derivX Image derivative along x-axis.
+	 * @param derivY Image derivative along y-axis.
+	 * @param binary Non-zero pixels are considered to be line pixels.
+	 */
+	public <D extends ImageSingleBand> void transform( final D derivX , final D derivY , final ImageUInt8 binary )
+	{
+		InputSanityCheck.checkSameShape(derivX,derivY,binary);
+
+		if( !(derivX instanceof ImageFloat32 || derivX instanceof ImageSInt16 || derivX instanceof ImageSInt32) )
+			throw new IllegalArgumentException("Unsupported derivative image type: "+derivX.getClass().getSimpleName());
+
+		originX = binary.width/2;
+		originY = binary.height/2;
+		r_max = Math.sqrt(originX*originX+originY*originY);
+
+		unused.addAll(used);
+		used.clear();
+
+		BoofConcurrency.loopBlocks(0,binary.height,MIN_BLOCK,new BlockTask() {
+			@Override
+			public void process(int start, int end) {
+				ImageFloat32 accumulator = checkOut();
+				ImageTestingOps.fill(accumulator, 0);
+
+				if( derivX instanceof ImageFloat32 )
+					_transform((ImageFloat32)derivX,(ImageFloat32)derivY,binary,accumulator,start,end);
+				else if( derivX instanceof ImageSInt16 )
+					_transform((ImageSInt16)derivX,(ImageSInt16)derivY,binary,accumulator,start,end);
+				else
+					_transform((ImageSInt32)derivX,(ImageSInt32)derivY,binary,accumulator,start,end);
+			}
+		});
+
+		// sum up the votes from each thread
+		if( used.size() == 1 ) {
+			transform.setTo(used.get(0));
+		} else {
+			ImageTestingOps.fill(transform, 0);
+			final int N = transform.width*transform.height;
+			for( int i = 0; i < used.size(); i++ ) {
+				float[] votes = used.get(i).data;
+				for( int j = 0; j < N; j++ ) {
+					transform.data[j] += votes[j];
+				}
+			}
+		}
+	}
+
+	/**
+	 * Provides an accumulator for a thread to vote into.
+	 */
+	private ImageFloat32 checkOut() {
+		synchronized ( used ) {
+			ImageFloat32 a;
+			if( unused.isEmpty() )
+				a = new ImageFloat32(transform.width,transform.height);
+			else
+				a = unused.remove(unused.size()-1);
+			used.add(a);
+			return a;
+		}
+	}
+
+	/**
+	 * Converts the pixel coordinate into a line in parameter space, but only for the angles which are close to
+	 * the gradient's direction.
+	 *
+	 * @param x point in image.
+	 * @param y point in image.
+	 * @param derivX gradient of point.
+	 * @param derivY gradient of point.
+	 * @param accumulator Image which the votes are added to.
+	 */
+	protected void parameterize( int x , int y , float derivX , float derivY , ImageFloat32 accumulator )
+	{
+		// put the point in a new coordinate system centered at the image's origin
+		x -= originX;
+		y -= originY;
+
+		int w2 = accumulator.width/2;
+		// the first and last angle bins are both at the same angle, 0 and PI
+		int period = accumulator.height-1;
+
+		int start,end;
+		if( 2*angleWindow+1 >= period || (derivX == 0 && derivY == 0) ) {
+			start = 0;
+			end = accumulator.height;
+		} else {
+			double angle = Math.atan2(derivY,derivX);
+			if( angle < 0 )
+				angle += Math.PI;
+			int center = (int)Math.round(angle*period/Math.PI);
+			start = center - angleWindow;
+			end = center + angleWindow + 1;
+		}
+
+		for( int j = start; j < end; j++ ) {
+			int i = j < 0 ? j + period : (j > period ? j - period : j);
+
+			double p = x*tableTrig.c[i] + y*tableTrig.s[i];
+
+			int col = (int)Math.floor(p * w2 / r_max) + w2;
+			int index = accumulator.startIndex + i*accumulator.stride + col;
+			accumulator.data[index]++;
+		}
+	}
+
+	public int getAngleWindow() {
+		return angleWindow;
+	}
+
+	private void _transform( ImageFloat32 derivX , ImageFloat32 derivY , ImageUInt8 binary ,
+							 ImageFloat32 accumulator , int y0 , int y1 )
+	{
+		for( int y = y0; y < y1; y++ ) {
+			int start = binary.startIndex + y*binary.stride;
+			int end = start + binary.width;
+
+			for( int index = start; index < end; index++ ) {
+				if( binary.data[index] != 0 ) {
+					int x = index-start;
+					parameterize(x,y,derivX.get(x,y),derivY.get(x,y),accumulator);
+				}
+			}
+		}
+	}
+
+	private void _transform( ImageSInt16 derivX , ImageSInt16 derivY , ImageUInt8 binary ,
+							 ImageFloat32 accumulator , int y0 , int y1 )
+	{
+		for( int y = y0; y < y1; y++ ) {
+			int start = binary.startIndex + y*binary.stride;
+			int end = start + binary.width;
+
+			for( int index = start; index < end; index++ ) {
+				if( binary.data[index] != 0 ) {
+					int x = index-start;
+					parameterize(x,y,derivX.get(x,y),derivY.get(x,y),accumulator);
+				}
+			}
+		}
+	}
+
+	private void _transform( ImageSInt32 derivX , ImageSInt32 derivY , ImageUInt8 binary ,
+							 ImageFloat32 accumulator , int y0 , int y1 )
+	{
+		for( int y = y0; y < y1; y++ ) {
+			int start = binary.startIndex + y*binary.stride;
+			int end = start + binary.width;
+
+			for( int index = start; index < end; index++ ) {
+				if( binary.data[index] != 0 ) {
+					int x = index-start;
+					parameterize(x,y,derivX.get(x,y),derivY.get(x,y),accumulator);
+				}
+			}
+		}
+	}
+}
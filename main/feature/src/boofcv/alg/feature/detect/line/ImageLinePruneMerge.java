@@ -24,6 +24,7 @@ import georegression.metric.UtilAngle;
 import georegression.struct.line.LineParametric2D_F32;
 import georegression.struct.line.LineSegment2D_F32;
 import georegression.struct.point.Point2D_F32;
+import pja.storage.GrowQueue_I32;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -37,6 +38,10 @@ public class ImageLinePruneMerge {
 
 	List<Data> lines = new ArrayList<Data>();
 
+	// used to look up lines with a similar slope
+	LineAngleIndex index = new LineAngleIndex();
+	GrowQueue_I32 candidates = new GrowQueue_I32(10);
+
 	public void reset() {
 		lines.clear();
 	}
@@ -103,11 +108,23 @@ public class ImageLinePruneMerge {
 			segments.add( LineImageOps.convert(l, imgWidth, imgHeight));
 		}
 
+		// only lines with similar slopes need to be compared against each other
+		index.configure(toleranceAngle);
+		for( int i = 0; i < theta.length; i++ ) {
+			index.add(i,theta[i]);
+		}
+
 		for( int i = 0; i < segments.size(); i++ ) {
 			LineSegment2D_F32 a = segments.get(i);
 			if( a == null ) continue;
 
-			for( int j = i+1; j < segments.size(); j++) {
+			index.findCandidates(theta[i],candidates);
+
+			for( int k = 0; k < candidates.size; k++ ) {
+				int j = candidates.data[k];
+				if( j <= i )
+					continue;
+
 				LineSegment2D_F32 b = segments.get(j);
 
 				if( b == null )
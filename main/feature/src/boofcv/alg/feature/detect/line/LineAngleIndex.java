@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.feature.detect.line;
+
+import pja.storage.GrowQueue_I32;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ * Index which groups lines by the angle of their slope so that only lines with a similar slope need to be compared
+ * against each other.  Angles are in the half circle domain, e.g. a line at 0 and PI radians have the same slope.
+ * The half circle is divided into bins which are at least as wide as the angle tolerance.  Lines which are within
+ * tolerance of each other will always be in the same or adjacent bins, so searching those bins returns
+ * a superset of all the matching lines.  The caller still needs to check the exact angle.
+ * </p>
+ *
+ * <p>
+ * Lines are referenced using an integer ID, which is typically their index in a list.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class LineAngleIndex {
+
+	// maximum number of bins.  Limits memory when the tolerance is very small
+	public static int MAX_BINS = 360;
+
+	// IDs of the lines inside each bin
+	GrowQueue_I32 bins[] = new GrowQueue_I32[0];
+	// number of bins in use
+	int numBins;
+	// width of a bin in radians
+	double binWidth;
+
+	/**
+	 * Specifies the angle tolerance and removes all the lines from the index.
+	 *
+	 * @param tolerance Maximum difference in angle between two lines for them to be neighbors.  Radians.
+	 */
+	public void configure( double tolerance ) {
+		// make the bins slightly larger than the tolerance so that round off errors can't cause neighbors to be
+		// more than one bin apart
+		double n = Math.PI/(tolerance*1.001);
+		if( tolerance <= 0 || n > MAX_BINS )
+			numBins = MAX_BINS;
+		else
+			numBins = Math.max(1,(int)n);
+		binWidth = Math.PI/numBins;
+
+		if( bins.length < numBins ) {
+			GrowQueue_I32 declared[] = new GrowQueue_I32[ numBins ];
+			System.arraycopy(bins,0,declared,0,bins.length);
+			for( int i = bins.length; i < numBins; i++ ) {
+				declared[i] = new GrowQueue_I32(10);
+			}
+			bins = declared;
+		}
+
+		reset();
+	}
+
+	/**
+	 * Removes all lines from the index.
+	 */
+	public void reset() {
+		for( int i = 0; i < numBins; i++ ) {
+			bins[i].reset();
+		}
+	}
+
+	/**
+	 * Adds a line to the index.
+	 *
+	 * @param id ID of the line.
+	 * @param angle Angle of the line's slope. Radians.
+	 */
+	public void add( int id , float angle ) {
+		bins[ bin(angle) ].push(id);
+	}
+
+	/**
+	 * Removes a line from the index.  The angle must be the same as when it was added.
+	 *
+	 * @param id ID of the line.
+	 * @param angle Angle of the line's slope when it was added. Radians.
+	 */
+	public void remove( int id , float angle ) {
+		GrowQueue_I32 b = bins[ bin(angle) ];
+		for( int i = 0; i < b.size; i++ ) {
+			if( b.data[i] == id ) {
+				System.arraycopy(b.data,i+1,b.data,i,b.size-i-1);
+				b.size--;
+				return;
+			}
+		}
+		throw new IllegalArgumentException("Line is not in the index: "+id);
+	}
+
+	/**
+	 * Finds all the lines which could be within tolerance of the specified angle.
+	 *
+	 * @param angle Angle of the line's slope. Radians.
+	 * @param found (Output) IDs of candidate lines, sorted in ascending order.
+	 */
+	public void findCandidates( float angle , GrowQueue_I32 found ) {
+		found.reset();
+
+		int center = bin(angle);
+		if( numBins <= 3 ) {
+			for( int i = 0; i < numBins; i++ )
+				addAll(bins[i],found);
+		} else {
+			addAll(bins[(center+numBins-1)%numBins],found);
+			addAll(bins[center],found);
+			addAll(bins[(center+1)%numBins],found);
+		}
+
+		Arrays.sort(found.data,0,found.size);
+	}
+
+	private void addAll( GrowQueue_I32 src , GrowQueue_I32 dst ) {
+		for( int i = 0; i < src.size; i++ ) {
+			dst.push(src.data[i]);
+		}
+	}
+
+	/**
+	 * Returns the bin which the angle belongs in.
+	 */
+	protected int bin( float angle ) {
+		double theta = angle % Math.PI;
+		if( theta < 0 )
+			theta += Math.PI;
+
+		int index = (int)(theta/binWidth);
+		return index >= numBins ? numBins-1 : index;
+	}
+
+	public int getNumBins() {
+		return numBins;
+	}
+}
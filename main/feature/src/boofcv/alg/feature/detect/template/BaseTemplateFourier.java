@@ -0,0 +1,277 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.feature.detect.template;
+
+import boofcv.numerics.fft.FastFourierTransform2D_F64;
+import boofcv.numerics.fft.FastFourierTransform_F64;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageSingleBand;
+import boofcv.struct.image.ImageUInt8;
+
+/**
+ * <p>
+ * Base class for template matching which computes the cross correlation between the image and the template in the
+ * frequency domain.  Computing the intensity directly requires O(W*H*w*h) operations while using the Fast Fourier
+ * Transform (FFT) requires O(W*H*log(W*H)), where (W,H) is the image's shape and (w,h) the template's.  For all
+ * but the smallest templates this is much faster.
+ * </p>
+ *
+ * <p>
+ * The image and template are zero padded to a power of two and packed into the real and imaginary components of a
+ * single complex signal, which allows both to be transformed at the same time.  Their spectrums are separated using
+ * conjugate symmetry, multiplied, and then transformed back to get the cross correlation.  Sum and sum of squares
+ * of the image inside the template are found using integral images.  Computations are done in double precision to
+ * avoid round off errors when the correlation is combined with the other terms.
+ * </p>
+ *
+ * <p>
+ * Only {@link ImageUInt8} and {@link ImageFloat32} are supported.  Results are the same as the direct
+ * implementations, up to floating point round off.  Memory usage is about 24 bytes per pixel in the padded image.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public abstract class BaseTemplateFourier<T extends ImageSingleBand>
+		implements TemplateMatchingIntensity<T> {
+	// Match intensity image
+	private ImageFloat32 intensity = new ImageFloat32(1, 1);
+
+	// offset from pixel intensity coordinate to top left corner of template
+	private int offsetX;
+	private int offsetY;
+
+	// shape of the zero padded image
+	private int paddedWidth;
+	private int paddedHeight;
+
+	// FFT for the padded image
+	private FastFourierTransform2D_F64 fft;
+	// image in the real component and template in the imaginary component. then their transform
+	private double packed[] = new double[0];
+	// cross correlation between the image and the template
+	private double correlation[] = new double[0];
+	// integral image of the image and the image squared.  Has an extra row and column of zeros
+	private double integral[] = new double[0];
+	private double integralSq[] = new double[0];
+
+	// number of pixels in the template
+	protected double area;
+
+	@Override
+	public void process(T image, T template) {
+		if( template.width > image.width || template.height > image.height )
+			throw new IllegalArgumentException("Template must be equal to or smaller than the image");
+		if( !(image instanceof ImageFloat32 || image instanceof ImageUInt8) )
+			throw new IllegalArgumentException("Image type not supported. " + image.getClass().getSimpleName());
+
+		intensity.reshape(image.width, image.height);
+
+		offsetX = template.width / 2;
+		offsetY = template.height / 2;
+		area = template.width*template.height;
+
+		declareStorage(image.width, image.height);
+
+		// zero padded image goes into the real component and the template into the imaginary
+		double templateBias = setupTemplate(template);
+		for( int i = 0; i < packed.length; i++ )
+			packed[i] = 0;
+		copy(image, 0, 0);
+		copy(template, 1, templateBias);
+
+		computeIntegral(image.width, image.height);
+
+		fft.forward(packed);
+		multiplySpectrums();
+		fft.inverseReal(packed,correlation);
+
+		computeIntensity(image.width, image.height, template.width, template.height);
+	}
+
+	/**
+	 * Computes statistics of the template which are needed to compute the score.
+	 *
+	 * @param template The template
+	 * @return Value which is subtracted from each pixel in the template before the correlation is computed.
+	 */
+	protected abstract double setupTemplate( T template );
+
+	/**
+	 * Computes the match score from the correlation and the image statistics inside the template
+	 *
+	 * @param correlation Sum of the image times the template, after the bias is removed
+	 * @param sum Sum of image pixels inside the template
+	 * @param sumSq Sum of image pixels squared inside the template
+	 * @return match value with better matches having a more positive value
+	 */
+	protected abstract float computeScore( double correlation , double sum , double sumSq );
+
+	private void declareStorage( int width , int height ) {
+		int w = FastFourierTransform_F64.nextPowerOfTwo(width);
+		int h = FastFourierTransform_F64.nextPowerOfTwo(height);
+
+		if( fft == null || w != paddedWidth || h != paddedHeight ) {
+			paddedWidth = w;
+			paddedHeight = h;
+			fft = new FastFourierTransform2D_F64(w,h);
+			packed = new double[ 2*w*h ];
+			correlation = new double[ w*h ];
+		}
+
+		int N = (width+1)*(height+1);
+		if( integral.length < N ) {
+			integral = new double[ N ];
+			integralSq = new double[ N ];
+		}
+	}
+
+	/**
+	 * Copies the image into the top left corner of the packed array
+	 *
+	 * @param image Image being copied
+	 * @param component 0 for real and 1 for imaginary
+	 * @param bias Value subtracted from each pixel
+	 */
+	private void copy( T image , int component , double bias ) {
+		if( image instanceof ImageFloat32 ) {
+			ImageFloat32 img = (ImageFloat32)image;
+			for( int y = 0; y < img.height; y++ ) {
+				int index = img.startIndex + y*img.stride;
+				int indexPacked = y*paddedWidth*2 + component;
+				for( int x = 0; x < img.width; x++ , indexPacked += 2 ) {
+					packed[indexPacked] = img.data[index++] - bias;
+				}
+			}
+		} else {
+			ImageUInt8 img = (ImageUInt8)image;
+			for( int y = 0; y < img.height; y++ ) {
+				int index = img.startIndex + y*img.stride;
+				int indexPacked = y*paddedWidth*2 + component;
+				for( int x = 0; x < img.width; x++ , indexPacked += 2 ) {
+					packed[indexPacked] = (img.data[index++] & 0xFF) - bias;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Computes integral images of the image and the image squared from the packed array
+	 */
+	private void computeIntegral( int width , int height ) {
+		int stride = width+1;
+		for( int x = 0; x <= width; x++ ) {
+			integral[x] = 0;
+			integralSq[x] = 0;
+		}
+
+		for( int y = 0; y < height; y++ ) {
+			int indexPacked = y*paddedWidth*2;
+			int index = (y+1)*stride;
+			integral[index] = 0;
+			integralSq[index] = 0;
+			index++;
+
+			double rowSum = 0, rowSumSq = 0;
+			for( int x = 0; x < width; x++ , index++ , indexPacked += 2 ) {
+				double v = packed[indexPacked];
+				rowSum += v;
+				rowSumSq += v*v;
+				integral[index] = integral[index-stride] + rowSum;
+				integralSq[index] = integralSq[index-stride] + rowSumSq;
+			}
+		}
+	}
+
+	/**
+	 * Separates the transform of the image and template then computes the transform of their cross correlation,
+	 * I[k]*conj(T[k]).  The result has conjugate symmetry, so each pair of elements k and -k are computed together.
+	 */
+	private void multiplySpectrums() {
+		for( int v = 0; v < paddedHeight; v++ ) {
+			int vv = (paddedHeight-v) % paddedHeight;
+			for( int u = 0; u < paddedWidth; u++ ) {
+				int uu = (paddedWidth-u) % paddedWidth;
+
+				int indexK = (v*paddedWidth+u)*2;
+				int indexM = (vv*paddedWidth+uu)*2;
+				if( indexM < indexK )
+					continue;
+
+				double a = packed[indexK], b = packed[indexK+1];
+				double c = packed[indexM], d = packed[indexM+1];
+
+				// transform of the image and template at k
+				double ir = (a+c)*0.5, ii = (b-d)*0.5;
+				double tr = (b+d)*0.5, ti = (c-a)*0.5;
+
+				// image times conjugate of template
+				double gr = ir*tr + ii*ti;
+				double gi = ii*tr - ir*ti;
+
+				packed[indexK] = gr;
+				packed[indexK+1] = gi;
+				packed[indexM] = gr;
+				packed[indexM+1] = -gi;
+			}
+		}
+	}
+
+	private void computeIntensity( int width , int height , int templateWidth , int templateHeight ) {
+		int w = width - templateWidth;
+		int h = height - templateHeight;
+		int stride = width+1;
+
+		for( int y = 0; y < h; y++ ) {
+			int index = intensity.startIndex + (y + offsetY) * intensity.stride + offsetX;
+			int indexCorr = y*paddedWidth;
+			int indexTop = y*stride;
+			int indexBottom = (y+templateHeight)*stride;
+
+			for( int x = 0; x < w; x++ , indexCorr++ , indexTop++ , indexBottom++ ) {
+				double sum = integral[indexBottom+templateWidth] - integral[indexBottom]
+						- integral[indexTop+templateWidth] + integral[indexTop];
+				double sumSq = integralSq[indexBottom+templateWidth] - integralSq[indexBottom]
+						- integralSq[indexTop+templateWidth] + integralSq[indexTop];
+
+				intensity.data[index++] = computeScore(correlation[indexCorr],sum,sumSq);
+			}
+		}
+	}
+
+	@Override
+	public ImageFloat32 getIntensity() {
+		return intensity;
+	}
+
+	@Override
+	public boolean isBorderProcessed() {
+		return false;
+	}
+
+	@Override
+	public int getOffsetX() {
+		return offsetX;
+	}
+
+	@Override
+	public int getOffsetY() {
+		return offsetY;
+	}
+}
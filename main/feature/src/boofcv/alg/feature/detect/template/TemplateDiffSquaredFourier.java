@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.feature.detect.template;
+
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageSingleBand;
+import boofcv.struct.image.ImageUInt8;
+
+/**
+ * <p>
+ * Frequency domain implementation of {@link TemplateDiffSquared}.  The error is expanded into
+ * Sum I<sup>2</sup> - 2*Sum I*T + Sum T<sup>2</sup>, where the cross term is computed using the FFT and the
+ * first term using an integral image.  See {@link BaseTemplateFourier}.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class TemplateDiffSquaredFourier<T extends ImageSingleBand> extends BaseTemplateFourier<T> {
+
+	// sum of the template squared
+	double templateSumSq;
+
+	@Override
+	protected double setupTemplate(T template) {
+		templateSumSq = 0;
+
+		if( template instanceof ImageFloat32 ) {
+			ImageFloat32 t = (ImageFloat32)template;
+			for( int y = 0; y < t.height; y++ ) {
+				int index = t.startIndex + y*t.stride;
+				for( int x = 0; x < t.width; x++ ) {
+					double v = t.data[index++];
+					templateSumSq += v*v;
+				}
+			}
+		} else if( template instanceof ImageUInt8 ) {
+			ImageUInt8 t = (ImageUInt8)template;
+			for( int y = 0; y < t.height; y++ ) {
+				int index = t.startIndex + y*t.stride;
+				for( int x = 0; x < t.width; x++ ) {
+					double v = t.data[index++] & 0xFF;
+					templateSumSq += v*v;
+				}
+			}
+		} else {
+			throw new IllegalArgumentException("Image type not supported. " + template.getClass().getSimpleName());
+		}
+
+		return 0;
+	}
+
+	@Override
+	protected float computeScore(double correlation, double sum, double sumSq) {
+		return (float)-(sumSq - 2*correlation + templateSumSq);
+	}
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.feature.detect.template;
+
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageSingleBand;
+import boofcv.struct.image.ImageUInt8;
+
+/**
+ * <p>
+ * Frequency domain implementation of {@link TemplateNCC}.  The template's mean is removed before the cross
+ * correlation is computed with the FFT, which makes the numerator Sum (I - mean(I))*(T - mean(T)).  The standard
+ * deviation of the image inside the template is computed from integral images of the image and image squared.
+ * See {@link BaseTemplateFourier}.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class TemplateNCCFourier<T extends ImageSingleBand> extends BaseTemplateFourier<T> {
+
+	double templateMean;
+	double templateSigma;
+
+	@Override
+	protected double setupTemplate(T template) {
+		double sum = 0;
+		double sumSq = 0;
+
+		if( template instanceof ImageFloat32 ) {
+			ImageFloat32 t = (ImageFloat32)template;
+			for( int y = 0; y < t.height; y++ ) {
+				int index = t.startIndex + y*t.stride;
+				for( int x = 0; x < t.width; x++ ) {
+					double v = t.data[index++];
+					sum += v;
+					sumSq += v*v;
+				}
+			}
+		} else if( template instanceof ImageUInt8 ) {
+			ImageUInt8 t = (ImageUInt8)template;
+			for( int y = 0; y < t.height; y++ ) {
+				int index = t.startIndex + y*t.stride;
+				for( int x = 0; x < t.width; x++ ) {
+					double v = t.data[index++] & 0xFF;
+					sum += v;
+					sumSq += v*v;
+				}
+			}
+		} else {
+			throw new IllegalArgumentException("Image type not supported. " + template.getClass().getSimpleName());
+		}
+
+		templateMean = sum/area;
+		templateSigma = Math.sqrt(Math.max(0,sumSq/area - templateMean*templateMean));
+
+		return templateMean;
+	}
+
+	@Override
+	protected float computeScore(double correlation, double sum, double sumSq) {
+		double imageMean = sum/area;
+		double imageSigma = Math.sqrt(Math.max(0,sumSq/area - imageMean*imageMean));
+
+		// technically top should be divided by area, but that won't change the solution
+		return (float)(correlation/(imageSigma*templateSigma));
+	}
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.feature.orientation;
+
+import boofcv.abst.filter.derivative.DerivedImageCache;
+import boofcv.abst.filter.derivative.ImageGradient;
+import boofcv.core.image.GeneralizedImageOps;
+import boofcv.struct.image.ImageSingleBand;
+
+/**
+ * Converts an {@link OrientationGradient} into {@link OrientationImage} by computing the image gradient.
+ *
+ * @author Peter Abeles
+ */
+public class OrientationGradientToImage<T extends ImageSingleBand, D extends ImageSingleBand>
+	implements OrientationImage<T>
+{
+	private Class<T> imageType;
+	private Class<D> derivType;
+	private OrientationGradient<D> alg;
+	private ImageGradient<T,D> gradient;
+
+	// gradient of the input image
+	private D derivX;
+	private D derivY;
+
+	// optional: provides the gradient
+	private DerivedImageCache<T,D> cache;
+	// frame number of the cache when it was last used
+	private long cacheFrame = DerivedImageCache.NO_FRAME;
+
+	public OrientationGradientToImage(OrientationGradient<D> alg, ImageGradient<T, D> gradient,
+									  Class<T> imageType , Class<D> derivType ) {
+		this.alg = alg;
+		this.gradient = gradient;
+		this.imageType = imageType;
+		this.derivType = derivType;
+	}
+
+	/**
+	 * Specifies a cache which the gradient is taken from instead of being computed internally.
+	 * Allows the gradient to be shared with other algorithms.
+	 *
+	 * @param cache Cache of derived images.  If null the gradient is computed internally.
+	 */
+	public void setCache(DerivedImageCache<T, D> cache) {
+		this.cache = cache;
+		cacheFrame = DerivedImageCache.NO_FRAME;
+		// don't modify the cache's gradient
+		derivX = derivY = null;
+	}
+
+	@Override
+	public void setImage(T image) {
+		if( cache != null ) {
+			cacheFrame = cache.process(image,cacheFrame);
+			derivX = cache.getDerivX();
+			derivY = cache.getDerivY();
+		} else {
+			if( derivX == null ) {
+				derivX = GeneralizedImageOps.createSingleBand(derivType,image.width,image.height);
+				derivY = GeneralizedImageOps.createSingleBand(derivType,image.width,image.height);
+			} else {
+				derivX.reshape(image.width,image.height);
+				derivY.reshape(image.width,image.height);
+			}
+
+			gradient.process(image,derivX,derivY);
+		}
+		alg.setImage(derivX,derivY);
+	}
+
+	@Override
+	public Class<T> getImageType() {
+		return imageType;
+	}
+
+	@Override
+	public void setScale(double scale) {
+		alg.setScale(scale);
+	}
+
+	@Override
+	public double compute(double c_x, double c_y) {
+		return alg.compute(c_x,c_y);
+	}
+}
@@ -18,6 +18,7 @@
 
 package boofcv.alg.feature.orientation;
 
+import boofcv.abst.filter.derivative.DerivedImageCache;
 import boofcv.alg.transform.ii.GIntegralImageOps;
 import boofcv.struct.image.ImageSingleBand;
 
@@ -35,19 +36,42 @@ public class OrientationIntegralToImage<T extends ImageSingleBand, II extends Im
 	// converted integral image of input image
 	private II ii;
 
+	// optional: provides the integral image
+	private DerivedImageCache<T,?> cache;
+	// frame number of the cache when it was last used
+	private long cacheFrame = DerivedImageCache.NO_FRAME;
+
 	public OrientationIntegralToImage(OrientationIntegral<II> alg, Class<T> imageType) {
 		this.alg = alg;
 		this.imageType = imageType;
 	}
 
+	/**
+	 * Specifies a cache which the integral image is taken from instead of being computed internally.
+	 * Allows the integral image to be shared with other algorithms.
+	 *
+	 * @param cache Cache of derived images.  If null the integral image is computed internally.
+	 */
+	public void setCache(DerivedImageCache<T, ?> cache) {
+		this.cache = cache;
+		cacheFrame = DerivedImageCache.NO_FRAME;
+		// don't modify the cache's integral image
+		ii = null;
+	}
+
 	@Override
 	public void setImage(T image) {
-		if( ii != null ) {
-			ii.reshape(image.width,image.height);
-		}
+		if( cache != null ) {
+			cacheFrame = cache.process(image,cacheFrame);
+			ii = cache.getIntegral();
+		} else {
+			if( ii != null ) {
+				ii.reshape(image.width,image.height);
+			}
 
-		// compute integral image
-		ii = GIntegralImageOps.transform(image, ii);
+			// compute integral image
+			ii = GIntegralImageOps.transform(image, ii);
+		}
 		alg.setImage(ii);
 	}
 
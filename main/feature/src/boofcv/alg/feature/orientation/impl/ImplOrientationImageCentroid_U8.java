@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.feature.orientation.impl;
+
+import boofcv.struct.convolve.Kernel2D_F32;
+import boofcv.struct.image.ImageUInt8;
+
+
+/**
+ * <p>
+ * Estimates the orientation using the intensity centroid [1] of a circular region.  The angle is the direction
+ * from the region's center to the centroid, atan2(m01,m10), where m10 = sum x*I(x,y) and m01 = sum y*I(x,y).
+ * Computed by {@link ImplOrientationImageAverage_U8} with weights x and y inside the circle and zero outside.
+ * </p>
+ *
+ * <p>
+ * [1] Ethan Rublee, Vincent Rabaud, Kurt Konolige, Gary Bradski, "ORB: an efficient alternative to SIFT or SURF"
+ * ICCV 2011
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ImplOrientationImageCentroid_U8 extends ImplOrientationImageAverage_U8 {
+
+	public ImplOrientationImageCentroid_U8(int radius) {
+		super(radius);
+	}
+
+	@Override
+	public void setScale(double scale) {
+		radiusScale = (int)Math.ceil(scale*radius);
+		int r2 = radiusScale*radiusScale;
+
+		int w = radiusScale*2+1;
+		if( kerCosine == null || kerCosine.width != w ) {
+			kerCosine = new Kernel2D_F32(w);
+			kerSine = new Kernel2D_F32(w);
+		}
+
+		for( int y=-radiusScale; y <= radiusScale; y++ ) {
+			int pixelY = y+radiusScale;
+			for( int x=-radiusScale; x <= radiusScale; x++ ) {
+				int pixelX = x+radiusScale;
+				if( x*x + y*y <= r2 ) {
+					kerCosine.set(pixelX,pixelY,x);
+					kerSine.set(pixelX,pixelY,y);
+				} else {
+					kerCosine.set(pixelX,pixelY,0);
+					kerSine.set(pixelX,pixelY,0);
+				}
+			}
+		}
+	}
+}
@@ -71,6 +71,10 @@ public class FactoryAssociation {
 			return (ScoreAssociation)new ScoreAssociateEuclideanSq_F32();
 		} else if( tupleType == TupleDesc_U8.class ) {
 			return (ScoreAssociation)new ScoreAssociateSad_U8();
+		} else if( SurfFeatureS8.class.isAssignableFrom(tupleType) ) {
+			return (ScoreAssociation)new ScoreAssociateEuclideanSq_SurfS8();
+		} else if( tupleType == TupleDesc_S8.class ) {
+			return (ScoreAssociation)new ScoreAssociateEuclideanSq_S8();
 		} else if( tupleType == TupleDesc_B.class  ) {
 			return (ScoreAssociation)new ScoreAssociateHamming_B();
 		} else {
@@ -92,6 +96,8 @@ public class FactoryAssociation {
 			return (ScoreAssociation)new ScoreAssociateSad_F32();
 		} else if( tupleType == TupleDesc_U8.class ) {
 			return (ScoreAssociation)new ScoreAssociateSad_U8();
+		} else if( tupleType == TupleDesc_S8.class ) {
+			return (ScoreAssociation)new ScoreAssociateSad_S8();
 		} else {
 			throw new IllegalArgumentException("SAD score not supported for type "+tupleType.getSimpleName());
 		}
@@ -124,6 +130,15 @@ public class FactoryAssociation {
 		} else if( tupleType == TupleDesc_F32.class ) {
 			if( squared )
 				return (ScoreAssociation)new ScoreAssociateEuclideanSq_F32();
+		} else if( SurfFeatureS8.class.isAssignableFrom(tupleType) ) {
+			if( squared )
+				return (ScoreAssociation)new ScoreAssociateEuclideanSq_SurfS8();
+		} else if( tupleType == TupleDesc_S8.class ) {
+			if( squared )
+				return (ScoreAssociation)new ScoreAssociateEuclideanSq_S8();
+		} else if( tupleType == TupleDesc_U8.class ) {
+			if( squared )
+				return (ScoreAssociation)new ScoreAssociateEuclideanSq_U8();
 		}
 
 		throw new IllegalArgumentException("Euclidean score not yet supported for type "+tupleType.getSimpleName());
@@ -20,10 +20,12 @@ package boofcv.factory.feature.describe;
 
 import boofcv.abst.feature.describe.*;
 import boofcv.abst.filter.blur.BlurFilter;
+import boofcv.abst.filter.derivative.DerivedImageCache;
 import boofcv.abst.filter.derivative.ImageGradient;
 import boofcv.alg.feature.describe.DescribePointGaussian12;
 import boofcv.alg.feature.describe.DescribePointSteerable2D;
 import boofcv.alg.feature.describe.DescribePointSurf;
+import boofcv.alg.feature.describe.DescribePointSurfBatch;
 import boofcv.alg.feature.describe.brief.BriefDefinition_I32;
 import boofcv.alg.feature.describe.brief.FactoryBriefDefinition;
 import boofcv.alg.feature.orientation.OrientationIntegral;
@@ -31,6 +33,7 @@ import boofcv.alg.transform.ii.GIntegralImageOps;
 import boofcv.factory.feature.orientation.FactoryOrientationAlgs;
 import boofcv.factory.filter.blur.FactoryBlurFilter;
 import boofcv.factory.filter.derivative.FactoryDerivative;
+import boofcv.misc.BoofConcurrency;
 import boofcv.struct.feature.*;
 import boofcv.struct.image.ImageSingleBand;
 
@@ -58,18 +61,46 @@ public class FactoryDescribeRegionPoint {
 	 * @return SURF description extractor
 	 */
 	public static <T extends ImageSingleBand, II extends ImageSingleBand>
-	DescribeRegionPoint<T,SurfFeature> surf( boolean isOriented , Class<T> imageType) {
-		OrientationIntegral<II> orientation = null;
-
+	WrapDescribeSurf<T,II> surf( boolean isOriented , Class<T> imageType) {
 		Class<II> integralType = GIntegralImageOps.getIntegralType(imageType);
 
-		if( isOriented )
-//			orientation = FactoryOrientationAlgs.image_ii(6, 1 , 6, -1, integralType);
-			orientation = FactoryOrientationAlgs.average_ii(6, 1 , 6, -1, integralType);
-//			orientation = FactoryOrientationAlgs.sliding_ii(42,Math.PI/3.0,6,true,integralType);
-
 		DescribePointSurf<II> alg = FactoryDescribePointAlgs.<II>surf(integralType);
-		return new WrapDescribeSurf<T,II>( alg ,orientation);
+		OrientationIntegral<II> orientation = surfOrientation(isOriented, integralType);
+		WrapDescribeSurf<T,II> ret = new WrapDescribeSurf<T,II>( alg ,orientation);
+
+		// each thread needs its own instance when points are described in a batch
+		DescribePointSurfBatch<II> batch = new DescribePointSurfBatch<II>(alg,orientation);
+		for( int i = 1; i < BoofConcurrency.getMaxThreads(); i++ ) {
+			batch.addThread(FactoryDescribePointAlgs.<II>surf(integralType),
+					surfOrientation(isOriented, integralType));
+		}
+		ret.setBatch(batch);
+
+		return ret;
+	}
+
+	private static <II extends ImageSingleBand>
+	OrientationIntegral<II> surfOrientation( boolean isOriented , Class<II> integralType ) {
+		if( !isOriented )
+			return null;
+//		return FactoryOrientationAlgs.image_ii(6, 1 , 6, -1, integralType);
+		return FactoryOrientationAlgs.average_ii(6, 1 , 6, -1, integralType);
+//		return FactoryOrientationAlgs.sliding_ii(42,Math.PI/3.0,6,true,integralType);
+	}
+
+	/**
+	 * Same as {@link #surf(boolean, Class)}, but the integral image is taken from the cache.  This allows it to be
+	 * shared with other algorithms processing the same frame.
+	 *
+	 * @param isOriented True for orientation invariant.
+	 * @param cache Provides the integral image.
+	 * @return SURF description extractor
+	 */
+	public static <T extends ImageSingleBand, II extends ImageSingleBand>
+	WrapDescribeSurf<T,II> surf( boolean isOriented , DerivedImageCache<T,?> cache ) {
+		WrapDescribeSurf<T,II> ret = surf(isOriented, cache.getInputType());
+		ret.setCache(cache);
+		return ret;
 	}
 
 	/**
@@ -86,17 +117,30 @@ public class FactoryDescribeRegionPoint {
 	 * @return SURF description extractor
 	 */
 	public static <T extends ImageSingleBand, II extends ImageSingleBand>
-	DescribeRegionPoint<T,SurfFeature> surfm(boolean isOriented, Class<T> imageType) {
-		OrientationIntegral<II> orientation = null;
-
+	WrapDescribeSurf<T,II> surfm(boolean isOriented, Class<T> imageType) {
 		Class<II> integralType = GIntegralImageOps.getIntegralType(imageType);
 
-		if( isOriented )
-//			orientation = FactoryOrientationAlgs.average_ii(6, true, integralType);
-			orientation = FactoryOrientationAlgs.sliding_ii(0.65, Math.PI/3.0,8,-1, 6, integralType);
-
 		DescribePointSurf<II> alg = FactoryDescribePointAlgs.<II>msurf(integralType);
-		return new WrapDescribeSurf<T,II>( alg ,orientation);
+		OrientationIntegral<II> orientation = surfmOrientation(isOriented, integralType);
+		WrapDescribeSurf<T,II> ret = new WrapDescribeSurf<T,II>( alg ,orientation);
+
+		// each thread needs its own instance when points are described in a batch
+		DescribePointSurfBatch<II> batch = new DescribePointSurfBatch<II>(alg,orientation);
+		for( int i = 1; i < BoofConcurrency.getMaxThreads(); i++ ) {
+			batch.addThread(FactoryDescribePointAlgs.<II>msurf(integralType),
+					surfmOrientation(isOriented, integralType));
+		}
+		ret.setBatch(batch);
+
+		return ret;
+	}
+
+	private static <II extends ImageSingleBand>
+	OrientationIntegral<II> surfmOrientation( boolean isOriented , Class<II> integralType ) {
+		if( !isOriented )
+			return null;
+//		return FactoryOrientationAlgs.average_ii(6, true, integralType);
+		return FactoryOrientationAlgs.sliding_ii(0.65, Math.PI/3.0,8,-1, 6, integralType);
 	}
 
 	/**
@@ -163,6 +207,26 @@ public class FactoryDescribeRegionPoint {
 		}
 	}
 
+	/**
+	 * <p>
+	 * Rotated BRIEF descriptor, as used by ORB.  Sample points are rotated and scaled to match the feature's
+	 * orientation and scale.  Intended to be used with
+	 * {@link boofcv.factory.feature.detect.interest.FactoryInterestPoint#orientedFast}.
+	 * </p>
+	 *
+	 * @see boofcv.alg.feature.describe.DescribePointBriefSO
+	 *
+	 * @param radius Region's radius.  ORB uses 15.
+	 * @param numPoints Number of feature/points.  ORB uses 256.
+	 * @param imageType Type of gray scale image it processes.
+	 * @return Rotated BRIEF descriptor
+	 */
+	public static <T extends ImageSingleBand>
+	DescribeRegionPoint<T,TupleDesc_B> orb( int radius , int numPoints , Class<T> imageType )
+	{
+		return brief(radius,numPoints,-1,2,false,imageType);
+	}
+
 	/**
 	 * Creates a region descriptor based on pixel intensity values alone.  A classic and fast to compute
 	 * descriptor, but much less stable than more modern ones.
@@ -67,6 +67,24 @@ public class FactoryFeatureExtractor {
 										  float threshold,
 										  int ignoreBorder,
 										  boolean useStrictRule) {
+		return nonmax(searchRadius,threshold,ignoreBorder,useStrictRule,false);
+	}
+
+	/**
+	 * Standard non-max feature extractor which can optionally search the image using multiple threads.
+	 *
+	 * @param searchRadius  Radius of the non-maximum region.
+	 * @param threshold     Minimum feature intensity it will consider
+	 * @param ignoreBorder  Size of border around the image in which pixels are not considered.
+	 * @param useStrictRule Is a strict test used to test for local maximums.
+	 * @param concurrent    Should the image be split into bands which are searched in parallel.
+	 * @return A feature extractor.
+	 */
+	public static FeatureExtractor nonmax(int searchRadius,
+										  float threshold,
+										  int ignoreBorder,
+										  boolean useStrictRule,
+										  boolean concurrent) {
 
 		NonMaxBlock ret;
 		if (useStrictRule) {
@@ -78,6 +96,7 @@ public class FactoryFeatureExtractor {
 		ret.setSearchRadius(searchRadius);
 		ret.setThreshold(threshold);
 		ret.setBorder(ignoreBorder);
+		ret.setConcurrent(concurrent);
 
 		return new WrapperNonMaximumBlock(ret);
 	}
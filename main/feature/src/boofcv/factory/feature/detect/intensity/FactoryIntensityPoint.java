@@ -21,6 +21,7 @@ package boofcv.factory.feature.detect.intensity;
 import boofcv.abst.feature.detect.intensity.*;
 import boofcv.abst.filter.blur.MedianImageFilter;
 import boofcv.alg.feature.detect.intensity.FastCornerIntensity;
+import boofcv.alg.feature.detect.intensity.FusedGradientCornerIntensity;
 import boofcv.alg.feature.detect.intensity.HarrisCornerIntensity;
 import boofcv.alg.feature.detect.intensity.HessianBlobIntensity;
 import boofcv.alg.feature.detect.intensity.ShiTomasiCornerIntensity;
@@ -88,6 +89,40 @@ public class FactoryIntensityPoint {
 		return new WrapperGradientCornerIntensity<I, D>(alg);
 	}
 
+	/**
+	 * Feature intensity for Harris corner detector which computes the image gradient internally.  The gradient
+	 * does not need to be provided.  See {@link FusedGradientCornerIntensity} for more details.
+	 *
+	 * @param windowRadius Size of the feature it is detects, Try 2.
+	 * @param kappa Tuning parameter, typically a small number around 0.04
+	 * @param imageType Type of input image.
+	 * @param <I> Input image type.
+	 * @param <D> Derivative type.
+	 * @return Harris feature intensity
+	 */
+	public static <I extends ImageSingleBand, D extends ImageSingleBand>
+	GeneralFeatureIntensity<I,D> harrisFused(int windowRadius, float kappa, Class<I> imageType)
+	{
+		FusedGradientCornerIntensity<I> alg = FactoryIntensityPointAlg.harrisFused(windowRadius, kappa, imageType);
+		return new WrapperFusedGradientCornerIntensity<I, D>(alg);
+	}
+
+	/**
+	 * Feature intensity for KLT corner detector which computes the image gradient internally.  The gradient
+	 * does not need to be provided.  See {@link FusedGradientCornerIntensity} for more details.
+	 *
+	 * @param windowRadius Size of the feature it detects, Try 2.
+	 * @param imageType Type of input image.
+	 * @param <I> Input image type.
+	 * @param <D> Derivative type.
+	 * @return KLT feature intensity
+	 */
+	public static <I extends ImageSingleBand, D extends ImageSingleBand>
+	GeneralFeatureIntensity<I,D> shiTomasiFused(int windowRadius, Class<I> imageType) {
+		FusedGradientCornerIntensity<I> alg = FactoryIntensityPointAlg.shiTomasiFused(windowRadius, imageType);
+		return new WrapperFusedGradientCornerIntensity<I, D>(alg);
+	}
+
 	/**
 	 * Feature intensity for Kitchen and Rosenfeld corner detector.  See {@link boofcv.alg.feature.detect.intensity.KitRosCornerIntensity} for more details.
 	 *
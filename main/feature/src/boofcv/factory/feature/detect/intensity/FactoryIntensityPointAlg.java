@@ -19,6 +19,7 @@
 package boofcv.factory.feature.detect.intensity;
 
 import boofcv.alg.feature.detect.intensity.FastCornerIntensity;
+import boofcv.alg.feature.detect.intensity.FusedGradientCornerIntensity;
 import boofcv.alg.feature.detect.intensity.HarrisCornerIntensity;
 import boofcv.alg.feature.detect.intensity.ShiTomasiCornerIntensity;
 import boofcv.alg.feature.detect.intensity.impl.*;
@@ -123,4 +124,45 @@ public class FactoryIntensityPointAlg {
 		} else
 			throw new IllegalArgumentException("Unknown image type "+derivType);
 	}
+
+	/**
+	 * Creates a Harris corner intensity which computes the image gradient internally, see
+	 * {@link FusedGradientCornerIntensity}.  Produces the same results as {@link #harris} applied to the
+	 * Sobel gradient, but is faster and requires less memory.
+	 *
+	 * @param windowRadius Size of the feature it is detects,Try 2.
+	 * @param kappa Tuning parameter, typically a small number around 0.04
+	 * @param imageType Type of input image.
+	 * @return Harris corner
+	 */
+	public static <T extends ImageSingleBand>
+	FusedGradientCornerIntensity<T> harrisFused(int windowRadius, float kappa, Class<T> imageType)
+	{
+		if( imageType == ImageFloat32.class )
+			return (FusedGradientCornerIntensity<T>)new ImplHarrisCornerFused_F32(windowRadius,kappa);
+		else if( imageType == ImageUInt8.class )
+			return (FusedGradientCornerIntensity<T>)new ImplHarrisCornerFused_U8(windowRadius,kappa);
+		else
+			throw new IllegalArgumentException("Unknown image type "+imageType);
+	}
+
+	/**
+	 * Creates a Shi-Tomasi corner intensity which computes the image gradient internally, see
+	 * {@link FusedGradientCornerIntensity}.  Produces the same results as {@link #shiTomasi} applied to the
+	 * Sobel gradient, but is faster and requires less memory.
+	 *
+	 * @param windowRadius Size of the feature it detects, Try 2.
+	 * @param imageType Type of input image.
+	 * @return KLT corner
+	 */
+	public static <T extends ImageSingleBand>
+	FusedGradientCornerIntensity<T> shiTomasiFused(int windowRadius, Class<T> imageType)
+	{
+		if( imageType == ImageFloat32.class )
+			return (FusedGradientCornerIntensity<T>)new ImplShiTomasiCornerFused_F32(windowRadius);
+		else if( imageType == ImageUInt8.class )
+			return (FusedGradientCornerIntensity<T>)new ImplShiTomasiCornerFused_U8(windowRadius);
+		else
+			throw new IllegalArgumentException("Unknown image type "+imageType);
+	}
 }
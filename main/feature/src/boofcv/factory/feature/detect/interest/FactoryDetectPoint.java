@@ -22,9 +22,11 @@ import boofcv.abst.feature.detect.extract.FeatureExtractor;
 import boofcv.abst.feature.detect.intensity.*;
 import boofcv.abst.feature.detect.interest.GeneralFeatureDetector;
 import boofcv.abst.filter.blur.MedianImageFilter;
+import boofcv.alg.feature.detect.extract.NonMaxCandidateSparse;
 import boofcv.alg.feature.detect.intensity.FastCornerIntensity;
 import boofcv.alg.feature.detect.intensity.GradientCornerIntensity;
 import boofcv.alg.feature.detect.intensity.HessianBlobIntensity;
+import boofcv.alg.feature.detect.interest.FastCornerDetector;
 import boofcv.factory.feature.detect.extract.FactoryFeatureExtractor;
 import boofcv.factory.feature.detect.intensity.FactoryIntensityPoint;
 import boofcv.factory.feature.detect.intensity.FactoryIntensityPointAlg;
@@ -81,6 +83,40 @@ public class FactoryDetectPoint {
 		return createGeneral(cornerIntensity, extractRadius, detectThreshold, maxFeatures);
 	}
 
+	/**
+	 * Detects Harris corners.  The image gradient is computed internally in the same pass as the corner
+	 * intensity, which is faster than {@link #createHarris} and the gradient does not need to be provided.
+	 *
+	 * @param extractRadius   Radius of non-maximum suppression region. Try 1 or 2.
+	 * @param detectThreshold Minimum feature intensity.  Image dependent.  Start tuning at 0 or 1.
+	 * @param maxFeatures     The maximum number of detected features it will return.  Try 300
+	 * @param imageType       Type of input image.
+	 * @see boofcv.alg.feature.detect.intensity.FusedGradientCornerIntensity
+	 */
+	public static <T extends ImageSingleBand, D extends ImageSingleBand>
+	GeneralFeatureDetector<T, D> createHarrisFused(int extractRadius, float detectThreshold,
+												   int maxFeatures, Class<T> imageType) {
+		GeneralFeatureIntensity<T, D> intensity = FactoryIntensityPoint.harrisFused(extractRadius, 0.04f, imageType);
+		return createGeneral(intensity, extractRadius, detectThreshold, maxFeatures);
+	}
+
+	/**
+	 * Detects Shi-Tomasi corners.  The image gradient is computed internally in the same pass as the corner
+	 * intensity, which is faster than {@link #createShiTomasi} and the gradient does not need to be provided.
+	 *
+	 * @param extractRadius   Radius of non-maximum suppression region. Try 1 or 2.
+	 * @param detectThreshold Minimum feature intensity.  Image dependent.  Start tuning at 0 or 1.
+	 * @param maxFeatures     The maximum number of detected features it will return.  Try 300
+	 * @param imageType       Type of input image.
+	 * @see boofcv.alg.feature.detect.intensity.FusedGradientCornerIntensity
+	 */
+	public static <T extends ImageSingleBand, D extends ImageSingleBand>
+	GeneralFeatureDetector<T, D> createShiTomasiFused(int extractRadius, float detectThreshold,
+													  int maxFeatures, Class<T> imageType) {
+		GeneralFeatureIntensity<T, D> intensity = FactoryIntensityPoint.shiTomasiFused(extractRadius, imageType);
+		return createGeneral(intensity, extractRadius, detectThreshold, maxFeatures);
+	}
+
 	/**
 	 * Detects Kitchen and Rosenfeld corners.
 	 *
@@ -114,6 +150,26 @@ public class FactoryDetectPoint {
 		return createGeneral(intensity, extractRadius, detectThreshold, maxFeatures);
 	}
 
+	/**
+	 * Creates a Fast corner detector which does not compute an intensity image.  Corners are found directly and
+	 * then non-maximum suppression is only applied to the corners.  Much faster than {@link #createFast} when
+	 * there are few corners relative to the number of pixels.
+	 *
+	 * @param extractRadius   Radius of non-maximum suppression region. Try 1 or 2.
+	 * @param detectThreshold How different pixels need to be to be considered part of a corner. Image dependent.
+	 * @param minContinuous   Minimum number of continuous pixels in a corner. 9 to 12.
+	 * @param maxFeatures     The maximum number of detected features it will return.  If <= 0 then all are returned.
+	 * @param imageType       Type of input image.
+	 * @see FastCornerDetector
+	 */
+	public static <T extends ImageSingleBand>
+	FastCornerDetector<T> createFastSparse(int extractRadius, int detectThreshold, int minContinuous,
+										   int maxFeatures, Class<T> imageType) {
+		FastCornerIntensity<T> alg = FactoryIntensityPointAlg.fast(detectThreshold, minContinuous, imageType);
+		NonMaxCandidateSparse nonmax = new NonMaxCandidateSparse(extractRadius, detectThreshold, true);
+		return new FastCornerDetector<T>(alg, nonmax, maxFeatures);
+	}
+
 	/**
 	 * Creates a median filter corner detector.
 	 *
@@ -20,17 +20,26 @@ package boofcv.factory.feature.detect.interest;
 
 import boofcv.abst.feature.detect.extract.FeatureExtractor;
 import boofcv.abst.feature.detect.interest.*;
+import boofcv.abst.filter.derivative.DerivedImageCache;
 import boofcv.abst.filter.derivative.ImageGradient;
 import boofcv.abst.filter.derivative.ImageHessian;
+import boofcv.alg.feature.detect.intensity.FastCornerIntensity;
+import boofcv.alg.feature.detect.intensity.GradientCornerIntensity;
 import boofcv.alg.feature.detect.interest.*;
+import boofcv.alg.feature.orientation.OrientationImage;
 import boofcv.alg.transform.gss.ScaleSpacePyramid;
 import boofcv.core.image.ImageGenerator;
 import boofcv.core.image.inst.FactoryImageGenerator;
 import boofcv.factory.feature.detect.extract.FactoryFeatureExtractor;
+import boofcv.factory.feature.detect.intensity.FactoryIntensityPointAlg;
+import boofcv.factory.feature.orientation.FactoryOrientationAlgs;
 import boofcv.factory.filter.derivative.FactoryDerivative;
 import boofcv.factory.transform.gss.FactoryGaussianScaleSpace;
+import boofcv.factory.transform.pyramid.FactoryPyramid;
 import boofcv.struct.gss.GaussianScaleSpace;
 import boofcv.struct.image.ImageSingleBand;
+import boofcv.struct.pyramid.PyramidDiscrete;
+import boofcv.struct.pyramid.PyramidUpdaterDiscrete;
 
 /**
  * Factory for creating interest point detectors which conform to the {@link InterestPointDetector}
@@ -73,6 +82,21 @@ public class FactoryInterestPoint {
 		return new WrapCornerToInterestPoint<T, D>(feature, gradient, hessian, derivativeGenerator);
 	}
 
+	/**
+	 * Wraps {@link GeneralFeatureDetector} inside an {@link InterestPointDetector}.  Image derivatives are taken
+	 * from the cache, which allows them to be shared with other algorithms processing the same frame.
+	 *
+	 * @param feature Feature detector.
+	 * @param cache   Provides the image derivatives.
+	 * @return The interest point detector.
+	 */
+	public static <T extends ImageSingleBand, D extends ImageSingleBand>
+	WrapCornerToInterestPoint<T, D> wrapPoint(GeneralFeatureDetector<T, D> feature, DerivedImageCache<T, D> cache) {
+		WrapCornerToInterestPoint<T, D> ret = new WrapCornerToInterestPoint<T, D>(feature, null, null, null);
+		ret.setCache(cache);
+		return ret;
+	}
+
 	/**
 	 * Wraps {@link FeatureLaplaceScaleSpace} inside an {@link InterestPointDetector}.
 	 *
@@ -86,7 +110,7 @@ public class FactoryInterestPoint {
 										  double[] scales,
 										  Class<T> inputType) {
 
-		GaussianScaleSpace<T, D> ss = FactoryGaussianScaleSpace.nocache(inputType);
+		GaussianScaleSpace<T, D> ss = FactoryGaussianScaleSpace.incremental(inputType,false);
 		ss.setScales(scales);
 
 		return new WrapFLSStoInterestPoint<T, D>(feature, ss);
@@ -123,7 +147,7 @@ public class FactoryInterestPoint {
 										  double[] scales,
 										  Class<T> inputType) {
 
-		GaussianScaleSpace<T, D> ss = FactoryGaussianScaleSpace.nocache(inputType);
+		GaussianScaleSpace<T, D> ss = FactoryGaussianScaleSpace.incremental(inputType,false);
 		ss.setScales(scales);
 
 		return new WrapFSStoInterestPoint<T, D>(feature, ss);
@@ -174,4 +198,42 @@ public class FactoryInterestPoint {
 		return new WrapFHtoInterestPoint(feature);
 	}
 
+	/**
+	 * Creates an oriented FAST detector, as used by ORB, which is wrapped inside an {@link InterestPointDetector}.
+	 * Features are detected in each layer of a pyramid, ranked using Harris corner intensity, and their orientation
+	 * is found using the intensity centroid.
+	 *
+	 * @see OrientedFastPyramid
+	 *
+	 * @param pixelTol How different pixels need to be to be considered part of a corner. Image dependent.  Try 20.
+	 * @param minContinuous Minimum number of continuous pixels in a FAST corner. 9 to 12.  ORB uses 9.
+	 * @param maxFeaturesPerLayer Maximum number of features in each layer.  If <= 0 then all are returned.
+	 * @param numLayers Number of layers in the pyramid.  Each layer is half the size of the previous.
+	 * @param radius Radius of the region used to estimate orientation.  ORB uses 15.
+	 * @param imageType Type of input image.
+	 * @param derivType Type of image derivative.
+	 * @return The interest point detector.
+	 */
+	public static <T extends ImageSingleBand, D extends ImageSingleBand>
+	InterestPointDetector<T> orientedFast(int pixelTol, int minContinuous,
+										  int maxFeaturesPerLayer, int numLayers, int radius,
+										  Class<T> imageType, Class<D> derivType) {
+		FastCornerIntensity<T> fast = FactoryIntensityPointAlg.fast(pixelTol, minContinuous, imageType);
+		FeatureExtractor extractor = FactoryFeatureExtractor.nonmaxCandidate(2, 1, fast.getIgnoreBorder(), true);
+		ImageGradient<T, D> gradient = FactoryDerivative.sobel(imageType, derivType);
+		GradientCornerIntensity<D> harris = FactoryIntensityPointAlg.harris(3, 0.04f, false, derivType);
+		OrientationImage<T> orientation = FactoryOrientationAlgs.centroid(radius, imageType);
+
+		OrientedFastPyramid<T, D> alg = new OrientedFastPyramid<T, D>(fast, extractor, gradient, harris,
+				orientation, maxFeaturesPerLayer, derivType);
+
+		int scales[] = new int[numLayers];
+		for (int i = 0; i < numLayers; i++)
+			scales[i] = 1 << i;
+
+		PyramidUpdaterDiscrete<T> updater = FactoryPyramid.discreteGaussian(imageType, -1, 2);
+		PyramidDiscrete<T> pyramid = new PyramidDiscrete<T>(imageType, true, scales);
+
+		return new WrapOFPtoInterestPoint<T, D>(alg, updater, pyramid, radius);
+	}
 }
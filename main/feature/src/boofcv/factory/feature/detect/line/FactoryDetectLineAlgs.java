@@ -180,4 +180,45 @@ public class FactoryDetectLineAlgs {
 		return new DetectLineHoughPolar<I,D>(localMaxRadius,minCounts,resolutionRange,resolutionAngle,thresholdEdge,maxLines,gradient);
 	}
 
+	/**
+	 * Creates a Hough line detector based on polar parametrization, where each edge pixel only votes for
+	 * lines whose angle is close to the direction of its gradient.  Faster and less prone to false positives
+	 * than {@link #houghPolar}.  Voting is split across threads.
+	 *
+	 * @see DetectLineHoughPolar
+	 * @see boofcv.alg.feature.detect.line.HoughTransformLinePolarGradient
+	 *
+	 * @param localMaxRadius Radius for local maximum suppression.  Try 2.
+	 * @param minCounts Minimum number of counts for detected line.  Critical tuning parameter and image dependent.
+	 * @param resolutionRange Resolution of line range in pixels.  Try 2
+	 * @param resolutionAngle Resolution of line angle in radius.  Try PI/180
+	 * @param angleTolerance Maximum difference between a line's angle and the gradient's direction, in radians.
+	 *                       Try PI/36
+	 * @param thresholdEdge Edge detection threshold. Try 50.
+	 * @param maxLines Maximum number of lines to return. If <= 0 it will return them all.
+	 * @param imageType Type of single band input image.
+	 * @param derivType Image derivative type.
+	 * @param <I> Input image type.
+	 * @param <D> Image derivative type.
+	 * @return Line detector.
+	 */
+	public static <I extends ImageSingleBand, D extends ImageSingleBand>
+	DetectLineHoughPolar<I,D> houghPolarGradient(int localMaxRadius,
+												 int minCounts,
+												 double resolutionRange ,
+												 double resolutionAngle ,
+												 double angleTolerance ,
+												 float thresholdEdge,
+												 int maxLines ,
+												 Class<I> imageType ,
+												 Class<D> derivType ) {
+
+		ImageGradient<I,D> gradient = FactoryDerivative.sobel(imageType,derivType);
+
+		int angleWindow = (int)Math.ceil(angleTolerance/resolutionAngle);
+
+		return new DetectLineHoughPolar<I,D>(localMaxRadius,minCounts,resolutionRange,resolutionAngle,angleWindow,
+				thresholdEdge,maxLines,gradient);
+	}
+
 }
@@ -19,9 +19,11 @@
 package boofcv.factory.feature.detect.template;
 
 import boofcv.alg.feature.detect.template.TemplateDiffSquared;
+import boofcv.alg.feature.detect.template.TemplateDiffSquaredFourier;
 import boofcv.alg.feature.detect.template.TemplateMatching;
 import boofcv.alg.feature.detect.template.TemplateMatchingIntensity;
 import boofcv.alg.feature.detect.template.TemplateNCC;
+import boofcv.alg.feature.detect.template.TemplateNCCFourier;
 import boofcv.struct.image.ImageFloat32;
 import boofcv.struct.image.ImageSingleBand;
 import boofcv.struct.image.ImageUInt8;
@@ -66,6 +68,32 @@ public class FactoryTemplateMatching {
 		throw new IllegalArgumentException("Type not found: " + type);
 	}
 
+	/**
+	 * Creates {@link TemplateMatchingIntensity} of the specified type which computes the intensity in the
+	 * frequency domain.  Produces the same results as {@link #createIntensity} but is much faster for
+	 * large templates.
+	 *
+	 * @see boofcv.alg.feature.detect.template.BaseTemplateFourier
+	 *
+	 * @param type      Type of error function
+	 * @param imageType Image type being processed
+	 * @return {@link TemplateMatchingIntensity} of the specified type.
+	 */
+	public static <T extends ImageSingleBand>
+	TemplateMatchingIntensity<T> createIntensityFourier(TemplateScoreType type, Class<T> imageType) {
+		if( imageType != ImageUInt8.class && imageType != ImageFloat32.class )
+			throw new IllegalArgumentException("Image type not supported. " + imageType.getSimpleName());
+
+		switch (type) {
+			case SUM_DIFF_SQ:
+				return new TemplateDiffSquaredFourier<T>();
+
+			case NCC:
+				return new TemplateNCCFourier<T>();
+		}
+		throw new IllegalArgumentException("Type not found: " + type);
+	}
+
 	/**
 	 * Creates an instance of {@link TemplateMatching} for the specified score type.
 	 *
@@ -79,4 +107,19 @@ public class FactoryTemplateMatching {
 
 		return new TemplateMatching<T>(intensity);
 	}
+
+	/**
+	 * Creates an instance of {@link TemplateMatching} for the specified score type which computes the
+	 * intensity in the frequency domain.
+	 *
+	 * @param type      Type of error function
+	 * @param imageType Image type being processed
+	 * @return {@link TemplateMatching} of the specified type.
+	 */
+	public static <T extends ImageSingleBand>
+	TemplateMatching<T> createMatcherFourier(TemplateScoreType type, Class<T> imageType) {
+		TemplateMatchingIntensity<T> intensity = createIntensityFourier(type, imageType);
+
+		return new TemplateMatching<T>(intensity);
+	}
 }
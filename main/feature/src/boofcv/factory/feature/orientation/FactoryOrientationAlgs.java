@@ -18,6 +18,7 @@
 
 package boofcv.factory.feature.orientation;
 
+import boofcv.abst.filter.derivative.DerivedImageCache;
 import boofcv.alg.feature.orientation.*;
 import boofcv.alg.feature.orientation.impl.*;
 import boofcv.struct.image.*;
@@ -68,6 +69,31 @@ public class FactoryOrientationAlgs {
 		return ret;
 	}
 
+	/**
+	 * Estimates the orientation from the intensity centroid of a circular region.  Used by ORB.
+	 *
+	 * @see ImplOrientationImageCentroid_U8
+	 *
+	 * @param radius Radius of the circular region at a scale of one.  ORB uses 15.
+	 * @param imageType Type of image being processed.
+	 * @return OrientationImageAverage
+	 */
+	public static <T extends ImageSingleBand>
+	OrientationImageAverage<T> centroid( int radius , Class<T> imageType )
+	{
+		OrientationImageAverage<T> ret;
+
+		if( imageType == ImageFloat32.class ) {
+			ret = (OrientationImageAverage<T>)new ImplOrientationImageCentroid_F32(radius);
+		} else if( imageType == ImageUInt8.class ) {
+			ret = (OrientationImageAverage<T>)new ImplOrientationImageCentroid_U8(radius);
+		} else {
+			throw new IllegalArgumentException("Unknown image type.");
+		}
+
+		return ret;
+	}
+
 	public static <T extends ImageSingleBand>
 	OrientationAverage<T> average( int radius , boolean weighted , Class<T> derivType )
 	{
@@ -161,4 +187,43 @@ public class FactoryOrientationAlgs {
 				new ImplOrientationSlidingWindowIntegral(samplePeriod,
 						windowSize,radius,weightSigma, sampleWidth,imageType);
 	}
+
+	/**
+	 * Converts an orientation algorithm which processes the image gradient into one which processes the
+	 * input image.  The gradient is taken from the cache, which allows it to be shared with other algorithms
+	 * processing the same frame.
+	 *
+	 * @see OrientationGradientToImage
+	 *
+	 * @param alg Orientation algorithm which processes the gradient.
+	 * @param cache Cache which provides the gradient.
+	 * @return OrientationImage
+	 */
+	public static <T extends ImageSingleBand, D extends ImageSingleBand>
+	OrientationGradientToImage<T,D> gradientToImage( OrientationGradient<D> alg , DerivedImageCache<T,D> cache )
+	{
+		OrientationGradientToImage<T,D> ret = new OrientationGradientToImage<T,D>(alg,cache.getGradient(),
+				cache.getInputType(),cache.getDerivType());
+		ret.setCache(cache);
+		return ret;
+	}
+
+	/**
+	 * Converts an orientation algorithm which processes an integral image into one which processes the
+	 * input image.  The integral image is taken from the cache, which allows it to be shared with other
+	 * algorithms processing the same frame.
+	 *
+	 * @see OrientationIntegralToImage
+	 *
+	 * @param alg Orientation algorithm which processes the integral image.
+	 * @param cache Cache which provides the integral image.
+	 * @return OrientationImage
+	 */
+	public static <T extends ImageSingleBand, II extends ImageSingleBand>
+	OrientationIntegralToImage<T,II> integralToImage( OrientationIntegral<II> alg , DerivedImageCache<T,?> cache )
+	{
+		OrientationIntegralToImage<T,II> ret = new OrientationIntegralToImage<T,II>(alg,cache.getInputType());
+		ret.setCache(cache);
+		return ret;
+	}
 }
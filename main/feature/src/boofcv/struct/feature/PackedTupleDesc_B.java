@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.struct.feature;
+
+/**
+ * <p>
+ * Binary description of an image feature whose bits are stored inside of a larger array of ints, along with the
+ * bits of other features.  The feature's ints start at {@link #offset}.  Typically created by
+ * {@link PackedTupleQueue_B}, which stores all of its features in a single contiguous block.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class PackedTupleDesc_B implements TupleDesc<PackedTupleDesc_B> {
+	// array which contains the bits
+	public int data[];
+	// index of the first int
+	public int offset;
+	// number of bits
+	public int numBits;
+	// number of ints the bits are stored in
+	public int numInts;
+
+	/**
+	 * Creates a stand alone description with its own array.
+	 *
+	 * @param numBits Number of bits.
+	 */
+	public PackedTupleDesc_B( int numBits ) {
+		this.numBits = numBits;
+		this.numInts = numInts(numBits);
+		this.data = new int[ numInts ];
+	}
+
+	/**
+	 * Creates a description which references bits inside an array.
+	 */
+	public PackedTupleDesc_B( int[] data , int offset , int numBits ) {
+		this.data = data;
+		this.offset = offset;
+		this.numBits = numBits;
+		this.numInts = numInts(numBits);
+	}
+
+	/**
+	 * Number of ints needed to store the specified number of bits.
+	 */
+	public static int numInts( int numBits ) {
+		return numBits/32 + (numBits % 32 != 0 ? 1 : 0);
+	}
+
+	public boolean isBitTrue( int bit ) {
+		int index = offset + bit/32;
+		return ((data[index] >> (bit%32)) & 0x01) == 1;
+	}
+
+	public void set( TupleDesc_B src ) {
+		System.arraycopy(src.data,0,data,offset,numInts);
+	}
+
+	/**
+	 * Copies the bits into a {@link TupleDesc_B}.
+	 */
+	public void get( TupleDesc_B dst ) {
+		System.arraycopy(data,offset,dst.data,0,numInts);
+	}
+
+	@Override
+	public void setTo(PackedTupleDesc_B source) {
+		System.arraycopy(source.data,source.offset,data,offset,numInts);
+	}
+
+	@Override
+	public double getDouble(int index) {
+		if( isBitTrue(index) )
+			return 1;
+		else
+			return -1;
+	}
+
+	@Override
+	public int size() {
+		return numBits;
+	}
+
+	/**
+	 * Creates a stand alone copy which does not reference the original array.
+	 */
+	@Override
+	public PackedTupleDesc_B copy() {
+		PackedTupleDesc_B ret = new PackedTupleDesc_B(numBits);
+		System.arraycopy(data,offset,ret.data,0,numInts);
+		return ret;
+	}
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.struct.feature;
+
+/**
+ * <p>
+ * Description of an image feature whose values are stored inside of a larger array, along with the values of
+ * other features.  The feature's values start at {@link #offset} and there are {@link #dof} of them.  Typically
+ * created by {@link PackedTupleQueue_F64}, which stores all of its features in a single contiguous block.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class PackedTupleDesc_F64 implements TupleDesc<PackedTupleDesc_F64> {
+	// array which contains the values
+	public double data[];
+	// index of the first value
+	public int offset;
+	// number of values
+	public int dof;
+
+	/**
+	 * Creates a stand alone description with its own array.
+	 *
+	 * @param dof Number of values.
+	 */
+	public PackedTupleDesc_F64( int dof ) {
+		this.dof = dof;
+		this.data = new double[ dof ];
+	}
+
+	/**
+	 * Creates a description which references values inside an array.
+	 */
+	public PackedTupleDesc_F64( double[] data , int offset , int dof ) {
+		this.data = data;
+		this.offset = offset;
+		this.dof = dof;
+	}
+
+	public void set( double ...value ) {
+		System.arraycopy(value,0,data,offset,dof);
+	}
+
+	public void set( TupleDesc_F64 src ) {
+		System.arraycopy(src.value,0,data,offset,dof);
+	}
+
+	/**
+	 * Copies the values into a {@link TupleDesc_F64}.
+	 */
+	public void get( TupleDesc_F64 dst ) {
+		System.arraycopy(data,offset,dst.value,0,dof);
+	}
+
+	public double get( int index ) {
+		return data[offset+index];
+	}
+
+	@Override
+	public void setTo(PackedTupleDesc_F64 source) {
+		System.arraycopy(source.data,source.offset,data,offset,dof);
+	}
+
+	@Override
+	public double getDouble(int index) {
+		return data[offset+index];
+	}
+
+	@Override
+	public int size() {
+		return dof;
+	}
+
+	/**
+	 * Creates a stand alone copy which does not reference the original array.
+	 */
+	@Override
+	public PackedTupleDesc_F64 copy() {
+		PackedTupleDesc_F64 ret = new PackedTupleDesc_F64(dof);
+		System.arraycopy(data,offset,ret.data,0,dof);
+		return ret;
+	}
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.struct.feature;
+
+import boofcv.struct.FastQueue;
+
+/**
+ * <p>
+ * {@link FastQueue} for {@link PackedTupleDesc_B} where the bits of every feature are stored in a single
+ * contiguous array of ints, {@link #block}, one feature after another.  See {@link PackedTupleQueue_F64}
+ * for more details.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class PackedTupleQueue_B extends FastQueue<PackedTupleDesc_B> {
+
+	// number of bits in each feature
+	int numBits;
+	// number of ints in each feature
+	int numInts;
+
+	// bits of all the features
+	public int block[] = new int[0];
+
+	public PackedTupleQueue_B( int numBits ) {
+		super(PackedTupleDesc_B.class,true);
+		this.numBits = numBits;
+		this.numInts = PackedTupleDesc_B.numInts(numBits);
+		growArray(10);
+	}
+
+	@Override
+	public void growArray(int length) {
+		super.growArray(length);
+
+		int[] block = new int[ length*numInts ];
+		System.arraycopy(this.block,0,block,0,this.block.length);
+		this.block = block;
+
+		for( int i = 0; i < data.length; i++ ) {
+			data[i].data = block;
+			data[i].offset = i*numInts;
+		}
+	}
+
+	/**
+	 * Copies the values of the feature into the next element in the queue.  The passed in object is not
+	 * saved since it does not reference the block.
+	 */
+	@Override
+	public void add(PackedTupleDesc_B object) {
+		pop().setTo(object);
+	}
+
+	@Override
+	protected PackedTupleDesc_B createInstance() {
+		// the block is assigned after all the instances have been created
+		return new PackedTupleDesc_B(null,0,numBits);
+	}
+
+	/**
+	 * Index in {@link #block} of the first int in the specified feature.
+	 */
+	public int getOffset( int index ) {
+		return index*numInts;
+	}
+
+	public int getNumBits() {
+		return numBits;
+	}
+
+	public int getNumInts() {
+		return numInts;
+	}
+}
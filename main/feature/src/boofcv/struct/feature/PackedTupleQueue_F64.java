@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.struct.feature;
+
+import boofcv.struct.FastQueue;
+
+/**
+ * <p>
+ * {@link FastQueue} for {@link PackedTupleDesc_F64} where the values of every feature are stored in a single
+ * contiguous array, {@link #block}, one feature after another.  Only one small object is declared for each feature
+ * and features are adjacent in memory, which reduces garbage collection and improves cache performance when
+ * computing distances between features.  Elements in the queue can be passed directly into association
+ * algorithms or their values accessed with the kernels in {@link boofcv.alg.feature.associate.DescriptorDistance}.
+ * </p>
+ *
+ * <p>
+ * NOTE: When the queue grows a new block is declared.  Elements in the queue are updated to reference the new block,
+ * but references to the old block held elsewhere are not.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class PackedTupleQueue_F64 extends FastQueue<PackedTupleDesc_F64> {
+
+	// number of values in each feature
+	int dof;
+
+	// values of all the features
+	public double block[] = new double[0];
+
+	public PackedTupleQueue_F64( int dof ) {
+		super(PackedTupleDesc_F64.class,true);
+		this.dof = dof;
+		growArray(10);
+	}
+
+	@Override
+	public void growArray(int length) {
+		super.growArray(length);
+
+		double[] block = new double[ length*dof ];
+		System.arraycopy(this.block,0,block,0,this.block.length);
+		this.block = block;
+
+		for( int i = 0; i < data.length; i++ ) {
+			data[i].data = block;
+			data[i].offset = i*dof;
+		}
+	}
+
+	/**
+	 * Copies the values of the feature into the next element in the queue.  The passed in object is not
+	 * saved since it does not reference the block.
+	 */
+	@Override
+	public void add(PackedTupleDesc_F64 object) {
+		pop().setTo(object);
+	}
+
+	@Override
+	protected PackedTupleDesc_F64 createInstance() {
+		// the block is assigned after all the instances have been created
+		return new PackedTupleDesc_F64(null,0,dof);
+	}
+
+	/**
+	 * Index in {@link #block} of the first value in the specified feature.
+	 */
+	public int getOffset( int index ) {
+		return index*dof;
+	}
+
+	public int getDof() {
+		return dof;
+	}
+}
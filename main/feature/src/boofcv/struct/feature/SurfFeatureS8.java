@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.struct.feature;
+
+/**
+ * <p>
+ * Quantized description of a SURF interest point.  Each element in the original description is approximated by
+ * value[i]*{@link #scale}, where value[i] is a signed byte.  Memory is reduced by a factor of eight and distances
+ * between descriptions can be computed using integer arithmetic.  See
+ * {@link boofcv.alg.feature.describe.QuantizeDescriptor}.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class SurfFeatureS8 extends TupleDesc_S8 {
+	// is the feature light or dark. Can be used to improve lookup performance.
+	public boolean laplacianPositive;
+	// multiply the quantized value by scale to get the original value
+	public double scale;
+
+	public SurfFeatureS8( int numFeatures ) {
+		super(numFeatures);
+	}
+
+	protected SurfFeatureS8() {
+	}
+
+	public void setTo( SurfFeatureS8 source ) {
+		this.laplacianPositive = source.laplacianPositive;
+		this.scale = source.scale;
+		System.arraycopy(source.value,0,value,0,value.length);
+	}
+
+	@Override
+	public double getDouble(int index) {
+		return value[index]*scale;
+	}
+
+	@Override
+	public SurfFeatureS8 copy() {
+		SurfFeatureS8 ret = new SurfFeatureS8( value.length );
+		ret.laplacianPositive = laplacianPositive;
+		ret.scale = scale;
+		System.arraycopy(value,0,ret.value,0,value.length);
+		return ret;
+	}
+
+}
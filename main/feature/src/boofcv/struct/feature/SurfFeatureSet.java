@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.struct.feature;
+
+/**
+ * <p>
+ * Stores a set of SURF descriptions as a struct of arrays.  Descriptor values are stored in the contiguous
+ * block of a {@link PackedTupleQueue_F64} and the sign of each Laplacian is stored in a separate array.  Compared
+ * to a list of {@link SurfFeature} this requires far fewer objects and the descriptions are contiguous in memory.
+ * Elements in the queue are {@link PackedTupleDesc_F64} and can be passed directly into association algorithms.
+ * </p>
+ *
+ * <p>
+ * The values of description 'i' start at index {@link #getOffset getOffset(i)} in {@link #block}.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class SurfFeatureSet extends PackedTupleQueue_F64 {
+
+	// is the feature light or dark.  Declared in growArray(), which is called by the super constructor
+	public boolean laplacianPositive[];
+
+	/**
+	 * Declares storage for descriptions with the specified degree of freedom.
+	 *
+	 * @param dof Number of elements in a description.
+	 * @param initialCapacity Number of descriptions which can be stored before arrays need to grow.
+	 */
+	public SurfFeatureSet( int dof , int initialCapacity ) {
+		super(dof);
+		if( initialCapacity > data.length )
+			growArray(initialCapacity);
+	}
+
+	@Override
+	public void growArray(int length) {
+		super.growArray(length);
+
+		boolean[] laplacianPositive = new boolean[ length ];
+		if( this.laplacianPositive != null )
+			System.arraycopy(this.laplacianPositive,0,laplacianPositive,0,this.laplacianPositive.length);
+		this.laplacianPositive = laplacianPositive;
+	}
+
+	/**
+	 * Changes the number of descriptions.  The arrays grow if needed.
+	 *
+	 * @param size Number of descriptions.
+	 */
+	public void resize( int size ) {
+		if( data.length < size )
+			growArray(size);
+		this.size = size;
+	}
+
+	/**
+	 * Copies a description into this set.
+	 *
+	 * @param index Index of the description being written to.
+	 * @param src Description being copied.
+	 */
+	public void set( int index , SurfFeature src ) {
+		System.arraycopy(src.value,0,block,index*dof,dof);
+		laplacianPositive[index] = src.laplacianPositive;
+	}
+
+	/**
+	 * Copies a description into a {@link SurfFeature}.
+	 *
+	 * @param index Index of the description being read.
+	 * @param dst Storage for the description.  If null a new instance is declared.
+	 * @return The description.
+	 */
+	public SurfFeature get( int index , SurfFeature dst ) {
+		if( dst == null )
+			dst = new SurfFeature(dof);
+		System.arraycopy(block,index*dof,dst.value,0,dof);
+		dst.laplacianPositive = laplacianPositive[index];
+		return dst;
+	}
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.abst.feature.associate;
+
+import boofcv.struct.feature.SurfFeatureS8;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestScoreAssociateEuclideanSq_SurfS8 {
+
+	@Test
+	public void compareToExpected() {
+		ScoreAssociateEuclideanSq_SurfS8 scorer = new ScoreAssociateEuclideanSq_SurfS8();
+
+		SurfFeatureS8 a = new SurfFeatureS8(5);
+		SurfFeatureS8 b = new SurfFeatureS8(5);
+
+		a.value=new byte[]{1,2,3,4,5};
+		b.value=new byte[]{4,-2,14,-16,20};
+		a.scale = 1;
+		b.scale = 0.5;
+
+		assertEquals(195,scorer.score(a,b),1e-2);
+	}
+
+	@Test
+	public void checkZeroMinimum() {
+		ScoreAssociateEuclideanSq_SurfS8 scorer = new ScoreAssociateEuclideanSq_SurfS8();
+		assertTrue(scorer.isZeroMinimum());
+	}
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.abst.feature.describe;
+
+import boofcv.alg.misc.ImageTestingOps;
+import boofcv.factory.feature.describe.FactoryDescribeRegionPoint;
+import boofcv.misc.BoofConcurrency;
+import boofcv.struct.feature.SurfFeature;
+import boofcv.struct.feature.SurfFeatureSet;
+import boofcv.struct.image.ImageFloat32;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestWrapDescribeSurf {
+
+	Random rand = new Random(234);
+	int width = 80;
+	int height = 90;
+	int N = 40;
+
+	/**
+	 * Describing a batch of points should produce the same results as describing them one at a time
+	 */
+	@Test
+	public void process_batch() {
+		int originalThreads = BoofConcurrency.getMaxThreads();
+		try {
+			BoofConcurrency.setMaxThreads(3);
+			checkBatch(true);
+			checkBatch(false);
+		} finally {
+			BoofConcurrency.setMaxThreads(originalThreads);
+		}
+	}
+
+	private void checkBatch( boolean isOriented ) {
+		WrapDescribeSurf<ImageFloat32,ImageFloat32> alg =
+				FactoryDescribeRegionPoint.surf(isOriented, ImageFloat32.class);
+		assertEquals(3,alg.getBatch().getNumThreads());
+
+		ImageFloat32 image = new ImageFloat32(width,height);
+		ImageTestingOps.randomize(image,rand,0,100);
+		alg.setImage(image);
+
+		double x[] = new double[N];
+		double y[] = new double[N];
+		double scale[] = new double[N];
+		double angle[] = new double[N];
+		for( int i = 0; i < N; i++ ) {
+			x[i] = rand.nextDouble()*width;
+			y[i] = rand.nextDouble()*height;
+			scale[i] = 0.5 + rand.nextDouble()*2;
+			angle[i] = (rand.nextDouble()-0.5)*Math.PI;
+		}
+
+		double foundAngle[] = angle.clone();
+		SurfFeatureSet found = new SurfFeatureSet(alg.getDescriptionLength(),5);
+		alg.process(x,y,scale,foundAngle,N,found);
+		assertEquals(N,found.size());
+
+		SurfFeature stored = null;
+		for( int i = 0; i < N; i++ ) {
+			SurfFeature expected = alg.process(x[i],y[i],angle[i],scale[i],null);
+			stored = found.get(i,stored);
+
+			assertEquals(expected.laplacianPositive,stored.laplacianPositive);
+			for( int j = 0; j < expected.value.length; j++ ) {
+				assertEquals(expected.value[j],stored.value[j],1e-8);
+			}
+		}
+	}
+}
@@ -77,6 +77,56 @@ public class TestGeneralFeatureDetector {
 		assertEquals(7, detector.getFeatures().size());
 	}
 
+	/**
+	 * Bucketed selection should spread the features across the image
+	 */
+	@Test
+	public void testBuckets() {
+		HelperIntensity intensity = new HelperIntensity(false, false, false);
+
+		// three features in the top left and one in the bottom right
+		intensity.img.set(1, 1, 10);
+		intensity.img.set(3, 1, 11);
+		intensity.img.set(1, 3, 12);
+		intensity.img.set(7, 9, 1);
+
+		FeatureExtractor extractor = FactoryFeatureExtractor.nonmax(1, 0.001f, 0, true);
+
+		GeneralFeatureDetector<ImageFloat32, ImageFloat32> detector =
+				new GeneralFeatureDetector<ImageFloat32, ImageFloat32>(intensity, extractor);
+
+		// a global limit would ignore the bottom right feature
+		detector.setMaxFeatures(2);
+		detector.setBuckets(2, 2, 1, false);
+		detector.process(new ImageFloat32(width, height), null, null, null, null, null);
+
+		QueueCorner found = detector.getFeatures();
+		assertEquals(2, found.size());
+		boolean foundBest = false, foundBottom = false;
+		for (int i = 0; i < found.size(); i++) {
+			if (found.get(i).x == 1 && found.get(i).y == 3)
+				foundBest = true;
+			else if (found.get(i).x == 7 && found.get(i).y == 9)
+				foundBottom = true;
+		}
+		assertTrue(foundBest);
+		assertTrue(foundBottom);
+
+		// with spill over the remaining budget goes to the next best
+		detector.setMaxFeatures(3);
+		detector.setBuckets(2, 2, 1, true);
+		detector.process(new ImageFloat32(width, height), null, null, null, null, null);
+		assertEquals(3, detector.getFeatures().size());
+
+		// turn off buckets
+		detector.setBuckets(0, 0, 0, false);
+		detector.setMaxFeatures(2);
+		detector.process(new ImageFloat32(width, height), null, null, null, null, null);
+		assertEquals(2, detector.getFeatures().size());
+		for (int i = 0; i < 2; i++)
+			assertTrue(detector.getFeatures().get(i).y != 9);
+	}
+
 	@Test
 	public void testPositiveNoCandidates() {
 		HelperExtractor extractor = new HelperExtractor(false, true);
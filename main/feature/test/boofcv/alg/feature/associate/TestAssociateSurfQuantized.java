@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.feature.associate;
+
+import boofcv.abst.feature.associate.GeneralAssociation;
+import boofcv.abst.feature.associate.ScoreAssociateEuclideanSq_SurfS8;
+import boofcv.abst.feature.associate.ScoreAssociation;
+import boofcv.factory.feature.associate.FactoryAssociation;
+import boofcv.struct.FastQueue;
+import boofcv.struct.feature.AssociatedIndex;
+import boofcv.struct.feature.SurfFeatureS8;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+
+/**
+ * @author Peter Abeles
+ */
+public class TestAssociateSurfQuantized {
+
+	AssociateSurfQuantized alg = createAlg();
+
+	/**
+	 * Two features with different laplacian signs should never be associated
+	 */
+	@Test
+	public void checkAssociateByIntensity() {
+		FastQueue<SurfFeatureS8> src = new FastQueue<SurfFeatureS8>(10,SurfFeatureS8.class,false);
+		FastQueue<SurfFeatureS8> dst = new FastQueue<SurfFeatureS8>(10,SurfFeatureS8.class,false);
+
+		src.add( createDesc(true,10,1));
+		dst.add( createDesc(true,0,1));
+		dst.add( createDesc(false,10,1));
+
+		alg.setSrc(src);
+		alg.setDst(dst);
+		alg.associate();
+		FastQueue<AssociatedIndex> matches = alg.getMatches();
+
+		assertEquals(1,matches.size());
+		// it should match with the first one, even though the second has a better feature set
+		assertEquals(0,matches.get(0).dst);
+	}
+
+	/**
+	 * Features have different scale factors, which needs to be taken in account when associating
+	 */
+	@Test
+	public void basicAssociation() {
+		FastQueue<SurfFeatureS8> src = new FastQueue<SurfFeatureS8>(10,SurfFeatureS8.class,false);
+		FastQueue<SurfFeatureS8> dst = new FastQueue<SurfFeatureS8>(10,SurfFeatureS8.class,false);
+
+		src.add( createDesc(true,100,0.1));
+		src.add( createDesc(true,12,1));
+		src.add( createDesc(false,5,1));
+		dst.add( createDesc(true,0,1));
+		dst.add( createDesc(true,101,0.1));
+		dst.add( createDesc(true,65,0.2));
+		dst.add( createDesc(false,1,0.1));
+		dst.add( createDesc(false,70,0.1));
+
+		alg.setSrc(src);
+		alg.setDst(dst);
+		alg.associate();
+		FastQueue<AssociatedIndex> matches = alg.getMatches();
+
+		assertEquals(3,matches.size());
+		assertTrue(matches.get(0).fitScore != 0);
+		assertEquals(0,matches.get(0).src);
+		assertEquals(1,matches.get(0).dst);
+		assertTrue(matches.get(1).fitScore != 0);
+		assertEquals(1,matches.get(1).src);
+		assertEquals(2,matches.get(1).dst);
+		assertTrue(matches.get(2).fitScore != 0);
+		assertEquals(2,matches.get(2).src);
+		assertEquals(4,matches.get(2).dst);
+	}
+
+	private AssociateSurfQuantized createAlg() {
+
+		ScoreAssociation<SurfFeatureS8> score = new ScoreAssociateEuclideanSq_SurfS8();
+		GeneralAssociation<SurfFeatureS8> assoc = FactoryAssociation.greedy(score, 400, -1, true);
+
+		return new AssociateSurfQuantized(assoc);
+	}
+
+	private SurfFeatureS8 createDesc( boolean laplace , int value , double scale ) {
+		SurfFeatureS8 ret = new SurfFeatureS8(64);
+
+		ret.laplacianPositive = laplace;
+		ret.value[0] = (byte)value;
+		ret.scale = scale;
+
+		return ret;
+	}
+}
@@ -239,4 +239,131 @@ public class TestDescriptorDistance {
 
 		return distance;
 	}
+
+	/**
+	 * Compare the functions which take in arrays with offsets against the functions which take in descriptors
+	 */
+	@Test
+	public void offsets_F64() {
+		TupleDesc_F64 a = new TupleDesc_F64(5);
+		TupleDesc_F64 b = new TupleDesc_F64(5);
+
+		a.value=new double[]{1,2,3,4,5};
+		b.value=new double[]{2,-1,7,-8,10};
+
+		double[] data = new double[20];
+		System.arraycopy(a.value,0,data,3,5);
+		System.arraycopy(b.value,0,data,12,5);
+
+		assertEquals(DescriptorDistance.euclideanSq(a,b),DescriptorDistance.euclideanSq(data,3,data,12,5),1e-8);
+		assertEquals(DescriptorDistance.euclidean(a,b),DescriptorDistance.euclidean(data,3,data,12,5),1e-8);
+		assertEquals(DescriptorDistance.correlation(a,b),DescriptorDistance.correlation(data,3,data,12,5),1e-8);
+		assertEquals(DescriptorDistance.sad(a,b),DescriptorDistance.sad(data,3,data,12,5),1e-8);
+
+		PackedTupleDesc_F64 pa = new PackedTupleDesc_F64(data,3,5);
+		PackedTupleDesc_F64 pb = new PackedTupleDesc_F64(data,12,5);
+		assertEquals(195,DescriptorDistance.euclideanSq(pa,pb),1e-8);
+	}
+
+	@Test
+	public void offsets_F32() {
+		TupleDesc_F32 a = new TupleDesc_F32(5);
+		TupleDesc_F32 b = new TupleDesc_F32(5);
+
+		a.value=new float[]{1,2,3,4,5};
+		b.value=new float[]{2,-1,7,-8,10};
+
+		float[] data = new float[20];
+		System.arraycopy(a.value,0,data,3,5);
+		System.arraycopy(b.value,0,data,12,5);
+
+		assertEquals(DescriptorDistance.euclideanSq(a,b),DescriptorDistance.euclideanSq(data,3,data,12,5),1e-4);
+		assertEquals(DescriptorDistance.sad(a,b),DescriptorDistance.sad(data,3,data,12,5),1e-4);
+
+		PackedTupleDesc_F32 pa = new PackedTupleDesc_F32(data,3,5);
+		PackedTupleDesc_F32 pb = new PackedTupleDesc_F32(data,12,5);
+		assertEquals(195,DescriptorDistance.euclideanSq(pa,pb),1e-4);
+	}
+
+	@Test
+	public void offsets_hamming() {
+		TupleDesc_B a = new TupleDesc_B(512);
+		TupleDesc_B b = new TupleDesc_B(512);
+
+		for( int i = 0; i < a.data.length; i++ ) {
+			a.data[i] = rand.nextInt();
+			b.data[i] = rand.nextInt();
+		}
+
+		int[] data = new int[ 2*a.data.length + 5 ];
+		System.arraycopy(a.data,0,data,2,a.data.length);
+		System.arraycopy(b.data,0,data,2+a.data.length,a.data.length);
+
+		int expected = DescriptorDistance.hamming(a,b);
+		assertEquals(expected,DescriptorDistance.hamming(data,2,data,2+a.data.length,a.data.length));
+
+		PackedTupleDesc_B pa = new PackedTupleDesc_B(data,2,512);
+		PackedTupleDesc_B pb = new PackedTupleDesc_B(data,2+a.data.length,512);
+		assertEquals(expected,DescriptorDistance.hamming(pa,pb));
+	}
+
+	@Test
+	public void euclideanSq_S8() {
+		TupleDesc_S8 a = new TupleDesc_S8(5);
+		TupleDesc_S8 b = new TupleDesc_S8(5);
+
+		a.value=new byte[]{1,2,3,4,5};
+		b.value=new byte[]{2,-1,7,-8,10};
+
+		assertEquals(195, DescriptorDistance.euclideanSq(a, b));
+	}
+
+	@Test
+	public void euclideanSq_U8() {
+		TupleDesc_U8 a = new TupleDesc_U8(5);
+		TupleDesc_U8 b = new TupleDesc_U8(5);
+
+		a.value=new byte[]{1,2,3,4,(byte)200};
+		b.value=new byte[]{6,2,6,3,6};
+
+		assertEquals(25+9+1+194*194, DescriptorDistance.euclideanSq(a, b));
+	}
+
+	/**
+	 * Compare against the distance between the descriptors after they have been converted into floating point
+	 */
+	@Test
+	public void euclideanSq_S8_scaled() {
+		TupleDesc_S8 a = new TupleDesc_S8(64);
+		TupleDesc_S8 b = new TupleDesc_S8(64);
+
+		for( int i = 0; i < 64; i++ ) {
+			a.value[i] = (byte)(rand.nextInt(255)-127);
+			b.value[i] = (byte)(rand.nextInt(255)-127);
+		}
+
+		TupleDesc_F64 fa = new TupleDesc_F64(64);
+		TupleDesc_F64 fb = new TupleDesc_F64(64);
+		for( int i = 0; i < 64; i++ ) {
+			fa.value[i] = a.value[i]*0.02;
+			fb.value[i] = b.value[i]*0.005;
+		}
+
+		double expected = DescriptorDistance.euclideanSq(fa,fb);
+		assertEquals(expected,DescriptorDistance.euclideanSq(a,0.02,b,0.005),1e-8);
+
+		// identical descriptions should be zero and not negative
+		assertEquals(0,DescriptorDistance.euclideanSq(a,0.1,a,0.1),1e-8);
+	}
+
+	@Test
+	public void sad_S8() {
+		TupleDesc_S8 a = new TupleDesc_S8(5);
+		TupleDesc_S8 b = new TupleDesc_S8(5);
+
+		a.value=new byte[]{1,2,3,4,5};
+		b.value=new byte[]{2,-1,7,-8,10};
+
+		assertEquals(25, DescriptorDistance.sad(a, b));
+	}
 }
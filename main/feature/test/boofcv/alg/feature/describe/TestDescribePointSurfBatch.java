@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.feature.describe;
+
+import boofcv.alg.feature.orientation.OrientationIntegral;
+import boofcv.alg.misc.ImageTestingOps;
+import boofcv.alg.transform.ii.IntegralImageOps;
+import boofcv.factory.feature.orientation.FactoryOrientationAlgs;
+import boofcv.misc.BoofConcurrency;
+import boofcv.struct.feature.SurfFeature;
+import boofcv.struct.feature.SurfFeatureSet;
+import boofcv.struct.image.ImageFloat32;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestDescribePointSurfBatch {
+
+	Random rand = new Random(234);
+	int width = 80;
+	int height = 90;
+	int N = 60;
+
+	ImageFloat32 ii;
+	double x[] = new double[N];
+	double y[] = new double[N];
+	double scale[] = new double[N];
+	double angle[] = new double[N];
+
+	public TestDescribePointSurfBatch() {
+		ImageFloat32 input = new ImageFloat32(width,height);
+		ImageTestingOps.randomize(input,rand,0,100);
+		ii = IntegralImageOps.transform(input,null);
+
+		// some of the points will be along the image border
+		for( int i = 0; i < N; i++ ) {
+			x[i] = rand.nextDouble()*width;
+			y[i] = rand.nextDouble()*height;
+			scale[i] = 0.5 + rand.nextDouble()*2;
+			angle[i] = (rand.nextDouble()-0.5)*Math.PI;
+		}
+	}
+
+	/**
+	 * Compare against describing each point one at a time
+	 */
+	@Test
+	public void compareToSingle_orientation() {
+		check(true);
+	}
+
+	@Test
+	public void compareToSingle_noOrientation() {
+		check(false);
+	}
+
+	private void check( boolean orientation ) {
+		int originalThreads = BoofConcurrency.getMaxThreads();
+		int originalBlock = DescribePointSurfBatch.MIN_BLOCK;
+		try {
+			BoofConcurrency.setMaxThreads(4);
+			DescribePointSurfBatch.MIN_BLOCK = 2;
+
+			DescribePointSurfBatch<ImageFloat32> alg = new DescribePointSurfBatch<ImageFloat32>(
+					createDescribe(),orientation ? createOrientation() : null);
+			for( int i = 0; i < 3; i++ )
+				alg.addThread(createDescribe(),orientation ? createOrientation() : null);
+			assertEquals(4,alg.getNumThreads());
+			alg.setImage(ii);
+
+			double foundAngle[] = angle.clone();
+			SurfFeatureSet found = new SurfFeatureSet(alg.getDescriptionLength(),5);
+			alg.process(x,y,scale,foundAngle,N,found);
+			assertEquals(N,found.size());
+
+			DescribePointSurf<ImageFloat32> describe = createDescribe();
+			OrientationIntegral<ImageFloat32> orientationAlg = createOrientation();
+			describe.setImage(ii);
+			orientationAlg.setImage(ii);
+
+			SurfFeature expected = describe.createDescription();
+			SurfFeature stored = null;
+			for( int i = 0; i < N; i++ ) {
+				double a = angle[i];
+				if( orientation ) {
+					orientationAlg.setScale(scale[i]);
+					a = orientationAlg.compute(x[i],y[i]);
+				}
+				assertEquals(a,foundAngle[i],1e-8);
+
+				describe.describe(x[i],y[i],scale[i],a,expected);
+				stored = found.get(i,stored);
+
+				assertEquals(expected.laplacianPositive,stored.laplacianPositive);
+				for( int j = 0; j < expected.value.length; j++ ) {
+					assertEquals(expected.value[j],stored.value[j],1e-8);
+					assertEquals(expected.value[j],found.block[found.getOffset(i)+j],1e-8);
+				}
+			}
+		} finally {
+			DescribePointSurfBatch.MIN_BLOCK = originalBlock;
+			BoofConcurrency.setMaxThreads(originalThreads);
+		}
+	}
+
+	@Test
+	public void mustProvideOrientationToAll() {
+		DescribePointSurfBatch<ImageFloat32> alg =
+				new DescribePointSurfBatch<ImageFloat32>(createDescribe(),createOrientation());
+		try {
+			alg.addThread(createDescribe(),null);
+			assertTrue(false);
+		} catch( IllegalArgumentException e ) {}
+	}
+
+	private DescribePointSurf<ImageFloat32> createDescribe() {
+		return new DescribePointSurf<ImageFloat32>(ImageFloat32.class);
+	}
+
+	private OrientationIntegral<ImageFloat32> createOrientation() {
+		return FactoryOrientationAlgs.average_ii(6,1,6,0,ImageFloat32.class);
+	}
+}
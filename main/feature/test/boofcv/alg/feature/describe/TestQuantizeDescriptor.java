@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.feature.describe;
+
+import boofcv.struct.feature.*;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestQuantizeDescriptor {
+
+	Random rand = new Random(234);
+
+	@Test
+	public void quantize_S8() {
+		TupleDesc_F64 input = new TupleDesc_F64(64);
+		for( int i = 0; i < input.value.length; i++ )
+			input.value[i] = rand.nextGaussian()*0.2;
+		input.value[5] = -2;
+
+		TupleDesc_S8 found = new TupleDesc_S8(64);
+		double scale = QuantizeDescriptor.quantize(input,found);
+
+		// largest magnitude is mapped to the largest magnitude
+		assertEquals(2.0/127.0,scale,1e-8);
+		assertEquals(-127,found.value[5]);
+
+		TupleDesc_F64 back = new TupleDesc_F64(64);
+		QuantizeDescriptor.dequantize(found,scale,back);
+		for( int i = 0; i < input.value.length; i++ )
+			assertEquals(input.value[i],back.value[i],scale/2+1e-8);
+	}
+
+	@Test
+	public void quantize_U8() {
+		TupleDesc_F64 input = new TupleDesc_F64(64);
+		for( int i = 0; i < input.value.length; i++ )
+			input.value[i] = rand.nextDouble();
+		input.value[5] = 3;
+
+		TupleDesc_U8 found = new TupleDesc_U8(64);
+		double scale = QuantizeDescriptor.quantize(input,found);
+
+		assertEquals(3.0/255.0,scale,1e-8);
+		assertEquals(255,found.value[5] & 0xFF);
+
+		TupleDesc_F64 back = new TupleDesc_F64(64);
+		QuantizeDescriptor.dequantize(found,scale,back);
+		for( int i = 0; i < input.value.length; i++ )
+			assertEquals(input.value[i],back.value[i],scale/2+1e-8);
+	}
+
+	@Test(expected=IllegalArgumentException.class)
+	public void quantize_U8_negative() {
+		TupleDesc_F64 input = new TupleDesc_F64(5);
+		input.value[2] = -1;
+		QuantizeDescriptor.quantize(input,new TupleDesc_U8(5));
+	}
+
+	/**
+	 * All zeros should not cause a divide by zero
+	 */
+	@Test
+	public void quantize_zero() {
+		TupleDesc_S8 found = new TupleDesc_S8(5);
+		found.value[1] = 4;
+
+		assertEquals(0,QuantizeDescriptor.quantize(new TupleDesc_F64(5),found),1e-8);
+		for( int i = 0; i < 5; i++ )
+			assertEquals(0,found.value[i]);
+	}
+
+	@Test
+	public void quantize_surf() {
+		SurfFeature input = new SurfFeature(64);
+		for( int i = 0; i < input.value.length; i++ )
+			input.value[i] = rand.nextGaussian();
+		input.laplacianPositive = true;
+
+		SurfFeatureS8 found = new SurfFeatureS8(64);
+		QuantizeDescriptor.quantize(input,found);
+
+		assertTrue(found.laplacianPositive);
+		assertTrue(found.scale > 0);
+
+		SurfFeature back = new SurfFeature(64);
+		QuantizeDescriptor.dequantize(found,back);
+		assertTrue(back.laplacianPositive);
+		for( int i = 0; i < input.value.length; i++ ) {
+			assertEquals(input.value[i],back.value[i],found.scale/2+1e-8);
+			assertEquals(back.value[i],found.getDouble(i),1e-8);
+		}
+	}
+}
@@ -18,10 +18,18 @@
 
 package boofcv.alg.feature.detect.extract;
 
+import boofcv.alg.misc.ImageTestingOps;
+import boofcv.misc.BoofConcurrency;
 import boofcv.struct.QueueCorner;
 import boofcv.struct.image.ImageFloat32;
+import georegression.struct.point.Point2D_I16;
 import org.junit.Test;
 
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
 /**
  * @author Peter Abeles
  */
@@ -44,4 +52,62 @@ public class TestNonMaxBlockStrict extends GenericNonMaxTests {
 		alg.setSearchRadius(radius);
 		alg.process(intensity,found);
 	}
+
+	/**
+	 * Run the standard tests and compare against the single threaded results when concurrent
+	 */
+	@Test
+	public void concurrent() {
+		int originalThreads = BoofConcurrency.getMaxThreads();
+		int originalBlock = NonMaxBlock.MIN_BLOCK;
+		try {
+			BoofConcurrency.setMaxThreads(4);
+			NonMaxBlock.MIN_BLOCK = 1;
+
+			new GenericNonMaxTests(true) {
+				@Override
+				public void findMaximums(ImageFloat32 intensity, float threshold, int radius, int border, QueueCorner found) {
+					NonMaxBlockStrict alg = new NonMaxBlockStrict();
+					alg.setConcurrent(true);
+					alg.setThreshold(threshold);
+					alg.setBorder(border);
+					alg.setSearchRadius(radius);
+					alg.process(intensity,found);
+				}
+			}.allStandard();
+
+			Random rand = new Random(234);
+			ImageFloat32 intensity = new ImageFloat32(60,71);
+			ImageTestingOps.randomize(intensity,rand,0,100);
+
+			for( int radius = 1; radius <= 3; radius++ ) {
+				NonMaxBlockStrict alg = new NonMaxBlockStrict();
+				alg.setThreshold(10);
+				alg.setBorder(2);
+				alg.setSearchRadius(radius);
+
+				QueueCorner expected = new QueueCorner(10);
+				alg.process(intensity,expected);
+
+				alg.setConcurrent(true);
+				// process twice to make sure workers are reset
+				QueueCorner found = new QueueCorner(10);
+				alg.process(intensity,found);
+				found.reset();
+				alg.process(intensity,found);
+
+				assertTrue(expected.size > 10);
+				assertEquals(expected.size,found.size);
+				for( int i = 0; i < found.size; i++ ) {
+					Point2D_I16 e = expected.get(i);
+					Point2D_I16 f = found.get(i);
+					assertEquals(e.x,f.x);
+					assertEquals(e.y,f.y);
+				}
+			}
+		} finally {
+			NonMaxBlock.MIN_BLOCK = originalBlock;
+			BoofConcurrency.setMaxThreads(originalThreads);
+		}
+	}
 }
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.feature.detect.extract;
+
+import boofcv.struct.QueueCorner;
+import boofcv.struct.image.ImageFloat32;
+import org.junit.Test;
+import pja.storage.GrowQueue_F32;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestNonMaxCandidateSparse {
+
+	/**
+	 * Standard tests which don't require an intensity image. Pixels above the threshold are the candidates.
+	 */
+	@Test
+	public void standardTests() {
+		for( int i = 0; i < 2; i++ ) {
+			final boolean strict = i == 0;
+			GenericNonMaxTests tests = new GenericNonMaxTests(strict) {
+				@Override
+				public void findMaximums(ImageFloat32 intensity, float threshold, int radius, int border, QueueCorner found) {
+					NonMaxCandidateSparse alg = new NonMaxCandidateSparse(radius, threshold, strict);
+
+					QueueCorner candidates = new QueueCorner(100);
+					GrowQueue_F32 scores = new GrowQueue_F32(10);
+					for( int y = 0; y < intensity.height; y++ ) {
+						for( int x = 0; x < intensity.width; x++ ) {
+							if( intensity.get(x,y) >= threshold ) {
+								candidates.add(x,y);
+								scores.push(intensity.get(x,y));
+							}
+						}
+					}
+
+					alg.process(candidates,scores,intensity.height,found,null);
+				}
+			};
+
+			if( strict )
+				tests.testStrictRule();
+			else
+				tests.testNotStrictRule();
+			tests.testRadius();
+			tests.testThreshold();
+			tests.testSubimage();
+			tests.negativeValuedIntensity();
+			tests.compareToNaive();
+		}
+	}
+
+	/**
+	 * The score of each found feature should be saved
+	 */
+	@Test
+	public void foundScores() {
+		QueueCorner candidates = new QueueCorner(10);
+		GrowQueue_F32 scores = new GrowQueue_F32(10);
+
+		candidates.add(5,2); scores.push(10);
+		candidates.add(6,2); scores.push(12);
+		candidates.add(20,3); scores.push(7);
+		candidates.add(1,9); scores.push(9);
+
+		NonMaxCandidateSparse alg = new NonMaxCandidateSparse(2, 1, true);
+		QueueCorner found = new QueueCorner(10);
+		GrowQueue_F32 foundScores = new GrowQueue_F32(10);
+		alg.process(candidates,scores,10,found,foundScores);
+
+		assertEquals(3,found.size);
+		assertEquals(3,foundScores.size);
+		assertEquals(6,found.get(0).x);
+		assertEquals(12,foundScores.get(0),1e-8);
+		assertEquals(20,found.get(1).x);
+		assertEquals(7,foundScores.get(1),1e-8);
+		assertEquals(1,found.get(2).x);
+		assertEquals(9,foundScores.get(2),1e-8);
+	}
+
+	@Test(expected=IllegalArgumentException.class)
+	public void notOrdered() {
+		QueueCorner candidates = new QueueCorner(10);
+		GrowQueue_F32 scores = new GrowQueue_F32(10);
+
+		candidates.add(5,4); scores.push(10);
+		candidates.add(6,2); scores.push(12);
+
+		new NonMaxCandidateSparse(2, 1, true).process(candidates,scores,10,new QueueCorner(10),null);
+	}
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.feature.detect.extract;
+
+import boofcv.struct.QueueCorner;
+import boofcv.struct.image.ImageFloat32;
+import georegression.struct.point.Point2D_I16;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestSelectBucketedFeatures {
+
+	Random rand = new Random(234);
+	int width = 40;
+	int height = 30;
+
+	/**
+	 * All the features are in one cell.  Only the best ones in that cell should be returned
+	 */
+	@Test
+	public void maxPerCell() {
+		ImageFloat32 intensity = new ImageFloat32(width,height);
+		QueueCorner corners = new QueueCorner(10);
+
+		// 10 features in the top left cell, with increasing intensity
+		for( int i = 0; i < 10; i++ ) {
+			corners.add(i,2);
+			intensity.set(i,2,i+1);
+		}
+		// one feature in the bottom right cell
+		corners.add(35,25);
+		intensity.set(35,25,0.5f);
+
+		SelectBucketedFeatures alg = new SelectBucketedFeatures(2,2,3,-1,false);
+		alg.process(intensity,corners,null);
+
+		QueueCorner found = alg.getSelected();
+		assertEquals(4,found.size);
+		int numTopLeft = 0;
+		for( int i = 0; i < found.size; i++ ) {
+			Point2D_I16 p = found.get(i);
+			if( p.y == 2 ) {
+				assertTrue(p.x >= 7);
+				numTopLeft++;
+			}
+		}
+		assertEquals(3,numTopLeft);
+	}
+
+	/**
+	 * With spill over the unused budget should go to the best rejected features
+	 */
+	@Test
+	public void spillOver() {
+		ImageFloat32 intensity = new ImageFloat32(width,height);
+		QueueCorner corners = new QueueCorner(10);
+
+		for( int i = 0; i < 10; i++ ) {
+			corners.add(i,2);
+			intensity.set(i,2,i+1);
+		}
+
+		// budget is 4 cells * 3 = 12, but without spill over only 3 can be selected
+		SelectBucketedFeatures alg = new SelectBucketedFeatures(2,2,3,-1,true);
+		alg.process(intensity,corners,null);
+		assertEquals(10,alg.getSelected().size);
+
+		// limit the total budget
+		alg.setMaxFeatures(5);
+		alg.process(intensity,corners,null);
+		QueueCorner found = alg.getSelected();
+		assertEquals(5,found.size);
+		for( int i = 0; i < found.size; i++ ) {
+			assertTrue(found.get(i).x >= 5);
+		}
+	}
+
+	/**
+	 * The total budget is less than what the cells allow.  The best overall should be kept
+	 */
+	@Test
+	public void totalBudget() {
+		ImageFloat32 intensity = new ImageFloat32(width,height);
+		QueueCorner corners = new QueueCorner(10);
+
+		for( int y = 0; y < height; y += 3 ) {
+			for( int x = 0; x < width; x += 3 ) {
+				corners.add(x,y);
+				intensity.set(x,y,rand.nextFloat());
+			}
+		}
+
+		SelectBucketedFeatures alg = new SelectBucketedFeatures(4,3,5,20,false);
+		alg.process(intensity,corners,null);
+		QueueCorner found = alg.getSelected();
+		assertEquals(20,found.size);
+
+		// no cell should have more than the limit
+		int counts[] = new int[12];
+		for( int i = 0; i < found.size; i++ ) {
+			Point2D_I16 p = found.get(i);
+			counts[(p.y*3/height)*4 + p.x*4/width]++;
+		}
+		for( int i = 0; i < counts.length; i++ )
+			assertTrue(counts[i] <= 5);
+	}
+
+	/**
+	 * Excluded features should count against the cell's budget
+	 */
+	@Test
+	public void excluded() {
+		ImageFloat32 intensity = new ImageFloat32(width,height);
+		QueueCorner corners = new QueueCorner(10);
+
+		for( int i = 0; i < 10; i++ ) {
+			corners.add(i,2);
+			intensity.set(i,2,i+1);
+			corners.add(30+i,25);
+			intensity.set(30+i,25,i+1);
+		}
+
+		QueueCorner excluded = new QueueCorner(10);
+		excluded.add(15,5);
+		excluded.add(16,5);
+
+		SelectBucketedFeatures alg = new SelectBucketedFeatures(2,2,3,-1,false);
+		alg.process(intensity,corners,excluded);
+		QueueCorner found = alg.getSelected();
+
+		assertEquals(4,found.size);
+		int numTopLeft = 0;
+		for( int i = 0; i < found.size; i++ ) {
+			if( found.get(i).y == 2 )
+				numTopLeft++;
+		}
+		assertEquals(1,numTopLeft);
+	}
+
+	/**
+	 * Every feature should be returned if none of the limits are exceeded
+	 */
+	@Test
+	public void allReturned() {
+		ImageFloat32 intensity = new ImageFloat32(width,height);
+		QueueCorner corners = new QueueCorner(10);
+		corners.add(1,1);
+		corners.add(39,29);
+		corners.add(20,15);
+
+		SelectBucketedFeatures alg = new SelectBucketedFeatures(3,3,2,-1,true);
+		alg.process(intensity,corners,null);
+		assertEquals(3,alg.getSelected().size);
+
+		// empty list
+		corners.reset();
+		alg.process(intensity,corners,null);
+		assertEquals(0,alg.getSelected().size);
+	}
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.feature.detect.intensity.impl;
+
+import boofcv.alg.feature.detect.intensity.GenericCornerIntensityTests;
+import boofcv.alg.filter.derivative.GradientSobel;
+import boofcv.alg.misc.ImageTestingOps;
+import boofcv.core.image.border.BorderIndex1D_Extend;
+import boofcv.core.image.border.ImageBorder1D_I32;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageSInt16;
+import boofcv.struct.image.ImageUInt8;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestImplSsdCornerFused_U8 {
+
+	Random rand = new Random(234);
+	int width = 30;
+	int height = 35;
+
+	@Test
+	public void genericTests() {
+		new GenericCornerIntensityTests() {
+			ImplHarrisCornerFused_U8 alg = new ImplHarrisCornerFused_U8(1,0.04f);
+
+			@Override
+			public void computeIntensity(ImageFloat32 intensity) {
+				alg.process(imageI,intensity);
+			}
+
+			@Override
+			protected void computeDerivatives() {}
+		}.performAllTests();
+	}
+
+	/**
+	 * Compare against the Sobel gradient followed by the unfused implementation.  Integer math is used
+	 * so the results should be identical.
+	 */
+	@Test
+	public void compareToUnfused() {
+		for( int radius = 1; radius <= 3; radius++ ) {
+			compare(new ImplHarrisCornerFused_U8(radius,0.04f),new ImplHarrisCorner_S16(radius,0.04f),false);
+			compare(new ImplShiTomasiCornerFused_U8(radius),new ImplShiTomasiCorner_S16(radius),false);
+		}
+	}
+
+	@Test
+	public void subimage() {
+		compare(new ImplHarrisCornerFused_U8(2,0.04f),new ImplHarrisCorner_S16(2,0.04f),true);
+	}
+
+	/**
+	 * The image is the same size as the window, which is the smallest image it will process
+	 */
+	@Test
+	public void smallImage() {
+		ImageUInt8 input = new ImageUInt8(5,5);
+		ImageTestingOps.randomize(input,rand,0,100);
+
+		ImageFloat32 expected = computeExpected(new ImplHarrisCorner_S16(2,0.04f),input);
+		ImageFloat32 found = new ImageFloat32(5,5);
+		new ImplHarrisCornerFused_U8(2,0.04f).process(input,found);
+
+		BoofTesting.assertEqualsGeneric(expected,found,0,1e-8);
+	}
+
+	private void compare( ImplSsdCornerFused_U8 fused , ImplSsdCorner_S16 unfused , boolean subimage ) {
+		ImageUInt8 input = new ImageUInt8(width,height);
+		ImageTestingOps.randomize(input,rand,0,100);
+
+		ImageFloat32 expected = computeExpected(unfused, input);
+
+		if( subimage )
+			input = BoofTesting.createSubImageOf(input);
+		ImageFloat32 found = new ImageFloat32(width,height);
+		fused.process(input,found);
+
+		BoofTesting.assertEqualsGeneric(expected,found,0,1e-8);
+	}
+
+	private ImageFloat32 computeExpected(ImplSsdCorner_S16 unfused, ImageUInt8 input) {
+		ImageSInt16 derivX = new ImageSInt16(input.width,input.height);
+		ImageSInt16 derivY = new ImageSInt16(input.width,input.height);
+		GradientSobel.process(input,derivX,derivY,new ImageBorder1D_I32(BorderIndex1D_Extend.class));
+
+		ImageFloat32 expected = new ImageFloat32(input.width,input.height);
+		unfused.process(derivX,derivY,expected);
+		return expected;
+	}
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.feature.detect.interest;
+
+import boofcv.abst.feature.detect.extract.FeatureExtractor;
+import boofcv.alg.feature.detect.extract.NonMaxCandidateSparse;
+import boofcv.alg.feature.detect.intensity.FastCornerIntensity;
+import boofcv.alg.misc.ImageTestingOps;
+import boofcv.factory.feature.detect.extract.FactoryFeatureExtractor;
+import boofcv.factory.feature.detect.intensity.FactoryIntensityPointAlg;
+import boofcv.struct.QueueCorner;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageUInt8;
+import georegression.struct.point.Point2D_I16;
+import org.junit.Test;
+import pja.storage.GrowQueue_F32;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestFastCornerDetector {
+
+	Random rand = new Random(234);
+	int width = 80;
+	int height = 90;
+
+	int threshold = 15;
+	int radius = 2;
+
+	/**
+	 * The sparse FAST function should find the same corners as the dense one and their scores should
+	 * be the same as the intensity image.
+	 */
+	@Test
+	public void sparseFastCompareToDense() {
+		ImageUInt8 input = new ImageUInt8(width,height);
+		ImageTestingOps.randomize(input,rand,0,100);
+
+		FastCornerIntensity<ImageUInt8> fast = FactoryIntensityPointAlg.fast(threshold,9,ImageUInt8.class);
+		ImageFloat32 intensity = new ImageFloat32(width,height);
+		fast.process(input,intensity);
+		QueueCorner expected = fast.getCandidates();
+
+		QueueCorner found = new QueueCorner(10);
+		GrowQueue_F32 scores = new GrowQueue_F32(10);
+		fast.process(input,found,scores);
+
+		assertTrue(expected.size > 10);
+		assertEquals(expected.size,found.size);
+		assertEquals(expected.size,scores.size);
+		for( int i = 0; i < found.size; i++ ) {
+			Point2D_I16 e = expected.get(i);
+			Point2D_I16 f = found.get(i);
+			assertEquals(e.x,f.x);
+			assertEquals(e.y,f.y);
+			assertEquals(intensity.get(e.x,e.y),scores.get(i),1e-4);
+		}
+	}
+
+	/**
+	 * Compare against dense FAST followed by non-maximum suppression on candidates
+	 */
+	@Test
+	public void compareToDense() {
+		ImageUInt8 input = new ImageUInt8(width,height);
+		ImageTestingOps.randomize(input,rand,0,100);
+
+		FastCornerIntensity<ImageUInt8> fast = FactoryIntensityPointAlg.fast(threshold,9,ImageUInt8.class);
+		ImageFloat32 intensity = new ImageFloat32(width,height);
+		fast.process(input,intensity);
+		FeatureExtractor extractor = FactoryFeatureExtractor.nonmaxCandidate(radius,threshold,0,true);
+		QueueCorner expected = new QueueCorner(10);
+		extractor.process(intensity,fast.getCandidates(),-1,expected);
+
+		FastCornerDetector<ImageUInt8> alg = new FastCornerDetector<ImageUInt8>(
+				FactoryIntensityPointAlg.fast(threshold,9,ImageUInt8.class),
+				new NonMaxCandidateSparse(radius,threshold,true),-1);
+		alg.process(input);
+		QueueCorner found = alg.getCorners();
+
+		assertTrue(expected.size > 5);
+		assertEquals(expected.size,found.size);
+		for( int i = 0; i < found.size; i++ ) {
+			Point2D_I16 e = expected.get(i);
+			Point2D_I16 f = found.get(i);
+			assertEquals(e.x,f.x);
+			assertEquals(e.y,f.y);
+			assertEquals(intensity.get(e.x,e.y),alg.getScores().get(i),1e-4);
+		}
+	}
+
+	/**
+	 * When there are too many features the ones with the largest scores should be kept
+	 */
+	@Test
+	public void maxFeatures() {
+		ImageUInt8 input = new ImageUInt8(width,height);
+		ImageTestingOps.randomize(input,rand,0,100);
+
+		FastCornerDetector<ImageUInt8> alg = new FastCornerDetector<ImageUInt8>(
+				FactoryIntensityPointAlg.fast(threshold,9,ImageUInt8.class),
+				new NonMaxCandidateSparse(radius,threshold,true),-1);
+		alg.process(input);
+		int total = alg.getCorners().size;
+		float all[] = new float[ total ];
+		System.arraycopy(alg.getScores().queue,0,all,0,total);
+
+		int N = total/2;
+		assertTrue(N > 2);
+		alg.setMaxFeatures(N);
+		alg.process(input);
+
+		assertEquals(N,alg.getCorners().size);
+		assertEquals(N,alg.getScores().size);
+
+		// the smallest score kept must be at least as large as every score which was discarded
+		float minKept = Float.MAX_VALUE;
+		for( int i = 0; i < N; i++ )
+			minKept = Math.min(minKept,alg.getScores().get(i));
+		int numLarger = 0;
+		for( int i = 0; i < total; i++ ) {
+			if( all[i] > minKept )
+				numLarger++;
+		}
+		assertTrue(numLarger < N);
+	}
+}
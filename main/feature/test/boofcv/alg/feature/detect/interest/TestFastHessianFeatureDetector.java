@@ -19,12 +19,24 @@
 package boofcv.alg.feature.detect.interest;
 
 import boofcv.abst.feature.detect.extract.FeatureExtractor;
+import boofcv.alg.misc.ImageTestingOps;
 import boofcv.alg.transform.ii.IntegralImageOps;
 import boofcv.factory.feature.detect.extract.FactoryFeatureExtractor;
+import boofcv.misc.BoofConcurrency;
+import boofcv.struct.feature.ScalePoint;
 import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageSInt32;
+import boofcv.struct.image.ImageUInt8;
+import boofcv.struct.image.ImageSingleBand;
 import georegression.struct.point.Point2D_I32;
+import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 
 /**
@@ -51,4 +63,72 @@ public class TestFastHessianFeatureDetector extends GenericFeatureDetector {
 
 		return (List)alg.getFoundPoints();
 	}
+
+	/**
+	 * Concurrent processing should produce the same points in the same order
+	 */
+	@Test
+	public void concurrent() {
+		Random rand = new Random(234);
+		ImageUInt8 input = new ImageUInt8(200,180);
+		ImageTestingOps.randomize(input,rand,0,100);
+		for( int i = 0; i < 40; i++ ) {
+			int x = rand.nextInt(input.width-20);
+			int y = rand.nextInt(input.height-20);
+			ImageTestingOps.fillRectangle(input,200,x,y,3+rand.nextInt(15),3+rand.nextInt(15));
+		}
+
+		ImageSInt32 integralI = IntegralImageOps.transform(input,null);
+		ImageFloat32 integralF = new ImageFloat32(input.width,input.height);
+		for( int y = 0; y < input.height; y++ )
+			for( int x = 0; x < input.width; x++ )
+				integralF.set(x,y,integralI.get(x,y));
+
+		int original = BoofConcurrency.getMaxThreads();
+		try {
+			BoofConcurrency.setMaxThreads(4);
+
+			for( int maxFeatures : new int[]{-1,20} ) {
+				checkConcurrent(integralI,maxFeatures,0);
+				checkConcurrent(integralI,maxFeatures,3);
+				checkConcurrent(integralF,maxFeatures,3);
+			}
+		} finally {
+			BoofConcurrency.setMaxThreads(original);
+		}
+	}
+
+	private <II extends ImageSingleBand> void checkConcurrent( II integral , int maxFeatures , int numAdditional ) {
+		FastHessianFeatureDetector<II> expected = new FastHessianFeatureDetector<II>(
+				FactoryFeatureExtractor.nonmax(2, 1, 5, true),maxFeatures,1,9,4,4);
+		FastHessianFeatureDetector<II> found = new FastHessianFeatureDetector<II>(
+				FactoryFeatureExtractor.nonmax(2, 1, 5, true),maxFeatures,1,9,4,4);
+
+		FeatureExtractor additional[] = new FeatureExtractor[numAdditional];
+		for( int i = 0; i < numAdditional; i++ )
+			additional[i] = FactoryFeatureExtractor.nonmax(2, 1, 5, true);
+		found.setConcurrent(true,additional);
+
+		expected.detect(integral);
+		// process it twice to make sure the saved intensity images are handled correctly
+		found.detect(integral);
+		List<ScalePoint> first = new ArrayList<ScalePoint>(found.getFoundPoints());
+		found.detect(integral);
+
+		List<ScalePoint> listA = expected.getFoundPoints();
+		List<ScalePoint> listB = found.getFoundPoints();
+
+		assertTrue(listA.size() > 10);
+		assertEquals(listA.size(),listB.size());
+		assertEquals(listA.size(),first.size());
+		for( int i = 0; i < listA.size(); i++ ) {
+			ScalePoint a = listA.get(i);
+			ScalePoint b = listB.get(i);
+
+			assertEquals(a.x,b.x,1e-4);
+			assertEquals(a.y,b.y,1e-4);
+			assertEquals(a.scale,b.scale,1e-4);
+			assertEquals(b.x,first.get(i).x,1e-8);
+		}
+	}
 }
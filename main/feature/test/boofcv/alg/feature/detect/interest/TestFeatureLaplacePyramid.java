@@ -23,13 +23,22 @@ import boofcv.abst.filter.ImageFunctionSparse;
 import boofcv.abst.filter.derivative.AnyImageDerivative;
 import boofcv.alg.filter.derivative.GImageDerivativeOps;
 import boofcv.alg.transform.gss.ScaleSpacePyramid;
+import boofcv.alg.transform.pyramid.PyramidGradientCache;
+import boofcv.core.image.GeneralizedImageOps;
 import boofcv.core.image.inst.FactoryImageGenerator;
+import boofcv.factory.feature.detect.interest.FactoryDetectPoint;
+import boofcv.factory.filter.derivative.FactoryDerivative;
 import boofcv.factory.filter.derivative.FactoryDerivativeSparse;
+import boofcv.struct.feature.ScalePoint;
 import boofcv.struct.image.ImageFloat32;
 import georegression.struct.point.Point2D_I32;
+import org.junit.Test;
 
 import java.util.List;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
 
 /**
  * @author Peter Abeles
@@ -62,4 +71,47 @@ public class TestFeatureLaplacePyramid extends GenericFeatureScaleDetector {
 		return (List) alg.getInterestPoints();
 	}
 
+	/**
+	 * The same pyramid is updated with a new image.  The gradient of the new image must be read from the cache
+	 * instead of the gradient of the previous one.
+	 */
+	@Test
+	public void gradientCache_reusePyramid() {
+		ImageFloat32 frame0 = new ImageFloat32(width,height);
+		GeneralizedImageOps.fillRectangle(frame0,20,5,5,25,25);
+		ImageFloat32 frame1 = new ImageFloat32(width,height);
+		GeneralizedImageOps.fillRectangle(frame1,100,30,35,12,12);
+		GeneralizedImageOps.fillRectangle(frame1,60,8,12,15,10);
+
+		GeneralFeatureDetector<ImageFloat32,ImageFloat32> detector =
+				FactoryDetectPoint.createKitRos(r,1,-1,ImageFloat32.class);
+		FeatureLaplacePyramid<ImageFloat32,ImageFloat32> alg =
+				(FeatureLaplacePyramid<ImageFloat32,ImageFloat32>)createDetector(detector);
+		alg.setGradientCache(new PyramidGradientCache<ImageFloat32,ImageFloat32>(
+				FactoryDerivative.three(ImageFloat32.class,ImageFloat32.class),ImageFloat32.class));
+
+		ScaleSpacePyramid<ImageFloat32> ss = new ScaleSpacePyramid<ImageFloat32>(ImageFloat32.class,1,2,4,8);
+		ss.setImage(frame0);
+		alg.detect(ss);
+		ss.setImage(frame1);
+		alg.detect(ss);
+
+		// process the second image with a detector that has never seen the first one
+		detector = FactoryDetectPoint.createKitRos(r,1,-1,ImageFloat32.class);
+		FeatureLaplacePyramid<ImageFloat32,ImageFloat32> expected =
+				(FeatureLaplacePyramid<ImageFloat32,ImageFloat32>)createDetector(detector);
+		ScaleSpacePyramid<ImageFloat32> ssExpected = new ScaleSpacePyramid<ImageFloat32>(ImageFloat32.class,1,2,4,8);
+		ssExpected.setImage(frame1);
+		expected.detect(ssExpected);
+
+		List<ScalePoint> a = expected.getInterestPoints();
+		List<ScalePoint> b = alg.getInterestPoints();
+		assertTrue(a.size() > 0);
+		assertEquals(a.size(),b.size());
+		for( int i = 0; i < a.size(); i++ ) {
+			assertEquals(a.get(i).x,b.get(i).x,1e-8);
+			assertEquals(a.get(i).y,b.get(i).y,1e-8);
+			assertEquals(a.get(i).scale,b.get(i).scale,1e-8);
+		}
+	}
 }
@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.feature.detect.interest;
+
+import boofcv.abst.feature.detect.extract.FeatureExtractor;
+import boofcv.abst.feature.detect.interest.InterestPointDetector;
+import boofcv.alg.feature.detect.intensity.FastCornerIntensity;
+import boofcv.alg.feature.orientation.OrientationImage;
+import boofcv.alg.misc.ImageTestingOps;
+import boofcv.factory.feature.detect.extract.FactoryFeatureExtractor;
+import boofcv.factory.feature.detect.intensity.FactoryIntensityPointAlg;
+import boofcv.factory.feature.detect.interest.FactoryInterestPoint;
+import boofcv.factory.feature.orientation.FactoryOrientationAlgs;
+import boofcv.factory.filter.derivative.FactoryDerivative;
+import boofcv.factory.transform.pyramid.FactoryPyramid;
+import boofcv.struct.FastQueue;
+import boofcv.struct.feature.ScalePoint;
+import boofcv.struct.image.ImageSInt16;
+import boofcv.struct.image.ImageUInt8;
+import boofcv.struct.pyramid.PyramidDiscrete;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestOrientedFastPyramid {
+
+	Random rand = new Random(234);
+	int width = 120;
+	int height = 100;
+
+	/**
+	 * Detect the corners of squares.  The same corner should be detected in multiple layers and the location
+	 * should be in input image coordinates.
+	 */
+	@Test
+	public void detectSquares() {
+		ImageUInt8 input = new ImageUInt8(width,height);
+		ImageTestingOps.fillRectangle(input,200,20,20,40,40);
+		ImageTestingOps.fillRectangle(input,150,72,52,24,24);
+
+		OrientedFastPyramid<ImageUInt8,ImageSInt16> alg = createAlg(-1);
+		alg.detect(createPyramid(input,1,2));
+
+		FastQueue<ScalePoint> found = alg.getFeatures();
+
+		int numScale1 = 0, numScale2 = 0;
+		for( int i = 0; i < found.size; i++ ) {
+			ScalePoint p = found.get(i);
+			if( p.scale == 1 )
+				numScale1++;
+			else if( p.scale == 2 )
+				numScale2++;
+
+			// every feature should be close to a corner of one of the squares
+			assertTrue(nearCorner(p.x,p.y,20,20,40,40,2*p.scale) || nearCorner(p.x,p.y,72,52,24,24,2*p.scale));
+		}
+		assertTrue(numScale1 >= 8);
+		assertTrue(numScale2 >= 8);
+	}
+
+	private boolean nearCorner( double x , double y , int x0 , int y0 , int w , int h , double tol ) {
+		for( int i = 0; i < 2; i++ ) {
+			for( int j = 0; j < 2; j++ ) {
+				double dx = x - (x0 + i*w);
+				double dy = y - (y0 + j*h);
+				if( Math.sqrt(dx*dx+dy*dy) <= tol+1.5 )
+					return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * The number of features in each layer should not exceed the maximum
+	 */
+	@Test
+	public void maxFeaturesPerLayer() {
+		ImageUInt8 input = new ImageUInt8(width,height);
+		ImageTestingOps.randomize(input,rand,0,255);
+
+		PyramidDiscrete<ImageUInt8> pyramid = createPyramid(input,1,2);
+
+		OrientedFastPyramid<ImageUInt8,ImageSInt16> alg = createAlg(-1);
+		alg.detect(pyramid);
+		int all[] = countPerLayer(alg.getFeatures());
+		assertTrue(all[0] > 30);
+		assertTrue(all[1] > 30);
+
+		alg.setMaxFeaturesPerLayer(30);
+		alg.detect(pyramid);
+		int pruned[] = countPerLayer(alg.getFeatures());
+		assertEquals(30,pruned[0]);
+		assertEquals(30,pruned[1]);
+	}
+
+	private int[] countPerLayer( FastQueue<ScalePoint> found ) {
+		int ret[] = new int[2];
+		for( int i = 0; i < found.size; i++ ) {
+			ret[ (int)found.get(i).scale - 1 ]++;
+		}
+		return ret;
+	}
+
+	/**
+	 * The orientation should be computed in the layer the feature was detected in
+	 */
+	@Test
+	public void orientation() {
+		ImageUInt8 input = new ImageUInt8(width,height);
+		ImageTestingOps.randomize(input,rand,0,255);
+
+		PyramidDiscrete<ImageUInt8> pyramid = createPyramid(input,1,2);
+		OrientedFastPyramid<ImageUInt8,ImageSInt16> alg = createAlg(20);
+		alg.detect(pyramid);
+
+		OrientationImage<ImageUInt8> orientation = FactoryOrientationAlgs.centroid(5,ImageUInt8.class);
+
+		FastQueue<ScalePoint> found = alg.getFeatures();
+		assertTrue(found.size > 0);
+		for( int i = 0; i < found.size; i++ ) {
+			ScalePoint p = found.get(i);
+			int layer = p.scale == 1 ? 0 : 1;
+			orientation.setImage(pyramid.getLayer(layer));
+			double expected = orientation.compute(p.x/p.scale,p.y/p.scale);
+			assertEquals(expected,alg.getOrientations()[i],1e-8);
+		}
+	}
+
+	/**
+	 * Makes sure the factory creates a working detector
+	 */
+	@Test
+	public void factory() {
+		ImageUInt8 input = new ImageUInt8(width,height);
+		ImageTestingOps.fillRectangle(input,200,20,20,40,40);
+
+		InterestPointDetector<ImageUInt8> alg =
+				FactoryInterestPoint.orientedFast(20,9,100,3,15,ImageUInt8.class,ImageSInt16.class);
+		alg.detect(input);
+
+		assertTrue(alg.getNumberOfFeatures() >= 4);
+		assertTrue(alg.hasScale());
+		assertTrue(alg.hasOrientation());
+		assertEquals(15,alg.getCanonicalRadius(),1e-8);
+	}
+
+	private PyramidDiscrete<ImageUInt8> createPyramid( ImageUInt8 input , int ...scales ) {
+		PyramidDiscrete<ImageUInt8> pyramid = new PyramidDiscrete<ImageUInt8>(ImageUInt8.class,true,scales);
+		FactoryPyramid.discreteGaussian(ImageUInt8.class,-1,2).update(input,pyramid);
+		return pyramid;
+	}
+
+	private OrientedFastPyramid<ImageUInt8,ImageSInt16> createAlg( int maxFeatures ) {
+		FastCornerIntensity<ImageUInt8> fast = FactoryIntensityPointAlg.fast(20,9,ImageUInt8.class);
+		FeatureExtractor extractor = FactoryFeatureExtractor.nonmaxCandidate(2,1,3,true);
+
+		return new OrientedFastPyramid<ImageUInt8,ImageSInt16>(fast,extractor,
+				FactoryDerivative.sobel(ImageUInt8.class,ImageSInt16.class),
+				FactoryIntensityPointAlg.harris(3,0.04f,false,ImageSInt16.class),
+				FactoryOrientationAlgs.centroid(5,ImageUInt8.class),maxFeatures,ImageSInt16.class);
+	}
+}
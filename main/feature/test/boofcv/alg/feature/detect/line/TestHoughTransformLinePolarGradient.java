@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.feature.detect.line;
+
+import boofcv.abst.feature.detect.extract.FeatureExtractor;
+import boofcv.alg.misc.ImageTestingOps;
+import boofcv.factory.feature.detect.extract.FactoryFeatureExtractor;
+import boofcv.misc.BoofConcurrency;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageSInt16;
+import boofcv.struct.image.ImageUInt8;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestHoughTransformLinePolarGradient {
+
+	Random rand = new Random(234);
+	int width = 40;
+	int height = 50;
+
+	int numBinsRange = 60;
+	int numBinsAngle = 45;
+
+	FeatureExtractor extractor = FactoryFeatureExtractor.nonmax(2, 3, 0, true);
+
+	/**
+	 * If the window covers every angle then the results should be the same as the regular transform
+	 */
+	@Test
+	public void fullWindow_sameAsPolar() {
+		ImageUInt8 binary = new ImageUInt8(width,height);
+		ImageFloat32 derivX = new ImageFloat32(width,height);
+		ImageFloat32 derivY = new ImageFloat32(width,height);
+		randomEdges(binary, derivX, derivY);
+
+		HoughTransformLinePolar expected = new HoughTransformLinePolar(extractor,numBinsRange,numBinsAngle);
+		HoughTransformLinePolarGradient alg =
+				new HoughTransformLinePolarGradient(extractor,numBinsRange,numBinsAngle,numBinsAngle);
+
+		expected.transform(binary);
+		alg.transform(derivX,derivY,binary);
+
+		BoofTesting.assertEquals(expected.getTransform(),alg.getTransform(),0,1e-4);
+	}
+
+	/**
+	 * A single pixel should only vote into the angles around its gradient
+	 */
+	@Test
+	public void restrictedVotes() {
+		ImageUInt8 binary = new ImageUInt8(width,height);
+		ImageSInt16 derivX = new ImageSInt16(width,height);
+		ImageSInt16 derivY = new ImageSInt16(width,height);
+
+		// gradient is at 45 degrees
+		binary.set(5,8,1);
+		derivX.set(5,8,10);
+		derivY.set(5,8,10);
+
+		int window = 2;
+		HoughTransformLinePolarGradient alg =
+				new HoughTransformLinePolarGradient(extractor,numBinsRange,numBinsAngle,window);
+		alg.transform(derivX,derivY,binary);
+
+		ImageFloat32 transform = alg.getTransform();
+		int center = (int)Math.round((numBinsAngle-1)/4.0);
+		int total = 0;
+		for( int y = 0; y < transform.height; y++ ) {
+			for( int x = 0; x < transform.width; x++ ) {
+				float value = transform.get(x,y);
+				if( value != 0 )
+					assertTrue(Math.abs(y-center) <= window);
+				total += value;
+			}
+		}
+		assertEquals(2*window+1,total);
+	}
+
+	/**
+	 * The concurrent transform should produce identical results as the single threaded one
+	 */
+	@Test
+	public void concurrent() {
+		ImageUInt8 binary = new ImageUInt8(width,height);
+		ImageFloat32 derivX = new ImageFloat32(width,height);
+		ImageFloat32 derivY = new ImageFloat32(width,height);
+		randomEdges(binary, derivX, derivY);
+
+		HoughTransformLinePolarGradient alg =
+				new HoughTransformLinePolarGradient(extractor,numBinsRange,numBinsAngle,3);
+
+		int originalThreads = BoofConcurrency.getMaxThreads();
+		int originalBlock = HoughTransformLinePolarGradient.MIN_BLOCK;
+		try {
+			BoofConcurrency.setMaxThreads(1);
+			alg.transform(derivX,derivY,binary);
+			ImageFloat32 expected = alg.getTransform().clone();
+
+			HoughTransformLinePolarGradient.MIN_BLOCK = 2;
+			BoofConcurrency.setMaxThreads(4);
+			// run twice to make sure accumulators are correctly reused
+			for( int i = 0; i < 2; i++ ) {
+				alg.transform(derivX,derivY,binary);
+				BoofTesting.assertEquals(expected,alg.getTransform(),0,1e-4);
+			}
+		} finally {
+			HoughTransformLinePolarGradient.MIN_BLOCK = originalBlock;
+			BoofConcurrency.setMaxThreads(originalThreads);
+		}
+	}
+
+	private void randomEdges(ImageUInt8 binary, ImageFloat32 derivX, ImageFloat32 derivY) {
+		ImageTestingOps.randomize(derivX,rand,-10,10);
+		ImageTestingOps.randomize(derivY,rand,-10,10);
+		for( int i = 0; i < 100; i++ ) {
+			binary.set(rand.nextInt(width),rand.nextInt(height),1);
+		}
+	}
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.feature.detect.line;
+
+import georegression.metric.UtilAngle;
+import org.junit.Test;
+import pja.storage.GrowQueue_I32;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestLineAngleIndex {
+
+	Random rand = new Random(234);
+
+	/**
+	 * All lines within tolerance must be returned, including those which wrap around the half circle
+	 */
+	@Test
+	public void findCandidates_compareToBruteForce() {
+		double tolerances[] = new double[]{0.001,0.05,0.3,1.1,2};
+
+		for( double tol : tolerances ) {
+			float angles[] = new float[200];
+			LineAngleIndex alg = new LineAngleIndex();
+			alg.configure(tol);
+
+			for( int i = 0; i < angles.length; i++ ) {
+				angles[i] = (float)(rand.nextDouble()*Math.PI - Math.PI/2);
+				alg.add(i,angles[i]);
+			}
+			// lines at the end points of the half circle
+			alg.add(angles.length,(float)(Math.PI/2));
+
+			GrowQueue_I32 found = new GrowQueue_I32(10);
+			for( int i = 0; i < angles.length; i++ ) {
+				alg.findCandidates(angles[i],found);
+
+				// should be sorted
+				for( int j = 1; j < found.size; j++ )
+					assertTrue(found.data[j-1] < found.data[j]);
+
+				for( int j = 0; j < angles.length; j++ ) {
+					if( UtilAngle.distHalf(angles[i],angles[j]) <= tol )
+						assertTrue(contains(found,j));
+				}
+				if( UtilAngle.distHalf(angles[i],Math.PI/2) <= tol )
+					assertTrue(contains(found,angles.length));
+			}
+		}
+	}
+
+	/**
+	 * Only lines in neighboring bins should be returned
+	 */
+	@Test
+	public void findCandidates_excluded() {
+		LineAngleIndex alg = new LineAngleIndex();
+		alg.configure(0.1);
+
+		alg.add(0,0.5f);
+		alg.add(1,-1.2f);
+		alg.add(2,0.52f);
+
+		GrowQueue_I32 found = new GrowQueue_I32(10);
+		alg.findCandidates(0.51f,found);
+		assertEquals(2,found.size);
+		assertEquals(0,found.data[0]);
+		assertEquals(2,found.data[1]);
+	}
+
+	@Test
+	public void remove() {
+		LineAngleIndex alg = new LineAngleIndex();
+		alg.configure(0.1);
+
+		alg.add(0,0.5f);
+		alg.add(1,0.5f);
+		alg.add(2,0.5f);
+		alg.remove(1,0.5f);
+
+		GrowQueue_I32 found = new GrowQueue_I32(10);
+		alg.findCandidates(0.5f,found);
+		assertEquals(2,found.size);
+		assertEquals(0,found.data[0]);
+		assertEquals(2,found.data[1]);
+	}
+
+	@Test(expected=IllegalArgumentException.class)
+	public void remove_unknown() {
+		LineAngleIndex alg = new LineAngleIndex();
+		alg.configure(0.1);
+		alg.add(0,0.5f);
+		alg.remove(1,0.5f);
+	}
+
+	/**
+	 * Very small tolerances should not create an excessive number of bins
+	 */
+	@Test
+	public void configure_maxBins() {
+		LineAngleIndex alg = new LineAngleIndex();
+		alg.configure(1e-8);
+		assertEquals(LineAngleIndex.MAX_BINS,alg.getNumBins());
+		alg.configure(0);
+		assertEquals(LineAngleIndex.MAX_BINS,alg.getNumBins());
+		alg.configure(Math.PI);
+		assertEquals(1,alg.getNumBins());
+	}
+
+	private boolean contains( GrowQueue_I32 list , int value ) {
+		for( int i = 0; i < list.size; i++ )
+			if( list.data[i] == value )
+				return true;
+		return false;
+	}
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.feature.detect.template;
+
+import boofcv.core.image.GeneralizedImageOps;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageSingleBand;
+import boofcv.testing.BoofTesting;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for template matching algorithms which are computed in the frequency domain.  Results are compared
+ * against the equivalent direct implementation.
+ *
+ * @author Peter Abeles
+ */
+public abstract class GeneralTemplateFourierTests<T extends ImageSingleBand> {
+
+	Random rand = new Random(234);
+
+	Class<T> imageType;
+
+	// direct implementation which the frequency domain implementation is compared against
+	TemplateMatchingIntensity<T> direct;
+
+	protected GeneralTemplateFourierTests(Class<T> imageType, TemplateMatchingIntensity<T> direct) {
+		this.imageType = imageType;
+		this.direct = direct;
+	}
+
+	/**
+	 * Creates a new instance of the algorithm being tested
+	 */
+	public abstract TemplateMatchingIntensity<T> createAlg();
+
+	public void allTests() {
+		compareToDirect();
+		templateTooLarge();
+	}
+
+	/**
+	 * Compare against the direct implementation.  Image shapes are not a power of two.  The same instance
+	 * is then used again with different pixel values and shapes to make sure the workspace is correctly reused.
+	 */
+	public void compareToDirect() {
+		TemplateMatchingIntensity<T> alg = createAlg();
+
+		compareToDirect(alg, 45, 37, 7, 10);
+		// same padded size, but a smaller image and different template
+		compareToDirect(alg, 41, 35, 9, 6);
+		compareToDirect(alg, 20, 25, 3, 4);
+	}
+
+	private void compareToDirect( TemplateMatchingIntensity<T> alg ,
+								  int imageWidth , int imageHeight , int templateWidth , int templateHeight ) {
+		T image = GeneralizedImageOps.createSingleBand(imageType, imageWidth, imageHeight);
+		T template = GeneralizedImageOps.createSingleBand(imageType, templateWidth, templateHeight);
+		GeneralizedImageOps.randomize(image, rand, 0, 200);
+		GeneralizedImageOps.randomize(template, rand, 0, 200);
+
+		alg.process(BoofTesting.createSubImageOf(image), template);
+		direct.process(image, template);
+
+		assertEquals(direct.getOffsetX(),alg.getOffsetX());
+		assertEquals(direct.getOffsetY(),alg.getOffsetY());
+
+		ImageFloat32 expected = direct.getIntensity();
+		ImageFloat32 found = alg.getIntensity();
+
+		int x0 = direct.getOffsetX();
+		int y0 = direct.getOffsetY();
+		int x1 = x0 + image.width - template.width;
+		int y1 = y0 + image.height - template.height;
+
+		for( int y = y0; y < y1; y++ ) {
+			for( int x = x0; x < x1; x++ ) {
+				float e = expected.get(x,y);
+				assertEquals(e,found.get(x,y),Math.max(1,Math.abs(e))*1e-4);
+			}
+		}
+	}
+
+	public void templateTooLarge() {
+		TemplateMatchingIntensity<T> alg = createAlg();
+
+		T image = GeneralizedImageOps.createSingleBand(imageType, 10, 12);
+		T template = GeneralizedImageOps.createSingleBand(imageType, 11, 5);
+
+		try {
+			alg.process(image,template);
+			fail("Exception should have been thrown");
+		} catch( IllegalArgumentException ignore ) {}
+	}
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.feature.orientation;
+
+import boofcv.abst.feature.describe.WrapDescribeSurf;
+import boofcv.abst.feature.detect.interest.GeneralFeatureDetector;
+import boofcv.abst.feature.detect.interest.InterestPointDetector;
+import boofcv.abst.filter.derivative.DerivedImageCache;
+import boofcv.abst.filter.derivative.ImageGradient;
+import boofcv.alg.misc.ImageTestingOps;
+import boofcv.factory.feature.describe.FactoryDescribeRegionPoint;
+import boofcv.factory.feature.detect.interest.FactoryDetectPoint;
+import boofcv.factory.feature.detect.interest.FactoryInterestPoint;
+import boofcv.factory.feature.orientation.FactoryOrientationAlgs;
+import boofcv.factory.filter.derivative.FactoryDerivative;
+import boofcv.struct.feature.SurfFeature;
+import boofcv.struct.image.ImageFloat32;
+import georegression.struct.point.Point2D_F64;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestOrientationGradientToImage {
+
+	Random rand = new Random(234);
+	int width = 60;
+	int height = 70;
+
+	ImageGradient<ImageFloat32,ImageFloat32> gradient =
+			FactoryDerivative.sobel(ImageFloat32.class,ImageFloat32.class);
+
+	@Test
+	public void simpleTest() {
+		ImageFloat32 input = new ImageFloat32(width,height);
+		ImageTestingOps.randomize(input,rand,0,50);
+
+		OrientationGradient<ImageFloat32> o = FactoryOrientationAlgs.average(5,false,ImageFloat32.class);
+		OrientationGradientToImage<ImageFloat32,ImageFloat32> alg = new OrientationGradientToImage<ImageFloat32,ImageFloat32>
+				(o,gradient,ImageFloat32.class,ImageFloat32.class);
+		alg.setImage(input);
+		double found = alg.compute(20,22);
+
+		// now compute it directly from the gradient
+		ImageFloat32 derivX = new ImageFloat32(width,height);
+		ImageFloat32 derivY = new ImageFloat32(width,height);
+		gradient.process(input,derivX,derivY);
+		o.setImage(derivX,derivY);
+		double expected = o.compute(20,22);
+
+		assertEquals(expected,found,1e-8);
+	}
+
+	/**
+	 * A detector, orientation estimator, and descriptor share one cache.  The same image buffer is used for
+	 * every frame and a new frame is never explicitly started.  Results must be the same as when each
+	 * algorithm computes the derived images itself.
+	 */
+	@Test
+	public void cache_reuseBuffer() {
+		DerivedImageCache<ImageFloat32,ImageFloat32> cache =
+				FactoryDerivative.cache(ImageFloat32.class,ImageFloat32.class);
+
+		InterestPointDetector<ImageFloat32> detector = FactoryInterestPoint.wrapPoint(createDetector(), cache);
+		OrientationImage<ImageFloat32> orientation =
+				FactoryOrientationAlgs.gradientToImage(FactoryOrientationAlgs.average(5,false,ImageFloat32.class),cache);
+		WrapDescribeSurf<ImageFloat32,ImageFloat32> describe = FactoryDescribeRegionPoint.surf(false,cache);
+
+		InterestPointDetector<ImageFloat32> detectorDirect =
+				FactoryInterestPoint.wrapPoint(createDetector(),ImageFloat32.class,ImageFloat32.class);
+		OrientationImage<ImageFloat32> orientationDirect = new OrientationGradientToImage<ImageFloat32,ImageFloat32>(
+				FactoryOrientationAlgs.average(5,false,ImageFloat32.class),gradient,ImageFloat32.class,ImageFloat32.class);
+		WrapDescribeSurf<ImageFloat32,ImageFloat32> describeDirect =
+				FactoryDescribeRegionPoint.surf(false,ImageFloat32.class);
+
+		ImageFloat32 input = new ImageFloat32(width,height);
+		for( int trial = 0; trial < 3; trial++ ) {
+			ImageTestingOps.randomize(input,rand,0,100);
+
+			detector.detect(input);
+			orientation.setImage(input);
+			describe.setImage(input);
+
+			detectorDirect.detect(input);
+			orientationDirect.setImage(input);
+			describeDirect.setImage(input);
+
+			assertEquals(detectorDirect.getNumberOfFeatures(),detector.getNumberOfFeatures());
+			assertTrue(detector.getNumberOfFeatures() > 0);
+			for( int i = 0; i < detector.getNumberOfFeatures(); i++ ) {
+				Point2D_F64 p = detector.getLocation(i);
+				Point2D_F64 e = detectorDirect.getLocation(i);
+				assertEquals(e.x,p.x,1e-8);
+				assertEquals(e.y,p.y,1e-8);
+
+				assertEquals(orientationDirect.compute(p.x,p.y),orientation.compute(p.x,p.y),1e-8);
+
+				SurfFeature expected = describeDirect.process(p.x,p.y,0,1,null);
+				SurfFeature found = describe.process(p.x,p.y,0,1,null);
+				for( int j = 0; j < expected.value.length; j++ )
+					assertEquals(expected.value[j],found.value[j],1e-8);
+			}
+		}
+		assertEquals(3,cache.getFrame());
+	}
+
+	private GeneralFeatureDetector<ImageFloat32,ImageFloat32> createDetector() {
+		return FactoryDetectPoint.createShiTomasi(2,false,1,20,ImageFloat32.class);
+	}
+}
@@ -18,9 +18,11 @@
 
 package boofcv.alg.feature.orientation;
 
+import boofcv.abst.filter.derivative.DerivedImageCache;
 import boofcv.alg.feature.orientation.impl.ImplOrientationImageAverageIntegral;
 import boofcv.alg.transform.ii.IntegralImageOps;
 import boofcv.core.image.GeneralizedImageOps;
+import boofcv.factory.filter.derivative.FactoryDerivative;
 import boofcv.struct.image.ImageFloat32;
 import org.junit.Test;
 
@@ -55,4 +57,32 @@ public class TestOrientationIntegralToImage {
 
 		assertEquals(expected,found,1e-8);
 	}
+
+	/**
+	 * The integral image should be taken from the cache
+	 */
+	@Test
+	public void cache() {
+		ImageFloat32 input = new ImageFloat32(30,40);
+		GeneralizedImageOps.randomize(input,rand,0,50);
+
+		ImplOrientationImageAverageIntegral o = new ImplOrientationImageAverageIntegral(5,2,2,1,ImageFloat32.class);
+		OrientationIntegralToImage alg = new OrientationIntegralToImage(o,ImageFloat32.class);
+		alg.setImage(input);
+		double expected = alg.compute(10,12);
+
+		DerivedImageCache<ImageFloat32,ImageFloat32> cache =
+				FactoryDerivative.cache(ImageFloat32.class,ImageFloat32.class);
+		cache.setInput(input);
+		cache.getIntegral();
+
+		// if the integral image is computed again it will be different
+		GeneralizedImageOps.fill(input,0);
+
+		alg.setCache(cache);
+		alg.setImage(input);
+		double found = alg.compute(10,12);
+
+		assertEquals(expected,found,1e-8);
+	}
 }
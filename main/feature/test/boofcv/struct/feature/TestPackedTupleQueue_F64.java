@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.struct.feature;
+
+import boofcv.abst.feature.associate.ScoreAssociatePackedEuclideanSq_F64;
+import boofcv.abst.feature.associate.WrapAssociateGreedy;
+import boofcv.alg.feature.associate.AssociateGreedy;
+import boofcv.struct.FastQueue;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestPackedTupleQueue_F64 {
+
+	Random rand = new Random(234);
+
+	/**
+	 * After the queue grows every element should reference the new block and the old values should be preserved
+	 */
+	@Test
+	public void growArray() {
+		PackedTupleQueue_F64 alg = new PackedTupleQueue_F64(3);
+		int N = alg.getMaxSize()*3+1;
+
+		for( int i = 0; i < N; i++ ) {
+			alg.pop().set(i,i+1,i+2);
+		}
+
+		assertEquals(N,alg.size());
+		assertTrue(alg.getMaxSize() >= N);
+		assertTrue(alg.block.length >= N*3);
+		for( int i = 0; i < alg.getMaxSize(); i++ ) {
+			PackedTupleDesc_F64 d = alg.data[i];
+			assertTrue(alg.block == d.data);
+			assertEquals(alg.getOffset(i),d.offset);
+			assertEquals(3,d.dof);
+		}
+		for( int i = 0; i < N; i++ ) {
+			PackedTupleDesc_F64 d = alg.get(i);
+			assertEquals(i,d.getDouble(0),1e-8);
+			assertEquals(i+1,d.getDouble(1),1e-8);
+			assertEquals(i+2,d.getDouble(2),1e-8);
+		}
+	}
+
+	/**
+	 * Adding a feature should copy its values into the block
+	 */
+	@Test
+	public void add() {
+		PackedTupleQueue_F64 alg = new PackedTupleQueue_F64(3);
+		alg.pop();
+
+		PackedTupleDesc_F64 d = new PackedTupleDesc_F64(3);
+		d.set(1,2,3);
+		alg.add(d);
+
+		assertEquals(2,alg.size());
+		assertTrue(d != alg.get(1));
+		assertTrue(alg.block == alg.get(1).data);
+		assertEquals(2,alg.block[alg.getOffset(1)+1],1e-8);
+	}
+
+	/**
+	 * Associate packed features and see if the same results are found as with regular features
+	 */
+	@Test
+	public void associate() {
+		int dof = 8;
+		PackedTupleQueue_F64 src = new PackedTupleQueue_F64(dof);
+		PackedTupleQueue_F64 dst = new PackedTupleQueue_F64(dof);
+
+		// destination features are the source features in reverse order with a little bit of noise
+		int N = 30;
+		for( int i = 0; i < N; i++ ) {
+			PackedTupleDesc_F64 d = src.pop();
+			for( int j = 0; j < dof; j++ ) {
+				d.data[d.offset+j] = rand.nextDouble()*10;
+			}
+		}
+		for( int i = N-1; i >= 0; i-- ) {
+			PackedTupleDesc_F64 s = src.get(i);
+			PackedTupleDesc_F64 d = dst.pop();
+			for( int j = 0; j < dof; j++ ) {
+				d.data[d.offset+j] = s.getDouble(j) + (rand.nextDouble()-0.5)*0.01;
+			}
+		}
+
+		WrapAssociateGreedy<PackedTupleDesc_F64> alg = new WrapAssociateGreedy<PackedTupleDesc_F64>(
+				new AssociateGreedy<PackedTupleDesc_F64>(new ScoreAssociatePackedEuclideanSq_F64(),Double.MAX_VALUE,true),-1);
+		alg.associate(src,dst);
+
+		FastQueue<AssociatedIndex> matches = alg.getMatches();
+		assertEquals(N,matches.size());
+		for( int i = 0; i < N; i++ ) {
+			AssociatedIndex a = matches.get(i);
+			assertEquals(N-1-a.src,a.dst);
+		}
+	}
+
+	@Test
+	public void copy() {
+		PackedTupleQueue_F64 alg = new PackedTupleQueue_F64(3);
+		alg.pop();
+		PackedTupleDesc_F64 d = alg.pop();
+		d.set(4,5,6);
+
+		PackedTupleDesc_F64 c = d.copy();
+		assertTrue(c.data != d.data);
+		assertEquals(0,c.offset);
+		assertEquals(3,c.data.length);
+		assertEquals(5,c.getDouble(1),1e-8);
+	}
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.struct.feature;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestSurfFeatureSet {
+
+	/**
+	 * Growing the set should preserve the descriptions and the sign of their Laplacian
+	 */
+	@Test
+	public void resize() {
+		SurfFeatureSet alg = new SurfFeatureSet(4,2);
+		assertTrue(alg.getMaxSize() >= 2);
+		alg.resize(2);
+
+		SurfFeature f = new SurfFeature(4);
+		for( int i = 0; i < 2; i++ ) {
+			f.value[0] = i;
+			f.laplacianPositive = i == 1;
+			alg.set(i,f);
+		}
+
+		int N = alg.getMaxSize()*3+1;
+		alg.resize(N);
+		assertEquals(N,alg.size());
+		assertTrue(alg.laplacianPositive.length >= N);
+
+		for( int i = 0; i < 2; i++ ) {
+			alg.get(i,f);
+			assertEquals(i,f.value[0],1e-8);
+			assertEquals(i == 1,f.laplacianPositive);
+		}
+	}
+
+	/**
+	 * Elements should be views into the block
+	 */
+	@Test
+	public void set_get() {
+		SurfFeatureSet alg = new SurfFeatureSet(4,5);
+		alg.resize(3);
+
+		SurfFeature f = new SurfFeature(4);
+		f.set(1,2,3,4);
+		f.laplacianPositive = true;
+		alg.set(2,f);
+
+		PackedTupleDesc_F64 d = alg.get(2);
+		assertTrue(d.data == alg.block);
+		assertEquals(3,d.getDouble(2),1e-8);
+		assertEquals(3,alg.block[alg.getOffset(2)+2],1e-8);
+
+		SurfFeature found = alg.get(2,null);
+		assertEquals(4,found.value[3],1e-8);
+		assertTrue(found.laplacianPositive);
+	}
+}
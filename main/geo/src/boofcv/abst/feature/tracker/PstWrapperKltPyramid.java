@@ -22,12 +22,11 @@ import boofcv.abst.filter.derivative.ImageGradient;
 import boofcv.alg.tracker.pklt.PkltManager;
 import boofcv.alg.tracker.pklt.PkltManagerConfig;
 import boofcv.alg.tracker.pklt.PyramidKltFeature;
-import boofcv.alg.transform.pyramid.PyramidOps;
+import boofcv.alg.transform.pyramid.PyramidGradientCache;
 import boofcv.alg.transform.pyramid.PyramidUpdateIntegerDown;
 import boofcv.factory.filter.derivative.FactoryDerivative;
 import boofcv.factory.transform.pyramid.FactoryPyramid;
 import boofcv.struct.image.ImageSingleBand;
-import boofcv.struct.pyramid.ImagePyramid;
 import boofcv.struct.pyramid.PyramidDiscrete;
 import boofcv.struct.pyramid.PyramidUpdaterDiscrete;
 
@@ -36,7 +35,15 @@ import java.util.List;
 
 
 /**
+ * <p>
  * Wrapper around {@link boofcv.alg.tracker.pklt.PyramidKltTracker} for {@link ImagePointTracker}
+ * </p>
+ *
+ * <p>
+ * The gradient of the image pyramid is stored in a {@link PyramidGradientCache}.  Other algorithms which process
+ * the tracker's pyramid, see {@link #getPyramid()}, can read the gradient from it instead of computing it again.
+ * They must not change the cache's input.
+ * </p>
  *
  * @author Peter Abeles
  */
@@ -46,11 +53,10 @@ public class PstWrapperKltPyramid <I extends ImageSingleBand,D extends ImageSing
 
 	PkltManager<I,D> trackManager;
 	PyramidUpdaterDiscrete<I>  inputPyramidUpdater;
-	ImageGradient<I,D> gradient;
 
 	PyramidDiscrete<I> basePyramid;
-	ImagePyramid<D> derivX;
-	ImagePyramid<D> derivY;
+	// computes and stores the gradient of each layer in the pyramid
+	PyramidGradientCache<I,D> gradientCache;
 
 	List<PointTrack> active = new ArrayList<PointTrack>();
 	List<PointTrack> spawned = new ArrayList<PointTrack>();
@@ -75,15 +81,13 @@ public class PstWrapperKltPyramid <I extends ImageSingleBand,D extends ImageSing
 					   PyramidUpdaterDiscrete<I> inputPyramidUpdater,
 					   ImageGradient<I,D> gradient ) {
 		this.trackManager = trackManager;
-		this.gradient = gradient;
 		this.inputPyramidUpdater = inputPyramidUpdater;
 
 		PkltManagerConfig<I, D> config = trackManager.getConfig();
 
 		// declare the image pyramid
 		basePyramid = new PyramidDiscrete<I>(config.typeInput,true,config.pyramidScaling);
-		derivX = new PyramidDiscrete<D>(config.typeDeriv,false,config.pyramidScaling);
-		derivY = new PyramidDiscrete<D>(config.typeDeriv,false,config.pyramidScaling);
+		gradientCache = new PyramidGradientCache<I,D>(gradient,config.typeDeriv);
 	}
 
 	/**
@@ -106,7 +110,7 @@ public class PstWrapperKltPyramid <I extends ImageSingleBand,D extends ImageSing
 	public void spawnTracks() {
 		spawned.clear();
 		
-		trackManager.spawnTracks(basePyramid,derivX,derivY);
+		trackManager.spawnTracks(basePyramid,gradientCache.getDerivX(),gradientCache.getDerivY());
 
 		// add new ones
 		for( PyramidKltFeature t : trackManager.getSpawned() ) {
@@ -149,10 +153,10 @@ public class PstWrapperKltPyramid <I extends ImageSingleBand,D extends ImageSing
 		
 		// update image pyramids
 		inputPyramidUpdater.update(image,basePyramid);
-		PyramidOps.gradient(basePyramid, gradient, derivX,derivY);
+		gradientCache.setInput(basePyramid);
 
 		// track features
-		trackManager.processFrame(basePyramid,derivX,derivY);
+		trackManager.processFrame(basePyramid,gradientCache.getDerivX(),gradientCache.getDerivY());
 
 		// remove dropped features
 		for( PyramidKltFeature t : trackManager.getDropped() ) {
@@ -194,6 +198,20 @@ public class PstWrapperKltPyramid <I extends ImageSingleBand,D extends ImageSing
 		return spawned;
 	}
 
+	/**
+	 * Image pyramid of the most recently processed image.
+	 */
+	public PyramidDiscrete<I> getPyramid() {
+		return basePyramid;
+	}
+
+	/**
+	 * Gradient of the most recently processed image pyramid.  Its input is set by the tracker each frame.
+	 */
+	public PyramidGradientCache<I, D> getGradientCache() {
+		return gradientCache;
+	}
+
 	public PkltManager<I, D> getTrackManager() {
 		return trackManager;
 	}
@@ -21,6 +21,7 @@ package boofcv.alg.filter.binary;
 import boofcv.alg.filter.binary.impl.ImplBinaryInnerOps;
 import boofcv.alg.filter.binary.impl.ImplBinaryNaiveOps;
 import boofcv.alg.misc.ImageTestingOps;
+import boofcv.struct.image.ImageBinaryPacked;
 import boofcv.struct.image.ImageUInt8;
 import com.google.caliper.Runner;
 import com.google.caliper.SimpleBenchmark;
@@ -38,6 +39,8 @@ public class BenchmarkBinaryOps extends SimpleBenchmark {
 
 	static ImageUInt8 input = new ImageUInt8(imgWidth, imgHeight);
 	static ImageUInt8 output = new ImageUInt8(imgWidth, imgHeight);
+	static ImageBinaryPacked inputPacked = new ImageBinaryPacked(imgWidth, imgHeight);
+	static ImageBinaryPacked outputPacked = new ImageBinaryPacked(imgWidth, imgHeight);
 
 	public BenchmarkBinaryOps() {
 		Random rand = new Random(234);
@@ -45,6 +48,7 @@ public class BenchmarkBinaryOps extends SimpleBenchmark {
 		// naive is some times faster in unstructured because it can escape earlier
 		ImageTestingOps.randomize(input, rand, 0, 1);
 //		ImageTestingOps.fillRectangle(input,1,100,200,150,100);
+		BinaryImageOps.pack(input,inputPacked);
 	}
 
 	public int timeNaiveErode4(int reps) {
@@ -173,6 +177,42 @@ public class BenchmarkBinaryOps extends SimpleBenchmark {
 		return 0;
 	}
 
+	public int timePackedErode4(int reps) {
+		for( int i = 0; i < reps; i++ )
+			BinaryImageOps.erode4(inputPacked, outputPacked);
+		return 0;
+	}
+
+	public int timePackedErode8(int reps) {
+		for( int i = 0; i < reps; i++ )
+			BinaryImageOps.erode8(inputPacked, outputPacked);
+		return 0;
+	}
+
+	public int timePackedDilate4(int reps) {
+		for( int i = 0; i < reps; i++ )
+			BinaryImageOps.dilate4(inputPacked, outputPacked);
+		return 0;
+	}
+
+	public int timePackedDilate8(int reps) {
+		for( int i = 0; i < reps; i++ )
+			BinaryImageOps.dilate8(inputPacked, outputPacked);
+		return 0;
+	}
+
+	public int timePackedEdge4(int reps) {
+		for( int i = 0; i < reps; i++ )
+			BinaryImageOps.edge4(inputPacked, outputPacked);
+		return 0;
+	}
+
+	public int timePackedEdge8(int reps) {
+		for( int i = 0; i < reps; i++ )
+			BinaryImageOps.edge8(inputPacked, outputPacked);
+		return 0;
+	}
+
 	public static void main(String args[]) {
 		System.out.println("=========  Profile Image Size " + imgWidth + " x " + imgHeight + " ==========");
 
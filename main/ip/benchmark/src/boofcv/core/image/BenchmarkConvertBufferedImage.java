@@ -21,6 +21,7 @@ package boofcv.core.image;
 import boofcv.misc.PerformerBase;
 import boofcv.misc.ProfileOperation;
 import boofcv.struct.image.ImageBase;
+import boofcv.struct.image.ImageInterleavedInt8;
 import boofcv.struct.image.ImageUInt8;
 import boofcv.struct.image.MultiSpectral;
 
@@ -141,5 +142,13 @@ public class BenchmarkConvertBufferedImage {
 		System.out.println();
 		System.out.println("=========  Profiling for ImageInterleavedInt8 ==========");
 		System.out.println();
+
+		System.out.println("---- TYPE_3BYTE_BGR ----");
+		createBufferedImage(BufferedImage.TYPE_3BYTE_BGR);
+		evaluateConvert(new ImageInterleavedInt8(imgWidth,imgHeight,3),"ImageInterleavedInt8");
+
+		System.out.println("---- TYPE_INT_RGB ----");
+		createBufferedImage(BufferedImage.TYPE_INT_RGB);
+		evaluateConvert(new ImageInterleavedInt8(imgWidth,imgHeight,3),"ImageInterleavedInt8");
 	}
 }
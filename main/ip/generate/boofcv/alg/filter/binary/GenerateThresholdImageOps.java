@@ -41,6 +41,9 @@ public class GenerateThresholdImageOps extends CodeGeneratorBase {
 		printAll(AutoTypeImage.U16);
 		printAll(AutoTypeImage.S32);
 
+		printLocal(AutoTypeImage.F32);
+		printLocal(AutoTypeImage.U8);
+
 		out.print("\n" +
 				"}\n");
 	}
@@ -49,12 +52,13 @@ public class GenerateThresholdImageOps extends CodeGeneratorBase {
 		setOutputFile(className);
 		out.print("import boofcv.alg.InputSanityCheck;\n" +
 				"import boofcv.alg.filter.binary.impl.ImplBinaryBlobLabeling;\n" +
+				"import boofcv.alg.filter.binary.impl.ImplThresholdAdaptive;\n" +
 				"import boofcv.misc.BoofMiscOps;\n" +
 				"import boofcv.struct.image.*;\n" +
 				"\n" +
 				"/**\n" +
 				" * <p>\n" +
-				" * Operations for thresholding images and converting them into a binary image.\n" +
+				" * Operations for thresholding images and converting them into a binary image, packed binary image, or labeled binary images.\n" +
 				" * </p>\n" +
 				" *\n" +
 				" * <p>\n" +
@@ -69,6 +73,7 @@ public class GenerateThresholdImageOps extends CodeGeneratorBase {
 
 	public void printAll( AutoTypeImage imageIn ) {
 		printThreshold(imageIn);
+		printThresholdPacked(imageIn);
 		printThresholdBlobs(imageIn);
 		printHysteresisLabel(imageIn,4);
 		printHysteresisLabel(imageIn,8);
@@ -126,6 +131,52 @@ public class GenerateThresholdImageOps extends CodeGeneratorBase {
 				"\t}\n\n");
 	}
 
+	public void printThresholdPacked( AutoTypeImage imageIn ) {
+		out.print("\t/**\n" +
+				"\t * Applies a global threshold across the whole image and writes the results directly into a\n" +
+				"\t * packed binary image.  See {@link #threshold("+imageIn.getImageName()+", ImageUInt8, "+imageIn.getSumType()+", boolean)}\n" +
+				"\t * for a description of the threshold.\n" +
+				"\t *\n" +
+				"\t * @param input Input image. Not modified.\n" +
+				"\t * @param output Packed binary output image. If null a new image will be declared. Modified.\n" +
+				"\t * @param threshold threshold value.\n" +
+				"\t * @param down If true inliers are below the threshold and false they are above the threshold.\n" +
+				"\t * @return Output image.\n" +
+				"\t */\n" +
+				"\tpublic static ImageBinaryPacked thresholdPacked( "+imageIn.getImageName()+" input , ImageBinaryPacked output ,\n" +
+				"\t\t\t\t\t\t\t\t\t\t\t\t\t"+imageIn.getSumType()+" threshold , boolean down )\n" +
+				"\t{\n" +
+				"\t\tif( output == null )\n" +
+				"\t\t\toutput = new ImageBinaryPacked(input.width,input.height);\n" +
+				"\t\telse\n" +
+				"\t\t\tInputSanityCheck.checkSameShape(input,output);\n" +
+				"\n" +
+				"\t\tfor( int y = 0; y < input.height; y++ ) {\n" +
+				"\t\t\tint indexIn = input.startIndex + y*input.stride;\n" +
+				"\t\t\tint indexOut = output.startIndex + y*output.stride;\n" +
+				"\n" +
+				"\t\t\tfor( int x = 0; x < input.width; x += ImageBinaryPacked.BITS ) {\n" +
+				"\t\t\t\tint length = Math.min(ImageBinaryPacked.BITS,input.width-x);\n" +
+				"\t\t\t\tlong word = 0;\n" +
+				"\t\t\t\tif( down ) {\n" +
+				"\t\t\t\t\tfor( int bit = 0; bit < length; bit++ , indexIn++ ) {\n" +
+				"\t\t\t\t\t\tif( (input.data[indexIn]"+imageIn.getBitWise()+") <= threshold )\n" +
+				"\t\t\t\t\t\t\tword |= 1L << bit;\n" +
+				"\t\t\t\t\t}\n" +
+				"\t\t\t\t} else {\n" +
+				"\t\t\t\t\tfor( int bit = 0; bit < length; bit++ , indexIn++ ) {\n" +
+				"\t\t\t\t\t\tif( (input.data[indexIn]"+imageIn.getBitWise()+") >= threshold )\n" +
+				"\t\t\t\t\t\t\tword |= 1L << bit;\n" +
+				"\t\t\t\t\t}\n" +
+				"\t\t\t\t}\n" +
+				"\t\t\t\toutput.data[indexOut++] = word;\n" +
+				"\t\t\t}\n" +
+				"\t\t}\n" +
+				"\n" +
+				"\t\treturn output;\n" +
+				"\t}\n\n");
+	}
+
 	public void printThresholdBlobs( AutoTypeImage imageIn ) {
 		out.print("\t/**\n" +
 				"\t * <p>\n" +
@@ -232,6 +283,102 @@ public class GenerateThresholdImageOps extends CodeGeneratorBase {
 				"\t}\n\n");
 	}
 
+	public void printLocal( AutoTypeImage imageIn ) {
+		String name = imageIn.getImageName();
+
+		out.print("\t/**\n" +
+				"\t * <p>\n" +
+				"\t * Adaptive threshold where each pixel is compared against the mean of the square region around it.\n" +
+				"\t * When thresholding down pixels <= mean - bias are set to one.  When thresholding up\n" +
+				"\t * pixels >= mean + bias are set to one.  The mean is computed using an integral image, making the\n" +
+				"\t * cost per pixel independent of the region's size.\n" +
+				"\t * </p>\n" +
+				"\t *\n" +
+				"\t * @param input Input image. Not modified.\n" +
+				"\t * @param output Binary output image. If null a new image will be declared. Modified.\n" +
+				"\t * @param radius Radius of the square region.  Width is radius*2+1.\n" +
+				"\t * @param bias Offset from the local mean.  Positive values make the threshold more stringent.\n" +
+				"\t * @param down If true inliers are below the threshold and false they are above the threshold.\n" +
+				"\t * @param work Work image for storing the integral image.  If null one will be declared internally.\n" +
+				"\t * @return Output image.\n" +
+				"\t */\n" +
+				"\tpublic static ImageUInt8 localMean( "+name+" input , ImageUInt8 output ,\n" +
+				"\t\t\t\t\t\t\t\t\t   int radius , double bias , boolean down ,\n" +
+				"\t\t\t\t\t\t\t\t\t   ImageFloat64 work )\n" +
+				"\t{\n" +
+				"\t\toutput = InputSanityCheck.checkDeclare(input,output,ImageUInt8.class);\n" +
+				"\t\twork = InputSanityCheck.checkReshape(work,input,ImageFloat64.class);\n" +
+				"\n" +
+				"\t\tImplThresholdAdaptive.localMean(input,output,radius,bias,down,work);\n" +
+				"\n" +
+				"\t\treturn output;\n" +
+				"\t}\n\n");
+
+		out.print("\t/**\n" +
+				"\t * <p>\n" +
+				"\t * Adaptive threshold where each pixel is compared against a Gaussian weighted local mean.\n" +
+				"\t * The Gaussian is approximated by applying a box filter three times using integral images, making the\n" +
+				"\t * cost per pixel independent of sigma.  See {@link #localMean} for how the threshold is applied.\n" +
+				"\t * </p>\n" +
+				"\t *\n" +
+				"\t * @param input Input image. Not modified.\n" +
+				"\t * @param output Binary output image. If null a new image will be declared. Modified.\n" +
+				"\t * @param sigma Standard deviation of the Gaussian.\n" +
+				"\t * @param bias Offset from the local mean.  Positive values make the threshold more stringent.\n" +
+				"\t * @param down If true inliers are below the threshold and false they are above the threshold.\n" +
+				"\t * @param work Work image for storing the integral image.  If null one will be declared internally.\n" +
+				"\t * @param work2 Work image for storing intermediate results.  If null one will be declared internally.\n" +
+				"\t * @return Output image.\n" +
+				"\t */\n" +
+				"\tpublic static ImageUInt8 localGaussian( "+name+" input , ImageUInt8 output ,\n" +
+				"\t\t\t\t\t\t\t\t\t\t   double sigma , double bias , boolean down ,\n" +
+				"\t\t\t\t\t\t\t\t\t\t   ImageFloat64 work , ImageFloat32 work2 )\n" +
+				"\t{\n" +
+				"\t\toutput = InputSanityCheck.checkDeclare(input,output,ImageUInt8.class);\n" +
+				"\t\twork = InputSanityCheck.checkReshape(work,input,ImageFloat64.class);\n" +
+				"\t\twork2 = InputSanityCheck.checkReshape(work2,input,ImageFloat32.class);\n" +
+				"\n" +
+				"\t\tImplThresholdAdaptive.localGaussian(input,output,sigma,bias,down,work,work2);\n" +
+				"\n" +
+				"\t\treturn output;\n" +
+				"\t}\n\n");
+
+		out.print("\t/**\n" +
+				"\t * <p>\n" +
+				"\t * Sauvola's adaptive threshold.  The threshold at each pixel is T = m*(1 + k*(s/R - 1)), where m and s\n" +
+				"\t * are the mean and standard deviation inside the square region around it.  Designed for images of text,\n" +
+				"\t * it is more robust than the local mean in regions with little texture.  Statistics are computed\n" +
+				"\t * using integral images.\n" +
+				"\t * </p>\n" +
+				"\t *\n" +
+				"\t * <p>\n" +
+				"\t * J. Sauvola and M. Pietikainen, \"Adaptive document image binarization\" Pattern Recognition, 2000\n" +
+				"\t * </p>\n" +
+				"\t *\n" +
+				"\t * @param input Input image. Not modified.\n" +
+				"\t * @param output Binary output image. If null a new image will be declared. Modified.\n" +
+				"\t * @param radius Radius of the square region.  Width is radius*2+1.\n" +
+				"\t * @param k Sensitivity to the standard deviation.  Try 0.3\n" +
+				"\t * @param R Dynamic range of the standard deviation.  Try 128 for 8-bit images.\n" +
+				"\t * @param down If true inliers are below the threshold and false they are above the threshold.\n" +
+				"\t * @param work Work image for storing the integral image.  If null one will be declared internally.\n" +
+				"\t * @param workSq Work image for storing the integral of squared values.  If null one will be declared internally.\n" +
+				"\t * @return Output image.\n" +
+				"\t */\n" +
+				"\tpublic static ImageUInt8 localSauvola( "+name+" input , ImageUInt8 output ,\n" +
+				"\t\t\t\t\t\t\t\t\t\t  int radius , double k , double R , boolean down ,\n" +
+				"\t\t\t\t\t\t\t\t\t\t  ImageFloat64 work , ImageFloat64 workSq )\n" +
+				"\t{\n" +
+				"\t\toutput = InputSanityCheck.checkDeclare(input,output,ImageUInt8.class);\n" +
+				"\t\twork = InputSanityCheck.checkReshape(work,input,ImageFloat64.class);\n" +
+				"\t\tworkSq = InputSanityCheck.checkReshape(workSq,input,ImageFloat64.class);\n" +
+				"\n" +
+				"\t\tImplThresholdAdaptive.localSauvola(input,output,radius,(float)k,(float)R,down,work,workSq);\n" +
+				"\n" +
+				"\t\treturn output;\n" +
+				"\t}\n\n");
+	}
+
 	public static void main( String args[] ) throws FileNotFoundException {
 		GenerateThresholdImageOps app = new GenerateThresholdImageOps();
 		app.generate();
@@ -39,6 +39,8 @@ public class GenerateWaveletTransformOps extends CodeGeneratorBase {
 	AutoTypeImage imageOut;
 	String genName;
 	String sumType;
+	// passes the lifting steps to floating point transforms
+	String lifting;
 	String bitWise;
 	String outputCast;
 
@@ -63,7 +65,7 @@ public class GenerateWaveletTransformOps extends CodeGeneratorBase {
 				"\n" +
 				"import boofcv.alg.InputSanityCheck;\n" +
 				"import boofcv.alg.wavelet.impl.ImplWaveletTransformBorder;\n" +
-				"import boofcv.alg.wavelet.impl.ImplWaveletTransformInner;\n" +
+				"import boofcv.alg.wavelet.impl.ImplWaveletTransformConcurrent;\n" +
 				"import boofcv.alg.wavelet.impl.ImplWaveletTransformNaive;\n" +
 				"import boofcv.struct.image.ImageFloat32;\n" +
 				"import boofcv.struct.image.ImageSInt32;\n" +
@@ -90,6 +92,12 @@ public class GenerateWaveletTransformOps extends CodeGeneratorBase {
 				" * </p>\n" +
 				" *\n" +
 				" * <p>\n" +
+				" * Inside of each level the rows and columns are split up across multiple threads, see\n" +
+				" * {@link ImplWaveletTransformConcurrent}.  If the floating point wavelet has a lifting factorization then\n" +
+				" * the inner portion of the image is computed using the lifting scheme.\n" +
+				" * </p>\n" +
+				" *\n" +
+				" * <p>\n" +
 				" * DO NOT MODIFY: This class was automatically generated by {@link boofcv.alg.wavelet.impl.Generate"+className+"}\n" +
 				" * </p>\n" +
 				" *\n" +
@@ -108,6 +116,7 @@ public class GenerateWaveletTransformOps extends CodeGeneratorBase {
 			genName = "F"+imageIn.getNumBits();
 
 		sumType = imageIn.getSumType();
+		lifting = imageIn.isInteger() ? "" : "desc.getLifting(),";
 		bitWise = imageIn.getBitWise();
 
 		if( sumType.compareTo(imageOut.getDataType()) == 0 ) {
@@ -155,9 +164,9 @@ public class GenerateWaveletTransformOps extends CodeGeneratorBase {
 				"\t\t\tImplWaveletTransformNaive.horizontal(desc.getBorder(),coef,input,storage);\n" +
 				"\t\t\tImplWaveletTransformNaive.vertical(desc.getBorder(),coef,storage,output);\n" +
 				"\t\t} else {\n" +
-				"\t\t\tImplWaveletTransformInner.horizontal(coef,input,storage);\n" +
+				"\t\t\tImplWaveletTransformConcurrent.horizontal("+lifting+"coef,input,storage);\n" +
 				"\t\t\tImplWaveletTransformBorder.horizontal(desc.getBorder(),coef,input,storage);\n" +
-				"\t\t\tImplWaveletTransformInner.vertical(coef,storage,output);\n" +
+				"\t\t\tImplWaveletTransformConcurrent.vertical("+lifting+"coef,storage,output);\n" +
 				"\t\t\tImplWaveletTransformBorder.vertical(desc.getBorder(),coef,storage,output);\n" +
 				"\t\t}\n" +
 				"\t}\n\n");
@@ -244,9 +253,9 @@ public class GenerateWaveletTransformOps extends CodeGeneratorBase {
 				"\t\t\tImplWaveletTransformNaive.verticalInverse(desc.getBorder(),desc.getInverse(),input,storage);\n" +
 				"\t\t\tImplWaveletTransformNaive.horizontalInverse(desc.getBorder(),desc.getInverse(),storage,output);\n" +
 				"\t\t} else {\n" +
-				"\t\t\tImplWaveletTransformInner.verticalInverse(desc.getInverse().getInnerCoefficients(),input,storage);\n" +
+				"\t\t\tImplWaveletTransformConcurrent.verticalInverse("+lifting+"desc.getInverse().getInnerCoefficients(),input,storage);\n" +
 				"\t\t\tImplWaveletTransformBorder.verticalInverse(desc.getBorder(),desc.getInverse(),input,storage);\n" +
-				"\t\t\tImplWaveletTransformInner.horizontalInverse(desc.getInverse().getInnerCoefficients(),storage,output);\n" +
+				"\t\t\tImplWaveletTransformConcurrent.horizontalInverse("+lifting+"desc.getInverse().getInnerCoefficients(),storage,output);\n" +
 				"\t\t\tImplWaveletTransformBorder.horizontalInverse(desc.getBorder(),desc.getInverse(),storage,output);\n" +
 				"\t\t}\n" +
 				"\t}\n\n");
@@ -53,8 +53,9 @@ public class GenerateConvertImage extends CodeGeneratorBase {
 			}
 		}
 
-		out.print("\n" +
-				"}\n");
+		printInterleaved();
+
+		out.print("}\n");
 	}
 
 	private void printPreamble() {
@@ -103,6 +104,156 @@ public class GenerateConvertImage extends CodeGeneratorBase {
 				"\t}\n\n");
 	}
 
+	private void printInterleaved() {
+		out.print(
+				"\t/**\n" +
+				"\t * <p>\n" +
+				"\t * Converts an {@link boofcv.struct.image.ImageInterleavedInt8} into a {@link boofcv.struct.image.MultiSpectral}\n" +
+				"\t * with a separate {@link boofcv.struct.image.ImageUInt8} for each band.\n" +
+				"\t * </p>\n" +
+				"\t *\n" +
+				"\t * @param input Input image which is being converted. Not modified.\n" +
+				"\t * @param output The output image.  If null a new image is created. Modified.\n" +
+				"\t */\n" +
+				"\tpublic static MultiSpectral<ImageUInt8> interleavedToMulti_U8(ImageInterleavedInt8 input, MultiSpectral<ImageUInt8> output) {\n" +
+				"\t\tif (output == null) {\n" +
+				"\t\t\toutput = new MultiSpectral<ImageUInt8>(ImageUInt8.class, input.width, input.height, input.numBands);\n" +
+				"\t\t} else {\n" +
+				"\t\t\tcheckSameBands(input.numBands, output.getNumBands());\n" +
+				"\t\t\tInputSanityCheck.checkSameShape(input, output);\n" +
+				"\t\t}\n" +
+				"\n" +
+				"\t\tfinal int numBands = input.numBands;\n" +
+				"\t\tfor (int i = 0; i < numBands; i++) {\n" +
+				"\t\t\tImageUInt8 band = output.getBand(i);\n" +
+				"\n" +
+				"\t\t\tfor (int y = 0; y < input.height; y++) {\n" +
+				"\t\t\t\tint indexFrom = input.startIndex + y*input.stride + i;\n" +
+				"\t\t\t\tint indexTo = band.startIndex + y*band.stride;\n" +
+				"\t\t\t\tint end = indexTo + input.width;\n" +
+				"\n" +
+				"\t\t\t\tfor (; indexTo < end; indexTo++, indexFrom += numBands) {\n" +
+				"\t\t\t\t\tband.data[indexTo] = input.data[indexFrom];\n" +
+				"\t\t\t\t}\n" +
+				"\t\t\t}\n" +
+				"\t\t}\n" +
+				"\n" +
+				"\t\treturn output;\n" +
+				"\t}\n" +
+				"\n" +
+				"\t/**\n" +
+				"\t * <p>\n" +
+				"\t * Converts an {@link boofcv.struct.image.ImageInterleavedInt8} into a {@link boofcv.struct.image.MultiSpectral}\n" +
+				"\t * with a separate {@link boofcv.struct.image.ImageFloat32} for each band.\n" +
+				"\t * </p>\n" +
+				"\t *\n" +
+				"\t * @param input Input image which is being converted. Not modified.\n" +
+				"\t * @param output The output image.  If null a new image is created. Modified.\n" +
+				"\t */\n" +
+				"\tpublic static MultiSpectral<ImageFloat32> interleavedToMulti_F32(ImageInterleavedInt8 input, MultiSpectral<ImageFloat32> output) {\n" +
+				"\t\tif (output == null) {\n" +
+				"\t\t\toutput = new MultiSpectral<ImageFloat32>(ImageFloat32.class, input.width, input.height, input.numBands);\n" +
+				"\t\t} else {\n" +
+				"\t\t\tcheckSameBands(input.numBands, output.getNumBands());\n" +
+				"\t\t\tInputSanityCheck.checkSameShape(input, output);\n" +
+				"\t\t}\n" +
+				"\n" +
+				"\t\tfinal int numBands = input.numBands;\n" +
+				"\t\tfor (int i = 0; i < numBands; i++) {\n" +
+				"\t\t\tImageFloat32 band = output.getBand(i);\n" +
+				"\n" +
+				"\t\t\tfor (int y = 0; y < input.height; y++) {\n" +
+				"\t\t\t\tint indexFrom = input.startIndex + y*input.stride + i;\n" +
+				"\t\t\t\tint indexTo = band.startIndex + y*band.stride;\n" +
+				"\t\t\t\tint end = indexTo + input.width;\n" +
+				"\n" +
+				"\t\t\t\tfor (; indexTo < end; indexTo++, indexFrom += numBands) {\n" +
+				"\t\t\t\t\tband.data[indexTo] = input.data[indexFrom] & 0xFF;\n" +
+				"\t\t\t\t}\n" +
+				"\t\t\t}\n" +
+				"\t\t}\n" +
+				"\n" +
+				"\t\treturn output;\n" +
+				"\t}\n" +
+				"\n" +
+				"\t/**\n" +
+				"\t * <p>\n" +
+				"\t * Converts a {@link boofcv.struct.image.MultiSpectral} composed of {@link boofcv.struct.image.ImageUInt8}\n" +
+				"\t * into an {@link boofcv.struct.image.ImageInterleavedInt8}.\n" +
+				"\t * </p>\n" +
+				"\t *\n" +
+				"\t * @param input Input image which is being converted. Not modified.\n" +
+				"\t * @param output The output image.  If null a new image is created. Modified.\n" +
+				"\t */\n" +
+				"\tpublic static ImageInterleavedInt8 multiToInterleaved_U8(MultiSpectral<ImageUInt8> input, ImageInterleavedInt8 output) {\n" +
+				"\t\tif (output == null) {\n" +
+				"\t\t\toutput = new ImageInterleavedInt8(input.width, input.height, input.getNumBands());\n" +
+				"\t\t} else {\n" +
+				"\t\t\tcheckSameBands(input.getNumBands(), output.numBands);\n" +
+				"\t\t\tInputSanityCheck.checkSameShape(input, output);\n" +
+				"\t\t}\n" +
+				"\n" +
+				"\t\tfinal int numBands = output.numBands;\n" +
+				"\t\tfor (int i = 0; i < numBands; i++) {\n" +
+				"\t\t\tImageUInt8 band = input.getBand(i);\n" +
+				"\n" +
+				"\t\t\tfor (int y = 0; y < input.height; y++) {\n" +
+				"\t\t\t\tint indexFrom = band.startIndex + y*band.stride;\n" +
+				"\t\t\t\tint indexTo = output.startIndex + y*output.stride + i;\n" +
+				"\t\t\t\tint end = indexFrom + input.width;\n" +
+				"\n" +
+				"\t\t\t\tfor (; indexFrom < end; indexFrom++, indexTo += numBands) {\n" +
+				"\t\t\t\t\toutput.data[indexTo] = band.data[indexFrom];\n" +
+				"\t\t\t\t}\n" +
+				"\t\t\t}\n" +
+				"\t\t}\n" +
+				"\n" +
+				"\t\treturn output;\n" +
+				"\t}\n" +
+				"\n" +
+				"\t/**\n" +
+				"\t * <p>\n" +
+				"\t * Converts a {@link boofcv.struct.image.MultiSpectral} composed of {@link boofcv.struct.image.ImageFloat32}\n" +
+				"\t * into an {@link boofcv.struct.image.ImageInterleavedInt8}.  Values are truncated the same way as when\n" +
+				"\t * converting from {@link boofcv.struct.image.ImageFloat32} into {@link boofcv.struct.image.ImageUInt8}.\n" +
+				"\t * </p>\n" +
+				"\t *\n" +
+				"\t * @param input Input image which is being converted. Not modified.\n" +
+				"\t * @param output The output image.  If null a new image is created. Modified.\n" +
+				"\t */\n" +
+				"\tpublic static ImageInterleavedInt8 multiToInterleaved_F32(MultiSpectral<ImageFloat32> input, ImageInterleavedInt8 output) {\n" +
+				"\t\tif (output == null) {\n" +
+				"\t\t\toutput = new ImageInterleavedInt8(input.width, input.height, input.getNumBands());\n" +
+				"\t\t} else {\n" +
+				"\t\t\tcheckSameBands(input.getNumBands(), output.numBands);\n" +
+				"\t\t\tInputSanityCheck.checkSameShape(input, output);\n" +
+				"\t\t}\n" +
+				"\n" +
+				"\t\tfinal int numBands = output.numBands;\n" +
+				"\t\tfor (int i = 0; i < numBands; i++) {\n" +
+				"\t\t\tImageFloat32 band = input.getBand(i);\n" +
+				"\n" +
+				"\t\t\tfor (int y = 0; y < input.height; y++) {\n" +
+				"\t\t\t\tint indexFrom = band.startIndex + y*band.stride;\n" +
+				"\t\t\t\tint indexTo = output.startIndex + y*output.stride + i;\n" +
+				"\t\t\t\tint end = indexFrom + input.width;\n" +
+				"\n" +
+				"\t\t\t\tfor (; indexFrom < end; indexFrom++, indexTo += numBands) {\n" +
+				"\t\t\t\t\toutput.data[indexTo] = (byte)band.data[indexFrom];\n" +
+				"\t\t\t\t}\n" +
+				"\t\t\t}\n" +
+				"\t\t}\n" +
+				"\n" +
+				"\t\treturn output;\n" +
+				"\t}\n" +
+				"\n" +
+				"\tprivate static void checkSameBands(int numBandsA, int numBandsB) {\n" +
+				"\t\tif (numBandsA != numBandsB)\n" +
+				"\t\t\tthrow new IllegalArgumentException(\"Number of bands do not match. \" + numBandsA + \" \" + numBandsB);\n" +
+				"\t}\n" +
+				"\n");
+	}
+
 	public static void main( String args[] ) throws FileNotFoundException {
 		GenerateConvertImage app = new GenerateConvertImage();
 
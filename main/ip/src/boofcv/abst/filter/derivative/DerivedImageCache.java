@@ -0,0 +1,300 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.abst.filter.derivative;
+
+import boofcv.alg.transform.ii.GIntegralImageOps;
+import boofcv.core.image.GeneralizedImageOps;
+import boofcv.struct.image.ImageSingleBand;
+import boofcv.struct.pyramid.ImagePyramid;
+import boofcv.struct.pyramid.PyramidUpdater;
+
+/**
+ * <p>
+ * Caches images which are derived from the same input image so that they are only computed once per frame, even
+ * when several algorithms in a processing chain need them.  For example, the detector, orientation estimator,
+ * and descriptor can share the same gradient or integral image.  Each derived image is computed lazily the first
+ * time it is requested after a new input image has been specified.  Storage is reused between frames.
+ * </p>
+ *
+ * <p>
+ * Each time the derived images are computed from a new frame the frame number is incremented.  Algorithms which
+ * are passed the input image call {@link #process(ImageSingleBand, long)} with the frame number they last used.
+ * The cache starts a new frame if the image is a different instance or if that algorithm has already used the
+ * current frame, which happens when a single image buffer is reused for each frame in a video sequence.  The owner
+ * of the processing chain can also start a new frame explicitly with {@link #setInput}.
+ * </p>
+ *
+ * <p>
+ * NOTE: An algorithm which is passed the same image more than once per frame will cause it to be processed again.
+ * </p>
+ *
+ * <p>
+ * Cached data: gradient, Hessian, integral image, image pyramid (optional), and arbitrary derivatives computed
+ * by {@link AnyImageDerivative} (optional).
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+@SuppressWarnings({"unchecked"})
+public class DerivedImageCache<I extends ImageSingleBand, D extends ImageSingleBand> {
+
+	// algorithms used to compute derived images
+	private ImageGradient<I,D> gradient;
+	private ImageHessian<D> hessian;
+	private PyramidUpdater<I,ImagePyramid<I>> pyramidUpdater;
+	private AnyImageDerivative<I,D> anyDerivative;
+
+	// value of the frame number before any input has been specified
+	public static final long NO_FRAME = -1;
+
+	// image the derived images are computed from
+	private I input;
+	// incremented each time a new frame is started
+	private long frame = 0;
+
+	private D derivX, derivY;
+	private D derivXX, derivYY, derivXY;
+	private ImageSingleBand integral;
+	private ImagePyramid<I> pyramid;
+
+	// indicates if the derived images need to be computed again
+	private boolean staleGradient = true;
+	private boolean staleHessian = true;
+	private boolean staleIntegral = true;
+	private boolean stalePyramid = true;
+
+	private Class<I> inputType;
+	private Class<D> derivType;
+
+	/**
+	 * Specifies how the image derivatives are computed.
+	 *
+	 * @param gradient Computes the image gradient.
+	 * @param hessian Computes the Hessian from the gradient.  Can be null if not used.
+	 * @param inputType Type of input image.
+	 * @param derivType Type of derivative image.
+	 */
+	public DerivedImageCache(ImageGradient<I, D> gradient, ImageHessian<D> hessian,
+							 Class<I> inputType, Class<D> derivType) {
+		this.gradient = gradient;
+		this.hessian = hessian;
+		this.inputType = inputType;
+		this.derivType = derivType;
+	}
+
+	/**
+	 * Specifies the pyramid which is updated from the input image.
+	 *
+	 * @param pyramid Image pyramid which is used to store the results.
+	 * @param updater Updates the pyramid from the input image.
+	 */
+	public void setPyramid( ImagePyramid<I> pyramid , PyramidUpdater<I,? extends ImagePyramid<I>> updater ) {
+		this.pyramid = pyramid;
+		this.pyramidUpdater = (PyramidUpdater)updater;
+		this.stalePyramid = true;
+	}
+
+	/**
+	 * Specifies an {@link AnyImageDerivative} whose input is updated along with the cache.
+	 */
+	public void setAnyDerivative( AnyImageDerivative<I, D> anyDerivative ) {
+		this.anyDerivative = anyDerivative;
+		if( anyDerivative != null && input != null )
+			anyDerivative.setInput(input);
+	}
+
+	/**
+	 * Specifies a new input image, starts a new frame, and marks all derived images as out of date.
+	 *
+	 * @param input Input image.  Not modified.
+	 */
+	public void setInput( I input ) {
+		this.input = input;
+		frame++;
+		staleGradient = staleHessian = staleIntegral = stalePyramid = true;
+		if( anyDerivative != null )
+			anyDerivative.setInput(input);
+	}
+
+	/**
+	 * <p>
+	 * Called by algorithms which are passed the input image.  A new frame is started if it is a different
+	 * image from the current input or if the same algorithm has already used the current frame.  Otherwise results
+	 * computed for another algorithm during the current frame are reused.
+	 * </p>
+	 *
+	 * <p>
+	 * The returned frame number must be saved by the caller and passed in next time.  Initially {@link #NO_FRAME}
+	 * should be passed in.
+	 * </p>
+	 *
+	 * @param input Input image.  Not modified.
+	 * @param lastFrame The frame number returned the last time the caller invoked this function.
+	 * @return The current frame number.
+	 */
+	public long process( I input , long lastFrame ) {
+		if( this.input != input || lastFrame == frame )
+			setInput(input);
+		return frame;
+	}
+
+	/**
+	 * Number of the current frame.  Incremented each time a new frame is started.
+	 */
+	public long getFrame() {
+		return frame;
+	}
+
+	public I getInput() {
+		return input;
+	}
+
+	/**
+	 * Image derivative along the x-axis
+	 */
+	public D getDerivX() {
+		updateGradient();
+		return derivX;
+	}
+
+	/**
+	 * Image derivative along the y-axis
+	 */
+	public D getDerivY() {
+		updateGradient();
+		return derivY;
+	}
+
+	public D getDerivXX() {
+		updateHessian();
+		return derivXX;
+	}
+
+	public D getDerivYY() {
+		updateHessian();
+		return derivYY;
+	}
+
+	public D getDerivXY() {
+		updateHessian();
+		return derivXY;
+	}
+
+	/**
+	 * Integral image of the input image.  See {@link GIntegralImageOps#getIntegralType} for its type.
+	 */
+	public <II extends ImageSingleBand> II getIntegral() {
+		checkInput();
+		if( staleIntegral ) {
+			if( integral == null )
+				integral = GeneralizedImageOps.createSingleBand(
+						GIntegralImageOps.getIntegralType(inputType), input.width, input.height);
+			else
+				integral.reshape(input.width,input.height);
+			GIntegralImageOps.transform(input,integral);
+			staleIntegral = false;
+		}
+		return (II)integral;
+	}
+
+	/**
+	 * Image pyramid computed from the input image.  See {@link #setPyramid}.
+	 */
+	public ImagePyramid<I> getPyramid() {
+		checkInput();
+		if( pyramid == null )
+			throw new IllegalArgumentException("A pyramid has not been specified");
+		if( stalePyramid ) {
+			if( !pyramid.isInitialized() || pyramid.getInputWidth() != input.width ||
+					pyramid.getInputHeight() != input.height )
+				pyramid.initialize(input.width,input.height);
+			pyramidUpdater.update(input,pyramid);
+			stalePyramid = false;
+		}
+		return pyramid;
+	}
+
+	/**
+	 * Derivative of arbitrary order.  See {@link AnyImageDerivative#getDerivative(boolean...)}.
+	 */
+	public D getDerivative( boolean... isX ) {
+		checkInput();
+		if( anyDerivative == null )
+			throw new IllegalArgumentException("AnyImageDerivative has not been specified");
+		return anyDerivative.getDerivative(isX);
+	}
+
+	private void updateGradient() {
+		checkInput();
+		if( !staleGradient )
+			return;
+
+		if( derivX == null ) {
+			derivX = GeneralizedImageOps.createSingleBand(derivType,input.width,input.height);
+			derivY = GeneralizedImageOps.createSingleBand(derivType,input.width,input.height);
+		} else {
+			derivX.reshape(input.width,input.height);
+			derivY.reshape(input.width,input.height);
+		}
+		gradient.process(input,derivX,derivY);
+		staleGradient = false;
+	}
+
+	private void updateHessian() {
+		if( hessian == null )
+			throw new IllegalArgumentException("A Hessian has not been specified");
+		updateGradient();
+		if( !staleHessian )
+			return;
+
+		if( derivXX == null ) {
+			derivXX = GeneralizedImageOps.createSingleBand(derivType,input.width,input.height);
+			derivYY = GeneralizedImageOps.createSingleBand(derivType,input.width,input.height);
+			derivXY = GeneralizedImageOps.createSingleBand(derivType,input.width,input.height);
+		} else {
+			derivXX.reshape(input.width,input.height);
+			derivYY.reshape(input.width,input.height);
+			derivXY.reshape(input.width,input.height);
+		}
+		hessian.process(derivX,derivY,derivXX,derivYY,derivXY);
+		staleHessian = false;
+	}
+
+	private void checkInput() {
+		if( input == null )
+			throw new IllegalArgumentException("The input image has not been specified");
+	}
+
+	public ImageGradient<I, D> getGradient() {
+		return gradient;
+	}
+
+	public ImageHessian<D> getHessian() {
+		return hessian;
+	}
+
+	public Class<I> getInputType() {
+		return inputType;
+	}
+
+	public Class<D> getDerivType() {
+		return derivType;
+	}
+}
@@ -0,0 +1,384 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.color;
+
+import boofcv.alg.InputSanityCheck;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageInterleavedInt8;
+import boofcv.struct.image.ImageUInt8;
+import boofcv.struct.image.MultiSpectral;
+
+/**
+ * <p>
+ * Conversion between RGB and HSV color spaces.  V is the maximum of the three colors and S is the difference
+ * between the maximum and minimum, divided by the maximum.  When S is zero the hue is undefined and set to zero.
+ * </p>
+ *
+ * <p>
+ * Floating point images store H in radians from 0 to 2&pi;, S from 0 to 1, and V in the same units as the
+ * RGB image.  8-bit images store H from 0 to 255, where 256 is a full circle, S from 0 to 255, and V from 0 to 255.
+ * The 8-bit functions are computed using integer math only.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ColorHsv {
+
+	public static final float PI2 = (float)(2.0*Math.PI);
+
+	/**
+	 * Converts a single RGB pixel into HSV.
+	 *
+	 * @param r red
+	 * @param g green
+	 * @param b blue
+	 * @param hsv (output) H in radians, S from 0 to 1, V.
+	 */
+	public static void rgbToHsv( float r , float g , float b , float hsv[] ) {
+		float max = r > g ? (r > b ? r : b) : (g > b ? g : b);
+		float min = r < g ? (r < b ? r : b) : (g < b ? g : b);
+		float delta = max - min;
+
+		hsv[2] = max;
+
+		if( delta == 0 || max == 0 ) {
+			hsv[0] = 0;
+			hsv[1] = 0;
+			return;
+		}
+
+		hsv[1] = delta/max;
+
+		float h;
+		if( r == max )
+			h = (g-b)/delta;
+		else if( g == max )
+			h = 2 + (b-r)/delta;
+		else
+			h = 4 + (r-g)/delta;
+
+		h *= PI2/6.0f;
+		if( h < 0 )
+			h += PI2;
+		hsv[0] = h;
+	}
+
+	/**
+	 * Converts a single HSV pixel into RGB.
+	 *
+	 * @param h hue in radians
+	 * @param s saturation from 0 to 1
+	 * @param v value
+	 * @param rgb (output) RGB values
+	 */
+	public static void hsvToRgb( float h , float s , float v , float rgb[] ) {
+		if( s == 0 ) {
+			rgb[0] = rgb[1] = rgb[2] = v;
+			return;
+		}
+
+		h *= 6.0f/PI2;
+		int sector = (int)h;
+		float f = h - sector;
+		float p = v*(1-s);
+		float q = v*(1-s*f);
+		float t = v*(1-s*(1-f));
+
+		switch( sector ) {
+			case 0: rgb[0] = v; rgb[1] = t; rgb[2] = p; break;
+			case 1: rgb[0] = q; rgb[1] = v; rgb[2] = p; break;
+			case 2: rgb[0] = p; rgb[1] = v; rgb[2] = t; break;
+			case 3: rgb[0] = p; rgb[1] = q; rgb[2] = v; break;
+			case 4: rgb[0] = t; rgb[1] = p; rgb[2] = v; break;
+			default: rgb[0] = v; rgb[1] = p; rgb[2] = q; break;
+		}
+	}
+
+	/**
+	 * Converts a single 8-bit RGB pixel into HSV using integer math.
+	 *
+	 * @param r red. 0 to 255
+	 * @param g green. 0 to 255
+	 * @param b blue. 0 to 255
+	 * @param hsv (output) HSV values. 0 to 255
+	 */
+	public static void rgbToHsv( int r , int g , int b , int hsv[] ) {
+		int max = r > g ? (r > b ? r : b) : (g > b ? g : b);
+		int min = r < g ? (r < b ? r : b) : (g < b ? g : b);
+		int delta = max - min;
+
+		hsv[2] = max;
+
+		if( delta == 0 ) {
+			hsv[0] = 0;
+			hsv[1] = 0;
+		} else {
+			hsv[0] = hue(r,g,b,max,delta);
+			hsv[1] = (255*delta + max/2)/max;
+		}
+	}
+
+	/**
+	 * Converts a single 8-bit HSV pixel into RGB using integer math.
+	 *
+	 * @param h hue. 0 to 255
+	 * @param s saturation. 0 to 255
+	 * @param v value. 0 to 255
+	 * @param rgb (output) RGB values. 0 to 255
+	 */
+	public static void hsvToRgb( int h , int s , int v , int rgb[] ) {
+		if( s == 0 ) {
+			rgb[0] = rgb[1] = rgb[2] = v;
+			return;
+		}
+
+		int hh = h*6;
+		int sector = hh >> 8;
+		int f = hh & 0xFF;
+
+		int p = (v*(255-s) + 127)/255;
+		int q = (v*(65280 - s*f) + 32640)/65280;
+		int t = (v*(65280 - s*(256-f)) + 32640)/65280;
+
+		switch( sector ) {
+			case 0: rgb[0] = v; rgb[1] = t; rgb[2] = p; break;
+			case 1: rgb[0] = q; rgb[1] = v; rgb[2] = p; break;
+			case 2: rgb[0] = p; rgb[1] = v; rgb[2] = t; break;
+			case 3: rgb[0] = p; rgb[1] = q; rgb[2] = v; break;
+			case 4: rgb[0] = t; rgb[1] = p; rgb[2] = v; break;
+			default: rgb[0] = v; rgb[1] = p; rgb[2] = q; break;
+		}
+	}
+
+	/**
+	 * Converts a RGB image into HSV.
+	 *
+	 * @param rgb Input image with three bands in RGB order. Not modified.
+	 * @param hsv Output HSV image. Modified.
+	 */
+	public static void rgbToHsv_F32( MultiSpectral<ImageFloat32> rgb , MultiSpectral<ImageFloat32> hsv ) {
+		checkBands(rgb.getNumBands());
+		checkBands(hsv.getNumBands());
+		InputSanityCheck.checkSameShape(rgb, hsv);
+
+		float[] dataR = rgb.getBand(0).data;
+		float[] dataG = rgb.getBand(1).data;
+		float[] dataB = rgb.getBand(2).data;
+		float[] dataH = hsv.getBand(0).data;
+		float[] dataS = hsv.getBand(1).data;
+		float[] dataV = hsv.getBand(2).data;
+
+		float pixel[] = new float[3];
+
+		for( int row = 0; row < rgb.height; row++ ) {
+			int indexSrc = rgb.startIndex + row*rgb.stride;
+			int indexDst = hsv.startIndex + row*hsv.stride;
+			int end = indexSrc + rgb.width;
+
+			for( ; indexSrc < end; indexSrc++ , indexDst++ ) {
+				rgbToHsv(dataR[indexSrc],dataG[indexSrc],dataB[indexSrc],pixel);
+
+				dataH[indexDst] = pixel[0];
+				dataS[indexDst] = pixel[1];
+				dataV[indexDst] = pixel[2];
+			}
+		}
+	}
+
+	/**
+	 * Converts a HSV image into RGB.
+	 *
+	 * @param hsv Input HSV image. Not modified.
+	 * @param rgb Output image with three bands in RGB order. Modified.
+	 */
+	public static void hsvToRgb_F32( MultiSpectral<ImageFloat32> hsv , MultiSpectral<ImageFloat32> rgb ) {
+		checkBands(hsv.getNumBands());
+		checkBands(rgb.getNumBands());
+		InputSanityCheck.checkSameShape(hsv, rgb);
+
+		float[] dataH = hsv.getBand(0).data;
+		float[] dataS = hsv.getBand(1).data;
+		float[] dataV = hsv.getBand(2).data;
+		float[] dataR = rgb.getBand(0).data;
+		float[] dataG = rgb.getBand(1).data;
+		float[] dataB = rgb.getBand(2).data;
+
+		float pixel[] = new float[3];
+
+		for( int row = 0; row < hsv.height; row++ ) {
+			int indexSrc = hsv.startIndex + row*hsv.stride;
+			int indexDst = rgb.startIndex + row*rgb.stride;
+			int end = indexSrc + hsv.width;
+
+			for( ; indexSrc < end; indexSrc++ , indexDst++ ) {
+				hsvToRgb(dataH[indexSrc],dataS[indexSrc],dataV[indexSrc],pixel);
+
+				dataR[indexDst] = pixel[0];
+				dataG[indexDst] = pixel[1];
+				dataB[indexDst] = pixel[2];
+			}
+		}
+	}
+
+	/**
+	 * Converts a RGB image into HSV.
+	 *
+	 * @param rgb Input image with three bands in RGB order. Not modified.
+	 * @param hsv Output HSV image. Modified.
+	 */
+	public static void rgbToHsv_U8( MultiSpectral<ImageUInt8> rgb , MultiSpectral<ImageUInt8> hsv ) {
+		checkBands(rgb.getNumBands());
+		checkBands(hsv.getNumBands());
+		InputSanityCheck.checkSameShape(rgb, hsv);
+
+		byte[] dataR = rgb.getBand(0).data;
+		byte[] dataG = rgb.getBand(1).data;
+		byte[] dataB = rgb.getBand(2).data;
+		byte[] dataH = hsv.getBand(0).data;
+		byte[] dataS = hsv.getBand(1).data;
+		byte[] dataV = hsv.getBand(2).data;
+
+		for( int row = 0; row < rgb.height; row++ ) {
+			int indexSrc = rgb.startIndex + row*rgb.stride;
+			int indexDst = hsv.startIndex + row*hsv.stride;
+			int end = indexSrc + rgb.width;
+
+			for( ; indexSrc < end; indexSrc++ , indexDst++ ) {
+				int r = dataR[indexSrc] & 0xFF;
+				int g = dataG[indexSrc] & 0xFF;
+				int b = dataB[indexSrc] & 0xFF;
+
+				int max = r > g ? (r > b ? r : b) : (g > b ? g : b);
+				int min = r < g ? (r < b ? r : b) : (g < b ? g : b);
+				int delta = max - min;
+
+				dataV[indexDst] = (byte)max;
+				if( delta == 0 ) {
+					dataH[indexDst] = 0;
+					dataS[indexDst] = 0;
+				} else {
+					dataH[indexDst] = (byte)hue(r,g,b,max,delta);
+					dataS[indexDst] = (byte)((255*delta + max/2)/max);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Converts a HSV image into RGB.
+	 *
+	 * @param hsv Input HSV image. Not modified.
+	 * @param rgb Output image with three bands in RGB order. Modified.
+	 */
+	public static void hsvToRgb_U8( MultiSpectral<ImageUInt8> hsv , MultiSpectral<ImageUInt8> rgb ) {
+		checkBands(hsv.getNumBands());
+		checkBands(rgb.getNumBands());
+		InputSanityCheck.checkSameShape(hsv, rgb);
+
+		byte[] dataH = hsv.getBand(0).data;
+		byte[] dataS = hsv.getBand(1).data;
+		byte[] dataV = hsv.getBand(2).data;
+		byte[] dataR = rgb.getBand(0).data;
+		byte[] dataG = rgb.getBand(1).data;
+		byte[] dataB = rgb.getBand(2).data;
+
+		int pixel[] = new int[3];
+
+		for( int row = 0; row < hsv.height; row++ ) {
+			int indexSrc = hsv.startIndex + row*hsv.stride;
+			int indexDst = rgb.startIndex + row*rgb.stride;
+			int end = indexSrc + hsv.width;
+
+			for( ; indexSrc < end; indexSrc++ , indexDst++ ) {
+				hsvToRgb(dataH[indexSrc] & 0xFF,dataS[indexSrc] & 0xFF,dataV[indexSrc] & 0xFF,pixel);
+
+				dataR[indexDst] = (byte)pixel[0];
+				dataG[indexDst] = (byte)pixel[1];
+				dataB[indexDst] = (byte)pixel[2];
+			}
+		}
+	}
+
+	/**
+	 * Converts an interleaved RGB image into a HSV image with a separate band for each channel.
+	 *
+	 * @param rgb Input image with three bands in RGB order. Not modified.
+	 * @param hsv Output HSV image. Modified.
+	 */
+	public static void rgbToHsv( ImageInterleavedInt8 rgb , MultiSpectral<ImageUInt8> hsv ) {
+		checkBands(rgb.numBands);
+		checkBands(hsv.getNumBands());
+		InputSanityCheck.checkSameShape(rgb, hsv);
+
+		byte[] data = rgb.data;
+		byte[] dataH = hsv.getBand(0).data;
+		byte[] dataS = hsv.getBand(1).data;
+		byte[] dataV = hsv.getBand(2).data;
+
+		for( int row = 0; row < rgb.height; row++ ) {
+			int indexSrc = rgb.startIndex + row*rgb.stride;
+			int indexDst = hsv.startIndex + row*hsv.stride;
+			int end = indexDst + rgb.width;
+
+			for( ; indexDst < end; indexDst++ ) {
+				int r = data[indexSrc++] & 0xFF;
+				int g = data[indexSrc++] & 0xFF;
+				int b = data[indexSrc++] & 0xFF;
+
+				int max = r > g ? (r > b ? r : b) : (g > b ? g : b);
+				int min = r < g ? (r < b ? r : b) : (g < b ? g : b);
+				int delta = max - min;
+
+				dataV[indexDst] = (byte)max;
+				if( delta == 0 ) {
+					dataH[indexDst] = 0;
+					dataS[indexDst] = 0;
+				} else {
+					dataH[indexDst] = (byte)hue(r,g,b,max,delta);
+					dataS[indexDst] = (byte)((255*delta + max/2)/max);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Computes the 8-bit hue of a pixel with a non-zero delta.
+	 */
+	private static int hue( int r , int g , int b , int max , int delta ) {
+		int num;
+		if( r == max )
+			num = g - b;
+		else if( g == max )
+			num = b - r + 2*delta;
+		else
+			num = r - g + 4*delta;
+
+		if( num < 0 )
+			num += 6*delta;
+
+		int h = (num*256 + 3*delta)/(6*delta);
+		return h >= 256 ? h - 256 : h;
+	}
+
+	private static void checkBands( int numBands ) {
+		if( numBands != 3 )
+			throw new IllegalArgumentException("Expected an image with three bands, not "+numBands);
+	}
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.color;
+
+import boofcv.alg.InputSanityCheck;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageInterleavedInt8;
+import boofcv.struct.image.ImageUInt8;
+import boofcv.struct.image.MultiSpectral;
+
+/**
+ * <p>
+ * Converts RGB color images into gray scale images in a single pass.  The gray scale intensity is the weighted
+ * sum Y = 0.299*R + 0.587*G + 0.114*B, which is the luma of ITU-R BT.601 and the same as the Y band in
+ * {@link ColorYuv}.  Images with 8-bit bands are converted using fixed point math.
+ * </p>
+ *
+ * <p>
+ * Interleaved images can have their bands in RGB or BGR order.  BGR is the order in which
+ * {@link java.awt.image.BufferedImage#TYPE_3BYTE_BGR} images are stored.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ColorRgb {
+
+	// weights for each color with 8-bits of precision.  They sum up to 256
+	public static final int WEIGHT_R = 77;
+	public static final int WEIGHT_G = 150;
+	public static final int WEIGHT_B = 29;
+
+	/**
+	 * Converts a single RGB pixel into gray scale.
+	 */
+	public static int rgbToGray( int r , int g , int b ) {
+		return (WEIGHT_R*r + WEIGHT_G*g + WEIGHT_B*b + 128) >> 8;
+	}
+
+	/**
+	 * Converts a single RGB pixel into gray scale.
+	 */
+	public static float rgbToGray( float r , float g , float b ) {
+		return 0.299f*r + 0.587f*g + 0.114f*b;
+	}
+
+	/**
+	 * Converts a RGB image into gray scale.
+	 *
+	 * @param rgb Input image with three bands in RGB order. Not modified.
+	 * @param gray Output gray scale image. Modified.
+	 */
+	public static void rgbToGray_U8( MultiSpectral<ImageUInt8> rgb , ImageUInt8 gray ) {
+		checkBands(rgb.getNumBands());
+		InputSanityCheck.checkSameShape(rgb, gray);
+
+		byte[] dataR = rgb.getBand(0).data;
+		byte[] dataG = rgb.getBand(1).data;
+		byte[] dataB = rgb.getBand(2).data;
+
+		for( int y = 0; y < gray.height; y++ ) {
+			int indexSrc = rgb.startIndex + y*rgb.stride;
+			int indexDst = gray.startIndex + y*gray.stride;
+			int end = indexDst + gray.width;
+
+			for( ; indexDst < end; indexDst++ , indexSrc++ ) {
+				int r = dataR[indexSrc] & 0xFF;
+				int g = dataG[indexSrc] & 0xFF;
+				int b = dataB[indexSrc] & 0xFF;
+
+				gray.data[indexDst] = (byte)((WEIGHT_R*r + WEIGHT_G*g + WEIGHT_B*b + 128) >> 8);
+			}
+		}
+	}
+
+	/**
+	 * Converts a RGB image into gray scale.
+	 *
+	 * @param rgb Input image with three bands in RGB order. Not modified.
+	 * @param gray Output gray scale image. Modified.
+	 */
+	public static void rgbToGray_F32( MultiSpectral<ImageFloat32> rgb , ImageFloat32 gray ) {
+		checkBands(rgb.getNumBands());
+		InputSanityCheck.checkSameShape(rgb, gray);
+
+		float[] dataR = rgb.getBand(0).data;
+		float[] dataG = rgb.getBand(1).data;
+		float[] dataB = rgb.getBand(2).data;
+
+		for( int y = 0; y < gray.height; y++ ) {
+			int indexSrc = rgb.startIndex + y*rgb.stride;
+			int indexDst = gray.startIndex + y*gray.stride;
+			int end = indexDst + gray.width;
+
+			for( ; indexDst < end; indexDst++ , indexSrc++ ) {
+				gray.data[indexDst] = 0.299f*dataR[indexSrc] + 0.587f*dataG[indexSrc] + 0.114f*dataB[indexSrc];
+			}
+		}
+	}
+
+	/**
+	 * Converts an interleaved RGB image into gray scale.
+	 *
+	 * @param rgb Input image with three bands in RGB order. Not modified.
+	 * @param gray Output gray scale image. Modified.
+	 */
+	public static void rgbToGray( ImageInterleavedInt8 rgb , ImageUInt8 gray ) {
+		interleavedToGray(rgb, gray, WEIGHT_R, WEIGHT_G, WEIGHT_B);
+	}
+
+	/**
+	 * Converts an interleaved BGR image into gray scale.
+	 *
+	 * @param bgr Input image with three bands in BGR order. Not modified.
+	 * @param gray Output gray scale image. Modified.
+	 */
+	public static void bgrToGray( ImageInterleavedInt8 bgr , ImageUInt8 gray ) {
+		interleavedToGray(bgr, gray, WEIGHT_B, WEIGHT_G, WEIGHT_R);
+	}
+
+	/**
+	 * Converts an interleaved RGB image into a floating point gray scale image.
+	 *
+	 * @param rgb Input image with three bands in RGB order. Not modified.
+	 * @param gray Output gray scale image. Modified.
+	 */
+	public static void rgbToGray( ImageInterleavedInt8 rgb , ImageFloat32 gray ) {
+		interleavedToGray(rgb, gray, 0.299f, 0.587f, 0.114f);
+	}
+
+	/**
+	 * Converts an interleaved BGR image into a floating point gray scale image.
+	 *
+	 * @param bgr Input image with three bands in BGR order. Not modified.
+	 * @param gray Output gray scale image. Modified.
+	 */
+	public static void bgrToGray( ImageInterleavedInt8 bgr , ImageFloat32 gray ) {
+		interleavedToGray(bgr, gray, 0.114f, 0.587f, 0.299f);
+	}
+
+	private static void interleavedToGray( ImageInterleavedInt8 input , ImageUInt8 gray ,
+										   int w0 , int w1 , int w2 ) {
+		checkBands(input.numBands);
+		InputSanityCheck.checkSameShape(input, gray);
+
+		byte[] data = input.data;
+
+		for( int y = 0; y < gray.height; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = gray.startIndex + y*gray.stride;
+			int end = indexDst + gray.width;
+
+			for( ; indexDst < end; indexDst++ ) {
+				int c0 = data[indexSrc++] & 0xFF;
+				int c1 = data[indexSrc++] & 0xFF;
+				int c2 = data[indexSrc++] & 0xFF;
+
+				gray.data[indexDst] = (byte)((w0*c0 + w1*c1 + w2*c2 + 128) >> 8);
+			}
+		}
+	}
+
+	private static void interleavedToGray( ImageInterleavedInt8 input , ImageFloat32 gray ,
+										   float w0 , float w1 , float w2 ) {
+		checkBands(input.numBands);
+		InputSanityCheck.checkSameShape(input, gray);
+
+		byte[] data = input.data;
+
+		for( int y = 0; y < gray.height; y++ ) {
+			int indexSrc = input.startIndex + y*input.stride;
+			int indexDst = gray.startIndex + y*gray.stride;
+			int end = indexDst + gray.width;
+
+			for( ; indexDst < end; indexDst++ ) {
+				int c0 = data[indexSrc++] & 0xFF;
+				int c1 = data[indexSrc++] & 0xFF;
+				int c2 = data[indexSrc++] & 0xFF;
+
+				gray.data[indexDst] = w0*c0 + w1*c1 + w2*c2;
+			}
+		}
+	}
+
+	private static void checkBands( int numBands ) {
+		if( numBands != 3 )
+			throw new IllegalArgumentException("Expected an image with three bands, not "+numBands);
+	}
+}
@@ -0,0 +1,307 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.color;
+
+import boofcv.alg.InputSanityCheck;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageInterleavedInt8;
+import boofcv.struct.image.ImageUInt8;
+import boofcv.struct.image.MultiSpectral;
+
+/**
+ * <p>
+ * Conversion between RGB and YUV color spaces.  YUV is defined here as full range YCbCr from JPEG/JFIF, where
+ * Y has the same definition as gray scale in {@link ColorRgb}.
+ * </p>
+ *
+ * <pre>
+ * Y =  0.299*R + 0.587*G + 0.114*B
+ * U = -0.168736*R - 0.331264*G + 0.5*B
+ * V =  0.5*R - 0.418688*G - 0.081312*B
+ * </pre>
+ *
+ * <p>
+ * Floating point images have U and V centered around zero.  8-bit images have U and V offset by 128 and
+ * are computed using 16-bit fixed point math with rounding, which is the same encoding used by cameras.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ColorYuv {
+
+	// coefficients for RGB to YUV with 16-bits of precision
+	public static final int YR = 19595, YG = 38470, YB = 7471;
+	public static final int UR = -11059, UG = -21709, UB = 32768;
+	public static final int VR = 32768, VG = -27439, VB = -5329;
+
+	// coefficients for YUV to RGB with 16-bits of precision
+	public static final int RV = 91881;
+	public static final int GU = -22554, GV = -46802;
+	public static final int BU = 116130;
+
+	/**
+	 * Converts a single 8-bit YUV pixel into RGB.  U and V are offset by 128.
+	 *
+	 * @param y Y component. 0 to 255
+	 * @param u U component. 0 to 255
+	 * @param v V component. 0 to 255
+	 * @param rgb (output) RGB values. 0 to 255
+	 */
+	public static void yuvToRgb( int y , int u , int v , int rgb[] ) {
+		u -= 128;
+		v -= 128;
+		rgb[0] = clamp(y + ((RV*v + 32768) >> 16));
+		rgb[1] = clamp(y + ((GU*u + GV*v + 32768) >> 16));
+		rgb[2] = clamp(y + ((BU*u + 32768) >> 16));
+	}
+
+	/**
+	 * Converts a single 8-bit RGB pixel into YUV.  U and V are offset by 128.
+	 *
+	 * @param r red. 0 to 255
+	 * @param g green. 0 to 255
+	 * @param b blue. 0 to 255
+	 * @param yuv (output) YUV values. 0 to 255
+	 */
+	public static void rgbToYuv( int r , int g , int b , int yuv[] ) {
+		yuv[0] = (YR*r + YG*g + YB*b + 32768) >> 16;
+		yuv[1] = clamp(((UR*r + UG*g + UB*b + 32768) >> 16) + 128);
+		yuv[2] = clamp(((VR*r + VG*g + VB*b + 32768) >> 16) + 128);
+	}
+
+	/**
+	 * Converts a RGB image into YUV.
+	 *
+	 * @param rgb Input image with three bands in RGB order. Not modified.
+	 * @param yuv Output YUV image with U and V offset by 128. Modified.
+	 */
+	public static void rgbToYuv_U8( MultiSpectral<ImageUInt8> rgb , MultiSpectral<ImageUInt8> yuv ) {
+		checkBands(rgb.getNumBands());
+		checkBands(yuv.getNumBands());
+		InputSanityCheck.checkSameShape(rgb, yuv);
+
+		byte[] dataR = rgb.getBand(0).data;
+		byte[] dataG = rgb.getBand(1).data;
+		byte[] dataB = rgb.getBand(2).data;
+		byte[] dataY = yuv.getBand(0).data;
+		byte[] dataU = yuv.getBand(1).data;
+		byte[] dataV = yuv.getBand(2).data;
+
+		for( int row = 0; row < rgb.height; row++ ) {
+			int indexSrc = rgb.startIndex + row*rgb.stride;
+			int indexDst = yuv.startIndex + row*yuv.stride;
+			int end = indexSrc + rgb.width;
+
+			for( ; indexSrc < end; indexSrc++ , indexDst++ ) {
+				int r = dataR[indexSrc] & 0xFF;
+				int g = dataG[indexSrc] & 0xFF;
+				int b = dataB[indexSrc] & 0xFF;
+
+				dataY[indexDst] = (byte)((YR*r + YG*g + YB*b + 32768) >> 16);
+				dataU[indexDst] = (byte)clamp(((UR*r + UG*g + UB*b + 32768) >> 16) + 128);
+				dataV[indexDst] = (byte)clamp(((VR*r + VG*g + VB*b + 32768) >> 16) + 128);
+			}
+		}
+	}
+
+	/**
+	 * Converts a YUV image into RGB.
+	 *
+	 * @param yuv Input YUV image with U and V offset by 128. Not modified.
+	 * @param rgb Output image with three bands in RGB order. Modified.
+	 */
+	public static void yuvToRgb_U8( MultiSpectral<ImageUInt8> yuv , MultiSpectral<ImageUInt8> rgb ) {
+		checkBands(yuv.getNumBands());
+		checkBands(rgb.getNumBands());
+		InputSanityCheck.checkSameShape(yuv, rgb);
+
+		byte[] dataY = yuv.getBand(0).data;
+		byte[] dataU = yuv.getBand(1).data;
+		byte[] dataV = yuv.getBand(2).data;
+		byte[] dataR = rgb.getBand(0).data;
+		byte[] dataG = rgb.getBand(1).data;
+		byte[] dataB = rgb.getBand(2).data;
+
+		for( int row = 0; row < yuv.height; row++ ) {
+			int indexSrc = yuv.startIndex + row*yuv.stride;
+			int indexDst = rgb.startIndex + row*rgb.stride;
+			int end = indexSrc + yuv.width;
+
+			for( ; indexSrc < end; indexSrc++ , indexDst++ ) {
+				int y = dataY[indexSrc] & 0xFF;
+				int u = (dataU[indexSrc] & 0xFF) - 128;
+				int v = (dataV[indexSrc] & 0xFF) - 128;
+
+				dataR[indexDst] = (byte)clamp(y + ((RV*v + 32768) >> 16));
+				dataG[indexDst] = (byte)clamp(y + ((GU*u + GV*v + 32768) >> 16));
+				dataB[indexDst] = (byte)clamp(y + ((BU*u + 32768) >> 16));
+			}
+		}
+	}
+
+	/**
+	 * Converts a RGB image into YUV.
+	 *
+	 * @param rgb Input image with three bands in RGB order. Not modified.
+	 * @param yuv Output YUV image with U and V centered around zero. Modified.
+	 */
+	public static void rgbToYuv_F32( MultiSpectral<ImageFloat32> rgb , MultiSpectral<ImageFloat32> yuv ) {
+		checkBands(rgb.getNumBands());
+		checkBands(yuv.getNumBands());
+		InputSanityCheck.checkSameShape(rgb, yuv);
+
+		float[] dataR = rgb.getBand(0).data;
+		float[] dataG = rgb.getBand(1).data;
+		float[] dataB = rgb.getBand(2).data;
+		float[] dataY = yuv.getBand(0).data;
+		float[] dataU = yuv.getBand(1).data;
+		float[] dataV = yuv.getBand(2).data;
+
+		for( int row = 0; row < rgb.height; row++ ) {
+			int indexSrc = rgb.startIndex + row*rgb.stride;
+			int indexDst = yuv.startIndex + row*yuv.stride;
+			int end = indexSrc + rgb.width;
+
+			for( ; indexSrc < end; indexSrc++ , indexDst++ ) {
+				float r = dataR[indexSrc];
+				float g = dataG[indexSrc];
+				float b = dataB[indexSrc];
+
+				dataY[indexDst] = 0.299f*r + 0.587f*g + 0.114f*b;
+				dataU[indexDst] = -0.168736f*r - 0.331264f*g + 0.5f*b;
+				dataV[indexDst] = 0.5f*r - 0.418688f*g - 0.081312f*b;
+			}
+		}
+	}
+
+	/**
+	 * Converts a YUV image into RGB.
+	 *
+	 * @param yuv Input YUV image with U and V centered around zero. Not modified.
+	 * @param rgb Output image with three bands in RGB order. Modified.
+	 */
+	public static void yuvToRgb_F32( MultiSpectral<ImageFloat32> yuv , MultiSpectral<ImageFloat32> rgb ) {
+		checkBands(yuv.getNumBands());
+		checkBands(rgb.getNumBands());
+		InputSanityCheck.checkSameShape(yuv, rgb);
+
+		float[] dataY = yuv.getBand(0).data;
+		float[] dataU = yuv.getBand(1).data;
+		float[] dataV = yuv.getBand(2).data;
+		float[] dataR = rgb.getBand(0).data;
+		float[] dataG = rgb.getBand(1).data;
+		float[] dataB = rgb.getBand(2).data;
+
+		for( int row = 0; row < yuv.height; row++ ) {
+			int indexSrc = yuv.startIndex + row*yuv.stride;
+			int indexDst = rgb.startIndex + row*rgb.stride;
+			int end = indexSrc + yuv.width;
+
+			for( ; indexSrc < end; indexSrc++ , indexDst++ ) {
+				float y = dataY[indexSrc];
+				float u = dataU[indexSrc];
+				float v = dataV[indexSrc];
+
+				dataR[indexDst] = y + 1.402f*v;
+				dataG[indexDst] = y - 0.344136f*u - 0.714136f*v;
+				dataB[indexDst] = y + 1.772f*u;
+			}
+		}
+	}
+
+	/**
+	 * Converts an interleaved RGB image into a YUV image with a separate band for each channel.
+	 *
+	 * @param rgb Input image with three bands in RGB order. Not modified.
+	 * @param yuv Output YUV image with U and V offset by 128. Modified.
+	 */
+	public static void rgbToYuv( ImageInterleavedInt8 rgb , MultiSpectral<ImageUInt8> yuv ) {
+		checkBands(rgb.numBands);
+		checkBands(yuv.getNumBands());
+		InputSanityCheck.checkSameShape(rgb, yuv);
+
+		byte[] data = rgb.data;
+		byte[] dataY = yuv.getBand(0).data;
+		byte[] dataU = yuv.getBand(1).data;
+		byte[] dataV = yuv.getBand(2).data;
+
+		for( int row = 0; row < rgb.height; row++ ) {
+			int indexSrc = rgb.startIndex + row*rgb.stride;
+			int indexDst = yuv.startIndex + row*yuv.stride;
+			int end = indexDst + rgb.width;
+
+			for( ; indexDst < end; indexDst++ ) {
+				int r = data[indexSrc++] & 0xFF;
+				int g = data[indexSrc++] & 0xFF;
+				int b = data[indexSrc++] & 0xFF;
+
+				dataY[indexDst] = (byte)((YR*r + YG*g + YB*b + 32768) >> 16);
+				dataU[indexDst] = (byte)clamp(((UR*r + UG*g + UB*b + 32768) >> 16) + 128);
+				dataV[indexDst] = (byte)clamp(((VR*r + VG*g + VB*b + 32768) >> 16) + 128);
+			}
+		}
+	}
+
+	/**
+	 * Converts a YUV image into an interleaved RGB image.
+	 *
+	 * @param yuv Input YUV image with U and V offset by 128. Not modified.
+	 * @param rgb Output image with three bands in RGB order. Modified.
+	 */
+	public static void yuvToRgb( MultiSpectral<ImageUInt8> yuv , ImageInterleavedInt8 rgb ) {
+		checkBands(yuv.getNumBands());
+		checkBands(rgb.numBands);
+		InputSanityCheck.checkSameShape(yuv, rgb);
+
+		byte[] dataY = yuv.getBand(0).data;
+		byte[] dataU = yuv.getBand(1).data;
+		byte[] dataV = yuv.getBand(2).data;
+		byte[] data = rgb.data;
+
+		for( int row = 0; row < yuv.height; row++ ) {
+			int indexSrc = yuv.startIndex + row*yuv.stride;
+			int indexDst = rgb.startIndex + row*rgb.stride;
+			int end = indexSrc + yuv.width;
+
+			for( ; indexSrc < end; indexSrc++ ) {
+				int y = dataY[indexSrc] & 0xFF;
+				int u = (dataU[indexSrc] & 0xFF) - 128;
+				int v = (dataV[indexSrc] & 0xFF) - 128;
+
+				data[indexDst++] = (byte)clamp(y + ((RV*v + 32768) >> 16));
+				data[indexDst++] = (byte)clamp(y + ((GU*u + GV*v + 32768) >> 16));
+				data[indexDst++] = (byte)clamp(y + ((BU*u + 32768) >> 16));
+			}
+		}
+	}
+
+	public static int clamp( int value ) {
+		if( value < 0 )
+			return 0;
+		else if( value > 255 )
+			return 255;
+		return value;
+	}
+
+	private static void checkBands( int numBands ) {
+		if( numBands != 3 )
+			throw new IllegalArgumentException("Expected an image with three bands, not "+numBands);
+	}
+}
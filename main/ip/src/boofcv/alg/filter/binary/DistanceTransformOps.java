@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package boofcv.alg.filter.binary;
+
+import boofcv.alg.InputSanityCheck;
+import boofcv.alg.filter.binary.impl.ImplDistanceTransform;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageSInt32;
+import boofcv.struct.image.ImageUInt8;
+
+/**
+ * <p>
+ * Distance transforms of binary images.  For every pixel the distance to the closest pixel with a non-zero value,
+ * e.g. an edge pixel, is computed.  A common use is chamfer matching, where the distance from a template's points
+ * to the closest edge can be looked up in constant time.
+ * </p>
+ *
+ * <p>
+ * The exact Euclidean distance is computed in time linear in the number of pixels using a separable algorithm,
+ * see {@link ImplDistanceTransform}.  If the image contains no non-zero pixels then the output is filled with
+ * values larger than any distance inside the image.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class DistanceTransformOps {
+
+	/**
+	 * Computes the squared Euclidean distance from each pixel to the closest non-zero pixel.
+	 *
+	 * @param input Input binary image. Not modified.
+	 * @param output Squared distance of each pixel.  If null a new image will be declared. Modified.
+	 * @return Output image.
+	 */
+	public static ImageSInt32 euclideanSq( ImageUInt8 input , ImageSInt32 output ) {
+		output = InputSanityCheck.checkDeclare(input,output,ImageSInt32.class);
+
+		ImplDistanceTransform.euclideanSq(input,output);
+
+		return output;
+	}
+
+	/**
+	 * Computes the squared Euclidean distance from each pixel to the closest non-zero pixel.
+	 *
+	 * @param input Input binary image. Not modified.
+	 * @param output Squared distance of each pixel.  If null a new image will be declared. Modified.
+	 * @return Output image.
+	 */
+	public static ImageFloat32 euclideanSq( ImageUInt8 input , ImageFloat32 output ) {
+		output = InputSanityCheck.checkDeclare(input,output,ImageFloat32.class);
+
+		ImplDistanceTransform.euclideanSq(input,output);
+
+		return output;
+	}
+
+	/**
+	 * Computes the Euclidean distance from each pixel to the closest non-zero pixel.
+	 *
+	 * @param input Input binary image. Not modified.
+	 * @param output Distance of each pixel.  If null a new image will be declared. Modified.
+	 * @return Output image.
+	 */
+	public static ImageFloat32 euclidean( ImageUInt8 input , ImageFloat32 output ) {
+		output = euclideanSq(input,output);
+
+		for( int y = 0; y < output.height; y++ ) {
+			int index = output.startIndex + y*output.stride;
+			int end = index + output.width;
+			for( ; index < end; index++ ) {
+				output.data[index] = (float)Math.sqrt(output.data[index]);
+			}
+		}
+
+		return output;
+	}
+}
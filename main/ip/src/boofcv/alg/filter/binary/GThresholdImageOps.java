@@ -49,6 +49,80 @@ public class GThresholdImageOps {
 		}
 	}
 
+	public static <T extends ImageSingleBand>
+	ImageBinaryPacked thresholdPacked( T input , ImageBinaryPacked output ,
+									   double threshold , boolean down )
+	{
+		if( input instanceof ImageFloat32 ) {
+			return ThresholdImageOps.thresholdPacked((ImageFloat32)input,output,(float)threshold,down);
+		} else if( input instanceof ImageUInt8 ) {
+			return ThresholdImageOps.thresholdPacked((ImageUInt8)input,output,(int)threshold,down);
+		} else if( input instanceof ImageUInt16) {
+			return ThresholdImageOps.thresholdPacked((ImageUInt16)input,output,(int)threshold,down);
+		} else if( input instanceof ImageSInt16) {
+			return ThresholdImageOps.thresholdPacked((ImageSInt16)input,output,(int)threshold,down);
+		} else if( input instanceof ImageSInt32 ) {
+			return ThresholdImageOps.thresholdPacked((ImageSInt32)input,output,(int)threshold,down);
+		} else if( input instanceof ImageFloat64 ) {
+			return ThresholdImageOps.thresholdPacked((ImageFloat64)input,output,threshold,down);
+		} else {
+			throw new IllegalArgumentException("Unknown image type: "+input.getClass().getSimpleName());
+		}
+	}
+
+	/**
+	 * Adaptive threshold using the local mean.  See {@link ThresholdImageOps#localMean(ImageUInt8, ImageUInt8, int, double, boolean, ImageFloat64)}.
+	 */
+	public static <T extends ImageSingleBand>
+	ImageUInt8 localMean( T input , ImageUInt8 output ,
+						  int radius , double bias , boolean down ,
+						  ImageFloat64 work )
+	{
+		if( input instanceof ImageFloat32 ) {
+			return ThresholdImageOps.localMean((ImageFloat32)input,output,radius,bias,down,work);
+		} else if( input instanceof ImageUInt8 ) {
+			return ThresholdImageOps.localMean((ImageUInt8)input,output,radius,bias,down,work);
+		} else {
+			throw new IllegalArgumentException("Unknown image type: "+input.getClass().getSimpleName());
+		}
+	}
+
+	/**
+	 * Adaptive threshold using a Gaussian weighted local mean.
+	 * See {@link ThresholdImageOps#localGaussian(ImageUInt8, ImageUInt8, double, double, boolean, ImageFloat64, ImageFloat32)}.
+	 */
+	public static <T extends ImageSingleBand>
+	ImageUInt8 localGaussian( T input , ImageUInt8 output ,
+							  double sigma , double bias , boolean down ,
+							  ImageFloat64 work , ImageFloat32 work2 )
+	{
+		if( input instanceof ImageFloat32 ) {
+			return ThresholdImageOps.localGaussian((ImageFloat32)input,output,sigma,bias,down,work,work2);
+		} else if( input instanceof ImageUInt8 ) {
+			return ThresholdImageOps.localGaussian((ImageUInt8)input,output,sigma,bias,down,work,work2);
+		} else {
+			throw new IllegalArgumentException("Unknown image type: "+input.getClass().getSimpleName());
+		}
+	}
+
+	/**
+	 * Sauvola's adaptive threshold.
+	 * See {@link ThresholdImageOps#localSauvola(ImageUInt8, ImageUInt8, int, double, double, boolean, ImageFloat64, ImageFloat64)}.
+	 */
+	public static <T extends ImageSingleBand>
+	ImageUInt8 localSauvola( T input , ImageUInt8 output ,
+							 int radius , double k , double R , boolean down ,
+							 ImageFloat64 work , ImageFloat64 workSq )
+	{
+		if( input instanceof ImageFloat32 ) {
+			return ThresholdImageOps.localSauvola((ImageFloat32)input,output,radius,k,R,down,work,workSq);
+		} else if( input instanceof ImageUInt8 ) {
+			return ThresholdImageOps.localSauvola((ImageUInt8)input,output,radius,k,R,down,work,workSq);
+		} else {
+			throw new IllegalArgumentException("Unknown image type: "+input.getClass().getSimpleName());
+		}
+	}
+
 	public static <T extends ImageSingleBand>
 	void thresholdBlobs( T input , ImageSInt32 labeled ,
 						 int results[] , int numBlobs ,
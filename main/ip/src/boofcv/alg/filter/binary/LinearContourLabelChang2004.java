@@ -0,0 +1,226 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package boofcv.alg.filter.binary;
+
+import boofcv.alg.InputSanityCheck;
+import boofcv.struct.PackedContours;
+import boofcv.struct.image.ImageSInt32;
+import boofcv.struct.image.ImageUInt8;
+
+/**
+ * <p>
+ * Labels blobs in a binary image using an 8-connect rule and traces their external and internal contours in a
+ * single pass [1].  The image is scanned in raster order.  When a new external contour or a new internal contour
+ * (hole) is encountered its border is followed, as in Suzuki and Abe's border following, and every pixel along
+ * it is labeled.  All other pixels are labeled using their left neighbor.  The cost is linear in the number of
+ * pixels.
+ * </p>
+ *
+ * <p>
+ * Contours are written into a {@link PackedContours}, which stores the points as pairs of integers instead
+ * of one object per point.  Points inside each contour are in the order they were traced, and pixels can appear
+ * more than once along thin structures.  The first contour of each blob is always its external contour.  All
+ * internal data structures are recycled between calls.
+ * </p>
+ *
+ * <p>
+ * [1] Fu Chang, Chun-jen Chen, and Chi-jen Lu, "A linear-time component-labeling algorithm using contour tracing
+ * technique" Computer Vision and Image Understanding, 2004<br>
+ * [2] S. Suzuki and K. Abe, "Topological Structural Analysis of Digitized Binary Images by Border Following"
+ * CVGIP, 1985
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class LinearContourLabelChang2004 {
+
+	// offsets in the x and y directions for each of the 8 directions, in clockwise order starting at +x
+	private static final int offsetX[] = new int[]{1,1,0,-1,-1,-1,0,1};
+	private static final int offsetY[] = new int[]{0,1,1,1,0,-1,-1,-1};
+
+	// input binary image with a border of zeros around it
+	private ImageUInt8 border = new ImageUInt8(1,1);
+	// labeled image with a border.  -1 indicates a background pixel which has been visited by the tracer
+	private ImageSInt32 labeled = new ImageSInt32(1,1);
+
+	// offset of each direction in the padded images
+	private int offsetIndex[] = new int[8];
+
+	// number of labeled blobs
+	private int numLabels;
+
+	/**
+	 * Labels the blobs and extracts their contours.
+	 *
+	 * @param binary Input binary image. Not modified.
+	 * @param output Labeled image.  Background is 0 and blobs are labeled starting at 1.  Can be null. Modified.
+	 * @param contours Storage for the found contours. Modified.
+	 * @return Number of blobs found.
+	 */
+	public int process( ImageUInt8 binary , ImageSInt32 output , PackedContours contours ) {
+		if( output != null )
+			InputSanityCheck.checkSameShape(binary,output);
+
+		contours.reset();
+		numLabels = 0;
+
+		copyToBorder(binary);
+
+		for( int i = 0; i < 8; i++ ) {
+			offsetIndex[i] = offsetY[i]*border.stride + offsetX[i];
+		}
+
+		final int stride = border.stride;
+		for( int y = 1; y <= binary.height; y++ ) {
+			int index = y*stride + 1;
+			for( int x = 1; x <= binary.width; x++ , index++ ) {
+				if( border.data[index] == 0 )
+					continue;
+
+				boolean handled = false;
+
+				// new external contour
+				if( labeled.data[index] == 0 && border.data[index-stride] == 0 ) {
+					numLabels++;
+					trace(index, numLabels, 7, true, contours);
+					handled = true;
+				}
+
+				// new internal contour
+				if( border.data[index+stride] == 0 && labeled.data[index+stride] == 0 ) {
+					int label = labeled.data[index] != 0 ? labeled.data[index] : labeled.data[index-1];
+					trace(index, label, 3, false, contours);
+					handled = true;
+				}
+
+				if( !handled && labeled.data[index] == 0 ) {
+					labeled.data[index] = labeled.data[index-1];
+				}
+			}
+		}
+
+		if( output != null ) {
+			for( int y = 0; y < binary.height; y++ ) {
+				System.arraycopy(labeled.data,(y+1)*stride+1,output.data,output.startIndex+y*output.stride,binary.width);
+			}
+			// visited background pixels were marked with -1
+			for( int y = 0; y < binary.height; y++ ) {
+				int indexOut = output.startIndex + y*output.stride;
+				int end = indexOut + binary.width;
+				for( ; indexOut < end; indexOut++ ) {
+					if( output.data[indexOut] < 0 )
+						output.data[indexOut] = 0;
+				}
+			}
+		}
+
+		return numLabels;
+	}
+
+	/**
+	 * Copies the binary image into an image with a border of zeros around it, removing the need to check
+	 * the image bounds.
+	 */
+	private void copyToBorder( ImageUInt8 binary ) {
+		border.reshape(binary.width+2,binary.height+2);
+		labeled.reshape(binary.width+2,binary.height+2);
+
+		ImageUInt8 inner = border.subimage(1,1,binary.width+1,binary.height+1);
+		inner.setTo(binary);
+
+		for( int x = 0; x < border.width; x++ ) {
+			border.data[x] = 0;
+			border.data[(border.height-1)*border.stride + x] = 0;
+		}
+		for( int y = 0; y < border.height; y++ ) {
+			border.data[y*border.stride] = 0;
+			border.data[y*border.stride + border.width-1] = 0;
+		}
+
+		for( int i = 0; i < labeled.width*labeled.height; i++ ) {
+			labeled.data[i] = 0;
+		}
+	}
+
+	/**
+	 * Follows the contour starting at the specified pixel and labels every pixel along it.
+	 *
+	 * @param start Index of the first pixel in the padded image.
+	 * @param label Label assigned to the contour.
+	 * @param dir Direction the search for the next contour pixel starts at.
+	 * @param isExternal If it is an external contour.
+	 * @param contours Storage for the contour.
+	 */
+	private void trace( int start , int label , int dir , boolean isExternal , PackedContours contours ) {
+		contours.start(label,isExternal);
+		addPoint(start, label, contours);
+
+		dir = searchNext(start, dir);
+		if( dir < 0 ) {
+			// isolated pixel
+			return;
+		}
+
+		int second = start + offsetIndex[dir];
+		int index = second;
+
+		while( true ) {
+			int next = searchNext(index, (dir + 6) % 8);
+			int nextIndex = index + offsetIndex[next];
+
+			// it has returned to the start and would repeat the contour
+			if( index == start && nextIndex == second )
+				break;
+
+			addPoint(index, label, contours);
+			dir = next;
+			index = nextIndex;
+		}
+	}
+
+	/**
+	 * Searches clockwise for the next foreground pixel around the specified pixel.  Background pixels which are
+	 * examined are marked as visited.
+	 *
+	 * @return Direction of the next pixel or -1 if there are no neighbors.
+	 */
+	private int searchNext( int index , int dir ) {
+		for( int i = 0; i < 8; i++ ) {
+			int d = (dir + i) % 8;
+			int neighbor = index + offsetIndex[d];
+			if( border.data[neighbor] != 0 )
+				return d;
+			labeled.data[neighbor] = -1;
+		}
+		return -1;
+	}
+
+	private void addPoint( int index , int label , PackedContours contours ) {
+		labeled.data[index] = label;
+		int y = index / border.stride;
+		int x = index - y*border.stride;
+		contours.add(x-1,y-1);
+	}
+
+	/**
+	 * Number of blobs found in the last call to process.
+	 */
+	public int getNumLabels() {
+		return numLabels;
+	}
+}
@@ -20,12 +20,13 @@ package boofcv.alg.filter.binary;
 
 import boofcv.alg.InputSanityCheck;
 import boofcv.alg.filter.binary.impl.ImplBinaryBlobLabeling;
+import boofcv.alg.filter.binary.impl.ImplThresholdAdaptive;
 import boofcv.misc.BoofMiscOps;
 import boofcv.struct.image.*;
 
 /**
  * <p>
- * Operations for thresholding images and converting them into a binary image or labeled binary images.
+ * Operations for thresholding images and converting them into a binary image, packed binary image, or labeled binary images.
  * </p>
  *
  * <p>
@@ -86,6 +87,50 @@ public class ThresholdImageOps {
 		return output;
 	}
 
+	/**
+	 * Applies a global threshold across the whole image and writes the results directly into a
+	 * packed binary image.  See {@link #threshold(ImageFloat32, ImageUInt8, float, boolean)}
+	 * for a description of the threshold.
+	 *
+	 * @param input Input image. Not modified.
+	 * @param output Packed binary output image. If null a new image will be declared. Modified.
+	 * @param threshold threshold value.
+	 * @param down If true inliers are below the threshold and false they are above the threshold.
+	 * @return Output image.
+	 */
+	public static ImageBinaryPacked thresholdPacked( ImageFloat32 input , ImageBinaryPacked output ,
+													float threshold , boolean down )
+	{
+		if( output == null )
+			output = new ImageBinaryPacked(input.width,input.height);
+		else
+			InputSanityCheck.checkSameShape(input,output);
+
+		for( int y = 0; y < input.height; y++ ) {
+			int indexIn = input.startIndex + y*input.stride;
+			int indexOut = output.startIndex + y*output.stride;
+
+			for( int x = 0; x < input.width; x += ImageBinaryPacked.BITS ) {
+				int length = Math.min(ImageBinaryPacked.BITS,input.width-x);
+				long word = 0;
+				if( down ) {
+					for( int bit = 0; bit < length; bit++ , indexIn++ ) {
+						if( (input.data[indexIn]) <= threshold )
+							word |= 1L << bit;
+					}
+				} else {
+					for( int bit = 0; bit < length; bit++ , indexIn++ ) {
+						if( (input.data[indexIn]) >= threshold )
+							word |= 1L << bit;
+					}
+				}
+				output.data[indexOut++] = word;
+			}
+		}
+
+		return output;
+	}
+
 	/**
 	 * <p>
 	 * Marks which labeled blobs are contained within the inlier set.  If a blob
@@ -290,6 +335,50 @@ public class ThresholdImageOps {
 		return output;
 	}
 
+	/**
+	 * Applies a global threshold across the whole image and writes the results directly into a
+	 * packed binary image.  See {@link #threshold(ImageFloat64, ImageUInt8, double, boolean)}
+	 * for a description of the threshold.
+	 *
+	 * @param input Input image. Not modified.
+	 * @param output Packed binary output image. If null a new image will be declared. Modified.
+	 * @param threshold threshold value.
+	 * @param down If true inliers are below the threshold and false they are above the threshold.
+	 * @return Output image.
+	 */
+	public static ImageBinaryPacked thresholdPacked( ImageFloat64 input , ImageBinaryPacked output ,
+													double threshold , boolean down )
+	{
+		if( output == null )
+			output = new ImageBinaryPacked(input.width,input.height);
+		else
+			InputSanityCheck.checkSameShape(input,output);
+
+		for( int y = 0; y < input.height; y++ ) {
+			int indexIn = input.startIndex + y*input.stride;
+			int indexOut = output.startIndex + y*output.stride;
+
+			for( int x = 0; x < input.width; x += ImageBinaryPacked.BITS ) {
+				int length = Math.min(ImageBinaryPacked.BITS,input.width-x);
+				long word = 0;
+				if( down ) {
+					for( int bit = 0; bit < length; bit++ , indexIn++ ) {
+						if( (input.data[indexIn]) <= threshold )
+							word |= 1L << bit;
+					}
+				} else {
+					for( int bit = 0; bit < length; bit++ , indexIn++ ) {
+						if( (input.data[indexIn]) >= threshold )
+							word |= 1L << bit;
+					}
+				}
+				output.data[indexOut++] = word;
+			}
+		}
+
+		return output;
+	}
+
 	/**
 	 * <p>
 	 * Marks which labeled blobs are contained within the inlier set.  If a blob
@@ -492,6 +581,50 @@ public class ThresholdImageOps {
 		return output;
 	}
 
+	/**
+	 * Applies a global threshold across the whole image and writes the results directly into a
+	 * packed binary image.  See {@link #threshold(ImageUInt8, ImageUInt8, int, boolean)}
+	 * for a description of the threshold.
+	 *
+	 * @param input Input image. Not modified.
+	 * @param output Packed binary output image. If null a new image will be declared. Modified.
+	 * @param threshold threshold value.
+	 * @param down If true inliers are below the threshold and false they are above the threshold.
+	 * @return Output image.
+	 */
+	public static ImageBinaryPacked thresholdPacked( ImageUInt8 input , ImageBinaryPacked output ,
+													int threshold , boolean down )
+	{
+		if( output == null )
+			output = new ImageBinaryPacked(input.width,input.height);
+		else
+			InputSanityCheck.checkSameShape(input,output);
+
+		for( int y = 0; y < input.height; y++ ) {
+			int indexIn = input.startIndex + y*input.stride;
+			int indexOut = output.startIndex + y*output.stride;
+
+			for( int x = 0; x < input.width; x += ImageBinaryPacked.BITS ) {
+				int length = Math.min(ImageBinaryPacked.BITS,input.width-x);
+				long word = 0;
+				if( down ) {
+					for( int bit = 0; bit < length; bit++ , indexIn++ ) {
+						if( (input.data[indexIn]& 0xFF) <= threshold )
+							word |= 1L << bit;
+					}
+				} else {
+					for( int bit = 0; bit < length; bit++ , indexIn++ ) {
+						if( (input.data[indexIn]& 0xFF) >= threshold )
+							word |= 1L << bit;
+					}
+				}
+				output.data[indexOut++] = word;
+			}
+		}
+
+		return output;
+	}
+
 	/**
 	 * <p>
 	 * Marks which labeled blobs are contained within the inlier set.  If a blob
@@ -694,6 +827,50 @@ public class ThresholdImageOps {
 		return output;
 	}
 
+	/**
+	 * Applies a global threshold across the whole image and writes the results directly into a
+	 * packed binary image.  See {@link #threshold(ImageSInt16, ImageUInt8, int, boolean)}
+	 * for a description of the threshold.
+	 *
+	 * @param input Input image. Not modified.
+	 * @param output Packed binary output image. If null a new image will be declared. Modified.
+	 * @param threshold threshold value.
+	 * @param down If true inliers are below the threshold and false they are above the threshold.
+	 * @return Output image.
+	 */
+	public static ImageBinaryPacked thresholdPacked( ImageSInt16 input , ImageBinaryPacked output ,
+													int threshold , boolean down )
+	{
+		if( output == null )
+			output = new ImageBinaryPacked(input.width,input.height);
+		else
+			InputSanityCheck.checkSameShape(input,output);
+
+		for( int y = 0; y < input.height; y++ ) {
+			int indexIn = input.startIndex + y*input.stride;
+			int indexOut = output.startIndex + y*output.stride;
+
+			for( int x = 0; x < input.width; x += ImageBinaryPacked.BITS ) {
+				int length = Math.min(ImageBinaryPacked.BITS,input.width-x);
+				long word = 0;
+				if( down ) {
+					for( int bit = 0; bit < length; bit++ , indexIn++ ) {
+						if( (input.data[indexIn]) <= threshold )
+							word |= 1L << bit;
+					}
+				} else {
+					for( int bit = 0; bit < length; bit++ , indexIn++ ) {
+						if( (input.data[indexIn]) >= threshold )
+							word |= 1L << bit;
+					}
+				}
+				output.data[indexOut++] = word;
+			}
+		}
+
+		return output;
+	}
+
 	/**
 	 * <p>
 	 * Marks which labeled blobs are contained within the inlier set.  If a blob
@@ -896,6 +1073,50 @@ public class ThresholdImageOps {
 		return output;
 	}
 
+	/**
+	 * Applies a global threshold across the whole image and writes the results directly into a
+	 * packed binary image.  See {@link #threshold(ImageUInt16, ImageUInt8, int, boolean)}
+	 * for a description of the threshold.
+	 *
+	 * @param input Input image. Not modified.
+	 * @param output Packed binary output image. If null a new image will be declared. Modified.
+	 * @param threshold threshold value.
+	 * @param down If true inliers are below the threshold and false they are above the threshold.
+	 * @return Output image.
+	 */
+	public static ImageBinaryPacked thresholdPacked( ImageUInt16 input , ImageBinaryPacked output ,
+													int threshold , boolean down )
+	{
+		if( output == null )
+			output = new ImageBinaryPacked(input.width,input.height);
+		else
+			InputSanityCheck.checkSameShape(input,output);
+
+		for( int y = 0; y < input.height; y++ ) {
+			int indexIn = input.startIndex + y*input.stride;
+			int indexOut = output.startIndex + y*output.stride;
+
+			for( int x = 0; x < input.width; x += ImageBinaryPacked.BITS ) {
+				int length = Math.min(ImageBinaryPacked.BITS,input.width-x);
+				long word = 0;
+				if( down ) {
+					for( int bit = 0; bit < length; bit++ , indexIn++ ) {
+						if( (input.data[indexIn]& 0xFFFF) <= threshold )
+							word |= 1L << bit;
+					}
+				} else {
+					for( int bit = 0; bit < length; bit++ , indexIn++ ) {
+						if( (input.data[indexIn]& 0xFFFF) >= threshold )
+							word |= 1L << bit;
+					}
+				}
+				output.data[indexOut++] = word;
+			}
+		}
+
+		return output;
+	}
+
 	/**
 	 * <p>
 	 * Marks which labeled blobs are contained within the inlier set.  If a blob
@@ -1098,6 +1319,50 @@ public class ThresholdImageOps {
 		return output;
 	}
 
+	/**
+	 * Applies a global threshold across the whole image and writes the results directly into a
+	 * packed binary image.  See {@link #threshold(ImageSInt32, ImageUInt8, int, boolean)}
+	 * for a description of the threshold.
+	 *
+	 * @param input Input image. Not modified.
+	 * @param output Packed binary output image. If null a new image will be declared. Modified.
+	 * @param threshold threshold value.
+	 * @param down If true inliers are below the threshold and false they are above the threshold.
+	 * @return Output image.
+	 */
+	public static ImageBinaryPacked thresholdPacked( ImageSInt32 input , ImageBinaryPacked output ,
+													int threshold , boolean down )
+	{
+		if( output == null )
+			output = new ImageBinaryPacked(input.width,input.height);
+		else
+			InputSanityCheck.checkSameShape(input,output);
+
+		for( int y = 0; y < input.height; y++ ) {
+			int indexIn = input.startIndex + y*input.stride;
+			int indexOut = output.startIndex + y*output.stride;
+
+			for( int x = 0; x < input.width; x += ImageBinaryPacked.BITS ) {
+				int length = Math.min(ImageBinaryPacked.BITS,input.width-x);
+				long word = 0;
+				if( down ) {
+					for( int bit = 0; bit < length; bit++ , indexIn++ ) {
+						if( (input.data[indexIn]) <= threshold )
+							word |= 1L << bit;
+					}
+				} else {
+					for( int bit = 0; bit < length; bit++ , indexIn++ ) {
+						if( (input.data[indexIn]) >= threshold )
+							word |= 1L << bit;
+					}
+				}
+				output.data[indexOut++] = word;
+			}
+		}
+
+		return output;
+	}
+
 	/**
 	 * <p>
 	 * Marks which labeled blobs are contained within the inlier set.  If a blob
@@ -1250,5 +1515,188 @@ public class ThresholdImageOps {
 		return BoofMiscOps.countNotZero(relabel,relabel.length);
 	}
 
+	/**
+	 * <p>
+	 * Adaptive threshold where each pixel is compared against the mean of the square region around it.
+	 * When thresholding down pixels <= mean - bias are set to one.  When thresholding up
+	 * pixels >= mean + bias are set to one.  The mean is computed using an integral image, making the
+	 * cost per pixel independent of the region's size.
+	 * </p>
+	 *
+	 * @param input Input image. Not modified.
+	 * @param output Binary output image. If null a new image will be declared. Modified.
+	 * @param radius Radius of the square region.  Width is radius*2+1.
+	 * @param bias Offset from the local mean.  Positive values make the threshold more stringent.
+	 * @param down If true inliers are below the threshold and false they are above the threshold.
+	 * @param work Work image for storing the integral image.  If null one will be declared internally.
+	 * @return Output image.
+	 */
+	public static ImageUInt8 localMean( ImageFloat32 input , ImageUInt8 output ,
+									   int radius , double bias , boolean down ,
+									   ImageFloat64 work )
+	{
+		output = InputSanityCheck.checkDeclare(input,output,ImageUInt8.class);
+		work = InputSanityCheck.checkReshape(work,input,ImageFloat64.class);
+
+		ImplThresholdAdaptive.localMean(input,output,radius,bias,down,work);
+
+		return output;
+	}
+
+	/**
+	 * <p>
+	 * Adaptive threshold where each pixel is compared against a Gaussian weighted local mean.
+	 * The Gaussian is approximated by applying a box filter three times using integral images, making the
+	 * cost per pixel independent of sigma.  See {@link #localMean} for how the threshold is applied.
+	 * </p>
+	 *
+	 * @param input Input image. Not modified.
+	 * @param output Binary output image. If null a new image will be declared. Modified.
+	 * @param sigma Standard deviation of the Gaussian.
+	 * @param bias Offset from the local mean.  Positive values make the threshold more stringent.
+	 * @param down If true inliers are below the threshold and false they are above the threshold.
+	 * @param work Work image for storing the integral image.  If null one will be declared internally.
+	 * @param work2 Work image for storing intermediate results.  If null one will be declared internally.
+	 * @return Output image.
+	 */
+	public static ImageUInt8 localGaussian( ImageFloat32 input , ImageUInt8 output ,
+										   double sigma , double bias , boolean down ,
+										   ImageFloat64 work , ImageFloat32 work2 )
+	{
+		output = InputSanityCheck.checkDeclare(input,output,ImageUInt8.class);
+		work = InputSanityCheck.checkReshape(work,input,ImageFloat64.class);
+		work2 = InputSanityCheck.checkReshape(work2,input,ImageFloat32.class);
+
+		ImplThresholdAdaptive.localGaussian(input,output,sigma,bias,down,work,work2);
+
+		return output;
+	}
+
+	/**
+	 * <p>
+	 * Sauvola's adaptive threshold.  The threshold at each pixel is T = m*(1 + k*(s/R - 1)), where m and s
+	 * are the mean and standard deviation inside the square region around it.  Designed for images of text,
+	 * it is more robust than the local mean in regions with little texture.  Statistics are computed
+	 * using integral images.
+	 * </p>
+	 *
+	 * <p>
+	 * J. Sauvola and M. Pietikainen, "Adaptive document image binarization" Pattern Recognition, 2000
+	 * </p>
+	 *
+	 * @param input Input image. Not modified.
+	 * @param output Binary output image. If null a new image will be declared. Modified.
+	 * @param radius Radius of the square region.  Width is radius*2+1.
+	 * @param k Sensitivity to the standard deviation.  Try 0.3
+	 * @param R Dynamic range of the standard deviation.  Try 128 for 8-bit images.
+	 * @param down If true inliers are below the threshold and false they are above the threshold.
+	 * @param work Work image for storing the integral image.  If null one will be declared internally.
+	 * @param workSq Work image for storing the integral of squared values.  If null one will be declared internally.
+	 * @return Output image.
+	 */
+	public static ImageUInt8 localSauvola( ImageFloat32 input , ImageUInt8 output ,
+										  int radius , double k , double R , boolean down ,
+										  ImageFloat64 work , ImageFloat64 workSq )
+	{
+		output = InputSanityCheck.checkDeclare(input,output,ImageUInt8.class);
+		work = InputSanityCheck.checkReshape(work,input,ImageFloat64.class);
+		workSq = InputSanityCheck.checkReshape(workSq,input,ImageFloat64.class);
+
+		ImplThresholdAdaptive.localSauvola(input,output,radius,(float)k,(float)R,down,work,workSq);
+
+		return output;
+	}
+
+	/**
+	 * <p>
+	 * Adaptive threshold where each pixel is compared against the mean of the square region around it.
+	 * When thresholding down pixels <= mean - bias are set to one.  When thresholding up
+	 * pixels >= mean + bias are set to one.  The mean is computed using an integral image, making the
+	 * cost per pixel independent of the region's size.
+	 * </p>
+	 *
+	 * @param input Input image. Not modified.
+	 * @param output Binary output image. If null a new image will be declared. Modified.
+	 * @param radius Radius of the square region.  Width is radius*2+1.
+	 * @param bias Offset from the local mean.  Positive values make the threshold more stringent.
+	 * @param down If true inliers are below the threshold and false they are above the threshold.
+	 * @param work Work image for storing the integral image.  If null one will be declared internally.
+	 * @return Output image.
+	 */
+	public static ImageUInt8 localMean( ImageUInt8 input , ImageUInt8 output ,
+									   int radius , double bias , boolean down ,
+									   ImageFloat64 work )
+	{
+		output = InputSanityCheck.checkDeclare(input,output,ImageUInt8.class);
+		work = InputSanityCheck.checkReshape(work,input,ImageFloat64.class);
+
+		ImplThresholdAdaptive.localMean(input,output,radius,bias,down,work);
+
+		return output;
+	}
+
+	/**
+	 * <p>
+	 * Adaptive threshold where each pixel is compared against a Gaussian weighted local mean.
+	 * The Gaussian is approximated by applying a box filter three times using integral images, making the
+	 * cost per pixel independent of sigma.  See {@link #localMean} for how the threshold is applied.
+	 * </p>
+	 *
+	 * @param input Input image. Not modified.
+	 * @param output Binary output image. If null a new image will be declared. Modified.
+	 * @param sigma Standard deviation of the Gaussian.
+	 * @param bias Offset from the local mean.  Positive values make the threshold more stringent.
+	 * @param down If true inliers are below the threshold and false they are above the threshold.
+	 * @param work Work image for storing the integral image.  If null one will be declared internally.
+	 * @param work2 Work image for storing intermediate results.  If null one will be declared internally.
+	 * @return Output image.
+	 */
+	public static ImageUInt8 localGaussian( ImageUInt8 input , ImageUInt8 output ,
+										   double sigma , double bias , boolean down ,
+										   ImageFloat64 work , ImageFloat32 work2 )
+	{
+		output = InputSanityCheck.checkDeclare(input,output,ImageUInt8.class);
+		work = InputSanityCheck.checkReshape(work,input,ImageFloat64.class);
+		work2 = InputSanityCheck.checkReshape(work2,input,ImageFloat32.class);
+
+		ImplThresholdAdaptive.localGaussian(input,output,sigma,bias,down,work,work2);
+
+		return output;
+	}
+
+	/**
+	 * <p>
+	 * Sauvola's adaptive threshold.  The threshold at each pixel is T = m*(1 + k*(s/R - 1)), where m and s
+	 * are the mean and standard deviation inside the square region around it.  Designed for images of text,
+	 * it is more robust than the local mean in regions with little texture.  Statistics are computed
+	 * using integral images.
+	 * </p>
+	 *
+	 * <p>
+	 * J. Sauvola and M. Pietikainen, "Adaptive document image binarization" Pattern Recognition, 2000
+	 * </p>
+	 *
+	 * @param input Input image. Not modified.
+	 * @param output Binary output image. If null a new image will be declared. Modified.
+	 * @param radius Radius of the square region.  Width is radius*2+1.
+	 * @param k Sensitivity to the standard deviation.  Try 0.3
+	 * @param R Dynamic range of the standard deviation.  Try 128 for 8-bit images.
+	 * @param down If true inliers are below the threshold and false they are above the threshold.
+	 * @param work Work image for storing the integral image.  If null one will be declared internally.
+	 * @param workSq Work image for storing the integral of squared values.  If null one will be declared internally.
+	 * @return Output image.
+	 */
+	public static ImageUInt8 localSauvola( ImageUInt8 input , ImageUInt8 output ,
+										  int radius , double k , double R , boolean down ,
+										  ImageFloat64 work , ImageFloat64 workSq )
+	{
+		output = InputSanityCheck.checkDeclare(input,output,ImageUInt8.class);
+		work = InputSanityCheck.checkReshape(work,input,ImageFloat64.class);
+		workSq = InputSanityCheck.checkReshape(workSq,input,ImageFloat64.class);
+
+		ImplThresholdAdaptive.localSauvola(input,output,radius,(float)k,(float)R,down,work,workSq);
+
+		return output;
+	}
 
 }
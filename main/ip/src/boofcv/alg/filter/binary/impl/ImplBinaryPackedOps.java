@@ -0,0 +1,197 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.binary.impl;
+
+import boofcv.struct.image.ImageBinaryPacked;
+import boofcv.struct.image.ImageUInt8;
+
+/**
+ * <p>
+ * Implementation of binary operations for {@link ImageBinaryPacked}.  Each operation processes an entire
+ * 64-bit word at once.  The horizontal neighbors of each pixel are found by shifting the word by one bit and
+ * bringing in the adjacent bit from the neighboring word.
+ * </p>
+ *
+ * <p>
+ * Pixels outside the image are handled the same way as in {@link ImplBinaryNaiveOps}.  Erode and edge treat
+ * them as being one and dilate treats them as being zero.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ImplBinaryPackedOps {
+
+	private static final long ONES = ~0L;
+
+	public static void erode4(ImageBinaryPacked input, ImageBinaryPacked output) {
+		final int numWords = ImageBinaryPacked.wordsPerRow(input.width);
+		final long mask = input.getLastWordMask();
+
+		for (int y = 0; y < input.height; y++) {
+			int indexOut = output.startIndex + y*output.stride;
+			for( int i = 0; i < numWords; i++ ) {
+				long v = erodeH(input, y, i) & word(input, y - 1, i, ONES) & word(input, y + 1, i, ONES);
+				output.data[indexOut++] = i == numWords-1 ? v & mask : v;
+			}
+		}
+	}
+
+	public static void dilate4(ImageBinaryPacked input, ImageBinaryPacked output) {
+		final int numWords = ImageBinaryPacked.wordsPerRow(input.width);
+		final long mask = input.getLastWordMask();
+
+		for (int y = 0; y < input.height; y++) {
+			int indexOut = output.startIndex + y*output.stride;
+			for( int i = 0; i < numWords; i++ ) {
+				long v = dilateH(input, y, i) | word(input, y - 1, i, 0) | word(input, y + 1, i, 0);
+				output.data[indexOut++] = i == numWords-1 ? v & mask : v;
+			}
+		}
+	}
+
+	public static void edge4(ImageBinaryPacked input, ImageBinaryPacked output) {
+		final int numWords = ImageBinaryPacked.wordsPerRow(input.width);
+		final long mask = input.getLastWordMask();
+
+		for (int y = 0; y < input.height; y++) {
+			int indexIn = input.startIndex + y*input.stride;
+			int indexOut = output.startIndex + y*output.stride;
+			for( int i = 0; i < numWords; i++ ) {
+				long surrounded = erodeH(input, y, i) & word(input, y - 1, i, ONES) & word(input, y + 1, i, ONES);
+				long v = input.data[indexIn++] & ~surrounded;
+				output.data[indexOut++] = i == numWords-1 ? v & mask : v;
+			}
+		}
+	}
+
+	public static void erode8(ImageBinaryPacked input, ImageBinaryPacked output) {
+		final int numWords = ImageBinaryPacked.wordsPerRow(input.width);
+		final long mask = input.getLastWordMask();
+
+		for (int y = 0; y < input.height; y++) {
+			int indexOut = output.startIndex + y*output.stride;
+			for( int i = 0; i < numWords; i++ ) {
+				long v = erodeH(input, y - 1, i) & erodeH(input, y, i) & erodeH(input, y + 1, i);
+				output.data[indexOut++] = i == numWords-1 ? v & mask : v;
+			}
+		}
+	}
+
+	public static void dilate8(ImageBinaryPacked input, ImageBinaryPacked output) {
+		final int numWords = ImageBinaryPacked.wordsPerRow(input.width);
+		final long mask = input.getLastWordMask();
+
+		for (int y = 0; y < input.height; y++) {
+			int indexOut = output.startIndex + y*output.stride;
+			for( int i = 0; i < numWords; i++ ) {
+				long v = dilateH(input, y - 1, i) | dilateH(input, y, i) | dilateH(input, y + 1, i);
+				output.data[indexOut++] = i == numWords-1 ? v & mask : v;
+			}
+		}
+	}
+
+	public static void edge8(ImageBinaryPacked input, ImageBinaryPacked output) {
+		final int numWords = ImageBinaryPacked.wordsPerRow(input.width);
+		final long mask = input.getLastWordMask();
+
+		for (int y = 0; y < input.height; y++) {
+			int indexIn = input.startIndex + y*input.stride;
+			int indexOut = output.startIndex + y*output.stride;
+			for( int i = 0; i < numWords; i++ ) {
+				long surrounded = erodeH(input, y - 1, i) & erodeH(input, y, i) & erodeH(input, y + 1, i);
+				long v = input.data[indexIn++] & ~surrounded;
+				output.data[indexOut++] = i == numWords-1 ? v & mask : v;
+			}
+		}
+	}
+
+	/**
+	 * Packs a binary {@link ImageUInt8} into a {@link ImageBinaryPacked}.  Input pixel values must be 0 or 1.
+	 */
+	public static void pack(ImageUInt8 input, ImageBinaryPacked output) {
+		for (int y = 0; y < input.height; y++) {
+			int indexIn = input.startIndex + y*input.stride;
+			int indexOut = output.startIndex + y*output.stride;
+
+			for( int x = 0; x < input.width; x += ImageBinaryPacked.BITS ) {
+				int length = Math.min(ImageBinaryPacked.BITS, input.width - x);
+				long word = 0;
+				for( int bit = 0; bit < length; bit++ ) {
+					word |= ((long)input.data[indexIn++]) << bit;
+				}
+				output.data[indexOut++] = word;
+			}
+		}
+	}
+
+	/**
+	 * Unpacks a {@link ImageBinaryPacked} into a binary {@link ImageUInt8}.
+	 */
+	public static void unpack(ImageBinaryPacked input, ImageUInt8 output) {
+		for (int y = 0; y < input.height; y++) {
+			int indexIn = input.startIndex + y*input.stride;
+			int indexOut = output.startIndex + y*output.stride;
+
+			for( int x = 0; x < input.width; x += ImageBinaryPacked.BITS ) {
+				int length = Math.min(ImageBinaryPacked.BITS, input.width - x);
+				long word = input.data[indexIn++];
+				for( int bit = 0; bit < length; bit++ ) {
+					output.data[indexOut++] = (byte)((word >>> bit) & 1L);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns word 'i' in row 'y'.  If the row or word is outside the image then 'fill' is returned.  Bits
+	 * in the last word which are outside the image are also set to the value in 'fill'.
+	 */
+	protected static long word(ImageBinaryPacked image, int y, int i, long fill) {
+		int numWords = ImageBinaryPacked.wordsPerRow(image.width);
+		if( y < 0 || y >= image.height || i < 0 || i >= numWords )
+			return fill;
+
+		long v = image.data[image.startIndex + y*image.stride + i];
+		if( i == numWords-1 ) {
+			long mask = image.getLastWordMask();
+			v = (v & mask) | (fill & ~mask);
+		}
+		return v;
+	}
+
+	/**
+	 * Horizontal 3 pixel erosion of word 'i' in row 'y'.  Pixels outside the image are one.
+	 */
+	protected static long erodeH(ImageBinaryPacked image, int y, int i) {
+		long c = word(image, y, i, ONES);
+		long left = (c << 1) | (word(image, y, i - 1, ONES) >>> 63);
+		long right = (c >>> 1) | (word(image, y, i + 1, ONES) << 63);
+		return c & left & right;
+	}
+
+	/**
+	 * Horizontal 3 pixel dilation of word 'i' in row 'y'.  Pixels outside the image are zero.
+	 */
+	protected static long dilateH(ImageBinaryPacked image, int y, int i) {
+		long c = word(image, y, i, 0);
+		long left = (c << 1) | (word(image, y, i - 1, 0) >>> 63);
+		long right = (c >>> 1) | (word(image, y, i + 1, 0) << 63);
+		return c | left | right;
+	}
+}
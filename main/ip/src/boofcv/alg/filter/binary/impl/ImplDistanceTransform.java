@@ -0,0 +1,229 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package boofcv.alg.filter.binary.impl;
+
+import boofcv.misc.BlockTask;
+import boofcv.misc.BoofConcurrency;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageSInt32;
+import boofcv.struct.image.ImageUInt8;
+
+/**
+ * <p>
+ * Exact Euclidean distance transform using the linear time algorithm of Meijster et al. [1].  The transform
+ * is separable.  First the distance to the closest feature pixel in the same column is found for every pixel.
+ * Then each row is processed independently by computing the lower envelope of the parabolas centered at
+ * each column.  Both passes are split up across threads using {@link BoofConcurrency}.
+ * </p>
+ *
+ * <p>
+ * Only integer arithmetic is used, so the squared distances are exact.  The intermediate column distances are
+ * stored inside the output image.
+ * </p>
+ *
+ * <p>
+ * [1] A. Meijster, J.B.T.M. Roerdink, and W.H. Hesselink, "A General Algorithm for Computing Distance
+ * Transforms in Linear Time" Mathematical Morphology and its Applications to Image and Signal Processing, 2000
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ImplDistanceTransform {
+
+	// minimum number of rows or columns processed by a single thread
+	public static int MIN_BLOCK = 32;
+
+	/**
+	 * Computes the squared distance from each pixel to the closest pixel with a non-zero value.
+	 */
+	public static void euclideanSq( final ImageUInt8 input , final ImageSInt32 output ) {
+		final int infinity = input.width + input.height;
+
+		// distance to the closest feature in the same column
+		BoofConcurrency.loopBlocks(0,input.width,MIN_BLOCK,new BlockTask() {
+			@Override
+			public void process(int start, int end) {
+				int length = end-start;
+				for( int y = 0; y < input.height; y++ ) {
+					int indexIn = input.startIndex + y*input.stride + start;
+					int indexOut = output.startIndex + y*output.stride + start;
+					int indexPrev = indexOut - output.stride;
+
+					for( int i = 0; i < length; i++ , indexOut++ , indexPrev++ ) {
+						if( input.data[indexIn++] != 0 )
+							output.data[indexOut] = 0;
+						else if( y == 0 )
+							output.data[indexOut] = infinity;
+						else
+							output.data[indexOut] = output.data[indexPrev] + 1;
+					}
+				}
+				for( int y = input.height-2; y >= 0; y-- ) {
+					int indexOut = output.startIndex + y*output.stride + start;
+					int indexNext = indexOut + output.stride;
+
+					for( int i = 0; i < length; i++ , indexOut++ , indexNext++ ) {
+						int below = output.data[indexNext] + 1;
+						if( below < output.data[indexOut] )
+							output.data[indexOut] = below;
+					}
+				}
+			}
+		});
+
+		// combine the column distances along each row
+		BoofConcurrency.loopBlocks(0,input.height,MIN_BLOCK,new BlockTask() {
+			@Override
+			public void process(int start, int end) {
+				int g[] = new int[ input.width ];
+				int dt[] = new int[ input.width ];
+				int s[] = new int[ input.width ];
+				int t[] = new int[ input.width ];
+
+				for( int y = start; y < end; y++ ) {
+					int index = output.startIndex + y*output.stride;
+					System.arraycopy(output.data,index,g,0,input.width);
+					row(g, dt, s, t, input.width);
+					System.arraycopy(dt,0,output.data,index,input.width);
+				}
+			}
+		});
+	}
+
+	/**
+	 * Computes the squared distance from each pixel to the closest pixel with a non-zero value.
+	 */
+	public static void euclideanSq( final ImageUInt8 input , final ImageFloat32 output ) {
+		final int infinity = input.width + input.height;
+
+		// distance to the closest feature in the same column.  Small integers are exactly represented by floats
+		BoofConcurrency.loopBlocks(0,input.width,MIN_BLOCK,new BlockTask() {
+			@Override
+			public void process(int start, int end) {
+				int length = end-start;
+				for( int y = 0; y < input.height; y++ ) {
+					int indexIn = input.startIndex + y*input.stride + start;
+					int indexOut = output.startIndex + y*output.stride + start;
+					int indexPrev = indexOut - output.stride;
+
+					for( int i = 0; i < length; i++ , indexOut++ , indexPrev++ ) {
+						if( input.data[indexIn++] != 0 )
+							output.data[indexOut] = 0;
+						else if( y == 0 )
+							output.data[indexOut] = infinity;
+						else
+							output.data[indexOut] = output.data[indexPrev] + 1;
+					}
+				}
+				for( int y = input.height-2; y >= 0; y-- ) {
+					int indexOut = output.startIndex + y*output.stride + start;
+					int indexNext = indexOut + output.stride;
+
+					for( int i = 0; i < length; i++ , indexOut++ , indexNext++ ) {
+						float below = output.data[indexNext] + 1;
+						if( below < output.data[indexOut] )
+							output.data[indexOut] = below;
+					}
+				}
+			}
+		});
+
+		// combine the column distances along each row
+		BoofConcurrency.loopBlocks(0,input.height,MIN_BLOCK,new BlockTask() {
+			@Override
+			public void process(int start, int end) {
+				int g[] = new int[ input.width ];
+				int dt[] = new int[ input.width ];
+				int s[] = new int[ input.width ];
+				int t[] = new int[ input.width ];
+
+				for( int y = start; y < end; y++ ) {
+					int index = output.startIndex + y*output.stride;
+					for( int x = 0; x < input.width; x++ )
+						g[x] = (int)output.data[index+x];
+					row(g, dt, s, t, input.width);
+					for( int x = 0; x < input.width; x++ )
+						output.data[index+x] = dt[x];
+				}
+			}
+		});
+	}
+
+	/**
+	 * Computes the squared distance transform along a single row.
+	 *
+	 * @param g Distance to the closest feature in each column.
+	 * @param dt Squared distance to the closest feature. Modified.
+	 * @param s Work space.  Column at the center of each parabola in the lower envelope.
+	 * @param t Work space.  Column at which each parabola in the lower envelope starts.
+	 * @param width Number of columns.
+	 */
+	public static void row( int g[] , int dt[] , int s[] , int t[] , int width ) {
+		if( width == 0 )
+			return;
+
+		int q = 0;
+		s[0] = 0;
+		t[0] = 0;
+
+		for( int u = 1; u < width; u++ ) {
+			while( q >= 0 && f(t[q],s[q],g) > f(t[q],u,g) )
+				q--;
+
+			if( q < 0 ) {
+				q = 0;
+				s[0] = u;
+			} else {
+				int w = 1 + sep(s[q],u,g);
+				if( w < width ) {
+					q++;
+					s[q] = u;
+					t[q] = w;
+				}
+			}
+		}
+
+		for( int u = width-1; u >= 0; u-- ) {
+			dt[u] = f(u,s[q],g);
+			if( u == t[q] )
+				q--;
+		}
+	}
+
+	/**
+	 * Squared distance from column x to the feature closest to column i
+	 */
+	private static int f( int x , int i , int g[] ) {
+		int dx = x-i;
+		return dx*dx + g[i]*g[i];
+	}
+
+	/**
+	 * The last column at which the parabola centered at i is below the parabola centered at u
+	 */
+	private static int sep( int i , int u , int g[] ) {
+		int numerator = u*u - i*i + g[u]*g[u] - g[i]*g[i];
+		int denominator = 2*(u-i);
+
+		// round towards negative infinity
+		if( numerator >= 0 )
+			return numerator/denominator;
+		else
+			return -((-numerator + denominator - 1)/denominator);
+	}
+}
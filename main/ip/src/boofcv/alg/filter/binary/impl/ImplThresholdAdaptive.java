@@ -0,0 +1,400 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.binary.impl;
+
+import boofcv.misc.BlockTask;
+import boofcv.misc.BoofConcurrency;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageFloat64;
+import boofcv.struct.image.ImageUInt8;
+
+/**
+ * <p>
+ * Implementation of adaptive thresholding using integral images.  The local statistics around each pixel are
+ * computed from an integral image, making the cost per pixel constant for any window size.  Near the image
+ * border the window is truncated to lie inside the image.  Integral images are stored in {@link ImageFloat64}
+ * so that precision is not lost in large images.
+ * </p>
+ *
+ * <p>
+ * Rows are split into blocks which are processed in parallel using {@link BoofConcurrency}.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ImplThresholdAdaptive {
+
+	// minimum number of rows or columns processed by a single thread
+	public static int MIN_BLOCK = 32;
+
+	/**
+	 * Thresholds each pixel using the local mean, T = mean - bias when thresholding down and
+	 * T = mean + bias when thresholding up.
+	 */
+	public static void localMean( final ImageUInt8 input , final ImageUInt8 output ,
+								  final int radius , double bias , final boolean down ,
+								  final ImageFloat64 integral )
+	{
+		integral(input, integral, null);
+
+		final float offset = (float)(down ? -bias : bias);
+		BoofConcurrency.loopBlocks(0,input.height,MIN_BLOCK,new BlockTask() {
+			@Override
+			public void process(int start, int end) {
+				float threshold[] = new float[ input.width ];
+				for( int y = start; y < end; y++ ) {
+					rowMean(integral, y, radius, offset, threshold);
+					thresholdRow(input, output, y, threshold, down);
+				}
+			}
+		});
+	}
+
+	/**
+	 * Thresholds each pixel using the local mean, T = mean - bias when thresholding down and
+	 * T = mean + bias when thresholding up.
+	 */
+	public static void localMean( final ImageFloat32 input , final ImageUInt8 output ,
+								  final int radius , double bias , final boolean down ,
+								  final ImageFloat64 integral )
+	{
+		integral(input, integral, null);
+
+		final float offset = (float)(down ? -bias : bias);
+		BoofConcurrency.loopBlocks(0,input.height,MIN_BLOCK,new BlockTask() {
+			@Override
+			public void process(int start, int end) {
+				float threshold[] = new float[ input.width ];
+				for( int y = start; y < end; y++ ) {
+					rowMean(integral, y, radius, offset, threshold);
+					thresholdRow(input, output, y, threshold, down);
+				}
+			}
+		});
+	}
+
+	/**
+	 * Thresholds each pixel using a Gaussian weighted local mean.  The Gaussian is approximated by applying
+	 * a box filter three times, see {@link #gaussianBoxRadius}.
+	 */
+	public static void localGaussian( final ImageUInt8 input , final ImageUInt8 output ,
+									  double sigma , double bias , final boolean down ,
+									  final ImageFloat64 integral , final ImageFloat32 work )
+	{
+		final int radius = gaussianBoxRadius(sigma);
+
+		integral(input, integral, null);
+		boxMean(integral, radius, work);
+		integral(work, integral, null);
+		boxMean(integral, radius, work);
+		integral(work, integral, null);
+
+		final float offset = (float)(down ? -bias : bias);
+		BoofConcurrency.loopBlocks(0,input.height,MIN_BLOCK,new BlockTask() {
+			@Override
+			public void process(int start, int end) {
+				float threshold[] = new float[ input.width ];
+				for( int y = start; y < end; y++ ) {
+					rowMean(integral, y, radius, offset, threshold);
+					thresholdRow(input, output, y, threshold, down);
+				}
+			}
+		});
+	}
+
+	/**
+	 * Thresholds each pixel using a Gaussian weighted local mean.  The Gaussian is approximated by applying
+	 * a box filter three times, see {@link #gaussianBoxRadius}.
+	 */
+	public static void localGaussian( final ImageFloat32 input , final ImageUInt8 output ,
+									  double sigma , double bias , final boolean down ,
+									  final ImageFloat64 integral , final ImageFloat32 work )
+	{
+		final int radius = gaussianBoxRadius(sigma);
+
+		integral(input, integral, null);
+		boxMean(integral, radius, work);
+		integral(work, integral, null);
+		boxMean(integral, radius, work);
+		integral(work, integral, null);
+
+		final float offset = (float)(down ? -bias : bias);
+		BoofConcurrency.loopBlocks(0,input.height,MIN_BLOCK,new BlockTask() {
+			@Override
+			public void process(int start, int end) {
+				float threshold[] = new float[ input.width ];
+				for( int y = start; y < end; y++ ) {
+					rowMean(integral, y, radius, offset, threshold);
+					thresholdRow(input, output, y, threshold, down);
+				}
+			}
+		});
+	}
+
+	/**
+	 * Sauvola's threshold, T = mean*(1 + k*(stdev/R - 1)).
+	 */
+	public static void localSauvola( final ImageUInt8 input , final ImageUInt8 output ,
+									 final int radius , final float k , final float R , final boolean down ,
+									 final ImageFloat64 integral , final ImageFloat64 integralSq )
+	{
+		integral(input, integral, integralSq);
+
+		BoofConcurrency.loopBlocks(0,input.height,MIN_BLOCK,new BlockTask() {
+			@Override
+			public void process(int start, int end) {
+				float threshold[] = new float[ input.width ];
+				for( int y = start; y < end; y++ ) {
+					rowSauvola(integral, integralSq, y, radius, k, R, threshold);
+					thresholdRow(input, output, y, threshold, down);
+				}
+			}
+		});
+	}
+
+	/**
+	 * Sauvola's threshold, T = mean*(1 + k*(stdev/R - 1)).
+	 */
+	public static void localSauvola( final ImageFloat32 input , final ImageUInt8 output ,
+									 final int radius , final float k , final float R , final boolean down ,
+									 final ImageFloat64 integral , final ImageFloat64 integralSq )
+	{
+		integral(input, integral, integralSq);
+
+		BoofConcurrency.loopBlocks(0,input.height,MIN_BLOCK,new BlockTask() {
+			@Override
+			public void process(int start, int end) {
+				float threshold[] = new float[ input.width ];
+				for( int y = start; y < end; y++ ) {
+					rowSauvola(integral, integralSq, y, radius, k, R, threshold);
+					thresholdRow(input, output, y, threshold, down);
+				}
+			}
+		});
+	}
+
+	/**
+	 * Radius of a box filter which when applied three times approximates a Gaussian with the specified
+	 * standard deviation.  The variance of a box filter with width w is (w*w-1)/12.
+	 */
+	public static int gaussianBoxRadius( double sigma ) {
+		double width = Math.sqrt(4*sigma*sigma + 1);
+		return Math.max(1,(int)Math.round((width-1)/2));
+	}
+
+	/**
+	 * Computes the integral image and optionally the integral image of squared pixel values.
+	 *
+	 * @param input Input image.
+	 * @param integral Integral image. Modified.
+	 * @param integralSq Integral image of squared values.  If null it is not computed. Modified.
+	 */
+	public static void integral( final ImageUInt8 input , final ImageFloat64 integral , final ImageFloat64 integralSq ) {
+		BoofConcurrency.loopBlocks(0,input.height,MIN_BLOCK,new BlockTask() {
+			@Override
+			public void process(int start, int end) {
+				for( int y = start; y < end; y++ ) {
+					int indexIn = input.startIndex + y*input.stride;
+					int indexOut = integral.startIndex + y*integral.stride;
+					int indexSq = integralSq == null ? 0 : integralSq.startIndex + y*integralSq.stride;
+
+					double sum = 0, sumSq = 0;
+					for( int x = 0; x < input.width; x++ ) {
+						int v = input.data[indexIn++] & 0xFF;
+						sum += v;
+						integral.data[indexOut++] = sum;
+						if( integralSq != null ) {
+							sumSq += v*v;
+							integralSq.data[indexSq++] = sumSq;
+						}
+					}
+				}
+			}
+		});
+
+		accumulateColumns(integral);
+		if( integralSq != null )
+			accumulateColumns(integralSq);
+	}
+
+	/**
+	 * Computes the integral image and optionally the integral image of squared pixel values.
+	 *
+	 * @param input Input image.
+	 * @param integral Integral image. Modified.
+	 * @param integralSq Integral image of squared values.  If null it is not computed. Modified.
+	 */
+	public static void integral( final ImageFloat32 input , final ImageFloat64 integral , final ImageFloat64 integralSq ) {
+		BoofConcurrency.loopBlocks(0,input.height,MIN_BLOCK,new BlockTask() {
+			@Override
+			public void process(int start, int end) {
+				for( int y = start; y < end; y++ ) {
+					int indexIn = input.startIndex + y*input.stride;
+					int indexOut = integral.startIndex + y*integral.stride;
+					int indexSq = integralSq == null ? 0 : integralSq.startIndex + y*integralSq.stride;
+
+					double sum = 0, sumSq = 0;
+					for( int x = 0; x < input.width; x++ ) {
+						double v = input.data[indexIn++];
+						sum += v;
+						integral.data[indexOut++] = sum;
+						if( integralSq != null ) {
+							sumSq += v*v;
+							integralSq.data[indexSq++] = sumSq;
+						}
+					}
+				}
+			}
+		});
+
+		accumulateColumns(integral);
+		if( integralSq != null )
+			accumulateColumns(integralSq);
+	}
+
+	/**
+	 * Second pass of the integral image computation.  Each row is added to the row below it.  Columns are
+	 * split into blocks so that each thread traverses memory row by row.
+	 */
+	private static void accumulateColumns( final ImageFloat64 integral ) {
+		BoofConcurrency.loopBlocks(0,integral.width,MIN_BLOCK,new BlockTask() {
+			@Override
+			public void process(int start, int end) {
+				for( int y = 1; y < integral.height; y++ ) {
+					int indexPrev = integral.startIndex + (y-1)*integral.stride + start;
+					int index = integral.startIndex + y*integral.stride + start;
+					int indexEnd = index + (end-start);
+
+					while( index < indexEnd ) {
+						integral.data[index++] += integral.data[indexPrev++];
+					}
+				}
+			}
+		});
+	}
+
+	/**
+	 * Computes the mean inside a square region around every pixel and writes it to the output image.
+	 */
+	private static void boxMean( final ImageFloat64 integral , final int radius , final ImageFloat32 output ) {
+		BoofConcurrency.loopBlocks(0,integral.height,MIN_BLOCK,new BlockTask() {
+			@Override
+			public void process(int start, int end) {
+				float row[] = new float[ integral.width ];
+				for( int y = start; y < end; y++ ) {
+					rowMean(integral, y, radius, 0, row);
+					System.arraycopy(row,0,output.data,output.startIndex + y*output.stride,integral.width);
+				}
+			}
+		});
+	}
+
+	/**
+	 * Computes the local mean plus an offset for each pixel in row 'y'
+	 */
+	private static void rowMean( ImageFloat64 integral , int y , int radius , float offset , float row[] ) {
+		int y0 = Math.max(0,y-radius);
+		int y1 = Math.min(integral.height-1,y+radius);
+		int indexUpper = integral.startIndex + (y0-1)*integral.stride;
+		int indexLower = integral.startIndex + y1*integral.stride;
+		int height = y1-y0+1;
+
+		for( int x = 0; x < integral.width; x++ ) {
+			int x0 = Math.max(0,x-radius);
+			int x1 = Math.min(integral.width-1,x+radius);
+
+			double sum = block(integral, indexUpper, indexLower, y0, x0, x1);
+			row[x] = (float)(sum/((x1-x0+1)*height)) + offset;
+		}
+	}
+
+	/**
+	 * Computes Sauvola's threshold for each pixel in row 'y'
+	 */
+	private static void rowSauvola( ImageFloat64 integral , ImageFloat64 integralSq ,
+									int y , int radius , float k , float R , float row[] ) {
+		int y0 = Math.max(0,y-radius);
+		int y1 = Math.min(integral.height-1,y+radius);
+		int indexUpper = integral.startIndex + (y0-1)*integral.stride;
+		int indexLower = integral.startIndex + y1*integral.stride;
+		int indexUpperSq = integralSq.startIndex + (y0-1)*integralSq.stride;
+		int indexLowerSq = integralSq.startIndex + y1*integralSq.stride;
+		int height = y1-y0+1;
+
+		for( int x = 0; x < integral.width; x++ ) {
+			int x0 = Math.max(0,x-radius);
+			int x1 = Math.min(integral.width-1,x+radius);
+			int N = (x1-x0+1)*height;
+
+			double mean = block(integral, indexUpper, indexLower, y0, x0, x1)/N;
+			double meanSq = block(integralSq, indexUpperSq, indexLowerSq, y0, x0, x1)/N;
+			double stdev = Math.sqrt(Math.max(0,meanSq - mean*mean));
+
+			row[x] = (float)(mean*(1 + k*(stdev/R - 1)));
+		}
+	}
+
+	/**
+	 * Sum of pixels inside the block x0 <= x <= x1 and y0 <= y <= y1.
+	 *
+	 * @param indexUpper Index of the first element in row y0-1
+	 * @param indexLower Index of the first element in row y1
+	 */
+	private static double block( ImageFloat64 integral , int indexUpper , int indexLower , int y0 , int x0 , int x1 ) {
+		double sum = integral.data[indexLower + x1];
+		if( x0 > 0 )
+			sum -= integral.data[indexLower + x0 - 1];
+		if( y0 > 0 ) {
+			sum -= integral.data[indexUpper + x1];
+			if( x0 > 0 )
+				sum += integral.data[indexUpper + x0 - 1];
+		}
+		return sum;
+	}
+
+	private static void thresholdRow( ImageUInt8 input , ImageUInt8 output , int y , float threshold[] , boolean down ) {
+		int indexIn = input.startIndex + y*input.stride;
+		int indexOut = output.startIndex + y*output.stride;
+
+		if( down ) {
+			for( int x = 0; x < input.width; x++ ) {
+				output.data[indexOut++] = (input.data[indexIn++] & 0xFF) <= threshold[x] ? (byte)1 : (byte)0;
+			}
+		} else {
+			for( int x = 0; x < input.width; x++ ) {
+				output.data[indexOut++] = (input.data[indexIn++] & 0xFF) >= threshold[x] ? (byte)1 : (byte)0;
+			}
+		}
+	}
+
+	private static void thresholdRow( ImageFloat32 input , ImageUInt8 output , int y , float threshold[] , boolean down ) {
+		int indexIn = input.startIndex + y*input.stride;
+		int indexOut = output.startIndex + y*output.stride;
+
+		if( down ) {
+			for( int x = 0; x < input.width; x++ ) {
+				output.data[indexOut++] = input.data[indexIn++] <= threshold[x] ? (byte)1 : (byte)0;
+			}
+		} else {
+			for( int x = 0; x < input.width; x++ ) {
+				output.data[indexOut++] = input.data[indexIn++] >= threshold[x] ? (byte)1 : (byte)0;
+			}
+		}
+	}
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.convolve;
+
+import boofcv.abst.filter.convolve.ConvolveInterface;
+import boofcv.misc.BlockTask;
+import boofcv.misc.BoofConcurrency;
+import boofcv.struct.image.ImageSingleBand;
+
+/**
+ * <p>
+ * Applies 1D convolutions across multiple threads using {@link BoofConcurrency}.  A horizontal convolution
+ * only reads from pixels in the same row, so the image is split up into blocks of rows which are convolved
+ * independently.  Vertical convolutions are split up into blocks of columns.  Each block is processed as a
+ * sub-image, which produces results identical to convolving the whole image at once.
+ * </p>
+ *
+ * <p>
+ * Works with regular and down sampling convolutions.  The output must have at least as many rows as the input
+ * for horizontal convolutions and at least as many columns for vertical convolutions.  Any extra rows or columns
+ * are passed in with the last block.  The convolution must be thread safe, which is true for
+ * {@link boofcv.core.image.border.BorderType#SKIP} and {@link boofcv.core.image.border.BorderType#NORMALIZED},
+ * but not for borders which use an {@link boofcv.core.image.border.ImageBorder}.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ConvolveConcurrent {
+
+	// minimum number of rows or columns processed by a single thread
+	public static int MIN_BLOCK = 32;
+
+	/**
+	 * Convolves the image along its rows.
+	 *
+	 * @param conv Horizontal convolution.
+	 * @param input Input image. Not modified.
+	 * @param output Output image. Modified.
+	 */
+	public static <In extends ImageSingleBand, Out extends ImageSingleBand>
+	void horizontal( final ConvolveInterface<In,Out> conv , final In input , final Out output )
+	{
+		if( output.height < input.height )
+			throw new IllegalArgumentException("Output has fewer rows than the input");
+
+		BoofConcurrency.loopBlocks(0,input.height,MIN_BLOCK,new BlockTask() {
+			@Override
+			public void process(int start, int end) {
+				if( start == 0 && end == input.height ) {
+					conv.process(input,output);
+				} else {
+					In subIn = (In)input.subimage(0,start,input.width,end);
+					int endOut = end == input.height ? output.height : end;
+					Out subOut = (Out)output.subimage(0,start,output.width,endOut);
+					conv.process(subIn,subOut);
+				}
+			}
+		});
+	}
+
+	/**
+	 * Convolves the image along its columns.  Some implementations select a different algorithm when the
+	 * kernel is wider than the image, which is why each block must contain at least 'minColumns' columns.
+	 *
+	 * @param conv Vertical convolution.
+	 * @param input Input image. Not modified.
+	 * @param output Output image. Modified.
+	 * @param minColumns The smallest number of columns in a block.  Set to kernel width + 1 to be safe.
+	 */
+	public static <In extends ImageSingleBand, Out extends ImageSingleBand>
+	void vertical( final ConvolveInterface<In,Out> conv , final In input , final Out output , int minColumns )
+	{
+		if( output.width < input.width )
+			throw new IllegalArgumentException("Output has fewer columns than the input");
+
+		BoofConcurrency.loopBlocks(0,input.width,Math.max(MIN_BLOCK,minColumns),new BlockTask() {
+			@Override
+			public void process(int start, int end) {
+				if( start == 0 && end == input.width ) {
+					conv.process(input,output);
+				} else {
+					In subIn = (In)input.subimage(start,0,end,input.height);
+					int endOut = end == input.width ? output.width : end;
+					Out subOut = (Out)output.subimage(start,0,endOut,output.height);
+					conv.process(subIn,subOut);
+				}
+			}
+		});
+	}
+}
@@ -0,0 +1,209 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.filter.convolve;
+
+import boofcv.alg.InputSanityCheck;
+import boofcv.core.image.border.ImageBorder_F32;
+import boofcv.numerics.fft.FastFourierTransform2D_F64;
+import boofcv.numerics.fft.FastFourierTransform_F64;
+import boofcv.struct.convolve.Kernel2D_F32;
+import boofcv.struct.image.ImageFloat32;
+
+/**
+ * <p>
+ * Convolves a 2D kernel across an image using the Fast Fourier Transform (FFT).  The direct approach requires
+ * O(k<sup>2</sup>) operations per pixel, where k is the kernel's width, while the FFT requires O(log(k)) per pixel.
+ * For large kernels this is much faster.  Results are identical to {@link ConvolveImageNoBorder} and
+ * {@link ConvolveWithBorder}, up to floating point round off.
+ * </p>
+ *
+ * <p>
+ * The image is broken up into square tiles, which keeps the transform small no matter how large the image is.
+ * Each tile is read along with a border as wide as the kernel's radius, transformed, multiplied by the
+ * kernel's transform, and transformed back (overlap-save).  Pixels outside the image are read using the
+ * {@link ImageBorder_F32}, so border handling is the same as the direct implementation.  Two tiles are
+ * processed at once by placing them in the real and imaginary components of the same transform.
+ * </p>
+ *
+ * @see GConvolveImageOps
+ *
+ * @author Peter Abeles
+ */
+public class ConvolveFourier {
+
+	/**
+	 * Kernels which are at least this wide are convolved using the FFT by {@link GConvolveImageOps}.
+	 */
+	public static int MIN_KERNEL_WIDTH = 15;
+
+	/**
+	 * Performs a 2D convolution across the image.  The image's borders are not processed.
+	 *
+	 * @param kernel A square kernel that will be convolved across the source image
+	 * @param input  The source image that is to be convolved
+	 * @param output   The results of the convolution
+	 */
+	public static void convolve( Kernel2D_F32 kernel , ImageFloat32 input , ImageFloat32 output ) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		int r = kernel.getRadius();
+		process(kernel, input, output, null, r, r, input.width - r, input.height - r);
+	}
+
+	/**
+	 * Performs a 2D convolution across the image.  Borders are handled as specified by the 'border'
+	 * parameter.
+	 *
+	 * @param kernel The kernel that is being convolved. Not modified.
+	 * @param input The original image. Not modified.
+	 * @param output Where the resulting image is written to. Modified.
+	 * @param border How the image borders are handled.
+	 */
+	public static void convolve( Kernel2D_F32 kernel , ImageFloat32 input , ImageFloat32 output ,
+								 ImageBorder_F32 border ) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		border.setImage(input);
+		process(kernel, input, output, border, 0, 0, input.width, input.height);
+	}
+
+	/**
+	 * Selects the width of the square transform used to process each tile.  Larger tiles reduce the
+	 * overhead of reading the tile's border but each transform is more expensive.
+	 *
+	 * @param kernelWidth Width of the kernel
+	 * @param regionWidth Width of the region being processed
+	 * @param regionHeight Height of the region being processed
+	 * @return Width of the transform.  Always a power of two.
+	 */
+	public static int selectTransformWidth( int kernelWidth , int regionWidth , int regionHeight ) {
+		int r = kernelWidth/2;
+		int best = FastFourierTransform_F64.nextPowerOfTwo(Math.max(32, 4*kernelWidth));
+		// no need for the tile to be larger than the region
+		int largest = FastFourierTransform_F64.nextPowerOfTwo(Math.max(regionWidth, regionHeight) + 2*r);
+		return Math.min(best, largest);
+	}
+
+	/**
+	 * Convolves the kernel inside the specified region of the output image
+	 *
+	 * @param border If null then the whole kernel must be inside the image
+	 */
+	private static void process( Kernel2D_F32 kernel , ImageFloat32 input , ImageFloat32 output ,
+								 ImageBorder_F32 border , int x0 , int y0 , int x1 , int y1 ) {
+		if( x1 <= x0 || y1 <= y0 )
+			return;
+
+		int r = kernel.getRadius();
+		int P = selectTransformWidth(kernel.width, x1 - x0, y1 - y0);
+		int T = P - 2*r;
+
+		FastFourierTransform2D_F64 fft = new FastFourierTransform2D_F64(P,P);
+
+		// transform of the kernel, which is placed in the top left corner
+		double spectrumKernel[] = new double[ 2*P*P ];
+		for( int y = 0; y < kernel.width; y++ ) {
+			for( int x = 0; x < kernel.width; x++ ) {
+				spectrumKernel[(y*P+x)*2] = kernel.data[y*kernel.width+x];
+			}
+		}
+		fft.forward(spectrumKernel);
+
+		double work[] = new double[ 2*P*P ];
+
+		int tilesX = (x1 - x0 + T - 1)/T;
+		int tilesY = (y1 - y0 + T - 1)/T;
+		int numTiles = tilesX*tilesY;
+
+		for( int i = 0; i < numTiles; i += 2 ) {
+			int tileA_x = x0 + (i % tilesX)*T;
+			int tileA_y = y0 + (i / tilesX)*T;
+			int tileB_x = -1, tileB_y = -1;
+			boolean hasB = i + 1 < numTiles;
+			if( hasB ) {
+				tileB_x = x0 + ((i+1) % tilesX)*T;
+				tileB_y = y0 + ((i+1) / tilesX)*T;
+			}
+
+			for( int j = 0; j < work.length; j++ )
+				work[j] = 0;
+
+			readTile(input, border, tileA_x - r, tileA_y - r,
+					Math.min(T, x1 - tileA_x) + 2*r, Math.min(T, y1 - tileA_y) + 2*r, work, P, 0);
+			if( hasB ) {
+				readTile(input, border, tileB_x - r, tileB_y - r,
+						Math.min(T, x1 - tileB_x) + 2*r, Math.min(T, y1 - tileB_y) + 2*r, work, P, 1);
+			}
+
+			// correlation is multiplication by the kernel's conjugate
+			fft.forward(work);
+			for( int j = 0; j < work.length; j += 2 ) {
+				double a = work[j], b = work[j+1];
+				double c = spectrumKernel[j], d = spectrumKernel[j+1];
+				work[j] = a*c + b*d;
+				work[j+1] = b*c - a*d;
+			}
+			fft.inverse(work);
+
+			writeTile(output, tileA_x, tileA_y, Math.min(T, x1 - tileA_x), Math.min(T, y1 - tileA_y), work, P, 0);
+			if( hasB ) {
+				writeTile(output, tileB_x, tileB_y, Math.min(T, x1 - tileB_x), Math.min(T, y1 - tileB_y), work, P, 1);
+			}
+		}
+	}
+
+	/**
+	 * Copies a rectangular region of the image into the work space.  Pixels outside the image are read from
+	 * the border.
+	 */
+	private static void readTile( ImageFloat32 input , ImageBorder_F32 border ,
+								  int x0 , int y0 , int width , int height ,
+								  double work[] , int P , int component ) {
+		for( int y = 0; y < height; y++ ) {
+			int indexWork = y*P*2 + component;
+			int yy = y0 + y;
+
+			if( yy < 0 || yy >= input.height || x0 < 0 || x0 + width > input.width ) {
+				for( int x = 0; x < width; x++ , indexWork += 2 ) {
+					work[indexWork] = border.get(x0 + x, yy);
+				}
+			} else {
+				int index = input.startIndex + yy*input.stride + x0;
+				for( int x = 0; x < width; x++ , indexWork += 2 ) {
+					work[indexWork] = input.data[index++];
+				}
+			}
+		}
+	}
+
+	/**
+	 * Copies the valid portion of the convolution into the output image
+	 */
+	private static void writeTile( ImageFloat32 output , int x0 , int y0 , int width , int height ,
+								   double work[] , int P , int component ) {
+		for( int y = 0; y < height; y++ ) {
+			int indexWork = y*P*2 + component;
+			int index = output.startIndex + (y0 + y)*output.stride + x0;
+			for( int x = 0; x < width; x++ , indexWork += 2 ) {
+				output.data[index++] = (float)work[indexWork];
+			}
+		}
+	}
+}
@@ -81,7 +81,8 @@ public class GConvolveImageOps {
 
 	/**
 	 * Performs a 2D convolution across the image.  Borders are handled as specified by the 'border'
-	 * parameter.
+	 * parameter.  Floating point kernels which are at least {@link ConvolveFourier#MIN_KERNEL_WIDTH} wide
+	 * are convolved using the FFT.
 	 *
 	 * @param input The original image. Not modified.
 	 * @param output Where the resulting image is written to. Modified.
@@ -91,7 +92,10 @@ public class GConvolveImageOps {
 	public static <T extends ImageSingleBand, K extends Kernel2D, B extends ImageBorder<T>>
 	void convolve(K kernel, T input, T output , B border ) {
 		if( input instanceof ImageFloat32 ) {
-			ConvolveWithBorder.convolve((Kernel2D_F32) kernel, (ImageFloat32) input, (ImageFloat32) output, (ImageBorder_F32) border);
+			if( kernel.width >= ConvolveFourier.MIN_KERNEL_WIDTH )
+				ConvolveFourier.convolve((Kernel2D_F32) kernel, (ImageFloat32) input, (ImageFloat32) output, (ImageBorder_F32) border);
+			else
+				ConvolveWithBorder.convolve((Kernel2D_F32) kernel, (ImageFloat32) input, (ImageFloat32) output, (ImageBorder_F32) border);
 		} else if( input instanceof ImageUInt8 ) {
 			if( ImageInt16.class.isAssignableFrom(output.getClass()) )
 				ConvolveWithBorder.convolve((Kernel2D_I32) kernel, (ImageUInt8) input, (ImageInt16) output, (ImageBorder_I32) border);
@@ -157,7 +161,8 @@ public class GConvolveImageOps {
 	}
 
 	/**
-	 * Performs a 2D convolution across the image.  The image's borders are not processed.
+	 * Performs a 2D convolution across the image.  The image's borders are not processed.  Floating point
+	 * kernels which are at least {@link ConvolveFourier#MIN_KERNEL_WIDTH} wide are convolved using the FFT.
 	 *
 	 * @param kernel A square kernel that will be convolved across the source image
 	 * @param input  The source image that is to be convolved
@@ -166,7 +171,10 @@ public class GConvolveImageOps {
 	public static <T extends ImageSingleBand, K extends Kernel2D>
 	void convolve(K kernel, T input, T output ) {
 		if( input instanceof ImageFloat32 ) {
-			ConvolveImageNoBorder.convolve((Kernel2D_F32) kernel, (ImageFloat32) input, (ImageFloat32) output);
+			if( kernel.width >= ConvolveFourier.MIN_KERNEL_WIDTH )
+				ConvolveFourier.convolve((Kernel2D_F32) kernel, (ImageFloat32) input, (ImageFloat32) output);
+			else
+				ConvolveImageNoBorder.convolve((Kernel2D_F32) kernel, (ImageFloat32) input, (ImageFloat32) output);
 		} else if( input instanceof ImageUInt8 ) {
 			if( ImageInt16.class.isAssignableFrom(output.getClass()) )
 				ConvolveImageNoBorder.convolve((Kernel2D_I32) kernel, (ImageUInt8) input, (ImageInt16) output);
@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.morphology;
+
+/**
+ * Orientation of a line shaped structuring element.
+ *
+ * @author Peter Abeles
+ */
+public enum LineOrientation {
+	/**
+	 * Along the x-axis
+	 */
+	HORIZONTAL,
+	/**
+	 * Along the y-axis
+	 */
+	VERTICAL,
+	/**
+	 * From the top-left to the bottom-right
+	 */
+	DIAGONAL,
+	/**
+	 * From the bottom-left to the top-right
+	 */
+	ANTI_DIAGONAL
+}
@@ -0,0 +1,353 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.morphology;
+
+import boofcv.alg.InputSanityCheck;
+import boofcv.alg.filter.morphology.impl.ImplMorphologyVanHerk;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageUInt8;
+
+/**
+ * <p>
+ * Grayscale morphological operations with rectangular and line shaped structuring elements.  Erosion is a
+ * minimum filter and dilation a maximum filter.  The van Herk/Gil-Werman algorithm is used, so the cost per pixel
+ * is constant no matter how large the structuring element is.  A rectangle is decomposed into a horizontal line
+ * followed by a vertical line.
+ * </p>
+ *
+ * <p>
+ * Binary images stored in {@link ImageUInt8} with values of zero and one can be processed by the same functions.
+ * Pixels outside the image are ignored, which matches the behavior of the 3x3 operations in
+ * {@link boofcv.alg.filter.binary.BinaryImageOps}.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class MorphologyOps {
+
+	/**
+	 * Erodes the image using a rectangular structuring element with a width of radiusX*2+1 and a height of
+	 * radiusY*2+1.  Each output pixel is the minimum value inside the rectangle.
+	 *
+	 * @param input Input image. Not modified.
+	 * @param output Output image. Can be the same as the input. If null a new image is declared. Modified.
+	 * @param radiusX Radius of the rectangle along the x-axis.  Can be zero.
+	 * @param radiusY Radius of the rectangle along the y-axis.  Can be zero.
+	 * @return The output image.
+	 */
+	public static ImageUInt8 erode( ImageUInt8 input , ImageUInt8 output , int radiusX , int radiusY ) {
+		output = InputSanityCheck.checkDeclare(input, output);
+
+		rectangle(input, output, radiusX, radiusY, true);
+
+		return output;
+	}
+
+	/**
+	 * Dilates the image using a rectangular structuring element with a width of radiusX*2+1 and a height of
+	 * radiusY*2+1.  Each output pixel is the maximum value inside the rectangle.
+	 *
+	 * @param input Input image. Not modified.
+	 * @param output Output image. Can be the same as the input. If null a new image is declared. Modified.
+	 * @param radiusX Radius of the rectangle along the x-axis.  Can be zero.
+	 * @param radiusY Radius of the rectangle along the y-axis.  Can be zero.
+	 * @return The output image.
+	 */
+	public static ImageUInt8 dilate( ImageUInt8 input , ImageUInt8 output , int radiusX , int radiusY ) {
+		output = InputSanityCheck.checkDeclare(input, output);
+
+		rectangle(input, output, radiusX, radiusY, false);
+
+		return output;
+	}
+
+	/**
+	 * Morphological opening, erosion followed by dilation, using a rectangular structuring element.
+	 *
+	 * @param input Input image. Not modified.
+	 * @param output Output image. Can be the same as the input. If null a new image is declared. Modified.
+	 * @param radiusX Radius of the rectangle along the x-axis.  Can be zero.
+	 * @param radiusY Radius of the rectangle along the y-axis.  Can be zero.
+	 * @return The output image.
+	 */
+	public static ImageUInt8 open( ImageUInt8 input , ImageUInt8 output , int radiusX , int radiusY ) {
+		output = InputSanityCheck.checkDeclare(input, output);
+
+		rectangle(input, output, radiusX, radiusY, true);
+		rectangle(output, output, radiusX, radiusY, false);
+
+		return output;
+	}
+
+	/**
+	 * Morphological closing, dilation followed by erosion, using a rectangular structuring element.
+	 *
+	 * @param input Input image. Not modified.
+	 * @param output Output image. Can be the same as the input. If null a new image is declared. Modified.
+	 * @param radiusX Radius of the rectangle along the x-axis.  Can be zero.
+	 * @param radiusY Radius of the rectangle along the y-axis.  Can be zero.
+	 * @return The output image.
+	 */
+	public static ImageUInt8 close( ImageUInt8 input , ImageUInt8 output , int radiusX , int radiusY ) {
+		output = InputSanityCheck.checkDeclare(input, output);
+
+		rectangle(input, output, radiusX, radiusY, false);
+		rectangle(output, output, radiusX, radiusY, true);
+
+		return output;
+	}
+
+	/**
+	 * Erodes the image using a line structuring element with a length of radius*2+1 pixels.
+	 *
+	 * @param input Input image. Not modified.
+	 * @param output Output image. Can be the same as the input. If null a new image is declared. Modified.
+	 * @param radius Radius of the line.
+	 * @param orientation The line's orientation.
+	 * @return The output image.
+	 */
+	public static ImageUInt8 erodeLine( ImageUInt8 input , ImageUInt8 output , int radius , LineOrientation orientation ) {
+		output = InputSanityCheck.checkDeclare(input, output);
+
+		ImplMorphologyVanHerk.process(input, output, radius, orientation, true);
+
+		return output;
+	}
+
+	/**
+	 * Dilates the image using a line structuring element with a length of radius*2+1 pixels.
+	 *
+	 * @param input Input image. Not modified.
+	 * @param output Output image. Can be the same as the input. If null a new image is declared. Modified.
+	 * @param radius Radius of the line.
+	 * @param orientation The line's orientation.
+	 * @return The output image.
+	 */
+	public static ImageUInt8 dilateLine( ImageUInt8 input , ImageUInt8 output , int radius , LineOrientation orientation ) {
+		output = InputSanityCheck.checkDeclare(input, output);
+
+		ImplMorphologyVanHerk.process(input, output, radius, orientation, false);
+
+		return output;
+	}
+
+	/**
+	 * Morphological opening using a line structuring element with a length of radius*2+1 pixels.
+	 *
+	 * @param input Input image. Not modified.
+	 * @param output Output image. Can be the same as the input. If null a new image is declared. Modified.
+	 * @param radius Radius of the line.
+	 * @param orientation The line's orientation.
+	 * @return The output image.
+	 */
+	public static ImageUInt8 openLine( ImageUInt8 input , ImageUInt8 output , int radius , LineOrientation orientation ) {
+		output = InputSanityCheck.checkDeclare(input, output);
+
+		ImplMorphologyVanHerk.process(input, output, radius, orientation, true);
+		ImplMorphologyVanHerk.process(output, output, radius, orientation, false);
+
+		return output;
+	}
+
+	/**
+	 * Morphological closing using a line structuring element with a length of radius*2+1 pixels.
+	 *
+	 * @param input Input image. Not modified.
+	 * @param output Output image. Can be the same as the input. If null a new image is declared. Modified.
+	 * @param radius Radius of the line.
+	 * @param orientation The line's orientation.
+	 * @return The output image.
+	 */
+	public static ImageUInt8 closeLine( ImageUInt8 input , ImageUInt8 output , int radius , LineOrientation orientation ) {
+		output = InputSanityCheck.checkDeclare(input, output);
+
+		ImplMorphologyVanHerk.process(input, output, radius, orientation, false);
+		ImplMorphologyVanHerk.process(output, output, radius, orientation, true);
+
+		return output;
+	}
+
+	/**
+	 * Applies a rectangular min/max filter as a horizontal pass followed by a vertical pass.
+	 */
+	private static void rectangle( ImageUInt8 input , ImageUInt8 output , int radiusX , int radiusY , boolean erode ) {
+		if( radiusX > 0 )
+			ImplMorphologyVanHerk.process(input, output, radiusX, LineOrientation.HORIZONTAL, erode);
+		else if( input != output )
+			output.setTo(input);
+
+		if( radiusY > 0 )
+			ImplMorphologyVanHerk.process(output, output, radiusY, LineOrientation.VERTICAL, erode);
+	}
+
+	/**
+	 * Erodes the image using a rectangular structuring element with a width of radiusX*2+1 and a height of
+	 * radiusY*2+1.  Each output pixel is the minimum value inside the rectangle.
+	 *
+	 * @param input Input image. Not modified.
+	 * @param output Output image. Can be the same as the input. If null a new image is declared. Modified.
+	 * @param radiusX Radius of the rectangle along the x-axis.  Can be zero.
+	 * @param radiusY Radius of the rectangle along the y-axis.  Can be zero.
+	 * @return The output image.
+	 */
+	public static ImageFloat32 erode( ImageFloat32 input , ImageFloat32 output , int radiusX , int radiusY ) {
+		output = InputSanityCheck.checkDeclare(input, output);
+
+		rectangle(input, output, radiusX, radiusY, true);
+
+		return output;
+	}
+
+	/**
+	 * Dilates the image using a rectangular structuring element with a width of radiusX*2+1 and a height of
+	 * radiusY*2+1.  Each output pixel is the maximum value inside the rectangle.
+	 *
+	 * @param input Input image. Not modified.
+	 * @param output Output image. Can be the same as the input. If null a new image is declared. Modified.
+	 * @param radiusX Radius of the rectangle along the x-axis.  Can be zero.
+	 * @param radiusY Radius of the rectangle along the y-axis.  Can be zero.
+	 * @return The output image.
+	 */
+	public static ImageFloat32 dilate( ImageFloat32 input , ImageFloat32 output , int radiusX , int radiusY ) {
+		output = InputSanityCheck.checkDeclare(input, output);
+
+		rectangle(input, output, radiusX, radiusY, false);
+
+		return output;
+	}
+
+	/**
+	 * Morphological opening, erosion followed by dilation, using a rectangular structuring element.
+	 *
+	 * @param input Input image. Not modified.
+	 * @param output Output image. Can be the same as the input. If null a new image is declared. Modified.
+	 * @param radiusX Radius of the rectangle along the x-axis.  Can be zero.
+	 * @param radiusY Radius of the rectangle along the y-axis.  Can be zero.
+	 * @return The output image.
+	 */
+	public static ImageFloat32 open( ImageFloat32 input , ImageFloat32 output , int radiusX , int radiusY ) {
+		output = InputSanityCheck.checkDeclare(input, output);
+
+		rectangle(input, output, radiusX, radiusY, true);
+		rectangle(output, output, radiusX, radiusY, false);
+
+		return output;
+	}
+
+	/**
+	 * Morphological closing, dilation followed by erosion, using a rectangular structuring element.
+	 *
+	 * @param input Input image. Not modified.
+	 * @param output Output image. Can be the same as the input. If null a new image is declared. Modified.
+	 * @param radiusX Radius of the rectangle along the x-axis.  Can be zero.
+	 * @param radiusY Radius of the rectangle along the y-axis.  Can be zero.
+	 * @return The output image.
+	 */
+	public static ImageFloat32 close( ImageFloat32 input , ImageFloat32 output , int radiusX , int radiusY ) {
+		output = InputSanityCheck.checkDeclare(input, output);
+
+		rectangle(input, output, radiusX, radiusY, false);
+		rectangle(output, output, radiusX, radiusY, true);
+
+		return output;
+	}
+
+	/**
+	 * Erodes the image using a line structuring element with a length of radius*2+1 pixels.
+	 *
+	 * @param input Input image. Not modified.
+	 * @param output Output image. Can be the same as the input. If null a new image is declared. Modified.
+	 * @param radius Radius of the line.
+	 * @param orientation The line's orientation.
+	 * @return The output image.
+	 */
+	public static ImageFloat32 erodeLine( ImageFloat32 input , ImageFloat32 output , int radius , LineOrientation orientation ) {
+		output = InputSanityCheck.checkDeclare(input, output);
+
+		ImplMorphologyVanHerk.process(input, output, radius, orientation, true);
+
+		return output;
+	}
+
+	/**
+	 * Dilates the image using a line structuring element with a length of radius*2+1 pixels.
+	 *
+	 * @param input Input image. Not modified.
+	 * @param output Output image. Can be the same as the input. If null a new image is declared. Modified.
+	 * @param radius Radius of the line.
+	 * @param orientation The line's orientation.
+	 * @return The output image.
+	 */
+	public static ImageFloat32 dilateLine( ImageFloat32 input , ImageFloat32 output , int radius , LineOrientation orientation ) {
+		output = InputSanityCheck.checkDeclare(input, output);
+
+		ImplMorphologyVanHerk.process(input, output, radius, orientation, false);
+
+		return output;
+	}
+
+	/**
+	 * Morphological opening using a line structuring element with a length of radius*2+1 pixels.
+	 *
+	 * @param input Input image. Not modified.
+	 * @param output Output image. Can be the same as the input. If null a new image is declared. Modified.
+	 * @param radius Radius of the line.
+	 * @param orientation The line's orientation.
+	 * @return The output image.
+	 */
+	public static ImageFloat32 openLine( ImageFloat32 input , ImageFloat32 output , int radius , LineOrientation orientation ) {
+		output = InputSanityCheck.checkDeclare(input, output);
+
+		ImplMorphologyVanHerk.process(input, output, radius, orientation, true);
+		ImplMorphologyVanHerk.process(output, output, radius, orientation, false);
+
+		return output;
+	}
+
+	/**
+	 * Morphological closing using a line structuring element with a length of radius*2+1 pixels.
+	 *
+	 * @param input Input image. Not modified.
+	 * @param output Output image. Can be the same as the input. If null a new image is declared. Modified.
+	 * @param radius Radius of the line.
+	 * @param orientation The line's orientation.
+	 * @return The output image.
+	 */
+	public static ImageFloat32 closeLine( ImageFloat32 input , ImageFloat32 output , int radius , LineOrientation orientation ) {
+		output = InputSanityCheck.checkDeclare(input, output);
+
+		ImplMorphologyVanHerk.process(input, output, radius, orientation, false);
+		ImplMorphologyVanHerk.process(output, output, radius, orientation, true);
+
+		return output;
+	}
+
+	/**
+	 * Applies a rectangular min/max filter as a horizontal pass followed by a vertical pass.
+	 */
+	private static void rectangle( ImageFloat32 input , ImageFloat32 output , int radiusX , int radiusY , boolean erode ) {
+		if( radiusX > 0 )
+			ImplMorphologyVanHerk.process(input, output, radiusX, LineOrientation.HORIZONTAL, erode);
+		else if( input != output )
+			output.setTo(input);
+
+		if( radiusY > 0 )
+			ImplMorphologyVanHerk.process(output, output, radiusY, LineOrientation.VERTICAL, erode);
+	}
+}
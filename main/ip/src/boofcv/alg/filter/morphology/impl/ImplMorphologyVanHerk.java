@@ -0,0 +1,304 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.morphology.impl;
+
+import boofcv.alg.filter.morphology.LineOrientation;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageSingleBand;
+import boofcv.struct.image.ImageUInt8;
+
+/**
+ * <p>
+ * Minimum and maximum filters along lines in the image using the van Herk/Gil-Werman algorithm.  Each line is
+ * broken up into blocks the size of the structuring element.  A forward running min/max is computed inside each
+ * block and a backward running min/max.  The min/max inside any window can then be found by looking up one value
+ * from each, making the cost per pixel constant and independent of the element's size.
+ * </p>
+ *
+ * <p>
+ * Each line is copied into a work array before being processed, allowing the input and output to be the same
+ * image.  Pixels outside the image are ignored, which is equivalent to them having the maximum value for erosion
+ * and minimum value for dilation.
+ * </p>
+ *
+ * <p>
+ * [1] M. van Herk, "A fast algorithm for local minimum and maximum filters on rectangular and octagonal kernels"
+ * Pattern Recognition Letters, 1992<br>
+ * [2] J. Gil and M. Werman, "Computing 2-D min, median, and max filters" IEEE PAMI, 1993
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ImplMorphologyVanHerk {
+
+	/**
+	 * Applies a min (erode) or max (dilate) filter along every line of the specified orientation.
+	 *
+	 * @param input Input image. Not modified.
+	 * @param output Output image. Can be the same as the input. Modified.
+	 * @param radius Radius of the line structuring element.  Its length is radius*2+1.
+	 * @param orientation Orientation of the lines.
+	 * @param erode true for a min filter and false for a max filter.
+	 */
+	public static void process( ImageUInt8 input , ImageUInt8 output , int radius ,
+								LineOrientation orientation , boolean erode )
+	{
+		int length = Math.max(input.width,input.height) + 2*radius;
+		int f[] = new int[ length ];
+		int g[] = new int[ length ];
+		int h[] = new int[ length ];
+
+		LineInfo in = new LineInfo();
+		LineInfo out = new LineInfo();
+
+		int numLines = numLines(input, orientation);
+		for( int i = 0; i < numLines; i++ ) {
+			line(input, orientation, i, in);
+			line(output, orientation, i, out);
+
+			int N = in.length + 2*radius;
+			int pad = erode ? 255 : 0;
+			for( int j = 0; j < radius; j++ ) {
+				f[j] = pad;
+				f[N-1-j] = pad;
+			}
+			for( int j = 0, index = in.index; j < in.length; j++ , index += in.step ) {
+				f[radius+j] = input.data[index] & 0xFF;
+			}
+
+			if( erode )
+				min(f, g, h, N, radius*2+1);
+			else
+				max(f, g, h, N, radius*2+1);
+
+			for( int j = 0, index = out.index; j < in.length; j++ , index += out.step ) {
+				output.data[index] = (byte)f[j];
+			}
+		}
+	}
+
+	/**
+	 * Applies a min (erode) or max (dilate) filter along every line of the specified orientation.
+	 *
+	 * @param input Input image. Not modified.
+	 * @param output Output image. Can be the same as the input. Modified.
+	 * @param radius Radius of the line structuring element.  Its length is radius*2+1.
+	 * @param orientation Orientation of the lines.
+	 * @param erode true for a min filter and false for a max filter.
+	 */
+	public static void process( ImageFloat32 input , ImageFloat32 output , int radius ,
+								LineOrientation orientation , boolean erode )
+	{
+		int length = Math.max(input.width,input.height) + 2*radius;
+		float f[] = new float[ length ];
+		float g[] = new float[ length ];
+		float h[] = new float[ length ];
+
+		LineInfo in = new LineInfo();
+		LineInfo out = new LineInfo();
+
+		int numLines = numLines(input, orientation);
+		for( int i = 0; i < numLines; i++ ) {
+			line(input, orientation, i, in);
+			line(output, orientation, i, out);
+
+			int N = in.length + 2*radius;
+			float pad = erode ? Float.MAX_VALUE : -Float.MAX_VALUE;
+			for( int j = 0; j < radius; j++ ) {
+				f[j] = pad;
+				f[N-1-j] = pad;
+			}
+			for( int j = 0, index = in.index; j < in.length; j++ , index += in.step ) {
+				f[radius+j] = input.data[index];
+			}
+
+			if( erode )
+				min(f, g, h, N, radius*2+1);
+			else
+				max(f, g, h, N, radius*2+1);
+
+			for( int j = 0, index = out.index; j < in.length; j++ , index += out.step ) {
+				output.data[index] = f[j];
+			}
+		}
+	}
+
+	/**
+	 * Computes the minimum inside each window of size 'k' in 'f'.  The result for the window starting at
+	 * element 'i' is written into f[i].
+	 *
+	 * @param f Input data and output. Modified.
+	 * @param g Work space for forward running minimum.
+	 * @param h Work space for backward running minimum.
+	 * @param N Number of elements in 'f'.
+	 * @param k Size of the window.
+	 */
+	public static void min( int f[] , int g[] , int h[] , int N , int k ) {
+		for( int start = 0; start < N; start += k ) {
+			int end = Math.min(start+k,N);
+
+			g[start] = f[start];
+			for( int j = start+1; j < end; j++ ) {
+				g[j] = Math.min(g[j-1],f[j]);
+			}
+			h[end-1] = f[end-1];
+			for( int j = end-2; j >= start; j-- ) {
+				h[j] = Math.min(h[j+1],f[j]);
+			}
+		}
+
+		int numWindows = N-k+1;
+		for( int i = 0; i < numWindows; i++ ) {
+			f[i] = Math.min(h[i],g[i+k-1]);
+		}
+	}
+
+	/**
+	 * Computes the maximum inside each window of size 'k' in 'f'.  See {@link #min(int[], int[], int[], int, int)}.
+	 */
+	public static void max( int f[] , int g[] , int h[] , int N , int k ) {
+		for( int start = 0; start < N; start += k ) {
+			int end = Math.min(start+k,N);
+
+			g[start] = f[start];
+			for( int j = start+1; j < end; j++ ) {
+				g[j] = Math.max(g[j-1],f[j]);
+			}
+			h[end-1] = f[end-1];
+			for( int j = end-2; j >= start; j-- ) {
+				h[j] = Math.max(h[j+1],f[j]);
+			}
+		}
+
+		int numWindows = N-k+1;
+		for( int i = 0; i < numWindows; i++ ) {
+			f[i] = Math.max(h[i],g[i+k-1]);
+		}
+	}
+
+	/**
+	 * Computes the minimum inside each window of size 'k' in 'f'.  See {@link #min(int[], int[], int[], int, int)}.
+	 */
+	public static void min( float f[] , float g[] , float h[] , int N , int k ) {
+		for( int start = 0; start < N; start += k ) {
+			int end = Math.min(start+k,N);
+
+			g[start] = f[start];
+			for( int j = start+1; j < end; j++ ) {
+				g[j] = Math.min(g[j-1],f[j]);
+			}
+			h[end-1] = f[end-1];
+			for( int j = end-2; j >= start; j-- ) {
+				h[j] = Math.min(h[j+1],f[j]);
+			}
+		}
+
+		int numWindows = N-k+1;
+		for( int i = 0; i < numWindows; i++ ) {
+			f[i] = Math.min(h[i],g[i+k-1]);
+		}
+	}
+
+	/**
+	 * Computes the maximum inside each window of size 'k' in 'f'.  See {@link #min(int[], int[], int[], int, int)}.
+	 */
+	public static void max( float f[] , float g[] , float h[] , int N , int k ) {
+		for( int start = 0; start < N; start += k ) {
+			int end = Math.min(start+k,N);
+
+			g[start] = f[start];
+			for( int j = start+1; j < end; j++ ) {
+				g[j] = Math.max(g[j-1],f[j]);
+			}
+			h[end-1] = f[end-1];
+			for( int j = end-2; j >= start; j-- ) {
+				h[j] = Math.max(h[j+1],f[j]);
+			}
+		}
+
+		int numWindows = N-k+1;
+		for( int i = 0; i < numWindows; i++ ) {
+			f[i] = Math.max(h[i],g[i+k-1]);
+		}
+	}
+
+	/**
+	 * Number of lines with the specified orientation that pass through the image.
+	 */
+	protected static int numLines( ImageSingleBand image , LineOrientation orientation ) {
+		switch( orientation ) {
+			case HORIZONTAL: return image.height;
+			case VERTICAL: return image.width;
+			default: return image.width + image.height - 1;
+		}
+	}
+
+	/**
+	 * Returns the first pixel, step between pixels, and length of line 'i'.
+	 */
+	protected static void line( ImageSingleBand image , LineOrientation orientation , int i , LineInfo ret ) {
+		int x0,y0;
+
+		switch( orientation ) {
+			case HORIZONTAL:
+				ret.index = image.startIndex + i*image.stride;
+				ret.step = 1;
+				ret.length = image.width;
+				return;
+
+			case VERTICAL:
+				ret.index = image.startIndex + i;
+				ret.step = image.stride;
+				ret.length = image.height;
+				return;
+
+			case DIAGONAL:
+				// start along the left column then the top row, moving down and to the right
+				if( i < image.height ) {
+					x0 = 0; y0 = i;
+				} else {
+					x0 = i - image.height + 1; y0 = 0;
+				}
+				ret.step = image.stride + 1;
+				ret.length = Math.min(image.width-x0,image.height-y0);
+				break;
+
+			case ANTI_DIAGONAL:
+				// start along the left column then the bottom row, moving up and to the right
+				if( i < image.height ) {
+					x0 = 0; y0 = i;
+				} else {
+					x0 = i - image.height + 1; y0 = image.height-1;
+				}
+				ret.step = 1 - image.stride;
+				ret.length = Math.min(image.width-x0,y0+1);
+				break;
+
+			default:
+				throw new IllegalArgumentException("Unknown orientation: "+orientation);
+		}
+		ret.index = image.startIndex + y0*image.stride + x0;
+	}
+
+	protected static class LineInfo {
+		int index;
+		int step;
+		int length;
+	}
+}
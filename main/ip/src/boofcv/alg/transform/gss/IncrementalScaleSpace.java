@@ -0,0 +1,287 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package boofcv.alg.transform.gss;
+
+import boofcv.abst.filter.convolve.ConvolveInterface;
+import boofcv.abst.filter.derivative.AnyImageDerivative;
+import boofcv.alg.filter.derivative.GImageDerivativeOps;
+import boofcv.core.image.ImageGenerator;
+import boofcv.core.image.border.BorderType;
+import boofcv.factory.filter.convolve.FactoryConvolve;
+import boofcv.factory.filter.kernel.FactoryKernelGaussian;
+import boofcv.struct.BoofDefaults;
+import boofcv.struct.convolve.Kernel1D;
+import boofcv.struct.gss.GaussianScaleSpace;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageInt16;
+import boofcv.struct.image.ImageInt8;
+import boofcv.struct.image.ImageSingleBand;
+
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ * <p>
+ * Implementation of {@link GaussianScaleSpace} which computes each level by blurring the previous level.
+ * Since convolving two Gaussians with standard deviations a and b produces a Gaussian with a standard
+ * deviation of sqrt(a<sup>2</sup> + b<sup>2</sup>), level i is computed by blurring level i-1 with a standard
+ * deviation of sqrt(s<sub>i</sub><sup>2</sup> - s<sub>i-1</sub><sup>2</sup>).  These incremental kernels are
+ * much smaller than the kernels needed to blur the original image, see {@link NoCacheScaleSpace}.
+ * </p>
+ *
+ * <p>
+ * Levels are computed when first requested and are cached along with their derivatives until a new image is
+ * set.  Images are recycled between calls to {@link #setImage}.  Scales must be in increasing order.
+ * </p>
+ *
+ * <p>
+ * Optionally, the image can be decimated once per octave.  Level i is in octave k if its scale is at least
+ * 2<sup>k</sup> times the first scale.  The first level in each octave is created by sampling every other
+ * pixel in the previous level, which reduces the cost of blurring large scales.  When decimated, images
+ * in octave k have a width and height which are smaller by a factor of 2<sup>k</sup>, see {@link #getSampleFactor}.
+ * Detectors which assume every level is the same size, e.g. FeatureScaleSpace, require decimation to be off.
+ * </p>
+ *
+ * <p>
+ * NOTE: The result is slightly different from blurring the original image directly.  Kernels are truncated and
+ * the normalized image border compounds across levels.  For integer images the rounding error also compounds.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class IncrementalScaleSpace<I extends ImageSingleBand, D extends ImageSingleBand>
+		implements GaussianScaleSpace<I,D>
+{
+	// reference to the original input image
+	private I originalImage;
+
+	// types of input images
+	private ImageGenerator<I> inputGen;
+	private ImageGenerator<D> derivGen;
+
+	// should it decimate the image each octave
+	private boolean decimate;
+
+	private double scales[];
+	private int currentScale;
+
+	// how much each level has been decimated by
+	private int sampleFactor[];
+	// filters which blur the previous level into the next level
+	private ConvolveInterface<I, I> blurX[];
+	private ConvolveInterface<I, I> blurY[];
+
+	// number of levels which have been computed for the current image
+	private int numComputed;
+	// cached levels and their derivatives
+	private List<I> levels = new ArrayList<I>();
+	private List<AnyImageDerivative<I,D>> derivs = new ArrayList<AnyImageDerivative<I,D>>();
+
+	private I workImage;
+	private I decimated;
+
+	// how the borders are handled
+	BorderType borderDeriv = BoofDefaults.DERIV_BORDER_TYPE;
+	BorderType borderBlur = BorderType.NORMALIZED;
+
+	/**
+	 * Declares internal data structures.
+	 *
+	 * @param inputGen Used to create image of the same type as the input.
+	 * @param derivGen Used to create derivative images.
+	 * @param decimate If true the image will be decimated each octave.
+	 */
+	public IncrementalScaleSpace(ImageGenerator<I> inputGen, ImageGenerator<D> derivGen , boolean decimate ) {
+		this.inputGen = inputGen;
+		this.derivGen = derivGen;
+		this.decimate = decimate;
+
+		workImage = inputGen.createInstance(1,1);
+		decimated = inputGen.createInstance(1,1);
+	}
+
+	@Override
+	public void setScales(double... scales) {
+		for( int i = 0; i < scales.length; i++ ) {
+			if( scales[i] <= 0 )
+				throw new IllegalArgumentException("Scales must be positive");
+			if( i > 0 && scales[i] <= scales[i-1] )
+				throw new IllegalArgumentException("Scales must be in increasing order");
+		}
+		this.scales = scales;
+
+		sampleFactor = new int[ scales.length ];
+		blurX = new ConvolveInterface[ scales.length ];
+		blurY = new ConvolveInterface[ scales.length ];
+
+		for( int i = 0; i < scales.length; i++ ) {
+			int factor = 1;
+			if( decimate ) {
+				while( scales[i] >= scales[0]*factor*2 )
+					factor *= 2;
+			}
+			sampleFactor[i] = factor;
+
+			// blur applied to the previous level in the new level's pixels
+			double sigma = i == 0 ? scales[0] : Math.sqrt(scales[i]*scales[i] - scales[i-1]*scales[i-1]);
+			declareBlur(i, sigma/factor);
+		}
+
+		numComputed = 0;
+	}
+
+	private void declareBlur( int level , double sigma ) {
+		Class<I> inputType = inputGen.getType();
+		int radius = FactoryKernelGaussian.radiusForSigma(sigma,0);
+		Kernel1D kernel = FactoryKernelGaussian.gaussian1D(inputType,sigma,radius);
+
+		blurX[level] = FactoryConvolve.convolve(kernel,inputType,inputType, borderBlur ,true);
+		blurY[level] = FactoryConvolve.convolve(kernel,inputType,inputType, borderBlur ,false);
+	}
+
+	@Override
+	public double getScale(int level) {
+		return scales[level];
+	}
+
+	/**
+	 * How much the image at the specified level has been decimated by.  Pixel coordinates in the scaled image
+	 * need to be multiplied by this factor to be in the original image's coordinates.  Always one if
+	 * decimation is turned off.
+	 *
+	 * @param level Which level in the scale space.
+	 * @return Decimation factor.
+	 */
+	public int getSampleFactor( int level ) {
+		return sampleFactor[level];
+	}
+
+	@Override
+	public void setImage(I input) {
+		this.originalImage = input;
+		numComputed = 0;
+	}
+
+	@Override
+	public void setActiveScale(int index) {
+		this.currentScale = index;
+
+		while( numComputed <= index ) {
+			computeLevel(numComputed++);
+		}
+	}
+
+	/**
+	 * Computes the specified level by blurring the previous level, or the input image for the first level.
+	 */
+	private void computeLevel( int level ) {
+		I prev = level == 0 ? originalImage : levels.get(level-1);
+
+		if( level > 0 && sampleFactor[level] != sampleFactor[level-1] ) {
+			int ratio = sampleFactor[level]/sampleFactor[level-1];
+			decimated.reshape(prev.width/ratio,prev.height/ratio);
+			decimate(prev,decimated,ratio);
+			prev = decimated;
+		}
+
+		if( levels.size() <= level ) {
+			levels.add(inputGen.createInstance(prev.width,prev.height));
+			derivs.add(GImageDerivativeOps.createDerivatives(inputGen.getType(), derivGen));
+		}
+		I scaled = levels.get(level);
+		scaled.reshape(prev.width,prev.height);
+		workImage.reshape(prev.width,prev.height);
+
+		blurX[level].process(prev,workImage);
+		blurY[level].process(workImage,scaled);
+
+		derivs.get(level).setInput(scaled);
+	}
+
+	/**
+	 * Samples every N-th pixel in the input image.
+	 */
+	private static void decimate( ImageSingleBand input , ImageSingleBand output , int N ) {
+		for( int y = 0; y < output.height; y++ ) {
+			int indexIn = input.startIndex + y*N*input.stride;
+			int indexOut = output.startIndex + y*output.stride;
+
+			if( input instanceof ImageFloat32 ) {
+				float dataIn[] = ((ImageFloat32)input).data;
+				float dataOut[] = ((ImageFloat32)output).data;
+				for( int x = 0; x < output.width; x++ , indexIn += N )
+					dataOut[indexOut++] = dataIn[indexIn];
+			} else if( input instanceof ImageInt8 ) {
+				byte dataIn[] = ((ImageInt8)input).data;
+				byte dataOut[] = ((ImageInt8)output).data;
+				for( int x = 0; x < output.width; x++ , indexIn += N )
+					dataOut[indexOut++] = dataIn[indexIn];
+			} else if( input instanceof ImageInt16 ) {
+				short dataIn[] = ((ImageInt16)input).data;
+				short dataOut[] = ((ImageInt16)output).data;
+				for( int x = 0; x < output.width; x++ , indexIn += N )
+					dataOut[indexOut++] = dataIn[indexIn];
+			} else {
+				throw new IllegalArgumentException("Image type not supported: "+input.getClass().getSimpleName());
+			}
+		}
+	}
+
+	@Override
+	public double getCurrentScale() {
+		return scales[currentScale];
+	}
+
+	@Override
+	public int getTotalScales() {
+		return scales.length;
+	}
+
+	@Override
+	public I getScaledImage() {
+		return levels.get(currentScale);
+	}
+
+	@Override
+	public void setBorderType(BorderType type) {
+		borderDeriv = type;
+		borderBlur = type;
+		if( scales != null )
+			setScales(scales);
+		if( originalImage != null )
+			setActiveScale(currentScale);
+	}
+
+	@Override
+	public BorderType getBorderType() {
+		return borderDeriv;
+	}
+
+	/**
+	 * Computes derivative images for the active scale.  Derivatives are cached until a new image is set.
+	 */
+	@Override
+	public D getDerivative(boolean... isX) {
+		return derivs.get(currentScale).getDerivative(isX);
+	}
+
+	public boolean isDecimate() {
+		return decimate;
+	}
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.transform.pyramid;
+
+import boofcv.abst.filter.derivative.ImageGradient;
+import boofcv.struct.image.ImageSingleBand;
+import boofcv.struct.pyramid.ImagePyramid;
+import boofcv.struct.pyramid.PyramidFloat;
+
+/**
+ * <p>
+ * Computes the gradient of each layer in an image pyramid and caches the results until the pyramid changes.
+ * Several algorithms which process the same pyramid can then share a single gradient computation.  The gradient
+ * is computed lazily the first time it is requested after {@link #setInput} has been called.
+ * </p>
+ *
+ * <p>
+ * The derivative pyramids have the same scale factors and layer shapes as the input pyramid.  Their layers are
+ * only declared again when the shape of the input pyramid changes.
+ * </p>
+ *
+ * <p>
+ * NOTE: {@link #setInput} must be called each time the input pyramid is updated, even if it is the same instance.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class PyramidGradientCache<I extends ImageSingleBand, D extends ImageSingleBand> {
+
+	// computes the gradient of each layer
+	private ImageGradient<I,D> gradient;
+
+	// pyramid whose gradient is being computed
+	private ImagePyramid<I> input;
+
+	// gradient of each layer in the input pyramid
+	private PyramidFloat<D> derivX;
+	private PyramidFloat<D> derivY;
+
+	// true if the gradient needs to be computed again
+	private boolean stale = true;
+
+	/**
+	 * Specifies how the gradient is computed.
+	 *
+	 * @param gradient Computes the gradient of each layer.
+	 * @param derivType Type of derivative image.
+	 */
+	public PyramidGradientCache(ImageGradient<I, D> gradient, Class<D> derivType) {
+		this.gradient = gradient;
+		derivX = new PyramidFloat<D>(derivType);
+		derivY = new PyramidFloat<D>(derivType);
+	}
+
+	/**
+	 * Specifies the pyramid whose gradient is computed and marks the cached gradient as being out of date.
+	 *
+	 * @param input Image pyramid.  Must be initialized.
+	 */
+	public void setInput( ImagePyramid<I> input ) {
+		this.input = input;
+		this.stale = true;
+	}
+
+	/**
+	 * Returns the pyramid whose gradient is being computed.
+	 */
+	public ImagePyramid<I> getInput() {
+		return input;
+	}
+
+	/**
+	 * Returns true if the gradient will be computed the next time it is requested.
+	 */
+	public boolean isStale() {
+		return stale;
+	}
+
+	/**
+	 * Pyramid containing the x-derivative of each layer.
+	 */
+	public ImagePyramid<D> getDerivX() {
+		update();
+		return derivX;
+	}
+
+	/**
+	 * Pyramid containing the y-derivative of each layer.
+	 */
+	public ImagePyramid<D> getDerivY() {
+		update();
+		return derivY;
+	}
+
+	/**
+	 * The x-derivative of the specified layer.
+	 */
+	public D getDerivX( int layer ) {
+		update();
+		return derivX.getLayer(layer);
+	}
+
+	/**
+	 * The y-derivative of the specified layer.
+	 */
+	public D getDerivY( int layer ) {
+		update();
+		return derivY.getLayer(layer);
+	}
+
+	public ImageGradient<I, D> getGradient() {
+		return gradient;
+	}
+
+	/**
+	 * Computes the gradient if it is out of date.
+	 */
+	private void update() {
+		if( !stale )
+			return;
+		if( input == null )
+			throw new IllegalArgumentException("The input pyramid has not been specified");
+
+		int N = input.getNumLayers();
+		double scales[] = new double[ N ];
+		for( int i = 0; i < N; i++ )
+			scales[i] = input.getScale(i);
+
+		declarePyramid(derivX, scales);
+		declarePyramid(derivY, scales);
+
+		for( int i = 0; i < N; i++ ) {
+			I layer = input.getLayer(i);
+			D x = derivX.getLayer(i);
+			D y = derivY.getLayer(i);
+
+			x.reshape(layer.width,layer.height);
+			y.reshape(layer.width,layer.height);
+
+			gradient.process(layer,x,y);
+		}
+
+		stale = false;
+	}
+
+	/**
+	 * Initializes the pyramid if it is not set up for the input pyramid's structure.
+	 */
+	private void declarePyramid( PyramidFloat<D> pyramid , double scales[] ) {
+		boolean changed = !pyramid.isInitialized() || pyramid.scale.length != scales.length ||
+				pyramid.getInputWidth() != input.getInputWidth() ||
+				pyramid.getInputHeight() != input.getInputHeight();
+
+		for( int i = 0; !changed && i < scales.length; i++ ) {
+			changed = pyramid.scale[i] != scales[i];
+		}
+
+		if( changed ) {
+			pyramid.setScaleFactors(scales);
+			pyramid.initialize(input.getInputWidth(),input.getInputHeight());
+		}
+	}
+}
@@ -18,12 +18,16 @@
 
 package boofcv.alg.transform.pyramid;
 
-import boofcv.abst.filter.blur.BlurStorageFilter;
+import boofcv.abst.filter.convolve.ConvolveInterface;
 import boofcv.alg.distort.DistortImageOps;
 import boofcv.alg.distort.PixelTransformAffine_F32;
 import boofcv.alg.distort.impl.DistortSupport;
+import boofcv.alg.filter.convolve.ConvolveConcurrent;
 import boofcv.alg.interpolate.InterpolatePixel;
-import boofcv.factory.filter.blur.FactoryBlurFilter;
+import boofcv.core.image.border.BorderType;
+import boofcv.factory.filter.convolve.FactoryConvolve;
+import boofcv.factory.filter.kernel.FactoryKernelGaussian;
+import boofcv.struct.convolve.Kernel1D;
 import boofcv.struct.image.ImageSingleBand;
 import boofcv.struct.pyramid.ImagePyramid;
 import boofcv.struct.pyramid.PyramidFloat;
@@ -41,7 +45,9 @@ import boofcv.struct.pyramid.PyramidUpdaterFloat;
  * </p>
  *
  * <p>
- *
+ * The Gaussian blur is split across multiple threads using {@link ConvolveConcurrent}.  Interpolation is done
+ * in a single thread since {@link InterpolatePixel} is not thread safe.  The blur kernels and work images are
+ * declared once and reused when the next image is processed.
  * </p>
  *
  * <p>
@@ -59,6 +65,14 @@ public class PyramidUpdateGaussianScale< T extends ImageSingleBand> implements P
 
 	// used to store the blurred image
 	protected T tempImage;
+	// stores the results of the horizontal blur
+	protected T storage;
+
+	// Gaussian blur applied to each layer along the horizontal and vertical axises
+	protected ConvolveInterface<T,T> blurHorizontal[];
+	protected ConvolveInterface<T,T> blurVertical[];
+	// kernel width + 1 for each layer.  Used when splitting up the vertical blur
+	protected int minColumns[];
 
 	// how much each layer is blurred before sub-sampling
 	protected float[] sigmas;
@@ -88,23 +102,42 @@ public class PyramidUpdateGaussianScale< T extends ImageSingleBand> implements P
 
 		if( tempImage == null ) {
 			tempImage = (T)input._createNew(input.width,input.height);
+			storage = (T)input._createNew(input.width,input.height);
+		}
+		if( blurHorizontal == null ) {
+			declareBlur((Class<T>)input.getClass());
 		}
 
 		for( int i = 0; i < pyramid.scale.length; i++ ) {
 			T prev = i == 0 ? input : pyramid.getLayer(i-1);
 			T layer = pyramid.getLayer(i);
 
-
-			BlurStorageFilter<T> blur = (BlurStorageFilter<T>) FactoryBlurFilter.gaussian(layer.getClass(),sigmas[i],-1);
-
 			tempImage.reshape(prev.width,prev.height);
-			blur.process(prev,tempImage);
+			storage.reshape(prev.width,prev.height);
+			ConvolveConcurrent.horizontal(blurHorizontal[i],prev,storage);
+			ConvolveConcurrent.vertical(blurVertical[i],storage,tempImage,minColumns[i]);
 
 			PixelTransformAffine_F32 model = DistortSupport.transformScale(layer,tempImage);
 			DistortImageOps.distortSingle(tempImage,layer,model,null,interpolate);
 		}
 	}
 
+	/**
+	 * Creates the convolution for each layer.  Same as {@link boofcv.alg.filter.blur.BlurImageOps#gaussian}.
+	 */
+	private void declareBlur( Class<T> imageType ) {
+		blurHorizontal = new ConvolveInterface[ sigmas.length ];
+		blurVertical = new ConvolveInterface[ sigmas.length ];
+		minColumns = new int[ sigmas.length ];
+
+		for( int i = 0; i < sigmas.length; i++ ) {
+			Kernel1D kernel = FactoryKernelGaussian.gaussian1D(imageType,sigmas[i],-1);
+			blurHorizontal[i] = FactoryConvolve.convolve(kernel,imageType,imageType,BorderType.NORMALIZED,true);
+			blurVertical[i] = FactoryConvolve.convolve(kernel,imageType,imageType,BorderType.NORMALIZED,false);
+			minColumns[i] = kernel.getWidth()+1;
+		}
+	}
+
 	public InterpolatePixel<T> getInterpolate() {
 		return interpolate;
 	}
@@ -19,6 +19,7 @@
 package boofcv.alg.transform.pyramid;
 
 import boofcv.abst.filter.convolve.GenericConvolveDown;
+import boofcv.alg.filter.convolve.ConvolveConcurrent;
 import boofcv.core.image.border.BorderType;
 import boofcv.factory.filter.convolve.FactoryConvolveDown;
 import boofcv.struct.convolve.Kernel1D;
@@ -37,6 +38,11 @@ import boofcv.struct.pyramid.PyramidUpdaterDiscrete;
  * have it dependent on each level's scale factor.
  * </p>
  *
+ * <p>
+ * Each convolution is split across multiple threads using {@link ConvolveConcurrent}.  The pyramid's layers
+ * and the internal work image are only declared again when the input image's shape changes.
+ * </p>
+ *
  * @author Peter Abeles
  */
 @SuppressWarnings({"unchecked"})
@@ -46,9 +52,13 @@ public class PyramidUpdateIntegerDown<T extends ImageSingleBand> implements Pyra
 	private T temp;
 	GenericConvolveDown<T,T> horizontal;
 	GenericConvolveDown<T,T> vertical;
+	// the smallest number of columns the vertical convolution can be split into
+	private int minColumns;
 
 	public PyramidUpdateIntegerDown(Kernel1D kernel, Class<T> imageType ) {
 
+		minColumns = kernel.getWidth()+1;
+
 		horizontal = FactoryConvolveDown.convolve(kernel,imageType,imageType,
 				BorderType.NORMALIZED,true,1);
 		vertical = FactoryConvolveDown.convolve(kernel,imageType,imageType,
@@ -81,8 +91,7 @@ public class PyramidUpdateIntegerDown<T extends ImageSingleBand> implements Pyra
 			vertical.setSkip(skip);
 
 			temp.reshape(input.width/skip,input.height);
-			horizontal.process(input,temp);
-			vertical.process(temp,pyramid.getLayer(0));
+			convolve(input,pyramid.getLayer(0));
 		}
 
 		for (int index = 1; index < pyramid.getNumLayers(); index++) {
@@ -93,9 +102,16 @@ public class PyramidUpdateIntegerDown<T extends ImageSingleBand> implements Pyra
 			horizontal.setSkip(skip);
 			vertical.setSkip(skip);
 
-			horizontal.process(prev,temp);
-			vertical.process(temp,pyramid.getLayer(index));
+			convolve(prev,pyramid.getLayer(index));
 		}
 	}
 
+	/**
+	 * Blurs and down samples the image using the horizontal and vertical convolutions.
+	 */
+	private void convolve( T input , T output ) {
+		ConvolveConcurrent.horizontal(horizontal,input,temp);
+		ConvolveConcurrent.vertical(vertical,temp,output,minColumns);
+	}
+
 }
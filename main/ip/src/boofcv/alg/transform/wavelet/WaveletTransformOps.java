@@ -20,7 +20,7 @@ package boofcv.alg.transform.wavelet;
 
 import boofcv.alg.InputSanityCheck;
 import boofcv.alg.transform.wavelet.impl.ImplWaveletTransformBorder;
-import boofcv.alg.transform.wavelet.impl.ImplWaveletTransformInner;
+import boofcv.alg.transform.wavelet.impl.ImplWaveletTransformConcurrent;
 import boofcv.alg.transform.wavelet.impl.ImplWaveletTransformNaive;
 import boofcv.struct.image.ImageFloat32;
 import boofcv.struct.image.ImageSInt32;
@@ -48,6 +48,12 @@ import boofcv.struct.wavelet.WlCoef_I32;
  * </p>
  *
  * <p>
+ * Inside of each level the rows and columns are split up across multiple threads, see
+ * {@link ImplWaveletTransformConcurrent}.  If the floating point wavelet has a lifting factorization then
+ * the inner portion of the image is computed using the lifting scheme.
+ * </p>
+ *
+ * <p>
  * DO NOT MODIFY: This class was automatically generated by {@link boofcv.alg.transform.wavelet.impl.GenerateWaveletTransformOps}
  * </p>
  *
@@ -101,9 +107,9 @@ public class WaveletTransformOps {
 			ImplWaveletTransformNaive.horizontal(desc.getBorder(),coef,input,storage);
 			ImplWaveletTransformNaive.vertical(desc.getBorder(),coef,storage,output);
 		} else {
-			ImplWaveletTransformInner.horizontal(coef,input,storage);
+			ImplWaveletTransformConcurrent.horizontal(desc.getLifting(),coef,input,storage);
 			ImplWaveletTransformBorder.horizontal(desc.getBorder(),coef,input,storage);
-			ImplWaveletTransformInner.vertical(coef,storage,output);
+			ImplWaveletTransformConcurrent.vertical(desc.getLifting(),coef,storage,output);
 			ImplWaveletTransformBorder.vertical(desc.getBorder(),coef,storage,output);
 		}
 	}
@@ -186,9 +192,9 @@ public class WaveletTransformOps {
 			ImplWaveletTransformNaive.verticalInverse(desc.getBorder(),desc.getInverse(),input,storage);
 			ImplWaveletTransformNaive.horizontalInverse(desc.getBorder(),desc.getInverse(),storage,output);
 		} else {
-			ImplWaveletTransformInner.verticalInverse(desc.getInverse().getInnerCoefficients(),input,storage);
+			ImplWaveletTransformConcurrent.verticalInverse(desc.getLifting(),desc.getInverse().getInnerCoefficients(),input,storage);
 			ImplWaveletTransformBorder.verticalInverse(desc.getBorder(),desc.getInverse(),input,storage);
-			ImplWaveletTransformInner.horizontalInverse(desc.getInverse().getInnerCoefficients(),storage,output);
+			ImplWaveletTransformConcurrent.horizontalInverse(desc.getLifting(),desc.getInverse().getInnerCoefficients(),storage,output);
 			ImplWaveletTransformBorder.horizontalInverse(desc.getBorder(),desc.getInverse(),storage,output);
 		}
 	}
@@ -288,9 +294,9 @@ public class WaveletTransformOps {
 			ImplWaveletTransformNaive.horizontal(desc.getBorder(),coef,input,storage);
 			ImplWaveletTransformNaive.vertical(desc.getBorder(),coef,storage,output);
 		} else {
-			ImplWaveletTransformInner.horizontal(coef,input,storage);
+			ImplWaveletTransformConcurrent.horizontal(coef,input,storage);
 			ImplWaveletTransformBorder.horizontal(desc.getBorder(),coef,input,storage);
-			ImplWaveletTransformInner.vertical(coef,storage,output);
+			ImplWaveletTransformConcurrent.vertical(coef,storage,output);
 			ImplWaveletTransformBorder.vertical(desc.getBorder(),coef,storage,output);
 		}
 	}
@@ -373,9 +379,9 @@ public class WaveletTransformOps {
 			ImplWaveletTransformNaive.verticalInverse(desc.getBorder(),desc.getInverse(),input,storage);
 			ImplWaveletTransformNaive.horizontalInverse(desc.getBorder(),desc.getInverse(),storage,output);
 		} else {
-			ImplWaveletTransformInner.verticalInverse(desc.getInverse().getInnerCoefficients(),input,storage);
+			ImplWaveletTransformConcurrent.verticalInverse(desc.getInverse().getInnerCoefficients(),input,storage);
 			ImplWaveletTransformBorder.verticalInverse(desc.getBorder(),desc.getInverse(),input,storage);
-			ImplWaveletTransformInner.horizontalInverse(desc.getInverse().getInnerCoefficients(),storage,output);
+			ImplWaveletTransformConcurrent.horizontalInverse(desc.getInverse().getInnerCoefficients(),storage,output);
 			ImplWaveletTransformBorder.horizontalInverse(desc.getBorder(),desc.getInverse(),storage,output);
 		}
 	}
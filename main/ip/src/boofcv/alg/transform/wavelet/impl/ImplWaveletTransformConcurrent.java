@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.transform.wavelet.impl;
+
+import boofcv.misc.BlockTask;
+import boofcv.misc.BoofConcurrency;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageSInt32;
+import boofcv.struct.wavelet.WlCoef_F32;
+import boofcv.struct.wavelet.WlCoef_I32;
+import boofcv.struct.wavelet.WlLifting_F32;
+
+/**
+ * <p>
+ * Splits the functions in {@link ImplWaveletTransformInner} across multiple threads.  Horizontal transforms
+ * only read from and write to a single row, so the image is broken up into blocks of rows.  Vertical transforms are
+ * broken up into blocks of columns.  Each block is passed in as a sub-image, which produces results identical
+ * to the single threaded functions.
+ * </p>
+ *
+ * <p>
+ * The floating point functions which take in a {@link WlLifting_F32} process each block using
+ * {@link ImplWaveletTransformLifting} instead.
+ * </p>
+ *
+ * <p>
+ * Only the inner portion of the image is processed here.  The functions in {@link ImplWaveletTransformBorder}
+ * should still be called afterwards.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ImplWaveletTransformConcurrent {
+
+	// minimum number of rows or columns processed by a single thread
+	public static int MIN_BLOCK = 32;
+
+	public static void horizontal( final WlCoef_F32 coefficients , final ImageFloat32 input , final ImageFloat32 output )
+	{
+		BoofConcurrency.loopBlocks(0,input.height,MIN_BLOCK,new BlockTask() {
+			@Override
+			public void process(int start, int end) {
+				ImplWaveletTransformInner.horizontal(coefficients,
+						input.subimage(0,start,input.width,end),output.subimage(0,start,output.width,end));
+			}
+		});
+	}
+
+	public static void vertical( final WlCoef_F32 coefficients , final ImageFloat32 input , final ImageFloat32 output )
+	{
+		BoofConcurrency.loopBlocks(0,input.width,MIN_BLOCK,new BlockTask() {
+			@Override
+			public void process(int start, int end) {
+				ImplWaveletTransformInner.vertical(coefficients,
+						input.subimage(start,0,end,input.height),output.subimage(start,0,end,output.height));
+			}
+		});
+	}
+
+	public static void horizontalInverse( final WlCoef_F32 coefficients , final ImageFloat32 input , final ImageFloat32 output )
+	{
+		BoofConcurrency.loopBlocks(0,output.height,MIN_BLOCK,new BlockTask() {
+			@Override
+			public void process(int start, int end) {
+				ImplWaveletTransformInner.horizontalInverse(coefficients,
+						input.subimage(0,start,input.width,end),output.subimage(0,start,output.width,end));
+			}
+		});
+	}
+
+	public static void verticalInverse( final WlCoef_F32 coefficients , final ImageFloat32 input , final ImageFloat32 output )
+	{
+		BoofConcurrency.loopBlocks(0,output.width,MIN_BLOCK,new BlockTask() {
+			@Override
+			public void process(int start, int end) {
+				ImplWaveletTransformInner.verticalInverse(coefficients,
+						input.subimage(start,0,end,input.height),output.subimage(start,0,end,output.height));
+			}
+		});
+	}
+
+	public static void horizontal( final WlLifting_F32 lifting , final WlCoef_F32 coefficients ,
+								   final ImageFloat32 input , final ImageFloat32 output )
+	{
+		BoofConcurrency.loopBlocks(0,input.height,MIN_BLOCK,new BlockTask() {
+			@Override
+			public void process(int start, int end) {
+				ImplWaveletTransformLifting.horizontal(lifting,coefficients,
+						input.subimage(0,start,input.width,end),output.subimage(0,start,output.width,end));
+			}
+		});
+	}
+
+	public static void vertical( final WlLifting_F32 lifting , final WlCoef_F32 coefficients ,
+								   final ImageFloat32 input , final ImageFloat32 output )
+	{
+		BoofConcurrency.loopBlocks(0,input.width,MIN_BLOCK,new BlockTask() {
+			@Override
+			public void process(int start, int end) {
+				ImplWaveletTransformLifting.vertical(lifting,coefficients,
+						input.subimage(start,0,end,input.height),output.subimage(start,0,end,output.height));
+			}
+		});
+	}
+
+	public static void horizontalInverse( final WlLifting_F32 lifting , final WlCoef_F32 coefficients ,
+								   final ImageFloat32 input , final ImageFloat32 output )
+	{
+		BoofConcurrency.loopBlocks(0,output.height,MIN_BLOCK,new BlockTask() {
+			@Override
+			public void process(int start, int end) {
+				ImplWaveletTransformLifting.horizontalInverse(lifting,coefficients,
+						input.subimage(0,start,input.width,end),output.subimage(0,start,output.width,end));
+			}
+		});
+	}
+
+	public static void verticalInverse( final WlLifting_F32 lifting , final WlCoef_F32 coefficients ,
+								   final ImageFloat32 input , final ImageFloat32 output )
+	{
+		BoofConcurrency.loopBlocks(0,output.width,MIN_BLOCK,new BlockTask() {
+			@Override
+			public void process(int start, int end) {
+				ImplWaveletTransformLifting.verticalInverse(lifting,coefficients,
+						input.subimage(start,0,end,input.height),output.subimage(start,0,end,output.height));
+			}
+		});
+	}
+
+	public static void horizontal( final WlCoef_I32 coefficients , final ImageSInt32 input , final ImageSInt32 output )
+	{
+		BoofConcurrency.loopBlocks(0,input.height,MIN_BLOCK,new BlockTask() {
+			@Override
+			public void process(int start, int end) {
+				ImplWaveletTransformInner.horizontal(coefficients,
+						input.subimage(0,start,input.width,end),output.subimage(0,start,output.width,end));
+			}
+		});
+	}
+
+	public static void vertical( final WlCoef_I32 coefficients , final ImageSInt32 input , final ImageSInt32 output )
+	{
+		BoofConcurrency.loopBlocks(0,input.width,MIN_BLOCK,new BlockTask() {
+			@Override
+			public void process(int start, int end) {
+				ImplWaveletTransformInner.vertical(coefficients,
+						input.subimage(start,0,end,input.height),output.subimage(start,0,end,output.height));
+			}
+		});
+	}
+
+	public static void horizontalInverse( final WlCoef_I32 coefficients , final ImageSInt32 input , final ImageSInt32 output )
+	{
+		BoofConcurrency.loopBlocks(0,output.height,MIN_BLOCK,new BlockTask() {
+			@Override
+			public void process(int start, int end) {
+				ImplWaveletTransformInner.horizontalInverse(coefficients,
+						input.subimage(0,start,input.width,end),output.subimage(0,start,output.width,end));
+			}
+		});
+	}
+
+	public static void verticalInverse( final WlCoef_I32 coefficients , final ImageSInt32 input , final ImageSInt32 output )
+	{
+		BoofConcurrency.loopBlocks(0,output.width,MIN_BLOCK,new BlockTask() {
+			@Override
+			public void process(int start, int end) {
+				ImplWaveletTransformInner.verticalInverse(coefficients,
+						input.subimage(start,0,end,input.height),output.subimage(start,0,end,output.height));
+			}
+		});
+	}
+}
@@ -97,7 +97,7 @@ public class ImplWaveletTransformInner {
 		final int height = output.height;
 		final int heightD2 = (height/2)*output.stride;
 		final int startY = UtilWavelet.borderForwardLower(coefficients);
-		final int endY = input.height - UtilWavelet.borderForwardUpper(coefficients,input.width);
+		final int endY = input.height - UtilWavelet.borderForwardUpper(coefficients,input.height);
 
 		for( int y = startY; y < endY; y += 2 ) {
 
@@ -309,7 +309,7 @@ public class ImplWaveletTransformInner {
 		final int height = output.height;
 		final int heightD2 = (height/2)*output.stride;
 		final int startY = UtilWavelet.borderForwardLower(coefficients);
-		final int endY = input.height - UtilWavelet.borderForwardUpper(coefficients,input.width);
+		final int endY = input.height - UtilWavelet.borderForwardUpper(coefficients,input.height);
 
 		for( int y = startY; y < endY; y += 2 ) {
 
@@ -0,0 +1,426 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.transform.wavelet.impl;
+
+import boofcv.alg.transform.wavelet.UtilWavelet;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.wavelet.WlCoef_F32;
+import boofcv.struct.wavelet.WlLifting_F32;
+
+/**
+ * <p>
+ * Computes the inner portion of the forward and inverse wavelet transform using the lifting scheme, see
+ * {@link WlLifting_F32}.  The same region is written to as in {@link ImplWaveletTransformInner} and the
+ * functions in {@link ImplWaveletTransformBorder} should still be called afterwards.  Instead of convolving the
+ * signal with the scaling and wavelet filters, the even and odd samples are copied into work arrays and updated
+ * in place by each lifting step.  This requires fewer multiplications.  The output matches the convolution up to
+ * floating point round off error.
+ * </p>
+ *
+ * <p>
+ * If no lifting is provided, or the lifting steps need samples outside of the image, then the functions in
+ * {@link ImplWaveletTransformInner} are called instead.  The inverse skips samples next to the border which
+ * can't be reconstructed from the available coefficients.  Those samples are also incorrect in the
+ * convolution and are always overwritten by the border functions.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ImplWaveletTransformLifting {
+
+	// maximum number of columns which are processed together by the vertical transforms
+	public static int COLUMN_BLOCK = 256;
+
+	public static void horizontal( WlLifting_F32 lifting , WlCoef_F32 coefficients ,
+								   ImageFloat32 input , ImageFloat32 output )
+	{
+		final int startX = UtilWavelet.borderForwardLower(coefficients);
+		final int endX = input.width - UtilWavelet.borderForwardUpper(coefficients,input.width);
+		final int n0 = startX/2;
+		final int n1 = (endX+1)/2;
+
+		Worker w = lifting == null ? null : new Worker(lifting,1);
+		if( w == null || !w.forwardRange(n0,n1,input.width) ) {
+			ImplWaveletTransformInner.horizontal(coefficients,input,output);
+			return;
+		}
+
+		final int widthD2 = output.width/2;
+
+		for( int y = 0; y < input.height; y++ ) {
+			int indexIn = input.startIndex + input.stride*y;
+			int indexOut = output.startIndex + output.stride*y;
+
+			for( int n = w.lowerEven; n < w.upperEven; n++ )
+				w.even[n-w.lowerEven] = input.data[indexIn+2*n];
+			for( int n = w.lowerOdd; n < w.upperOdd; n++ )
+				w.odd[n-w.lowerOdd] = input.data[indexIn+2*n+1];
+
+			w.forward();
+
+			float scaling[] = w.scalingSamples();
+			float wavelet[] = w.waveletSamples();
+			int offsetS = lifting.offsetScaling - w.lowerScaling();
+			int offsetW = lifting.offsetWavelet - w.lowerWavelet();
+
+			for( int n = n0; n < n1; n++ ) {
+				output.data[indexOut+n] = lifting.scaleScaling*scaling[n+offsetS];
+				output.data[indexOut+widthD2+n] = lifting.scaleWavelet*wavelet[n+offsetW];
+			}
+		}
+	}
+
+	public static void vertical( WlLifting_F32 lifting , WlCoef_F32 coefficients ,
+								 ImageFloat32 input , ImageFloat32 output )
+	{
+		final int startY = UtilWavelet.borderForwardLower(coefficients);
+		final int endY = input.height - UtilWavelet.borderForwardUpper(coefficients,input.height);
+		final int n0 = startY/2;
+		final int n1 = (endY+1)/2;
+
+		final int cols = Math.min(COLUMN_BLOCK,input.width);
+		Worker w = lifting == null ? null : new Worker(lifting,cols);
+		if( w == null || !w.forwardRange(n0,n1,input.height) ) {
+			ImplWaveletTransformInner.vertical(coefficients,input,output);
+			return;
+		}
+
+		final int heightD2 = (output.height/2)*output.stride;
+
+		for( int x0 = 0; x0 < input.width; x0 += cols ) {
+			int numCols = Math.min(cols,input.width-x0);
+			w.cols = numCols;
+
+			for( int n = w.lowerEven; n < w.upperEven; n++ )
+				System.arraycopy(input.data,input.startIndex+2*n*input.stride+x0,w.even,(n-w.lowerEven)*numCols,numCols);
+			for( int n = w.lowerOdd; n < w.upperOdd; n++ )
+				System.arraycopy(input.data,input.startIndex+(2*n+1)*input.stride+x0,w.odd,(n-w.lowerOdd)*numCols,numCols);
+
+			w.forward();
+
+			float scaling[] = w.scalingSamples();
+			float wavelet[] = w.waveletSamples();
+			int offsetS = lifting.offsetScaling - w.lowerScaling();
+			int offsetW = lifting.offsetWavelet - w.lowerWavelet();
+
+			for( int n = n0; n < n1; n++ ) {
+				int indexOut = output.startIndex + n*output.stride + x0;
+				int indexS = (n+offsetS)*numCols;
+				int indexW = (n+offsetW)*numCols;
+				for( int i = 0; i < numCols; i++ ) {
+					output.data[indexOut+i] = lifting.scaleScaling*scaling[indexS+i];
+					output.data[indexOut+heightD2+i] = lifting.scaleWavelet*wavelet[indexW+i];
+				}
+			}
+		}
+	}
+
+	public static void horizontalInverse( WlLifting_F32 lifting , WlCoef_F32 coefficients ,
+										  ImageFloat32 input , ImageFloat32 output )
+	{
+		final int lowerBorder = UtilWavelet.borderForwardLower(coefficients);
+		final int upperBorder = output.width - UtilWavelet.borderForwardUpper(coefficients,output.width);
+		final int widthD2 = input.width/2;
+
+		Worker w = lifting == null ? null : new Worker(lifting,1);
+		if( w == null || !w.inverseRange(lowerBorder,upperBorder,widthD2) ) {
+			ImplWaveletTransformInner.horizontalInverse(coefficients,input,output);
+			return;
+		}
+
+		float scaling[] = w.scalingSamples();
+		float wavelet[] = w.waveletSamples();
+		int lowerS = w.lowerScaling(), upperS = w.upperScaling();
+		int lowerW = w.lowerWavelet(), upperW = w.upperWavelet();
+		float invScaling = 1.0f/lifting.scaleScaling;
+		float invWavelet = 1.0f/lifting.scaleWavelet;
+
+		for( int y = 0; y < output.height; y++ ) {
+			int indexIn = input.startIndex + input.stride*y;
+			int indexOut = output.startIndex + output.stride*y;
+
+			for( int n = lowerS; n < upperS; n++ )
+				scaling[n-lowerS] = input.data[indexIn+n-lifting.offsetScaling]*invScaling;
+			for( int n = lowerW; n < upperW; n++ )
+				wavelet[n-lowerW] = input.data[indexIn+widthD2+n-lifting.offsetWavelet]*invWavelet;
+
+			w.inverse();
+
+			for( int x = w.lowerX; x < w.upperX; x++ ) {
+				int n = x/2;
+				if( x % 2 == 0 )
+					output.data[indexOut+x] = w.even[n-w.lowerEven];
+				else
+					output.data[indexOut+x] = w.odd[n-w.lowerOdd];
+			}
+		}
+	}
+
+	public static void verticalInverse( WlLifting_F32 lifting , WlCoef_F32 coefficients ,
+										ImageFloat32 input , ImageFloat32 output )
+	{
+		final int lowerBorder = UtilWavelet.borderForwardLower(coefficients);
+		final int upperBorder = output.height - UtilWavelet.borderForwardUpper(coefficients,output.height);
+		final int heightD2 = input.height/2;
+
+		final int cols = Math.min(COLUMN_BLOCK,output.width);
+		Worker w = lifting == null ? null : new Worker(lifting,cols);
+		if( w == null || !w.inverseRange(lowerBorder,upperBorder,heightD2) ) {
+			ImplWaveletTransformInner.verticalInverse(coefficients,input,output);
+			return;
+		}
+
+		float scaling[] = w.scalingSamples();
+		float wavelet[] = w.waveletSamples();
+		int lowerS = w.lowerScaling(), upperS = w.upperScaling();
+		int lowerW = w.lowerWavelet(), upperW = w.upperWavelet();
+		float invScaling = 1.0f/lifting.scaleScaling;
+		float invWavelet = 1.0f/lifting.scaleWavelet;
+
+		for( int x0 = 0; x0 < output.width; x0 += cols ) {
+			int numCols = Math.min(cols,output.width-x0);
+			w.cols = numCols;
+
+			for( int n = lowerS; n < upperS; n++ ) {
+				int indexIn = input.startIndex + (n-lifting.offsetScaling)*input.stride + x0;
+				int indexS = (n-lowerS)*numCols;
+				for( int i = 0; i < numCols; i++ )
+					scaling[indexS+i] = input.data[indexIn+i]*invScaling;
+			}
+			for( int n = lowerW; n < upperW; n++ ) {
+				int indexIn = input.startIndex + (heightD2+n-lifting.offsetWavelet)*input.stride + x0;
+				int indexW = (n-lowerW)*numCols;
+				for( int i = 0; i < numCols; i++ )
+					wavelet[indexW+i] = input.data[indexIn+i]*invWavelet;
+			}
+
+			w.inverse();
+
+			for( int y = w.lowerX; y < w.upperX; y++ ) {
+				int n = y/2;
+				int indexOut = output.startIndex + y*output.stride + x0;
+				if( y % 2 == 0 )
+					System.arraycopy(w.even,(n-w.lowerEven)*numCols,output.data,indexOut,numCols);
+				else
+					System.arraycopy(w.odd,(n-w.lowerOdd)*numCols,output.data,indexOut,numCols);
+			}
+		}
+	}
+
+	/**
+	 * Storage for the even and odd samples and the range of samples each lifting step needs to update.
+	 * Each sample is a block of 'cols' values which are processed together.
+	 */
+	private static class Worker {
+		WlLifting_F32 lifting;
+		int cols;
+
+		// range of even and odd samples which are stored.  upper is exclusive
+		int lowerEven,upperEven;
+		int lowerOdd,upperOdd;
+		// range of signal samples which can be reconstructed by the inverse
+		int lowerX,upperX;
+		// range of samples each step modifies
+		int stepLower[];
+		int stepUpper[];
+
+		float even[];
+		float odd[];
+
+		Worker( WlLifting_F32 lifting , int cols ) {
+			this.lifting = lifting;
+			this.cols = cols;
+			stepLower = new int[ lifting.steps.size() ];
+			stepUpper = new int[ lifting.steps.size() ];
+		}
+
+		/**
+		 * Computes which samples are needed to compute scaling and wavelet coefficients n0 to n1-1.
+		 *
+		 * @return true if all the samples are inside the signal
+		 */
+		boolean forwardRange( int n0 , int n1 , int length ) {
+			if( n1 <= n0 )
+				return false;
+
+			setFinal(n0+lifting.offsetScaling,n1+lifting.offsetScaling,
+					n0+lifting.offsetWavelet,n1+lifting.offsetWavelet);
+
+			// walk backwards through the steps since earlier steps need to compute whatever later ones read
+			for( int i = lifting.steps.size()-1; i >= 0; i-- ) {
+				expand(i);
+			}
+
+			if( lowerEven < 0 || 2*(upperEven-1) >= length )
+				return false;
+			if( lowerOdd < 0 || 2*(upperOdd-1)+1 >= length )
+				return false;
+
+			declare();
+			return true;
+		}
+
+		/**
+		 * Computes which scaling and wavelet coefficients are needed to reconstruct signal samples x0 to x1-1.
+		 * Samples close to the ends of the range are skipped if they need coefficients outside the transform.
+		 * Those samples depend on the border and are computed later by {@link ImplWaveletTransformBorder}.
+		 *
+		 * @return true if any samples can be reconstructed
+		 */
+		boolean inverseRange( int x0 , int x1 , int numCoef ) {
+			// shrink the range until all the coefficients it needs are inside the transform
+			while( x1 > x0 ) {
+				computeInverseRange(x0,x1);
+
+				boolean lowerGood = lowerScaling()-lifting.offsetScaling >= 0 &&
+						lowerWavelet()-lifting.offsetWavelet >= 0;
+				boolean upperGood = upperScaling()-lifting.offsetScaling <= numCoef &&
+						upperWavelet()-lifting.offsetWavelet <= numCoef;
+
+				if( lowerGood && upperGood ) {
+					lowerX = x0;
+					upperX = x1;
+					declare();
+					return true;
+				}
+				if( !lowerGood )
+					x0++;
+				if( !upperGood )
+					x1--;
+			}
+			return false;
+		}
+
+		private void computeInverseRange( int x0 , int x1 ) {
+			lowerEven = x0/2 + x0%2; upperEven = (x1+1)/2;
+			lowerOdd = x0/2; upperOdd = x1/2;
+			// the inverse undoes the first step last so walk forward through the steps
+			for( int i = 0; i < lifting.steps.size(); i++ ) {
+				expand(i);
+			}
+		}
+
+		private void setFinal( int lowerS , int upperS , int lowerW , int upperW ) {
+			if( lifting.swap ) {
+				lowerOdd = lowerS; upperOdd = upperS;
+				lowerEven = lowerW; upperEven = upperW;
+			} else {
+				lowerEven = lowerS; upperEven = upperS;
+				lowerOdd = lowerW; upperOdd = upperW;
+			}
+		}
+
+		/**
+		 * Record the range the step modifies and expand the range of samples it reads from
+		 */
+		private void expand( int which ) {
+			WlLifting_F32.Step s = lifting.steps.get(which);
+			int lower = s.predict ? lowerOdd : lowerEven;
+			int upper = s.predict ? upperOdd : upperEven;
+			stepLower[which] = lower;
+			stepUpper[which] = upper;
+
+			int readLower = lower + s.offset;
+			int readUpper = upper + s.offset + s.coef.length - 1;
+			if( s.predict ) {
+				lowerEven = Math.min(lowerEven,readLower);
+				upperEven = Math.max(upperEven,readUpper);
+			} else {
+				lowerOdd = Math.min(lowerOdd,readLower);
+				upperOdd = Math.max(upperOdd,readUpper);
+			}
+		}
+
+		private void declare() {
+			even = new float[ (upperEven-lowerEven)*cols ];
+			odd = new float[ (upperOdd-lowerOdd)*cols ];
+		}
+
+		float[] scalingSamples() {
+			return lifting.swap ? odd : even;
+		}
+
+		float[] waveletSamples() {
+			return lifting.swap ? even : odd;
+		}
+
+		int lowerScaling() { return lifting.swap ? lowerOdd : lowerEven; }
+		int upperScaling() { return lifting.swap ? upperOdd : upperEven; }
+		int lowerWavelet() { return lifting.swap ? lowerEven : lowerOdd; }
+		int upperWavelet() { return lifting.swap ? upperEven : upperOdd; }
+
+		void forward() {
+			for( int i = 0; i < lifting.steps.size(); i++ ) {
+				apply(i,1);
+			}
+		}
+
+		void inverse() {
+			for( int i = lifting.steps.size()-1; i >= 0; i-- ) {
+				apply(i,-1);
+			}
+		}
+
+		/**
+		 * Adds (or subtracts) the weighted sum of the other set of samples to each sample modified by the step
+		 */
+		private void apply( int which , float sign ) {
+			WlLifting_F32.Step s = lifting.steps.get(which);
+
+			float target[],source[];
+			int lowerTarget,lowerSource;
+			if( s.predict ) {
+				target = odd; lowerTarget = lowerOdd;
+				source = even; lowerSource = lowerEven;
+			} else {
+				target = even; lowerTarget = lowerEven;
+				source = odd; lowerSource = lowerOdd;
+			}
+
+			final float coef[] = s.coef;
+			final int lower = stepLower[which];
+			final int upper = stepUpper[which];
+			final int length = (upper-lower)*cols;
+			int indexTarget = (lower-lowerTarget)*cols;
+			int indexSource = (lower+s.offset-lowerSource)*cols;
+
+			// most lifting steps have one or two coefficients and are worth handling separately
+			if( coef.length == 1 ) {
+				final float c0 = sign*coef[0];
+				for( int i = 0; i < length; i++ ) {
+					target[indexTarget+i] += c0*source[indexSource+i];
+				}
+			} else if( coef.length == 2 ) {
+				final float c0 = sign*coef[0];
+				final float c1 = sign*coef[1];
+				final int indexSource1 = indexSource + cols;
+				for( int i = 0; i < length; i++ ) {
+					target[indexTarget+i] += c0*source[indexSource+i] + c1*source[indexSource1+i];
+				}
+			} else {
+				for( int k = 0; k < coef.length; k++ , indexSource += cols ) {
+					final float c = sign*coef[k];
+					for( int i = 0; i < length; i++ ) {
+						target[indexTarget+i] += c*source[indexSource+i];
+					}
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.core.encoding;
+
+import boofcv.core.encoding.impl.ImplConvertYuv420;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageInterleavedInt8;
+import boofcv.struct.image.ImageUInt8;
+import boofcv.struct.image.MultiSpectral;
+
+/**
+ * <p>
+ * Converts images encoded in the NV21 format into BoofCV images.  NV21 is the default format of camera preview
+ * images on Android.  A width by height luma plane is followed by a single plane of interleaved V and U samples,
+ * V first, where each chroma sample is shared by a 2x2 block of pixels.
+ * </p>
+ *
+ * <p>
+ * Only plain Java is used, so these functions can be used on Android or on a desktop.  Color is decoded using
+ * the full range fixed point math in {@link boofcv.alg.color.ColorYuv}.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ConvertNV21 {
+
+	/**
+	 * Creates a gray scale image which references the luma plane of the NV21 image.  No data is copied, so
+	 * changes to the data array will be seen by the image.
+	 *
+	 * @param data Input: NV21 image data
+	 * @param width Input: NV21 image width
+	 * @param height Input: NV21 image height
+	 * @param output Output: Optional storage for the gray scale image.  Its data array is replaced. Can be null.
+	 * @return Gray scale image which references the data array.
+	 */
+	public static ImageUInt8 nv21GrayView( byte[] data , int width , int height , ImageUInt8 output ) {
+		return ImplConvertYuv420.grayView(data,width,height,output);
+	}
+
+	/**
+	 * Copies the luma plane of the NV21 image into a gray scale image.
+	 *
+	 * @param data Input: NV21 image data
+	 * @param width Input: NV21 image width
+	 * @param height Input: NV21 image height
+	 * @param output Output: Optional storage for the gray scale image.  Can be null.
+	 * @return Gray scale image
+	 */
+	public static ImageUInt8 nv21ToGray( byte[] data , int width , int height , ImageUInt8 output ) {
+		output = checkOutput(data,width,height,output);
+		ImplConvertYuv420.gray(data,width,height,output);
+		return output;
+	}
+
+	/**
+	 * Copies the luma plane of the NV21 image into a floating point gray scale image.
+	 *
+	 * @param data Input: NV21 image data
+	 * @param width Input: NV21 image width
+	 * @param height Input: NV21 image height
+	 * @param output Output: Optional storage for the gray scale image.  Can be null.
+	 * @return Gray scale image
+	 */
+	public static ImageFloat32 nv21ToGray( byte[] data , int width , int height , ImageFloat32 output ) {
+		ImplConvertYuv420.checkLength(data,width,height);
+		if( output == null ) {
+			output = new ImageFloat32(width,height);
+		} else if( output.width != width || output.height != height ) {
+			throw new IllegalArgumentException("Output image must be "+width+"x"+height);
+		}
+
+		ImplConvertYuv420.gray(data,width,height,output);
+		return output;
+	}
+
+	/**
+	 * Converts the NV21 image into a RGB image with a separate band for each color.
+	 *
+	 * @param data Input: NV21 image data
+	 * @param width Input: NV21 image width
+	 * @param height Input: NV21 image height
+	 * @param output Output: Optional storage for the RGB image.  Must have three bands.  Can be null.
+	 * @return RGB image
+	 */
+	public static MultiSpectral<ImageUInt8> nv21ToMsRgb_U8( byte[] data , int width , int height ,
+															MultiSpectral<ImageUInt8> output ) {
+		ImplConvertYuv420.checkLength(data,width,height);
+		if( output == null ) {
+			output = new MultiSpectral<ImageUInt8>(ImageUInt8.class,width,height,3);
+		} else if( output.getNumBands() != 3 ) {
+			throw new IllegalArgumentException("Output image must have three bands");
+		} else if( output.width != width || output.height != height ) {
+			throw new IllegalArgumentException("Output image must be "+width+"x"+height);
+		}
+
+		int uvWidth = (width+1)/2;
+		ImplConvertYuv420.rgb(data,width,height,width*height+1,width*height,2*uvWidth,2,output);
+		return output;
+	}
+
+	/**
+	 * Converts the NV21 image into an interleaved RGB image.
+	 *
+	 * @param data Input: NV21 image data
+	 * @param width Input: NV21 image width
+	 * @param height Input: NV21 image height
+	 * @param output Output: Optional storage for the RGB image.  Must have three bands.  Can be null.
+	 * @return RGB image
+	 */
+	public static ImageInterleavedInt8 nv21ToInterleaved( byte[] data , int width , int height ,
+														 ImageInterleavedInt8 output ) {
+		ImplConvertYuv420.checkLength(data,width,height);
+		if( output == null ) {
+			output = new ImageInterleavedInt8(width,height,3);
+		} else if( output.numBands != 3 ) {
+			throw new IllegalArgumentException("Output image must have three bands");
+		} else if( output.width != width || output.height != height ) {
+			throw new IllegalArgumentException("Output image must be "+width+"x"+height);
+		}
+
+		int uvWidth = (width+1)/2;
+		ImplConvertYuv420.rgb(data,width,height,width*height+1,width*height,2*uvWidth,2,output);
+		return output;
+	}
+
+	private static ImageUInt8 checkOutput( byte[] data , int width , int height , ImageUInt8 output ) {
+		ImplConvertYuv420.checkLength(data,width,height);
+		if( output == null ) {
+			output = new ImageUInt8(width,height);
+		} else if( output.width != width || output.height != height ) {
+			throw new IllegalArgumentException("Output image must be "+width+"x"+height);
+		}
+		return output;
+	}
+}
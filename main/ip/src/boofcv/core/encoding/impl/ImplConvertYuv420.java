@@ -0,0 +1,204 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.core.encoding.impl;
+
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageInterleavedInt8;
+import boofcv.struct.image.ImageUInt8;
+import boofcv.struct.image.MultiSpectral;
+
+import static boofcv.alg.color.ColorYuv.*;
+
+/**
+ * <p>
+ * Low level implementation for decoding YUV 4:2:0 images, such as NV21 and I420.  The luma plane is always
+ * stored first as a width by height array of bytes.  Each chroma sample is shared by a 2x2 block of pixels and
+ * the chroma layout is described by the offset of the first U and V sample, the number of bytes between chroma rows,
+ * and the number of bytes between adjacent chroma samples in the same row.
+ * </p>
+ *
+ * <p>
+ * Color is decoded using the fixed point math in {@link boofcv.alg.color.ColorYuv}.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ImplConvertYuv420 {
+
+	/**
+	 * Number of bytes needed to encode a YUV 4:2:0 image with the specified shape.
+	 */
+	public static int encodedLength( int width , int height ) {
+		int uvWidth = (width+1)/2;
+		int uvHeight = (height+1)/2;
+		return width*height + 2*uvWidth*uvHeight;
+	}
+
+	/**
+	 * Makes sure the data array is large enough to contain an image of the specified shape.
+	 */
+	public static void checkLength( byte[] data , int width , int height ) {
+		int length = encodedLength(width,height);
+		if( data.length < length )
+			throw new IllegalArgumentException("Data array is too small for the image. Expected at least "+
+					length+" found "+data.length);
+	}
+
+	/**
+	 * Makes the gray scale image reference the luma plane directly.  No data is copied.
+	 */
+	public static ImageUInt8 grayView( byte[] data , int width , int height , ImageUInt8 output ) {
+		checkLength(data,width,height);
+		if( output == null )
+			output = new ImageUInt8();
+
+		output.data = data;
+		output.width = width;
+		output.height = height;
+		output.stride = width;
+		output.startIndex = 0;
+
+		return output;
+	}
+
+	/**
+	 * Copies the luma plane into a gray scale image.
+	 */
+	public static void gray( byte[] data , int width , int height , ImageUInt8 output ) {
+		if( output.startIndex == 0 && output.stride == width ) {
+			System.arraycopy(data,0,output.data,0,width*height);
+		} else {
+			for( int y = 0; y < height; y++ ) {
+				System.arraycopy(data,y*width,output.data,output.startIndex + y*output.stride,width);
+			}
+		}
+	}
+
+	/**
+	 * Copies the luma plane into a gray scale image.
+	 */
+	public static void gray( byte[] data , int width , int height , ImageFloat32 output ) {
+		for( int y = 0; y < height; y++ ) {
+			int indexSrc = y*width;
+			int indexDst = output.startIndex + y*output.stride;
+			int end = indexDst + width;
+
+			for( ; indexDst < end; indexDst++ ) {
+				output.data[indexDst] = data[indexSrc++] & 0xFF;
+			}
+		}
+	}
+
+	/**
+	 * Decodes the image into RGB with a separate band for each color.
+	 *
+	 * @param data Encoded image.
+	 * @param width Image width.
+	 * @param height Image height.
+	 * @param offsetU Index of the first U sample.
+	 * @param offsetV Index of the first V sample.
+	 * @param strideUV Number of bytes between chroma rows.
+	 * @param stepUV Number of bytes between chroma samples in the same row.
+	 * @param output Output image with three bands.
+	 */
+	public static void rgb( byte[] data , int width , int height ,
+							int offsetU , int offsetV , int strideUV , int stepUV ,
+							MultiSpectral<ImageUInt8> output ) {
+		byte[] dataR = output.getBand(0).data;
+		byte[] dataG = output.getBand(1).data;
+		byte[] dataB = output.getBand(2).data;
+
+		for( int row = 0; row < height; row++ ) {
+			int indexY = row*width;
+			int indexU = offsetU + (row >> 1)*strideUV;
+			int indexV = offsetV + (row >> 1)*strideUV;
+			int indexOut = output.startIndex + row*output.stride;
+
+			int x = 0;
+			while( x < width ) {
+				int u = (data[indexU] & 0xFF) - 128;
+				int v = (data[indexV] & 0xFF) - 128;
+				indexU += stepUV;
+				indexV += stepUV;
+
+				// the chroma contribution is shared by two pixels
+				int r = (RV*v + 32768) >> 16;
+				int g = (GU*u + GV*v + 32768) >> 16;
+				int b = (BU*u + 32768) >> 16;
+
+				int end = Math.min(x+2,width);
+				for( ; x < end; x++ , indexOut++ ) {
+					int y = data[indexY++] & 0xFF;
+
+					dataR[indexOut] = (byte)clamp(y + r);
+					dataG[indexOut] = (byte)clamp(y + g);
+					dataB[indexOut] = (byte)clamp(y + b);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Decodes the image into an interleaved image with bands in RGB order.
+	 *
+	 * @param data Encoded image.
+	 * @param width Image width.
+	 * @param height Image height.
+	 * @param offsetU Index of the first U sample.
+	 * @param offsetV Index of the first V sample.
+	 * @param strideUV Number of bytes between chroma rows.
+	 * @param stepUV Number of bytes between chroma samples in the same row.
+	 * @param output Output image with three bands.
+	 */
+	public static void rgb( byte[] data , int width , int height ,
+							int offsetU , int offsetV , int strideUV , int stepUV ,
+							ImageInterleavedInt8 output ) {
+		byte[] dataOut = output.data;
+
+		for( int row = 0; row < height; row++ ) {
+			int indexY = row*width;
+			int indexU = offsetU + (row >> 1)*strideUV;
+			int indexV = offsetV + (row >> 1)*strideUV;
+			int indexOut = output.startIndex + row*output.stride;
+
+			int x = 0;
+			while( x < width ) {
+				int u = (data[indexU] & 0xFF) - 128;
+				int v = (data[indexV] & 0xFF) - 128;
+				indexU += stepUV;
+				indexV += stepUV;
+
+				// the chroma contribution is shared by two pixels
+				int r = (RV*v + 32768) >> 16;
+				int g = (GU*u + GV*v + 32768) >> 16;
+				int b = (BU*u + 32768) >> 16;
+
+				int end = Math.min(x+2,width);
+				for( ; x < end; x++ ) {
+					int y = data[indexY++] & 0xFF;
+
+					dataOut[indexOut++] = (byte)clamp(y + r);
+					dataOut[indexOut++] = (byte)clamp(y + g);
+					dataOut[indexOut++] = (byte)clamp(y + b);
+				}
+			}
+		}
+	}
+}
@@ -18,9 +18,12 @@
 
 package boofcv.core.image;
 
+import boofcv.misc.BlockTask;
+import boofcv.misc.BoofConcurrency;
 import boofcv.struct.image.*;
 import sun.awt.image.ByteInterleavedRaster;
 import sun.awt.image.IntegerInterleavedRaster;
+import sun.awt.image.ShortInterleavedRaster;
 
 import javax.swing.*;
 import java.awt.*;
@@ -29,12 +32,24 @@ import java.awt.image.*;
 import java.lang.reflect.Array;
 
 /**
+ * <p>
  * Functions for converting to and from {@link BufferedImage}.
+ * </p>
+ *
+ * <p>
+ * When possible the image's raster is accessed directly using {@link ConvertRaster}, otherwise the much slower
+ * RGB interface is used.  Large images are split into blocks of rows which are converted in parallel.  When
+ * converting into a BufferedImage that has been provided, its raster is written to directly and no new image
+ * is declared.
+ * </p>
  *
  * @author Peter Abeles
  */
 public class ConvertBufferedImage {
 
+	// minimum number of rows converted by a single thread
+	public static int MIN_BLOCK = 32;
+
 	/**
 	 * For BufferedImage stored as a byte array internally it extracts an
 	 * interlaced image.  The input image and the returned image will both
@@ -51,7 +66,8 @@ public class ConvertBufferedImage {
 
 			ret.width = img.getWidth();
 			ret.height = img.getHeight();
-			ret.stride = ret.width;
+			ret.startIndex = ConvertRaster.getOffset(raster);
+			ret.stride = raster.getScanlineStride();
 			ret.numBands = raster.getNumBands();
 			ret.data = raster.getDataStorage();
 
@@ -78,7 +94,8 @@ public class ConvertBufferedImage {
 
 			ret.width = img.getWidth();
 			ret.height = img.getHeight();
-			ret.stride = ret.width;
+			ret.startIndex = raster.getDataOffset(0);
+			ret.stride = raster.getScanlineStride();
 			ret.data = raster.getDataStorage();
 
 			return ret;
@@ -183,7 +200,9 @@ public class ConvertBufferedImage {
 	 * @param dst The image which it is being converted into   
 	 */
 	public static <T extends ImageBase> void convertFrom(BufferedImage src, T dst ) {
-		if( dst instanceof ImageSingleBand ) {
+		if( dst instanceof ImageInterleavedInt8 ) {
+			convertFrom(src, (ImageInterleavedInt8) dst);
+		} else if( dst instanceof ImageSingleBand ) {
 			ImageSingleBand sb = (ImageSingleBand)dst;
 			convertFromSingle(src, sb, (Class<ImageSingleBand>) sb.getClass());
 		} else if( dst instanceof MultiSpectral ) {
@@ -225,18 +244,7 @@ public class ConvertBufferedImage {
 			dst = new ImageUInt8(src.getWidth(), src.getHeight());
 		}
 
-		try {
-			if (src.getRaster() instanceof ByteInterleavedRaster) {
-				ConvertRaster.bufferedToGray((ByteInterleavedRaster) src.getRaster(), dst);
-			} else if (src.getRaster() instanceof IntegerInterleavedRaster) {
-				ConvertRaster.bufferedToGray((IntegerInterleavedRaster) src.getRaster(), dst);
-			} else {
-				ConvertRaster.bufferedToGray(src, dst);
-			}
-		} catch( java.security.AccessControlException e) {
-			// Applets don't allow access to the raster()
-			ConvertRaster.bufferedToGray(src, dst);
-		}
+		convertFromConcurrent(src, dst);
 
 		return dst;
 	}
@@ -258,19 +266,32 @@ public class ConvertBufferedImage {
 			dst = new ImageFloat32(src.getWidth(), src.getHeight());
 		}
 
-		try {
-			if (src.getRaster() instanceof ByteInterleavedRaster ) {
-				ConvertRaster.bufferedToGray((ByteInterleavedRaster) src.getRaster(), dst);
-			} else if (src.getRaster() instanceof IntegerInterleavedRaster) {
-				ConvertRaster.bufferedToGray((IntegerInterleavedRaster) src.getRaster(), dst);
-			} else {
-				ConvertRaster.bufferedToGray(src, dst);
+		convertFromConcurrent(src, dst);
+
+		return dst;
+	}
+
+	/**
+	 * Converts the buffered image into an {@link boofcv.struct.image.ImageInterleavedInt8}.  The order of the
+	 * bands is the same as in the raster, see {@link ConvertRaster}.  If the raster can't be accessed directly
+	 * then the bands are in RGB or ARGB order.
+	 *
+	 * @param src Input image.
+	 * @param dst Where the converted image is written to.  If null a new image with the same number of bands
+	 *            as the raster is created.
+	 * @return Converted image.
+	 */
+	public static ImageInterleavedInt8 convertFrom(BufferedImage src, ImageInterleavedInt8 dst) {
+		if (dst != null) {
+			if (src.getWidth() != dst.getWidth() || src.getHeight() != dst.getHeight()) {
+				throw new IllegalArgumentException("image dimension are different");
 			}
-		} catch( java.security.AccessControlException e) {
-			// Applets don't allow access to the raster()
-			ConvertRaster.bufferedToGray(src, dst);
+		} else {
+			dst = new ImageInterleavedInt8(src.getWidth(), src.getHeight(), src.getRaster().getNumBands());
 		}
 
+		convertFromConcurrent(src, dst);
+
 		return dst;
 	}
 
@@ -294,41 +315,10 @@ public class ConvertBufferedImage {
 			dst = new MultiSpectral<T>(type,src.getWidth(),src.getHeight(),3);
 		}
 
-		if( type == ImageUInt8.class ) {
-			try {
-				if (src.getRaster() instanceof ByteInterleavedRaster &&
-						src.getType() != BufferedImage.TYPE_BYTE_GRAY ) {
-					ConvertRaster.bufferedToMulti_U8((ByteInterleavedRaster) src.getRaster(), (MultiSpectral<ImageUInt8>)dst);
-				} else if (src.getRaster() instanceof IntegerInterleavedRaster) {
-					ConvertRaster.bufferedToMulti_U8((IntegerInterleavedRaster) src.getRaster(), (MultiSpectral<ImageUInt8>)dst);
-				} else {
-					ConvertRaster.bufferedToMulti_U8(src, (MultiSpectral<ImageUInt8>)dst);
-				}
-			} catch( java.security.AccessControlException e) {
-				// Applets don't allow access to the raster()
-				ConvertRaster.bufferedToMulti_U8(src, (MultiSpectral<ImageUInt8>)dst);
-			}
-		} else if( type == ImageFloat32.class ) {
-			try {
-				if (src.getRaster() instanceof ByteInterleavedRaster ) {
-					if( src.getType() == BufferedImage.TYPE_BYTE_GRAY)  {
-						for( int i = 0; i < dst.getNumBands(); i++ )
-							ConvertRaster.bufferedToGray(src,((MultiSpectral<ImageFloat32>)dst).getBand(i));
-					} else {
-						ConvertRaster.bufferedToMulti_F32((ByteInterleavedRaster) src.getRaster(), (MultiSpectral<ImageFloat32>)dst);
-					}
-				} else if (src.getRaster() instanceof IntegerInterleavedRaster) {
-					ConvertRaster.bufferedToMulti_F32((IntegerInterleavedRaster) src.getRaster(), (MultiSpectral<ImageFloat32>)dst);
-				} else {
-					ConvertRaster.bufferedToMulti_F32(src, (MultiSpectral<ImageFloat32>)dst);
-				}
-			} catch( java.security.AccessControlException e) {
-				// Applets don't allow access to the raster()
-				ConvertRaster.bufferedToMulti_F32(src, (MultiSpectral<ImageFloat32>)dst);
-			}
-		} else {
+		if( type != ImageUInt8.class && type != ImageFloat32.class )
 			throw new IllegalArgumentException("Band type not supported yet");
-		}
+
+		convertFromConcurrent(src, dst);
 
 		return dst;
 	}
@@ -348,6 +338,8 @@ public class ConvertBufferedImage {
 				return convertTo((ImageSInt16)src,dst);
 			} else if( ImageFloat32.class == src.getClass() ) {
 				return convertTo((ImageFloat32)src,dst);
+			} else if( ImageInterleavedInt8.class == src.getClass() ) {
+				return convertTo((ImageInterleavedInt8)src,dst);
 			} else {
 				throw new IllegalArgumentException("ImageSingleBand type is not yet supported: "+src.getClass().getSimpleName());
 			}
@@ -376,19 +368,7 @@ public class ConvertBufferedImage {
 	public static BufferedImage convertTo(ImageUInt8 src, BufferedImage dst) {
 		dst = checkInputs(src, dst);
 
-		try {
-			if (dst.getRaster() instanceof ByteInterleavedRaster) {
-				ConvertRaster.grayToBuffered(src, (ByteInterleavedRaster) dst.getRaster());
-			} else if (dst.getRaster() instanceof IntegerInterleavedRaster) {
-				ConvertRaster.grayToBuffered(src, (IntegerInterleavedRaster) dst.getRaster());
-			} else {
-				ConvertRaster.grayToBuffered(src, dst);
-			}
-			// hack so that it knows the buffer has been modified
-			dst.setRGB(0,0,dst.getRGB(0,0));
-		} catch( java.security.AccessControlException e) {
-			ConvertRaster.grayToBuffered(src, dst);
-		}
+		convertToConcurrent(src, dst);
 
 		return dst;
 	}
@@ -404,19 +384,7 @@ public class ConvertBufferedImage {
 	public static BufferedImage convertTo(ImageSInt16 src, BufferedImage dst) {
 		dst = checkInputs(src, dst);
 
-		try {
-			if (dst.getRaster() instanceof ByteInterleavedRaster) {
-				ConvertRaster.grayToBuffered(src, (ByteInterleavedRaster) dst.getRaster());
-			} else if (dst.getRaster() instanceof IntegerInterleavedRaster) {
-				ConvertRaster.grayToBuffered(src, (IntegerInterleavedRaster) dst.getRaster());
-			} else {
-				ConvertRaster.grayToBuffered(src, dst);
-			}
-			// hack so that it knows the buffer has been modified
-			dst.setRGB(0,0,dst.getRGB(0,0));
-		} catch( java.security.AccessControlException e) {
-			ConvertRaster.grayToBuffered(src, dst);
-		}
+		convertToConcurrent(src, dst);
 
 		return dst;
 	}
@@ -433,19 +401,30 @@ public class ConvertBufferedImage {
 	public static BufferedImage convertTo(ImageFloat32 src, BufferedImage dst) {
 		dst = checkInputs(src, dst);
 
-		try {
-			if (dst.getRaster() instanceof ByteInterleavedRaster) {
-				ConvertRaster.grayToBuffered(src, (ByteInterleavedRaster) dst.getRaster());
-			} else if (dst.getRaster() instanceof IntegerInterleavedRaster) {
-				ConvertRaster.grayToBuffered(src, (IntegerInterleavedRaster) dst.getRaster());
-			} else {
-				ConvertRaster.grayToBuffered(src, dst);
-			}
-			// hack so that it knows the buffer has been modified
-			dst.setRGB(0,0,dst.getRGB(0,0));
-		} catch( java.security.AccessControlException e) {
-			ConvertRaster.grayToBuffered(src, dst);
+		convertToConcurrent(src, dst);
+
+		return dst;
+	}
+
+	/**
+	 * Converts a {@link boofcv.struct.image.ImageInterleavedInt8} into a BufferedImage.  The bands are expected
+	 * to be in the same order as they are in the raster, see {@link ConvertRaster}.  If the raster can't be accessed
+	 * directly then the bands are interpreted as being in RGB or ARGB order.
+	 *
+	 * @param src Input image.
+	 * @param dst Where the converted image is written to.  If null a new image is created.
+	 * @return Converted image.
+	 */
+	public static BufferedImage convertTo(ImageInterleavedInt8 src, BufferedImage dst) {
+		if (dst == null) {
+			if( src.numBands == 1 )
+				dst = new BufferedImage(src.getWidth(), src.getHeight(), BufferedImage.TYPE_BYTE_GRAY);
+			else if( src.numBands == 4 )
+				dst = new BufferedImage(src.getWidth(), src.getHeight(), BufferedImage.TYPE_4BYTE_ABGR);
 		}
+		dst = checkInputs(src, dst);
+
+		convertToConcurrent(src, dst);
 
 		return dst;
 	}
@@ -461,19 +440,7 @@ public class ConvertBufferedImage {
 	public static BufferedImage convertTo_U8(MultiSpectral<ImageUInt8> src, BufferedImage dst) {
 		dst = checkInputs(src, dst);
 
-		try {
-			if (dst.getRaster() instanceof ByteInterleavedRaster) {
-				ConvertRaster.multToBuffered_U8(src, (ByteInterleavedRaster) dst.getRaster());
-			} else if (dst.getRaster() instanceof IntegerInterleavedRaster) {
-				ConvertRaster.multToBuffered_U8(src, (IntegerInterleavedRaster) dst.getRaster());
-			} else {
-				ConvertRaster.multToBuffered_U8(src, dst);
-			}
-			// hack so that it knows the buffer has been modified
-			dst.setRGB(0,0,dst.getRGB(0,0));
-		} catch( java.security.AccessControlException e) {
-			ConvertRaster.multToBuffered_U8(src, dst);
-		}
+		convertToConcurrent(src, dst);
 
 		return dst;
 	}
@@ -489,22 +456,11 @@ public class ConvertBufferedImage {
 	public static BufferedImage convertTo_F32(MultiSpectral<ImageFloat32> src, BufferedImage dst) {
 		dst = checkInputs(src, dst);
 
-		try {
-			if (dst.getRaster() instanceof ByteInterleavedRaster) {
-				ConvertRaster.multToBuffered_F32(src, (ByteInterleavedRaster) dst.getRaster());
-			} else if (dst.getRaster() instanceof IntegerInterleavedRaster) {
-				ConvertRaster.multToBuffered_F32(src, (IntegerInterleavedRaster) dst.getRaster());
-			} else {
-				ConvertRaster.multToBuffered_F32(src, dst);
-			}
-			// hack so that it knows the buffer has been modified
-			dst.setRGB(0,0,dst.getRGB(0,0));
-		} catch( java.security.AccessControlException e) {
-			ConvertRaster.multToBuffered_F32(src, dst);
-		}
+		convertToConcurrent(src, dst);
 
 		return dst;
 	}
+
 	/**
 	 * If null the dst is declared, otherwise it checks to see if the 'dst' as the same shape as 'src'.
 	 */
@@ -519,6 +475,194 @@ public class ConvertBufferedImage {
 		return dst;
 	}
 
+	/**
+	 * Splits the image into blocks of rows which are converted in parallel.  Each block is converted using
+	 * a BufferedImage sub-image, which shares the same raster data as the original.
+	 */
+	private static void convertFromConcurrent( final BufferedImage src , final ImageBase dst ) {
+		final int width = src.getWidth();
+		final int height = src.getHeight();
+
+		BoofConcurrency.loopBlocks(0,height,MIN_BLOCK,new BlockTask() {
+			@Override
+			public void process(int start, int end) {
+				if( start == 0 && end == height )
+					convertFromBlock(src, dst);
+				else
+					convertFromBlock(src.getSubimage(0, start, width, end - start), dst.subimage(0, start, width, end));
+			}
+		});
+	}
+
+	/**
+	 * Splits the image into blocks of rows which are converted in parallel.  Each block is converted using
+	 * a BufferedImage sub-image, which shares the same raster data as the original.
+	 */
+	private static void convertToConcurrent( final ImageBase src , final BufferedImage dst ) {
+		final int width = src.getWidth();
+		final int height = src.getHeight();
+
+		BoofConcurrency.loopBlocks(0,height,MIN_BLOCK,new BlockTask() {
+			@Override
+			public void process(int start, int end) {
+				if( start == 0 && end == height )
+					convertToBlock(src, dst);
+				else
+					convertToBlock(src.subimage(0, start, width, end), dst.getSubimage(0, start, width, end - start));
+			}
+		});
+
+		markModified(dst);
+	}
+
+	/**
+	 * Selects the conversion from BufferedImage based on the raster type and the output image type.
+	 */
+	private static void convertFromBlock( BufferedImage src , ImageBase dst ) {
+		try {
+			if( isDirectAccess(src) ) {
+				WritableRaster raster = src.getRaster();
+				if( raster instanceof ByteInterleavedRaster ) {
+					ByteInterleavedRaster r = (ByteInterleavedRaster)raster;
+					if( dst instanceof ImageUInt8 )
+						ConvertRaster.bufferedToGray(r, (ImageUInt8) dst);
+					else if( dst instanceof ImageFloat32 )
+						ConvertRaster.bufferedToGray(r, (ImageFloat32) dst);
+					else if( dst instanceof ImageInterleavedInt8 )
+						ConvertRaster.bufferedToInterleaved(r, (ImageInterleavedInt8) dst);
+					else if( ((MultiSpectral)dst).getType() == ImageUInt8.class )
+						ConvertRaster.bufferedToMulti_U8(r, (MultiSpectral<ImageUInt8>) dst);
+					else
+						ConvertRaster.bufferedToMulti_F32(r, (MultiSpectral<ImageFloat32>) dst);
+				} else if( raster instanceof IntegerInterleavedRaster ) {
+					IntegerInterleavedRaster r = (IntegerInterleavedRaster)raster;
+					if( dst instanceof ImageUInt8 )
+						ConvertRaster.bufferedToGray(r, (ImageUInt8) dst);
+					else if( dst instanceof ImageFloat32 )
+						ConvertRaster.bufferedToGray(r, (ImageFloat32) dst);
+					else if( dst instanceof ImageInterleavedInt8 )
+						ConvertRaster.bufferedToInterleaved(r, (ImageInterleavedInt8) dst);
+					else if( ((MultiSpectral)dst).getType() == ImageUInt8.class )
+						ConvertRaster.bufferedToMulti_U8(r, (MultiSpectral<ImageUInt8>) dst);
+					else
+						ConvertRaster.bufferedToMulti_F32(r, (MultiSpectral<ImageFloat32>) dst);
+				} else {
+					ShortInterleavedRaster r = (ShortInterleavedRaster)raster;
+					if( dst instanceof ImageUInt8 )
+						ConvertRaster.bufferedToGray(r, (ImageUInt8) dst);
+					else if( dst instanceof ImageFloat32 )
+						ConvertRaster.bufferedToGray(r, (ImageFloat32) dst);
+					else if( dst instanceof ImageInterleavedInt8 )
+						ConvertRaster.bufferedToInterleaved(r, (ImageInterleavedInt8) dst);
+					else if( ((MultiSpectral)dst).getType() == ImageUInt8.class )
+						ConvertRaster.bufferedToMulti_U8(r, (MultiSpectral<ImageUInt8>) dst);
+					else
+						ConvertRaster.bufferedToMulti_F32(r, (MultiSpectral<ImageFloat32>) dst);
+				}
+				return;
+			}
+		} catch( java.security.AccessControlException e) {
+			// Applets don't allow access to the raster()
+		}
+
+		if( dst instanceof ImageUInt8 )
+			ConvertRaster.bufferedToGray(src, (ImageUInt8) dst);
+		else if( dst instanceof ImageFloat32 )
+			ConvertRaster.bufferedToGray(src, (ImageFloat32) dst);
+		else if( dst instanceof ImageInterleavedInt8 )
+			ConvertRaster.bufferedToInterleaved(src, (ImageInterleavedInt8) dst);
+		else if( ((MultiSpectral)dst).getType() == ImageUInt8.class )
+			ConvertRaster.bufferedToMulti_U8(src, (MultiSpectral<ImageUInt8>) dst);
+		else
+			ConvertRaster.bufferedToMulti_F32(src, (MultiSpectral<ImageFloat32>) dst);
+	}
+
+	/**
+	 * Selects the conversion into BufferedImage based on the input image type and the raster type.
+	 */
+	private static void convertToBlock( ImageBase src , BufferedImage dst ) {
+		try {
+			if( isDirectAccess(dst) && !(dst.getRaster() instanceof ShortInterleavedRaster) ) {
+				WritableRaster raster = dst.getRaster();
+				if( raster instanceof ByteInterleavedRaster ) {
+					ByteInterleavedRaster r = (ByteInterleavedRaster)raster;
+					if( src instanceof ImageUInt8 )
+						ConvertRaster.grayToBuffered((ImageUInt8) src, r);
+					else if( src instanceof ImageSInt16 )
+						ConvertRaster.grayToBuffered((ImageSInt16) src, r);
+					else if( src instanceof ImageFloat32 )
+						ConvertRaster.grayToBuffered((ImageFloat32) src, r);
+					else if( src instanceof ImageInterleavedInt8 )
+						ConvertRaster.interleavedToBuffered((ImageInterleavedInt8) src, r);
+					else if( ((MultiSpectral)src).getType() == ImageUInt8.class )
+						ConvertRaster.multToBuffered_U8((MultiSpectral<ImageUInt8>) src, r);
+					else
+						ConvertRaster.multToBuffered_F32((MultiSpectral<ImageFloat32>) src, r);
+				} else {
+					IntegerInterleavedRaster r = (IntegerInterleavedRaster)raster;
+					if( src instanceof ImageUInt8 )
+						ConvertRaster.grayToBuffered((ImageUInt8) src, r);
+					else if( src instanceof ImageSInt16 )
+						ConvertRaster.grayToBuffered((ImageSInt16) src, r);
+					else if( src instanceof ImageFloat32 )
+						ConvertRaster.grayToBuffered((ImageFloat32) src, r);
+					else if( src instanceof ImageInterleavedInt8 )
+						ConvertRaster.interleavedToBuffered((ImageInterleavedInt8) src, r);
+					else if( ((MultiSpectral)src).getType() == ImageUInt8.class )
+						ConvertRaster.multToBuffered_U8((MultiSpectral<ImageUInt8>) src, r);
+					else
+						ConvertRaster.multToBuffered_F32((MultiSpectral<ImageFloat32>) src, r);
+				}
+				return;
+			}
+		} catch( java.security.AccessControlException e) {
+			// Applets don't allow access to the raster()
+		}
+
+		if( src instanceof ImageUInt8 )
+			ConvertRaster.grayToBuffered((ImageUInt8) src, dst);
+		else if( src instanceof ImageSInt16 )
+			ConvertRaster.grayToBuffered((ImageSInt16) src, dst);
+		else if( src instanceof ImageFloat32 )
+			ConvertRaster.grayToBuffered((ImageFloat32) src, dst);
+		else if( src instanceof ImageInterleavedInt8 )
+			ConvertRaster.interleavedToBuffered((ImageInterleavedInt8) src, dst);
+		else if( ((MultiSpectral)src).getType() == ImageUInt8.class )
+			ConvertRaster.multToBuffered_U8((MultiSpectral<ImageUInt8>) src, dst);
+		else
+			ConvertRaster.multToBuffered_F32((MultiSpectral<ImageFloat32>) src, dst);
+	}
+
+	/**
+	 * Checks to see if the pixels can be read directly from the image's raster by {@link ConvertRaster}.  Indexed
+	 * color images, images with premultiplied alpha, and packed 16-bit images need to go through the RGB interface.
+	 */
+	private static boolean isDirectAccess( BufferedImage img ) {
+		ColorModel colorModel = img.getColorModel();
+		if( colorModel instanceof IndexColorModel || colorModel.isAlphaPremultiplied() )
+			return false;
+
+		WritableRaster raster = img.getRaster();
+		if( raster instanceof ByteInterleavedRaster ) {
+			return ((ByteInterleavedRaster)raster).getPixelStride() == raster.getNumBands();
+		} else if( raster instanceof IntegerInterleavedRaster ) {
+			return true;
+		} else if( raster instanceof ShortInterleavedRaster ) {
+			return raster.getNumBands() == 1;
+		}
+		return false;
+	}
+
+	/**
+	 * Lets the image know that its raster has been modified so that any cached copies are updated.
+	 */
+	private static void markModified( BufferedImage img ) {
+		if( img.getWidth() == 0 || img.getHeight() == 0 )
+			return;
+		WritableRaster raster = img.getRaster();
+		raster.setDataElements(0, 0, raster.getDataElements(0, 0, null));
+	}
+
 	/**
 	 * Draws the component into a BufferedImage.
 	 *
@@ -559,6 +703,9 @@ public class ConvertBufferedImage {
 			if( bufferedImageType == BufferedImage.TYPE_3BYTE_BGR ||
 					bufferedImageType == BufferedImage.TYPE_INT_BGR ) {
 				swap = true;
+			} else if( bufferedImageType == BufferedImage.TYPE_4BYTE_ABGR && image.getNumBands() == 3 ) {
+				// the alpha band was skipped leaving the bands in BGR order
+				swap = true;
 			}
 		} catch( java.security.AccessControlException e) {
 			// its in an applet or something and will need to use getRGB() to read/write from the image
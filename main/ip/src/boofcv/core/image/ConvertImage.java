@@ -874,4 +874,151 @@ import boofcv.struct.image.*;
 
 		return output;
 	}
+
+	/**
+	 * <p>
+	 * Converts an {@link boofcv.struct.image.ImageInterleavedInt8} into a {@link boofcv.struct.image.MultiSpectral}
+	 * with a separate {@link boofcv.struct.image.ImageUInt8} for each band.
+	 * </p>
+	 *
+	 * @param input Input image which is being converted. Not modified.
+	 * @param output The output image.  If null a new image is created. Modified.
+	 */
+	public static MultiSpectral<ImageUInt8> interleavedToMulti_U8(ImageInterleavedInt8 input, MultiSpectral<ImageUInt8> output) {
+		if (output == null) {
+			output = new MultiSpectral<ImageUInt8>(ImageUInt8.class, input.width, input.height, input.numBands);
+		} else {
+			checkSameBands(input.numBands, output.getNumBands());
+			InputSanityCheck.checkSameShape(input, output);
+		}
+
+		final int numBands = input.numBands;
+		for (int i = 0; i < numBands; i++) {
+			ImageUInt8 band = output.getBand(i);
+
+			for (int y = 0; y < input.height; y++) {
+				int indexFrom = input.startIndex + y*input.stride + i;
+				int indexTo = band.startIndex + y*band.stride;
+				int end = indexTo + input.width;
+
+				for (; indexTo < end; indexTo++, indexFrom += numBands) {
+					band.data[indexTo] = input.data[indexFrom];
+				}
+			}
+		}
+
+		return output;
+	}
+
+	/**
+	 * <p>
+	 * Converts an {@link boofcv.struct.image.ImageInterleavedInt8} into a {@link boofcv.struct.image.MultiSpectral}
+	 * with a separate {@link boofcv.struct.image.ImageFloat32} for each band.
+	 * </p>
+	 *
+	 * @param input Input image which is being converted. Not modified.
+	 * @param output The output image.  If null a new image is created. Modified.
+	 */
+	public static MultiSpectral<ImageFloat32> interleavedToMulti_F32(ImageInterleavedInt8 input, MultiSpectral<ImageFloat32> output) {
+		if (output == null) {
+			output = new MultiSpectral<ImageFloat32>(ImageFloat32.class, input.width, input.height, input.numBands);
+		} else {
+			checkSameBands(input.numBands, output.getNumBands());
+			InputSanityCheck.checkSameShape(input, output);
+		}
+
+		final int numBands = input.numBands;
+		for (int i = 0; i < numBands; i++) {
+			ImageFloat32 band = output.getBand(i);
+
+			for (int y = 0; y < input.height; y++) {
+				int indexFrom = input.startIndex + y*input.stride + i;
+				int indexTo = band.startIndex + y*band.stride;
+				int end = indexTo + input.width;
+
+				for (; indexTo < end; indexTo++, indexFrom += numBands) {
+					band.data[indexTo] = input.data[indexFrom] & 0xFF;
+				}
+			}
+		}
+
+		return output;
+	}
+
+	/**
+	 * <p>
+	 * Converts a {@link boofcv.struct.image.MultiSpectral} composed of {@link boofcv.struct.image.ImageUInt8}
+	 * into an {@link boofcv.struct.image.ImageInterleavedInt8}.
+	 * </p>
+	 *
+	 * @param input Input image which is being converted. Not modified.
+	 * @param output The output image.  If null a new image is created. Modified.
+	 */
+	public static ImageInterleavedInt8 multiToInterleaved_U8(MultiSpectral<ImageUInt8> input, ImageInterleavedInt8 output) {
+		if (output == null) {
+			output = new ImageInterleavedInt8(input.width, input.height, input.getNumBands());
+		} else {
+			checkSameBands(input.getNumBands(), output.numBands);
+			InputSanityCheck.checkSameShape(input, output);
+		}
+
+		final int numBands = output.numBands;
+		for (int i = 0; i < numBands; i++) {
+			ImageUInt8 band = input.getBand(i);
+
+			for (int y = 0; y < input.height; y++) {
+				int indexFrom = band.startIndex + y*band.stride;
+				int indexTo = output.startIndex + y*output.stride + i;
+				int end = indexFrom + input.width;
+
+				for (; indexFrom < end; indexFrom++, indexTo += numBands) {
+					output.data[indexTo] = band.data[indexFrom];
+				}
+			}
+		}
+
+		return output;
+	}
+
+	/**
+	 * <p>
+	 * Converts a {@link boofcv.struct.image.MultiSpectral} composed of {@link boofcv.struct.image.ImageFloat32}
+	 * into an {@link boofcv.struct.image.ImageInterleavedInt8}.  Values are truncated the same way as when
+	 * converting from {@link boofcv.struct.image.ImageFloat32} into {@link boofcv.struct.image.ImageUInt8}.
+	 * </p>
+	 *
+	 * @param input Input image which is being converted. Not modified.
+	 * @param output The output image.  If null a new image is created. Modified.
+	 */
+	public static ImageInterleavedInt8 multiToInterleaved_F32(MultiSpectral<ImageFloat32> input, ImageInterleavedInt8 output) {
+		if (output == null) {
+			output = new ImageInterleavedInt8(input.width, input.height, input.getNumBands());
+		} else {
+			checkSameBands(input.getNumBands(), output.numBands);
+			InputSanityCheck.checkSameShape(input, output);
+		}
+
+		final int numBands = output.numBands;
+		for (int i = 0; i < numBands; i++) {
+			ImageFloat32 band = input.getBand(i);
+
+			for (int y = 0; y < input.height; y++) {
+				int indexFrom = band.startIndex + y*band.stride;
+				int indexTo = output.startIndex + y*output.stride + i;
+				int end = indexFrom + input.width;
+
+				for (; indexFrom < end; indexFrom++, indexTo += numBands) {
+					output.data[indexTo] = (byte)band.data[indexFrom];
+				}
+			}
+		}
+
+		return output;
+	}
+
+	private static void checkSameBands(int numBandsA, int numBandsB) {
+		if (numBandsA != numBandsB)
+			throw new IllegalArgumentException("Number of bands do not match. " + numBandsA + " " + numBandsB);
+	}
+
 }
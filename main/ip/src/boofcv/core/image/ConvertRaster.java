@@ -18,19 +18,27 @@
 
 package boofcv.core.image;
 
-import boofcv.struct.image.ImageFloat32;
-import boofcv.struct.image.ImageSInt16;
-import boofcv.struct.image.ImageUInt8;
-import boofcv.struct.image.MultiSpectral;
+import boofcv.struct.image.*;
 import sun.awt.image.ByteInterleavedRaster;
 import sun.awt.image.IntegerInterleavedRaster;
+import sun.awt.image.ShortInterleavedRaster;
 
 import java.awt.image.BufferedImage;
 import java.awt.image.WritableRaster;
 
 /**
+ * <p>
  * Routines for converting to and from {@link BufferedImage} that use its internal
  * raster for better performance.
+ * </p>
+ *
+ * <p>
+ * The raster's data offset and scan line stride are used when traversing its internal array, which allows
+ * BufferedImages created using {@link BufferedImage#getSubimage} to be converted.  Bands are read from and written
+ * to byte rasters in the order they are stored in memory.  For integer rasters the order is from the most
+ * significant to the least significant byte, e.g. ARGB or RGB, with the alpha band only being included if the
+ * image has four bands.
+ * </p>
  *
  * @author Peter Abeles
  */
@@ -45,12 +53,12 @@ public class ConvertRaster {
 		byte[] data = dst.data;
 
 		int numBands = src.getNumBands();
-
-		int size = dst.getWidth() * dst.getHeight();
+		int srcOffset = getOffset(src);
+		int srcStride = src.getScanlineStride();
 
 		if (numBands == 3) {
-			int indexSrc = 0;
 			for (int y = 0; y < dst.height; y++) {
+				int indexSrc = srcOffset + srcStride * y;
 				int indexDst = dst.startIndex + dst.stride * y;
 				int indexDstEnd = indexDst + dst.width;
 				for (; indexDst < indexDstEnd; indexDst++) {
@@ -64,19 +72,19 @@ public class ConvertRaster {
 				}
 			}
 		} else if (numBands == 1) {
-			if (dst.startIndex == 0 && dst.width == dst.stride)
-				System.arraycopy(srcData, 0, data, 0, size);
+			if (dst.startIndex == 0 && dst.width == dst.stride && srcStride == dst.width)
+				System.arraycopy(srcData, srcOffset, data, 0, dst.width * dst.height);
 			else {
 				for (int y = 0; y < dst.height; y++) {
 					int indexDst = dst.startIndex + dst.stride * y;
-					int indexSrc = dst.width * y;
+					int indexSrc = srcOffset + srcStride * y;
 
 					System.arraycopy(srcData, indexSrc, dst.data, indexDst, dst.width);
 				}
 			}
 		} else if (numBands == 4) {
-			int indexSrc = 0;
 			for (int y = 0; y < dst.height; y++) {
+				int indexSrc = srcOffset + srcStride * y;
 				int indexDst = dst.startIndex + dst.stride * y;
 				int indexDstEnd = indexDst + dst.width;
 				for (; indexDst < indexDstEnd; indexDst++) {
@@ -104,10 +112,12 @@ public class ConvertRaster {
 		float[] data = dst.data;
 
 		int numBands = src.getNumBands();
+		int srcOffset = getOffset(src);
+		int srcStride = src.getScanlineStride();
 
 		if (numBands == 3) {
-			int indexSrc = 0;
 			for (int y = 0; y < dst.height; y++) {
+				int indexSrc = srcOffset + srcStride * y;
 				int indexDst = dst.startIndex + dst.stride * y;
 				int indexDstEnd = indexDst + dst.width;
 				for (; indexDst < indexDstEnd; indexDst++) {
@@ -122,17 +132,17 @@ public class ConvertRaster {
 			}
 		} else if (numBands == 1) {
 			for (int y = 0; y < dst.height; y++) {
+				int indexSrc = srcOffset + srcStride * y;
 				int indexDst = dst.startIndex + dst.stride * y;
 				int indexDstEnd = indexDst + dst.width;
-				int indexSrc = dst.width * y;
 
 				for (; indexDst < indexDstEnd; indexDst++) {
 					data[indexDst] = srcData[indexSrc++] & 0xFF;
 				}
 			}
 		} else if (numBands == 4) {
-			int indexSrc = 0;
 			for (int y = 0; y < dst.height; y++) {
+				int indexSrc = srcOffset + srcStride * y;
 				int indexDst = dst.startIndex + dst.stride * y;
 				int indexDstEnd = indexDst + dst.width;
 				for (; indexDst < indexDstEnd; indexDst++) {
@@ -152,43 +162,59 @@ public class ConvertRaster {
 	}
 
 	/**
-	 * A faster convert that works directly with a specific raster
+	 * A faster convert that works directly with a specific raster.  If the raster has a single band then
+	 * it is copied into every band in the output image.  If the raster has four bands and the output image
+	 * three then the first band, which is assumed to be alpha, is skipped.
 	 */
 	public static void bufferedToMulti_U8(ByteInterleavedRaster src, MultiSpectral<ImageUInt8> dst) {
 		byte[] srcData = src.getDataStorage();
 
 		int numBands = src.getNumBands();
+		int srcOffset = getOffset(src);
+		int srcStride = src.getScanlineStride();
 
-		if (numBands == 3) {
+		if (numBands == 1) {
+			for (int i = 0; i < dst.getNumBands(); i++) {
+				bufferedToGray(src, dst.getBand(i));
+			}
+			return;
+		}
+
+		if (numBands == 4 && dst.getNumBands() == 3) {
+			// skip over the alpha band
 			byte[] band1 = dst.getBand(0).data;
 			byte[] band2 = dst.getBand(1).data;
 			byte[] band3 = dst.getBand(2).data;
 
-			int indexSrc = 0;
 			for (int y = 0; y < dst.height; y++) {
+				int indexSrc = srcOffset + srcStride * y;
 				int indexDst = dst.startIndex + dst.stride * y;
 				int indexDstEnd = indexDst + dst.width;
 				for (; indexDst < indexDstEnd; indexDst++) {
+					indexSrc++;
 					band1[indexDst] = srcData[indexSrc++];
 					band2[indexDst] = srcData[indexSrc++];
 					band3[indexDst] = srcData[indexSrc++];
 				}
 			}
-		} else if (numBands == 1) {
-			byte[][] bands = new byte[numBands][];
+			return;
+		}
 
-			for (int i = 0; i < numBands; i++) {
-				bands[i] = dst.getBand(i).data;
-			}
+		checkBands(numBands, dst.getNumBands());
+
+		if (numBands == 3) {
+			byte[] band1 = dst.getBand(0).data;
+			byte[] band2 = dst.getBand(1).data;
+			byte[] band3 = dst.getBand(2).data;
 
-			int indexSrc = 0;
 			for (int y = 0; y < dst.height; y++) {
+				int indexSrc = srcOffset + srcStride * y;
 				int indexDst = dst.startIndex + dst.stride * y;
 				int indexDstEnd = indexDst + dst.width;
 				for (; indexDst < indexDstEnd; indexDst++) {
-					for (int b = 0; b < numBands; b++) {
-						bands[b][indexDst] = srcData[indexSrc++];
-					}
+					band1[indexDst] = srcData[indexSrc++];
+					band2[indexDst] = srcData[indexSrc++];
+					band3[indexDst] = srcData[indexSrc++];
 				}
 			}
 		} else if (numBands == 4) {
@@ -197,8 +223,8 @@ public class ConvertRaster {
 			byte[] band3 = dst.getBand(2).data;
 			byte[] band4 = dst.getBand(3).data;
 
-			int indexSrc = 0;
 			for (int y = 0; y < dst.height; y++) {
+				int indexSrc = srcOffset + srcStride * y;
 				int indexDst = dst.startIndex + dst.stride * y;
 				int indexDstEnd = indexDst + dst.width;
 				for (; indexDst < indexDstEnd; indexDst++) {
@@ -214,43 +240,59 @@ public class ConvertRaster {
 	}
 
 	/**
-	 * A faster convert that works directly with a specific raster
+	 * A faster convert that works directly with a specific raster.  If the raster has a single band then
+	 * it is copied into every band in the output image.  If the raster has four bands and the output image
+	 * three then the first band, which is assumed to be alpha, is skipped.
 	 */
 	public static void bufferedToMulti_F32(ByteInterleavedRaster src, MultiSpectral<ImageFloat32> dst) {
 		byte[] srcData = src.getDataStorage();
 
 		int numBands = src.getNumBands();
+		int srcOffset = getOffset(src);
+		int srcStride = src.getScanlineStride();
 
-		if (numBands == 3) {
+		if (numBands == 1) {
+			for (int i = 0; i < dst.getNumBands(); i++) {
+				bufferedToGray(src, dst.getBand(i));
+			}
+			return;
+		}
+
+		if (numBands == 4 && dst.getNumBands() == 3) {
+			// skip over the alpha band
 			float[] band1 = dst.getBand(0).data;
 			float[] band2 = dst.getBand(1).data;
 			float[] band3 = dst.getBand(2).data;
 
-			int indexSrc = 0;
 			for (int y = 0; y < dst.height; y++) {
+				int indexSrc = srcOffset + srcStride * y;
 				int indexDst = dst.startIndex + dst.stride * y;
 				int indexDstEnd = indexDst + dst.width;
 				for (; indexDst < indexDstEnd; indexDst++) {
+					indexSrc++;
 					band1[indexDst] = srcData[indexSrc++] & 0xFF;
 					band2[indexDst] = srcData[indexSrc++] & 0xFF;
 					band3[indexDst] = srcData[indexSrc++] & 0xFF;
 				}
 			}
-		} else if (numBands == 1) {
-			float[][] bands = new float[numBands][];
+			return;
+		}
 
-			for (int i = 0; i < numBands; i++) {
-				bands[i] = dst.getBand(i).data;
-			}
+		checkBands(numBands, dst.getNumBands());
+
+		if (numBands == 3) {
+			float[] band1 = dst.getBand(0).data;
+			float[] band2 = dst.getBand(1).data;
+			float[] band3 = dst.getBand(2).data;
 
-			int indexSrc = 0;
 			for (int y = 0; y < dst.height; y++) {
+				int indexSrc = srcOffset + srcStride * y;
 				int indexDst = dst.startIndex + dst.stride * y;
 				int indexDstEnd = indexDst + dst.width;
 				for (; indexDst < indexDstEnd; indexDst++) {
-					for (int b = 0; b < numBands; b++) {
-						bands[b][indexDst] = srcData[indexSrc++] & 0xFF;
-					}
+					band1[indexDst] = srcData[indexSrc++] & 0xFF;
+					band2[indexDst] = srcData[indexSrc++] & 0xFF;
+					band3[indexDst] = srcData[indexSrc++] & 0xFF;
 				}
 			}
 		} else if (numBands == 4) {
@@ -259,8 +301,8 @@ public class ConvertRaster {
 			float[] band3 = dst.getBand(2).data;
 			float[] band4 = dst.getBand(3).data;
 
-			int indexSrc = 0;
 			for (int y = 0; y < dst.height; y++) {
+				int indexSrc = srcOffset + srcStride * y;
 				int indexDst = dst.startIndex + dst.stride * y;
 				int indexDstEnd = indexDst + dst.width;
 				for (; indexDst < indexDstEnd; indexDst++) {
@@ -275,6 +317,28 @@ public class ConvertRaster {
 		}
 	}
 
+	/**
+	 * A faster convert that works directly with a specific raster.  The bands are copied in the same order
+	 * as they are stored in the raster.
+	 */
+	public static void bufferedToInterleaved(ByteInterleavedRaster src, ImageInterleavedInt8 dst) {
+		checkBands(src.getNumBands(), dst.numBands);
+
+		byte[] srcData = src.getDataStorage();
+
+		int srcOffset = getOffset(src);
+		int srcStride = src.getScanlineStride();
+		int length = dst.width * dst.numBands;
+
+		if (!dst.isSubimage() && srcStride == length) {
+			System.arraycopy(srcData, srcOffset, dst.data, 0, length * dst.height);
+		} else {
+			for (int y = 0; y < dst.height; y++) {
+				System.arraycopy(srcData, srcOffset + srcStride * y, dst.data, dst.startIndex + dst.stride * y, length);
+			}
+		}
+	}
+
 	/**
 	 * A faster convert that works directly with a specific raster
 	 */
@@ -283,8 +347,11 @@ public class ConvertRaster {
 
 		byte[] data = dst.data;
 
-		int indexSrc = 0;
+		int srcOffset = src.getDataOffset(0);
+		int srcStride = src.getScanlineStride();
+
 		for (int y = 0; y < dst.height; y++) {
+			int indexSrc = srcOffset + y * srcStride;
 			int indexDst = dst.startIndex + y * dst.stride;
 			for (int x = 0; x < dst.width; x++) {
 
@@ -309,8 +376,11 @@ public class ConvertRaster {
 
 		float[] data = dst.data;
 
-		int indexSrc = 0;
+		int srcOffset = src.getDataOffset(0);
+		int srcStride = src.getScanlineStride();
+
 		for (int y = 0; y < dst.height; y++) {
+			int indexSrc = srcOffset + y * srcStride;
 			int indexDst = dst.startIndex + y * dst.stride;
 			for (int x = 0; x < dst.width; x++) {
 
@@ -328,49 +398,242 @@ public class ConvertRaster {
 	}
 
 	/**
-	 * A faster convert that works directly with a specific raster
+	 * A faster convert that works directly with a specific raster.  If the output image has four bands
+	 * then the alpha channel is written to the first band.
 	 */
 	public static void bufferedToMulti_U8(IntegerInterleavedRaster src, MultiSpectral<ImageUInt8> dst) {
 		int[] srcData = src.getDataStorage();
 
-		byte[] data1 = dst.getBand(0).data;
-		byte[] data2 = dst.getBand(1).data;
-		byte[] data3 = dst.getBand(2).data;
+		int srcOffset = src.getDataOffset(0);
+		int srcStride = src.getScanlineStride();
 
-		int indexSrc = 0;
-		for (int y = 0; y < dst.height; y++) {
-			int indexDst = dst.startIndex + y * dst.stride;
-			for (int x = 0; x < dst.width; x++, indexDst++) {
+		if (dst.getNumBands() == 3) {
+			byte[] data1 = dst.getBand(0).data;
+			byte[] data2 = dst.getBand(1).data;
+			byte[] data3 = dst.getBand(2).data;
 
-				int rgb = srcData[indexSrc++];
+			for (int y = 0; y < dst.height; y++) {
+				int indexSrc = srcOffset + y * srcStride;
+				int indexDst = dst.startIndex + y * dst.stride;
+				for (int x = 0; x < dst.width; x++, indexDst++) {
+
+					int rgb = srcData[indexSrc++];
+
+					data1[indexDst] = (byte) (rgb >>> 16);
+					data2[indexDst] = (byte) (rgb >>> 8);
+					data3[indexDst] = (byte) rgb;
+				}
+			}
+		} else if (dst.getNumBands() == 4) {
+			byte[] data1 = dst.getBand(0).data;
+			byte[] data2 = dst.getBand(1).data;
+			byte[] data3 = dst.getBand(2).data;
+			byte[] data4 = dst.getBand(3).data;
+
+			for (int y = 0; y < dst.height; y++) {
+				int indexSrc = srcOffset + y * srcStride;
+				int indexDst = dst.startIndex + y * dst.stride;
+				for (int x = 0; x < dst.width; x++, indexDst++) {
 
-				data1[indexDst] = (byte) (rgb >>> 16);
-				data2[indexDst] = (byte) (rgb >>> 8);
-				data3[indexDst] = (byte) rgb;
+					int argb = srcData[indexSrc++];
+
+					data1[indexDst] = (byte) (argb >>> 24);
+					data2[indexDst] = (byte) (argb >>> 16);
+					data3[indexDst] = (byte) (argb >>> 8);
+					data4[indexDst] = (byte) argb;
+				}
 			}
+		} else {
+			throw new IllegalArgumentException("Output image must have 3 or 4 bands");
 		}
 	}
 
 	/**
-	 * A faster convert that works directly with a specific raster
+	 * A faster convert that works directly with a specific raster.  If the output image has four bands
+	 * then the alpha channel is written to the first band.
 	 */
 	public static void bufferedToMulti_F32(IntegerInterleavedRaster src, MultiSpectral<ImageFloat32> dst) {
 		int[] srcData = src.getDataStorage();
 
-		float[] data1 = dst.getBand(0).data;
-		float[] data2 = dst.getBand(1).data;
-		float[] data3 = dst.getBand(2).data;
+		int srcOffset = src.getDataOffset(0);
+		int srcStride = src.getScanlineStride();
+
+		if (dst.getNumBands() == 3) {
+			float[] data1 = dst.getBand(0).data;
+			float[] data2 = dst.getBand(1).data;
+			float[] data3 = dst.getBand(2).data;
+
+			for (int y = 0; y < dst.height; y++) {
+				int indexSrc = srcOffset + y * srcStride;
+				int indexDst = dst.startIndex + y * dst.stride;
+				for (int x = 0; x < dst.width; x++, indexDst++) {
+
+					int rgb = srcData[indexSrc++];
+
+					data1[indexDst] = (rgb >>> 16) & 0xFF;
+					data2[indexDst] = (rgb >>> 8) & 0xFF;
+					data3[indexDst] = rgb & 0xFF;
+				}
+			}
+		} else if (dst.getNumBands() == 4) {
+			float[] data1 = dst.getBand(0).data;
+			float[] data2 = dst.getBand(1).data;
+			float[] data3 = dst.getBand(2).data;
+			float[] data4 = dst.getBand(3).data;
+
+			for (int y = 0; y < dst.height; y++) {
+				int indexSrc = srcOffset + y * srcStride;
+				int indexDst = dst.startIndex + y * dst.stride;
+				for (int x = 0; x < dst.width; x++, indexDst++) {
+
+					int argb = srcData[indexSrc++];
+
+					data1[indexDst] = argb >>> 24;
+					data2[indexDst] = (argb >>> 16) & 0xFF;
+					data3[indexDst] = (argb >>> 8) & 0xFF;
+					data4[indexDst] = argb & 0xFF;
+				}
+			}
+		} else {
+			throw new IllegalArgumentException("Output image must have 3 or 4 bands");
+		}
+	}
+
+	/**
+	 * A faster convert that works directly with a specific raster.  If the output image has four bands
+	 * then the alpha channel is written to the first band.
+	 */
+	public static void bufferedToInterleaved(IntegerInterleavedRaster src, ImageInterleavedInt8 dst) {
+		int[] srcData = src.getDataStorage();
+
+		byte[] data = dst.data;
+
+		int srcOffset = src.getDataOffset(0);
+		int srcStride = src.getScanlineStride();
+
+		if (dst.numBands == 3) {
+			for (int y = 0; y < dst.height; y++) {
+				int indexSrc = srcOffset + y * srcStride;
+				int indexDst = dst.startIndex + y * dst.stride;
+				for (int x = 0; x < dst.width; x++) {
+
+					int rgb = srcData[indexSrc++];
+
+					data[indexDst++] = (byte) (rgb >>> 16);
+					data[indexDst++] = (byte) (rgb >>> 8);
+					data[indexDst++] = (byte) rgb;
+				}
+			}
+		} else if (dst.numBands == 4) {
+			for (int y = 0; y < dst.height; y++) {
+				int indexSrc = srcOffset + y * srcStride;
+				int indexDst = dst.startIndex + y * dst.stride;
+				for (int x = 0; x < dst.width; x++) {
+
+					int argb = srcData[indexSrc++];
+
+					data[indexDst++] = (byte) (argb >>> 24);
+					data[indexDst++] = (byte) (argb >>> 16);
+					data[indexDst++] = (byte) (argb >>> 8);
+					data[indexDst++] = (byte) argb;
+				}
+			}
+		} else {
+			throw new IllegalArgumentException("Output image must have 3 or 4 bands");
+		}
+	}
+
+	/**
+	 * A faster convert that works directly with a single band 16-bit raster, e.g. TYPE_USHORT_GRAY.  Only the
+	 * upper 8-bits of each pixel are used.
+	 */
+	public static void bufferedToGray(ShortInterleavedRaster src, ImageUInt8 dst) {
+		checkSingleBand(src);
+
+		short[] srcData = src.getDataStorage();
+
+		byte[] data = dst.data;
+
+		int srcOffset = src.getDataOffset(0);
+		int srcStride = src.getScanlineStride();
 
-		int indexSrc = 0;
 		for (int y = 0; y < dst.height; y++) {
+			int indexSrc = srcOffset + y * srcStride;
 			int indexDst = dst.startIndex + y * dst.stride;
-			for (int x = 0; x < dst.width; x++, indexDst++) {
+			int indexDstEnd = indexDst + dst.width;
+			for (; indexDst < indexDstEnd; indexDst++) {
+				data[indexDst] = (byte) ((srcData[indexSrc++] & 0xFFFF) >>> 8);
+			}
+		}
+	}
 
-				int rgb = srcData[indexSrc++];
+	/**
+	 * A faster convert that works directly with a single band 16-bit raster, e.g. TYPE_USHORT_GRAY.  Only the
+	 * upper 8-bits of each pixel are used.
+	 */
+	public static void bufferedToGray(ShortInterleavedRaster src, ImageFloat32 dst) {
+		checkSingleBand(src);
+
+		short[] srcData = src.getDataStorage();
+
+		float[] data = dst.data;
+
+		int srcOffset = src.getDataOffset(0);
+		int srcStride = src.getScanlineStride();
 
-				data1[indexDst] = (rgb >>> 16) & 0xFF;
-				data2[indexDst] = (rgb >>> 8) & 0xFF;
-				data3[indexDst] = rgb & 0xFF;
+		for (int y = 0; y < dst.height; y++) {
+			int indexSrc = srcOffset + y * srcStride;
+			int indexDst = dst.startIndex + y * dst.stride;
+			int indexDstEnd = indexDst + dst.width;
+			for (; indexDst < indexDstEnd; indexDst++) {
+				data[indexDst] = (srcData[indexSrc++] & 0xFFFF) >>> 8;
+			}
+		}
+	}
+
+	/**
+	 * A faster convert that works directly with a single band 16-bit raster.  The gray scale image is
+	 * copied into each band.
+	 */
+	public static void bufferedToMulti_U8(ShortInterleavedRaster src, MultiSpectral<ImageUInt8> dst) {
+		for (int i = 0; i < dst.getNumBands(); i++) {
+			bufferedToGray(src, dst.getBand(i));
+		}
+	}
+
+	/**
+	 * A faster convert that works directly with a single band 16-bit raster.  The gray scale image is
+	 * copied into each band.
+	 */
+	public static void bufferedToMulti_F32(ShortInterleavedRaster src, MultiSpectral<ImageFloat32> dst) {
+		for (int i = 0; i < dst.getNumBands(); i++) {
+			bufferedToGray(src, dst.getBand(i));
+		}
+	}
+
+	/**
+	 * A faster convert that works directly with a single band 16-bit raster.  The gray scale image is
+	 * copied into each band.
+	 */
+	public static void bufferedToInterleaved(ShortInterleavedRaster src, ImageInterleavedInt8 dst) {
+		checkSingleBand(src);
+
+		short[] srcData = src.getDataStorage();
+
+		byte[] data = dst.data;
+
+		int numBands = dst.numBands;
+		int srcOffset = src.getDataOffset(0);
+		int srcStride = src.getScanlineStride();
+
+		for (int y = 0; y < dst.height; y++) {
+			int indexSrc = srcOffset + y * srcStride;
+			int indexDst = dst.startIndex + y * dst.stride;
+			for (int x = 0; x < dst.width; x++) {
+				byte v = (byte) ((srcData[indexSrc++] & 0xFFFF) >>> 8);
+
+				for (int i = 0; i < numBands; i++)
+					data[indexDst++] = v;
 			}
 		}
 	}
@@ -554,18 +817,74 @@ public class ConvertRaster {
 		}
 	}
 
+	/**
+	 * <p>
+	 * Converts a buffered image into an interleaved image using the BufferedImage's RGB interface.  Bands
+	 * are written in RGB order, or ARGB if the output has four bands.  A single band output image is
+	 * set to the average of the RGB values.
+	 * </p>
+	 * <p>
+	 * This is much slower than working directly with the BufferedImage's internal raster and should be
+	 * avoided if possible.
+	 * </p>
+	 *
+	 * @param src Input image.
+	 * @param dst Output image.
+	 */
+	public static void bufferedToInterleaved(BufferedImage src, ImageInterleavedInt8 dst) {
+		final int width = src.getWidth();
+		final int height = src.getHeight();
+
+		final byte[] data = dst.data;
+
+		if (dst.numBands == 3) {
+			for (int y = 0; y < height; y++) {
+				int index = dst.startIndex + y * dst.stride;
+				for (int x = 0; x < width; x++) {
+					int argb = src.getRGB(x, y);
+
+					data[index++] = (byte) (argb >>> 16);
+					data[index++] = (byte) (argb >>> 8);
+					data[index++] = (byte) argb;
+				}
+			}
+		} else if (dst.numBands == 4) {
+			for (int y = 0; y < height; y++) {
+				int index = dst.startIndex + y * dst.stride;
+				for (int x = 0; x < width; x++) {
+					int argb = src.getRGB(x, y);
+
+					data[index++] = (byte) (argb >>> 24);
+					data[index++] = (byte) (argb >>> 16);
+					data[index++] = (byte) (argb >>> 8);
+					data[index++] = (byte) argb;
+				}
+			}
+		} else if (dst.numBands == 1) {
+			ImageUInt8 gray = new ImageUInt8();
+			gray.data = dst.data;
+			gray.startIndex = dst.startIndex;
+			gray.stride = dst.stride;
+			gray.width = dst.width;
+			gray.height = dst.height;
+			bufferedToGray(src, gray);
+		} else {
+			throw new IllegalArgumentException("Output image must have 1, 3, or 4 bands");
+		}
+	}
+
 	public static void grayToBuffered(ImageUInt8 src, ByteInterleavedRaster dst) {
 
 		final byte[] srcData = src.data;
 		final byte[] dstData = dst.getDataStorage();
 
 		final int numBands = dst.getNumBands();
-
-		final int size = src.getWidth() * src.getHeight();
+		final int dstOffset = getOffset(dst);
+		final int dstStride = dst.getScanlineStride();
 
 		if (numBands == 3) {
-			int indexDst = 0;
 			for (int y = 0; y < src.height; y++) {
+				int indexDst = dstOffset + dstStride * y;
 				int indexSrc = src.startIndex + src.stride * y;
 				int indexSrcEnd = indexSrc + src.width;
 
@@ -578,26 +897,26 @@ public class ConvertRaster {
 				}
 			}
 		} else if (numBands == 1) {
-			if (src.startIndex == 0 && src.width == src.stride) {
-				System.arraycopy(srcData, 0, dstData, 0, size);
+			if (src.startIndex == 0 && src.width == src.stride && dstStride == src.width) {
+				System.arraycopy(srcData, 0, dstData, dstOffset, src.width * src.height);
 			} else {
 				for (int y = 0; y < src.height; y++) {
 					int indexSrc = src.startIndex + src.stride * y;
-					int indexDst = src.width * y;
+					int indexDst = dstOffset + dstStride * y;
 
 					System.arraycopy(srcData, indexSrc, dstData, indexDst, src.width);
 				}
 			}
 		} else if (numBands == 4) {
-			int indexDst = 0;
 			for (int y = 0; y < src.height; y++) {
+				int indexDst = dstOffset + dstStride * y;
 				int indexSrc = src.startIndex + src.stride * y;
 				int indexSrcEnd = indexSrc + src.width;
 
 				for (; indexSrc < indexSrcEnd; indexSrc++) {
 					byte val = srcData[indexSrc];
 
-					indexDst++;
+					dstData[indexDst++] = (byte) 0xFF;
 					dstData[indexDst++] = val;
 					dstData[indexDst++] = val;
 					dstData[indexDst++] = val;
@@ -614,10 +933,12 @@ public class ConvertRaster {
 		final byte[] dstData = dst.getDataStorage();
 
 		final int numBands = dst.getNumBands();
+		final int dstOffset = getOffset(dst);
+		final int dstStride = dst.getScanlineStride();
 
 		if (numBands == 3) {
-			int indexDst = 0;
 			for (int y = 0; y < src.height; y++) {
+				int indexDst = dstOffset + dstStride * y;
 				int indexSrc = src.startIndex + src.stride * y;
 				int indexSrcEnd = indexSrc + src.width;
 
@@ -630,8 +951,8 @@ public class ConvertRaster {
 				}
 			}
 		} else if (numBands == 1) {
-			int indexDst = 0;
 			for (int y = 0; y < src.height; y++) {
+				int indexDst = dstOffset + dstStride * y;
 				int indexSrc = src.startIndex + src.stride * y;
 				int indexSrcEnd = indexSrc + src.width;
 
@@ -640,15 +961,15 @@ public class ConvertRaster {
 				}
 			}
 		} else if (numBands == 4) {
-			int indexDst = 0;
 			for (int y = 0; y < src.height; y++) {
+				int indexDst = dstOffset + dstStride * y;
 				int indexSrc = src.startIndex + src.stride * y;
 				int indexSrcEnd = indexSrc + src.width;
 
 				for (; indexSrc < indexSrcEnd; indexSrc++) {
 					byte val = (byte) srcData[indexSrc];
 
-					indexDst++;
+					dstData[indexDst++] = (byte) 0xFF;
 					dstData[indexDst++] = val;
 					dstData[indexDst++] = val;
 					dstData[indexDst++] = val;
@@ -665,10 +986,12 @@ public class ConvertRaster {
 		final byte[] dstData = dst.getDataStorage();
 
 		final int numBands = dst.getNumBands();
+		final int dstOffset = getOffset(dst);
+		final int dstStride = dst.getScanlineStride();
 
 		if (numBands == 3) {
-			int indexDst = 0;
 			for (int y = 0; y < src.height; y++) {
+				int indexDst = dstOffset + dstStride * y;
 				int indexSrc = src.startIndex + src.stride * y;
 				int indexSrcEnd = indexSrc + src.width;
 
@@ -681,8 +1004,8 @@ public class ConvertRaster {
 				}
 			}
 		} else if (numBands == 1) {
-			int indexDst = 0;
 			for (int y = 0; y < src.height; y++) {
+				int indexDst = dstOffset + dstStride * y;
 				int indexSrc = src.startIndex + src.stride * y;
 				int indexSrcEnd = indexSrc + src.width;
 
@@ -691,15 +1014,15 @@ public class ConvertRaster {
 				}
 			}
 		} else if (numBands == 4) {
-			int indexDst = 0;
 			for (int y = 0; y < src.height; y++) {
+				int indexDst = dstOffset + dstStride * y;
 				int indexSrc = src.startIndex + src.stride * y;
 				int indexSrcEnd = indexSrc + src.width;
 
 				for (; indexSrc < indexSrcEnd; indexSrc++) {
 					byte val = (byte) srcData[indexSrc];
 
-					indexDst++;
+					dstData[indexDst++] = (byte) 0xFF;
 					dstData[indexDst++] = val;
 					dstData[indexDst++] = val;
 					dstData[indexDst++] = val;
@@ -710,22 +1033,33 @@ public class ConvertRaster {
 		}
 	}
 
+	/**
+	 * Copies each band into the raster.  If the raster has a single band then the average of all the bands
+	 * is written to it.
+	 */
 	public static void multToBuffered_U8(MultiSpectral<ImageUInt8> src, ByteInterleavedRaster dst) {
 
+		if (dst.getNumBands() == 1 && src.getNumBands() != 1) {
+			multToGray_U8(src, dst);
+			return;
+		}
+
 		if (src.getNumBands() != dst.getNumBands())
 			throw new IllegalArgumentException("Unequal number of bands src = " + src.getNumBands() + " dst = " + dst.getNumBands());
 
 		final byte[] dstData = dst.getDataStorage();
 
 		final int numBands = dst.getNumBands();
+		final int dstOffset = getOffset(dst);
+		final int dstStride = dst.getScanlineStride();
 
 		if (numBands == 3) {
 			final byte[] band1 = src.getBand(0).data;
 			final byte[] band2 = src.getBand(1).data;
 			final byte[] band3 = src.getBand(2).data;
 
-			int indexDst = 0;
 			for (int y = 0; y < src.height; y++) {
+				int indexDst = dstOffset + dstStride * y;
 				int indexSrc = src.startIndex + src.stride * y;
 				int indexSrcEnd = indexSrc + src.width;
 
@@ -741,35 +1075,46 @@ public class ConvertRaster {
 				bands[i] = src.getBand(i).data;
 			}
 
-			int indexDst = 0;
 			for (int y = 0; y < src.height; y++) {
+				int indexDst = dstOffset + dstStride * y;
 				int indexSrc = src.startIndex + src.stride * y;
 				int indexSrcEnd = indexSrc + src.width;
 
 				for (; indexSrc < indexSrcEnd; indexSrc++) {
 					for (int i = 0; i < numBands; i++)
-						dstData[indexDst++] = (byte) bands[i][indexSrc];
+						dstData[indexDst++] = bands[i][indexSrc];
 				}
 			}
 		}
 	}
 
+	/**
+	 * Copies each band into the raster.  If the raster has a single band then the average of all the bands
+	 * is written to it.
+	 */
 	public static void multToBuffered_F32(MultiSpectral<ImageFloat32> src, ByteInterleavedRaster dst) {
 
+		if (dst.getNumBands() == 1 && src.getNumBands() != 1) {
+			multToGray_F32(src, dst);
+			return;
+		}
+
 		if (src.getNumBands() != dst.getNumBands())
 			throw new IllegalArgumentException("Unequal number of bands src = " + src.getNumBands() + " dst = " + dst.getNumBands());
 
 		final byte[] dstData = dst.getDataStorage();
 
 		final int numBands = dst.getNumBands();
+		final int dstOffset = getOffset(dst);
+		final int dstStride = dst.getScanlineStride();
 
 		if (numBands == 3) {
 			final float[] band1 = src.getBand(0).data;
 			final float[] band2 = src.getBand(1).data;
 			final float[] band3 = src.getBand(2).data;
 
-			int indexDst = 0;
 			for (int y = 0; y < src.height; y++) {
+				int indexDst = dstOffset + dstStride * y;
 				int indexSrc = src.startIndex + src.stride * y;
 				int indexSrcEnd = indexSrc + src.width;
 
@@ -785,8 +1130,8 @@ public class ConvertRaster {
 				bands[i] = src.getBand(i).data;
 			}
 
-			int indexDst = 0;
 			for (int y = 0; y < src.height; y++) {
+				int indexDst = dstOffset + dstStride * y;
 				int indexSrc = src.startIndex + src.stride * y;
 				int indexSrcEnd = indexSrc + src.width;
 
@@ -798,16 +1143,40 @@ public class ConvertRaster {
 		}
 	}
 
+	/**
+	 * Copies the interleaved image into the raster.  The bands are written in the same order as they are
+	 * stored in the raster.
+	 */
+	public static void interleavedToBuffered(ImageInterleavedInt8 src, ByteInterleavedRaster dst) {
+		checkBands(dst.getNumBands(), src.numBands);
+
+		final byte[] dstData = dst.getDataStorage();
+
+		final int dstOffset = getOffset(dst);
+		final int dstStride = dst.getScanlineStride();
+		final int length = src.width * src.numBands;
+
+		if (!src.isSubimage() && dstStride == length) {
+			System.arraycopy(src.data, 0, dstData, dstOffset, length * src.height);
+		} else {
+			for (int y = 0; y < src.height; y++) {
+				System.arraycopy(src.data, src.startIndex + src.stride * y, dstData, dstOffset + dstStride * y, length);
+			}
+		}
+	}
+
 	public static void grayToBuffered(ImageUInt8 src, IntegerInterleavedRaster dst) {
 
 		final byte[] srcData = src.data;
 		final int[] dstData = dst.getDataStorage();
 
 		final int numBands = dst.getNumBands();
+		final int dstOffset = dst.getDataOffset(0);
+		final int dstStride = dst.getScanlineStride();
 
 		if (numBands == 3) {
-			int indexDst = 0;
 			for (int y = 0; y < src.height; y++) {
+				int indexDst = dstOffset + y * dstStride;
 				int indexSrc = src.startIndex + y * src.stride;
 
 				for (int x = 0; x < src.width; x++) {
@@ -816,6 +1185,17 @@ public class ConvertRaster {
 					dstData[indexDst++] = v << 16 | v << 8 | v;
 				}
 			}
+		} else if (numBands == 4) {
+			for (int y = 0; y < src.height; y++) {
+				int indexDst = dstOffset + y * dstStride;
+				int indexSrc = src.startIndex + y * src.stride;
+
+				for (int x = 0; x < src.width; x++) {
+					int v = srcData[indexSrc++] & 0xFF;
+
+					dstData[indexDst++] = 0xFF << 24 | v << 16 | v << 8 | v;
+				}
+			}
 		} else {
 			throw new RuntimeException("Code more here");
 		}
@@ -826,10 +1206,12 @@ public class ConvertRaster {
 		final int[] dstData = dst.getDataStorage();
 
 		final int numBands = dst.getNumBands();
+		final int dstOffset = dst.getDataOffset(0);
+		final int dstStride = dst.getScanlineStride();
 
 		if (numBands == 3) {
-			int indexDst = 0;
 			for (int y = 0; y < src.height; y++) {
+				int indexDst = dstOffset + y * dstStride;
 				int indexSrc = src.startIndex + y * src.stride;
 
 				for (int x = 0; x < src.width; x++) {
@@ -838,6 +1220,17 @@ public class ConvertRaster {
 					dstData[indexDst++] = v << 16 | v << 8 | v;
 				}
 			}
+		} else if (numBands == 4) {
+			for (int y = 0; y < src.height; y++) {
+				int indexDst = dstOffset + y * dstStride;
+				int indexSrc = src.startIndex + y * src.stride;
+
+				for (int x = 0; x < src.width; x++) {
+					int v = (int) srcData[indexSrc++];
+
+					dstData[indexDst++] = 0xFF << 24 | v << 16 | v << 8 | v;
+				}
+			}
 		} else {
 			throw new RuntimeException("Code more here");
 		}
@@ -848,10 +1241,12 @@ public class ConvertRaster {
 		final int[] dstData = dst.getDataStorage();
 
 		final int numBands = dst.getNumBands();
+		final int dstOffset = dst.getDataOffset(0);
+		final int dstStride = dst.getScanlineStride();
 
 		if (numBands == 3) {
-			int indexDst = 0;
 			for (int y = 0; y < src.height; y++) {
+				int indexDst = dstOffset + y * dstStride;
 				int indexSrc = src.startIndex + y * src.stride;
 
 				for (int x = 0; x < src.width; x++) {
@@ -861,8 +1256,8 @@ public class ConvertRaster {
 				}
 			}
 		} else if (numBands == 4) {
-			int indexDst = 0;
 			for (int y = 0; y < src.height; y++) {
+				int indexDst = dstOffset + y * dstStride;
 				int indexSrc = src.startIndex + y * src.stride;
 
 				for (int x = 0; x < src.width; x++) {
@@ -884,14 +1279,16 @@ public class ConvertRaster {
 		final int[] dstData = dst.getDataStorage();
 
 		final int numBands = dst.getNumBands();
+		final int dstOffset = dst.getDataOffset(0);
+		final int dstStride = dst.getScanlineStride();
 
 		if (numBands == 3) {
 			final byte[] band1 = src.getBand(0).data;
 			final byte[] band2 = src.getBand(1).data;
 			final byte[] band3 = src.getBand(2).data;
 
-			int indexDst = 0;
 			for (int y = 0; y < src.height; y++) {
+				int indexDst = dstOffset + y * dstStride;
 				int indexSrc = src.startIndex + y * src.stride;
 
 				for (int x = 0; x < src.width; x++, indexSrc++) {
@@ -902,6 +1299,25 @@ public class ConvertRaster {
 					dstData[indexDst++] = c1 << 16 | c2 << 8 | c3;
 				}
 			}
+		} else if (numBands == 4) {
+			final byte[] band1 = src.getBand(0).data;
+			final byte[] band2 = src.getBand(1).data;
+			final byte[] band3 = src.getBand(2).data;
+			final byte[] band4 = src.getBand(3).data;
+
+			for (int y = 0; y < src.height; y++) {
+				int indexDst = dstOffset + y * dstStride;
+				int indexSrc = src.startIndex + y * src.stride;
+
+				for (int x = 0; x < src.width; x++, indexSrc++) {
+					int c1 = band1[indexSrc] & 0xFF;
+					int c2 = band2[indexSrc] & 0xFF;
+					int c3 = band3[indexSrc] & 0xFF;
+					int c4 = band4[indexSrc] & 0xFF;
+
+					dstData[indexDst++] = c1 << 24 | c2 << 16 | c3 << 8 | c4;
+				}
+			}
 		} else {
 			throw new RuntimeException("Code more here");
 		}
@@ -915,14 +1331,16 @@ public class ConvertRaster {
 		final int[] dstData = dst.getDataStorage();
 
 		final int numBands = dst.getNumBands();
+		final int dstOffset = dst.getDataOffset(0);
+		final int dstStride = dst.getScanlineStride();
 
 		if (numBands == 3) {
 			final float[] band1 = src.getBand(0).data;
 			final float[] band2 = src.getBand(1).data;
 			final float[] band3 = src.getBand(2).data;
 
-			int indexDst = 0;
 			for (int y = 0; y < src.height; y++) {
+				int indexDst = dstOffset + y * dstStride;
 				int indexSrc = src.startIndex + y * src.stride;
 
 				for (int x = 0; x < src.width; x++, indexSrc++) {
@@ -933,6 +1351,69 @@ public class ConvertRaster {
 					dstData[indexDst++] = c1 << 16 | c2 << 8 | c3;
 				}
 			}
+		} else if (numBands == 4) {
+			final float[] band1 = src.getBand(0).data;
+			final float[] band2 = src.getBand(1).data;
+			final float[] band3 = src.getBand(2).data;
+			final float[] band4 = src.getBand(3).data;
+
+			for (int y = 0; y < src.height; y++) {
+				int indexDst = dstOffset + y * dstStride;
+				int indexSrc = src.startIndex + y * src.stride;
+
+				for (int x = 0; x < src.width; x++, indexSrc++) {
+					int c1 = (int) band1[indexSrc];
+					int c2 = (int) band2[indexSrc];
+					int c3 = (int) band3[indexSrc];
+					int c4 = (int) band4[indexSrc];
+
+					dstData[indexDst++] = c1 << 24 | c2 << 16 | c3 << 8 | c4;
+				}
+			}
+		} else {
+			throw new RuntimeException("Code more here");
+		}
+	}
+
+	/**
+	 * Copies the interleaved image into the raster.  The first band is the most significant byte in each pixel.
+	 */
+	public static void interleavedToBuffered(ImageInterleavedInt8 src, IntegerInterleavedRaster dst) {
+		checkBands(dst.getNumBands(), src.numBands);
+
+		final byte[] srcData = src.data;
+		final int[] dstData = dst.getDataStorage();
+
+		final int dstOffset = dst.getDataOffset(0);
+		final int dstStride = dst.getScanlineStride();
+
+		if (src.numBands == 3) {
+			for (int y = 0; y < src.height; y++) {
+				int indexDst = dstOffset + y * dstStride;
+				int indexSrc = src.startIndex + y * src.stride;
+
+				for (int x = 0; x < src.width; x++) {
+					int c1 = srcData[indexSrc++] & 0xFF;
+					int c2 = srcData[indexSrc++] & 0xFF;
+					int c3 = srcData[indexSrc++] & 0xFF;
+
+					dstData[indexDst++] = c1 << 16 | c2 << 8 | c3;
+				}
+			}
+		} else if (src.numBands == 4) {
+			for (int y = 0; y < src.height; y++) {
+				int indexDst = dstOffset + y * dstStride;
+				int indexSrc = src.startIndex + y * src.stride;
+
+				for (int x = 0; x < src.width; x++) {
+					int c1 = srcData[indexSrc++] & 0xFF;
+					int c2 = srcData[indexSrc++] & 0xFF;
+					int c3 = srcData[indexSrc++] & 0xFF;
+					int c4 = srcData[indexSrc++] & 0xFF;
+
+					dstData[indexDst++] = c1 << 24 | c2 << 16 | c3 << 8 | c4;
+				}
+			}
 		} else {
 			throw new RuntimeException("Code more here");
 		}
@@ -1048,4 +1529,114 @@ public class ConvertRaster {
 			}
 		}
 	}
+
+	public static void interleavedToBuffered(ImageInterleavedInt8 src, BufferedImage dst) {
+
+		final int width = dst.getWidth();
+		final int height = dst.getHeight();
+
+		final byte[] data = src.data;
+
+		if (src.numBands == 3) {
+			for (int y = 0; y < height; y++) {
+				int indexSrc = src.startIndex + src.stride * y;
+
+				for (int x = 0; x < width; x++) {
+					int c1 = data[indexSrc++] & 0xFF;
+					int c2 = data[indexSrc++] & 0xFF;
+					int c3 = data[indexSrc++] & 0xFF;
+
+					dst.setRGB(x, y, c1 << 16 | c2 << 8 | c3);
+				}
+			}
+		} else if (src.numBands == 4) {
+			for (int y = 0; y < height; y++) {
+				int indexSrc = src.startIndex + src.stride * y;
+
+				for (int x = 0; x < width; x++) {
+					int c1 = data[indexSrc++] & 0xFF;
+					int c2 = data[indexSrc++] & 0xFF;
+					int c3 = data[indexSrc++] & 0xFF;
+					int c4 = data[indexSrc++] & 0xFF;
+
+					dst.setRGB(x, y, c1 << 24 | c2 << 16 | c3 << 8 | c4);
+				}
+			}
+		} else if (src.numBands == 1) {
+			for (int y = 0; y < height; y++) {
+				int indexSrc = src.startIndex + src.stride * y;
+
+				for (int x = 0; x < width; x++) {
+					int v = data[indexSrc++] & 0xFF;
+
+					dst.setRGB(x, y, v << 16 | v << 8 | v);
+				}
+			}
+		} else {
+			throw new IllegalArgumentException("Input image must have 1, 3, or 4 bands");
+		}
+	}
+
+	private static void multToGray_U8(MultiSpectral<ImageUInt8> src, ByteInterleavedRaster dst) {
+		final byte[] dstData = dst.getDataStorage();
+
+		final int numBands = src.getNumBands();
+		final int dstOffset = getOffset(dst);
+		final int dstStride = dst.getScanlineStride();
+
+		for (int y = 0; y < src.height; y++) {
+			int indexDst = dstOffset + dstStride * y;
+			int indexSrc = src.startIndex + src.stride * y;
+			int indexSrcEnd = indexSrc + src.width;
+
+			for (; indexSrc < indexSrcEnd; indexSrc++) {
+				int total = 0;
+				for (int i = 0; i < numBands; i++)
+					total += src.bands[i].data[indexSrc] & 0xFF;
+				dstData[indexDst++] = (byte) (total / numBands);
+			}
+		}
+	}
+
+	private static void multToGray_F32(MultiSpectral<ImageFloat32> src, ByteInterleavedRaster dst) {
+		final byte[] dstData = dst.getDataStorage();
+
+		final int numBands = src.getNumBands();
+		final int dstOffset = getOffset(dst);
+		final int dstStride = dst.getScanlineStride();
+
+		for (int y = 0; y < src.height; y++) {
+			int indexDst = dstOffset + dstStride * y;
+			int indexSrc = src.startIndex + src.stride * y;
+			int indexSrcEnd = indexSrc + src.width;
+
+			for (; indexSrc < indexSrcEnd; indexSrc++) {
+				float total = 0;
+				for (int i = 0; i < numBands; i++)
+					total += src.bands[i].data[indexSrc];
+				dstData[indexDst++] = (byte) (total / numBands);
+			}
+		}
+	}
+
+	/**
+	 * Index of the first pixel's first band in the raster's data array
+	 */
+	static int getOffset(ByteInterleavedRaster raster) {
+		int offset = raster.getDataOffset(0);
+		for (int i = 1; i < raster.getNumBands(); i++) {
+			offset = Math.min(offset, raster.getDataOffset(i));
+		}
+		return offset;
+	}
+
+	private static void checkBands(int numRaster, int numImage) {
+		if (numRaster != numImage)
+			throw new IllegalArgumentException("Unequal number of bands raster = " + numRaster + " image = " + numImage);
+	}
+
+	private static void checkSingleBand(ShortInterleavedRaster raster) {
+		if (raster.getNumBands() != 1)
+			throw new IllegalArgumentException("Only single band 16-bit rasters are supported");
+	}
 }
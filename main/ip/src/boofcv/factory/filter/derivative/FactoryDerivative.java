@@ -168,6 +168,19 @@ public class FactoryDerivative {
 			throw new IllegalArgumentException("Not supported yet");
 	}
 
+	/**
+	 * Creates a cache for images derived from the same input image, such as the gradient and integral image.
+	 * The gradient is computed using a Sobel operator.
+	 *
+	 * @see DerivedImageCache
+	 */
+	public static <I extends ImageSingleBand, D extends ImageSingleBand>
+	DerivedImageCache<I,D> cache( Class<I> inputType , Class<D> derivType ) {
+		ImageGradient<I,D> gradient = sobel(inputType,derivType);
+		ImageHessian<D> hessian = hessianSobel(derivType);
+		return new DerivedImageCache<I,D>(gradient,hessian,inputType,derivType);
+	}
+
 	private static Method findDerivative(Class<?> derivativeClass,
 										 Class<?> inputType , Class<?> derivType ) {
 		Method m;
@@ -18,6 +18,7 @@
 
 package boofcv.factory.transform.gss;
 
+import boofcv.alg.transform.gss.IncrementalScaleSpace;
 import boofcv.alg.transform.gss.NoCacheScaleSpace;
 import boofcv.core.image.ImageGenerator;
 import boofcv.core.image.inst.SingleBandGenerator;
@@ -54,4 +55,33 @@ public class FactoryGaussianScaleSpace {
 		ImageGenerator<ImageSInt16> derivGen = new SingleBandGenerator<ImageSInt16>(ImageSInt16.class);
 		return new NoCacheScaleSpace<ImageUInt8,ImageSInt16>(imageGen,derivGen);
 	}
+
+	/**
+	 * Creates a {@link IncrementalScaleSpace}, which computes each level from the previous level.
+	 *
+	 * @param imageType Type of input image.
+	 * @param decimate If true the image will be decimated each octave.
+	 * @return The scale space.
+	 */
+	public static <T extends ImageSingleBand, D extends ImageSingleBand>
+	IncrementalScaleSpace<T,D> incremental( Class<T> imageType , boolean decimate ) {
+		if( imageType == ImageFloat32.class ) {
+			return (IncrementalScaleSpace<T,D>)incremental_F32(decimate);
+		} else if( imageType == ImageUInt8.class ) {
+			return (IncrementalScaleSpace<T,D>)incremental_U8(decimate);
+		} else {
+			throw new IllegalArgumentException("Doesn't handle "+imageType.getSimpleName()+" yet.");
+		}
+	}
+
+	public static IncrementalScaleSpace<ImageFloat32,ImageFloat32> incremental_F32( boolean decimate ) {
+		ImageGenerator<ImageFloat32> imageGen = new SingleBandGenerator<ImageFloat32>(ImageFloat32.class);
+		return new IncrementalScaleSpace<ImageFloat32,ImageFloat32>(imageGen,imageGen,decimate);
+	}
+
+	public static IncrementalScaleSpace<ImageUInt8, ImageSInt16> incremental_U8( boolean decimate ) {
+		ImageGenerator<ImageUInt8> imageGen = new SingleBandGenerator<ImageUInt8>(ImageUInt8.class);
+		ImageGenerator<ImageSInt16> derivGen = new SingleBandGenerator<ImageSInt16>(ImageSInt16.class);
+		return new IncrementalScaleSpace<ImageUInt8,ImageSInt16>(imageGen,derivGen,decimate);
+	}
 }
@@ -86,6 +86,8 @@ public class FactoryWaveletCoiflet {
 
 		WlBorderCoefStandard<WlCoef_F32> inverse = new WlBorderCoefStandard<WlCoef_F32>(coef);
 
-		return new WaveletDescription<WlCoef_F32>(new BorderIndex1D_Wrap(),coef,inverse);
+		WaveletDescription<WlCoef_F32> ret = new WaveletDescription<WlCoef_F32>(new BorderIndex1D_Wrap(),coef,inverse);
+		ret.lifting = FactoryWaveletLifting.factor_F32(coef);
+		return ret;
 	}
 }
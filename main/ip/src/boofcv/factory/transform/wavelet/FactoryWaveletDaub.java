@@ -84,7 +84,9 @@ public class FactoryWaveletDaub {
 
 		WlBorderCoefStandard<WlCoef_F32> inverse = new WlBorderCoefStandard<WlCoef_F32>(coef);
 
-		return new WaveletDescription<WlCoef_F32>(new BorderIndex1D_Wrap(),coef,inverse);
+		WaveletDescription<WlCoef_F32> ret = new WaveletDescription<WlCoef_F32>(new BorderIndex1D_Wrap(),coef,inverse);
+		ret.lifting = FactoryWaveletLifting.factor_F32(coef);
+		return ret;
 	}
 
 	/**
@@ -140,7 +142,9 @@ public class FactoryWaveletDaub {
 		} else {
 			throw new IllegalArgumentException("Unsupported border type: "+borderType);
 		}
-		return new WaveletDescription<WlCoef_F32>(border,forward,inverse);
+		WaveletDescription<WlCoef_F32> ret = new WaveletDescription<WlCoef_F32>(border,forward,inverse);
+		ret.lifting = FactoryWaveletLifting.factor_F32(forward);
+		return ret;
 
 	}
 
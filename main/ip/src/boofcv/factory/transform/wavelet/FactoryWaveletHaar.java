@@ -54,7 +54,9 @@ public class FactoryWaveletHaar {
 
 				WlBorderCoef<WlCoef_F32> inverse = new WlBorderCoefStandard<WlCoef_F32>(forward);
 
-				return new WaveletDescription(new BorderIndex1D_Extend(),forward,inverse);
+				WaveletDescription ret = new WaveletDescription(new BorderIndex1D_Extend(),forward,inverse);
+				ret.lifting = FactoryWaveletLifting.factor_F32(forward);
+				return ret;
 			}
 		}
 		return null;
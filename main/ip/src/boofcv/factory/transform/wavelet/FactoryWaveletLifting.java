@@ -0,0 +1,265 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.factory.transform.wavelet;
+
+import boofcv.struct.wavelet.WlCoef_F32;
+import boofcv.struct.wavelet.WlLifting_F32;
+
+/**
+ * <p>
+ * Factors a wavelet into lifting steps [1].  The forward transform is written as a 2x2 polyphase matrix of
+ * Laurent polynomials, which describes how the even and odd input samples are combined to create the scaling and
+ * wavelet signals.  The Euclidean algorithm is applied to the scaling row.  Each division step becomes
+ * a lifting step, and the algorithm stops when one element in the row is zero.  The remaining wavelet row is then
+ * reduced to a single term.  Polynomial division is not unique.  Here it alternates between canceling the
+ * highest and lowest order terms, which keeps the lifting coefficients small for symmetric filters.
+ * </p>
+ *
+ * <p>
+ * Coefficients are provided in single precision, so a term is treated as zero if its magnitude is much smaller
+ * than the largest filter coefficient.
+ * </p>
+ *
+ * <p>
+ * [1] Ingrid Daubechies and Wim Sweldens, "Factoring Wavelet Transforms into Lifting Steps"
+ * J. Fourier Anal. Appl. Vol 4, Nr 3, 1998
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class FactoryWaveletLifting {
+
+	// relative magnitude below which a polynomial term is considered to be zero
+	private static final double TOL = 1e-5;
+
+	/**
+	 * Computes the lifting factorization of the forward wavelet.
+	 *
+	 * @param forward Coefficients for the forward transform.
+	 * @return The lifting steps or null if the wavelet could not be factored.
+	 */
+	public static WlLifting_F32 factor_F32( WlCoef_F32 forward ) {
+		double max = 0;
+		for( float f : forward.scaling )
+			max = Math.max(max,Math.abs(f));
+		for( float f : forward.wavelet )
+			max = Math.max(max,Math.abs(f));
+		double tol = max*TOL;
+
+		// polyphase matrix.  first row is the scaling and second the wavelet
+		Poly se = polyphase(forward.scaling,forward.offsetScaling,0,tol);
+		Poly so = polyphase(forward.scaling,forward.offsetScaling,1,tol);
+		Poly we = polyphase(forward.wavelet,forward.offsetWavelet,0,tol);
+		Poly wo = polyphase(forward.wavelet,forward.offsetWavelet,1,tol);
+
+		WlLifting_F32 ret = new WlLifting_F32();
+
+		// Euclidean algorithm on the scaling row.  Each column operation is the inverse of a lifting step
+		while( !se.isZero() && !so.isZero() ) {
+			if( se.span() > so.span() ) {
+				Poly q = divide(se,so,tol);
+				se = subtract(se,multiply(q,so),tol);
+				we = subtract(we,multiply(q,wo),tol);
+				ret.addPredict(q.lo,q.toFloat());
+			} else {
+				Poly q = divide(so,se,tol);
+				so = subtract(so,multiply(q,se),tol);
+				wo = subtract(wo,multiply(q,we),tol);
+				ret.addUpdate(q.lo,q.toFloat());
+			}
+		}
+
+		// reduce the wavelet row to a single term
+		Poly k,y;
+		if( so.isZero() ) {
+			k = se; y = wo;
+			if( !isMonomial(k) || !isMonomial(y) )
+				return null;
+			Poly t = divideMonomial(we,y);
+			if( !t.isZero() )
+				ret.addPredict(t.lo,t.toFloat());
+		} else {
+			k = so; y = we;
+			if( !isMonomial(k) || !isMonomial(y) )
+				return null;
+			Poly t = divideMonomial(wo,y);
+			if( !t.isZero() )
+				ret.addUpdate(t.lo,t.toFloat());
+			ret.swap = true;
+		}
+
+		ret.scaleScaling = (float)k.c[0];
+		ret.offsetScaling = k.lo;
+		ret.scaleWavelet = (float)y.c[0];
+		ret.offsetWavelet = y.lo;
+
+		return ret;
+	}
+
+	/**
+	 * Extracts the even or odd polyphase component from a filter.
+	 */
+	private static Poly polyphase( float coef[] , int offset , int parity , double tol ) {
+		int lo = Integer.MAX_VALUE;
+		int hi = Integer.MIN_VALUE;
+		for( int i = 0; i < coef.length; i++ ) {
+			int j = offset + i;
+			if( (j & 1) != parity )
+				continue;
+			int p = (j-parity) >> 1;
+			lo = Math.min(lo,p);
+			hi = Math.max(hi,p);
+		}
+
+		if( lo > hi )
+			return new Poly(0,0);
+
+		Poly ret = new Poly(lo,hi-lo+1);
+		for( int i = 0; i < coef.length; i++ ) {
+			int j = offset + i;
+			if( (j & 1) != parity )
+				continue;
+			ret.c[((j-parity) >> 1) - lo] = coef[i];
+		}
+		return trim(ret,tol);
+	}
+
+	/**
+	 * Finds q such that a - q*b has a smaller span than b.  Alternates between canceling the highest and
+	 * lowest terms.
+	 */
+	private static Poly divide( Poly a , Poly b , double tol ) {
+		Poly q = new Poly(0,0);
+		Poly r = a;
+		boolean high = true;
+		while( !r.isZero() && r.span() >= b.span() ) {
+			Poly m;
+			if( high ) {
+				m = new Poly(r.hi()-b.hi(),1);
+				m.c[0] = r.c[r.span()]/b.c[b.span()];
+			} else {
+				m = new Poly(r.lo-b.lo,1);
+				m.c[0] = r.c[0]/b.c[0];
+			}
+			q = add(q,m,1);
+			r = subtract(r,multiply(m,b),tol);
+			high = !high;
+		}
+		return q;
+	}
+
+	private static Poly divideMonomial( Poly a , Poly m ) {
+		Poly ret = new Poly(a.lo-m.lo,a.c.length);
+		for( int i = 0; i < a.c.length; i++ )
+			ret.c[i] = a.c[i]/m.c[0];
+		return ret;
+	}
+
+	private static boolean isMonomial( Poly a ) {
+		return a.c.length == 1;
+	}
+
+	private static Poly subtract( Poly a , Poly b , double tol ) {
+		return trim(add(a,b,-1),tol);
+	}
+
+	/**
+	 * Computes a + scale*b
+	 */
+	private static Poly add( Poly a , Poly b , double scale ) {
+		if( a.isZero() ) {
+			Poly ret = new Poly(b.lo,b.c.length);
+			for( int i = 0; i < b.c.length; i++ )
+				ret.c[i] = scale*b.c[i];
+			return ret;
+		} else if( b.isZero() ) {
+			return a;
+		}
+
+		int lo = Math.min(a.lo,b.lo);
+		int hi = Math.max(a.hi(),b.hi());
+		Poly ret = new Poly(lo,hi-lo+1);
+		for( int i = 0; i < a.c.length; i++ )
+			ret.c[a.lo+i-lo] += a.c[i];
+		for( int i = 0; i < b.c.length; i++ )
+			ret.c[b.lo+i-lo] += scale*b.c[i];
+		return ret;
+	}
+
+	private static Poly multiply( Poly a , Poly b ) {
+		if( a.isZero() || b.isZero() )
+			return new Poly(0,0);
+
+		Poly ret = new Poly(a.lo+b.lo,a.c.length+b.c.length-1);
+		for( int i = 0; i < a.c.length; i++ ) {
+			for( int j = 0; j < b.c.length; j++ ) {
+				ret.c[i+j] += a.c[i]*b.c[j];
+			}
+		}
+		return ret;
+	}
+
+	/**
+	 * Removes terms at the beginning and end which are approximately zero
+	 */
+	private static Poly trim( Poly a , double tol ) {
+		int start = 0;
+		int end = a.c.length;
+		while( start < end && Math.abs(a.c[start]) <= tol )
+			start++;
+		while( end > start && Math.abs(a.c[end-1]) <= tol )
+			end--;
+
+		Poly ret = new Poly(a.lo+start,end-start);
+		System.arraycopy(a.c,start,ret.c,0,end-start);
+		return ret;
+	}
+
+	/**
+	 * Laurent polynomial.  c[i] is the coefficient of the term with power lo+i
+	 */
+	private static class Poly {
+		int lo;
+		double c[];
+
+		Poly(int lo, int length) {
+			this.lo = lo;
+			this.c = new double[length];
+		}
+
+		boolean isZero() {
+			return c.length == 0;
+		}
+
+		int span() {
+			return c.length-1;
+		}
+
+		int hi() {
+			return lo+c.length-1;
+		}
+
+		float[] toFloat() {
+			float ret[] = new float[ c.length ];
+			for( int i = 0; i < c.length; i++ )
+				ret[i] = (float)c[i];
+			return ret;
+		}
+	}
+}
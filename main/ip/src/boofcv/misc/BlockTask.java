@@ -0,0 +1,36 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.misc;
+
+/**
+ * Processes a block of indexes, such as image rows, in a loop which is split up across multiple threads by
+ * {@link BoofConcurrency}.  Implementations must be safe to call simultaneously on disjoint blocks.
+ *
+ * @author Peter Abeles
+ */
+public interface BlockTask {
+
+	/**
+	 * Processes all the indexes inside the block.
+	 *
+	 * @param start First index in the block.  Inclusive.
+	 * @param end Last index in the block.  Exclusive.
+	 */
+	public void process( int start , int end );
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.misc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+/**
+ * <p>
+ * Splits loops up across multiple threads.  A single thread pool with daemon threads is shared by all
+ * algorithms.  The loop is divided into contiguous blocks, one per thread, and the calling thread processes
+ * the first block itself while it waits for the others.
+ * </p>
+ *
+ * <p>
+ * If called from inside a worker thread the loop is processed in the calling thread, which prevents nested
+ * concurrent loops from deadlocking.  Setting the maximum number of threads to one turns off concurrency
+ * entirely.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class BoofConcurrency {
+
+	// maximum number of threads a loop can be split across
+	private static volatile int maxThreads = Runtime.getRuntime().availableProcessors();
+
+	// thread pool used by all the loops.  lazily declared
+	private static ExecutorService pool;
+
+	/**
+	 * Specifies the maximum number of threads which can be used.  If set to one then all processing
+	 * is done in the calling thread.  The old thread pool is shut down, but blocks already submitted to it
+	 * still finish.  Loops which are submitting blocks to it at the same time process the rejected blocks
+	 * in their own thread.
+	 *
+	 * @param maxThreads Maximum number of threads.  Must be >= 1.
+	 */
+	public static synchronized void setMaxThreads( int maxThreads ) {
+		if( maxThreads < 1 )
+			throw new IllegalArgumentException("Must be at least one thread");
+		BoofConcurrency.maxThreads = maxThreads;
+		if( pool != null ) {
+			pool.shutdown();
+			pool = null;
+		}
+	}
+
+	public static int getMaxThreads() {
+		return maxThreads;
+	}
+
+	/**
+	 * Processes the range of indexes [start,end) by splitting it up into blocks which are processed in parallel.
+	 * The number of blocks is the maximum number of threads, but each block will contain at least minBlock
+	 * indexes.  If any block throws an exception, the remaining blocks are still allowed to finish and then the
+	 * first exception is passed on to the caller.
+	 *
+	 * @param start First index.  Inclusive.
+	 * @param end Last index.  Exclusive.
+	 * @param minBlock Minimum number of indexes in a block. Must be >= 1.
+	 * @param task Processes each block.
+	 */
+	public static void loopBlocks( int start , int end , int minBlock , final BlockTask task ) {
+		int length = end - start;
+		if( length <= 0 )
+			return;
+
+		int numBlocks = Math.min(maxThreads, length/Math.max(1,minBlock));
+		if( numBlocks <= 1 || Thread.currentThread() instanceof WorkerThread ) {
+			task.process(start,end);
+			return;
+		}
+
+		ExecutorService pool = getPool();
+		List<Future<?>> futures = new ArrayList<Future<?>>();
+		Throwable failure = null;
+
+		for( int i = 1; i < numBlocks; i++ ) {
+			final int blockStart = start + (int)((long)length*i/numBlocks);
+			final int blockEnd = start + (int)((long)length*(i+1)/numBlocks);
+
+			try {
+				futures.add(pool.submit(new Runnable() {
+					@Override
+					public void run() {
+						task.process(blockStart,blockEnd);
+					}
+				}));
+			} catch( RejectedExecutionException e ) {
+				// setMaxThreads() shut down the pool after it was retrieved, process the block here instead
+				try {
+					task.process(blockStart,blockEnd);
+				} catch( Throwable t ) {
+					if( failure == null )
+						failure = t;
+				}
+			}
+		}
+
+		// process the first block in this thread.  Every block must finish before returning, even if one
+		// fails, otherwise workers could still be writing into the output after the caller has moved on
+		try {
+			task.process(start,start + length/numBlocks);
+		} catch( Throwable t ) {
+			if( failure == null )
+				failure = t;
+		}
+
+		boolean interrupted = false;
+		for( Future<?> f : futures ) {
+			while( true ) {
+				try {
+					f.get();
+					break;
+				} catch (InterruptedException e) {
+					interrupted = true;
+				} catch (ExecutionException e) {
+					if( failure == null )
+						failure = e.getCause();
+					break;
+				}
+			}
+		}
+
+		if( interrupted )
+			Thread.currentThread().interrupt();
+
+		if( failure != null ) {
+			if( failure instanceof RuntimeException )
+				throw (RuntimeException)failure;
+			else if( failure instanceof Error )
+				throw (Error)failure;
+			throw new RuntimeException(failure);
+		}
+	}
+
+	private static synchronized ExecutorService getPool() {
+		if( pool == null ) {
+			pool = Executors.newFixedThreadPool(maxThreads, new ThreadFactory() {
+				int count = 0;
+
+				@Override
+				public Thread newThread(Runnable r) {
+					Thread t = new WorkerThread(r,"BoofConcurrency-"+(count++));
+					t.setDaemon(true);
+					return t;
+				}
+			});
+		}
+		return pool;
+	}
+
+	/**
+	 * Used to identify threads inside the pool
+	 */
+	private static class WorkerThread extends Thread {
+		private WorkerThread(Runnable target, String name) {
+			super(target, name);
+		}
+	}
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package boofcv.struct;
+
+/**
+ * <p>
+ * Storage for a set of contours which avoids declaring an object for each point.  The coordinates of every point
+ * in every contour are stored in a single array as (x,y) pairs.  The points in contour 'i' start at point
+ * offsets[i] and end before point offsets[i+1].  Arrays grow as needed and are recycled when {@link #reset()}
+ * is called, so once the largest set of contours has been seen no more memory is declared.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class PackedContours {
+	// x,y coordinates of each point in every contour
+	public int points[];
+	// index of the first point in each contour.  Has size+1 valid elements
+	public int offsets[];
+	// label of the blob each contour belongs to
+	public int labels[];
+	// true for external contours and false for internal contours, i.e. holes
+	public boolean external[];
+	// number of contours
+	public int size;
+
+	public PackedContours( int maxPoints , int maxContours ) {
+		points = new int[ Math.max(2,maxPoints*2) ];
+		offsets = new int[ Math.max(1,maxContours) + 1 ];
+		labels = new int[ Math.max(1,maxContours) ];
+		external = new boolean[ Math.max(1,maxContours) ];
+	}
+
+	public PackedContours() {
+		this(100,10);
+	}
+
+	/**
+	 * Discards all the contours.
+	 */
+	public void reset() {
+		size = 0;
+		offsets[0] = 0;
+	}
+
+	/**
+	 * Starts a new contour.  Points added after this call belong to the new contour.
+	 *
+	 * @param label Label of the blob the contour belongs to.
+	 * @param isExternal true if it is an external contour or false if it is internal.
+	 */
+	public void start( int label , boolean isExternal ) {
+		if( size+1 >= offsets.length ) {
+			int N = offsets.length*2;
+			offsets = grow(offsets,N+1,size+1);
+			labels = grow(labels,N,size);
+			boolean tmp[] = new boolean[N];
+			System.arraycopy(external,0,tmp,0,size);
+			external = tmp;
+		}
+		labels[size] = label;
+		external[size] = isExternal;
+		offsets[size+1] = offsets[size];
+		size++;
+	}
+
+	/**
+	 * Adds a point to the last contour.
+	 */
+	public void add( int x , int y ) {
+		int index = offsets[size]*2;
+		if( index+2 > points.length ) {
+			points = grow(points,points.length*2,index);
+		}
+		points[index] = x;
+		points[index+1] = y;
+		offsets[size]++;
+	}
+
+	/**
+	 * Number of points in the specified contour.
+	 */
+	public int length( int contour ) {
+		return offsets[contour+1] - offsets[contour];
+	}
+
+	/**
+	 * Total number of points in all the contours.
+	 */
+	public int getTotalPoints() {
+		return offsets[size];
+	}
+
+	/**
+	 * Returns the x-coordinate of point 'i' in the specified contour.
+	 */
+	public int getX( int contour , int i ) {
+		return points[(offsets[contour]+i)*2];
+	}
+
+	/**
+	 * Returns the y-coordinate of point 'i' in the specified contour.
+	 */
+	public int getY( int contour , int i ) {
+		return points[(offsets[contour]+i)*2+1];
+	}
+
+	private static int[] grow( int data[] , int length , int numCopy ) {
+		int tmp[] = new int[ length ];
+		System.arraycopy(data,0,tmp,0,numCopy);
+		return tmp;
+	}
+}
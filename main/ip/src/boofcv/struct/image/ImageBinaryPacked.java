@@ -0,0 +1,197 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.struct.image;
+
+/**
+ * <p>
+ * Binary image where each pixel is stored as a single bit.  Each row is composed of one or more 64-bit words,
+ * pixel 'x' is stored in word x/64 and bit x%64 of that word, where bit 0 is the least significant bit.  Packing
+ * pixels in this manner allows logical and morphological operations to process 64 pixels at once and reduces
+ * memory usage by a factor of 8 when compared to {@link ImageUInt8}.
+ * </p>
+ *
+ * <p>
+ * Unlike other image types, startIndex and stride are specified in words, not pixels.  Bits in the last word of
+ * each row which lie outside the image must always be zero.  All operations assume this is true and will preserve
+ * it.  Because of this requirement sub-images are not supported.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ImageBinaryPacked extends ImageBase<ImageBinaryPacked> {
+
+	/**
+	 * Number of bits in each word
+	 */
+	public static final int BITS = 64;
+
+	public long data[];
+
+	/**
+	 * Creates a new binary image with every pixel set to zero.
+	 *
+	 * @param width  number of columns in the image.
+	 * @param height number of rows in the image.
+	 */
+	public ImageBinaryPacked(int width, int height) {
+		this.stride = wordsPerRow(width);
+		this.width = width;
+		this.height = height;
+		this.data = new long[ stride*height ];
+	}
+
+	public ImageBinaryPacked() {
+	}
+
+	/**
+	 * Number of words required to store a row with the specified number of pixels.
+	 *
+	 * @param width Number of pixels in the row.
+	 * @return Number of words.
+	 */
+	public static int wordsPerRow( int width ) {
+		return (width + BITS - 1)/BITS;
+	}
+
+	/**
+	 * Returns a mask which selects the bits inside the image for the last word in each row.
+	 *
+	 * @return Mask for the last word in a row.
+	 */
+	public long getLastWordMask() {
+		int r = width % BITS;
+		return r == 0 ? ~0L : (1L << r) - 1;
+	}
+
+	/**
+	 * Returns the value of the specified pixel.
+	 *
+	 * @param x pixel coordinate.
+	 * @param y pixel coordinate.
+	 * @return Pixel value, 0 or 1.
+	 */
+	public int get(int x, int y) {
+		if (!isInBounds(x, y))
+			throw new ImageAccessException("Requested pixel is out of bounds: "+x+" "+y);
+
+		return unsafe_get(x,y);
+	}
+
+	public int unsafe_get(int x, int y) {
+		return (int)((data[getIndex(x, y)] >>> (x % BITS)) & 1L);
+	}
+
+	/**
+	 * Sets the value of the specified pixel.  Any non-zero value is interpreted as one.
+	 *
+	 * @param x	 pixel coordinate.
+	 * @param y	 pixel coordinate.
+	 * @param value The pixel's new value.
+	 */
+	public void set(int x, int y, int value) {
+		if (!isInBounds(x, y))
+			throw new ImageAccessException("Requested pixel is out of bounds: "+x+" "+y);
+
+		unsafe_set(x,y,value);
+	}
+
+	public void unsafe_set(int x, int y, int value) {
+		int index = getIndex(x, y);
+		long bit = 1L << (x % BITS);
+		if( value == 0 )
+			data[index] &= ~bit;
+		else
+			data[index] |= bit;
+	}
+
+	/**
+	 * Returns the index of the word which contains the specified pixel.
+	 */
+	@Override
+	public int getIndex(int x, int y) {
+		return startIndex + y * stride + x / BITS;
+	}
+
+	@Override
+	public boolean isSubimage() {
+		return false;
+	}
+
+	/**
+	 * Sub-images are not supported since the bits outside of a sub-image in the last word of
+	 * each row would be modified.
+	 */
+	@Override
+	public ImageBinaryPacked subimage(int x0, int y0, int x1, int y1) {
+		throw new IllegalArgumentException("Sub-images are not supported by packed binary images");
+	}
+
+	/**
+	 * Changes the image's width and height without declaring new memory, unless the internal array
+	 * is not large enough.  All the pixels are set to zero.
+	 *
+	 * @param width The new width.
+	 * @param height The new height.
+	 */
+	@Override
+	public void reshape(int width, int height) {
+		int stride = wordsPerRow(width);
+
+		if( data == null || data.length < stride*height ) {
+			data = new long[ stride*height ];
+		} else {
+			for( int i = 0; i < stride*height; i++ )
+				data[i] = 0;
+		}
+
+		this.startIndex = 0;
+		this.stride = stride;
+		this.width = width;
+		this.height = height;
+	}
+
+	/**
+	 * Sets the values of each pixel equal to the pixels in the specified image.  Both image's shape
+	 * must be the same.
+	 *
+	 * @param orig The original image whose value is to be copied into this one
+	 */
+	public void setTo( ImageBinaryPacked orig ) {
+		if (orig.width != width || orig.height != height)
+			throw new IllegalArgumentException("The width and/or height of 'orig' is not the same as this class");
+
+		System.arraycopy(orig.data, orig.startIndex, data, startIndex, stride * height);
+	}
+
+	@SuppressWarnings({"CloneDoesntDeclareCloneNotSupportedException", "CloneDoesntCallSuperClone"})
+	@Override
+	public ImageBinaryPacked clone() {
+		ImageBinaryPacked ret = new ImageBinaryPacked(width,height);
+		ret.setTo(this);
+		return ret;
+	}
+
+	@Override
+	public ImageBinaryPacked _createNew(int imgWidth, int imgHeight) {
+		if (imgWidth == -1 || imgHeight == -1) {
+			return new ImageBinaryPacked();
+		}
+		return new ImageBinaryPacked(imgWidth, imgHeight);
+	}
+}
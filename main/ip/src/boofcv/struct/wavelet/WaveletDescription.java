@@ -35,6 +35,8 @@ public class WaveletDescription<T extends WlCoef> {
 	public T forward;
 	// coefficients for the inverse transform
 	public WlBorderCoef<T> inverse;
+	// optional lifting factorization of a floating point forward transform.  null if not available
+	public WlLifting_F32 lifting;
 
 	public WaveletDescription( BorderIndex1D border , T forward, WlBorderCoef<T> inverse) {
 		this.border = border;
@@ -62,4 +64,12 @@ public class WaveletDescription<T extends WlCoef> {
 	public WlBorderCoef<T> getInverse() {
 		return inverse;
 	}
+
+	/**
+	 * Lifting factorization of the forward transform, used to speed up the inner portion of floating point
+	 * transforms.  Null if there is none.
+	 */
+	public WlLifting_F32 getLifting() {
+		return lifting;
+	}
 }
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.struct.wavelet;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>
+ * Lifting scheme factorization of a 32-bit floating point forward wavelet.  The input signal is split into its
+ * even and odd samples, which are then modified by a sequence of lifting steps.  Each step adds a weighted sum
+ * of one set of samples to the other set.  After all the steps have been applied the scaling and wavelet signals
+ * are each taken from one of the two sets and multiplied by a constant.  The inverse transform undoes each step
+ * in the reverse order by subtracting instead of adding.
+ * </p>
+ *
+ * <p>
+ * Sample 'n' in the even set is signal[2n] and in the odd set signal[2n+1].  A step which modifies the odd
+ * samples computes odd[n] += &sum;<sub>k</sub> coef[k]*even[n+offset+k], and the reverse for the even samples.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class WlLifting_F32 {
+
+	// lifting steps in the order they are applied by the forward transform
+	public List<Step> steps = new ArrayList<Step>();
+
+	// if false the scaling signal comes from the even samples and the wavelet from the odd samples
+	// if true it is the other way around
+	public boolean swap;
+
+	// scaling[n] = scaleScaling*samples[n+offsetScaling]
+	public float scaleScaling = 1;
+	public int offsetScaling;
+
+	// wavelet[n] = scaleWavelet*samples[n+offsetWavelet]
+	public float scaleWavelet = 1;
+	public int offsetWavelet;
+
+	/**
+	 * Adds a step which modifies the odd samples using the even samples.
+	 */
+	public void addPredict( int offset , float ...coef ) {
+		steps.add( new Step(true,offset,coef));
+	}
+
+	/**
+	 * Adds a step which modifies the even samples using the odd samples.
+	 */
+	public void addUpdate( int offset , float ...coef ) {
+		steps.add( new Step(false,offset,coef));
+	}
+
+	/**
+	 * A single lifting step.
+	 */
+	public static class Step {
+		// if true the odd samples are modified using the even samples, otherwise the even using the odd
+		public boolean predict;
+		// offset of the first coefficient relative to the sample being modified
+		public int offset;
+		// weights applied to the samples which are summed together
+		public float coef[];
+
+		public Step(boolean predict, int offset, float[] coef) {
+			this.predict = predict;
+			this.offset = offset;
+			this.coef = coef;
+		}
+	}
+}
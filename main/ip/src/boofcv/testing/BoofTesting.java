@@ -719,6 +719,19 @@ public class BoofTesting {
 			}
 		}
 
+		// which band each color is stored in
+		int bandR, bandG, bandB;
+
+		if (imgA.getType() == BufferedImage.TYPE_INT_RGB) {
+			bandR = 0; bandG = 1; bandB = 2;
+		} else if (imgA.getType() == BufferedImage.TYPE_INT_ARGB) {
+			bandR = 1; bandG = 2; bandB = 3;
+		} else if (imgA.getType() == BufferedImage.TYPE_4BYTE_ABGR) {
+			bandR = 3; bandG = 2; bandB = 1;
+		} else {
+			bandR = 2; bandG = 1; bandB = 0;
+		}
+
 		for (int y = 0; y < imgA.getHeight(); y++) {
 			for (int x = 0; x < imgA.getWidth(); x++) {
 				int rgb = imgA.getRGB(x, y);
@@ -727,11 +740,11 @@ public class BoofTesting {
 				int g = (rgb >>> 8) & 0xFF;
 				int b = rgb & 0xFF;
 
-				if (Math.abs(b - imgB.getBand(x, y, 0) & 0xFF) != 0)
+				if (Math.abs(b - imgB.getBand(x, y, bandB) & 0xFF) != 0)
 					throw new RuntimeException("images are not equal: ");
-				if (Math.abs(g - imgB.getBand(x, y, 1) & 0xFF) != 0)
+				if (Math.abs(g - imgB.getBand(x, y, bandG) & 0xFF) != 0)
 					throw new RuntimeException("images are not equal: ");
-				if (Math.abs(r - imgB.getBand(x, y, 2) & 0xFF) != 0)
+				if (Math.abs(r - imgB.getBand(x, y, bandR) & 0xFF) != 0)
 					throw new RuntimeException("images are not equal: ");
 			}
 		}
@@ -0,0 +1,193 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.abst.filter.derivative;
+
+import boofcv.alg.filter.derivative.GImageDerivativeOps;
+import boofcv.alg.filter.derivative.GradientSobel;
+import boofcv.alg.filter.derivative.HessianFromGradient;
+import boofcv.alg.misc.ImageTestingOps;
+import boofcv.alg.transform.ii.IntegralImageOps;
+import boofcv.core.image.inst.FactoryImageGenerator;
+import boofcv.factory.filter.derivative.FactoryDerivative;
+import boofcv.factory.transform.pyramid.FactoryPyramid;
+import boofcv.struct.BoofDefaults;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageSInt16;
+import boofcv.struct.image.ImageSInt32;
+import boofcv.struct.image.ImageUInt8;
+import boofcv.struct.pyramid.PyramidDiscrete;
+import boofcv.struct.pyramid.PyramidUpdaterDiscrete;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestDerivedImageCache {
+
+	Random rand = new Random(234);
+	int width = 30;
+	int height = 35;
+
+	DerivedImageCache<ImageUInt8,ImageSInt16> alg = FactoryDerivative.cache(ImageUInt8.class,ImageSInt16.class);
+
+	/**
+	 * Compare derived images against computing them directly
+	 */
+	@Test
+	public void compareToDirect() {
+		ImageUInt8 input = new ImageUInt8(width,height);
+		ImageTestingOps.randomize(input,rand,0,100);
+
+		ImageSInt16 derivX = new ImageSInt16(width,height);
+		ImageSInt16 derivY = new ImageSInt16(width,height);
+		ImageSInt16 derivXX = new ImageSInt16(width,height);
+		ImageSInt16 derivYY = new ImageSInt16(width,height);
+		ImageSInt16 derivXY = new ImageSInt16(width,height);
+		ImageSInt32 ii = new ImageSInt32(width,height);
+
+		GradientSobel.process(input,derivX,derivY,BoofDefaults.DERIV_BORDER_I32);
+		HessianFromGradient.hessianSobel(derivX,derivY,derivXX,derivYY,derivXY,BoofDefaults.DERIV_BORDER_I32);
+		IntegralImageOps.transform(input,ii);
+
+		alg.setInput(input);
+		BoofTesting.assertEquals(derivX,alg.getDerivX(),0);
+		BoofTesting.assertEquals(derivY,alg.getDerivY(),0);
+		BoofTesting.assertEquals(derivXX,alg.getDerivXX(),0);
+		BoofTesting.assertEquals(derivYY,alg.getDerivYY(),0);
+		BoofTesting.assertEquals(derivXY,alg.getDerivXY(),0);
+		BoofTesting.assertEquals(ii,(ImageSInt32)alg.getIntegral(),0);
+	}
+
+	/**
+	 * Derived images should only be computed again when a new frame starts
+	 */
+	@Test
+	public void cached() {
+		ImageUInt8 input = new ImageUInt8(width,height);
+		ImageTestingOps.randomize(input,rand,0,100);
+
+		alg.setInput(input);
+		long frame = alg.getFrame();
+		ImageSInt16 derivX = alg.getDerivX();
+		ImageSInt16 before = derivX.clone();
+		ImageSInt32 ii = alg.getIntegral();
+		int total = ii.get(width-1,height-1);
+
+		// same instance and another algorithm in the same frame, nothing should be computed again
+		ImageTestingOps.fill(input,0);
+		assertEquals(frame,alg.process(input,DerivedImageCache.NO_FRAME));
+		assertTrue(derivX == alg.getDerivX());
+		BoofTesting.assertEquals(before,alg.getDerivX(),0);
+		assertEquals(total,((ImageSInt32)alg.getIntegral()).get(width-1,height-1));
+
+		// explicitly set as a new frame
+		alg.setInput(input);
+		assertEquals(frame+1,alg.getFrame());
+		assertTrue(derivX == alg.getDerivX());
+		assertEquals(0,alg.getDerivX().get(5,5));
+		assertEquals(0,((ImageSInt32)alg.getIntegral()).get(width-1,height-1));
+
+		// a different instance should invalidate the cache
+		ImageUInt8 other = new ImageUInt8(width+2,height);
+		ImageTestingOps.fill(other,2);
+		assertEquals(frame+2,alg.process(other,frame+1));
+		assertEquals(width+2,alg.getDerivX().width);
+		assertEquals(2*(width+2)*height,((ImageSInt32)alg.getIntegral()).get(width+1,height-1));
+	}
+
+	/**
+	 * The same image buffer is used for every frame and the pipeline owner never starts a new frame.  Each algorithm
+	 * using the cache should cause a new frame when it has already used the current one.
+	 */
+	@Test
+	public void process_reuseBuffer() {
+		ImageUInt8 input = new ImageUInt8(width,height);
+		ImageSInt16 expectedX = new ImageSInt16(width,height);
+		ImageSInt16 expectedY = new ImageSInt16(width,height);
+
+		// frame numbers seen by two different algorithms which share the cache
+		long frameA = DerivedImageCache.NO_FRAME;
+		long frameB = DerivedImageCache.NO_FRAME;
+
+		for( int trial = 0; trial < 3; trial++ ) {
+			ImageTestingOps.randomize(input,rand,0,100);
+			GradientSobel.process(input,expectedX,expectedY,BoofDefaults.DERIV_BORDER_I32);
+
+			frameA = alg.process(input,frameA);
+			BoofTesting.assertEquals(expectedX,alg.getDerivX(),0);
+			ImageSInt16 derivX = alg.getDerivX();
+
+			// second algorithm in the same frame should share the results
+			frameB = alg.process(input,frameB);
+			assertEquals(frameA,frameB);
+			assertTrue(derivX == alg.getDerivX());
+			BoofTesting.assertEquals(expectedY,alg.getDerivY(),0);
+		}
+		assertEquals(3,alg.getFrame());
+	}
+
+	@Test
+	public void pyramid() {
+		ImageUInt8 input = new ImageUInt8(width,height);
+		ImageTestingOps.randomize(input,rand,0,100);
+
+		PyramidDiscrete<ImageUInt8> expected = new PyramidDiscrete<ImageUInt8>(ImageUInt8.class,true,1,2);
+		PyramidUpdaterDiscrete<ImageUInt8> updater = FactoryPyramid.discreteGaussian(ImageUInt8.class,-1,2);
+		expected.initialize(width,height);
+		updater.update(input,expected);
+
+		alg.setPyramid(new PyramidDiscrete<ImageUInt8>(ImageUInt8.class,true,1,2),updater);
+		alg.setInput(input);
+
+		assertEquals(2,alg.getPyramid().getNumLayers());
+		for( int i = 0; i < 2; i++ )
+			BoofTesting.assertEquals(expected.getLayer(i),alg.getPyramid().getLayer(i),0);
+	}
+
+	@Test
+	public void anyDerivative() {
+		ImageFloat32 input = new ImageFloat32(width,height);
+		ImageTestingOps.randomize(input,rand,0,100);
+
+		DerivedImageCache<ImageFloat32,ImageFloat32> alg = FactoryDerivative.cache(ImageFloat32.class,ImageFloat32.class);
+		AnyImageDerivative<ImageFloat32,ImageFloat32> any =
+				GImageDerivativeOps.createDerivatives(ImageFloat32.class,
+						FactoryImageGenerator.create(ImageFloat32.class));
+		alg.setAnyDerivative(any);
+		alg.setInput(input);
+
+		AnyImageDerivative<ImageFloat32,ImageFloat32> direct =
+				GImageDerivativeOps.createDerivatives(ImageFloat32.class,
+						FactoryImageGenerator.create(ImageFloat32.class));
+		direct.setInput(input);
+
+		BoofTesting.assertEquals(direct.getDerivative(true,false),alg.getDerivative(true,false),0,1e-4);
+	}
+
+	@Test(expected=IllegalArgumentException.class)
+	public void noInput() {
+		alg.getDerivX();
+	}
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.color;
+
+import boofcv.alg.misc.ImageInterleavedTestingOps;
+import boofcv.alg.misc.ImageTestingOps;
+import boofcv.core.image.ConvertImage;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageInterleavedInt8;
+import boofcv.struct.image.ImageUInt8;
+import boofcv.struct.image.MultiSpectral;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestColorHsv {
+
+	Random rand = new Random(234);
+	int width = 25;
+	int height = 30;
+
+	/**
+	 * Check a few hand selected colors
+	 */
+	@Test
+	public void knownColors() {
+		float hsv[] = new float[3];
+
+		ColorHsv.rgbToHsv(255f,0f,0f,hsv);
+		checkHsv(hsv,0,1,255);
+		ColorHsv.rgbToHsv(0f,255f,0f,hsv);
+		checkHsv(hsv,ColorHsv.PI2/3,1,255);
+		ColorHsv.rgbToHsv(0f,0f,128f,hsv);
+		checkHsv(hsv,2*ColorHsv.PI2/3,1,128);
+		ColorHsv.rgbToHsv(100f,100f,100f,hsv);
+		checkHsv(hsv,0,0,100);
+		ColorHsv.rgbToHsv(255f,0f,255f,hsv);
+		checkHsv(hsv,5*ColorHsv.PI2/6,1,255);
+
+		int hsvI[] = new int[3];
+		ColorHsv.rgbToHsv(0,255,0,hsvI);
+		assertEquals(85,hsvI[0]);
+		assertEquals(255,hsvI[1]);
+		assertEquals(255,hsvI[2]);
+		ColorHsv.rgbToHsv(50,50,50,hsvI);
+		assertEquals(0,hsvI[0]);
+		assertEquals(0,hsvI[1]);
+		assertEquals(50,hsvI[2]);
+	}
+
+	/**
+	 * Convert to HSV and back again
+	 */
+	@Test
+	public void hsvToRgb_F32() {
+		MultiSpectral<ImageFloat32> rgb = toFloat(createRgb());
+		MultiSpectral<ImageFloat32> hsv = new MultiSpectral<ImageFloat32>(ImageFloat32.class,width,height,3);
+		MultiSpectral<ImageFloat32> found = new MultiSpectral<ImageFloat32>(ImageFloat32.class,width,height,3);
+
+		ColorHsv.rgbToHsv_F32(rgb,hsv);
+		ColorHsv.hsvToRgb_F32(hsv,found);
+
+		for( int i = 0; i < 3; i++ )
+			BoofTesting.assertEquals(rgb.getBand(i),found.getBand(i),0,1e-2);
+	}
+
+	/**
+	 * Compare the integer computation against floating point
+	 */
+	@Test
+	public void rgbToHsv_U8() {
+		MultiSpectral<ImageUInt8> rgb = createRgb();
+		MultiSpectral<ImageUInt8> hsv = new MultiSpectral<ImageUInt8>(ImageUInt8.class,width,height,3);
+		MultiSpectral<ImageFloat32> hsvF = new MultiSpectral<ImageFloat32>(ImageFloat32.class,width,height,3);
+
+		ColorHsv.rgbToHsv_U8(rgb,hsv);
+		ColorHsv.rgbToHsv_F32(toFloat(rgb),hsvF);
+
+		for( int y = 0; y < height; y++ ) {
+			for( int x = 0; x < width; x++ ) {
+				float expectedH = hsvF.getBand(0).get(x,y)*256/ColorHsv.PI2;
+				float diffH = Math.abs(expectedH-hsv.getBand(0).get(x,y));
+				diffH = Math.min(diffH,256-diffH);
+
+				assertEquals(0,diffH,0.51);
+				assertEquals(hsvF.getBand(1).get(x,y)*255,hsv.getBand(1).get(x,y),0.51);
+				assertEquals(hsvF.getBand(2).get(x,y),hsv.getBand(2).get(x,y),1e-4);
+			}
+		}
+	}
+
+	/**
+	 * Convert to HSV and back again.  Hue is quantized into 256 values, so highly saturated colors can
+	 * change by a few values
+	 */
+	@Test
+	public void hsvToRgb_U8() {
+		MultiSpectral<ImageUInt8> rgb = createRgb();
+		MultiSpectral<ImageUInt8> hsv = new MultiSpectral<ImageUInt8>(ImageUInt8.class,width,height,3);
+		MultiSpectral<ImageUInt8> found = new MultiSpectral<ImageUInt8>(ImageUInt8.class,width,height,3);
+
+		ColorHsv.rgbToHsv_U8(rgb,hsv);
+		ColorHsv.hsvToRgb_U8(hsv,found);
+
+		for( int i = 0; i < 3; i++ )
+			checkEquals(rgb.getBand(i),found.getBand(i),4);
+	}
+
+	/**
+	 * Interleaved images should produce the same results as the multi-spectral version
+	 */
+	@Test
+	public void interleaved() {
+		ImageInterleavedInt8 rgb = new ImageInterleavedInt8(width,height,3);
+		ImageInterleavedTestingOps.randomize(rgb,rand);
+
+		MultiSpectral<ImageUInt8> expected = new MultiSpectral<ImageUInt8>(ImageUInt8.class,width,height,3);
+		MultiSpectral<ImageUInt8> found = new MultiSpectral<ImageUInt8>(ImageUInt8.class,width,height,3);
+
+		ColorHsv.rgbToHsv_U8(ConvertImage.interleavedToMulti_U8(rgb,null),expected);
+		ColorHsv.rgbToHsv(rgb,found);
+		for( int i = 0; i < 3; i++ )
+			BoofTesting.assertEquals(expected.getBand(i),found.getBand(i),0);
+	}
+
+	private void checkHsv( float hsv[] , float h , float s , float v ) {
+		assertEquals(h,hsv[0],1e-4);
+		assertEquals(s,hsv[1],1e-4);
+		assertEquals(v,hsv[2],1e-4);
+	}
+
+	private void checkEquals( ImageUInt8 expected , ImageUInt8 found , int tol ) {
+		for( int y = 0; y < expected.height; y++ ) {
+			for( int x = 0; x < expected.width; x++ ) {
+				assertEquals(expected.get(x,y),found.get(x,y),tol);
+			}
+		}
+	}
+
+	private MultiSpectral<ImageUInt8> createRgb() {
+		MultiSpectral<ImageUInt8> rgb = new MultiSpectral<ImageUInt8>(ImageUInt8.class,width,height,3);
+		for( int i = 0; i < 3; i++ )
+			ImageTestingOps.randomize(rgb.getBand(i),rand,0,256);
+		return rgb;
+	}
+
+	private MultiSpectral<ImageFloat32> toFloat( MultiSpectral<ImageUInt8> input ) {
+		return ConvertImage.interleavedToMulti_F32(ConvertImage.multiToInterleaved_U8(input,null),null);
+	}
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.color;
+
+import boofcv.alg.misc.ImageInterleavedTestingOps;
+import boofcv.alg.misc.ImageTestingOps;
+import boofcv.core.image.ConvertImage;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageInterleavedInt8;
+import boofcv.struct.image.ImageUInt8;
+import boofcv.struct.image.MultiSpectral;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestColorRgb {
+
+	Random rand = new Random(234);
+	int width = 25;
+	int height = 30;
+
+	/**
+	 * Compare the fixed point computation against floating point
+	 */
+	@Test
+	public void rgbToGray_U8() {
+		MultiSpectral<ImageUInt8> rgb = createRgb();
+		ImageUInt8 gray = new ImageUInt8(width,height);
+
+		ColorRgb.rgbToGray_U8(rgb,gray);
+
+		for( int y = 0; y < height; y++ ) {
+			for( int x = 0; x < width; x++ ) {
+				float expected = ColorRgb.rgbToGray((float)rgb.getBand(0).get(x,y),
+						rgb.getBand(1).get(x,y),rgb.getBand(2).get(x,y));
+				assertEquals(expected,gray.get(x,y),1);
+			}
+		}
+	}
+
+	@Test
+	public void rgbToGray_F32() {
+		MultiSpectral<ImageUInt8> rgb = createRgb();
+		MultiSpectral<ImageFloat32> rgbF = new MultiSpectral<ImageFloat32>(ImageFloat32.class,width,height,3);
+		for( int i = 0; i < 3; i++ )
+			ConvertImage.convert(rgb.getBand(i),rgbF.getBand(i));
+
+		ImageFloat32 found = new ImageFloat32(width,height);
+		ColorRgb.rgbToGray_F32(rgbF,found);
+
+		ImageUInt8 expected = new ImageUInt8(width,height);
+		ColorRgb.rgbToGray_U8(rgb,expected);
+
+		BoofTesting.assertEqualsGeneric(expected,found,1,0);
+	}
+
+	/**
+	 * Interleaved images should produce the same results as the multi-spectral version
+	 */
+	@Test
+	public void rgbToGray_interleaved() {
+		ImageInterleavedInt8 rgb = new ImageInterleavedInt8(width,height,3);
+		ImageInterleavedTestingOps.randomize(rgb,rand);
+		MultiSpectral<ImageUInt8> ms = ConvertImage.interleavedToMulti_U8(rgb,null);
+
+		ImageUInt8 expected = new ImageUInt8(width,height);
+		ColorRgb.rgbToGray_U8(ms,expected);
+
+		ImageUInt8 found = new ImageUInt8(width,height);
+		ColorRgb.rgbToGray(rgb,found);
+		BoofTesting.assertEquals(expected,found,0);
+
+		ImageFloat32 foundF = new ImageFloat32(width,height);
+		ColorRgb.rgbToGray(rgb,foundF);
+		BoofTesting.assertEqualsGeneric(expected,foundF,1,0);
+
+		// sub-images
+		ImageInterleavedInt8 sub = rgb.subimage(2,3,12,15);
+		found = new ImageUInt8(10,12);
+		ColorRgb.rgbToGray(sub,found);
+		BoofTesting.assertEquals(expected.subimage(2,3,12,15),found,0);
+	}
+
+	/**
+	 * Swap the order of the bands and see if BGR produces the same result
+	 */
+	@Test
+	public void bgrToGray() {
+		ImageInterleavedInt8 rgb = new ImageInterleavedInt8(width,height,3);
+		ImageInterleavedTestingOps.randomize(rgb,rand);
+		ImageInterleavedInt8 bgr = new ImageInterleavedInt8(width,height,3);
+		for( int y = 0; y < height; y++ ) {
+			for( int x = 0; x < width; x++ ) {
+				for( int i = 0; i < 3; i++ )
+					bgr.setBand(x,y,2-i,rgb.getBand(x,y,i));
+			}
+		}
+
+		ImageUInt8 expected = new ImageUInt8(width,height);
+		ImageUInt8 found = new ImageUInt8(width,height);
+		ColorRgb.rgbToGray(rgb,expected);
+		ColorRgb.bgrToGray(bgr,found);
+		BoofTesting.assertEquals(expected,found,0);
+
+		ImageFloat32 expectedF = new ImageFloat32(width,height);
+		ImageFloat32 foundF = new ImageFloat32(width,height);
+		ColorRgb.rgbToGray(rgb,expectedF);
+		ColorRgb.bgrToGray(bgr,foundF);
+		BoofTesting.assertEquals(expectedF,foundF,0,1e-4);
+	}
+
+	@Test(expected=IllegalArgumentException.class)
+	public void badNumberOfBands() {
+		ColorRgb.rgbToGray(new ImageInterleavedInt8(width,height,4),new ImageUInt8(width,height));
+	}
+
+	private MultiSpectral<ImageUInt8> createRgb() {
+		MultiSpectral<ImageUInt8> rgb = new MultiSpectral<ImageUInt8>(ImageUInt8.class,width,height,3);
+		for( int i = 0; i < 3; i++ )
+			ImageTestingOps.randomize(rgb.getBand(i),rand,0,256);
+		return rgb;
+	}
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.color;
+
+import boofcv.alg.misc.ImageInterleavedTestingOps;
+import boofcv.alg.misc.ImageTestingOps;
+import boofcv.core.image.ConvertImage;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageInterleavedInt8;
+import boofcv.struct.image.ImageUInt8;
+import boofcv.struct.image.MultiSpectral;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestColorYuv {
+
+	Random rand = new Random(234);
+	int width = 25;
+	int height = 30;
+
+	/**
+	 * Compare the fixed point computation against floating point
+	 */
+	@Test
+	public void rgbToYuv_U8() {
+		MultiSpectral<ImageUInt8> rgb = createRgb();
+		MultiSpectral<ImageUInt8> yuv = new MultiSpectral<ImageUInt8>(ImageUInt8.class,width,height,3);
+		MultiSpectral<ImageFloat32> yuvF = new MultiSpectral<ImageFloat32>(ImageFloat32.class,width,height,3);
+
+		ColorYuv.rgbToYuv_U8(rgb,yuv);
+		ColorYuv.rgbToYuv_F32(toFloat(rgb),yuvF);
+
+		int pixel[] = new int[3];
+		for( int y = 0; y < height; y++ ) {
+			for( int x = 0; x < width; x++ ) {
+				assertEquals(yuvF.getBand(0).get(x,y),yuv.getBand(0).get(x,y),0.51);
+				assertEquals(yuvF.getBand(1).get(x,y)+128,yuv.getBand(1).get(x,y),0.51);
+				assertEquals(yuvF.getBand(2).get(x,y)+128,yuv.getBand(2).get(x,y),0.51);
+
+				// the single pixel version should produce identical results
+				ColorYuv.rgbToYuv(rgb.getBand(0).get(x,y),rgb.getBand(1).get(x,y),rgb.getBand(2).get(x,y),pixel);
+				for( int i = 0; i < 3; i++ )
+					assertEquals(yuv.getBand(i).get(x,y),pixel[i]);
+			}
+		}
+	}
+
+	/**
+	 * Convert to YUV and back again.  Only small errors due to rounding should be introduced.
+	 */
+	@Test
+	public void yuvToRgb_U8() {
+		MultiSpectral<ImageUInt8> rgb = createRgb();
+		MultiSpectral<ImageUInt8> yuv = new MultiSpectral<ImageUInt8>(ImageUInt8.class,width,height,3);
+		MultiSpectral<ImageUInt8> found = new MultiSpectral<ImageUInt8>(ImageUInt8.class,width,height,3);
+
+		ColorYuv.rgbToYuv_U8(rgb,yuv);
+		ColorYuv.yuvToRgb_U8(yuv,found);
+
+		int pixel[] = new int[3];
+		for( int i = 0; i < 3; i++ )
+			checkEquals(rgb.getBand(i),found.getBand(i),2);
+
+		for( int y = 0; y < height; y++ ) {
+			for( int x = 0; x < width; x++ ) {
+				ColorYuv.yuvToRgb(yuv.getBand(0).get(x,y),yuv.getBand(1).get(x,y),yuv.getBand(2).get(x,y),pixel);
+				for( int i = 0; i < 3; i++ )
+					assertEquals(found.getBand(i).get(x,y),pixel[i]);
+			}
+		}
+	}
+
+	@Test
+	public void yuvToRgb_F32() {
+		MultiSpectral<ImageFloat32> rgb = toFloat(createRgb());
+		MultiSpectral<ImageFloat32> yuv = new MultiSpectral<ImageFloat32>(ImageFloat32.class,width,height,3);
+		MultiSpectral<ImageFloat32> found = new MultiSpectral<ImageFloat32>(ImageFloat32.class,width,height,3);
+
+		ColorYuv.rgbToYuv_F32(rgb,yuv);
+		ColorYuv.yuvToRgb_F32(yuv,found);
+
+		for( int i = 0; i < 3; i++ )
+			BoofTesting.assertEquals(rgb.getBand(i),found.getBand(i),0,1e-2);
+	}
+
+	/**
+	 * Interleaved images should produce the same results as the multi-spectral version
+	 */
+	@Test
+	public void interleaved() {
+		ImageInterleavedInt8 rgb = new ImageInterleavedInt8(width,height,3);
+		ImageInterleavedTestingOps.randomize(rgb,rand);
+
+		MultiSpectral<ImageUInt8> expected = new MultiSpectral<ImageUInt8>(ImageUInt8.class,width,height,3);
+		MultiSpectral<ImageUInt8> found = new MultiSpectral<ImageUInt8>(ImageUInt8.class,width,height,3);
+
+		ColorYuv.rgbToYuv_U8(ConvertImage.interleavedToMulti_U8(rgb,null),expected);
+		ColorYuv.rgbToYuv(rgb,found);
+		for( int i = 0; i < 3; i++ )
+			BoofTesting.assertEquals(expected.getBand(i),found.getBand(i),0);
+
+		MultiSpectral<ImageUInt8> expectedRgb = new MultiSpectral<ImageUInt8>(ImageUInt8.class,width,height,3);
+		ImageInterleavedInt8 foundRgb = new ImageInterleavedInt8(width,height,3);
+
+		ColorYuv.yuvToRgb_U8(expected,expectedRgb);
+		ColorYuv.yuvToRgb(expected,foundRgb);
+		BoofTesting.assertEquals(ConvertImage.multiToInterleaved_U8(expectedRgb,null),foundRgb);
+	}
+
+	@Test(expected=IllegalArgumentException.class)
+	public void badNumberOfBands() {
+		ColorYuv.rgbToYuv_U8(new MultiSpectral<ImageUInt8>(ImageUInt8.class,width,height,2),
+				new MultiSpectral<ImageUInt8>(ImageUInt8.class,width,height,3));
+	}
+
+	private void checkEquals( ImageUInt8 expected , ImageUInt8 found , int tol ) {
+		for( int y = 0; y < expected.height; y++ ) {
+			for( int x = 0; x < expected.width; x++ ) {
+				assertEquals(expected.get(x,y),found.get(x,y),tol);
+			}
+		}
+	}
+
+	private MultiSpectral<ImageUInt8> createRgb() {
+		MultiSpectral<ImageUInt8> rgb = new MultiSpectral<ImageUInt8>(ImageUInt8.class,width,height,3);
+		for( int i = 0; i < 3; i++ )
+			ImageTestingOps.randomize(rgb.getBand(i),rand,0,256);
+		return rgb;
+	}
+
+	private MultiSpectral<ImageFloat32> toFloat( MultiSpectral<ImageUInt8> input ) {
+		return ConvertImage.interleavedToMulti_F32(ConvertImage.multiToInterleaved_U8(input,null),null);
+	}
+}
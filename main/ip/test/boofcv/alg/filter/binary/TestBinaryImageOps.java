@@ -24,6 +24,7 @@ import boofcv.alg.filter.binary.impl.TestImplBinaryBlobLabeling;
 import boofcv.alg.misc.PixelMath;
 import boofcv.core.image.GeneralizedImageOps;
 import boofcv.struct.FastQueue;
+import boofcv.struct.image.ImageBinaryPacked;
 import boofcv.struct.image.ImageSInt32;
 import boofcv.struct.image.ImageUInt8;
 import boofcv.testing.BoofTesting;
@@ -279,4 +280,76 @@ public class TestBinaryImageOps {
 		// should be the same number
 		assertEquals(PixelMath.sum(expected),total);
 	}
+
+	@Test
+	public void packAndUnpack() {
+		for( int width : new int[]{5,64,70,130} ) {
+			ImageUInt8 input = new ImageUInt8(width,7);
+			GeneralizedImageOps.randomize(input,rand,0,2);
+
+			ImageBinaryPacked packed = BinaryImageOps.pack(input,null);
+			for( int y = 0; y < input.height; y++ ) {
+				for( int x = 0; x < input.width; x++ ) {
+					assertEquals(input.get(x,y),packed.get(x,y));
+				}
+			}
+
+			ImageUInt8 found = BinaryImageOps.unpack(packed,null);
+			BoofTesting.assertEquals(input,found,0);
+		}
+	}
+
+	@Test
+	public void packed_logic() {
+		for( int width : new int[]{5,64,70,130} ) {
+			ImageUInt8 inputA = new ImageUInt8(width,7);
+			ImageUInt8 inputB = new ImageUInt8(width,7);
+			GeneralizedImageOps.randomize(inputA,rand,0,2);
+			GeneralizedImageOps.randomize(inputB,rand,0,2);
+
+			ImageBinaryPacked packedA = BinaryImageOps.pack(inputA,null);
+			ImageBinaryPacked packedB = BinaryImageOps.pack(inputB,null);
+
+			checkPacked(BinaryImageOps.logicAnd(inputA,inputB,null),
+					BinaryImageOps.logicAnd(packedA,packedB,null));
+			checkPacked(BinaryImageOps.logicOr(inputA,inputB,null),
+					BinaryImageOps.logicOr(packedA,packedB,null));
+			checkPacked(BinaryImageOps.logicXor(inputA,inputB,null),
+					BinaryImageOps.logicXor(packedA,packedB,null));
+		}
+	}
+
+	/**
+	 * Compare morphological operations on packed images against the results from {@link ImageUInt8}
+	 */
+	@Test
+	public void packed_morphology() {
+		for( int width : new int[]{1,5,63,64,65,130} ) {
+			ImageUInt8 input = new ImageUInt8(width,9);
+			// bias it towards one so that erode has something to work with
+			for( int i = 0; i < input.data.length; i++ ) {
+				input.data[i] = (byte)(rand.nextInt(5) > 0 ? 1 : 0);
+			}
+			ImageBinaryPacked packed = BinaryImageOps.pack(input,null);
+
+			checkPacked(BinaryImageOps.erode4(input,null),BinaryImageOps.erode4(packed,null));
+			checkPacked(BinaryImageOps.dilate4(input,null),BinaryImageOps.dilate4(packed,null));
+			checkPacked(BinaryImageOps.edge4(input,null),BinaryImageOps.edge4(packed,null));
+			checkPacked(BinaryImageOps.erode8(input,null),BinaryImageOps.erode8(packed,null));
+			checkPacked(BinaryImageOps.dilate8(input,null),BinaryImageOps.dilate8(packed,null));
+			checkPacked(BinaryImageOps.edge8(input,null),BinaryImageOps.edge8(packed,null));
+		}
+	}
+
+	private void checkPacked( ImageUInt8 expected , ImageBinaryPacked found ) {
+		BoofTesting.assertEquals(expected,BinaryImageOps.unpack(found,null),0);
+
+		// bits outside the image must be zero
+		long mask = found.getLastWordMask();
+		int numWords = ImageBinaryPacked.wordsPerRow(found.width);
+		for( int y = 0; y < found.height; y++ ) {
+			long last = found.data[found.startIndex + y*found.stride + numWords-1];
+			assertEquals(0,last & ~mask);
+		}
+	}
 }
@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package boofcv.alg.filter.binary;
+
+import boofcv.alg.filter.binary.impl.ImplDistanceTransform;
+import boofcv.alg.misc.ImageTestingOps;
+import boofcv.misc.BoofConcurrency;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageSInt32;
+import boofcv.struct.image.ImageUInt8;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestDistanceTransformOps {
+
+	Random rand = new Random(234);
+	int width = 30;
+	int height = 25;
+
+	@Test
+	public void euclideanSq_S32() {
+		for( int numPoints = 1; numPoints < 50; numPoints += 12 ) {
+			ImageUInt8 input = createPoints(numPoints);
+
+			ImageSInt32 found = DistanceTransformOps.euclideanSq(input,(ImageSInt32)null);
+			ImageSInt32 expected = naive(input);
+			BoofTesting.assertEquals(expected,found,0);
+
+			// sub-images
+			ImageUInt8 subInput = BoofTesting.createSubImageOf(input);
+			ImageSInt32 subFound = BoofTesting.createSubImageOf(found);
+			DistanceTransformOps.euclideanSq(subInput,subFound);
+			BoofTesting.assertEquals(expected,subFound,0);
+		}
+	}
+
+	@Test
+	public void euclideanSq_F32() {
+		for( int numPoints = 1; numPoints < 50; numPoints += 12 ) {
+			ImageUInt8 input = createPoints(numPoints);
+
+			ImageFloat32 found = DistanceTransformOps.euclideanSq(input,(ImageFloat32)null);
+			ImageSInt32 expected = naive(input);
+			BoofTesting.assertEquals(expected,found,0);
+		}
+	}
+
+	@Test
+	public void euclidean() {
+		ImageUInt8 input = createPoints(10);
+
+		ImageFloat32 found = DistanceTransformOps.euclidean(input,null);
+		ImageSInt32 expected = naive(input);
+
+		for( int y = 0; y < height; y++ ) {
+			for( int x = 0; x < width; x++ ) {
+				assertEquals(Math.sqrt(expected.get(x,y)),found.get(x,y),1e-4);
+			}
+		}
+	}
+
+	/**
+	 * Image with no features should have every distance larger than the image
+	 */
+	@Test
+	public void noFeatures() {
+		ImageSInt32 found = DistanceTransformOps.euclideanSq(new ImageUInt8(width,height),(ImageSInt32)null);
+
+		int maxDistance = width*width + height*height;
+		for( int i = 0; i < found.data.length; i++ )
+			assertTrue(found.data[i] > maxDistance);
+	}
+
+	/**
+	 * Results should be identical when split up across threads
+	 */
+	@Test
+	public void concurrent() {
+		ImageUInt8 input = createPoints(20);
+		ImageSInt32 expected = naive(input);
+
+		int original = BoofConcurrency.getMaxThreads();
+		int originalBlock = ImplDistanceTransform.MIN_BLOCK;
+		try {
+			ImplDistanceTransform.MIN_BLOCK = 2;
+			BoofConcurrency.setMaxThreads(4);
+
+			BoofTesting.assertEquals(expected,DistanceTransformOps.euclideanSq(input,(ImageSInt32)null),0);
+			BoofTesting.assertEquals(expected,DistanceTransformOps.euclideanSq(input,(ImageFloat32)null),0);
+		} finally {
+			ImplDistanceTransform.MIN_BLOCK = originalBlock;
+			BoofConcurrency.setMaxThreads(original);
+		}
+	}
+
+	private ImageUInt8 createPoints( int numPoints ) {
+		ImageUInt8 input = new ImageUInt8(width,height);
+		for( int i = 0; i < numPoints; i++ ) {
+			input.set(rand.nextInt(width),rand.nextInt(height),1);
+		}
+		// add a line to make it more interesting
+		if( numPoints > 20 )
+			ImageTestingOps.fillRectangle(input,1,3,rand.nextInt(height),width-6,1);
+		return input;
+	}
+
+	private ImageSInt32 naive( ImageUInt8 input ) {
+		ImageSInt32 output = new ImageSInt32(input.width,input.height);
+
+		for( int y = 0; y < input.height; y++ ) {
+			for( int x = 0; x < input.width; x++ ) {
+				int best = Integer.MAX_VALUE;
+				for( int i = 0; i < input.height; i++ ) {
+					for( int j = 0; j < input.width; j++ ) {
+						if( input.get(j,i) == 0 )
+							continue;
+						int d = (x-j)*(x-j) + (y-i)*(y-i);
+						if( d < best )
+							best = d;
+					}
+				}
+				output.set(x,y,best);
+			}
+		}
+		return output;
+	}
+}
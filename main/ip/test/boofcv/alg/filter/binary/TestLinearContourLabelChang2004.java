@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package boofcv.alg.filter.binary;
+
+import boofcv.alg.misc.ImageTestingOps;
+import boofcv.struct.PackedContours;
+import boofcv.struct.image.ImageSInt32;
+import boofcv.struct.image.ImageUInt8;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestLinearContourLabelChang2004 {
+
+	Random rand = new Random(234);
+
+	/**
+	 * Compare the labeled image against labelBlobs8
+	 */
+	@Test
+	public void compareToLabelBlobs8() {
+		LinearContourLabelChang2004 alg = new LinearContourLabelChang2004();
+		PackedContours contours = new PackedContours(5,1);
+
+		for( int trial = 0; trial < 20; trial++ ) {
+			ImageUInt8 input = new ImageUInt8(25,20);
+			ImageTestingOps.randomize(input,rand,0,2);
+
+			ImageSInt32 expected = new ImageSInt32(25,20);
+			int numExpected = BinaryImageOps.labelBlobs8(input,expected);
+
+			ImageSInt32 found = BoofTesting.createSubImageOf(new ImageSInt32(25,20));
+			int numFound = alg.process(BoofTesting.createSubImageOf(input),found,contours);
+
+			assertEquals(numExpected,numFound);
+			checkSameLabels(expected,found,numFound);
+		}
+	}
+
+	/**
+	 * Every pixel with a 4-connect background neighbor must be in a contour with its label.  Every point in
+	 * a contour must be such a pixel and be 8-connected to the previous point.
+	 */
+	@Test
+	public void checkContours() {
+		LinearContourLabelChang2004 alg = new LinearContourLabelChang2004();
+		PackedContours contours = new PackedContours();
+
+		for( int trial = 0; trial < 20; trial++ ) {
+			ImageUInt8 input = new ImageUInt8(25,20);
+			ImageTestingOps.randomize(input,rand,0,2);
+
+			ImageSInt32 labeled = new ImageSInt32(25,20);
+			int numLabels = alg.process(input,labeled,contours);
+
+			ImageUInt8 marked = new ImageUInt8(25,20);
+			int numExternal = 0;
+			for( int i = 0; i < contours.size; i++ ) {
+				if( contours.external[i] )
+					numExternal++;
+
+				int N = contours.length(i);
+				for( int j = 0; j < N; j++ ) {
+					int x = contours.getX(i,j);
+					int y = contours.getY(i,j);
+					assertEquals(contours.labels[i],labeled.get(x,y));
+					assertTrue(isEdge(input,x,y));
+					marked.set(x,y,1);
+
+					int prev = (j+N-1)%N;
+					assertTrue(Math.abs(x-contours.getX(i,prev)) <= 1);
+					assertTrue(Math.abs(y-contours.getY(i,prev)) <= 1);
+				}
+			}
+			assertEquals(numLabels,numExternal);
+
+			for( int y = 0; y < input.height; y++ ) {
+				for( int x = 0; x < input.width; x++ ) {
+					if( input.get(x,y) == 1 && isEdge(input,x,y) )
+						assertEquals(1,marked.get(x,y));
+				}
+			}
+		}
+	}
+
+	/**
+	 * A square with a hole in it should have one external and one internal contour
+	 */
+	@Test
+	public void hole() {
+		ImageUInt8 input = new ImageUInt8(20,15);
+		ImageTestingOps.fillRectangle(input,1,2,3,10,8);
+		ImageTestingOps.fillRectangle(input,0,5,5,3,3);
+		input.set(15,10,1);
+
+		LinearContourLabelChang2004 alg = new LinearContourLabelChang2004();
+		PackedContours contours = new PackedContours();
+		assertEquals(2,alg.process(input,null,contours));
+
+		assertEquals(3,contours.size);
+		assertTrue(contours.external[0]);
+		assertEquals(1,contours.labels[0]);
+		assertEquals(2*10+2*6,contours.length(0));
+		assertFalse(contours.external[1]);
+		assertEquals(1,contours.labels[1]);
+		assertEquals(4*3,contours.length(1));
+		assertTrue(contours.external[2]);
+		assertEquals(2,contours.labels[2]);
+		assertEquals(1,contours.length(2));
+		assertEquals(15,contours.getX(2,0));
+		assertEquals(10,contours.getY(2,0));
+	}
+
+	private boolean isEdge( ImageUInt8 input , int x , int y ) {
+		return get(input,x-1,y) == 0 || get(input,x+1,y) == 0 || get(input,x,y-1) == 0 || get(input,x,y+1) == 0;
+	}
+
+	private int get( ImageUInt8 input , int x , int y ) {
+		if( input.isInBounds(x,y) )
+			return input.get(x,y);
+		return 0;
+	}
+
+	/**
+	 * Checks to see if the two labeled images describe the same blobs
+	 */
+	private void checkSameLabels( ImageSInt32 a , ImageSInt32 b , int numLabels ) {
+		int map[] = new int[ numLabels + 1 ];
+		for( int i = 0; i < map.length; i++ )
+			map[i] = -1;
+
+		for( int y = 0; y < a.height; y++ ) {
+			for( int x = 0; x < a.width; x++ ) {
+				int va = a.get(x,y);
+				int vb = b.get(x,y);
+				if( map[va] == -1 )
+					map[va] = vb;
+				else
+					assertEquals(map[va],vb);
+			}
+		}
+		assertEquals(0,map[0]);
+	}
+}
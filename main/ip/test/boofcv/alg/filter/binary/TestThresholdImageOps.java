@@ -21,6 +21,7 @@ package boofcv.alg.filter.binary;
 import boofcv.core.image.FactoryGImageSingleBand;
 import boofcv.core.image.GImageSingleBand;
 import boofcv.core.image.GeneralizedImageOps;
+import boofcv.struct.image.ImageBinaryPacked;
 import boofcv.struct.image.ImageSInt32;
 import boofcv.struct.image.ImageSingleBand;
 import boofcv.struct.image.ImageUInt8;
@@ -94,6 +95,43 @@ public class TestThresholdImageOps {
 		assertEquals(390, GeneralizedImageOps.sum(output),1e-4);
 	}
 
+	@Test
+	public void thresholdPacked() {
+
+		int total = 0;
+		Method[] list = ThresholdImageOps.class.getMethods();
+
+		for( Method m : list ) {
+			if( !m.getName().equals("thresholdPacked"))
+				continue;
+
+			Class param[] = m.getParameterTypes();
+
+			// make it wider than a single word
+			ImageSingleBand input = GeneralizedImageOps.createSingleBand(param[0], 70, height);
+			GImageSingleBand a = FactoryGImageSingleBand.wrap(input);
+			for( int y = 0; y < input.height; y++ ) {
+				for( int x = 0; x < input.width; x++ ) {
+					a.set(x,y,x);
+				}
+			}
+
+			for( boolean down : new boolean[]{true,false}) {
+				ImageUInt8 expected = GThresholdImageOps.threshold(input,null,50,down);
+				ImageBinaryPacked found = GThresholdImageOps.thresholdPacked(input,null,50,down);
+
+				for( int y = 0; y < input.height; y++ ) {
+					for( int x = 0; x < input.width; x++ ) {
+						assertEquals(expected.get(x,y),found.get(x,y));
+					}
+				}
+			}
+			total++;
+		}
+
+		assertEquals(6,total);
+	}
+
 	@Test
 	public void thresholdBlobs() {
 		int total = 0;
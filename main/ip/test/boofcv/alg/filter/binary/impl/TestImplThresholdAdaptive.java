@@ -0,0 +1,238 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package boofcv.alg.filter.binary.impl;
+
+import boofcv.alg.misc.ImageTestingOps;
+import boofcv.misc.BoofConcurrency;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageFloat64;
+import boofcv.struct.image.ImageUInt8;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestImplThresholdAdaptive {
+
+	Random rand = new Random(234);
+	int width = 25;
+	int height = 30;
+
+	@Test
+	public void localMean() {
+		ImageUInt8 input = new ImageUInt8(width,height);
+		ImageTestingOps.randomize(input,rand,0,100);
+		ImageFloat32 inputF = new ImageFloat32(width,height);
+		ImageTestingOps.randomize(inputF,rand,0,100);
+
+		for( int radius = 1; radius <= 4; radius += 3 ) {
+			for( int i = 0; i < 2; i++ ) {
+				boolean down = i == 0;
+
+				ImageUInt8 found = new ImageUInt8(width,height);
+				ImplThresholdAdaptive.localMean(input,found,radius,5,down,new ImageFloat64(width,height));
+				BoofTesting.assertEquals(naiveMean(input, radius, 5, down), found, 0);
+
+				ImplThresholdAdaptive.localMean(inputF,found,radius,5,down,new ImageFloat64(width,height));
+				BoofTesting.assertEquals(naiveMean(inputF, radius, 5, down), found, 0);
+			}
+		}
+	}
+
+	@Test
+	public void localSauvola() {
+		ImageUInt8 input = new ImageUInt8(width,height);
+		ImageTestingOps.randomize(input,rand,0,100);
+
+		for( int radius = 1; radius <= 4; radius += 3 ) {
+			for( int i = 0; i < 2; i++ ) {
+				boolean down = i == 0;
+
+				ImageUInt8 found = new ImageUInt8(width,height);
+				ImplThresholdAdaptive.localSauvola(input,found,radius,0.3f,128,down,
+						new ImageFloat64(width,height),new ImageFloat64(width,height));
+				BoofTesting.assertEquals(naiveSauvola(input, radius, 0.3f, 128, down), found, 0);
+			}
+		}
+	}
+
+	/**
+	 * The threshold should be the same as the input on a constant image and follow a step edge
+	 */
+	@Test
+	public void localGaussian() {
+		ImageUInt8 input = new ImageUInt8(width,height);
+		ImageTestingOps.fill(input,50);
+		ImageUInt8 found = new ImageUInt8(width,height);
+
+		ImplThresholdAdaptive.localGaussian(input,found,3,0,true,
+				new ImageFloat64(width,height),new ImageFloat32(width,height));
+		for( int i = 0; i < found.data.length; i++ )
+			assertEquals(1,found.data[i]);
+
+		ImplThresholdAdaptive.localGaussian(input,found,3,1,true,
+				new ImageFloat64(width,height),new ImageFloat32(width,height));
+		for( int i = 0; i < found.data.length; i++ )
+			assertEquals(0,found.data[i]);
+
+		// dark on the left and bright on the right
+		ImageTestingOps.fillRectangle(input,150,width/2,0,width-width/2,height);
+		ImplThresholdAdaptive.localGaussian(input,found,3,1,true,
+				new ImageFloat64(width,height),new ImageFloat32(width,height));
+		for( int y = 0; y < height; y++ ) {
+			assertEquals(1,found.get(width/2-1,y));
+			assertEquals(0,found.get(width/2,y));
+		}
+	}
+
+	@Test
+	public void gaussianBoxRadius() {
+		for( int i = 1; i < 10; i++ ) {
+			int r = ImplThresholdAdaptive.gaussianBoxRadius(i);
+			int w = r*2+1;
+			// the variance of the three box filters should be close to the Gaussian's
+			double variance = 3*(w*w-1)/12.0;
+			assertEquals(i*i,variance,i+1);
+		}
+	}
+
+	/**
+	 * Results should be identical when split up across threads
+	 */
+	@Test
+	public void concurrent() {
+		ImageUInt8 input = new ImageUInt8(width,height);
+		ImageTestingOps.randomize(input,rand,0,100);
+
+		int original = BoofConcurrency.getMaxThreads();
+		int originalBlock = ImplThresholdAdaptive.MIN_BLOCK;
+		try {
+			ImplThresholdAdaptive.MIN_BLOCK = 2;
+
+			BoofConcurrency.setMaxThreads(1);
+			ImageUInt8 expectedMean = new ImageUInt8(width,height);
+			ImageUInt8 expectedGaussian = new ImageUInt8(width,height);
+			ImageUInt8 expectedSauvola = new ImageUInt8(width,height);
+			process(input, expectedMean, expectedGaussian, expectedSauvola);
+
+			BoofConcurrency.setMaxThreads(4);
+			ImageUInt8 foundMean = new ImageUInt8(width,height);
+			ImageUInt8 foundGaussian = new ImageUInt8(width,height);
+			ImageUInt8 foundSauvola = new ImageUInt8(width,height);
+			process(input, foundMean, foundGaussian, foundSauvola);
+
+			BoofTesting.assertEquals(expectedMean,foundMean,0);
+			BoofTesting.assertEquals(expectedGaussian,foundGaussian,0);
+			BoofTesting.assertEquals(expectedSauvola,foundSauvola,0);
+		} finally {
+			ImplThresholdAdaptive.MIN_BLOCK = originalBlock;
+			BoofConcurrency.setMaxThreads(original);
+		}
+	}
+
+	private void process( ImageUInt8 input , ImageUInt8 mean , ImageUInt8 gaussian , ImageUInt8 sauvola ) {
+		ImageFloat64 integral = new ImageFloat64(width,height);
+		ImageFloat64 integralSq = new ImageFloat64(width,height);
+
+		ImplThresholdAdaptive.localMean(input,mean,3,2,true,integral);
+		ImplThresholdAdaptive.localGaussian(input,gaussian,2,2,true,integral,new ImageFloat32(width,height));
+		ImplThresholdAdaptive.localSauvola(input,sauvola,3,0.3f,128,true,integral,integralSq);
+	}
+
+	private ImageUInt8 naiveMean( ImageUInt8 input , int radius , double bias , boolean down ) {
+		ImageUInt8 output = new ImageUInt8(input.width,input.height);
+
+		for( int y = 0; y < input.height; y++ ) {
+			for( int x = 0; x < input.width; x++ ) {
+				double sum = 0;
+				int N = 0;
+				for( int i = y-radius; i <= y+radius; i++ ) {
+					for( int j = x-radius; j <= x+radius; j++ ) {
+						if( input.isInBounds(j,i) ) {
+							sum += input.get(j,i);
+							N++;
+						}
+					}
+				}
+				float threshold = (float)(sum/N) + (float)(down ? -bias : bias);
+				int v = input.get(x,y);
+				boolean inside = down ? v <= threshold : v >= threshold;
+				output.set(x,y,inside ? 1 : 0);
+			}
+		}
+		return output;
+	}
+
+	private ImageUInt8 naiveMean( ImageFloat32 input , int radius , double bias , boolean down ) {
+		ImageUInt8 output = new ImageUInt8(input.width,input.height);
+
+		for( int y = 0; y < input.height; y++ ) {
+			for( int x = 0; x < input.width; x++ ) {
+				double sum = 0;
+				int N = 0;
+				for( int i = y-radius; i <= y+radius; i++ ) {
+					for( int j = x-radius; j <= x+radius; j++ ) {
+						if( input.isInBounds(j,i) ) {
+							sum += input.get(j,i);
+							N++;
+						}
+					}
+				}
+				float threshold = (float)(sum/N) + (float)(down ? -bias : bias);
+				float v = input.get(x,y);
+				boolean inside = down ? v <= threshold : v >= threshold;
+				output.set(x,y,inside ? 1 : 0);
+			}
+		}
+		return output;
+	}
+
+	private ImageUInt8 naiveSauvola( ImageUInt8 input , int radius , float k , float R , boolean down ) {
+		ImageUInt8 output = new ImageUInt8(input.width,input.height);
+
+		for( int y = 0; y < input.height; y++ ) {
+			for( int x = 0; x < input.width; x++ ) {
+				double sum = 0, sumSq = 0;
+				int N = 0;
+				for( int i = y-radius; i <= y+radius; i++ ) {
+					for( int j = x-radius; j <= x+radius; j++ ) {
+						if( input.isInBounds(j,i) ) {
+							int v = input.get(j,i);
+							sum += v;
+							sumSq += v*v;
+							N++;
+						}
+					}
+				}
+				double mean = sum/N;
+				double stdev = Math.sqrt(Math.max(0,sumSq/N - mean*mean));
+				float threshold = (float)(mean*(1 + k*(stdev/R - 1)));
+
+				int v = input.get(x,y);
+				boolean inside = down ? v <= threshold : v >= threshold;
+				output.set(x,y,inside ? 1 : 0);
+			}
+		}
+		return output;
+	}
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.convolve;
+
+import boofcv.abst.filter.convolve.ConvolveInterface;
+import boofcv.abst.filter.convolve.GenericConvolveDown;
+import boofcv.alg.misc.ImageTestingOps;
+import boofcv.core.image.border.BorderType;
+import boofcv.factory.filter.convolve.FactoryConvolve;
+import boofcv.factory.filter.convolve.FactoryConvolveDown;
+import boofcv.factory.filter.kernel.FactoryKernelGaussian;
+import boofcv.misc.BoofConcurrency;
+import boofcv.struct.convolve.Kernel1D_F32;
+import boofcv.struct.convolve.Kernel1D_I32;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageUInt8;
+import boofcv.testing.BoofTesting;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Random;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestConvolveConcurrent {
+
+	Random rand = new Random(234);
+	int width = 45;
+	int height = 50;
+
+	int originalThreads;
+	int originalBlock;
+
+	@Before
+	public void before() {
+		originalThreads = BoofConcurrency.getMaxThreads();
+		originalBlock = ConvolveConcurrent.MIN_BLOCK;
+		ConvolveConcurrent.MIN_BLOCK = 2;
+		BoofConcurrency.setMaxThreads(4);
+	}
+
+	@After
+	public void after() {
+		ConvolveConcurrent.MIN_BLOCK = originalBlock;
+		BoofConcurrency.setMaxThreads(originalThreads);
+	}
+
+	/**
+	 * Compare against the convolution being applied to the whole image at once
+	 */
+	@Test
+	public void horizontal_vertical() {
+		Kernel1D_F32 kernel = FactoryKernelGaussian.gaussian(Kernel1D_F32.class,-1,3);
+
+		ImageFloat32 input = new ImageFloat32(width,height);
+		ImageTestingOps.randomize(input,rand,0,100);
+
+		for( int i = 0; i < 2; i++ ) {
+			boolean horizontal = i == 0;
+			ConvolveInterface<ImageFloat32,ImageFloat32> conv =
+					FactoryConvolve.convolve(kernel,ImageFloat32.class,ImageFloat32.class,
+							BorderType.NORMALIZED,horizontal);
+
+			ImageFloat32 expected = new ImageFloat32(width,height);
+			ImageFloat32 found = new ImageFloat32(width,height);
+
+			conv.process(input,expected);
+			if( horizontal )
+				ConvolveConcurrent.horizontal(conv,input,found);
+			else
+				ConvolveConcurrent.vertical(conv,input,found,kernel.getWidth()+1);
+
+			BoofTesting.assertEquals(expected,found,0,1e-4f);
+		}
+	}
+
+	/**
+	 * Down sampling convolution with an integer image
+	 */
+	@Test
+	public void horizontal_vertical_down() {
+		Kernel1D_I32 kernel = FactoryKernelGaussian.gaussian(Kernel1D_I32.class,-1,2);
+
+		ImageUInt8 input = new ImageUInt8(width,height);
+		ImageTestingOps.randomize(input,rand,0,100);
+		int skip = 2;
+
+		GenericConvolveDown<ImageUInt8,ImageUInt8> horizontal =
+				FactoryConvolveDown.convolve(kernel,ImageUInt8.class,ImageUInt8.class,BorderType.NORMALIZED,true,skip);
+		GenericConvolveDown<ImageUInt8,ImageUInt8> vertical =
+				FactoryConvolveDown.convolve(kernel,ImageUInt8.class,ImageUInt8.class,BorderType.NORMALIZED,false,skip);
+
+		ImageUInt8 expected = new ImageUInt8(width/skip,height);
+		ImageUInt8 found = new ImageUInt8(width/skip,height);
+
+		horizontal.process(input,expected);
+		ConvolveConcurrent.horizontal(horizontal,input,found);
+		BoofTesting.assertEquals(expected,found,0);
+
+		// output has an extra column, like a pyramid layer with an odd width
+		ImageUInt8 expectedV = new ImageUInt8(expected.width+1,height/skip);
+		ImageUInt8 foundV = new ImageUInt8(expected.width+1,height/skip);
+
+		vertical.process(expected,expectedV);
+		ConvolveConcurrent.vertical(vertical,expected,foundV,kernel.getWidth()+1);
+		BoofTesting.assertEquals(expectedV,foundV,0);
+	}
+
+	/**
+	 * Sub-images should be handled correctly
+	 */
+	@Test
+	public void subimage() {
+		Kernel1D_F32 kernel = FactoryKernelGaussian.gaussian(Kernel1D_F32.class,-1,3);
+		ConvolveInterface<ImageFloat32,ImageFloat32> conv =
+				FactoryConvolve.convolve(kernel,ImageFloat32.class,ImageFloat32.class,
+						BorderType.NORMALIZED,false);
+
+		ImageFloat32 input = new ImageFloat32(width,height);
+		ImageTestingOps.randomize(input,rand,0,100);
+		ImageFloat32 expected = new ImageFloat32(width,height);
+		conv.process(input,expected);
+
+		ImageFloat32 subInput = BoofTesting.createSubImageOf(input);
+		ImageFloat32 found = BoofTesting.createSubImageOf(new ImageFloat32(width,height));
+		ConvolveConcurrent.vertical(conv,subInput,found,kernel.getWidth()+1);
+
+		BoofTesting.assertEquals(expected,found,0,1e-4f);
+	}
+}
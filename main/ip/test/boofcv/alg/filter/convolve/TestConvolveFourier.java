@@ -0,0 +1,187 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.filter.convolve;
+
+import boofcv.alg.misc.ImageTestingOps;
+import boofcv.core.image.border.BorderType;
+import boofcv.core.image.border.FactoryImageBorder;
+import boofcv.core.image.border.ImageBorder_F32;
+import boofcv.struct.convolve.Kernel2D_F32;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestConvolveFourier {
+
+	Random rand = new Random(234);
+
+	// multiple tiles and the number of tiles is not even
+	int width = 150;
+	int height = 61;
+
+	/**
+	 * Compare against the direct convolution.  Border should not be modified
+	 */
+	@Test
+	public void convolve_noBorder() {
+		for( int kernelWidth : new int[]{1,5,15,21} ) {
+			Kernel2D_F32 kernel = createKernel(kernelWidth);
+
+			ImageFloat32 input = new ImageFloat32(width,height);
+			ImageTestingOps.randomize(input,rand,0,100);
+
+			ImageFloat32 expected = new ImageFloat32(width,height);
+			ImageFloat32 found = new ImageFloat32(width,height);
+			ImageTestingOps.fill(expected,-2);
+			ImageTestingOps.fill(found,-2);
+
+			ConvolveImageNoBorder.convolve(kernel,input,expected);
+			ConvolveFourier.convolve(kernel,BoofTesting.createSubImageOf(input),found);
+
+			assertImagesEqual(expected,found);
+		}
+	}
+
+	/**
+	 * Compare against the direct convolution with different types of borders
+	 */
+	@Test
+	public void convolve_border() {
+		BorderType types[] = new BorderType[]{BorderType.EXTENDED,BorderType.REFLECT,BorderType.WRAP};
+
+		for( int kernelWidth : new int[]{5,15,21} ) {
+			Kernel2D_F32 kernel = createKernel(kernelWidth);
+
+			ImageFloat32 input = new ImageFloat32(width,height);
+			ImageTestingOps.randomize(input,rand,0,100);
+
+			for( int i = 0; i <= types.length; i++ ) {
+				ImageBorder_F32 border;
+				if( i < types.length )
+					border = (ImageBorder_F32)FactoryImageBorder.general(ImageFloat32.class,types[i]);
+				else
+					border = (ImageBorder_F32)FactoryImageBorder.value(ImageFloat32.class,12);
+
+				ImageFloat32 expected = new ImageFloat32(width,height);
+				ImageFloat32 found = BoofTesting.createSubImageOf(new ImageFloat32(width,height));
+
+				ConvolveWithBorder.convolve(kernel,input,expected,border);
+				ConvolveFourier.convolve(kernel,input,found,border);
+
+				assertImagesEqual(expected,found);
+			}
+		}
+	}
+
+	/**
+	 * The image is smaller than the kernel, which the direct implementation can't handle
+	 */
+	@Test
+	public void smallImage() {
+		Kernel2D_F32 kernel = createKernel(21);
+		ImageBorder_F32 border = (ImageBorder_F32)FactoryImageBorder.general(ImageFloat32.class,BorderType.EXTENDED);
+
+		ImageFloat32 input = new ImageFloat32(7,12);
+		ImageTestingOps.randomize(input,rand,0,100);
+
+		ImageFloat32 expected = new ImageFloat32(7,12);
+		ImageFloat32 found = new ImageFloat32(7,12);
+
+		border.setImage(input);
+		for( int y = 0; y < input.height; y++ ) {
+			for( int x = 0; x < input.width; x++ ) {
+				float total = 0;
+				for( int i = 0; i < kernel.width; i++ ) {
+					for( int j = 0; j < kernel.width; j++ ) {
+						total += border.get(x+j-10,y+i-10)*kernel.get(j,i);
+					}
+				}
+				expected.set(x,y,total);
+			}
+		}
+		ConvolveFourier.convolve(kernel,input,found,border);
+		assertImagesEqual(expected,found);
+
+		// nothing should be processed
+		ImageTestingOps.fill(found,-2);
+		ConvolveFourier.convolve(kernel,input,found);
+		assertEquals(-2,found.get(3,5),0);
+	}
+
+	/**
+	 * GConvolveImageOps should select the FFT for large kernels and produce the same results
+	 */
+	@Test
+	public void selectedByGConvolve() {
+		Kernel2D_F32 kernel = createKernel(ConvolveFourier.MIN_KERNEL_WIDTH);
+		ImageBorder_F32 border = (ImageBorder_F32)FactoryImageBorder.general(ImageFloat32.class,BorderType.EXTENDED);
+
+		ImageFloat32 input = new ImageFloat32(width,height);
+		ImageTestingOps.randomize(input,rand,0,100);
+
+		ImageFloat32 expected = new ImageFloat32(width,height);
+		ImageFloat32 found = new ImageFloat32(width,height);
+
+		ConvolveWithBorder.convolve(kernel,input,expected,border);
+		GConvolveImageOps.convolve(kernel,input,found,border);
+		assertImagesEqual(expected,found);
+
+		ConvolveImageNoBorder.convolve(kernel,input,expected);
+		GConvolveImageOps.convolve(kernel,input,found);
+		assertImagesEqual(expected,found);
+	}
+
+	@Test
+	public void selectTransformWidth() {
+		int w = ConvolveFourier.selectTransformWidth(15,1000,1000);
+		assertEquals(64,w);
+		// should not be larger than the region
+		w = ConvolveFourier.selectTransformWidth(15,10,12);
+		assertEquals(32,w);
+		assertTrue(w - 14 > 0);
+	}
+
+	private Kernel2D_F32 createKernel( int width ) {
+		Kernel2D_F32 kernel = new Kernel2D_F32(width);
+		for( int i = 0; i < kernel.data.length; i++ )
+			kernel.data[i] = rand.nextFloat()*2-1;
+		return kernel;
+	}
+
+	/**
+	 * The direct convolution accumulates in single precision, so the tolerance is fairly loose
+	 */
+	private static void assertImagesEqual( ImageFloat32 expected , ImageFloat32 found ) {
+		for( int y = 0; y < expected.height; y++ ) {
+			for( int x = 0; x < expected.width; x++ ) {
+				float e = expected.get(x,y);
+				assertEquals(e,found.get(x,y),1e-2 + Math.abs(e)*1e-4);
+			}
+		}
+	}
+}
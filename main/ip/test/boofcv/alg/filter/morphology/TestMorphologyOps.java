@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.morphology;
+
+import boofcv.alg.filter.binary.BinaryImageOps;
+import boofcv.alg.misc.ImageTestingOps;
+import boofcv.core.image.FactoryGImageSingleBand;
+import boofcv.core.image.GImageSingleBand;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageSingleBand;
+import boofcv.struct.image.ImageUInt8;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestMorphologyOps {
+
+	Random rand = new Random(234);
+
+	int width = 25;
+	int height = 18;
+
+	@Test
+	public void rectangle_U8() {
+		ImageUInt8 input = new ImageUInt8(width,height);
+		ImageTestingOps.randomize(input,rand,0,200);
+
+		for( int radiusX = 0; radiusX < 5; radiusX++ ) {
+			for( int radiusY = 0; radiusY < 5; radiusY++ ) {
+				checkRectangle(input, radiusX, radiusY);
+				checkRectangle(BoofTesting.createSubImageOf(input), radiusX, radiusY);
+			}
+		}
+	}
+
+	private void checkRectangle( ImageUInt8 input , int radiusX , int radiusY ) {
+		ImageUInt8 expected = new ImageUInt8(width,height);
+
+		naive(input,expected,radiusX,radiusY,0,0,true);
+		BoofTesting.assertEquals(expected, MorphologyOps.erode(input, null, radiusX, radiusY), 0);
+		naive(input,expected,radiusX,radiusY,0,0,false);
+		BoofTesting.assertEquals(expected, MorphologyOps.dilate(input, null, radiusX, radiusY), 0);
+
+		ImageUInt8 work = new ImageUInt8(width,height);
+		naive(input,work,radiusX,radiusY,0,0,true);
+		naive(work,expected,radiusX,radiusY,0,0,false);
+		BoofTesting.assertEquals(expected, MorphologyOps.open(input, null, radiusX, radiusY), 0);
+
+		naive(input,work,radiusX,radiusY,0,0,false);
+		naive(work,expected,radiusX,radiusY,0,0,true);
+		BoofTesting.assertEquals(expected, MorphologyOps.close(input, null, radiusX, radiusY), 0);
+	}
+
+	@Test
+	public void rectangle_F32() {
+		ImageFloat32 input = new ImageFloat32(width,height);
+		ImageTestingOps.randomize(input,rand,-10,10);
+		ImageFloat32 expected = new ImageFloat32(width,height);
+
+		for( int radiusX = 0; radiusX < 5; radiusX++ ) {
+			for( int radiusY = 0; radiusY < 5; radiusY++ ) {
+				naive(input,expected,radiusX,radiusY,0,0,true);
+				BoofTesting.assertEquals(expected, MorphologyOps.erode(input, null, radiusX, radiusY), 0, 1e-8);
+				naive(input,expected,radiusX,radiusY,0,0,false);
+				BoofTesting.assertEquals(expected, MorphologyOps.dilate(input, null, radiusX, radiusY), 0, 1e-8);
+			}
+		}
+	}
+
+	@Test
+	public void line_U8() {
+		ImageUInt8 input = new ImageUInt8(width,height);
+		ImageTestingOps.randomize(input,rand,0,200);
+		ImageUInt8 expected = new ImageUInt8(width,height);
+
+		for( int radius = 1; radius < 6; radius++ ) {
+			for( LineOrientation o : LineOrientation.values() ) {
+				int dx = o == LineOrientation.VERTICAL ? 0 : 1;
+				int dy = o == LineOrientation.HORIZONTAL ? 0 : (o == LineOrientation.ANTI_DIAGONAL ? -1 : 1);
+
+				naive(input,expected,radius,0,dx,dy,true);
+				BoofTesting.assertEquals(expected, MorphologyOps.erodeLine(input, null, radius, o), 0);
+				naive(input,expected,radius,0,dx,dy,false);
+				BoofTesting.assertEquals(expected, MorphologyOps.dilateLine(input, null, radius, o), 0);
+			}
+		}
+	}
+
+	@Test
+	public void line_F32() {
+		ImageFloat32 input = new ImageFloat32(width,height);
+		ImageTestingOps.randomize(input,rand,-10,10);
+		ImageFloat32 expected = new ImageFloat32(width,height);
+
+		for( int radius = 1; radius < 6; radius++ ) {
+			for( LineOrientation o : LineOrientation.values() ) {
+				int dx = o == LineOrientation.VERTICAL ? 0 : 1;
+				int dy = o == LineOrientation.HORIZONTAL ? 0 : (o == LineOrientation.ANTI_DIAGONAL ? -1 : 1);
+
+				naive(input,expected,radius,0,dx,dy,true);
+				BoofTesting.assertEquals(expected, MorphologyOps.erodeLine(input, null, radius, o), 0, 1e-8);
+				naive(input,expected,radius,0,dx,dy,false);
+				BoofTesting.assertEquals(expected, MorphologyOps.dilateLine(input, null, radius, o), 0, 1e-8);
+			}
+		}
+	}
+
+	/**
+	 * Input and output are the same image
+	 */
+	@Test
+	public void inplace() {
+		ImageUInt8 input = new ImageUInt8(width,height);
+		ImageTestingOps.randomize(input,rand,0,200);
+
+		ImageUInt8 expected = MorphologyOps.close(input, null, 3, 2);
+		MorphologyOps.close(input, input, 3, 2);
+
+		BoofTesting.assertEquals(expected, input, 0);
+	}
+
+	/**
+	 * A 3x3 rectangle on a binary image should produce the same results as the 8-connect binary operations
+	 */
+	@Test
+	public void compareToBinary() {
+		ImageUInt8 input = new ImageUInt8(width,height);
+		for( int i = 0; i < input.data.length; i++ ) {
+			input.data[i] = (byte)(rand.nextInt(5) > 0 ? 1 : 0);
+		}
+
+		BoofTesting.assertEquals(BinaryImageOps.erode8(input, null), MorphologyOps.erode(input, null, 1, 1), 0);
+		BoofTesting.assertEquals(BinaryImageOps.dilate8(input, null), MorphologyOps.dilate(input, null, 1, 1), 0);
+	}
+
+	/**
+	 * Brute force min/max filter.  If dx or dy is not zero then a line along that direction is used, otherwise
+	 * a rectangle.
+	 */
+	private void naive( ImageSingleBand input , ImageSingleBand output ,
+						int radiusX , int radiusY , int dx , int dy , boolean erode ) {
+		GImageSingleBand in = FactoryGImageSingleBand.wrap(input);
+		GImageSingleBand out = FactoryGImageSingleBand.wrap(output);
+
+		for( int y = 0; y < input.height; y++ ) {
+			for( int x = 0; x < input.width; x++ ) {
+				double best = erode ? Double.MAX_VALUE : -Double.MAX_VALUE;
+
+				if( dx == 0 && dy == 0 ) {
+					for( int i = -radiusY; i <= radiusY; i++ ) {
+						for( int j = -radiusX; j <= radiusX; j++ ) {
+							best = update(in,x+j,y+i,best,erode);
+						}
+					}
+				} else {
+					for( int i = -radiusX; i <= radiusX; i++ ) {
+						best = update(in,x+i*dx,y+i*dy,best,erode);
+					}
+				}
+				out.set(x,y,best);
+			}
+		}
+	}
+
+	private double update( GImageSingleBand in , int x , int y , double best , boolean erode ) {
+		if( !in.getImage().isInBounds(x,y) )
+			return best;
+		double v = in.get(x,y).doubleValue();
+		return erode ? Math.min(v,best) : Math.max(v,best);
+	}
+}
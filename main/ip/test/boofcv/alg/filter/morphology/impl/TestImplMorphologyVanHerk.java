@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.morphology.impl;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestImplMorphologyVanHerk {
+
+	Random rand = new Random(234);
+
+	@Test
+	public void min_max_I32() {
+		for( int N = 1; N < 20; N++ ) {
+			for( int k = 1; k <= N; k++ ) {
+				int data[] = new int[N];
+				for( int i = 0; i < N; i++ )
+					data[i] = rand.nextInt(100);
+
+				int found[] = data.clone();
+				ImplMorphologyVanHerk.min(found,new int[N],new int[N],N,k);
+				for( int i = 0; i < N-k+1; i++ ) {
+					int expected = Integer.MAX_VALUE;
+					for( int j = 0; j < k; j++ )
+						expected = Math.min(expected,data[i+j]);
+					assertEquals(expected,found[i]);
+				}
+
+				found = data.clone();
+				ImplMorphologyVanHerk.max(found,new int[N],new int[N],N,k);
+				for( int i = 0; i < N-k+1; i++ ) {
+					int expected = Integer.MIN_VALUE;
+					for( int j = 0; j < k; j++ )
+						expected = Math.max(expected,data[i+j]);
+					assertEquals(expected,found[i]);
+				}
+			}
+		}
+	}
+
+	@Test
+	public void min_max_F32() {
+		for( int N = 1; N < 20; N++ ) {
+			for( int k = 1; k <= N; k++ ) {
+				float data[] = new float[N];
+				for( int i = 0; i < N; i++ )
+					data[i] = rand.nextFloat();
+
+				float found[] = data.clone();
+				ImplMorphologyVanHerk.min(found,new float[N],new float[N],N,k);
+				for( int i = 0; i < N-k+1; i++ ) {
+					float expected = Float.MAX_VALUE;
+					for( int j = 0; j < k; j++ )
+						expected = Math.min(expected,data[i+j]);
+					assertEquals(expected,found[i],1e-8);
+				}
+
+				found = data.clone();
+				ImplMorphologyVanHerk.max(found,new float[N],new float[N],N,k);
+				for( int i = 0; i < N-k+1; i++ ) {
+					float expected = -Float.MAX_VALUE;
+					for( int j = 0; j < k; j++ )
+						expected = Math.max(expected,data[i+j]);
+					assertEquals(expected,found[i],1e-8);
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package boofcv.alg.transform.gss;
+
+import boofcv.abst.filter.derivative.ImageGradient;
+import boofcv.alg.filter.blur.BlurImageOps;
+import boofcv.core.image.GeneralizedImageOps;
+import boofcv.core.image.ImageGenerator;
+import boofcv.core.image.inst.SingleBandGenerator;
+import boofcv.factory.filter.derivative.FactoryDerivative;
+import boofcv.factory.filter.kernel.FactoryKernelGaussian;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.testing.BoofTesting;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+
+/**
+ * @author Peter Abeles
+ */
+public class TestIncrementalScaleSpace {
+
+	Random rand = new Random(234);
+	int width = 60;
+	int height = 50;
+
+	ImageGenerator<ImageFloat32> generator = new SingleBandGenerator<ImageFloat32>(ImageFloat32.class);
+
+	ImageFloat32 original = new ImageFloat32(width,height);
+
+	@Before
+	public void setup() {
+		GeneralizedImageOps.randomize(original,rand,0,40);
+	}
+
+	/**
+	 * Compare against blurring the original image directly.  Away from the border they should be very similar.
+	 */
+	@Test
+	public void getScaledImage() {
+		IncrementalScaleSpace<ImageFloat32,ImageFloat32> alg =
+				new IncrementalScaleSpace<ImageFloat32,ImageFloat32>(generator,generator,false);
+
+		double scales[] = new double[]{1.2,2.3,3.5};
+		alg.setScales(scales);
+		alg.setImage(original);
+
+		// process the levels out of order to make sure dependencies are handled
+		for( int level : new int[]{2,0,1} ) {
+			alg.setActiveScale(level);
+			ImageFloat32 found = alg.getScaledImage();
+
+			double sigma = scales[level];
+			int radius = FactoryKernelGaussian.radiusForSigma(sigma,0);
+			ImageFloat32 expected = BlurImageOps.gaussian(original,null,sigma,radius,null);
+
+			assertEquals(sigma,alg.getCurrentScale(),1e-8);
+			BoofTesting.assertEquals(expected,found,12,0.5);
+		}
+	}
+
+	@Test
+	public void getDerivative() {
+		IncrementalScaleSpace<ImageFloat32,ImageFloat32> alg =
+				new IncrementalScaleSpace<ImageFloat32,ImageFloat32>(generator,generator,false);
+
+		ImageGradient<ImageFloat32,ImageFloat32> g =  FactoryDerivative.three_F32();
+
+		ImageFloat32 derivX = new ImageFloat32(width,height);
+		ImageFloat32 derivY = new ImageFloat32(width,height);
+		ImageFloat32 derivXX = new ImageFloat32(width,height);
+		ImageFloat32 derivXY = new ImageFloat32(width,height);
+
+		alg.setScales(1.2,2.3,3.5);
+		alg.setImage(original);
+		alg.setActiveScale(1);
+
+		g.process(alg.getScaledImage(),derivX,derivY);
+		g.process(derivX,derivXX,derivXY);
+
+		BoofTesting.assertEquals(derivXY,alg.getDerivative(true,false),0,1e-4);
+		BoofTesting.assertEquals(derivX,alg.getDerivative(true),0,1e-4);
+		BoofTesting.assertEquals(derivY,alg.getDerivative(false),0,1e-4);
+		BoofTesting.assertEquals(derivXX,alg.getDerivative(true,true),0,1e-4);
+
+		// derivatives of other levels should be cached independently
+		alg.setActiveScale(2);
+		ImageFloat32 found = alg.getDerivative(true);
+		alg.setActiveScale(1);
+		BoofTesting.assertEquals(derivX,alg.getDerivative(true),0,1e-4);
+		alg.setActiveScale(2);
+		assertTrue(found == alg.getDerivative(true));
+	}
+
+	/**
+	 * When a new image is set all the levels should be recomputed
+	 */
+	@Test
+	public void setImage_recompute() {
+		IncrementalScaleSpace<ImageFloat32,ImageFloat32> alg =
+				new IncrementalScaleSpace<ImageFloat32,ImageFloat32>(generator,generator,false);
+		alg.setScales(1.2,2.3);
+		alg.setImage(original);
+		alg.setActiveScale(1);
+		ImageFloat32 first = alg.getScaledImage().clone();
+		alg.getDerivative(true);
+
+		ImageFloat32 other = new ImageFloat32(width,height);
+		GeneralizedImageOps.randomize(other,rand,0,40);
+		alg.setImage(other);
+		alg.setActiveScale(1);
+
+		IncrementalScaleSpace<ImageFloat32,ImageFloat32> fresh =
+				new IncrementalScaleSpace<ImageFloat32,ImageFloat32>(generator,generator,false);
+		fresh.setScales(1.2,2.3);
+		fresh.setImage(other);
+		fresh.setActiveScale(1);
+
+		BoofTesting.assertEquals(fresh.getScaledImage(),alg.getScaledImage(),0,1e-4);
+		BoofTesting.assertEquals(fresh.getDerivative(true),alg.getDerivative(true),0,1e-4);
+	}
+
+	@Test
+	public void decimate() {
+		IncrementalScaleSpace<ImageFloat32,ImageFloat32> alg =
+				new IncrementalScaleSpace<ImageFloat32,ImageFloat32>(generator,generator,true);
+
+		double scales[] = new double[]{1,1.5,2.5,4.5};
+		alg.setScales(scales);
+		alg.setImage(original);
+
+		int expectedFactor[] = new int[]{1,1,2,4};
+		for( int level = 0; level < scales.length; level++ ) {
+			alg.setActiveScale(level);
+			int factor = alg.getSampleFactor(level);
+			assertEquals(expectedFactor[level],factor);
+
+			ImageFloat32 found = alg.getScaledImage();
+			assertEquals(width/factor,found.width);
+			assertEquals(height/factor,found.height);
+
+			// compare against the original image blurred and then decimated
+			double sigma = scales[level];
+			int radius = FactoryKernelGaussian.radiusForSigma(sigma,0);
+			ImageFloat32 expected = BlurImageOps.gaussian(original,null,sigma,radius,null);
+
+			int border = 12/factor;
+			for( int y = border; y < found.height-border; y++ ) {
+				for( int x = border; x < found.width-border; x++ ) {
+					assertEquals(expected.get(x*factor,y*factor),found.get(x,y),1.5);
+				}
+			}
+		}
+	}
+
+	@Test(expected=IllegalArgumentException.class)
+	public void setScales_notIncreasing() {
+		IncrementalScaleSpace<ImageFloat32,ImageFloat32> alg =
+				new IncrementalScaleSpace<ImageFloat32,ImageFloat32>(generator,generator,false);
+		alg.setScales(1.2,3,2.3);
+	}
+}
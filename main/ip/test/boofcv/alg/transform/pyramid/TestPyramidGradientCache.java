@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.transform.pyramid;
+
+import boofcv.abst.filter.derivative.ImageGradient;
+import boofcv.alg.misc.ImageTestingOps;
+import boofcv.factory.filter.derivative.FactoryDerivative;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.pyramid.PyramidDiscrete;
+import boofcv.struct.pyramid.PyramidFloat;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestPyramidGradientCache {
+
+	Random rand = new Random(234);
+	int width = 60;
+	int height = 70;
+
+	ImageGradient<ImageFloat32,ImageFloat32> gradient =
+			FactoryDerivative.sobel(ImageFloat32.class,ImageFloat32.class);
+
+	/**
+	 * Compare against the gradient computed using PyramidOps
+	 */
+	@Test
+	public void compareToPyramidOps() {
+		PyramidDiscrete<ImageFloat32> pyramid = new PyramidDiscrete<ImageFloat32>(ImageFloat32.class,false,1,2,4);
+		pyramid.initialize(width,height);
+		PyramidOps.randomize(pyramid,rand,0,100);
+
+		PyramidDiscrete<ImageFloat32> expectedX = new PyramidDiscrete<ImageFloat32>(ImageFloat32.class,false,1,2,4);
+		PyramidDiscrete<ImageFloat32> expectedY = new PyramidDiscrete<ImageFloat32>(ImageFloat32.class,false,1,2,4);
+		PyramidOps.gradient(pyramid,gradient,expectedX,expectedY);
+
+		PyramidGradientCache<ImageFloat32,ImageFloat32> alg =
+				new PyramidGradientCache<ImageFloat32,ImageFloat32>(gradient,ImageFloat32.class);
+		alg.setInput(pyramid);
+
+		assertEquals(3,alg.getDerivX().getNumLayers());
+		for( int i = 0; i < 3; i++ ) {
+			assertEquals(pyramid.getScale(i),alg.getDerivX().getScale(i),1e-8);
+			BoofTesting.assertEquals(expectedX.getLayer(i),alg.getDerivX(i),0,1e-4);
+			BoofTesting.assertEquals(expectedY.getLayer(i),alg.getDerivY(i),0,1e-4);
+		}
+	}
+
+	/**
+	 * The gradient should only be computed again after the input has been set
+	 */
+	@Test
+	public void cached() {
+		PyramidFloat<ImageFloat32> pyramid = new PyramidFloat<ImageFloat32>(ImageFloat32.class,1,1.5,3);
+		pyramid.initialize(width,height);
+		PyramidOps.randomize(pyramid,rand,0,100);
+
+		PyramidGradientCache<ImageFloat32,ImageFloat32> alg =
+				new PyramidGradientCache<ImageFloat32,ImageFloat32>(gradient,ImageFloat32.class);
+		alg.setInput(pyramid);
+		assertTrue(alg.isStale());
+
+		ImageFloat32 derivX = alg.getDerivX(1);
+		ImageFloat32 before = derivX.clone();
+		assertFalse(alg.isStale());
+
+		// modify the pyramid.  Nothing should change until the input is set again
+		ImageTestingOps.fill(pyramid.getLayer(1),5);
+		assertTrue(derivX == alg.getDerivX(1));
+		BoofTesting.assertEquals(before,alg.getDerivX(1),0,1e-4);
+
+		alg.setInput(pyramid);
+		assertTrue(alg.isStale());
+		// same instance should be reused
+		assertTrue(derivX == alg.getDerivX(1));
+		assertEquals(0,alg.getDerivX(1).get(10,10),1e-4);
+	}
+
+	/**
+	 * If the shape of the input changes the pyramid should be declared again
+	 */
+	@Test
+	public void changeShape() {
+		PyramidFloat<ImageFloat32> pyramid = new PyramidFloat<ImageFloat32>(ImageFloat32.class,1,2);
+		pyramid.initialize(width,height);
+
+		PyramidGradientCache<ImageFloat32,ImageFloat32> alg =
+				new PyramidGradientCache<ImageFloat32,ImageFloat32>(gradient,ImageFloat32.class);
+		alg.setInput(pyramid);
+		assertEquals(width/2,alg.getDerivY(1).width);
+
+		pyramid = new PyramidFloat<ImageFloat32>(ImageFloat32.class,1,3,6);
+		pyramid.initialize(width+6,height);
+		alg.setInput(pyramid);
+
+		assertEquals(3,alg.getDerivY().getNumLayers());
+		for( int i = 0; i < 3; i++ ) {
+			assertEquals(pyramid.getLayer(i).width,alg.getDerivY(i).width);
+			assertEquals(pyramid.getLayer(i).height,alg.getDerivY(i).height);
+		}
+	}
+
+	@Test(expected=IllegalArgumentException.class)
+	public void noInput() {
+		PyramidGradientCache<ImageFloat32,ImageFloat32> alg =
+				new PyramidGradientCache<ImageFloat32,ImageFloat32>(gradient,ImageFloat32.class);
+		alg.getDerivX();
+	}
+}
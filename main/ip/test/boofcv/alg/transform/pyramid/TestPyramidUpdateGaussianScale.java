@@ -20,10 +20,13 @@ package boofcv.alg.transform.pyramid;
 
 import boofcv.abst.filter.blur.BlurFilter;
 import boofcv.alg.distort.DistortImageOps;
+import boofcv.alg.filter.convolve.ConvolveConcurrent;
 import boofcv.alg.interpolate.InterpolatePixel;
 import boofcv.alg.interpolate.TypeInterpolate;
+import boofcv.alg.misc.ImageTestingOps;
 import boofcv.factory.filter.blur.FactoryBlurFilter;
 import boofcv.factory.interpolate.FactoryInterpolation;
+import boofcv.misc.BoofConcurrency;
 import boofcv.misc.BoofMiscOps;
 import boofcv.struct.image.ImageFloat32;
 import boofcv.struct.pyramid.ImagePyramid;
@@ -84,6 +87,40 @@ public class TestPyramidUpdateGaussianScale extends GenericPyramidUpdateTests<Im
 		BoofTesting.assertEquals(expected,found,0,1e-4);
 	}
 
+	/**
+	 * Results should be identical when split up across threads
+	 */
+	@Test
+	public void concurrent() {
+		ImageFloat32 input = new ImageFloat32(width,height);
+		ImageTestingOps.randomize(input,rand,0,100);
+
+		InterpolatePixel<ImageFloat32> interp = FactoryInterpolation.bilinearPixel(input);
+		PyramidUpdateGaussianScale<ImageFloat32> alg = new PyramidUpdateGaussianScale <ImageFloat32>(interp,sigmas);
+
+		PyramidFloat<ImageFloat32> expected = new PyramidFloat<ImageFloat32>(imageType,3,5);
+		PyramidFloat<ImageFloat32> found = new PyramidFloat<ImageFloat32>(imageType,3,5);
+
+		int original = BoofConcurrency.getMaxThreads();
+		int originalBlock = ConvolveConcurrent.MIN_BLOCK;
+		try {
+			BoofConcurrency.setMaxThreads(1);
+			alg.update(input,expected);
+
+			ConvolveConcurrent.MIN_BLOCK = 2;
+			BoofConcurrency.setMaxThreads(4);
+			alg.update(input,found);
+			alg.update(input,found);
+		} finally {
+			ConvolveConcurrent.MIN_BLOCK = originalBlock;
+			BoofConcurrency.setMaxThreads(original);
+		}
+
+		for( int i = 0; i < expected.getNumLayers(); i++ ) {
+			BoofTesting.assertEquals(expected.getLayer(i),found.getLayer(i),0,1e-4f);
+		}
+	}
+
 	@Override
 	protected PyramidUpdater createUpdater() {
 		InterpolatePixel<ImageFloat32> interp = FactoryInterpolation.bilinearPixel(imageType);
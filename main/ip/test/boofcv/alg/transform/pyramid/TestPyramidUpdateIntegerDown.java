@@ -18,8 +18,11 @@
 
 package boofcv.alg.transform.pyramid;
 
+import boofcv.alg.filter.convolve.ConvolveConcurrent;
 import boofcv.alg.filter.convolve.ConvolveNormalized;
+import boofcv.alg.misc.ImageTestingOps;
 import boofcv.factory.filter.kernel.FactoryKernelGaussian;
+import boofcv.misc.BoofConcurrency;
 import boofcv.struct.convolve.Kernel1D_F32;
 import boofcv.struct.image.ImageFloat32;
 import boofcv.struct.pyramid.ImagePyramid;
@@ -118,6 +121,42 @@ public class TestPyramidUpdateIntegerDown extends GenericPyramidUpdateTests<Imag
 		}
 	}
 
+	/**
+	 * Results should be identical when split up across threads.  The odd sized input also checks pyramid
+	 * layers which are wider than the sub-sampled image.
+	 */
+	@Test
+	public void concurrent() {
+		ImageFloat32 input = new ImageFloat32(width+1,height+1);
+		ImageTestingOps.randomize(input,rand,0,100);
+
+		Kernel1D_F32 kernel = FactoryKernelGaussian.gaussian(Kernel1D_F32.class,-1,2);
+		PyramidUpdateIntegerDown<ImageFloat32> alg = new PyramidUpdateIntegerDown<ImageFloat32>(kernel,ImageFloat32.class);
+
+		PyramidDiscrete<ImageFloat32> expected = new PyramidDiscrete<ImageFloat32>(imageType,false,1,2,4);
+		PyramidDiscrete<ImageFloat32> found = new PyramidDiscrete<ImageFloat32>(imageType,false,1,2,4);
+
+		int original = BoofConcurrency.getMaxThreads();
+		int originalBlock = ConvolveConcurrent.MIN_BLOCK;
+		try {
+			BoofConcurrency.setMaxThreads(1);
+			alg.update(input,expected);
+
+			ConvolveConcurrent.MIN_BLOCK = 2;
+			BoofConcurrency.setMaxThreads(4);
+			alg.update(input,found);
+			// process it a second time to see if the storage is correctly reused
+			alg.update(input,found);
+		} finally {
+			ConvolveConcurrent.MIN_BLOCK = originalBlock;
+			BoofConcurrency.setMaxThreads(original);
+		}
+
+		for( int i = 0; i < expected.getNumLayers(); i++ ) {
+			BoofTesting.assertEquals(expected.getLayer(i),found.getLayer(i),0,1e-4f);
+		}
+	}
+
 	@Override
 	protected PyramidUpdater createUpdater() {
 		Kernel1D_F32 kernel = FactoryKernelGaussian.gaussian(Kernel1D_F32.class,-1,3);
@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.transform.wavelet;
+
+import boofcv.core.image.border.BorderType;
+import boofcv.factory.transform.wavelet.FactoryWaveletCoiflet;
+import boofcv.factory.transform.wavelet.FactoryWaveletDaub;
+import boofcv.factory.transform.wavelet.FactoryWaveletHaar;
+import boofcv.factory.transform.wavelet.FactoryWaveletLifting;
+import boofcv.struct.wavelet.WaveletDescription;
+import boofcv.struct.wavelet.WlCoef_F32;
+import boofcv.struct.wavelet.WlLifting_F32;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestFactoryWaveletLifting {
+
+	Random rand = new Random(234);
+
+	/**
+	 * The lifting steps should produce the same scaling and wavelet signals as convolving with the filters
+	 */
+	@Test
+	public void reproduceFilters() {
+		checkFilters(FactoryWaveletHaar.<WlCoef_F32>generate(false,32));
+		checkFilters(FactoryWaveletDaub.daubJ_F32(4));
+		checkFilters(FactoryWaveletDaub.biorthogonal_F32(5,BorderType.REFLECT));
+		checkFilters(FactoryWaveletDaub.biorthogonal_F32(5,BorderType.WRAP));
+		checkFilters(FactoryWaveletCoiflet.generate_F32(6));
+	}
+
+	/**
+	 * The 5/3 biorthogonal wavelet has a well known factorization
+	 */
+	@Test
+	public void biorthogonal5() {
+		WlCoef_F32 forward = FactoryWaveletDaub.biorthogonal_F32(5,BorderType.REFLECT).getForward();
+		WlLifting_F32 lifting = FactoryWaveletLifting.factor_F32(forward);
+
+		assertEquals(2,lifting.steps.size());
+		assertFalse(lifting.swap);
+		assertEquals(1,lifting.scaleScaling,1e-6);
+		assertEquals(1,lifting.scaleWavelet,1e-6);
+
+		WlLifting_F32.Step predict = lifting.steps.get(0);
+		assertTrue(predict.predict);
+		assertEquals(0,predict.offset);
+		assertEquals(2,predict.coef.length);
+		assertEquals(-0.5,predict.coef[0],1e-6);
+		assertEquals(-0.5,predict.coef[1],1e-6);
+
+		WlLifting_F32.Step update = lifting.steps.get(1);
+		assertFalse(update.predict);
+		assertEquals(-1,update.offset);
+		assertEquals(2,update.coef.length);
+		assertEquals(0.25,update.coef[0],1e-6);
+		assertEquals(0.25,update.coef[1],1e-6);
+	}
+
+	/**
+	 * A wavelet which is not invertible can't be factored
+	 */
+	@Test
+	public void notInvertible() {
+		WlCoef_F32 forward = new WlCoef_F32(new float[]{1,1},0,new float[]{2,2},0);
+
+		assertTrue(FactoryWaveletLifting.factor_F32(forward) == null);
+	}
+
+	private void checkFilters( WaveletDescription<WlCoef_F32> desc ) {
+		WlLifting_F32 lifting = desc.getLifting();
+		assertNotNull(lifting);
+		WlCoef_F32 coef = desc.getForward();
+
+		int N = 30;
+		double signal[] = new double[2*N];
+		for( int i = 0; i < signal.length; i++ )
+			signal[i] = rand.nextDouble()*50;
+
+		// samples outside the signal are NaN so that anything which depends on them is NaN too
+		double even[] = new double[N];
+		double odd[] = new double[N];
+		for( int n = 0; n < N; n++ ) {
+			even[n] = signal[2*n];
+			odd[n] = signal[2*n+1];
+		}
+
+		for( WlLifting_F32.Step s : lifting.steps ) {
+			double target[] = s.predict ? odd : even;
+			double source[] = s.predict ? even : odd;
+			double modified[] = new double[N];
+			for( int n = 0; n < N; n++ ) {
+				double sum = target[n];
+				for( int k = 0; k < s.coef.length; k++ )
+					sum += s.coef[k]*get(source,n+s.offset+k);
+				modified[n] = sum;
+			}
+			System.arraycopy(modified,0,target,0,N);
+		}
+
+		double scaling[] = lifting.swap ? odd : even;
+		double wavelet[] = lifting.swap ? even : odd;
+
+		int total = 0;
+		for( int n = 0; n < N; n++ ) {
+			double foundS = lifting.scaleScaling*get(scaling,n+lifting.offsetScaling);
+			double foundW = lifting.scaleWavelet*get(wavelet,n+lifting.offsetWavelet);
+			double expectedS = convolve(signal,coef.scaling,2*n+coef.offsetScaling);
+			double expectedW = convolve(signal,coef.wavelet,2*n+coef.offsetWavelet);
+
+			if( Double.isNaN(expectedS) || Double.isNaN(expectedW) )
+				continue;
+			// lifting should not need more samples than the filters do
+			assertFalse(Double.isNaN(foundS));
+			assertFalse(Double.isNaN(foundW));
+
+			assertEquals(expectedS,foundS,1e-3);
+			assertEquals(expectedW,foundW,1e-3);
+			total++;
+		}
+		assertTrue(total > N/2);
+	}
+
+	private static double get( double data[] , int index ) {
+		if( index < 0 || index >= data.length )
+			return Double.NaN;
+		return data[index];
+	}
+
+	private static double convolve( double signal[] , float kernel[] , int start ) {
+		if( start < 0 || start + kernel.length > signal.length )
+			return Double.NaN;
+		double sum = 0;
+		for( int i = 0; i < kernel.length; i++ )
+			sum += kernel[i]*signal[start+i];
+		return sum;
+	}
+}
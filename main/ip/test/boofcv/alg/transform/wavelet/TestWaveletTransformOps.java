@@ -18,14 +18,17 @@
 
 package boofcv.alg.transform.wavelet;
 
+import boofcv.alg.transform.wavelet.impl.ImplWaveletTransformConcurrent;
 import boofcv.core.image.GeneralizedImageOps;
 import boofcv.core.image.border.BorderType;
 import boofcv.factory.transform.wavelet.FactoryWaveletDaub;
+import boofcv.misc.BoofConcurrency;
 import boofcv.struct.image.ImageDimension;
 import boofcv.struct.image.ImageFloat32;
 import boofcv.struct.image.ImageSInt32;
 import boofcv.struct.image.ImageSingleBand;
 import boofcv.struct.wavelet.WaveletDescription;
+import boofcv.struct.wavelet.WlCoef_F32;
 import boofcv.testing.BoofTesting;
 import org.junit.Test;
 
@@ -90,6 +93,42 @@ public class TestWaveletTransformOps {
 	}
 
 
+	/**
+	 * The multi-threaded transform should produce identical results to the single threaded one
+	 */
+	@Test
+	public void concurrent() {
+		WaveletDescription<WlCoef_F32> desc = FactoryWaveletDaub.daubJ_F32(4);
+
+		ImageFloat32 input = new ImageFloat32(width+1,height+1);
+		GeneralizedImageOps.randomize(input,rand,0,50);
+		ImageDimension dim = UtilWavelet.transformDimension(input.width,input.height,3);
+
+		ImageFloat32 expected = new ImageFloat32(dim.width,dim.height);
+		ImageFloat32 expectedInv = new ImageFloat32(input.width,input.height);
+		ImageFloat32 found = new ImageFloat32(dim.width,dim.height);
+		ImageFloat32 foundInv = new ImageFloat32(input.width,input.height);
+
+		int original = BoofConcurrency.getMaxThreads();
+		int originalBlock = ImplWaveletTransformConcurrent.MIN_BLOCK;
+		try {
+			BoofConcurrency.setMaxThreads(1);
+			WaveletTransformOps.transformN(desc,input.clone(),expected,null,3);
+			WaveletTransformOps.inverseN(desc,expected.clone(),expectedInv,null,3);
+
+			ImplWaveletTransformConcurrent.MIN_BLOCK = 2;
+			BoofConcurrency.setMaxThreads(4);
+			WaveletTransformOps.transformN(desc,input.clone(),found,null,3);
+			WaveletTransformOps.inverseN(desc,found.clone(),foundInv,null,3);
+		} finally {
+			ImplWaveletTransformConcurrent.MIN_BLOCK = originalBlock;
+			BoofConcurrency.setMaxThreads(original);
+		}
+
+		BoofTesting.assertEquals(expected,found,0,0);
+		BoofTesting.assertEquals(expectedInv,foundInv,0,0);
+	}
+
 	@Test
 	public void multipleLevel() {
 		for( Class<?> t : types ) {
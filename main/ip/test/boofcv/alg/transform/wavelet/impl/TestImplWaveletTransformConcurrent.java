@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.transform.wavelet.impl;
+
+import boofcv.misc.BoofConcurrency;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageSInt32;
+import boofcv.struct.image.ImageSingleBand;
+import boofcv.struct.wavelet.WaveletDescription;
+import boofcv.struct.wavelet.WlCoef;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+/**
+ * Compares the concurrent implementation against the single threaded one.  The results must be identical.
+ *
+ * @author Peter Abeles
+ */
+public class TestImplWaveletTransformConcurrent {
+
+	@Test
+	public void horizontal() {
+		check("horizontal",false);
+	}
+
+	@Test
+	public void vertical() {
+		check("vertical",false);
+	}
+
+	@Test
+	public void horizontalInverse() {
+		check("horizontalInverse",true);
+	}
+
+	@Test
+	public void verticalInverse() {
+		check("verticalInverse",true);
+	}
+
+	private void check( String functionName , boolean swapSizes ) {
+		int original = BoofConcurrency.getMaxThreads();
+		int originalBlock = ImplWaveletTransformConcurrent.MIN_BLOCK;
+		try {
+			ImplWaveletTransformConcurrent.MIN_BLOCK = 2;
+			BoofConcurrency.setMaxThreads(4);
+
+			new Compare(ImageFloat32.class,ImageFloat32.class,functionName).runTests(swapSizes);
+			new Compare(ImageSInt32.class,ImageSInt32.class,functionName).runTests(swapSizes);
+		} finally {
+			ImplWaveletTransformConcurrent.MIN_BLOCK = originalBlock;
+			BoofConcurrency.setMaxThreads(original);
+		}
+	}
+
+	private static class Compare extends PermuteWaveletCompare {
+		String functionName;
+
+		private Compare(Class inputType, Class outputType, String functionName) {
+			super(inputType, outputType);
+			this.functionName = functionName;
+		}
+
+		@Override
+		public void applyValidation(WaveletDescription<?> desc, ImageSingleBand input, ImageSingleBand output) {
+			invoke(ImplWaveletTransformInner.class,functionName,desc,input,output);
+		}
+
+		@Override
+		public void applyTransform(WaveletDescription<?> desc, ImageSingleBand input, ImageSingleBand output) {
+			invoke(ImplWaveletTransformConcurrent.class,functionName,desc,input,output);
+		}
+
+		@Override
+		public void compareResults(WaveletDescription<?> desc, ImageSingleBand input,
+								   ImageSingleBand expected, ImageSingleBand found) {
+			BoofTesting.assertEqualsGeneric(expected,found,0,0);
+		}
+	}
+
+	private static void invoke( Class owner , String functionName ,
+								WaveletDescription<?> desc, ImageSingleBand input, ImageSingleBand output ) {
+		WlCoef coef;
+		if( functionName.contains("Inverse"))
+			coef = desc.getInverse().getInnerCoefficients();
+		else
+			coef = desc.getForward();
+
+		Method m = BoofTesting.findMethod(owner,functionName,coef.getClass(),input.getClass(),output.getClass());
+		try {
+			m.invoke(null,coef,input,output);
+		} catch (InvocationTargetException e) {
+			throw new RuntimeException(e);
+		} catch (IllegalAccessException e) {
+			throw new RuntimeException(e);
+		}
+	}
+}
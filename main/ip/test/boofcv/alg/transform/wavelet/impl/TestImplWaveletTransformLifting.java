@@ -0,0 +1,213 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.transform.wavelet.impl;
+
+import boofcv.alg.misc.ImageTestingOps;
+import boofcv.core.image.border.BorderType;
+import boofcv.factory.transform.wavelet.FactoryWaveletCoiflet;
+import boofcv.factory.transform.wavelet.FactoryWaveletDaub;
+import boofcv.factory.transform.wavelet.FactoryWaveletHaar;
+import boofcv.misc.BoofConcurrency;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.wavelet.WaveletDescription;
+import boofcv.struct.wavelet.WlCoef_F32;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Compares the lifting implementation against convolution.  Results should be the same up to round off error.
+ *
+ * @author Peter Abeles
+ */
+public class TestImplWaveletTransformLifting {
+
+	Random rand = new Random(234);
+
+	// image shapes which are tested.  width and height of the original image
+	int shapes[][] = new int[][]{{60,50},{61,47},{43,70}};
+
+	@Test
+	public void horizontal() {
+		for( WaveletDescription<WlCoef_F32> desc : createDescriptions() ) {
+			for( int[] shape : shapes ) {
+				ImageFloat32 input = new ImageFloat32(shape[0],shape[1]);
+				ImageTestingOps.randomize(input,rand,0,50);
+				ImageFloat32 expected = new ImageFloat32(shape[0]+shape[0]%2,shape[1]);
+				ImageFloat32 found = BoofTesting.createSubImageOf(expected);
+
+				ImplWaveletTransformInner.horizontal(desc.getForward(),input,expected);
+				ImplWaveletTransformLifting.horizontal(desc.getLifting(),desc.getForward(),
+						BoofTesting.createSubImageOf(input),found);
+
+				BoofTesting.assertEquals(expected,found,0,1e-3);
+			}
+		}
+	}
+
+	@Test
+	public void vertical() {
+		int originalBlock = ImplWaveletTransformLifting.COLUMN_BLOCK;
+		try {
+			// make sure more than one block of columns is processed
+			ImplWaveletTransformLifting.COLUMN_BLOCK = 16;
+			for( WaveletDescription<WlCoef_F32> desc : createDescriptions() ) {
+				for( int[] shape : shapes ) {
+					ImageFloat32 input = new ImageFloat32(shape[0],shape[1]);
+					ImageTestingOps.randomize(input,rand,0,50);
+					ImageFloat32 expected = new ImageFloat32(shape[0],shape[1]+shape[1]%2);
+					ImageFloat32 found = BoofTesting.createSubImageOf(expected);
+
+					ImplWaveletTransformInner.vertical(desc.getForward(),input,expected);
+					ImplWaveletTransformLifting.vertical(desc.getLifting(),desc.getForward(),
+							BoofTesting.createSubImageOf(input),found);
+
+					BoofTesting.assertEquals(expected,found,0,1e-3);
+				}
+			}
+		} finally {
+			ImplWaveletTransformLifting.COLUMN_BLOCK = originalBlock;
+		}
+	}
+
+	/**
+	 * The inner inverse is not correct next to the border, so it is compared after the border has been processed
+	 */
+	@Test
+	public void horizontalInverse() {
+		for( WaveletDescription<WlCoef_F32> desc : createDescriptions() ) {
+			WlCoef_F32 inner = desc.getInverse().getInnerCoefficients();
+			for( int[] shape : shapes ) {
+				ImageFloat32 input = new ImageFloat32(shape[0]+shape[0]%2,shape[1]);
+				ImageTestingOps.randomize(input,rand,0,50);
+				ImageFloat32 expected = new ImageFloat32(shape[0],shape[1]);
+				ImageFloat32 found = BoofTesting.createSubImageOf(expected);
+
+				ImplWaveletTransformInner.horizontalInverse(inner,input,expected);
+				ImplWaveletTransformBorder.horizontalInverse(desc.getBorder(),desc.getInverse(),input,expected);
+
+				input = BoofTesting.createSubImageOf(input);
+				ImplWaveletTransformLifting.horizontalInverse(desc.getLifting(),inner,input,found);
+				ImplWaveletTransformBorder.horizontalInverse(desc.getBorder(),desc.getInverse(),input,found);
+
+				BoofTesting.assertEquals(expected,found,0,1e-3);
+			}
+		}
+	}
+
+	@Test
+	public void verticalInverse() {
+		int originalBlock = ImplWaveletTransformLifting.COLUMN_BLOCK;
+		try {
+			ImplWaveletTransformLifting.COLUMN_BLOCK = 16;
+			for( WaveletDescription<WlCoef_F32> desc : createDescriptions() ) {
+				WlCoef_F32 inner = desc.getInverse().getInnerCoefficients();
+				for( int[] shape : shapes ) {
+					ImageFloat32 input = new ImageFloat32(shape[0],shape[1]+shape[1]%2);
+					ImageTestingOps.randomize(input,rand,0,50);
+					ImageFloat32 expected = new ImageFloat32(shape[0],shape[1]);
+					ImageFloat32 found = BoofTesting.createSubImageOf(expected);
+
+					ImplWaveletTransformInner.verticalInverse(inner,input,expected);
+					ImplWaveletTransformBorder.verticalInverse(desc.getBorder(),desc.getInverse(),input,expected);
+
+					input = BoofTesting.createSubImageOf(input);
+					ImplWaveletTransformLifting.verticalInverse(desc.getLifting(),inner,input,found);
+					ImplWaveletTransformBorder.verticalInverse(desc.getBorder(),desc.getInverse(),input,found);
+
+					BoofTesting.assertEquals(expected,found,0,1e-3);
+				}
+			}
+		} finally {
+			ImplWaveletTransformLifting.COLUMN_BLOCK = originalBlock;
+		}
+	}
+
+	/**
+	 * Without lifting steps it should produce the same output as convolution
+	 */
+	@Test
+	public void noLifting() {
+		WaveletDescription<WlCoef_F32> desc = FactoryWaveletDaub.daubJ_F32(4);
+		ImageFloat32 input = new ImageFloat32(30,20);
+		ImageTestingOps.randomize(input,rand,0,50);
+		ImageFloat32 expected = new ImageFloat32(30,20);
+		ImageFloat32 found = new ImageFloat32(30,20);
+
+		ImplWaveletTransformInner.horizontal(desc.getForward(),input,expected);
+		ImplWaveletTransformLifting.horizontal(null,desc.getForward(),input,found);
+		BoofTesting.assertEquals(expected,found,0,0);
+
+		ImplWaveletTransformInner.verticalInverse(desc.getForward(),input,expected);
+		ImplWaveletTransformLifting.verticalInverse(null,desc.getForward(),input,found);
+		BoofTesting.assertEquals(expected,found,0,0);
+	}
+
+	/**
+	 * Splitting the image across threads should produce identical results
+	 */
+	@Test
+	public void concurrent() {
+		int original = BoofConcurrency.getMaxThreads();
+		int originalBlock = ImplWaveletTransformConcurrent.MIN_BLOCK;
+		try {
+			ImplWaveletTransformConcurrent.MIN_BLOCK = 2;
+			BoofConcurrency.setMaxThreads(4);
+
+			WaveletDescription<WlCoef_F32> desc = FactoryWaveletCoiflet.generate_F32(6);
+			WlCoef_F32 inner = desc.getInverse().getInnerCoefficients();
+			ImageFloat32 input = new ImageFloat32(61,47);
+			ImageTestingOps.randomize(input,rand,0,50);
+			ImageFloat32 expected = new ImageFloat32(61,47);
+			ImageFloat32 found = new ImageFloat32(61,47);
+
+			ImplWaveletTransformLifting.horizontal(desc.getLifting(),desc.getForward(),input,expected);
+			ImplWaveletTransformConcurrent.horizontal(desc.getLifting(),desc.getForward(),input,found);
+			BoofTesting.assertEquals(expected,found,0,0);
+
+			ImplWaveletTransformLifting.vertical(desc.getLifting(),desc.getForward(),input,expected);
+			ImplWaveletTransformConcurrent.vertical(desc.getLifting(),desc.getForward(),input,found);
+			BoofTesting.assertEquals(expected,found,0,0);
+
+			ImplWaveletTransformLifting.horizontalInverse(desc.getLifting(),inner,input,expected);
+			ImplWaveletTransformConcurrent.horizontalInverse(desc.getLifting(),inner,input,found);
+			BoofTesting.assertEquals(expected,found,0,0);
+
+			ImplWaveletTransformLifting.verticalInverse(desc.getLifting(),inner,input,expected);
+			ImplWaveletTransformConcurrent.verticalInverse(desc.getLifting(),inner,input,found);
+			BoofTesting.assertEquals(expected,found,0,0);
+		} finally {
+			ImplWaveletTransformConcurrent.MIN_BLOCK = originalBlock;
+			BoofConcurrency.setMaxThreads(original);
+		}
+	}
+
+	private List<WaveletDescription<WlCoef_F32>> createDescriptions() {
+		List<WaveletDescription<WlCoef_F32>> ret = new ArrayList<WaveletDescription<WlCoef_F32>>();
+		ret.add(FactoryWaveletHaar.<WlCoef_F32>generate(false,32));
+		ret.add(FactoryWaveletDaub.daubJ_F32(4));
+		ret.add(FactoryWaveletDaub.biorthogonal_F32(5,BorderType.REFLECT));
+		ret.add(FactoryWaveletDaub.biorthogonal_F32(5,BorderType.WRAP));
+		ret.add(FactoryWaveletCoiflet.generate_F32(6));
+		return ret;
+	}
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.core.encoding;
+
+import boofcv.alg.color.ColorYuv;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageInterleavedInt8;
+import boofcv.struct.image.ImageUInt8;
+import boofcv.struct.image.MultiSpectral;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestConvertI420 {
+
+	Random rand = new Random(234);
+
+	// odd sizes to test partial chroma blocks
+	int width = 15;
+	int height = 11;
+
+	@Test
+	public void i420GrayView() {
+		byte[] data = encode(width,height);
+
+		ImageUInt8 gray = ConvertI420.i420GrayView(data,width,height,null);
+		assertTrue(data == gray.data);
+		checkGray(data,gray);
+
+		// changes to the data should be seen by the image
+		data[width+2] = (byte)200;
+		assertEquals(200,gray.get(2,1));
+	}
+
+	@Test
+	public void i420ToGray() {
+		byte[] data = encode(width,height);
+
+		checkGray(data,ConvertI420.i420ToGray(data,width,height,(ImageUInt8)null));
+
+		ImageUInt8 sub = new ImageUInt8(width+4,height+3).subimage(2,1,width+2,height+1);
+		checkGray(data,ConvertI420.i420ToGray(data,width,height,sub));
+
+		ImageFloat32 grayF = ConvertI420.i420ToGray(data,width,height,(ImageFloat32)null);
+		for( int y = 0; y < height; y++ ) {
+			for( int x = 0; x < width; x++ ) {
+				assertEquals(data[y*width+x] & 0xFF,grayF.get(x,y),1e-4);
+			}
+		}
+	}
+
+	@Test
+	public void i420ToMsRgb_U8() {
+		byte[] data = encode(width,height);
+
+		MultiSpectral<ImageUInt8> found = ConvertI420.i420ToMsRgb_U8(data,width,height,null);
+
+		int rgb[] = new int[3];
+		for( int y = 0; y < height; y++ ) {
+			for( int x = 0; x < width; x++ ) {
+				decode(data,x,y,rgb);
+				for( int i = 0; i < 3; i++ )
+					assertEquals(rgb[i],found.getBand(i).get(x,y));
+			}
+		}
+
+		// sub-image
+		MultiSpectral<ImageUInt8> sub = new MultiSpectral<ImageUInt8>(ImageUInt8.class,width+3,height+2,3);
+		sub = sub.subimage(1,2,width+1,height+2);
+		ConvertI420.i420ToMsRgb_U8(data,width,height,sub);
+		for( int i = 0; i < 3; i++ ) {
+			for( int y = 0; y < height; y++ ) {
+				for( int x = 0; x < width; x++ ) {
+					assertEquals(found.getBand(i).get(x,y),sub.getBand(i).get(x,y));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void i420ToInterleaved() {
+		byte[] data = encode(width,height);
+
+		ImageInterleavedInt8 found = new ImageInterleavedInt8(width+2,height+3,3).subimage(1,2,width+1,height+2);
+		ConvertI420.i420ToInterleaved(data,width,height,found);
+
+		int rgb[] = new int[3];
+		for( int y = 0; y < height; y++ ) {
+			for( int x = 0; x < width; x++ ) {
+				decode(data,x,y,rgb);
+				for( int i = 0; i < 3; i++ )
+					assertEquals(rgb[i],found.getBand(x,y,i) & 0xFF);
+			}
+		}
+	}
+
+	@Test(expected=IllegalArgumentException.class)
+	public void dataTooSmall() {
+		ConvertI420.i420ToInterleaved(new byte[width*height],width,height,null);
+	}
+
+	private void checkGray( byte[] data , ImageUInt8 gray ) {
+		assertEquals(width,gray.width);
+		assertEquals(height,gray.height);
+		for( int y = 0; y < height; y++ ) {
+			for( int x = 0; x < width; x++ ) {
+				assertEquals(data[y*width+x] & 0xFF,gray.get(x,y));
+			}
+		}
+	}
+
+	private byte[] encode( int width , int height ) {
+		int uvWidth = (width+1)/2;
+		int uvHeight = (height+1)/2;
+		byte[] data = new byte[ width*height + 2*uvWidth*uvHeight ];
+		rand.nextBytes(data);
+		return data;
+	}
+
+	/**
+	 * Decodes a single pixel using the reference implementation in ColorYuv
+	 */
+	private void decode( byte[] data , int x , int y , int rgb[] ) {
+		int uvWidth = (width+1)/2;
+		int uvHeight = (height+1)/2;
+		int index = (y/2)*uvWidth + x/2;
+		int u = data[width*height + index] & 0xFF;
+		int v = data[width*height + uvWidth*uvHeight + index] & 0xFF;
+		ColorYuv.yuvToRgb(data[y*width+x] & 0xFF,u,v,rgb);
+	}
+}
@@ -20,6 +20,7 @@ package boofcv.core.image;
 
 import boofcv.alg.misc.ImageInterleavedTestingOps;
 import boofcv.alg.misc.ImageTestingOps;
+import boofcv.misc.BoofConcurrency;
 import boofcv.struct.image.*;
 import boofcv.testing.BoofTesting;
 import org.junit.Test;
@@ -27,6 +28,9 @@ import org.junit.Test;
 import javax.swing.*;
 import java.awt.*;
 import java.awt.image.BufferedImage;
+import java.awt.image.WritableRaster;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Random;
 
 import static org.junit.Assert.*;
@@ -207,6 +211,201 @@ public class TestConvertBufferedImage {
 		BoofTesting.checkEquals(dstImg, srcImg, 1);
 	}
 
+	/**
+	 * Convert to and from an interleaved image.  The bands should be in the same order as the raster.
+	 */
+	@Test
+	public void convertFrom_convertTo_interleaved() {
+		int types[] = new int[]{BufferedImage.TYPE_3BYTE_BGR, BufferedImage.TYPE_4BYTE_ABGR,
+				BufferedImage.TYPE_INT_RGB, BufferedImage.TYPE_INT_ARGB, BufferedImage.TYPE_BYTE_GRAY};
+
+		for (int type : types) {
+			BufferedImage origImg = createImage(type, imgWidth, imgHeight);
+
+			ImageInterleavedInt8 found = ConvertBufferedImage.convertFrom(origImg, (ImageInterleavedInt8) null);
+			assertEquals(origImg.getRaster().getNumBands(), found.numBands);
+			BoofTesting.checkEquals(origImg, found);
+
+			BufferedImage output = new BufferedImage(imgWidth, imgHeight, type);
+			assertTrue(output == ConvertBufferedImage.convertTo(found, output));
+			checkIdentical(origImg, output);
+		}
+	}
+
+	/**
+	 * Input images created using getSubimage() have offsets in their rasters
+	 */
+	@Test
+	public void convertFrom_subimage() {
+		int types[] = new int[]{BufferedImage.TYPE_3BYTE_BGR, BufferedImage.TYPE_4BYTE_ABGR,
+				BufferedImage.TYPE_INT_RGB, BufferedImage.TYPE_INT_ARGB, BufferedImage.TYPE_BYTE_GRAY,
+				BufferedImage.TYPE_USHORT_GRAY};
+
+		for (int type : types) {
+			BufferedImage larger = createImage(type, imgWidth + 5, imgHeight + 7);
+			BufferedImage sub = larger.getSubimage(2, 3, imgWidth, imgHeight);
+
+			// copy the sub-image into an image which has no offsets
+			BufferedImage copy = new BufferedImage(imgWidth, imgHeight, type);
+			copy.getRaster().setRect(sub.getRaster());
+
+			for (ImageBase image : createOutputs(sub)) {
+				ImageBase expected = image._createNew(imgWidth, imgHeight);
+				ConvertBufferedImage.convertFrom(copy, expected);
+				ConvertBufferedImage.convertFrom(sub, image);
+				checkEquals(expected, image);
+			}
+
+			// write into the sub-image and see if only the sub-image is modified
+			BufferedImage before = createImage(type, imgWidth + 5, imgHeight + 7);
+			before.getRaster().setRect(larger.getRaster());
+			ImageUInt8 gray = new ImageUInt8(imgWidth, imgHeight);
+			ConvertBufferedImage.convertTo(gray, sub);
+			for (int y = 0; y < larger.getHeight(); y++) {
+				for (int x = 0; x < larger.getWidth(); x++) {
+					boolean inside = x >= 2 && x < imgWidth + 2 && y >= 3 && y < imgHeight + 3;
+					if (inside)
+						assertEquals(0, larger.getRaster().getSample(x, y, 0));
+					else
+						assertEquals(before.getRGB(x, y), larger.getRGB(x, y));
+				}
+			}
+		}
+	}
+
+	/**
+	 * Indexed images need to be converted using the color model and not the raw index
+	 */
+	@Test
+	public void convertFrom_indexed() {
+		BufferedImage origImg = new BufferedImage(imgWidth, imgHeight, BufferedImage.TYPE_BYTE_INDEXED);
+		TestConvertRaster.randomize(origImg, rand);
+
+		ImageUInt8 found = ConvertBufferedImage.convertFrom(origImg, (ImageUInt8) null);
+
+		for (int y = 0; y < imgHeight; y++) {
+			for (int x = 0; x < imgWidth; x++) {
+				int rgb = origImg.getRGB(x, y);
+				int expected = (((rgb >>> 16) & 0xFF) + ((rgb >>> 8) & 0xFF) + (rgb & 0xFF)) / 3;
+				assertEquals(expected, found.get(x, y));
+			}
+		}
+	}
+
+	/**
+	 * When the alpha band is dropped from a TYPE_4BYTE_ABGR image the bands should be in BGR order
+	 */
+	@Test
+	public void convertFromMulti_dropAlpha() {
+		BufferedImage origImg = createImage(BufferedImage.TYPE_4BYTE_ABGR, imgWidth, imgHeight);
+
+		MultiSpectral<ImageUInt8> found = ConvertBufferedImage.convertFromMulti(origImg, null, ImageUInt8.class);
+		assertEquals(3, found.getNumBands());
+		ConvertBufferedImage.orderBandsIntoRGB(found, origImg);
+
+		for (int y = 0; y < imgHeight; y++) {
+			for (int x = 0; x < imgWidth; x++) {
+				int rgb = origImg.getRGB(x, y);
+				assertEquals((rgb >>> 16) & 0xFF, found.getBand(0).get(x, y));
+				assertEquals((rgb >>> 8) & 0xFF, found.getBand(1).get(x, y));
+				assertEquals(rgb & 0xFF, found.getBand(2).get(x, y));
+			}
+		}
+	}
+
+	/**
+	 * Compare the results when the image is split up across threads to the single threaded results
+	 */
+	@Test
+	public void concurrent() {
+		int width = 53;
+		int height = 71;
+
+		int types[] = new int[]{BufferedImage.TYPE_3BYTE_BGR, BufferedImage.TYPE_INT_RGB,
+				BufferedImage.TYPE_BYTE_GRAY, BufferedImage.TYPE_BYTE_INDEXED};
+
+		int originalThreads = BoofConcurrency.getMaxThreads();
+		int originalBlock = ConvertBufferedImage.MIN_BLOCK;
+		try {
+			ConvertBufferedImage.MIN_BLOCK = 2;
+			for (int type : types) {
+				BufferedImage origImg = createImage(type, width, height);
+
+				for (ImageBase image : createOutputs(origImg)) {
+					ImageBase expected = image._createNew(width, height);
+					BufferedImage expectedBuff = new BufferedImage(width, height, type);
+					BufferedImage foundBuff = new BufferedImage(width, height, type);
+
+					BoofConcurrency.setMaxThreads(1);
+					ConvertBufferedImage.convertFrom(origImg, expected);
+					ConvertBufferedImage.convertTo(expected, expectedBuff);
+
+					BoofConcurrency.setMaxThreads(4);
+					ConvertBufferedImage.convertFrom(origImg, image);
+					ConvertBufferedImage.convertTo(image, foundBuff);
+
+					checkEquals(expected, image);
+					checkIdentical(expectedBuff, foundBuff);
+				}
+			}
+		} finally {
+			ConvertBufferedImage.MIN_BLOCK = originalBlock;
+			BoofConcurrency.setMaxThreads(originalThreads);
+		}
+	}
+
+	private List<ImageBase> createOutputs(BufferedImage input) {
+		int width = input.getWidth();
+		int height = input.getHeight();
+		int numBands = input.getRaster().getNumBands();
+
+		List<ImageBase> ret = new ArrayList<ImageBase>();
+		ret.add(new ImageUInt8(width, height));
+		ret.add(new ImageFloat32(width, height));
+		ret.add(new MultiSpectral<ImageUInt8>(ImageUInt8.class, width, height, 3));
+		ret.add(new MultiSpectral<ImageFloat32>(ImageFloat32.class, width, height, 3));
+		if (input.getType() != BufferedImage.TYPE_USHORT_GRAY)
+			ret.add(new ImageInterleavedInt8(width, height, numBands));
+		return ret;
+	}
+
+	private BufferedImage createImage(int type, int width, int height) {
+		BufferedImage ret = new BufferedImage(width, height, type);
+		WritableRaster raster = ret.getRaster();
+		int max = type == BufferedImage.TYPE_USHORT_GRAY ? 0xFFFF : 0xFF;
+		for (int y = 0; y < height; y++) {
+			for (int x = 0; x < width; x++) {
+				for (int band = 0; band < raster.getNumBands(); band++) {
+					raster.setSample(x, y, band, rand.nextInt(max));
+				}
+			}
+		}
+		return ret;
+	}
+
+	private void checkEquals(ImageBase expected, ImageBase found) {
+		if (expected instanceof MultiSpectral) {
+			MultiSpectral a = (MultiSpectral) expected;
+			MultiSpectral b = (MultiSpectral) found;
+			for (int i = 0; i < a.getNumBands(); i++)
+				BoofTesting.assertEqualsGeneric(a.getBand(i), b.getBand(i), 0, 0);
+		} else if (expected instanceof ImageInterleavedInt8) {
+			BoofTesting.assertEquals((ImageInterleavedInt8) expected, (ImageInterleavedInt8) found);
+		} else {
+			BoofTesting.assertEqualsGeneric((ImageSingleBand) expected, (ImageSingleBand) found, 0, 0);
+		}
+	}
+
+	private void checkIdentical(BufferedImage a, BufferedImage b) {
+		for (int y = 0; y < a.getHeight(); y++) {
+			for (int x = 0; x < a.getWidth(); x++) {
+				for (int band = 0; band < a.getRaster().getNumBands(); band++) {
+					assertEquals(a.getRaster().getSample(x, y, band), b.getRaster().getSample(x, y, band));
+				}
+			}
+		}
+	}
+
 	@Test
 	public void convertTo_JComponent() {
 		JLabel label = new JLabel("Hi");
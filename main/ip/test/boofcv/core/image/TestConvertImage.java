@@ -18,8 +18,8 @@
 
 package boofcv.core.image;
 
-import boofcv.struct.image.ImageInteger;
-import boofcv.struct.image.ImageSingleBand;
+import boofcv.alg.misc.ImageInterleavedTestingOps;
+import boofcv.struct.image.*;
 import boofcv.testing.BoofTesting;
 import org.junit.Test;
 
@@ -29,6 +29,7 @@ import java.util.Random;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 /**
  * @author Peter Abeles
@@ -101,4 +102,82 @@ public class TestConvertImage {
 			throw new RuntimeException(e);
 		}
 	}
+
+	@Test
+	public void interleavedToMulti_U8() {
+		ImageInterleavedInt8 input = new ImageInterleavedInt8(imgWidth,imgHeight,3);
+		ImageInterleavedTestingOps.randomize(input,rand);
+
+		MultiSpectral<ImageUInt8> output = new MultiSpectral<ImageUInt8>(ImageUInt8.class,imgWidth,imgHeight,3);
+		ConvertImage.interleavedToMulti_U8(input,output);
+		checkEquals(input,output);
+		checkEquals(input,ConvertImage.interleavedToMulti_U8(input,null));
+
+		// sub-images
+		ImageInterleavedInt8 subInput = input.subimage(2,3,8,12);
+		MultiSpectral<ImageUInt8> subOutput = output.subimage(1,2,7,11);
+		ConvertImage.interleavedToMulti_U8(subInput,subOutput);
+		checkEquals(subInput,subOutput);
+	}
+
+	@Test
+	public void interleavedToMulti_F32() {
+		ImageInterleavedInt8 input = new ImageInterleavedInt8(imgWidth,imgHeight,2);
+		ImageInterleavedTestingOps.randomize(input,rand);
+
+		MultiSpectral<ImageFloat32> output = new MultiSpectral<ImageFloat32>(ImageFloat32.class,imgWidth,imgHeight,2);
+		ConvertImage.interleavedToMulti_F32(input,output);
+		checkEquals(input,output);
+		checkEquals(input,ConvertImage.interleavedToMulti_F32(input,null));
+	}
+
+	@Test
+	public void multiToInterleaved_U8() {
+		ImageInterleavedInt8 expected = new ImageInterleavedInt8(imgWidth,imgHeight,3);
+		ImageInterleavedTestingOps.randomize(expected,rand);
+		MultiSpectral<ImageUInt8> input = ConvertImage.interleavedToMulti_U8(expected,null);
+
+		ImageInterleavedInt8 output = new ImageInterleavedInt8(imgWidth,imgHeight,3);
+		ConvertImage.multiToInterleaved_U8(input,output);
+		BoofTesting.assertEquals(expected,output);
+		BoofTesting.assertEquals(expected,ConvertImage.multiToInterleaved_U8(input,null));
+
+		// sub-images
+		MultiSpectral<ImageUInt8> subInput = input.subimage(2,3,8,12);
+		ImageInterleavedInt8 subOutput = output.subimage(1,2,7,11);
+		ConvertImage.multiToInterleaved_U8(subInput,subOutput);
+		checkEquals(subOutput,subInput);
+	}
+
+	@Test
+	public void multiToInterleaved_F32() {
+		ImageInterleavedInt8 expected = new ImageInterleavedInt8(imgWidth,imgHeight,3);
+		ImageInterleavedTestingOps.randomize(expected,rand);
+		MultiSpectral<ImageFloat32> input = ConvertImage.interleavedToMulti_F32(expected,null);
+
+		BoofTesting.assertEquals(expected,ConvertImage.multiToInterleaved_F32(input,null));
+	}
+
+	@Test
+	public void interleaved_badBands() {
+		try {
+			ConvertImage.interleavedToMulti_U8(new ImageInterleavedInt8(imgWidth,imgHeight,3),
+					new MultiSpectral<ImageUInt8>(ImageUInt8.class,imgWidth,imgHeight,2));
+			fail("Should have thrown an exception");
+		} catch( IllegalArgumentException e ) {}
+	}
+
+	private void checkEquals( ImageInterleavedInt8 interleaved , MultiSpectral multi ) {
+		assertEquals(interleaved.numBands,multi.getNumBands());
+
+		for( int i = 0; i < interleaved.numBands; i++ ) {
+			ImageSingleBand band = multi.getBand(i);
+			GImageSingleBand g = FactoryGImageSingleBand.wrap(band);
+			for( int y = 0; y < interleaved.height; y++ ) {
+				for( int x = 0; x < interleaved.width; x++ ) {
+					assertEquals(interleaved.getBand(x,y,i) & 0xFF,g.get(x,y).intValue());
+				}
+			}
+		}
+	}
 }
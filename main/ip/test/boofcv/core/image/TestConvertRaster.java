@@ -18,11 +18,13 @@
 
 package boofcv.core.image;
 
+import boofcv.alg.misc.ImageInterleavedTestingOps;
 import boofcv.struct.image.*;
 import boofcv.testing.BoofTesting;
 import org.junit.Test;
 import sun.awt.image.ByteInterleavedRaster;
 import sun.awt.image.IntegerInterleavedRaster;
+import sun.awt.image.ShortInterleavedRaster;
 
 import java.awt.image.BufferedImage;
 import java.awt.image.Raster;
@@ -43,7 +45,7 @@ public class TestConvertRaster {
 	int imgWidth = 10;
 	int imgHeight = 20;
 
-	int numMethods = 27;
+	int numMethods = 38;
 
 	/**
 	 * Use reflections to test all the functions.
@@ -134,7 +136,9 @@ public class TestConvertRaster {
 		int numBands = inputBuff.getRaster().getNumBands();
 
 		ImageBase output;
-		if (ImageSingleBand.class.isAssignableFrom(imageType)) {
+		if (imageType == ImageInterleavedInt8.class) {
+			output = new ImageInterleavedInt8(imgWidth, imgHeight, numBands);
+		} else if (ImageSingleBand.class.isAssignableFrom(imageType)) {
 			output = GeneralizedImageOps.createSingleBand(imageType, imgWidth, imgHeight);
 		} else {
 			Class type;
@@ -163,7 +167,12 @@ public class TestConvertRaster {
 					createByteBuff(imgWidth, imgHeight, 3, rand),
 					createByteBuff(imgWidth, imgHeight, 1, rand)};
 		} else if (paramType == IntegerInterleavedRaster.class) {
-			input = new BufferedImage[]{createIntBuff(imgWidth, imgHeight, rand)};
+			input = new BufferedImage[]{
+					createIntBuff(imgWidth, imgHeight, rand),
+					createIntBuff(imgWidth, imgHeight, BufferedImage.TYPE_INT_ARGB, rand),
+					createIntBuff(imgWidth, imgHeight, BufferedImage.TYPE_INT_BGR, rand)};
+		} else if (paramType == ShortInterleavedRaster.class) {
+			input = new BufferedImage[]{createShortBuff(imgWidth, imgHeight, rand)};
 		} else if (paramType == BufferedImage.class) {
 			// just pick an arbitrary image type here
 			input = new BufferedImage[]{createIntBuff(imgWidth, imgHeight, rand)};
@@ -180,7 +189,10 @@ public class TestConvertRaster {
 			else
 				m.invoke(null, input, output);
 
-			BoofTesting.checkEquals(input, output, 1f);
+			if (input.getType() == BufferedImage.TYPE_USHORT_GRAY)
+				checkEqualsShort(input, output);
+			else
+				BoofTesting.checkEquals(input, output, 1f);
 		} catch (IllegalAccessException e) {
 			throw new RuntimeException(e);
 		} catch (InvocationTargetException e) {
@@ -196,7 +208,10 @@ public class TestConvertRaster {
 
 		for (int i = 0; i < output.length; i++) {
 			ImageBase input = createImage(m, paramTypes[0], output[i]);
-			GeneralizedImageOps.randomize(input, rand, 0, 50);
+			if (input instanceof ImageInterleavedInt8)
+				ImageInterleavedTestingOps.randomize((ImageInterleavedInt8) input, rand);
+			else
+				GeneralizedImageOps.randomize(input, rand, 0, 50);
 
 			BoofTesting.checkSubImage(this, "performGrayTo", true, m, input, output[i]);
 		}
@@ -237,11 +252,52 @@ public class TestConvertRaster {
 	}
 
 	public static BufferedImage createIntBuff(int width, int height, Random rand) {
-		BufferedImage ret = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+		return createIntBuff(width, height, BufferedImage.TYPE_INT_RGB, rand);
+	}
+
+	public static BufferedImage createIntBuff(int width, int height, int type, Random rand) {
+		BufferedImage ret = new BufferedImage(width, height, type);
 		randomize(ret, rand);
 		return ret;
 	}
 
+	/**
+	 * Creates a TYPE_USHORT_GRAY image.  The raster is modified directly since getRGB() and setRGB() apply
+	 * a color space conversion to gray scale images.
+	 */
+	public static BufferedImage createShortBuff(int width, int height, Random rand) {
+		BufferedImage ret = new BufferedImage(width, height, BufferedImage.TYPE_USHORT_GRAY);
+		for (int y = 0; y < height; y++) {
+			for (int x = 0; x < width; x++) {
+				ret.getRaster().setSample(x, y, 0, rand.nextInt(0xFFFF));
+			}
+		}
+		return ret;
+	}
+
+	/**
+	 * Only the upper 8-bits of a 16-bit gray scale image should be copied into each band
+	 */
+	private void checkEqualsShort(BufferedImage input, ImageBase output) {
+		for (int y = 0; y < input.getHeight(); y++) {
+			for (int x = 0; x < input.getWidth(); x++) {
+				int expected = input.getRaster().getSample(x, y, 0) >> 8;
+
+				if (output instanceof ImageInterleavedInt8) {
+					ImageInterleavedInt8 img = (ImageInterleavedInt8) output;
+					for (int i = 0; i < img.numBands; i++)
+						assertEquals(expected, img.getBand(x, y, i) & 0xFF);
+				} else if (output instanceof MultiSpectral) {
+					MultiSpectral ms = (MultiSpectral) output;
+					for (int i = 0; i < ms.getNumBands(); i++)
+						assertEquals(expected, FactoryGImageSingleBand.wrap(ms.getBand(i)).get(x, y).intValue());
+				} else {
+					assertEquals(expected, FactoryGImageSingleBand.wrap((ImageSingleBand) output).get(x, y).intValue());
+				}
+			}
+		}
+	}
+
 	public static void randomize(BufferedImage img, Random rand) {
 		for (int i = 0; i < img.getWidth(); i++) {
 			for (int j = 0; j < img.getHeight(); j++) {
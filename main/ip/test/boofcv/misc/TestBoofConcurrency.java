@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package boofcv.misc;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestBoofConcurrency {
+
+	/**
+	 * Makes sure every index is processed exactly once
+	 */
+	@Test
+	public void loopBlocks() {
+		int original = BoofConcurrency.getMaxThreads();
+		try {
+			for( int numThreads = 1; numThreads <= 5; numThreads++ ) {
+				BoofConcurrency.setMaxThreads(numThreads);
+				for( int length = 0; length < 40; length++ ) {
+					for( int minBlock = 1; minBlock < 5; minBlock++ ) {
+						checkLoop(3, length, minBlock);
+					}
+				}
+			}
+		} finally {
+			BoofConcurrency.setMaxThreads(original);
+		}
+	}
+
+	private void checkLoop( int start , int length , int minBlock ) {
+		final int count[] = new int[ start + length ];
+
+		BoofConcurrency.loopBlocks(start,start+length,minBlock,new BlockTask() {
+			@Override
+			public void process(int start, int end) {
+				for( int i = start; i < end; i++ ) {
+					synchronized ( count ) {
+						count[i]++;
+					}
+				}
+			}
+		});
+
+		for( int i = 0; i < count.length; i++ ) {
+			assertEquals(i < start ? 0 : 1, count[i]);
+		}
+	}
+
+	/**
+	 * Exceptions thrown inside of a worker thread should be passed on to the caller
+	 */
+	@Test
+	public void loopBlocks_exception() {
+		int original = BoofConcurrency.getMaxThreads();
+		try {
+			BoofConcurrency.setMaxThreads(3);
+			BoofConcurrency.loopBlocks(0,30,1,new BlockTask() {
+				@Override
+				public void process(int start, int end) {
+					if( end == 30 )
+						throw new IllegalArgumentException("test");
+				}
+			});
+			fail("Exception should have been thrown");
+		} catch( IllegalArgumentException e ) {
+			assertEquals("test",e.getMessage());
+		} finally {
+			BoofConcurrency.setMaxThreads(original);
+		}
+	}
+
+	/**
+	 * If the calling thread's block throws an exception, all the other blocks must finish before it is passed on
+	 */
+	@Test
+	public void loopBlocks_exceptionCaller() {
+		int original = BoofConcurrency.getMaxThreads();
+		final int finished[] = new int[1];
+		try {
+			BoofConcurrency.setMaxThreads(3);
+			BoofConcurrency.loopBlocks(0,30,1,new BlockTask() {
+				@Override
+				public void process(int start, int end) {
+					if( start == 0 )
+						throw new IllegalArgumentException("caller");
+					try {
+						Thread.sleep(50);
+					} catch (InterruptedException e) {
+						throw new RuntimeException(e);
+					}
+					synchronized ( finished ) {
+						finished[0]++;
+					}
+				}
+			});
+			fail("Exception should have been thrown");
+		} catch( IllegalArgumentException e ) {
+			assertEquals("caller",e.getMessage());
+			synchronized ( finished ) {
+				assertEquals(2,finished[0]);
+			}
+		} finally {
+			BoofConcurrency.setMaxThreads(original);
+		}
+	}
+
+	/**
+	 * Changing the number of threads while another thread is inside a loop should not cause blocks to be
+	 * rejected or skipped
+	 */
+	@Test
+	public void setMaxThreads_duringLoop() throws InterruptedException {
+		int original = BoofConcurrency.getMaxThreads();
+		final boolean running[] = new boolean[]{true};
+		Thread changer = new Thread() {
+			@Override
+			public void run() {
+				int count = 0;
+				while( true ) {
+					synchronized ( running ) {
+						if( !running[0] )
+							break;
+					}
+					BoofConcurrency.setMaxThreads(3 + (count++ % 2));
+				}
+			}
+		};
+		try {
+			BoofConcurrency.setMaxThreads(4);
+			changer.start();
+
+			final int counts[] = new int[40];
+			for( int trial = 0; trial < 500; trial++ ) {
+				BoofConcurrency.loopBlocks(0,counts.length,1,new BlockTask() {
+					@Override
+					public void process(int start, int end) {
+						synchronized ( counts ) {
+							for( int i = start; i < end; i++ )
+								counts[i]++;
+						}
+					}
+				});
+			}
+
+			for( int i = 0; i < counts.length; i++ )
+				assertEquals(500,counts[i]);
+		} finally {
+			synchronized ( running ) {
+				running[0] = false;
+			}
+			changer.join();
+			BoofConcurrency.setMaxThreads(original);
+		}
+	}
+
+	@Test(expected=IllegalArgumentException.class)
+	public void setMaxThreads_invalid() {
+		BoofConcurrency.setMaxThreads(0);
+	}
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package boofcv.struct;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestPackedContours {
+
+	/**
+	 * Add more contours and points than there is initial storage for
+	 */
+	@Test
+	public void addAndGet() {
+		PackedContours alg = new PackedContours(2,1);
+
+		for( int i = 0; i < 10; i++ ) {
+			alg.start(i+1,i%2==0);
+			for( int j = 0; j < i; j++ )
+				alg.add(i,j);
+		}
+
+		assertEquals(10,alg.size);
+		assertEquals(45,alg.getTotalPoints());
+		for( int i = 0; i < 10; i++ ) {
+			assertEquals(i+1,alg.labels[i]);
+			assertEquals(i%2==0,alg.external[i]);
+			assertEquals(i,alg.length(i));
+			for( int j = 0; j < i; j++ ) {
+				assertEquals(i,alg.getX(i,j));
+				assertEquals(j,alg.getY(i,j));
+			}
+		}
+
+		alg.reset();
+		assertEquals(0,alg.size);
+		assertEquals(0,alg.getTotalPoints());
+		alg.start(2,false);
+		alg.add(5,6);
+		assertEquals(1,alg.length(0));
+		assertFalse(alg.external[0]);
+	}
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.struct.image;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestImageBinaryPacked {
+
+	Random rand = new Random(234);
+
+	@Test
+	public void constructor() {
+		ImageBinaryPacked img = new ImageBinaryPacked(70,5);
+
+		assertEquals(70,img.width);
+		assertEquals(5,img.height);
+		assertEquals(2,img.stride);
+		assertEquals(10,img.data.length);
+		assertFalse(img.isSubimage());
+	}
+
+	@Test
+	public void wordsPerRow() {
+		assertEquals(0,ImageBinaryPacked.wordsPerRow(0));
+		assertEquals(1,ImageBinaryPacked.wordsPerRow(1));
+		assertEquals(1,ImageBinaryPacked.wordsPerRow(64));
+		assertEquals(2,ImageBinaryPacked.wordsPerRow(65));
+	}
+
+	@Test
+	public void getLastWordMask() {
+		assertEquals(0x7L,new ImageBinaryPacked(3,2).getLastWordMask());
+		assertEquals(~0L,new ImageBinaryPacked(64,2).getLastWordMask());
+		assertEquals(0x1L,new ImageBinaryPacked(65,2).getLastWordMask());
+	}
+
+	@Test
+	public void get_set() {
+		ImageBinaryPacked img = new ImageBinaryPacked(70,5);
+		int expected[] = new int[70*5];
+
+		for( int y = 0; y < img.height; y++ ) {
+			for( int x = 0; x < img.width; x++ ) {
+				int v = rand.nextInt(2);
+				expected[y*img.width+x] = v;
+				img.set(x,y,v);
+			}
+		}
+
+		for( int y = 0; y < img.height; y++ ) {
+			for( int x = 0; x < img.width; x++ ) {
+				assertEquals(expected[y*img.width+x],img.get(x,y));
+			}
+		}
+
+		// set it back to zero
+		img.set(65,2,1);
+		img.set(65,2,0);
+		assertEquals(0,img.get(65,2));
+	}
+
+	@Test(expected=ImageAccessException.class)
+	public void get_outOfBounds() {
+		ImageBinaryPacked img = new ImageBinaryPacked(70,5);
+		img.get(70,0);
+	}
+
+	@Test
+	public void reshape() {
+		ImageBinaryPacked img = new ImageBinaryPacked(70,5);
+		img.set(3,2,1);
+
+		img.reshape(10,3);
+		assertEquals(10,img.width);
+		assertEquals(3,img.height);
+		assertEquals(1,img.stride);
+		assertEquals(0,img.get(3,2));
+
+		img.reshape(200,20);
+		assertEquals(4,img.stride);
+		assertTrue(img.data.length >= 80);
+	}
+
+	@Test
+	public void setTo_clone() {
+		ImageBinaryPacked img = new ImageBinaryPacked(70,5);
+		img.set(3,2,1);
+		img.set(66,4,1);
+
+		ImageBinaryPacked found = img.clone();
+		assertEquals(1,found.get(3,2));
+		assertEquals(1,found.get(66,4));
+		assertEquals(0,found.get(4,2));
+
+		try {
+			new ImageBinaryPacked(70,4).setTo(img);
+			fail("Exception should have been thrown");
+		} catch( IllegalArgumentException e ) {}
+	}
+
+	@Test(expected=IllegalArgumentException.class)
+	public void subimage() {
+		new ImageBinaryPacked(70,5).subimage(0,0,10,2);
+	}
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.numerics.fft;
+
+/**
+ * <p>
+ * Fast Fourier Transform (FFT) for two dimensional signals, such as images.  The transform is separable and is
+ * computed by transforming each row and then each column using {@link FastFourierTransform_F64}.  An instance is
+ * a plan for a specific width and height, and contains workspace which is reused across calls.  An instance can only
+ * be used by one thread at a time.
+ * </p>
+ *
+ * <p>
+ * Complex signals are stored in row-major order with interleaved real and imaginary components.  Element (x,y)
+ * has its real component at index 2*(y*width+x).  Real signals are stored in row-major order at index y*width+x.
+ * The inverse transform is scaled by 1/(width*height).
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class FastFourierTransform2D_F64 {
+
+	// shape of the signal
+	private int width;
+	private int height;
+
+	// transforms along each axis
+	private FastFourierTransform_F64 rows;
+	private FastFourierTransform_F64 columns;
+
+	// number of columns which are transformed together
+	private static final int COLUMN_BLOCK = 8;
+
+	// storage for a block of columns
+	private double column[];
+
+	/**
+	 * Creates a plan for signals of the specified shape.
+	 *
+	 * @param width Number of columns.  Must be >= 1.
+	 * @param height Number of rows.  Must be >= 1.
+	 */
+	public FastFourierTransform2D_F64( int width , int height ) {
+		this.width = width;
+		this.height = height;
+
+		rows = new FastFourierTransform_F64(width);
+		columns = height == width ? rows : new FastFourierTransform_F64(height);
+		column = new double[ 2*height*COLUMN_BLOCK ];
+	}
+
+	public int getWidth() {
+		return width;
+	}
+
+	public int getHeight() {
+		return height;
+	}
+
+	/**
+	 * In-place forward transform of a complex signal.
+	 *
+	 * @param data Interleaved complex signal.  Length of at least 2*width*height.  Modified.
+	 */
+	public void forward( double data[] ) {
+		for( int y = 0; y < height; y++ ) {
+			rows.transform(data,y*width*2,false);
+		}
+		transformColumns(data,false);
+	}
+
+	/**
+	 * In-place inverse transform of a complex signal.  Output is scaled by 1/(width*height).
+	 *
+	 * @param data Interleaved complex signal.  Length of at least 2*width*height.  Modified.
+	 */
+	public void inverse( double data[] ) {
+		transformColumns(data,true);
+		for( int y = 0; y < height; y++ ) {
+			rows.transform(data,y*width*2,true);
+		}
+	}
+
+	/**
+	 * Forward transform of a real signal.
+	 *
+	 * @param input Real signal.  Length of at least width*height.  Not modified.
+	 * @param output Interleaved complex spectrum.  Length of at least 2*width*height.  Modified.
+	 */
+	public void forwardReal( double input[] , double output[] ) {
+		for( int y = 0; y < height; y++ ) {
+			rows.forwardReal(input,y*width,output,y*width*2);
+		}
+		transformColumns(output,false);
+	}
+
+	/**
+	 * Inverse transform of a spectrum whose signal is real.  The spectrum must have conjugate symmetry or
+	 * the output will not be correct.  Output is scaled by 1/(width*height).
+	 *
+	 * @param input Interleaved complex spectrum.  Modified.
+	 * @param output Real signal.  Modified.
+	 */
+	public void inverseReal( double input[] , double output[] ) {
+		transformColumns(input,true);
+		for( int y = 0; y < height; y++ ) {
+			rows.inverseReal(input,y*width*2,output,y*width);
+		}
+	}
+
+	/**
+	 * Copies columns into a work space, transforms them, then copies them back.  Several columns are copied at
+	 * once so that each cache line read from the signal is fully used.
+	 */
+	private void transformColumns( double data[] , boolean inverse ) {
+		if( height == 1 )
+			return;
+
+		int stride = width*2;
+		for( int x0 = 0; x0 < width; x0 += COLUMN_BLOCK ) {
+			int x1 = Math.min(width, x0 + COLUMN_BLOCK);
+			int length = (x1-x0)*2;
+
+			int index = x0*2;
+			for( int y = 0; y < height; y++ , index += stride ) {
+				for( int i = 0; i < length; i += 2 ) {
+					int indexColumn = (i/2)*height*2 + y*2;
+					column[indexColumn] = data[index+i];
+					column[indexColumn+1] = data[index+i+1];
+				}
+			}
+
+			for( int i = 0; i < x1-x0; i++ ) {
+				columns.transform(column,i*height*2,inverse);
+			}
+
+			index = x0*2;
+			for( int y = 0; y < height; y++ , index += stride ) {
+				for( int i = 0; i < length; i += 2 ) {
+					int indexColumn = (i/2)*height*2 + y*2;
+					data[index+i] = column[indexColumn];
+					data[index+i+1] = column[indexColumn+1];
+				}
+			}
+		}
+	}
+}
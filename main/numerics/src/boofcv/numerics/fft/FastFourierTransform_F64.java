@@ -0,0 +1,397 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.numerics.fft;
+
+/**
+ * <p>
+ * Fast Fourier Transform (FFT) for one dimensional signals of any length.  An instance is a plan for a specific
+ * length.  Look up tables and workspace are declared once in the constructor and reused on every call, so
+ * creating the plan is expensive but each transform does not create any new memory.  Since the workspace
+ * is shared, an instance can only be used by one thread at a time.
+ * </p>
+ *
+ * <p>
+ * Complex signals are stored in interleaved format, [real , imaginary , real , imaginary , ... ].  The
+ * forward transform computes X[k] = sum<sub>n</sub> x[n]*exp(-2&pi;ikn/N) and the inverse transform is
+ * scaled by 1/N so that inverse(forward(x)) = x.
+ * </p>
+ *
+ * <p>
+ * Lengths which are a power of two are computed using an iterative radix-2 algorithm.  All other lengths
+ * are computed using Bluestein's algorithm, which turns the transform into a convolution that is computed with a
+ * radix-2 transform at least twice as long.  Power of two lengths are several times faster.
+ * </p>
+ *
+ * <p>
+ * Real signals of even length are transformed by packing the even and odd samples into a complex signal of half
+ * the length, which is about twice as fast as a complex transform.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class FastFourierTransform_F64 {
+
+	// length of the signal
+	private int N;
+
+	// ----- radix-2 look up tables
+	// cosine and sine of 2*PI*k/N for k < N/2
+	private double cos[];
+	private double sin[];
+	// bit reversed index of each element
+	private int reverse[];
+
+	// ----- Bluestein's algorithm
+	// radix-2 transform used to compute the convolution
+	private FastFourierTransform_F64 conv;
+	// chirp, exp(-i*PI*n^2/N)
+	private double chirp[];
+	// transform of the conjugated chirp filter
+	private double filter[];
+	// workspace for the convolution
+	private double work[];
+
+	// ----- real transforms
+	// complex transform of half the length.  only declared if needed
+	private FastFourierTransform_F64 half;
+	// workspace for real transforms
+	private double workReal[];
+	// cosine and sine of 2*PI*k/N for k <= N/2
+	private double cosReal[];
+	private double sinReal[];
+
+	/**
+	 * Creates a plan for signals of the specified length.
+	 *
+	 * @param length Number of elements in the signal.  Must be >= 1.
+	 */
+	public FastFourierTransform_F64( int length ) {
+		if( length < 1 )
+			throw new IllegalArgumentException("Length must be at least one");
+		this.N = length;
+
+		if( isPowerOfTwo(length) ) {
+			declareRadix2();
+		} else {
+			declareBluestein();
+		}
+	}
+
+	/**
+	 * Returns true if the number is a power of two
+	 */
+	public static boolean isPowerOfTwo( int value ) {
+		return value > 0 && (value & (value-1)) == 0;
+	}
+
+	/**
+	 * Returns the smallest power of two which is greater than or equal to the value.  Useful when selecting the
+	 * size of a zero padded signal.
+	 */
+	public static int nextPowerOfTwo( int value ) {
+		int ret = 1;
+		while( ret < value )
+			ret <<= 1;
+		return ret;
+	}
+
+	/**
+	 * Length of the signals which are transformed.
+	 */
+	public int getLength() {
+		return N;
+	}
+
+	/**
+	 * In-place forward transform of a complex signal.
+	 *
+	 * @param data Interleaved complex signal.  Length of at least 2*N.  Modified.
+	 */
+	public void forward( double data[] ) {
+		transform(data,0,false);
+	}
+
+	/**
+	 * In-place inverse transform of a complex signal.  Output is scaled by 1/N.
+	 *
+	 * @param data Interleaved complex signal.  Length of at least 2*N.  Modified.
+	 */
+	public void inverse( double data[] ) {
+		transform(data,0,true);
+	}
+
+	/**
+	 * In-place transform of a complex signal which starts at the specified offset.
+	 *
+	 * @param data Array containing the interleaved complex signal.  Modified.
+	 * @param offset Index of the real component of the first element.
+	 * @param inverse If true the inverse transform is computed, which is scaled by 1/N.
+	 */
+	public void transform( double data[] , int offset , boolean inverse ) {
+		if( N == 1 )
+			return;
+
+		if( chirp == null )
+			radix2(data,offset,inverse);
+		else
+			bluestein(data,offset,inverse);
+
+		if( inverse ) {
+			double scale = 1.0/N;
+			int end = offset + 2*N;
+			for( int i = offset; i < end; i++ ) {
+				data[i] *= scale;
+			}
+		}
+	}
+
+	/**
+	 * Forward transform of a real signal.  The full complex spectrum is computed, even though
+	 * X[N-k] is the complex conjugate of X[k].
+	 *
+	 * @param input Real signal. Not modified.
+	 * @param inputOffset Index of the first element in the input.
+	 * @param output Interleaved complex spectrum.  Modified.
+	 * @param outputOffset Index of the first element in the output.
+	 */
+	public void forwardReal( double input[] , int inputOffset , double output[] , int outputOffset ) {
+		if( N % 2 == 1 ) {
+			for( int i = 0; i < N; i++ ) {
+				output[outputOffset+i*2] = input[inputOffset+i];
+				output[outputOffset+i*2+1] = 0;
+			}
+			transform(output,outputOffset,false);
+			return;
+		}
+		declareReal();
+
+		// pack even and odd elements into the real and imaginary components
+		int M = N/2;
+		System.arraycopy(input,inputOffset,workReal,0,N);
+		half.transform(workReal,0,false);
+
+		for( int k = 0; k <= M; k++ ) {
+			int a = (k%M)*2;
+			int b = ((M-k)%M)*2;
+
+			double zr = workReal[a], zi = workReal[a+1];
+			double cr = workReal[b], ci = -workReal[b+1];
+
+			// transform of even and odd elements
+			double er = (zr + cr)*0.5, ei = (zi + ci)*0.5;
+			double or = (zi - ci)*0.5, oi = (cr - zr)*0.5;
+
+			// X[k] = E[k] + exp(-2*PI*i*k/N)*O[k]
+			double wr = cosReal[k], wi = -sinReal[k];
+			double xr = er + wr*or - wi*oi;
+			double xi = ei + wr*oi + wi*or;
+
+			output[outputOffset+k*2] = xr;
+			output[outputOffset+k*2+1] = xi;
+			if( k > 0 && k < M ) {
+				output[outputOffset+(N-k)*2] = xr;
+				output[outputOffset+(N-k)*2+1] = -xi;
+			}
+		}
+	}
+
+	/**
+	 * Inverse transform of a spectrum whose signal is real.  The spectrum must have conjugate symmetry,
+	 * X[N-k] = conj(X[k]), or the output will not be correct.  Output is scaled by 1/N.
+	 *
+	 * @param input Interleaved complex spectrum. Not modified.
+	 * @param inputOffset Index of the first element in the input.
+	 * @param output Real signal.  Modified.
+	 * @param outputOffset Index of the first element in the output.
+	 */
+	public void inverseReal( double input[] , int inputOffset , double output[] , int outputOffset ) {
+		declareReal();
+
+		if( N % 2 == 1 ) {
+			System.arraycopy(input,inputOffset,workReal,0,2*N);
+			transform(workReal,0,true);
+			for( int i = 0; i < N; i++ ) {
+				output[outputOffset+i] = workReal[i*2];
+			}
+			return;
+		}
+
+		// X[k] = E[k] + W^k*O[k] and X[k+N/2] = E[k] - W^k*O[k]
+		int M = N/2;
+		for( int k = 0; k < M; k++ ) {
+			int a = inputOffset + k*2;
+			int b = inputOffset + (k+M)*2;
+
+			double xr = input[a], xi = input[a+1];
+			double yr = input[b], yi = input[b+1];
+
+			double er = (xr + yr)*0.5, ei = (xi + yi)*0.5;
+			// divide by W^k = multiply by exp(2*PI*i*k/N)
+			double dr = (xr - yr)*0.5, di = (xi - yi)*0.5;
+			double wr = cosReal[k], wi = sinReal[k];
+			double or = dr*wr - di*wi;
+			double oi = dr*wi + di*wr;
+
+			// Z[k] = E[k] + i*O[k]
+			workReal[k*2] = er - oi;
+			workReal[k*2+1] = ei + or;
+		}
+
+		half.transform(workReal,0,true);
+		System.arraycopy(workReal,0,output,outputOffset,N);
+	}
+
+	private void declareReal() {
+		if( workReal != null )
+			return;
+
+		workReal = new double[ 2*N ];
+		if( N % 2 == 0 ) {
+			half = new FastFourierTransform_F64(N/2);
+			cosReal = new double[ N/2+1 ];
+			sinReal = new double[ N/2+1 ];
+			for( int k = 0; k <= N/2; k++ ) {
+				cosReal[k] = Math.cos(2.0*Math.PI*k/N);
+				sinReal[k] = Math.sin(2.0*Math.PI*k/N);
+			}
+		}
+	}
+
+	private void declareRadix2() {
+		cos = new double[ N/2 ];
+		sin = new double[ N/2 ];
+		for( int k = 0; k < N/2; k++ ) {
+			cos[k] = Math.cos(2.0*Math.PI*k/N);
+			sin[k] = Math.sin(2.0*Math.PI*k/N);
+		}
+
+		int bits = Integer.numberOfTrailingZeros(N);
+		reverse = new int[ N ];
+		for( int i = 0; i < N; i++ ) {
+			reverse[i] = Integer.reverse(i) >>> (32-bits);
+		}
+	}
+
+	private void declareBluestein() {
+		int M = nextPowerOfTwo(2*N-1);
+		conv = new FastFourierTransform_F64(M);
+		chirp = new double[ 2*N ];
+		filter = new double[ 2*M ];
+		work = new double[ 2*M ];
+
+		for( int n = 0; n < N; n++ ) {
+			// n^2 mod 2N avoids loss of precision for large n
+			long n2 = ((long)n*n) % (2L*N);
+			double angle = Math.PI*n2/N;
+			chirp[n*2] = Math.cos(angle);
+			chirp[n*2+1] = -Math.sin(angle);
+		}
+
+		// the filter is the conjugate of the chirp, symmetric around zero
+		filter[0] = chirp[0];
+		filter[1] = -chirp[1];
+		for( int n = 1; n < N; n++ ) {
+			filter[n*2] = filter[(M-n)*2] = chirp[n*2];
+			filter[n*2+1] = filter[(M-n)*2+1] = -chirp[n*2+1];
+		}
+		conv.transform(filter,0,false);
+	}
+
+	/**
+	 * Iterative radix-2 decimation in time transform.
+	 */
+	private void radix2( double data[] , int offset , boolean inverse ) {
+		// bit reversal permutation
+		for( int i = 0; i < N; i++ ) {
+			int j = reverse[i];
+			if( j > i ) {
+				int a = offset + i*2;
+				int b = offset + j*2;
+				double tr = data[a], ti = data[a+1];
+				data[a] = data[b]; data[a+1] = data[b+1];
+				data[b] = tr; data[b+1] = ti;
+			}
+		}
+
+		double sign = inverse ? 1 : -1;
+
+		for( int size = 2; size <= N; size <<= 1 ) {
+			int half = size/2;
+			int step = N/size;
+
+			for( int i = 0; i < N; i += size ) {
+				for( int j = 0; j < half; j++ ) {
+					double wr = cos[j*step];
+					double wi = sign*sin[j*step];
+
+					int a = offset + (i+j)*2;
+					int b = a + half*2;
+
+					double br = data[b], bi = data[b+1];
+					double tr = wr*br - wi*bi;
+					double ti = wr*bi + wi*br;
+
+					data[b] = data[a] - tr;
+					data[b+1] = data[a+1] - ti;
+					data[a] += tr;
+					data[a+1] += ti;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Bluestein's algorithm.  The inverse is computed by conjugating the input and output of the forward
+	 * transform.
+	 */
+	private void bluestein( double data[] , int offset , boolean inverse ) {
+		int M = conv.getLength();
+		double sign = inverse ? -1 : 1;
+
+		// multiply by the chirp and zero pad
+		for( int n = 0; n < N; n++ ) {
+			double xr = data[offset+n*2], xi = sign*data[offset+n*2+1];
+			double cr = chirp[n*2], ci = chirp[n*2+1];
+			work[n*2] = xr*cr - xi*ci;
+			work[n*2+1] = xr*ci + xi*cr;
+		}
+		for( int i = 2*N; i < 2*M; i++ ) {
+			work[i] = 0;
+		}
+
+		// convolve with the filter
+		conv.transform(work,0,false);
+		for( int k = 0; k < M; k++ ) {
+			double ar = work[k*2], ai = work[k*2+1];
+			double br = filter[k*2], bi = filter[k*2+1];
+			work[k*2] = ar*br - ai*bi;
+			work[k*2+1] = ar*bi + ai*br;
+		}
+		conv.transform(work,0,true);
+
+		// multiply by the chirp again
+		for( int n = 0; n < N; n++ ) {
+			double ar = work[n*2], ai = work[n*2+1];
+			double cr = chirp[n*2], ci = chirp[n*2+1];
+			data[offset+n*2] = ar*cr - ai*ci;
+			data[offset+n*2+1] = sign*(ar*ci + ai*cr);
+		}
+	}
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.numerics.fft;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestFastFourierTransform2D_F64 {
+
+	Random rand = new Random(234);
+
+	// shapes which are and are not a power of two
+	int shapes[][] = new int[][]{{1,1},{4,1},{1,5},{8,8},{6,9},{16,7},{13,13}};
+
+	/**
+	 * Compare against a brute force discrete Fourier transform
+	 */
+	@Test
+	public void forward_compareToDFT() {
+		for( int shape[] : shapes ) {
+			int w = shape[0], h = shape[1];
+			double input[] = randomArray(2*w*h);
+			double expected[] = dft(input,w,h);
+
+			double data[] = input.clone();
+			new FastFourierTransform2D_F64(w,h).forward(data);
+
+			for( int i = 0; i < data.length; i++ )
+				assertEquals(expected[i],data[i],1e-8);
+		}
+	}
+
+	@Test
+	public void forwardInverse() {
+		for( int shape[] : shapes ) {
+			int w = shape[0], h = shape[1];
+			double input[] = randomArray(2*w*h);
+
+			FastFourierTransform2D_F64 alg = new FastFourierTransform2D_F64(w,h);
+			double data[] = input.clone();
+			alg.forward(data);
+			alg.inverse(data);
+
+			for( int i = 0; i < data.length; i++ )
+				assertEquals(input[i],data[i],1e-8);
+		}
+	}
+
+	@Test
+	public void forwardReal_inverseReal() {
+		for( int shape[] : shapes ) {
+			int w = shape[0], h = shape[1];
+			double real[] = randomArray(w*h);
+			double complex[] = new double[ 2*w*h ];
+			for( int i = 0; i < w*h; i++ )
+				complex[i*2] = real[i];
+			double expected[] = dft(complex,w,h);
+
+			FastFourierTransform2D_F64 alg = new FastFourierTransform2D_F64(w,h);
+			double spectrum[] = new double[ 2*w*h ];
+			alg.forwardReal(real,spectrum);
+
+			for( int i = 0; i < spectrum.length; i++ )
+				assertEquals(expected[i],spectrum[i],1e-8);
+
+			double found[] = new double[ w*h ];
+			alg.inverseReal(spectrum,found);
+
+			for( int i = 0; i < found.length; i++ )
+				assertEquals(real[i],found[i],1e-8);
+		}
+	}
+
+	private double[] randomArray( int length ) {
+		double ret[] = new double[ length ];
+		for( int i = 0; i < length; i++ )
+			ret[i] = rand.nextDouble()*2-1;
+		return ret;
+	}
+
+	/**
+	 * Brute force two dimensional discrete Fourier transform
+	 */
+	private static double[] dft( double input[] , int width , int height ) {
+		double ret[] = new double[ 2*width*height ];
+
+		for( int v = 0; v < height; v++ ) {
+			for( int u = 0; u < width; u++ ) {
+				double sumR = 0, sumI = 0;
+				for( int y = 0; y < height; y++ ) {
+					for( int x = 0; x < width; x++ ) {
+						double angle = -2.0*Math.PI*((double)u*x/width + (double)v*y/height);
+						double c = Math.cos(angle), s = Math.sin(angle);
+						int index = (y*width+x)*2;
+						double xr = input[index], xi = input[index+1];
+						sumR += xr*c - xi*s;
+						sumI += xr*s + xi*c;
+					}
+				}
+				ret[(v*width+u)*2] = sumR;
+				ret[(v*width+u)*2+1] = sumI;
+			}
+		}
+		return ret;
+	}
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright (c) 2011-2012, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.numerics.fft;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestFastFourierTransform_F64 {
+
+	Random rand = new Random(234);
+
+	// lengths which are and are not a power of two
+	int lengths[] = new int[]{1,2,3,4,5,6,7,8,12,15,16,17,31,64,100};
+
+	/**
+	 * Compare against a brute force discrete Fourier transform
+	 */
+	@Test
+	public void forward_compareToDFT() {
+		for( int N : lengths ) {
+			double input[] = randomArray(2*N);
+			double expected[] = dft(input,N,false);
+
+			double data[] = input.clone();
+			new FastFourierTransform_F64(N).forward(data);
+
+			assertArray(2*N,expected,data,1e-8);
+		}
+	}
+
+	@Test
+	public void inverse_compareToDFT() {
+		for( int N : lengths ) {
+			double input[] = randomArray(2*N);
+			double expected[] = dft(input,N,true);
+
+			double data[] = input.clone();
+			new FastFourierTransform_F64(N).inverse(data);
+
+			assertArray(2*N,expected,data,1e-8);
+		}
+	}
+
+	/**
+	 * The inverse of the forward transform should be the original signal
+	 */
+	@Test
+	public void forwardInverse() {
+		for( int N : lengths ) {
+			double input[] = randomArray(2*N);
+
+			FastFourierTransform_F64 alg = new FastFourierTransform_F64(N);
+			double data[] = input.clone();
+			// call it multiple times to see if the workspace is correctly reused
+			for( int i = 0; i < 2; i++ ) {
+				alg.forward(data);
+				alg.inverse(data);
+			}
+
+			assertArray(2*N,input,data,1e-8);
+		}
+	}
+
+	/**
+	 * The signal does not start at the beginning of the array
+	 */
+	@Test
+	public void transform_offset() {
+		for( int N : lengths ) {
+			double input[] = randomArray(2*N);
+			double expected[] = dft(input,N,false);
+
+			double data[] = new double[ 2*N + 6 ];
+			System.arraycopy(input,0,data,4,2*N);
+			new FastFourierTransform_F64(N).transform(data,4,false);
+
+			for( int i = 0; i < 2*N; i++ )
+				assertEquals(expected[i],data[i+4],1e-8);
+			assertEquals(0,data[0],0);
+			assertEquals(0,data[2*N+5],0);
+		}
+	}
+
+	/**
+	 * Compare the real transform against the complex transform with imaginary components set to zero
+	 */
+	@Test
+	public void forwardReal() {
+		for( int N : lengths ) {
+			double real[] = randomArray(N);
+			double complex[] = new double[ 2*N ];
+			for( int i = 0; i < N; i++ )
+				complex[i*2] = real[i];
+			double expected[] = dft(complex,N,false);
+
+			double found[] = new double[ 2*N + 2 ];
+			new FastFourierTransform_F64(N).forwardReal(real,0,found,2);
+
+			for( int i = 0; i < 2*N; i++ )
+				assertEquals(expected[i],found[i+2],1e-8);
+		}
+	}
+
+	@Test
+	public void inverseReal() {
+		for( int N : lengths ) {
+			double real[] = randomArray(N);
+
+			FastFourierTransform_F64 alg = new FastFourierTransform_F64(N);
+			double spectrum[] = new double[ 2*N ];
+			alg.forwardReal(real,0,spectrum,0);
+			double original[] = spectrum.clone();
+
+			double found[] = new double[ N + 1 ];
+			alg.inverseReal(spectrum,0,found,1);
+
+			for( int i = 0; i < N; i++ )
+				assertEquals(real[i],found[i+1],1e-8);
+			// input should not be modified
+			assertArray(2*N,original,spectrum,0);
+		}
+	}
+
+	@Test
+	public void powerOfTwo() {
+		assertTrue(FastFourierTransform_F64.isPowerOfTwo(1));
+		assertTrue(FastFourierTransform_F64.isPowerOfTwo(64));
+		assertFalse(FastFourierTransform_F64.isPowerOfTwo(0));
+		assertFalse(FastFourierTransform_F64.isPowerOfTwo(12));
+
+		assertEquals(1,FastFourierTransform_F64.nextPowerOfTwo(1));
+		assertEquals(16,FastFourierTransform_F64.nextPowerOfTwo(16));
+		assertEquals(32,FastFourierTransform_F64.nextPowerOfTwo(17));
+	}
+
+	@Test(expected=IllegalArgumentException.class)
+	public void badLength() {
+		new FastFourierTransform_F64(0);
+	}
+
+	private double[] randomArray( int length ) {
+		double ret[] = new double[ length ];
+		for( int i = 0; i < length; i++ )
+			ret[i] = rand.nextDouble()*2-1;
+		return ret;
+	}
+
+	private static void assertArray( int length , double expected[] , double found[] , double tol ) {
+		for( int i = 0; i < length; i++ )
+			assertEquals(expected[i],found[i],tol);
+	}
+
+	/**
+	 * Brute force discrete Fourier transform
+	 */
+	public static double[] dft( double input[] , int N , boolean inverse ) {
+		double ret[] = new double[ 2*N ];
+		double sign = inverse ? 1 : -1;
+
+		for( int k = 0; k < N; k++ ) {
+			double sumR = 0, sumI = 0;
+			for( int n = 0; n < N; n++ ) {
+				double angle = sign*2.0*Math.PI*k*n/N;
+				double c = Math.cos(angle), s = Math.sin(angle);
+				double xr = input[n*2], xi = input[n*2+1];
+				sumR += xr*c - xi*s;
+				sumI += xr*s + xi*c;
+			}
+			if( inverse ) {
+				sumR /= N;
+				sumI /= N;
+			}
+			ret[k*2] = sumR;
+			ret[k*2+1] = sumI;
+		}
+		return ret;
+	}
+}